@@ -0,0 +1,104 @@
+// Order placement load test (k6, https://k6.io)
+//
+// Drives POST /api/v1/orders at a fixed arrival rate, like a burst of POS
+// checkouts, and fails when the node cannot keep up. Run against a single
+// node with the outbox relay and export workers on, as in production:
+//
+//   k6 run -e BASE_URL=http://localhost:3333 -e TOKEN=<access token> \
+//          -e TENANT_ID=<tenant> -e PRODUCT_IDS=<id>,<id>,... \
+//          -e RATE=300 -e DURATION=2m docs/loadtest/place_orders.k6.js
+//
+// The products must be active, priced and stocked at the default location
+// with enough units for the whole run, e.g.
+//
+//   UPDATE app.inventories SET quantity = 10000000, reserved = 0
+//    WHERE tenant_id = '<tenant>' AND location IS NULL;
+//
+// Pass criteria: no dropped iterations at RATE orders/s, p95 under 150 ms,
+// p99 under 400 ms and fewer than 1% failed requests. Compare with the
+// order_placement.latency and product_catalog.cache.requests metrics on
+// /actuator/prometheus to see where the time goes.
+//
+// RATE defaults to the per-node target of 300 orders/s, which has NOT been
+// demonstrated yet. Measured so far, with the app, PostgreSQL 17 and the load
+// generator sharing ONE vCPU (pool of 50, 50 products, 1-5 lines per order,
+// warmed up, 60 s per step):
+//
+//   RATE   placed/s  dropped  p95 ms  p99 ms
+//     50         50        0      27      69   pass
+//     80         80        0      55     340   pass
+//    100        100        0     452     660   fail (latency)
+//    150        148      145    1817    4359   fail (saturated)
+//
+// About two thirds of the app's CPU per request goes to authentication (the
+// token signature is verified twice and the token and user rows are read on
+// every request); the order pipeline itself is about a fifth.
+// OrderPlacementThroughputTests drives the pipeline without HTTP and places
+// ~200 orders/s from 16 threads on the same single vCPU (p95 ~120 ms); with
+// -Dtest.orders.min-rate=300 it fails below the target. Run both on a
+// production-sized node before relying on the target.
+//
+// Placed orders hold their stock as reserved until they are paid, cancelled
+// or expired (app.orders.unpaid-ttl-ms), so reset the rows above between runs.
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:3333';
+const TENANT_ID = __ENV.TENANT_ID;
+const PRODUCT_IDS = (__ENV.PRODUCT_IDS || '').split(',').filter((id) => id.length > 0);
+const RATE = parseInt(__ENV.RATE || '300', 10);
+const DURATION = __ENV.DURATION || '2m';
+const MAX_LINES = parseInt(__ENV.MAX_LINES || '5', 10);
+
+export const options = {
+  scenarios: {
+    pos_burst: {
+      executor: 'constant-arrival-rate',
+      rate: RATE,
+      timeUnit: '1s',
+      duration: DURATION,
+      preAllocatedVUs: Math.max(50, RATE / 2),
+      maxVUs: RATE * 2,
+    },
+  },
+  thresholds: {
+    dropped_iterations: ['count==0'],
+    http_req_failed: ['rate<0.01'],
+    'http_req_duration{name:place_order}': ['p(95)<150', 'p(99)<400'],
+  },
+};
+
+export function setup() {
+  if (!TENANT_ID || PRODUCT_IDS.length === 0) {
+    throw new Error('TENANT_ID and PRODUCT_IDS are required');
+  }
+}
+
+// A few random lines per basket, some products repeated as on a real till
+function basket() {
+  const lines = [];
+  const count = 1 + Math.floor(Math.random() * MAX_LINES);
+  for (let i = 0; i < count; i++) {
+    lines.push({
+      productId: PRODUCT_IDS[Math.floor(Math.random() * PRODUCT_IDS.length)],
+      quantity: 1 + Math.floor(Math.random() * 3),
+    });
+  }
+  return lines;
+}
+
+export default function () {
+  const headers = { 'Content-Type': 'application/json' };
+  if (__ENV.TOKEN) {
+    headers.Authorization = `Bearer ${__ENV.TOKEN}`;
+  }
+  const res = http.post(`${BASE_URL}/api/v1/orders`, JSON.stringify({
+    tenantId: TENANT_ID,
+    paymentProvider: 'cash',
+    lines: basket(),
+  }), { headers, tags: { name: 'place_order' } });
+  check(res, {
+    'order placed': (r) => r.status === 201,
+  });
+}
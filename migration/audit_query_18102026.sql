@@ -0,0 +1,47 @@
+-- 2026-10-18_audit_query.sql
+-- Keyset indexes backing the audit query API over the partitioned log tables
+-- Run this AFTER log_partitioning_18102026.sql
+
+-- Queries are always bounded on created_at, so only the partitions inside the
+-- window are touched; within them pages seek on (created_at, id) newest first.
+-- Indexes created on the partitioned parents cascade to every partition.
+
+-- ===========================
+-- 1. TENANT AND USER KEYSET
+-- ===========================
+
+CREATE INDEX IF NOT EXISTS idx_activity_tenant_keyset
+  ON app.activity_log (tenant_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_activity_user_keyset
+  ON app.activity_log (user_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_auth_audit_tenant_keyset
+  ON app.auth_audit (tenant_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_auth_audit_user_keyset
+  ON app.auth_audit (user_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_loginlog_tenant_keyset
+  ON app.login_log (tenant_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_loginlog_user_keyset
+  ON app.login_log (user_id, created_at DESC, id DESC);
+
+-- The keyset indexes cover the old (tenant_id, created_at) and
+-- (user_id, created_at) ones
+DROP INDEX IF EXISTS app.idx_activity_tenant;
+DROP INDEX IF EXISTS app.idx_activity_user;
+DROP INDEX IF EXISTS app.idx_auth_audit_tenant;
+DROP INDEX IF EXISTS app.idx_auth_audit_user;
+DROP INDEX IF EXISTS app.idx_loginlog_tenant;
+DROP INDEX IF EXISTS app.idx_loginlog_user;
+
+-- ===========================
+-- 2. ACTION AND RESOURCE FILTERS
+-- ===========================
+
+CREATE INDEX IF NOT EXISTS idx_activity_tenant_action
+  ON app.activity_log (tenant_id, action, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_activity_resource
+  ON app.activity_log (resource_id, created_at DESC)
+  WHERE resource_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_auth_audit_tenant_action
+  ON app.auth_audit (tenant_id, action, created_at DESC, id DESC);
@@ -0,0 +1,28 @@
+-- 2026-10-18_cache_invalidation.sql
+-- Per-region epochs backing the cluster cache invalidation bus
+-- Run this AFTER initial_07122025.sql has been executed successfully
+
+-- ===========================
+-- 1. CACHE EPOCHS
+-- ===========================
+-- One row per cache region, bumped on every write that publishes an
+-- invalidation (NOTIFY channel: app_cache_invalidation). Nodes compare these
+-- epochs after reconnecting to drop regions whose notifications they missed.
+
+CREATE TABLE IF NOT EXISTS app.cache_epochs (
+  region text PRIMARY KEY,
+  epoch bigint NOT NULL DEFAULT 0,
+  updated_at timestamptz NOT NULL DEFAULT now()
+);
+
+INSERT INTO app.cache_epochs (region, epoch)
+VALUES
+  ('SUBSCRIPTION_PLANS', 0),
+  ('SUBSCRIPTION_FEATURES', 0),
+  ('ROLES', 0),
+  ('PERMISSIONS', 0),
+  ('FEATURE_FLAGS', 0),
+  ('TENANT_DOMAINS', 0),
+  ('APP_CONFIG', 0),
+  ('DASHBOARD_THEMES', 0)
+ON CONFLICT (region) DO NOTHING;
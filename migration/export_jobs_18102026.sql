@@ -0,0 +1,45 @@
+-- 2026-10-18_export_jobs.sql
+-- Queue for background bulk exports run by the in-process export workers
+-- Run this AFTER uuidv7_18102026.sql
+
+-- ===========================
+-- 1. EXPORT JOBS
+-- ===========================
+-- status       => PENDING until leased, RUNNING while written, then DONE
+--                 (file_path set) or FAILED after max attempts
+-- available_at => end of the current lease while RUNNING, next retry while
+--                 PENDING; a RUNNING job past it is leased again
+-- file_path    => relative to the file storage root
+
+CREATE TABLE IF NOT EXISTS app.export_jobs (
+  id uuid PRIMARY KEY DEFAULT app.uuid_generate_v7(),
+  tenant_id uuid NOT NULL REFERENCES app.tenants(id) ON DELETE CASCADE,
+  dataset text NOT NULL CHECK (dataset IN ('MEMBERS', 'PRODUCTS', 'ORDERS', 'SUPPLIERS')),
+  format text NOT NULL CHECK (format IN ('CSV', 'NDJSON', 'XLSX')),
+  gzip boolean NOT NULL DEFAULT false,
+  status text NOT NULL DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'RUNNING', 'DONE', 'FAILED')),
+  attempts integer NOT NULL DEFAULT 0,
+  row_count bigint,
+  file_path text,
+  last_error text,
+  created_at timestamptz NOT NULL DEFAULT now(),
+  available_at timestamptz NOT NULL DEFAULT now(),
+  started_at timestamptz,
+  finished_at timestamptz
+);
+
+-- ===========================
+-- 2. INDEXES
+-- ===========================
+
+-- Worker lease: due unfinished jobs in order; stays small as jobs finish
+CREATE INDEX IF NOT EXISTS idx_export_jobs_due
+  ON app.export_jobs (available_at, id)
+  WHERE status IN ('PENDING', 'RUNNING');
+CREATE INDEX IF NOT EXISTS idx_export_jobs_tenant
+  ON app.export_jobs (tenant_id, created_at DESC);
+
+-- Retention: finished jobs and their files are removed after app.export.retention-days
+CREATE INDEX IF NOT EXISTS idx_export_jobs_finished
+  ON app.export_jobs (finished_at)
+  WHERE status IN ('DONE', 'FAILED');
@@ -0,0 +1,18 @@
+-- 2026-10-19_feature_flag_template_version.sql
+-- Records the feature flag template version existing tenants are on
+-- Run this AFTER feature_flag_templates_18102026.sql
+
+-- That migration already backfilled every tenant with all its templates. The
+-- feature-flag-template-backfill job compares this value with
+-- MAX(feature_flag_templates.version) and backfills only the newer templates.
+-- Insert new templates with a higher version than any already defined, or
+-- tenants will not pick them up. The backfill only adds flags a tenant does not
+-- have yet (ON CONFLICT DO NOTHING): a changed default on an existing template
+-- never overwrites a tenant's flag, and reaches the tenant on its next plan
+-- change, which re-applies the new plan's templates.
+
+INSERT INTO app.app_config (config_key, config_value, description)
+SELECT 'feature_flags.template_version', coalesce(max(version), 0)::text,
+       'Feature flag template version every tenant has been backfilled to'
+FROM app.feature_flag_templates
+ON CONFLICT (config_key) DO NOTHING;
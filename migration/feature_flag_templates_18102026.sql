@@ -0,0 +1,83 @@
+-- 2026-10-18_feature_flag_templates.sql
+-- Versioned, plan-driven feature flag templates used to provision tenant flags
+-- Run this AFTER initial_07122025.sql and seeder_07122025.sql
+
+-- ===========================
+-- 1. FEATURE FLAG TEMPLATES
+-- ===========================
+-- plan_id NULL    => base template, applied to every tenant
+-- plan_id NOT NULL => plan override, wins over the base template with the same key
+-- feature_id       => flag is only enabled when the tenant plan includes the feature
+-- version          => bumped when templates are added, drives the tenant backfill
+
+CREATE TABLE IF NOT EXISTS app.feature_flag_templates (
+  id uuid PRIMARY KEY DEFAULT gen_random_uuid(),
+  plan_id uuid REFERENCES app.subscription_plans(id) ON DELETE CASCADE,
+  feature_id uuid REFERENCES app.subscription_features(id) ON DELETE SET NULL,
+  key text NOT NULL,
+  value jsonb NOT NULL,
+  enabled boolean NOT NULL DEFAULT true,
+  version integer NOT NULL DEFAULT 1,
+  description text,
+  created_at timestamptz NOT NULL DEFAULT now(),
+  updated_at timestamptz NOT NULL DEFAULT now()
+);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_flag_templates_plan_key
+  ON app.feature_flag_templates(coalesce(plan_id, '00000000-0000-0000-0000-000000000000'::uuid), lower(key));
+CREATE INDEX IF NOT EXISTS idx_flag_templates_plan ON app.feature_flag_templates(plan_id);
+CREATE INDEX IF NOT EXISTS idx_flag_templates_version ON app.feature_flag_templates(version);
+
+-- ===========================
+-- 2. BASE TEMPLATES (version 1)
+-- ===========================
+-- Core flags, enabled for every tenant regardless of plan
+
+INSERT INTO app.feature_flag_templates (key, value, enabled, version, description)
+VALUES
+  ('dashboard.enabled', 'true', true, 1, 'Dashboard'),
+  ('basic_reporting.enabled', 'true', true, 1, 'Basic reporting'),
+  ('user_management.enabled', 'true', true, 1, 'User management'),
+  ('member_management.enabled', 'true', true, 1, 'Member management'),
+  ('payments.enabled', 'true', true, 1, 'Payments'),
+  ('online_payments.enabled', 'false', false, 1, 'Online payments'),
+  ('inventory_management.enabled', 'true', true, 1, 'Inventory management'),
+  ('order_management.enabled', 'true', true, 1, 'Order management'),
+  ('bulk_export.enabled', 'true', true, 1, 'Bulk export')
+ON CONFLICT DO NOTHING;
+
+-- Feature-bound flags, enabled only when the plan includes the feature
+
+INSERT INTO app.feature_flag_templates (feature_id, key, value, enabled, version, description)
+SELECT sf.id, t.key, 'true'::jsonb, true, 1, t.description
+FROM (VALUES
+  ('advanced_analytics.enabled', 'feature.dashboard_analytics', 'Advanced analytics'),
+  ('api_access.enabled', 'feature.api_access', 'API access'),
+  ('webhook_integration.enabled', 'feature.webhook_integration', 'Webhook integration'),
+  ('savings_products.enabled', 'feature.savings_account', 'Savings products'),
+  ('loan_products.enabled', 'feature.loan_management', 'Loan products'),
+  ('bulk_import.enabled', 'feature.third_party_integration', 'Bulk import')
+) AS t(key, feature_key, description)
+JOIN app.subscription_features sf ON sf.feature_key = t.feature_key
+ON CONFLICT DO NOTHING;
+
+-- ===========================
+-- 3. BACKFILL EXISTING TENANTS
+-- ===========================
+-- One statement for all tenants; existing flags are never overwritten
+
+INSERT INTO app.feature_flags (id, tenant_id, key, value, enabled, created_at, updated_at)
+SELECT gen_random_uuid(), ts.tenant_id, t.key, t.value, t.enabled, now(), now()
+FROM app.tenant_subscriptions ts
+CROSS JOIN LATERAL (
+  SELECT DISTINCT ON (lower(tpl.key))
+         tpl.key, tpl.value,
+         (tpl.enabled AND (tpl.feature_id IS NULL OR EXISTS (
+           SELECT 1 FROM app.subscription_plan_features spf
+           WHERE spf.plan_id = ts.plan_id
+             AND spf.feature_id = tpl.feature_id
+             AND spf.is_included))) AS enabled
+  FROM app.feature_flag_templates tpl
+  WHERE tpl.plan_id IS NULL OR tpl.plan_id = ts.plan_id
+  ORDER BY lower(tpl.key), tpl.plan_id NULLS LAST
+) t
+ON CONFLICT (tenant_id, lower(key)) DO NOTHING;
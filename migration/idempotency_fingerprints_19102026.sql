@@ -0,0 +1,16 @@
+-- 2026-10-19_idempotency_fingerprints.sql
+-- Drop stored sign-up responses holding tokens
+-- Run this AFTER idempotency_keys_18102026.sql
+
+-- ===========================
+-- 1. TOKEN BODIES
+-- ===========================
+-- Sign-up responses are no longer stored with their body. Clear the ones kept
+-- before; a retry of those now gets the status alone. Fingerprints are HMACs
+-- from now on, so a retry of a request claimed before the switch is answered
+-- as a reused key instead of running again, until the row expires.
+
+UPDATE app.idempotency_keys
+SET response_body = NULL
+WHERE response_body IS NOT NULL
+  AND position('"refresh_token"'::bytea IN response_body) > 0;
@@ -0,0 +1,31 @@
+-- 2026-10-18_idempotency_keys.sql
+-- Idempotency-Key store for replaying responses to retried POSTs
+-- Run this AFTER initial_07122025.sql
+
+-- ===========================
+-- 1. IDEMPOTENCY KEYS
+-- ===========================
+-- One row per scope and key, keyed by their SHA-256. A request claims its key
+-- as IN_PROGRESS with a lock deadline, then stores the response status and
+-- body as COMPLETED. A row still IN_PROGRESS past locked_until, or past
+-- expires_at, may be claimed again. fingerprint is an HMAC under a server
+-- key. Sign-up responses hold tokens, so they are stored without a body.
+
+CREATE TABLE IF NOT EXISTS app.idempotency_keys (
+  key_hash bytea PRIMARY KEY,
+  fingerprint bytea NOT NULL,
+  status varchar(16) NOT NULL CHECK (status IN ('IN_PROGRESS', 'COMPLETED')),
+  response_status smallint,
+  response_body bytea,
+  locked_until timestamptz,
+  created_at timestamptz NOT NULL DEFAULT now(),
+  expires_at timestamptz NOT NULL
+);
+
+-- ===========================
+-- 2. INDEXES
+-- ===========================
+-- Retention sweeps by expiry
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at
+  ON app.idempotency_keys (expires_at);
@@ -0,0 +1,33 @@
+-- 2026-10-18_inventory_reservations.sql
+-- Stock reservations written by the inventory ledger's group commit
+-- Run this AFTER uuidv7_18102026.sql
+
+-- ===========================
+-- 1. INVENTORY RESERVATIONS
+-- ===========================
+-- status     => RESERVED while the units count in inventories.reserved;
+--               RELEASED / EXPIRED give them back, COMMITTED takes them out
+--               of inventories.quantity as well
+-- expires_at => RESERVED rows past this (plus a grace period) are expired by
+--               the inventory-reservation-expiry job
+-- Settled rows are removed by the retention sweeper after a grace period
+
+CREATE TABLE IF NOT EXISTS app.inventory_reservations (
+  id uuid PRIMARY KEY DEFAULT app.uuid_generate_v7(),
+  tenant_id uuid NOT NULL REFERENCES app.tenants(id) ON DELETE CASCADE,
+  inventory_id uuid NOT NULL REFERENCES app.inventories(id) ON DELETE CASCADE,
+  quantity bigint NOT NULL CHECK (quantity > 0),
+  status text NOT NULL DEFAULT 'RESERVED' CHECK (status IN ('RESERVED', 'RELEASED', 'COMMITTED', 'EXPIRED')),
+  expires_at timestamptz NOT NULL,
+  created_at timestamptz NOT NULL DEFAULT now(),
+  updated_at timestamptz NOT NULL DEFAULT now()
+);
+
+-- ===========================
+-- 2. INDEXES
+-- ===========================
+
+CREATE INDEX IF NOT EXISTS idx_inventory_reservations_expiry
+  ON app.inventory_reservations(expires_at) WHERE status = 'RESERVED';
+CREATE INDEX IF NOT EXISTS idx_inventory_reservations_inventory
+  ON app.inventory_reservations(inventory_id);
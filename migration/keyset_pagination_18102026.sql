@@ -0,0 +1,27 @@
+-- 2026-10-18_keyset_pagination.sql
+-- Composite indexes backing keyset (cursor) pagination of tenant lists
+-- Run this AFTER initial_07122025.sql
+
+-- Lists are read newest first on (created_at, id) within a tenant; each page
+-- seeks to the cursor through these indexes instead of scanning an offset.
+
+CREATE INDEX IF NOT EXISTS idx_members_tenant_keyset
+  ON app.members(tenant_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_products_tenant_keyset
+  ON app.products(tenant_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_orders_tenant_keyset
+  ON app.orders(tenant_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_loans_tenant_keyset
+  ON app.loans(tenant_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_users_tenant_keyset
+  ON app.users(tenant_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_documents_tenant_keyset
+  ON app.documents(tenant_id, created_at DESC, id DESC)
+  WHERE deleted_at IS NULL;
+
+-- Inventories have no created_at and are paged on id alone
+CREATE INDEX IF NOT EXISTS idx_inventories_tenant_keyset
+  ON app.inventories(tenant_id, id DESC);
+
+-- Superseded by idx_orders_tenant_keyset
+DROP INDEX IF EXISTS app.idx_orders_tenant_created_at;
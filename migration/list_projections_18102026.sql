@@ -0,0 +1,8 @@
+-- 2026-10-18_list_projections.sql
+-- Keyset index for the supplier summary list
+-- Run this AFTER keyset_pagination_18102026.sql
+
+-- Supplier lists skip soft-deleted rows, so the index only covers live rows
+CREATE INDEX IF NOT EXISTS idx_suppliers_tenant_keyset
+  ON app.suppliers(tenant_id, created_at DESC, id DESC)
+  WHERE deleted_at IS NULL;
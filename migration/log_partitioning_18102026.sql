@@ -0,0 +1,233 @@
+-- 2026-10-18_log_partitioning.sql
+-- Monthly range partitioning for the append-mostly log tables
+-- Run this AFTER initial_07122025.sql, during a maintenance window
+-- (each table is rewritten inside its own transaction)
+
+-- activity_log, login_log and auth_audit are partitioned on created_at,
+-- revoked_jtis on expires_at. Partitions are named <table>_pYYYY_MM and hold
+-- one UTC calendar month. Future partitions are created and expired ones
+-- dropped by the application's LogPartitionManager; this script only converts
+-- the existing tables and creates partitions up to three months ahead.
+-- Each table also gets a <table>_default partition, so a row beyond the
+-- pre-created months (a refresh token revoked with a long expiry, a node
+-- whose maintenance has not run yet) is stored instead of failing the insert.
+-- Such rows move to their monthly partition when it is created.
+
+-- ===========================
+-- 1. HELPER
+-- ===========================
+
+CREATE OR REPLACE FUNCTION app.create_monthly_partition(parent text, month_start date)
+RETURNS void LANGUAGE plpgsql AS $$
+DECLARE
+  partition_name text := parent || '_p' || to_char(month_start, 'YYYY_MM');
+  range_from timestamptz := month_start::timestamp AT TIME ZONE 'UTC';
+  range_to timestamptz := (month_start + interval '1 month')::timestamp AT TIME ZONE 'UTC';
+  key_column text;
+BEGIN
+  IF to_regclass(format('app.%I', partition_name)) IS NOT NULL THEN
+    RETURN;
+  END IF;
+  IF to_regclass(format('app.%I', parent || '_default')) IS NULL THEN
+    EXECUTE format('CREATE TABLE app.%I PARTITION OF app.%I FOR VALUES FROM (%L) TO (%L)',
+      partition_name, parent, range_from, range_to);
+    RETURN;
+  END IF;
+  -- Attaching next to a DEFAULT partition fails while it holds rows of the
+  -- new range, so those rows are moved into the new table first
+  SELECT a.attname INTO key_column
+  FROM pg_partitioned_table pt
+  JOIN pg_attribute a ON a.attrelid = pt.partrelid AND a.attnum = pt.partattrs[0]
+  WHERE pt.partrelid = format('app.%I', parent)::regclass;
+  EXECUTE format('CREATE TABLE app.%I (LIKE app.%I INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+    partition_name, parent);
+  EXECUTE format(
+    'WITH moved AS (DELETE FROM app.%I WHERE %I >= %L AND %I < %L RETURNING *) INSERT INTO app.%I SELECT * FROM moved',
+    parent || '_default', key_column, range_from, key_column, range_to, partition_name);
+  EXECUTE format('ALTER TABLE app.%I ATTACH PARTITION app.%I FOR VALUES FROM (%L) TO (%L)',
+    parent, partition_name, range_from, range_to);
+END;
+$$;
+
+-- Deletes rows older than before from the DEFAULT partition; monthly
+-- partitions are dropped whole, rows that landed in the default are not
+CREATE OR REPLACE FUNCTION app.purge_default_partition(parent text, before timestamptz)
+RETURNS bigint LANGUAGE plpgsql AS $$
+DECLARE
+  key_column text;
+  purged bigint;
+BEGIN
+  IF to_regclass(format('app.%I', parent || '_default')) IS NULL THEN
+    RETURN 0;
+  END IF;
+  SELECT a.attname INTO key_column
+  FROM pg_partitioned_table pt
+  JOIN pg_attribute a ON a.attrelid = pt.partrelid AND a.attnum = pt.partattrs[0]
+  WHERE pt.partrelid = format('app.%I', parent)::regclass;
+  EXECUTE format('DELETE FROM app.%I WHERE %I < %L', parent || '_default', key_column, before);
+  GET DIAGNOSTICS purged = ROW_COUNT;
+  RETURN purged;
+END;
+$$;
+
+-- Creates every monthly partition needed to hold [first_value, last_value],
+-- and at least up to three months after the current one
+CREATE OR REPLACE FUNCTION app.create_monthly_partitions(parent text, first_value timestamptz,
+    last_value timestamptz)
+RETURNS void LANGUAGE sql AS $$
+  SELECT app.create_monthly_partition(parent, m::date)
+  FROM generate_series(
+         date_trunc('month', coalesce(least(first_value, now()), now()) AT TIME ZONE 'UTC'),
+         greatest(date_trunc('month', coalesce(last_value, now()) AT TIME ZONE 'UTC'),
+                  date_trunc('month', now() AT TIME ZONE 'UTC') + interval '3 months'),
+         interval '1 month') AS m;
+$$;
+
+-- ===========================
+-- 2. ACTIVITY LOG
+-- ===========================
+
+BEGIN;
+ALTER TABLE app.activity_log RENAME TO activity_log_legacy;
+ALTER TABLE app.activity_log_legacy RENAME CONSTRAINT activity_log_pkey TO activity_log_legacy_pkey;
+ALTER INDEX IF EXISTS app.idx_activity_tenant RENAME TO idx_activity_tenant_legacy;
+ALTER INDEX IF EXISTS app.idx_activity_user RENAME TO idx_activity_user_legacy;
+ALTER SEQUENCE app.activity_log_id_seq OWNED BY NONE;
+
+CREATE TABLE app.activity_log (
+  id bigint NOT NULL DEFAULT nextval('app.activity_log_id_seq'),
+  tenant_id uuid,
+  user_id uuid,
+  actor_snapshot jsonb,
+  action text NOT NULL,
+  resource_type text,
+  resource_id uuid,
+  payload jsonb,
+  created_at timestamptz NOT NULL DEFAULT now(),
+  PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+CREATE INDEX idx_activity_tenant ON app.activity_log (tenant_id, created_at DESC);
+CREATE INDEX idx_activity_user ON app.activity_log (user_id, created_at DESC);
+
+SELECT app.create_monthly_partitions('activity_log',
+  (SELECT min(created_at) FROM app.activity_log_legacy), (SELECT max(created_at) FROM app.activity_log_legacy));
+INSERT INTO app.activity_log (id, tenant_id, user_id, actor_snapshot, action, resource_type, resource_id, payload, created_at)
+SELECT id, tenant_id, user_id, actor_snapshot, action, resource_type, resource_id, payload, created_at
+FROM app.activity_log_legacy;
+
+DROP TABLE app.activity_log_legacy;
+ALTER SEQUENCE app.activity_log_id_seq OWNED BY app.activity_log.id;
+COMMIT;
+
+-- ===========================
+-- 3. LOGIN LOG
+-- ===========================
+
+BEGIN;
+ALTER TABLE app.login_log RENAME TO login_log_legacy;
+ALTER TABLE app.login_log_legacy RENAME CONSTRAINT login_log_pkey TO login_log_legacy_pkey;
+ALTER INDEX IF EXISTS app.idx_loginlog_user RENAME TO idx_loginlog_user_legacy;
+ALTER INDEX IF EXISTS app.idx_loginlog_tenant RENAME TO idx_loginlog_tenant_legacy;
+ALTER SEQUENCE app.login_log_id_seq OWNED BY NONE;
+
+CREATE TABLE app.login_log (
+  id bigint NOT NULL DEFAULT nextval('app.login_log_id_seq'),
+  tenant_id uuid,
+  user_id uuid,
+  username text,
+  ip inet,
+  user_agent text,
+  result text, -- 'success', 'failed', 'blocked'
+  created_at timestamptz NOT NULL DEFAULT now(),
+  PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+CREATE INDEX idx_loginlog_user ON app.login_log (user_id, created_at DESC);
+CREATE INDEX idx_loginlog_tenant ON app.login_log (tenant_id, created_at DESC);
+
+SELECT app.create_monthly_partitions('login_log',
+  (SELECT min(created_at) FROM app.login_log_legacy), (SELECT max(created_at) FROM app.login_log_legacy));
+INSERT INTO app.login_log (id, tenant_id, user_id, username, ip, user_agent, result, created_at)
+SELECT id, tenant_id, user_id, username, ip, user_agent, result, created_at
+FROM app.login_log_legacy;
+
+DROP TABLE app.login_log_legacy;
+ALTER SEQUENCE app.login_log_id_seq OWNED BY app.login_log.id;
+COMMIT;
+
+-- ===========================
+-- 4. AUTH AUDIT
+-- ===========================
+
+BEGIN;
+ALTER TABLE app.auth_audit RENAME TO auth_audit_legacy;
+ALTER TABLE app.auth_audit_legacy RENAME CONSTRAINT auth_audit_pkey TO auth_audit_legacy_pkey;
+ALTER INDEX IF EXISTS app.idx_auth_audit_tenant RENAME TO idx_auth_audit_tenant_legacy;
+ALTER INDEX IF EXISTS app.idx_auth_audit_user RENAME TO idx_auth_audit_user_legacy;
+ALTER SEQUENCE app.auth_audit_id_seq OWNED BY NONE;
+
+CREATE TABLE app.auth_audit (
+  id bigint NOT NULL DEFAULT nextval('app.auth_audit_id_seq'),
+  tenant_id uuid,
+  user_id uuid,
+  actor_user_id uuid,
+  action text NOT NULL, -- 'refresh_issued','refresh_revoked','jti_revoked','logout'
+  resource_type text,
+  resource_id uuid,
+  payload jsonb,
+  created_at timestamptz NOT NULL DEFAULT now(),
+  PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+CREATE INDEX idx_auth_audit_tenant ON app.auth_audit (tenant_id, created_at DESC);
+CREATE INDEX idx_auth_audit_user ON app.auth_audit (user_id, created_at DESC);
+
+SELECT app.create_monthly_partitions('auth_audit',
+  (SELECT min(created_at) FROM app.auth_audit_legacy), (SELECT max(created_at) FROM app.auth_audit_legacy));
+INSERT INTO app.auth_audit (id, tenant_id, user_id, actor_user_id, action, resource_type, resource_id, payload, created_at)
+SELECT id, tenant_id, user_id, actor_user_id, action, resource_type, resource_id, payload, created_at
+FROM app.auth_audit_legacy;
+
+DROP TABLE app.auth_audit_legacy;
+ALTER SEQUENCE app.auth_audit_id_seq OWNED BY app.auth_audit.id;
+COMMIT;
+
+-- ===========================
+-- 5. REVOKED JTIS
+-- ===========================
+-- Partitioned on expires_at: once a month of tokens has expired, its
+-- revocations are useless and the whole partition can be dropped.
+-- The primary key has to include the partition key.
+
+BEGIN;
+ALTER TABLE app.revoked_jtis RENAME TO revoked_jtis_legacy;
+ALTER TABLE app.revoked_jtis_legacy RENAME CONSTRAINT revoked_jtis_pkey TO revoked_jtis_legacy_pkey;
+ALTER INDEX IF EXISTS app.idx_revoked_jtis_user RENAME TO idx_revoked_jtis_user_legacy;
+
+CREATE TABLE app.revoked_jtis (
+  jti uuid NOT NULL,
+  user_id uuid REFERENCES app.users(id) ON DELETE SET NULL,
+  revoked_at timestamptz NOT NULL DEFAULT now(),
+  expires_at timestamptz NOT NULL,
+  PRIMARY KEY (jti, expires_at)
+) PARTITION BY RANGE (expires_at);
+CREATE INDEX idx_revoked_jtis_user ON app.revoked_jtis (user_id);
+
+SELECT app.create_monthly_partitions('revoked_jtis',
+  (SELECT min(expires_at) FROM app.revoked_jtis_legacy), (SELECT max(expires_at) FROM app.revoked_jtis_legacy));
+-- Revocations of tokens that already expired are not carried over
+INSERT INTO app.revoked_jtis (jti, user_id, revoked_at, expires_at)
+SELECT jti, user_id, revoked_at, expires_at
+FROM app.revoked_jtis_legacy
+WHERE expires_at > now();
+
+DROP TABLE app.revoked_jtis_legacy;
+COMMIT;
+
+-- ===========================
+-- 6. DEFAULT PARTITIONS
+-- ===========================
+-- Catch rows outside the monthly partitions instead of rejecting them
+
+CREATE TABLE IF NOT EXISTS app.activity_log_default PARTITION OF app.activity_log DEFAULT;
+CREATE TABLE IF NOT EXISTS app.login_log_default PARTITION OF app.login_log DEFAULT;
+CREATE TABLE IF NOT EXISTS app.auth_audit_default PARTITION OF app.auth_audit DEFAULT;
+CREATE TABLE IF NOT EXISTS app.revoked_jtis_default PARTITION OF app.revoked_jtis DEFAULT;
@@ -0,0 +1,38 @@
+-- 2026-10-18_mail_queue.sql
+-- Persistent queue for outgoing mail sent by the in-process mail dispatcher
+-- Run this AFTER uuidv7_18102026.sql
+
+-- ===========================
+-- 1. MAIL QUEUE
+-- ===========================
+-- status       => PENDING until sent (SENT) or out of attempts (DEAD)
+-- available_at => next send attempt; pushed out by the dispatcher lease while
+--                 sending and exponentially on failure
+-- body         => cleared once SENT or DEAD (see password_reset_tokens_19102026.sql)
+-- Sent and dead rows are removed by the retention sweeper after a grace period
+
+CREATE TABLE IF NOT EXISTS app.mail_queue (
+  id uuid PRIMARY KEY DEFAULT app.uuid_generate_v7(),
+  template text NOT NULL,
+  sender text NOT NULL,
+  recipient text NOT NULL,
+  subject text NOT NULL,
+  body text NOT NULL,
+  status text NOT NULL DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'SENT', 'DEAD')),
+  attempts integer NOT NULL DEFAULT 0,
+  last_error text,
+  created_at timestamptz NOT NULL DEFAULT now(),
+  available_at timestamptz NOT NULL DEFAULT now(),
+  sent_at timestamptz
+);
+
+-- ===========================
+-- 2. INDEXES
+-- ===========================
+
+-- Dispatcher lease: due pending mail in order; stays small as rows leave PENDING
+CREATE INDEX IF NOT EXISTS idx_mail_queue_pending
+  ON app.mail_queue (available_at, id)
+  WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_mail_queue_recipient
+  ON app.mail_queue (lower(recipient), created_at DESC);
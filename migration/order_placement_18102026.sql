@@ -0,0 +1,16 @@
+-- 2026-10-18_order_placement.sql
+-- Order number counters for the order placement pipeline
+-- Run this AFTER initial_07122025.sql
+
+-- ===========================
+-- 1. ORDER NUMBER COUNTERS
+-- ===========================
+-- One row per tenant holding the next unreserved order number. Nodes take
+-- blocks of numbers in one statement (next_value moves by the block size) and
+-- hand them out from memory, so orders never wait on this row.
+
+CREATE TABLE IF NOT EXISTS app.order_number_counters (
+  tenant_id uuid PRIMARY KEY REFERENCES app.tenants(id) ON DELETE CASCADE,
+  next_value bigint NOT NULL CHECK (next_value > 0),
+  updated_at timestamptz NOT NULL DEFAULT now()
+);
@@ -0,0 +1,15 @@
+-- 2026-10-19_order_settlement.sql
+-- Lookups for settling placed orders and the stock they reserved
+-- Run this AFTER order_placement_18102026.sql
+
+-- ===========================
+-- 1. UNSETTLED ORDERS
+-- ===========================
+-- A placed order stays 'created' while it holds reserved stock; paying,
+-- cancelling or expiring it moves it on. The unpaid order expiry job scans
+-- the few orders still created, oldest first, instead of every order.
+
+CREATE INDEX IF NOT EXISTS idx_orders_created_unsettled
+  ON app.orders (created_at)
+  WHERE status = 'created' AND deleted_at IS NULL;
+
@@ -0,0 +1,39 @@
+-- 2026-10-18_outbox.sql
+-- Transactional outbox for domain events delivered by the in-process relay
+-- Run this AFTER uuidv7_18102026.sql
+
+-- ===========================
+-- 1. OUTBOX
+-- ===========================
+-- status       => PENDING until delivered (DONE) or out of attempts (DEAD)
+-- available_at => next delivery attempt, pushed back exponentially on failure
+-- Delivered rows are removed by the retention sweeper after a grace period
+
+CREATE TABLE IF NOT EXISTS app.outbox (
+  id uuid PRIMARY KEY DEFAULT app.uuid_generate_v7(),
+  event_type text NOT NULL,
+  aggregate_type text,
+  aggregate_id uuid,
+  tenant_id uuid,
+  payload jsonb NOT NULL DEFAULT '{}'::jsonb,
+  status text NOT NULL DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'DONE', 'DEAD')),
+  attempts integer NOT NULL DEFAULT 0,
+  last_error text,
+  created_at timestamptz NOT NULL DEFAULT now(),
+  available_at timestamptz NOT NULL DEFAULT now(),
+  processed_at timestamptz
+);
+
+-- ===========================
+-- 2. INDEXES
+-- ===========================
+
+-- Relay claim: due pending events in order; stays small as rows leave PENDING
+CREATE INDEX IF NOT EXISTS idx_outbox_pending
+  ON app.outbox (available_at, id)
+  WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_outbox_pending_created
+  ON app.outbox (created_at)
+  WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_outbox_aggregate
+  ON app.outbox (aggregate_type, aggregate_id);
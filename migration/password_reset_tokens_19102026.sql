@@ -0,0 +1,30 @@
+-- 2026-10-19_password_reset_tokens.sql
+-- One-time password reset tokens, replacing passwords sent by mail
+-- Run this AFTER mail_queue_18102026.sql
+
+-- ===========================
+-- 1. RESET TOKENS
+-- ===========================
+-- Only the SHA-256 of a token is stored; the token itself exists in the reset
+-- mail alone. A token works once (used_at) and until expires_at. Issuing a new
+-- token removes the user's unused ones, so only the latest mail works.
+
+CREATE TABLE IF NOT EXISTS app.password_reset_tokens (
+  token_hash bytea PRIMARY KEY,
+  user_id uuid NOT NULL REFERENCES app.users(id) ON DELETE CASCADE,
+  created_at timestamptz NOT NULL DEFAULT now(),
+  expires_at timestamptz NOT NULL,
+  used_at timestamptz
+);
+CREATE INDEX IF NOT EXISTS idx_password_reset_tokens_user
+  ON app.password_reset_tokens (user_id);
+CREATE INDEX IF NOT EXISTS idx_password_reset_tokens_expires
+  ON app.password_reset_tokens (expires_at);
+
+-- ===========================
+-- 2. MAIL BODIES
+-- ===========================
+-- Bodies are cleared once a mail is SENT or DEAD, and the retention sweeper
+-- now removes DEAD rows as well. Clear what older rows still hold.
+
+UPDATE app.mail_queue SET body = '' WHERE status IN ('SENT', 'DEAD') AND body <> '';
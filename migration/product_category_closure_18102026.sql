@@ -0,0 +1,142 @@
+-- 2026-10-18_product_category_closure.sql
+-- Closure table for the product category hierarchy, kept in step by triggers
+-- Run this AFTER cache_invalidation_18102026.sql
+
+-- ===========================
+-- 1. CLOSURE TABLE
+-- ===========================
+-- One row per (ancestor, descendant) pair, including every category paired
+-- with itself at depth 0. "Products in X and below" is a single join on
+-- ancestor_id = X. Rows go away with either category (ON DELETE CASCADE);
+-- soft-deleted categories keep their rows.
+
+CREATE TABLE IF NOT EXISTS app.product_category_closure (
+  ancestor_id uuid NOT NULL REFERENCES app.product_categories(id) ON DELETE CASCADE,
+  descendant_id uuid NOT NULL REFERENCES app.product_categories(id) ON DELETE CASCADE,
+  tenant_id uuid NOT NULL REFERENCES app.tenants(id) ON DELETE CASCADE,
+  depth integer NOT NULL CHECK (depth >= 0),
+  PRIMARY KEY (ancestor_id, descendant_id)
+);
+CREATE INDEX IF NOT EXISTS idx_category_closure_descendant
+  ON app.product_category_closure(descendant_id, depth);
+
+-- Products are always looked up by tenant and category
+CREATE INDEX IF NOT EXISTS idx_products_tenant_category
+  ON app.products(tenant_id, category_id, created_at DESC, id DESC);
+
+-- ===========================
+-- 2. MAINTENANCE TRIGGERS
+-- ===========================
+-- insert      => link the new category to itself and to its parent's ancestors
+-- parent move => reject cycles and cross-tenant parents, then cut the moved
+--                subtree from its old ancestors and graft it onto the new ones
+-- Inserts and moves take a per-tenant advisory lock until commit, so the
+-- checks and the closure rows never work from a stale view of the tree.
+
+CREATE OR REPLACE FUNCTION app.product_category_closure_insert() RETURNS trigger AS $$
+BEGIN
+  INSERT INTO app.product_category_closure (ancestor_id, descendant_id, tenant_id, depth)
+  SELECT NEW.id, NEW.id, NEW.tenant_id, 0
+  UNION ALL
+  SELECT c.ancestor_id, NEW.id, NEW.tenant_id, c.depth + 1
+  FROM app.product_category_closure c
+  WHERE NEW.parent_id IS NOT NULL AND c.descendant_id = NEW.parent_id;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION app.product_category_closure_check() RETURNS trigger AS $$
+BEGIN
+  IF TG_OP = 'UPDATE' AND OLD.parent_id IS NOT DISTINCT FROM NEW.parent_id THEN
+    RETURN NEW;
+  END IF;
+  -- Hierarchy changes of one tenant run one at a time: two concurrent moves
+  -- (A under B, B under A) would each pass the cycle check below against a
+  -- closure table that does not show the other yet. Under READ COMMITTED the
+  -- checks after the lock see whatever the previous holder committed.
+  PERFORM pg_advisory_xact_lock(hashtext('product_category_tree'), hashtext(NEW.tenant_id::text));
+  IF NEW.parent_id IS NULL THEN
+    RETURN NEW;
+  END IF;
+  IF NOT EXISTS (SELECT 1 FROM app.product_categories p
+                 WHERE p.id = NEW.parent_id AND p.tenant_id = NEW.tenant_id) THEN
+    RAISE EXCEPTION 'Parent category % belongs to another tenant', NEW.parent_id
+      USING ERRCODE = 'check_violation';
+  END IF;
+  IF TG_OP = 'UPDATE' AND EXISTS (SELECT 1 FROM app.product_category_closure c
+                                  WHERE c.ancestor_id = NEW.id AND c.descendant_id = NEW.parent_id) THEN
+    RAISE EXCEPTION 'Category % cannot be moved under its own subtree', NEW.id
+      USING ERRCODE = 'check_violation';
+  END IF;
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION app.product_category_closure_move() RETURNS trigger AS $$
+BEGIN
+  -- Old ancestors lose every node of the moved subtree
+  DELETE FROM app.product_category_closure d
+  USING app.product_category_closure sub, app.product_category_closure up
+  WHERE sub.ancestor_id = NEW.id
+    AND up.descendant_id = NEW.id AND up.ancestor_id <> NEW.id
+    AND d.ancestor_id = up.ancestor_id
+    AND d.descendant_id = sub.descendant_id;
+
+  IF NEW.parent_id IS NOT NULL THEN
+    INSERT INTO app.product_category_closure (ancestor_id, descendant_id, tenant_id, depth)
+    SELECT up.ancestor_id, sub.descendant_id, NEW.tenant_id, up.depth + sub.depth + 1
+    FROM app.product_category_closure up
+    CROSS JOIN app.product_category_closure sub
+    WHERE up.descendant_id = NEW.parent_id
+      AND sub.ancestor_id = NEW.id;
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_product_categories_closure_check ON app.product_categories;
+CREATE TRIGGER trg_product_categories_closure_check
+  BEFORE INSERT OR UPDATE OF parent_id ON app.product_categories
+  FOR EACH ROW EXECUTE FUNCTION app.product_category_closure_check();
+
+DROP TRIGGER IF EXISTS trg_product_categories_closure_insert ON app.product_categories;
+CREATE TRIGGER trg_product_categories_closure_insert
+  AFTER INSERT ON app.product_categories
+  FOR EACH ROW EXECUTE FUNCTION app.product_category_closure_insert();
+
+DROP TRIGGER IF EXISTS trg_product_categories_closure_move ON app.product_categories;
+CREATE TRIGGER trg_product_categories_closure_move
+  AFTER UPDATE OF parent_id ON app.product_categories
+  FOR EACH ROW WHEN (OLD.parent_id IS DISTINCT FROM NEW.parent_id)
+  EXECUTE FUNCTION app.product_category_closure_move();
+
+-- ===========================
+-- 3. BACKFILL
+-- ===========================
+-- Existing hierarchies in one recursive statement; the depth cap stops on
+-- cycles that may already be in the data
+
+INSERT INTO app.product_category_closure (ancestor_id, descendant_id, tenant_id, depth)
+WITH RECURSIVE walk AS (
+  SELECT id AS ancestor_id, id AS descendant_id, tenant_id, 0 AS depth
+  FROM app.product_categories
+  UNION ALL
+  SELECT w.ancestor_id, c.id, c.tenant_id, w.depth + 1
+  FROM walk w
+  JOIN app.product_categories c ON c.parent_id = w.descendant_id AND c.tenant_id = w.tenant_id
+  WHERE w.depth < 64
+)
+SELECT DISTINCT ON (ancestor_id, descendant_id) ancestor_id, descendant_id, tenant_id, depth
+FROM walk
+ORDER BY ancestor_id, descendant_id, depth
+ON CONFLICT DO NOTHING;
+
+-- ===========================
+-- 4. CACHE EPOCHS
+-- ===========================
+-- Category writes publish on the PRODUCT_CATEGORIES region keyed by tenant id;
+-- nodes drop that tenant's in-memory category tree.
+
+INSERT INTO app.cache_epochs (region, epoch)
+VALUES ('PRODUCT_CATEGORIES', 0)
+ON CONFLICT (region) DO NOTHING;
@@ -0,0 +1,13 @@
+-- 2026-10-18_product_search.sql
+-- Cache region for the in-memory product search index
+-- Run this AFTER cache_invalidation_18102026.sql
+
+-- ===========================
+-- 1. CACHE EPOCHS
+-- ===========================
+-- Product writes publish on the PRODUCTS region with the key
+-- 'tenantId:productId,...'; nodes reload those products into their index.
+
+INSERT INTO app.cache_epochs (region, epoch)
+VALUES ('PRODUCTS', 0)
+ON CONFLICT (region) DO NOTHING;
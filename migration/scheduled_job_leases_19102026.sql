@@ -0,0 +1,35 @@
+-- 2026-10-19_scheduled_job_leases.sql
+-- Time-bound leases instead of session advisory locks for the job runner
+-- Run this AFTER scheduled_jobs_18102026.sql
+
+-- A node runs a job by claiming its row: one UPDATE that succeeds only when
+-- the job is due and no unexpired lease exists. The holder extends
+-- lease_until while the job runs and every bookkeeping write is conditioned
+-- on lease_run_id, so a node that lost its lease (a long GC pause, a network
+-- partition) can no longer record a result over the next holder's. Runs
+-- still RUNNING when a new lease is granted belonged to a node that stopped
+-- renewing and are marked ABANDONED.
+
+-- ===========================
+-- 1. LEASE
+-- ===========================
+
+ALTER TABLE app.scheduled_jobs
+  ADD COLUMN IF NOT EXISTS lease_owner text,
+  ADD COLUMN IF NOT EXISTS lease_run_id uuid,
+  ADD COLUMN IF NOT EXISTS lease_until timestamptz;
+
+-- ===========================
+-- 2. ABANDONED RUNS
+-- ===========================
+
+ALTER TABLE app.job_runs DROP CONSTRAINT IF EXISTS job_runs_status_check;
+ALTER TABLE app.job_runs ADD CONSTRAINT job_runs_status_check
+  CHECK (status IN ('RUNNING', 'SUCCEEDED', 'FAILED', 'ABANDONED'));
+
+-- Rows left RUNNING by nodes that died before this migration
+UPDATE app.job_runs
+SET status = 'ABANDONED', finished_at = now(), error = 'Runner stopped before the run finished'
+WHERE status = 'RUNNING' AND started_at < now() - interval '1 hour';
+
+CREATE INDEX IF NOT EXISTS idx_job_runs_running ON app.job_runs (job_name) WHERE status = 'RUNNING';
@@ -0,0 +1,37 @@
+-- 2026-10-18_scheduled_jobs.sql
+-- Cluster-wide schedule and run history for the job runner
+-- Run this AFTER uuidv7_18102026.sql
+
+-- Only the node holding the job's lease runs it (scheduled_job_leases_19102026.sql);
+-- it reads and advances next_run_at here so every fire time runs once across
+-- the cluster.
+
+-- ===========================
+-- 1. SCHEDULE
+-- ===========================
+
+CREATE TABLE IF NOT EXISTS app.scheduled_jobs (
+  name text PRIMARY KEY,
+  next_run_at timestamptz NOT NULL,
+  last_started_at timestamptz,
+  last_finished_at timestamptz,
+  last_status text,
+  last_node_id text
+);
+
+-- ===========================
+-- 2. RUN HISTORY
+-- ===========================
+
+CREATE TABLE IF NOT EXISTS app.job_runs (
+  id uuid PRIMARY KEY DEFAULT app.uuid_generate_v7(),
+  job_name text NOT NULL,
+  node_id text NOT NULL,
+  scheduled_at timestamptz NOT NULL,
+  started_at timestamptz NOT NULL,
+  finished_at timestamptz,
+  status text NOT NULL CHECK (status IN ('RUNNING', 'SUCCEEDED', 'FAILED')),
+  items_processed bigint NOT NULL DEFAULT 0,
+  error text
+);
+CREATE INDEX IF NOT EXISTS idx_job_runs_job ON app.job_runs (job_name, started_at DESC);
@@ -0,0 +1,22 @@
+-- 2026-10-18_supplier_pricing.sql
+-- Cache region and lookup index for the in-memory supplier price index
+-- Run this AFTER cache_invalidation_18102026.sql
+
+-- ===========================
+-- 1. INDEXES
+-- ===========================
+-- The index loads a tenant's active prices in one query
+
+CREATE INDEX IF NOT EXISTS idx_supplier_prices_tenant_active
+  ON app.supplier_product_prices(tenant_id, product_id)
+  WHERE is_active;
+
+-- ===========================
+-- 2. CACHE EPOCHS
+-- ===========================
+-- Price and supplier writes publish on the SUPPLIER_PRICES region keyed by
+-- tenant id; nodes drop that tenant's loaded prices.
+
+INSERT INTO app.cache_epochs (region, epoch)
+VALUES ('SUPPLIER_PRICES', 0)
+ON CONFLICT (region) DO NOTHING;
@@ -0,0 +1,47 @@
+-- 2026-10-18_trigram_search.sql
+-- Trigram indexes for fuzzy supplier and member search
+-- Run this AFTER initial_07122025.sql
+
+-- ===========================
+-- 1. EXTENSIONS
+-- ===========================
+-- pg_trgm is created by the initial schema; btree_gin lets tenant_id share
+-- the GIN index with the trigrams so one index scan answers both conditions
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+-- ===========================
+-- 2. SEARCH DOCUMENTS
+-- ===========================
+-- One lower-cased text per row holding every searched field, kept by
+-- PostgreSQL itself. Adding a stored column rewrites the table, so run this
+-- outside peak hours on large tenants.
+--   suppliers => name, code, city, contact person
+--   members   => full name, member code, phone, email
+
+ALTER TABLE app.suppliers
+  ADD COLUMN IF NOT EXISTS search_text text GENERATED ALWAYS AS (
+    lower(coalesce(supplier_name, '') || ' ' || coalesce(supplier_code, '') || ' '
+          || coalesce(city, '') || ' ' || coalesce(contact_person, ''))
+  ) STORED;
+
+ALTER TABLE app.members
+  ADD COLUMN IF NOT EXISTS search_text text GENERATED ALWAYS AS (
+    lower(coalesce(full_name, '') || ' ' || coalesce(member_code, '') || ' '
+          || coalesce(phone, '') || ' ' || coalesce(email, ''))
+  ) STORED;
+
+-- ===========================
+-- 3. INDEXES
+-- ===========================
+-- Serve both the infix LIKE '%term%' and the word similarity operator <%
+-- used by the fuzzy search queries; live rows only
+
+CREATE INDEX IF NOT EXISTS idx_suppliers_tenant_search_trgm
+  ON app.suppliers USING gin (tenant_id, search_text gin_trgm_ops)
+  WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_members_tenant_search_trgm
+  ON app.members USING gin (tenant_id, search_text gin_trgm_ops)
+  WHERE deleted_at IS NULL;
@@ -0,0 +1,99 @@
+-- trigram_search_benchmark.sql
+-- Benchmark for the supplier and member fuzzy search at 1M rows per table.
+-- NOT a migration: it loads synthetic rows into a throwaway tenant inside one
+-- transaction and rolls everything back at the end. Run it on a staging copy
+-- AFTER trigram_search_18102026.sql, e.g.
+--   psql -f migration/trigram_search_benchmark.sql
+-- then compare the plans with and without the trigram indexes (section 4).
+
+\timing on
+BEGIN;
+
+-- ===========================
+-- 1. SYNTHETIC DATA
+-- ===========================
+-- One tenant holding 1M suppliers and 1M members with names drawn from small
+-- word lists, so searches hit realistic numbers of near-duplicates
+
+CREATE TEMP TABLE bench_tenant ON COMMIT DROP AS
+SELECT gen_random_uuid() AS id;
+
+INSERT INTO app.tenants (id, name, code)
+SELECT id, 'Trigram benchmark', 'trgm-bench-' || left(id::text, 8) FROM bench_tenant;
+
+INSERT INTO app.suppliers (tenant_id, supplier_code, supplier_name, city, contact_person, phone)
+SELECT t.id,
+       'SUP-' || lpad(g::text, 7, '0'),
+       (ARRAY['Sinar','Maju','Jaya','Sumber','Berkah','Mitra','Karya','Abadi'])[1 + g % 8] || ' '
+         || (ARRAY['Makmur','Sentosa','Pangan','Tani','Niaga','Utama','Lestari'])[1 + (g / 8) % 7] || ' '
+         || (ARRAY['CV','PT','UD','Koperasi'])[1 + (g / 56) % 4] || ' ' || g,
+       (ARRAY['Jakarta','Bandung','Surabaya','Semarang','Yogyakarta','Medan','Makassar'])[1 + g % 7],
+       (ARRAY['Budi','Siti','Agus','Dewi','Rina','Joko','Sri'])[1 + (g / 3) % 7] || ' '
+         || (ARRAY['Santoso','Wijaya','Pratama','Lestari','Hidayat'])[1 + (g / 21) % 5],
+       '08' || lpad((g * 7919 % 1000000000)::text, 10, '0')
+FROM bench_tenant t, generate_series(1, 1000000) AS g;
+
+INSERT INTO app.members (tenant_id, member_code, full_name, email, phone, joined_at)
+SELECT t.id,
+       'MBR-' || lpad(g::text, 7, '0'),
+       (ARRAY['Budi','Siti','Agus','Dewi','Rina','Joko','Sri','Ahmad','Putri'])[1 + g % 9] || ' '
+         || (ARRAY['Santoso','Wijaya','Pratama','Lestari','Hidayat','Saputra','Nugroho'])[1 + (g / 9) % 7] || ' '
+         || g,
+       'member' || g || '@example.com',
+       '08' || lpad((g * 104729 % 1000000000)::text, 10, '0'),
+       DATE '2020-01-01' + (g % 2000)
+FROM bench_tenant t, generate_series(1, 1000000) AS g;
+
+ANALYZE app.suppliers;
+ANALYZE app.members;
+
+-- ===========================
+-- 2. SUPPLIERS
+-- ===========================
+-- Same statement as SupplierRepository.searchFuzzy: prefix, infix and a
+-- misspelled query. Expect a Bitmap Index Scan on
+-- idx_suppliers_tenant_search_trgm, not a Seq Scan on app.suppliers.
+
+PREPARE supplier_search(uuid, text, text) AS
+SELECT s.* FROM app.suppliers s
+WHERE s.tenant_id = $1 AND s.deleted_at IS NULL
+  AND (s.search_text LIKE $3 ESCAPE '\' OR $2 <% s.search_text)
+ORDER BY (s.search_text LIKE $3 ESCAPE '\') DESC,
+         word_similarity($2, s.search_text) DESC,
+         s.supplier_name, s.id
+LIMIT 50;
+
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE supplier_search((SELECT id FROM bench_tenant), 'sup-00420', '%sup-00420%');
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE supplier_search((SELECT id FROM bench_tenant), 'pangan', '%pangan%');
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE supplier_search((SELECT id FROM bench_tenant), 'surabya', '%surabya%');
+
+-- ===========================
+-- 3. MEMBERS
+-- ===========================
+-- Same statement as MemberRepository.searchFuzzy
+
+PREPARE member_search(uuid, text, text) AS
+SELECT m.* FROM app.members m
+WHERE m.tenant_id = $1 AND m.deleted_at IS NULL
+  AND (m.search_text LIKE $3 ESCAPE '\' OR $2 <% m.search_text)
+ORDER BY (m.search_text LIKE $3 ESCAPE '\') DESC,
+         word_similarity($2, m.search_text) DESC,
+         m.full_name, m.id
+LIMIT 50;
+
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE member_search((SELECT id FROM bench_tenant), 'mbr-00042', '%mbr-00042%');
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE member_search((SELECT id FROM bench_tenant), 'member4242@', '%member4242@%');
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE member_search((SELECT id FROM bench_tenant), 'santosso', '%santosso%');
+
+-- ===========================
+-- 4. BASELINE
+-- ===========================
+-- The previous infix search (LOWER(name) LIKE '%term%') for comparison;
+-- without the trigram index this is a Seq Scan over every tenant's rows
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT s.* FROM app.suppliers s
+WHERE s.tenant_id = (SELECT id FROM bench_tenant)
+  AND lower(s.supplier_name) LIKE '%pangan%' AND s.deleted_at IS NULL;
+
+ROLLBACK;
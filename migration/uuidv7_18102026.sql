@@ -0,0 +1,52 @@
+-- 2026-10-18_uuidv7.sql
+-- Time-ordered (version 7) UUID primary keys for rows inserted by SQL
+-- Run this AFTER initial_07122025.sql
+
+-- The application generates v7 keys itself; this default covers rows written
+-- by native statements (bulk inserts, backfills, seeders) so they also append
+-- to the right-hand side of the primary key index instead of splitting
+-- random pages. Existing keys are left untouched.
+
+-- ===========================
+-- 1. GENERATOR
+-- ===========================
+-- 48-bit unix milliseconds followed by the random bits of a v4 UUID, with the
+-- version nibble switched from 4 to 7
+
+CREATE OR REPLACE FUNCTION app.uuid_generate_v7() RETURNS uuid
+LANGUAGE sql VOLATILE PARALLEL SAFE AS $$
+  SELECT encode(
+    set_bit(
+      set_bit(
+        overlay(uuid_send(gen_random_uuid())
+                PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                FROM 1 FOR 6),
+        52, 1),
+      53, 1),
+    'hex')::uuid
+$$;
+
+-- ===========================
+-- 2. COLUMN DEFAULTS
+-- ===========================
+
+ALTER TABLE app.tenants ALTER COLUMN id SET DEFAULT app.uuid_generate_v7();
+ALTER TABLE app.tenant_domains ALTER COLUMN id SET DEFAULT app.uuid_generate_v7();
+ALTER TABLE app.tenant_subscriptions ALTER COLUMN id SET DEFAULT app.uuid_generate_v7();
+ALTER TABLE app.subscription_invoices ALTER COLUMN id SET DEFAULT app.uuid_generate_v7();
+ALTER TABLE app.tenant_registrations ALTER COLUMN id SET DEFAULT app.uuid_generate_v7();
+ALTER TABLE app.users ALTER COLUMN id SET DEFAULT app.uuid_generate_v7();
+ALTER TABLE app.user_sessions ALTER COLUMN id SET DEFAULT app.uuid_generate_v7();
+ALTER TABLE app.refresh_tokens ALTER COLUMN id SET DEFAULT app.uuid_generate_v7();
+ALTER TABLE app.members ALTER COLUMN id SET DEFAULT app.uuid_generate_v7();
+ALTER TABLE app.products ALTER COLUMN id SET DEFAULT app.uuid_generate_v7();
+ALTER TABLE app.inventories ALTER COLUMN id SET DEFAULT app.uuid_generate_v7();
+ALTER TABLE app.suppliers ALTER COLUMN id SET DEFAULT app.uuid_generate_v7();
+ALTER TABLE app.supplier_product_prices ALTER COLUMN id SET DEFAULT app.uuid_generate_v7();
+ALTER TABLE app.orders ALTER COLUMN id SET DEFAULT app.uuid_generate_v7();
+ALTER TABLE app.order_items ALTER COLUMN id SET DEFAULT app.uuid_generate_v7();
+ALTER TABLE app.payments ALTER COLUMN id SET DEFAULT app.uuid_generate_v7();
+ALTER TABLE app.savings_accounts ALTER COLUMN id SET DEFAULT app.uuid_generate_v7();
+ALTER TABLE app.loans ALTER COLUMN id SET DEFAULT app.uuid_generate_v7();
+ALTER TABLE app.documents ALTER COLUMN id SET DEFAULT app.uuid_generate_v7();
+ALTER TABLE app.feature_flags ALTER COLUMN id SET DEFAULT app.uuid_generate_v7();
@@ -0,0 +1,105 @@
+-- uuidv7_benchmark.sql
+-- Benchmark of random (v4) against time-ordered (v7) primary keys: insert time,
+-- WAL volume and the shape of the primary key btree after 1M inserts.
+-- NOT a migration: it creates two scratch tables inside one transaction and
+-- rolls everything back at the end. Run it on a staging copy AFTER
+-- uuidv7_18102026.sql, as a superuser (pgstattuple), e.g.
+--   psql -f migration/uuidv7_benchmark.sql
+-- Every insert goes through the primary key, so the difference between the
+-- two runs is the cost of where new keys land in the index. app.uuid_generate_v7()
+-- lays out its bits like the application's UuidV7 generator.
+
+CREATE EXTENSION IF NOT EXISTS pgstattuple;
+BEGIN;
+
+-- ===========================
+-- 1. SCRATCH TABLES
+-- ===========================
+-- Shaped like a narrow log or session table; fillfactor left at the default
+
+CREATE SCHEMA bench_uuid;
+CREATE TABLE bench_uuid.v4 (
+  id uuid PRIMARY KEY,
+  tenant_id uuid NOT NULL,
+  created_at timestamptz NOT NULL DEFAULT now(),
+  payload text
+);
+CREATE TABLE bench_uuid.v7 (LIKE bench_uuid.v4 INCLUDING ALL);
+CREATE TEMP TABLE bench_results (
+  keys text PRIMARY KEY,
+  rows bigint,
+  generate_ms numeric,
+  insert_ms numeric,
+  wal_mb numeric,
+  index_mb numeric,
+  leaf_pages bigint,
+  avg_leaf_density numeric,
+  leaf_fragmentation numeric
+) ON COMMIT DROP;
+
+-- ===========================
+-- 2. INSERTS
+-- ===========================
+-- One row per statement, as the application writes them; in bulk statements
+-- many v7 keys share a millisecond and land in random order within it
+
+DO $$
+DECLARE
+  kind text;
+  started timestamptz;
+  wal_before pg_lsn;
+  generate_ms numeric;
+  stats record;
+BEGIN
+  FOREACH kind IN ARRAY ARRAY['v4', 'v7'] LOOP
+    -- The key generator alone, to tell its cost apart from the index's
+    started := clock_timestamp();
+    EXECUTE format('SELECT count(%s) FROM generate_series(1, 1000000)',
+                   CASE kind WHEN 'v4' THEN 'gen_random_uuid()' ELSE 'app.uuid_generate_v7()' END);
+    generate_ms := round(extract(epoch FROM clock_timestamp() - started)::numeric * 1000);
+
+    started := clock_timestamp();
+    wal_before := pg_current_wal_insert_lsn();
+    FOR i IN 1..1000000 LOOP
+      IF kind = 'v4' THEN
+        INSERT INTO bench_uuid.v4 (id, tenant_id, payload)
+        VALUES (gen_random_uuid(), '00000000-0000-0000-0000-000000000001', repeat('x', 40));
+      ELSE
+        INSERT INTO bench_uuid.v7 (id, tenant_id, payload)
+        VALUES (app.uuid_generate_v7(), '00000000-0000-0000-0000-000000000001', repeat('x', 40));
+      END IF;
+    END LOOP;
+    SELECT * INTO stats FROM pgstatindex(format('bench_uuid.%s_pkey', kind));
+    INSERT INTO bench_results
+    VALUES (kind, 1000000, generate_ms,
+            round(extract(epoch FROM clock_timestamp() - started)::numeric * 1000),
+            round(pg_wal_lsn_diff(pg_current_wal_insert_lsn(), wal_before) / 1048576.0, 1),
+            round(stats.index_size / 1048576.0, 1),
+            stats.leaf_pages, stats.avg_leaf_density, stats.leaf_fragmentation);
+  END LOOP;
+END
+$$;
+
+-- ===========================
+-- 3. RESULTS
+-- ===========================
+-- A v4 index splits pages all over the tree and ends up around 70% full; a v7
+-- index only splits its rightmost leaf and stays around 90% full, so it needs
+-- fewer pages, less WAL and less cache for the same rows.
+-- Measured on PostgreSQL 17, 1M rows each (generate / insert ms, WAL MB,
+-- index MB, leaf pages, leaf density %, leaf fragmentation %):
+--   shared_buffers 128MB  v4  2420 / 13870  241.1  37.3  4745  72.8  49.9
+--                         v7  4245 / 15689  202.1  29.8  3798  90.8   0.0
+--   shared_buffers  16MB  v4  2543 / 15473  216.0  38.2  4865  71.0  50.0
+--                         v7  4513 / 15741  202.1  29.9  3802  90.7   0.0
+-- The SQL generator costs ~2us more per key than gen_random_uuid(); net of
+-- it, inserts cost the same while the index is cached and v7 is ~13% cheaper
+-- once it is not. The application generates its keys in Java, so it pays
+-- only the index side.
+
+SELECT keys, rows, generate_ms, insert_ms, round(rows / (insert_ms / 1000)) AS rows_per_s, wal_mb, index_mb,
+       leaf_pages, avg_leaf_density, leaf_fragmentation
+FROM bench_results
+ORDER BY keys;
+
+ROLLBACK;
@@ -1,5 +1,6 @@
 package com.kompu.api.entity.appconfig.gateway;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,4 +22,13 @@ public interface AppConfigGateway {
 
     List<AppConfigModel> findAll();
 
+    Optional<LocalDateTime> findLastUpdatedAt();
+
+    long count();
+
+    /**
+     * Set a key's value, creating the key with the description when missing
+     */
+    void saveValue(String configKey, String configValue, String description);
+
 }
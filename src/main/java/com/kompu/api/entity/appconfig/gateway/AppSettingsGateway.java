@@ -0,0 +1,64 @@
+package com.kompu.api.entity.appconfig.gateway;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.kompu.api.entity.appconfig.model.AppConfigChangeEvent;
+import com.kompu.api.entity.appconfig.model.ConfigProperty;
+
+/**
+ * Gateway interface for typed, cached access to operational settings stored
+ * in app_config. Reads never hit the database.
+ */
+public interface AppSettingsGateway {
+
+    /**
+     * Raw value of a key from the current snapshot.
+     *
+     * @param configKey the configuration key
+     * @return the raw value, or empty when the key is not defined
+     */
+    Optional<String> getString(String configKey);
+
+    String getString(String configKey, String defaultValue);
+
+    int getInt(String configKey, int defaultValue);
+
+    long getLong(String configKey, long defaultValue);
+
+    boolean getBoolean(String configKey, boolean defaultValue);
+
+    /**
+     * Duration value, written either as ISO-8601 (PT30S) or as milliseconds.
+     */
+    Duration getDuration(String configKey, Duration defaultValue);
+
+    /**
+     * Typed handle on a key, parsed once per configuration version.
+     *
+     * @param configKey    the configuration key
+     * @param parser       converts the raw value
+     * @param defaultValue value used when the key is missing or unparsable
+     * @return the property handle
+     */
+    <T> ConfigProperty<T> property(String configKey, Function<String, T> parser, T defaultValue);
+
+    /**
+     * Version of the current snapshot, incremented on every change.
+     */
+    long getVersion();
+
+    /**
+     * Register a listener called after the snapshot changed.
+     *
+     * @param listener the change listener
+     */
+    void addChangeListener(Consumer<AppConfigChangeEvent> listener);
+
+    /**
+     * Reload the snapshot from the database now.
+     */
+    void reload();
+}
@@ -0,0 +1,27 @@
+package com.kompu.api.entity.appconfig.model;
+
+import java.util.Set;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * AppConfigChangeEvent - Raised after the configuration snapshot changed,
+ * listing the keys that were added, updated or removed
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppConfigChangeEvent {
+
+    private Set<String> changedKeys;
+
+    private long version;
+
+    public boolean affects(String configKey) {
+        return changedKeys != null && changedKeys.contains(configKey);
+    }
+}
@@ -1,5 +1,6 @@
 package com.kompu.api.entity.appconfig.model;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import com.kompu.api.entity.AbstractEntity;
@@ -25,4 +26,6 @@ public class AppConfigModel extends AbstractEntity<UUID> {
 
     private String description;
 
+    private LocalDateTime updatedAt;
+
 }
@@ -0,0 +1,58 @@
+package com.kompu.api.entity.appconfig.model;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.kompu.api.entity.appconfig.gateway.AppSettingsGateway;
+
+/**
+ * ConfigProperty - Typed handle on one configuration key.
+ * 
+ * The raw value is parsed once per configuration version and the result is
+ * reused until the settings change. Missing or unparsable values resolve to
+ * the default.
+ */
+public final class ConfigProperty<T> implements Supplier<T> {
+
+    private final AppSettingsGateway settings;
+    private final String configKey;
+    private final Function<String, T> parser;
+    private final T defaultValue;
+
+    private volatile Parsed<T> parsed;
+
+    public ConfigProperty(AppSettingsGateway settings, String configKey, Function<String, T> parser, T defaultValue) {
+        this.settings = settings;
+        this.configKey = configKey;
+        this.parser = parser;
+        this.defaultValue = defaultValue;
+    }
+
+    public String getConfigKey() {
+        return configKey;
+    }
+
+    @Override
+    public T get() {
+        long version = settings.getVersion();
+        Parsed<T> current = parsed;
+        if (current == null || current.version() != version) {
+            T value = settings.getString(configKey).map(this::parse).orElse(defaultValue);
+            current = new Parsed<>(version, value);
+            parsed = current;
+        }
+        return current.value();
+    }
+
+    private T parse(String raw) {
+        try {
+            T value = parser.apply(raw.trim());
+            return value != null ? value : defaultValue;
+        } catch (RuntimeException e) {
+            return defaultValue;
+        }
+    }
+
+    private record Parsed<T>(long version, T value) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.kompu.api.entity.dashboardtheme.gateway;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.kompu.api.entity.dashboardtheme.model.DashboardThemeModel;
+
+/**
+ * DashboardThemeGateway - Read access to the dashboard theme catalog
+ */
+public interface DashboardThemeGateway {
+
+    Optional<DashboardThemeModel> findById(UUID id);
+
+    Optional<DashboardThemeModel> findByName(String name);
+
+    List<DashboardThemeModel> findAllActive();
+
+    List<DashboardThemeModel> findAll();
+}
@@ -4,8 +4,12 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import com.kompu.api.entity.document.model.DocumentModel;
+import com.kompu.api.entity.document.model.DocumentSummary;
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
 
 /**
  * DocumentGateway - Gateway interface for document data access
@@ -38,6 +42,22 @@ public interface DocumentGateway {
      */
     List<DocumentModel> findAllByTenant(UUID tenantId);
 
+    /**
+     * Find one keyset page of documents for tenant, newest first
+     */
+    CursorPage<DocumentModel> findPageByTenant(UUID tenantId, CursorPageRequest request);
+
+    /**
+     * Keyset page of documents for tenant as lightweight projections, for
+     * list screens
+     */
+    CursorPage<DocumentSummary> findSummaryPageByTenant(UUID tenantId, CursorPageRequest request);
+
+    /**
+     * Stream all documents for tenant to the consumer in fetch-size batches
+     */
+    long forEachByTenant(UUID tenantId, Consumer<? super DocumentModel> consumer);
+
     /**
      * Find documents by type (PO, INVOICE, RECEIPT, etc.)
      */
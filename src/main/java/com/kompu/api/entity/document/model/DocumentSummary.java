@@ -0,0 +1,15 @@
+package com.kompu.api.entity.document.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * DocumentSummary - Read-only projection of a document for document list
+ * screens.
+ * 
+ * Selected column by column, so the content path, signature hash and audit
+ * columns are never loaded and no managed entity is created.
+ */
+public record DocumentSummary(UUID id, String documentType, String documentNumber, UUID orderId, UUID supplierId,
+        String status, Instant generatedAt, Instant createdAt) {
+}
@@ -0,0 +1,12 @@
+package com.kompu.api.entity.export.exception;
+
+/**
+ * ExportJobNotFoundException is thrown when an export job does not exist for
+ * the tenant, or its file is not available yet.
+ */
+public class ExportJobNotFoundException extends RuntimeException {
+
+    public ExportJobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.kompu.api.entity.export.exception;
+
+/**
+ * InvalidExportRequestException is thrown for an unknown data set or format,
+ * or a synchronous export too large to be streamed in the request.
+ */
+public class InvalidExportRequestException extends RuntimeException {
+
+    public InvalidExportRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,25 @@
+package com.kompu.api.entity.export.gateway;
+
+import java.io.OutputStream;
+
+import com.kompu.api.entity.export.model.ExportRequest;
+
+/**
+ * DataExportGateway - Writes a tenant data set in an export format
+ */
+public interface DataExportGateway {
+
+    /**
+     * Number of rows the export would contain right now
+     */
+    long count(ExportRequest request);
+
+    /**
+     * Stream every live row of the data set into {@code output}, row by row
+     * as it is read from the database. The output is finished (and gzip
+     * trailers written) but not closed.
+     *
+     * @return number of rows written
+     */
+    long export(ExportRequest request, OutputStream output);
+}
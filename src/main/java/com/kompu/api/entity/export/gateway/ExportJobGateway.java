@@ -0,0 +1,20 @@
+package com.kompu.api.entity.export.gateway;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import com.kompu.api.entity.export.model.ExportJobModel;
+import com.kompu.api.entity.export.model.ExportRequest;
+
+/**
+ * ExportJobGateway - Queue of background exports
+ */
+public interface ExportJobGateway {
+
+    /**
+     * Queue an export; a worker on some node picks it up
+     */
+    ExportJobModel submit(ExportRequest request);
+
+    Optional<ExportJobModel> findById(UUID id);
+}
@@ -0,0 +1,30 @@
+package com.kompu.api.entity.export.model;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * ExportDataset - The tenant data sets that can be exported
+ */
+public enum ExportDataset {
+    MEMBERS,
+    PRODUCTS,
+    ORDERS,
+    SUPPLIERS;
+
+    public String slug() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static Optional<ExportDataset> fromSlug(String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        for (ExportDataset dataset : values()) {
+            if (dataset.slug().equalsIgnoreCase(value.trim())) {
+                return Optional.of(dataset);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,47 @@
+package com.kompu.api.entity.export.model;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * ExportFormat - File formats an export can be written in
+ */
+public enum ExportFormat {
+    CSV("csv", "text/csv"),
+    NDJSON("ndjson", "application/x-ndjson"),
+    XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    /**
+     * Data rows one XLSX worksheet can hold, below the header row
+     */
+    public static final long XLSX_MAX_ROWS = 1_048_575;
+
+    private final String extension;
+    private final String contentType;
+
+    ExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static Optional<ExportFormat> fromExtension(String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        for (ExportFormat format : values()) {
+            if (format.extension.equals(normalized)) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+}
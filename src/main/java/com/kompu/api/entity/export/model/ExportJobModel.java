@@ -0,0 +1,53 @@
+package com.kompu.api.entity.export.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * ExportJobModel - An export written in the background to file storage.
+ * 
+ * status is PENDING until a worker picks it up, RUNNING while it is written,
+ * then DONE with the stored file or FAILED with the last error.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJobModel {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_DONE = "DONE";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private UUID id;
+    private UUID tenantId;
+    private ExportDataset dataset;
+    private ExportFormat format;
+    private boolean gzip;
+    private String status;
+    private int attempts;
+    private Long rowCount;
+    @JsonIgnore
+    private String filePath;
+    private String lastError;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    @JsonIgnore
+    public ExportRequest toRequest() {
+        return new ExportRequest(tenantId, dataset, format, gzip);
+    }
+
+    public boolean isDone() {
+        return STATUS_DONE.equals(status);
+    }
+}
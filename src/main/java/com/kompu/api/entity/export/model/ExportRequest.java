@@ -0,0 +1,17 @@
+package com.kompu.api.entity.export.model;
+
+import java.util.UUID;
+
+/**
+ * ExportRequest - What to export for a tenant and how to encode it
+ */
+public record ExportRequest(UUID tenantId, ExportDataset dataset, ExportFormat format, boolean gzip) {
+
+    public String fileName() {
+        return dataset.slug() + "." + format.getExtension() + (gzip ? ".gz" : "");
+    }
+
+    public String contentType() {
+        return gzip ? "application/gzip" : format.getContentType();
+    }
+}
@@ -0,0 +1,12 @@
+package com.kompu.api.entity.featureflag.exception;
+
+/**
+ * FeatureNotEnabledException is thrown when a tenant uses a feature its
+ * flags do not enable.
+ */
+public class FeatureNotEnabledException extends RuntimeException {
+
+    public FeatureNotEnabledException(String featureKey) {
+        super("Feature " + featureKey + " is not enabled for this tenant");
+    }
+}
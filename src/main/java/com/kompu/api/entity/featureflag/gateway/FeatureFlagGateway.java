@@ -27,6 +27,38 @@ public interface FeatureFlagGateway {
      */
     FeatureFlagModel create(FeatureFlagModel flagModel);
 
+    /**
+     * Create several feature flags with a single multi-row insert.
+     *
+     * Flags whose (tenant, key) already exists are skipped, which makes the
+     * call safe to repeat.
+     *
+     * @param flagModels the flags to create
+     * @return the number of flags actually inserted
+     */
+    int createAll(List<FeatureFlagModel> flagModels);
+
+    /**
+     * Create or overwrite several feature flags with a single multi-row upsert.
+     *
+     * Existing flags with the same (tenant, key) get their value and enabled
+     * state replaced.
+     *
+     * @param flagModels the flags to create or overwrite
+     * @return the number of flags inserted or updated
+     */
+    int upsertAll(List<FeatureFlagModel> flagModels);
+
+    /**
+     * Backfill every subscribed tenant with the templates of its current plan
+     * introduced after the given template version, in a single statement.
+     *
+     * @param sinceVersion only templates with a version greater than this are
+     *                     applied
+     * @return the number of flags inserted
+     */
+    int backfillFromTemplates(int sinceVersion);
+
     /**
      * Update an existing feature flag
      * 
@@ -0,0 +1,47 @@
+package com.kompu.api.entity.featureflag.gateway;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.kompu.api.entity.featureflag.model.FeatureFlagTemplateModel;
+
+/**
+ * FeatureFlagTemplateGateway defines the contract for reading and maintaining
+ * the declarative feature flag templates used to provision tenants.
+ */
+public interface FeatureFlagTemplateGateway {
+
+    /**
+     * Resolve the effective templates for a subscription plan.
+     *
+     * Base templates are overridden by plan templates with the same key, and
+     * feature-bound templates are disabled unless the plan includes the linked
+     * subscription feature.
+     *
+     * @param planId the subscription plan ID, or null for base templates only
+     * @return one template per flag key
+     */
+    List<FeatureFlagTemplateModel> findEffectiveByPlanId(UUID planId);
+
+    /**
+     * Find every template row (base and plan specific)
+     *
+     * @return list of all templates
+     */
+    List<FeatureFlagTemplateModel> findAll();
+
+    /**
+     * Find the highest template version currently defined
+     *
+     * @return the latest version, or 0 when no templates exist
+     */
+    int findLatestVersion();
+
+    /**
+     * Create or update a template
+     *
+     * @param templateModel the template to save
+     * @return the saved template
+     */
+    FeatureFlagTemplateModel save(FeatureFlagTemplateModel templateModel);
+}
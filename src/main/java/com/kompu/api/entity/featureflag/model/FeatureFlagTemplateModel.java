@@ -0,0 +1,100 @@
+package com.kompu.api.entity.featureflag.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.kompu.api.entity.AbstractEntity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * FeatureFlagTemplateModel represents a declarative default for a tenant
+ * feature flag.
+ *
+ * Templates replace the hard-coded flag lists used at tenant provisioning:
+ * - Base templates (plan_id = NULL) apply to every plan
+ * - Plan templates override a base template with the same key
+ * - Feature-bound templates are only enabled when the plan includes the
+ * linked subscription feature
+ * - Every template carries the version it was introduced in, so existing
+ * tenants can be backfilled with templates newer than a given version
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+public class FeatureFlagTemplateModel extends AbstractEntity<UUID> {
+
+    private UUID id;
+
+    /**
+     * The subscription plan this template belongs to (NULL for base templates)
+     */
+    private UUID planId;
+
+    /**
+     * The subscription feature gating this template (NULL when not gated)
+     */
+    private UUID featureId;
+
+    /**
+     * Feature flag key the template produces (e.g., "payments.enabled")
+     */
+    private String key;
+
+    /**
+     * Default flag value stored as JSON
+     */
+    private String value;
+
+    /**
+     * Default enabled state, already resolved against the plan features when
+     * loaded for a specific plan
+     */
+    private boolean enabled;
+
+    /**
+     * Template version the row was introduced in
+     */
+    private int version;
+
+    private String description;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    /**
+     * Check if this is a base template shared by every plan
+     *
+     * @return true if plan_id is null
+     */
+    public boolean isBase() {
+        return this.planId == null;
+    }
+
+    /**
+     * Build the tenant feature flag this template describes.
+     *
+     * @param tenantId the tenant receiving the flag
+     * @param flagId   the identifier to assign to the new flag
+     * @param now      the creation timestamp
+     * @return a new FeatureFlagModel carrying the template defaults
+     */
+    public FeatureFlagModel toTenantFlag(UUID tenantId, UUID flagId, LocalDateTime now) {
+        return FeatureFlagModel.builder()
+                .id(flagId)
+                .tenantId(tenantId)
+                .key(this.key)
+                .value(this.value)
+                .enabled(this.enabled)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.kompu.api.entity.loan.gateway;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import com.kompu.api.entity.loan.model.LoanModel;
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
+
+/**
+ * LoanGateway - Gateway interface for loan data access
+ */
+public interface LoanGateway {
+
+    /**
+     * Find loan by ID
+     */
+    Optional<LoanModel> findById(UUID id);
+
+    /**
+     * Find all loans for tenant, unbounded; prefer
+     * {@link #findPageByTenantId(UUID, CursorPageRequest)} for lists
+     */
+    List<LoanModel> findByTenantId(UUID tenantId);
+
+    /**
+     * Keyset page of loans for tenant
+     */
+    CursorPage<LoanModel> findPageByTenantId(UUID tenantId, CursorPageRequest request);
+
+    /**
+     * Stream every loan of the tenant to the consumer without loading them
+     * all into memory
+     *
+     * @return number of loans consumed
+     */
+    long forEachByTenantId(UUID tenantId, Consumer<? super LoanModel> consumer);
+}
@@ -3,9 +3,14 @@ package com.kompu.api.entity.member.gateway;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import com.kompu.api.entity.member.exception.MemberNotFoundException;
 import com.kompu.api.entity.member.model.MemberModel;
+import com.kompu.api.entity.member.model.MemberSummary;
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
+import com.kompu.api.entity.shared.model.MetadataPatch;
 
 /**
  * MemberGateway defines the contract for all member data access operations.
@@ -77,6 +82,46 @@ public interface MemberGateway {
      */
     List<MemberModel> findByTenantId(UUID tenantId);
 
+    /**
+     * Find one keyset page of members for a given tenant, newest first
+     * 
+     * @param tenantId the tenant ID
+     * @param request  cursor from the previous page and page size
+     * @return the page, with the cursor of the next page if there is one
+     */
+    CursorPage<MemberModel> findPageByTenantId(UUID tenantId, CursorPageRequest request);
+
+    /**
+     * Find one keyset page of member summaries for a given tenant. Reads only
+     * the columns shown on list screens instead of whole members.
+     * 
+     * @param tenantId the tenant ID
+     * @param request  cursor from the previous page and page size
+     * @return the page, with the cursor of the next page if there is one
+     */
+    CursorPage<MemberSummary> findSummaryPageByTenantId(UUID tenantId, CursorPageRequest request);
+
+    /**
+     * Typo-tolerant search over full name, member code, phone and email,
+     * best matches first
+     * 
+     * @param tenantId the tenant ID
+     * @param query    search text, already trimmed and lower-cased
+     * @param limit    maximum number of results
+     * @return matching member summaries, best match first
+     */
+    List<MemberSummary> searchFuzzy(UUID tenantId, String query, int limit);
+
+    /**
+     * Stream all members of a tenant to the consumer in fetch-size batches,
+     * for exports and other batch consumers
+     * 
+     * @param tenantId the tenant ID
+     * @param consumer receives every member
+     * @return number of members consumed
+     */
+    long forEachByTenantId(UUID tenantId, Consumer<? super MemberModel> consumer);
+
     /**
      * Find all active members for a given tenant
      * 
@@ -101,4 +146,15 @@ public interface MemberGateway {
      * @return true if member code exists, false otherwise
      */
     boolean existsByTenantIdAndMemberCode(UUID tenantId, String memberCode);
+
+    /**
+     * Apply a partial metadata update in a single statement, without loading
+     * the member. Only top-level keys are set or removed.
+     * 
+     * @param id    the member ID
+     * @param patch the fields to set or remove
+     * @return true if the member was updated, false if nothing matched or the
+     *         patch is empty
+     */
+    boolean patchMetadata(UUID id, MetadataPatch patch);
 }
@@ -0,0 +1,20 @@
+package com.kompu.api.entity.member.model;
+
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * MemberMetadata - Typed view of the well-known keys in members.metadata
+ * Unknown keys are ignored and remain untouched in the stored document.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record MemberMetadata(
+        String nationalId,
+        LocalDate birthDate,
+        String gender,
+        String occupation,
+        String emergencyContactName,
+        String emergencyContactPhone,
+        String preferredLanguage) {
+}
@@ -6,12 +6,18 @@ import java.util.UUID;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.kompu.api.entity.AbstractEntity;
+import com.kompu.api.entity.shared.model.JsonMetadata;
+import com.kompu.api.entity.shared.model.MetadataPatch;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 /**
  * MemberModel represents a member/employee within a tenant organization.
@@ -80,6 +86,16 @@ public class MemberModel extends AbstractEntity<UUID> {
     @Builder.Default
     private String metadata = "{}";
 
+    /**
+     * Lazily parsed view of metadata, rebuilt only when metadata is replaced
+     */
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient JsonMetadata metadataView;
+
     /**
      * Timestamp when the member was created
      */
@@ -146,4 +162,37 @@ public class MemberModel extends AbstractEntity<UUID> {
         this.status = "inactive";
         this.deletedAt = LocalDateTime.now();
     }
+
+    /**
+     * Parsed metadata, shared until metadata is replaced
+     * 
+     * @return read-only view of the metadata document
+     */
+    public JsonMetadata metadataView() {
+        JsonMetadata view = this.metadataView;
+        if (view == null || !view.isFor(this.metadata)) {
+            view = JsonMetadata.of(this.metadata);
+            this.metadataView = view;
+        }
+        return view;
+    }
+
+    /**
+     * Typed metadata, converted once per metadata document
+     * 
+     * @return the well-known metadata keys
+     */
+    public MemberMetadata typedMetadata() {
+        return metadataView().as(MemberMetadata.class);
+    }
+
+    /**
+     * Apply a partial metadata update in memory, mirroring what the gateway
+     * patch does in the database
+     * 
+     * @param patch the fields to set or remove
+     */
+    public void applyMetadataPatch(MetadataPatch patch) {
+        this.metadata = patch.applyTo(this.metadata);
+    }
 }
@@ -0,0 +1,15 @@
+package com.kompu.api.entity.member.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * MemberSummary - Read-only projection of a member for member list screens.
+ * 
+ * Selected column by column, so the jsonb metadata, address and audit columns
+ * are never loaded and no managed entity is created.
+ */
+public record MemberSummary(UUID id, String memberCode, String fullName, String email, String phone, String status,
+        LocalDate joinedAt, LocalDateTime createdAt) {
+}
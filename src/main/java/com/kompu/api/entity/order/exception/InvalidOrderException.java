@@ -0,0 +1,9 @@
+package com.kompu.api.entity.order.exception;
+
+public class InvalidOrderException extends RuntimeException {
+
+    public InvalidOrderException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.kompu.api.entity.order.exception;
+
+/**
+ * OrderNotFoundException is thrown when an order does not exist for the
+ * tenant.
+ */
+public class OrderNotFoundException extends RuntimeException {
+
+    public OrderNotFoundException(String message) {
+        super(message);
+    }
+}
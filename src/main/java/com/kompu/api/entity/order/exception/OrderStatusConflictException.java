@@ -0,0 +1,12 @@
+package com.kompu.api.entity.order.exception;
+
+/**
+ * OrderStatusConflictException is thrown when an order has already left the
+ * status a change needs, e.g. paying an order that was cancelled.
+ */
+public class OrderStatusConflictException extends RuntimeException {
+
+    public OrderStatusConflictException(String message) {
+        super(message);
+    }
+}
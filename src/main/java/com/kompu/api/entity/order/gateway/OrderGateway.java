@@ -0,0 +1,59 @@
+package com.kompu.api.entity.order.gateway;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import com.kompu.api.entity.order.model.OrderModel;
+import com.kompu.api.entity.order.model.OrderSummary;
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
+import com.kompu.api.entity.shared.model.MetadataPatch;
+
+/**
+ * OrderGateway - Gateway interface for order data access
+ */
+public interface OrderGateway {
+
+    /**
+     * Find order by ID
+     */
+    Optional<OrderModel> findById(UUID id);
+
+    /**
+     * Find all orders for tenant, unbounded; prefer
+     * {@link #findPageByTenantId(UUID, CursorPageRequest)} for lists
+     */
+    List<OrderModel> findByTenantId(UUID tenantId);
+
+    /**
+     * Keyset page of orders for tenant
+     */
+    CursorPage<OrderModel> findPageByTenantId(UUID tenantId, CursorPageRequest request);
+
+    /**
+     * Keyset page of orders for tenant as lightweight projections, for
+     * list screens
+     */
+    CursorPage<OrderSummary> findSummaryPageByTenantId(UUID tenantId, CursorPageRequest request);
+
+    /**
+     * Stream every order of the tenant to the consumer without loading them
+     * all into memory
+     *
+     * @return number of orders consumed
+     */
+    long forEachByTenantId(UUID tenantId, Consumer<? super OrderModel> consumer);
+
+    /**
+     * Apply a partial metadata update in a single statement, without loading
+     * the order. Only top-level keys are set or removed.
+     * 
+     * @param id    the order ID
+     * @param patch the fields to set or remove
+     * @return true if the order was updated, false if nothing matched or the
+     *         patch is empty
+     */
+    boolean patchMetadata(UUID id, MetadataPatch patch);
+}
@@ -0,0 +1,12 @@
+package com.kompu.api.entity.order.gateway;
+
+import java.util.UUID;
+
+/**
+ * OrderNumberGateway - Hands out order numbers that are unique per tenant.
+ * Numbers increase per node but may interleave across nodes and leave gaps.
+ */
+public interface OrderNumberGateway {
+
+    String next(UUID tenantId);
+}
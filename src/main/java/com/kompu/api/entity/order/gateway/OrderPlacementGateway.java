@@ -0,0 +1,18 @@
+package com.kompu.api.entity.order.gateway;
+
+import com.kompu.api.entity.order.model.OrderPlacement;
+
+/**
+ * OrderPlacementGateway - Writes a placed order in one short transaction
+ */
+public interface OrderPlacementGateway {
+
+    /**
+     * Reserve the stock, insert the order, its items and payment, and queue
+     * the event, all or nothing
+     *
+     * @throws com.kompu.api.entity.product.exception.InsufficientStockException
+     *         when any stock line does not fit; nothing is written then
+     */
+    void place(OrderPlacement placement);
+}
@@ -0,0 +1,33 @@
+package com.kompu.api.entity.order.gateway;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * OrderSettlementGateway - Closes placed orders and settles the stock they
+ * reserved
+ */
+public interface OrderSettlementGateway {
+
+    /**
+     * Move a created order to {@code status}, mark its pending payment the
+     * same way and, in the same transaction, take the reserved units out of
+     * stock when the status is paid or give them back otherwise
+     *
+     * @param providerReference payment reference to record, or null
+     * @return the status the order had before the call, empty when the tenant
+     *         has no such order; only created means it was settled now
+     * @throws com.kompu.api.entity.product.exception.InsufficientStockException
+     *         when paying and the on-hand stock is short; nothing changes then
+     */
+    Optional<String> settle(UUID tenantId, UUID orderId, String status, String providerReference);
+
+    /**
+     * Expire up to {@code limit} created sales orders placed before
+     * {@code cutoff}, oldest first, each in its own transaction
+     *
+     * @return number of orders expired
+     */
+    int expireCreatedBefore(LocalDateTime cutoff, int limit);
+}
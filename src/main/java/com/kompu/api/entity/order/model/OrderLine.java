@@ -0,0 +1,10 @@
+package com.kompu.api.entity.order.model;
+
+import java.util.UUID;
+
+/**
+ * OrderLine - One requested line of a new order. A null location takes the
+ * stock from the tenant's default location.
+ */
+public record OrderLine(UUID productId, String location, int quantity) {
+}
@@ -0,0 +1,16 @@
+package com.kompu.api.entity.order.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * OrderMetadata - Typed view of the well-known keys in orders.metadata
+ * Unknown keys are ignored and remain untouched in the stored document.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record OrderMetadata(
+        String channel,
+        String paymentMethod,
+        String deliveryAddress,
+        String notes,
+        String externalReference) {
+}
@@ -4,13 +4,20 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.kompu.api.entity.AbstractEntity;
+import com.kompu.api.entity.shared.model.JsonMetadata;
+import com.kompu.api.entity.shared.model.MetadataPatch;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 @Data
 @Builder
@@ -19,6 +26,12 @@ import lombok.NoArgsConstructor;
 @EqualsAndHashCode(callSuper = false)
 public class OrderModel extends AbstractEntity<UUID> {
 
+    // A placed order holds reserved stock until it is paid, cancelled or expired
+    public static final String STATUS_CREATED = "created";
+    public static final String STATUS_PAID = "paid";
+    public static final String STATUS_CANCELLED = "cancelled";
+    public static final String STATUS_EXPIRED = "expired";
+
     private UUID id;
     private UUID tenantId;
     private String orderNumber;
@@ -30,9 +43,32 @@ public class OrderModel extends AbstractEntity<UUID> {
     private BigDecimal totalAmount;
     private String currency;
     private String metadata; // JSON string
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient JsonMetadata metadataView;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private UUID createdBy;
     private UUID updatedBy;
     private LocalDateTime deletedAt;
+
+    public JsonMetadata metadataView() {
+        JsonMetadata view = this.metadataView;
+        if (view == null || !view.isFor(this.metadata)) {
+            view = JsonMetadata.of(this.metadata);
+            this.metadataView = view;
+        }
+        return view;
+    }
+
+    public OrderMetadata typedMetadata() {
+        return metadataView().as(OrderMetadata.class);
+    }
+
+    public void applyMetadataPatch(MetadataPatch patch) {
+        this.metadata = patch.applyTo(this.metadata);
+    }
 }
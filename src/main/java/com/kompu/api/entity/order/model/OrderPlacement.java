@@ -0,0 +1,25 @@
+package com.kompu.api.entity.order.model;
+
+import java.util.List;
+
+import com.kompu.api.entity.payment.model.PaymentModel;
+import com.kompu.api.entity.product.model.StockLine;
+import com.kompu.api.entity.shared.model.DomainEvent;
+
+/**
+ * OrderPlacement - Everything written when an order is placed: the order
+ * with its items and pending payment, the stock to reserve and the event for
+ * the deferred side effects. Ids are assigned before it is written.
+ */
+public record OrderPlacement(
+        OrderModel order,
+        List<OrderItemModel> items,
+        PaymentModel payment,
+        List<StockLine> stock,
+        DomainEvent event) {
+
+    public OrderPlacement {
+        items = List.copyOf(items);
+        stock = List.copyOf(stock);
+    }
+}
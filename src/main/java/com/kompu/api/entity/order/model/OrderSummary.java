@@ -0,0 +1,15 @@
+package com.kompu.api.entity.order.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * OrderSummary - Read-only projection of a order for order list screens.
+ * 
+ * Selected column by column, so the buyer snapshot, jsonb metadata and audit
+ * columns are never loaded and no managed entity is created.
+ */
+public record OrderSummary(UUID id, String orderNumber, String orderType, String status, BigDecimal totalAmount,
+        String currency, UUID buyerId, UUID supplierId, LocalDateTime createdAt) {
+}
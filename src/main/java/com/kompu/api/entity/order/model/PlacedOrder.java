@@ -0,0 +1,11 @@
+package com.kompu.api.entity.order.model;
+
+import java.util.List;
+
+import com.kompu.api.entity.payment.model.PaymentModel;
+
+/**
+ * PlacedOrder - The order as written, with its items and pending payment
+ */
+public record PlacedOrder(OrderModel order, List<OrderItemModel> items, PaymentModel payment) {
+}
@@ -0,0 +1,11 @@
+package com.kompu.api.entity.order.model;
+
+import java.util.UUID;
+
+/**
+ * SettledOrder - Where an order stands after a payment or cancellation.
+ * {@code changed} is false when it was already there, e.g. a retried payment
+ * callback.
+ */
+public record SettledOrder(UUID orderId, String status, boolean changed) {
+}
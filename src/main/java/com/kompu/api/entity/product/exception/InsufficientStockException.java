@@ -0,0 +1,24 @@
+package com.kompu.api.entity.product.exception;
+
+import com.kompu.api.entity.product.model.InventoryKey;
+
+public class InsufficientStockException extends RuntimeException {
+
+    private final transient InventoryKey key;
+    private final long requested;
+
+    public InsufficientStockException(InventoryKey key, long requested) {
+        super("Insufficient stock for product " + key.productId()
+                + (key.location() != null ? " at " + key.location() : "") + ": requested " + requested);
+        this.key = key;
+        this.requested = requested;
+    }
+
+    public InventoryKey getKey() {
+        return key;
+    }
+
+    public long getRequested() {
+        return requested;
+    }
+}
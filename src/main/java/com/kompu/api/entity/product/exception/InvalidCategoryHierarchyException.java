@@ -0,0 +1,12 @@
+package com.kompu.api.entity.product.exception;
+
+/**
+ * InvalidCategoryHierarchyException is thrown when a parent change would put
+ * a category under itself or under another tenant's category.
+ */
+public class InvalidCategoryHierarchyException extends RuntimeException {
+
+    public InvalidCategoryHierarchyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.kompu.api.entity.product.exception;
+
+/**
+ * InvalidProductImportException is thrown when an import file cannot be read
+ * at all, e.g. an unknown format or a header without the required columns.
+ * Problems with single records are reported per row instead.
+ */
+public class InvalidProductImportException extends RuntimeException {
+
+    public InvalidProductImportException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.kompu.api.entity.product.exception;
+
+public class InvalidProductSearchException extends RuntimeException {
+
+    public InvalidProductSearchException(String message) {
+        super(message);
+    }
+
+}
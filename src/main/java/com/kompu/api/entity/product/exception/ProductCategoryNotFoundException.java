@@ -0,0 +1,12 @@
+package com.kompu.api.entity.product.exception;
+
+/**
+ * ProductCategoryNotFoundException is thrown when a category does not exist,
+ * is deleted or belongs to another tenant.
+ */
+public class ProductCategoryNotFoundException extends RuntimeException {
+
+    public ProductCategoryNotFoundException(String message) {
+        super(message);
+    }
+}
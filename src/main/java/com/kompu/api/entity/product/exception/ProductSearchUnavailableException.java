@@ -0,0 +1,11 @@
+package com.kompu.api.entity.product.exception;
+
+import java.util.UUID;
+
+public class ProductSearchUnavailableException extends RuntimeException {
+
+    public ProductSearchUnavailableException(UUID tenantId) {
+        super("Product search for tenant " + tenantId + " is still being prepared, retry shortly");
+    }
+
+}
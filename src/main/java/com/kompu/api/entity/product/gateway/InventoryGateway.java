@@ -0,0 +1,64 @@
+package com.kompu.api.entity.product.gateway;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import com.kompu.api.entity.product.model.InventoryModel;
+import com.kompu.api.entity.product.model.StockLine;
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
+
+/**
+ * InventoryGateway - Gateway interface for inventory row data access
+ */
+public interface InventoryGateway {
+
+    /**
+     * Find inventory row by ID
+     */
+    Optional<InventoryModel> findById(UUID id);
+
+    /**
+     * Find all inventory rows for tenant, unbounded; prefer
+     * {@link #findPageByTenantId(UUID, CursorPageRequest)} for lists
+     */
+    List<InventoryModel> findByTenantId(UUID tenantId);
+
+    /**
+     * Keyset page of inventory rows for tenant
+     */
+    CursorPage<InventoryModel> findPageByTenantId(UUID tenantId, CursorPageRequest request);
+
+    /**
+     * Stream every inventory row of the tenant to the consumer without loading them
+     * all into memory
+     *
+     * @return number of inventory rows consumed
+     */
+    long forEachByTenantId(UUID tenantId, Consumer<? super InventoryModel> consumer);
+
+    /**
+     * Reserve every line in one statement, or none of them. Lines for the
+     * same product and location are added up.
+     *
+     * @throws com.kompu.api.entity.product.exception.InsufficientStockException
+     *         naming a line that does not fit; nothing is reserved then
+     */
+    void reserveAll(UUID tenantId, List<StockLine> lines);
+
+    /**
+     * Give reserved units back; lines without an inventory row are ignored
+     */
+    void releaseAll(UUID tenantId, List<StockLine> lines);
+
+    /**
+     * Take sold units out of both reserved and on-hand stock, for every line
+     * or none of them
+     *
+     * @throws com.kompu.api.entity.product.exception.InsufficientStockException
+     *         naming a line whose on-hand stock is short
+     */
+    void commitAll(UUID tenantId, List<StockLine> lines);
+}
@@ -0,0 +1,31 @@
+package com.kompu.api.entity.product.gateway;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import com.kompu.api.entity.product.model.InventoryKey;
+import com.kompu.api.entity.product.model.InventoryReservation;
+
+/**
+ * InventoryReservationGateway - Holds stock for pending sales.
+ * 
+ * A reservation completes once it is durable, or fails with
+ * {@link com.kompu.api.entity.product.exception.InsufficientStockException}
+ * when the stock is not there; stock is never oversold. Releasing and
+ * committing are applied in the background and are safe to repeat.
+ */
+public interface InventoryReservationGateway {
+
+    CompletableFuture<InventoryReservation> reserve(InventoryKey key, long quantity, Duration ttl);
+
+    /**
+     * Give the units back to available stock
+     */
+    void release(UUID reservationId);
+
+    /**
+     * The sale went through: the units leave both reserved and on-hand stock
+     */
+    void commit(UUID reservationId);
+}
@@ -0,0 +1,22 @@
+package com.kompu.api.entity.product.gateway;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+import com.kompu.api.entity.product.model.ProductModel;
+
+/**
+ * ProductCatalogGateway - Cached product lookups for hot paths such as order
+ * placement. Returned models are shared between callers and must be treated
+ * as read-only.
+ */
+public interface ProductCatalogGateway {
+
+    /**
+     * The tenant's products with the given ids, keyed by id. Unknown ids and
+     * products of other tenants are left out; inactive and deleted products
+     * are included so the caller can tell them apart.
+     */
+    Map<UUID, ProductModel> findByIds(UUID tenantId, Collection<UUID> productIds);
+}
@@ -0,0 +1,36 @@
+package com.kompu.api.entity.product.gateway;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import com.kompu.api.entity.product.model.CategoryTree;
+import com.kompu.api.entity.product.model.ProductCategoryModel;
+
+/**
+ * ProductCategoryGateway - Gateway interface for product categories and
+ * their hierarchy
+ */
+public interface ProductCategoryGateway {
+
+    Optional<ProductCategoryModel> findById(UUID id);
+
+    /**
+     * The tenant's category hierarchy, served from memory once loaded
+     */
+    CategoryTree tree(UUID tenantId);
+
+    /**
+     * Create or update a category
+     *
+     * @throws com.kompu.api.entity.product.exception.InvalidCategoryHierarchyException
+     *         when the parent is the category itself, one of its descendants
+     *         or not a live category of the same tenant
+     */
+    ProductCategoryModel save(ProductCategoryModel category);
+
+    /**
+     * Soft-delete a category; its subcategories move up to the top level of
+     * the tree until they are given a new parent
+     */
+    void delete(UUID id);
+}
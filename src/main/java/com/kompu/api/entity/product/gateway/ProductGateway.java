@@ -0,0 +1,66 @@
+package com.kompu.api.entity.product.gateway;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import com.kompu.api.entity.product.model.ProductModel;
+import com.kompu.api.entity.product.model.ProductSummary;
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
+import com.kompu.api.entity.shared.model.MetadataPatch;
+
+/**
+ * ProductGateway - Gateway interface for product data access
+ */
+public interface ProductGateway {
+
+    /**
+     * Find product by ID
+     */
+    Optional<ProductModel> findById(UUID id);
+
+    /**
+     * Find all products for tenant, unbounded; prefer
+     * {@link #findPageByTenantId(UUID, CursorPageRequest)} for lists
+     */
+    List<ProductModel> findByTenantId(UUID tenantId);
+
+    /**
+     * Keyset page of products for tenant
+     */
+    CursorPage<ProductModel> findPageByTenantId(UUID tenantId, CursorPageRequest request);
+
+    /**
+     * Keyset page of products for tenant as lightweight projections, for
+     * list screens
+     */
+    CursorPage<ProductSummary> findSummaryPageByTenantId(UUID tenantId, CursorPageRequest request);
+
+    /**
+     * Keyset page of the live products in a category or any of its
+     * descendants, as lightweight projections
+     */
+    CursorPage<ProductSummary> findSummaryPageByCategorySubtree(UUID tenantId, UUID categoryId,
+            CursorPageRequest request);
+
+    /**
+     * Stream every product of the tenant to the consumer without loading them
+     * all into memory
+     *
+     * @return number of products consumed
+     */
+    long forEachByTenantId(UUID tenantId, Consumer<? super ProductModel> consumer);
+
+    /**
+     * Apply a partial metadata update in a single statement, without loading
+     * the product. Only top-level keys are set or removed.
+     * 
+     * @param id    the product ID
+     * @param patch the fields to set or remove
+     * @return true if the product was updated, false if nothing matched or the
+     *         patch is empty
+     */
+    boolean patchMetadata(UUID id, MetadataPatch patch);
+}
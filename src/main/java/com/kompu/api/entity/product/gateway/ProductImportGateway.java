@@ -0,0 +1,21 @@
+package com.kompu.api.entity.product.gateway;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.kompu.api.entity.product.model.ProductImportResult;
+import com.kompu.api.entity.product.model.ProductModel;
+
+/**
+ * ProductImportGateway - Bulk writes for catalog imports
+ */
+public interface ProductImportGateway {
+
+    /**
+     * Insert or update the products in one transaction, matching existing
+     * live products on the tenant and case-insensitive SKU. SKUs must be
+     * unique within the list. Metadata keys are merged into the existing
+     * metadata.
+     */
+    ProductImportResult upsertBySku(UUID tenantId, List<ProductModel> products);
+}
@@ -0,0 +1,27 @@
+package com.kompu.api.entity.product.gateway;
+
+import java.util.Collection;
+import java.util.UUID;
+
+import com.kompu.api.entity.product.model.ProductSearchQuery;
+import com.kompu.api.entity.product.model.ProductSearchResult;
+
+/**
+ * ProductSearchGateway - Text search over a tenant's products
+ */
+public interface ProductSearchGateway {
+
+    ProductSearchResult search(ProductSearchQuery query);
+
+    /**
+     * Refresh the given products on every node. Writes through JPA are picked
+     * up on their own; call this after native or bulk statements.
+     */
+    void reindex(UUID tenantId, Collection<UUID> productIds);
+
+    /**
+     * Drop the tenant's index on every node; it is rebuilt from the database
+     * on the next search
+     */
+    void rebuild(UUID tenantId);
+}
@@ -0,0 +1,11 @@
+package com.kompu.api.entity.product.model;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * CategoryNode - One category with its subcategories, for category browsing
+ */
+public record CategoryNode(UUID id, String name, String slug, UUID parentId, int depth,
+        List<CategoryNode> children) {
+}
@@ -0,0 +1,253 @@
+package com.kompu.api.entity.product.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * CategoryTree - Immutable snapshot of one tenant's category hierarchy.
+ * 
+ * Categories are numbered in depth-first order, so every subtree is one
+ * contiguous run of that order: {@code [first, last]}. Ancestor and
+ * descendant checks compare two numbers and listing a subtree copies a slice.
+ * Soft-deleted categories are left out together with everything below them,
+ * as the subtree product queries leave them out; a category whose parent is
+ * missing altogether becomes a root. Siblings are ordered by name.
+ */
+public final class CategoryTree {
+
+    // Walk marker that closes the subtree of the index pushed with it
+    private static final ProductCategoryModel END_OF_SUBTREE = new ProductCategoryModel();
+
+    private final UUID tenantId;
+    private final ProductCategoryModel[] order;
+    private final int[] last;
+    private final int[] depth;
+    private final int[] parent;
+    private final Map<UUID, Integer> index;
+    private final Map<String, Integer> slugs;
+
+    private CategoryTree(UUID tenantId, ProductCategoryModel[] order, int[] last, int[] depth, int[] parent) {
+        this.tenantId = tenantId;
+        this.order = order;
+        this.last = last;
+        this.depth = depth;
+        this.parent = parent;
+        this.index = HashMap.newHashMap(order.length);
+        this.slugs = HashMap.newHashMap(order.length);
+        for (int i = 0; i < order.length; i++) {
+            index.put(order[i].getId(), i);
+            if (order[i].getSlug() != null) {
+                slugs.put(order[i].getSlug().toLowerCase(Locale.ROOT), i);
+            }
+        }
+    }
+
+    /**
+     * Build the tree from the tenant's categories. Parent links that would
+     * close a cycle are cut, so the result is always a forest.
+     */
+    public static CategoryTree of(UUID tenantId, Collection<ProductCategoryModel> categories) {
+        Map<UUID, ProductCategoryModel> live = new HashMap<>();
+        Map<UUID, List<UUID>> childIds = new HashMap<>();
+        Deque<UUID> hidden = new ArrayDeque<>();
+        for (ProductCategoryModel category : categories) {
+            if (!tenantId.equals(category.getTenantId())) {
+                continue;
+            }
+            if (category.getDeletedAt() == null) {
+                live.put(category.getId(), category);
+            } else {
+                hidden.push(category.getId());
+            }
+            if (category.getParentId() != null) {
+                childIds.computeIfAbsent(category.getParentId(), id -> new ArrayList<>()).add(category.getId());
+            }
+        }
+        // Everything below a deleted category goes too; removing from live also stops at cycles
+        while (!hidden.isEmpty()) {
+            for (UUID childId : childIds.getOrDefault(hidden.pop(), List.of())) {
+                if (live.remove(childId) != null) {
+                    hidden.push(childId);
+                }
+            }
+        }
+        Map<UUID, List<ProductCategoryModel>> children = new HashMap<>();
+        List<ProductCategoryModel> roots = new ArrayList<>();
+        for (ProductCategoryModel category : live.values()) {
+            UUID parentId = category.getParentId();
+            if (parentId != null && live.containsKey(parentId) && !closesCycle(category, live)) {
+                children.computeIfAbsent(parentId, id -> new ArrayList<>()).add(category);
+            } else {
+                roots.add(category);
+            }
+        }
+        Comparator<ProductCategoryModel> byName = Comparator
+                .comparing((ProductCategoryModel category) -> category.getName(), String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(ProductCategoryModel::getId);
+        roots.sort(byName);
+        children.values().forEach(list -> list.sort(byName));
+
+        int size = live.size();
+        ProductCategoryModel[] order = new ProductCategoryModel[size];
+        int[] last = new int[size];
+        int[] depth = new int[size];
+        int[] parent = new int[size];
+        int next = 0;
+        // Iterative pre-order walk, so deep hierarchies cannot overflow the stack
+        Deque<ProductCategoryModel> todo = new ArrayDeque<>();
+        Deque<Integer> todoParent = new ArrayDeque<>();
+        for (int r = roots.size() - 1; r >= 0; r--) {
+            todo.push(roots.get(r));
+            todoParent.push(-1);
+        }
+        while (!todo.isEmpty()) {
+            ProductCategoryModel category = todo.pop();
+            int parentIndex = todoParent.pop();
+            if (category == END_OF_SUBTREE) {
+                last[parentIndex] = next - 1;
+                continue;
+            }
+            int i = next++;
+            order[i] = category;
+            parent[i] = parentIndex;
+            depth[i] = parentIndex < 0 ? 0 : depth[parentIndex] + 1;
+            todo.push(END_OF_SUBTREE);
+            todoParent.push(i);
+            List<ProductCategoryModel> kids = children.getOrDefault(category.getId(), List.of());
+            for (int k = kids.size() - 1; k >= 0; k--) {
+                todo.push(kids.get(k));
+                todoParent.push(i);
+            }
+        }
+        return new CategoryTree(tenantId, order, last, depth, parent);
+    }
+
+    private static boolean closesCycle(ProductCategoryModel category, Map<UUID, ProductCategoryModel> live) {
+        UUID cursor = category.getParentId();
+        for (int steps = 0; cursor != null && steps <= live.size(); steps++) {
+            if (cursor.equals(category.getId())) {
+                return true;
+            }
+            ProductCategoryModel up = live.get(cursor);
+            cursor = up != null ? up.getParentId() : null;
+        }
+        return false;
+    }
+
+    public UUID getTenantId() {
+        return tenantId;
+    }
+
+    public int size() {
+        return order.length;
+    }
+
+    public boolean contains(UUID categoryId) {
+        return categoryId != null && index.containsKey(categoryId);
+    }
+
+    public Optional<ProductCategoryModel> find(UUID categoryId) {
+        Integer i = categoryId != null ? index.get(categoryId) : null;
+        return i != null ? Optional.of(order[i]) : Optional.empty();
+    }
+
+    /**
+     * Case-insensitive, like the (tenant_id, lower(slug)) unique index
+     */
+    public Optional<ProductCategoryModel> findBySlug(String slug) {
+        Integer i = slug != null ? slugs.get(slug.toLowerCase(Locale.ROOT)) : null;
+        return i != null ? Optional.of(order[i]) : Optional.empty();
+    }
+
+    /**
+     * True when {@code ancestorId} is {@code descendantId} or one of its
+     * ancestors; false when either is not in the tree
+     */
+    public boolean isInSubtree(UUID ancestorId, UUID descendantId) {
+        Integer a = ancestorId != null ? index.get(ancestorId) : null;
+        Integer d = descendantId != null ? index.get(descendantId) : null;
+        return a != null && d != null && a <= d && d <= last[a];
+    }
+
+    /**
+     * Strict version of {@link #isInSubtree(UUID, UUID)}
+     */
+    public boolean isAncestor(UUID ancestorId, UUID descendantId) {
+        return !ancestorId.equals(descendantId) && isInSubtree(ancestorId, descendantId);
+    }
+
+    /**
+     * The category and all its descendants in depth-first order; empty when
+     * it is not in the tree
+     */
+    public List<UUID> subtreeIds(UUID categoryId) {
+        Integer i = categoryId != null ? index.get(categoryId) : null;
+        if (i == null) {
+            return List.of();
+        }
+        List<UUID> ids = new ArrayList<>(last[i] - i + 1);
+        for (int j = i; j <= last[i]; j++) {
+            ids.add(order[j].getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Root first, ending with the category itself
+     */
+    public List<ProductCategoryModel> path(UUID categoryId) {
+        Integer i = categoryId != null ? index.get(categoryId) : null;
+        if (i == null) {
+            return List.of();
+        }
+        Deque<ProductCategoryModel> path = new ArrayDeque<>(depth[i] + 1);
+        for (int j = i; j >= 0; j = parent[j]) {
+            path.addFirst(order[j]);
+        }
+        return List.copyOf(path);
+    }
+
+    public List<ProductCategoryModel> children(UUID categoryId) {
+        Integer i = categoryId != null ? index.get(categoryId) : null;
+        if (i == null) {
+            return List.of();
+        }
+        List<ProductCategoryModel> children = new ArrayList<>();
+        // Direct children start right after the parent and skip each other's subtrees
+        for (int j = i + 1; j <= last[i]; j = last[j] + 1) {
+            children.add(order[j]);
+        }
+        return children;
+    }
+
+    /**
+     * The whole forest as nested nodes
+     */
+    public List<CategoryNode> toNodes() {
+        // Descendants come after their ancestor, so building back to front finds every child ready
+        CategoryNode[] nodes = new CategoryNode[order.length];
+        for (int i = order.length - 1; i >= 0; i--) {
+            List<CategoryNode> children = new ArrayList<>();
+            for (int j = i + 1; j <= last[i]; j = last[j] + 1) {
+                children.add(nodes[j]);
+            }
+            ProductCategoryModel category = order[i];
+            nodes[i] = new CategoryNode(category.getId(), category.getName(), category.getSlug(),
+                    parent[i] >= 0 ? order[parent[i]].getId() : null, depth[i], children);
+        }
+        List<CategoryNode> roots = new ArrayList<>();
+        for (int i = 0; i < order.length; i = last[i] + 1) {
+            roots.add(nodes[i]);
+        }
+        return roots;
+    }
+}
@@ -0,0 +1,16 @@
+package com.kompu.api.entity.product.model;
+
+import java.util.UUID;
+
+/**
+ * InventoryKey - Identifies one inventories row: a product's stock at one
+ * location of a tenant. A null location is the tenant's default stock.
+ */
+public record InventoryKey(UUID tenantId, UUID productId, String location) {
+
+    public InventoryKey {
+        if (tenantId == null || productId == null) {
+            throw new IllegalArgumentException("tenantId and productId are required");
+        }
+    }
+}
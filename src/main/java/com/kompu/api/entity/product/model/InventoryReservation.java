@@ -0,0 +1,11 @@
+package com.kompu.api.entity.product.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * InventoryReservation - Units held for a pending sale until they are
+ * committed, released or the reservation expires.
+ */
+public record InventoryReservation(UUID id, InventoryKey key, long quantity, Instant expiresAt) {
+}
@@ -0,0 +1,7 @@
+package com.kompu.api.entity.product.model;
+
+/**
+ * ProductImportError - Why one record of an import was skipped
+ */
+public record ProductImportError(long line, String sku, String message) {
+}
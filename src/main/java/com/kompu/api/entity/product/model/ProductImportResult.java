@@ -0,0 +1,7 @@
+package com.kompu.api.entity.product.model;
+
+/**
+ * ProductImportResult - Products created and updated by one written chunk
+ */
+public record ProductImportResult(int inserted, int updated) {
+}
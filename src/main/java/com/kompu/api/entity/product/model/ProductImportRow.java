@@ -0,0 +1,27 @@
+package com.kompu.api.entity.product.model;
+
+/**
+ * ProductImportRow - One record of an uploaded catalog file, still as text.
+ * 
+ * {@code line} is where the record starts in the file. {@code category} is
+ * a category slug and {@code metadata} a JSON object. {@code error} is set
+ * when the record could not even be read; the other fields are then
+ * incomplete.
+ */
+public record ProductImportRow(
+        long line,
+        String sku,
+        String name,
+        String description,
+        String category,
+        String price,
+        String costPrice,
+        String weightGrams,
+        String active,
+        String metadata,
+        String error) {
+
+    public static ProductImportRow unreadable(long line, String error) {
+        return new ProductImportRow(line, null, null, null, null, null, null, null, null, null, error);
+    }
+}
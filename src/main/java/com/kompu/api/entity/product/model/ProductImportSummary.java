@@ -0,0 +1,8 @@
+package com.kompu.api.entity.product.model;
+
+/**
+ * ProductImportSummary - Totals of one import. {@code aborted} is set when a
+ * chunk could not be written; the records after it were not read.
+ */
+public record ProductImportSummary(long rows, long inserted, long updated, long failed, boolean aborted) {
+}
@@ -0,0 +1,18 @@
+package com.kompu.api.entity.product.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * ProductMetadata - Typed view of the well-known keys in products.metadata
+ * Unknown keys are ignored and remain untouched in the stored document.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ProductMetadata(
+        String brand,
+        String unit,
+        String barcode,
+        String imageUrl,
+        List<String> tags) {
+}
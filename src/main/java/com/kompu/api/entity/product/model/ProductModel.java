@@ -4,14 +4,21 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.kompu.api.entity.AbstractEntity;
+import com.kompu.api.entity.shared.model.JsonMetadata;
+import com.kompu.api.entity.shared.model.MetadataPatch;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 /**
  * ProductModel - Domain model for product master data
@@ -34,7 +41,30 @@ public class ProductModel extends AbstractEntity<UUID> {
     private Integer weightGrams;
     private Boolean isActive;
     private JsonNode metadata;
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient JsonMetadata metadataView;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime deletedAt;
+
+    public JsonMetadata metadataView() {
+        JsonMetadata view = this.metadataView;
+        if (view == null || !view.isFor(this.metadata)) {
+            view = JsonMetadata.of(this.metadata);
+            this.metadataView = view;
+        }
+        return view;
+    }
+
+    public ProductMetadata typedMetadata() {
+        return metadataView().as(ProductMetadata.class);
+    }
+
+    public void applyMetadataPatch(MetadataPatch patch) {
+        this.metadata = patch.applyTo(this.metadata);
+    }
 }
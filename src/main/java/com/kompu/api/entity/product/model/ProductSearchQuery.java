@@ -0,0 +1,21 @@
+package com.kompu.api.entity.product.model;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * ProductSearchQuery - Type-ahead search over one tenant's catalog.
+ * 
+ * {@code text} is matched word by word as prefixes of the product name, SKU
+ * and indexed metadata; a blank text browses the catalog. The category and
+ * price bounds filter the hits; {@code maxPrice} is exclusive.
+ */
+public record ProductSearchQuery(
+        UUID tenantId,
+        String text,
+        UUID categoryId,
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        boolean includeInactive,
+        int limit) {
+}
@@ -0,0 +1,31 @@
+package com.kompu.api.entity.product.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * ProductSearchResult - Best hits first, the total number of matches and the
+ * facet counts.
+ * 
+ * Category counts ignore the category filter and price counts ignore the
+ * price bounds, so the other options stay visible once one is picked.
+ */
+public record ProductSearchResult(
+        List<ProductSummary> hits,
+        long total,
+        List<CategoryFacet> categories,
+        List<PriceFacet> prices) {
+
+    /**
+     * Matches in one category; a null categoryId counts uncategorised products
+     */
+    public record CategoryFacet(UUID categoryId, long count) {
+    }
+
+    /**
+     * Matches priced in [from, to); a null {@code to} is open-ended
+     */
+    public record PriceFacet(BigDecimal from, BigDecimal to, long count) {
+    }
+}
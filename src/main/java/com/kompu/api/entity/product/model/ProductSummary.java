@@ -0,0 +1,15 @@
+package com.kompu.api.entity.product.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * ProductSummary - Read-only projection of a product for product list screens.
+ * 
+ * Selected column by column, so the description, jsonb metadata, cost and
+ * audit columns are never loaded and no managed entity is created.
+ */
+public record ProductSummary(UUID id, String sku, String name, UUID categoryId, BigDecimal price, Boolean isActive,
+        LocalDateTime createdAt) {
+}
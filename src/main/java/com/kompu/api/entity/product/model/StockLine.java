@@ -0,0 +1,19 @@
+package com.kompu.api.entity.product.model;
+
+import java.util.UUID;
+
+/**
+ * StockLine - Units of one product at one location, e.g. an order line to
+ * reserve. A null location is the tenant's default stock.
+ */
+public record StockLine(UUID productId, String location, long quantity) {
+
+    public StockLine {
+        if (productId == null) {
+            throw new IllegalArgumentException("productId is required");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("quantity must be positive");
+        }
+    }
+}
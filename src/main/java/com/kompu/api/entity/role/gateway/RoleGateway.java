@@ -23,6 +23,8 @@ public interface RoleGateway {
 
     List<RoleModel> findByTenantId(UUID tenantId);
 
+    List<RoleModel> findSystemRoles();
+
     List<RoleModel> findAll();
 
 }
@@ -0,0 +1,9 @@
+package com.kompu.api.entity.shared.exception;
+
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    public IdempotencyKeyInProgressException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.kompu.api.entity.shared.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException() {
+        super("Invalid or expired page cursor");
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.kompu.api.entity.shared.exception;
+
+public class InvalidIdempotencyKeyException extends RuntimeException {
+
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+
+}
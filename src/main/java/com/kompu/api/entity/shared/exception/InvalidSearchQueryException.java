@@ -0,0 +1,9 @@
+package com.kompu.api.entity.shared.exception;
+
+public class InvalidSearchQueryException extends RuntimeException {
+
+    public InvalidSearchQueryException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.kompu.api.entity.shared.exception;
+
+public class TenantAccessDeniedException extends RuntimeException {
+
+    public TenantAccessDeniedException(String message) {
+        super(message);
+    }
+
+}
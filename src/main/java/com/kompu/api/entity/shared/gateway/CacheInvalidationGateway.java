@@ -0,0 +1,37 @@
+package com.kompu.api.entity.shared.gateway;
+
+import java.util.function.Consumer;
+
+import com.kompu.api.entity.shared.model.CacheInvalidationEvent;
+import com.kompu.api.entity.shared.model.CacheRegion;
+
+/**
+ * Gateway interface for cluster-wide cache invalidation.
+ */
+public interface CacheInvalidationGateway {
+
+    /**
+     * Announce that a cached entry is stale on every node. When called inside a
+     * transaction, remote nodes are notified once the transaction commits.
+     *
+     * @param region the cache region
+     * @param key    the stale entry key (usually the entity ID)
+     */
+    void publish(CacheRegion region, String key);
+
+    /**
+     * Announce that a whole cache region is stale on every node.
+     *
+     * @param region the cache region
+     */
+    void publishRegion(CacheRegion region);
+
+    /**
+     * Register a local cache to be told about invalidations of a region,
+     * including region-wide events raised after missed notifications.
+     *
+     * @param region   the cache region
+     * @param listener callback evicting the local entries
+     */
+    void subscribe(CacheRegion region, Consumer<CacheInvalidationEvent> listener);
+}
@@ -1,5 +1,9 @@
 package com.kompu.api.entity.shared.gateway;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
 /**
  * Gateway interface for file storage operations.
  */
@@ -16,4 +20,37 @@ public interface FileStorageGateway {
      * @return the relative path or URL where the file is stored
      */
     String saveBase64File(String originalFilename, String base64Content, String subDirectory);
+
+    /**
+     * Save a file whose content is streamed by {@code writer}, without
+     * holding it in memory. The file only becomes visible once the writer
+     * has returned; a failed write leaves nothing behind.
+     *
+     * @param filename     the desired filename (without path)
+     * @param subDirectory optional subdirectory to organize files
+     * @param writer       writes the content; the stream is closed afterwards
+     * @return the relative path where the file is stored
+     */
+    String saveFile(String filename, String subDirectory, ContentWriter writer);
+
+    /**
+     * Open a file saved by this gateway
+     *
+     * @param path the relative path returned when the file was saved
+     */
+    InputStream openFile(String path);
+
+    /**
+     * Delete a file saved by this gateway; a file that is already gone is
+     * not an error
+     *
+     * @param path the relative path returned when the file was saved
+     */
+    void deleteFile(String path);
+
+    @FunctionalInterface
+    interface ContentWriter {
+
+        void writeTo(OutputStream output) throws IOException;
+    }
 }
@@ -0,0 +1,16 @@
+package com.kompu.api.entity.shared.gateway;
+
+import com.kompu.api.entity.shared.model.MailMessage;
+
+/**
+ * MailGateway - Queues mail for asynchronous delivery.
+ * 
+ * Enqueueing renders the template and inserts a row; it never talks to the
+ * mail server, and it joins the caller's transaction, so the mail is only
+ * sent when the change that triggered it commits.
+ */
+public interface MailGateway {
+
+    void enqueue(MailMessage message);
+
+}
@@ -0,0 +1,16 @@
+package com.kompu.api.entity.shared.gateway;
+
+import com.kompu.api.entity.shared.model.DomainEvent;
+
+/**
+ * OutboxGateway - Queues domain events for asynchronous delivery.
+ * 
+ * Publishing only inserts a row; it joins the caller's transaction, so the
+ * event is committed or rolled back together with the change it describes.
+ * Call it from inside that transaction.
+ */
+public interface OutboxGateway {
+
+    void publish(DomainEvent event);
+
+}
@@ -0,0 +1,37 @@
+package com.kompu.api.entity.shared.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * CacheInvalidationEvent - Tells every node that cached entries of a region
+ * are stale.
+ * 
+ * A null key means the whole region must be dropped. The epoch is the region
+ * version after the write that produced the event and lets nodes detect
+ * notifications they missed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationEvent {
+
+    private CacheRegion region;
+    private String key;
+    private String originNodeId;
+    private long epoch;
+
+    public boolean isRegionWide() {
+        return key == null;
+    }
+
+    public static CacheInvalidationEvent regionWide(CacheRegion region, long epoch) {
+        return CacheInvalidationEvent.builder()
+                .region(region)
+                .epoch(epoch)
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.kompu.api.entity.shared.model;
+
+/**
+ * CacheRegion - Named groups of cached reference data that can be invalidated
+ * across the cluster
+ */
+public enum CacheRegion {
+    SUBSCRIPTION_PLANS,
+    SUBSCRIPTION_FEATURES,
+    ROLES,
+    PERMISSIONS,
+    FEATURE_FLAGS,
+    TENANT_DOMAINS,
+    APP_CONFIG,
+    DASHBOARD_THEMES,
+    PRODUCTS,
+    PRODUCT_CATEGORIES,
+    SUPPLIER_PRICES
+}
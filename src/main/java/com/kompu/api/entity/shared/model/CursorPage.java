@@ -0,0 +1,29 @@
+package com.kompu.api.entity.shared.model;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * CursorPage - One keyset page of results.
+ * 
+ * {@code nextCursor} is null on the last page; otherwise it is passed back as
+ * {@link CursorPageRequest#cursor()} to load the rows that follow.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public CursorPage {
+        items = List.copyOf(items);
+    }
+
+    public static <T> CursorPage<T> empty() {
+        return new CursorPage<>(List.of(), null);
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(items.stream().<R>map(mapper).toList(), nextCursor);
+    }
+}
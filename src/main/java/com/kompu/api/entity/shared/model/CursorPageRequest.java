@@ -0,0 +1,26 @@
+package com.kompu.api.entity.shared.model;
+
+/**
+ * CursorPageRequest - Which keyset page to load.
+ * 
+ * The limit is a hint; the gateway clamps it to the configured page cap and
+ * falls back to the default page size when it is missing or not positive.
+ */
+public record CursorPageRequest(String cursor, Integer limit) {
+
+    public static CursorPageRequest first() {
+        return new CursorPageRequest(null, null);
+    }
+
+    public static CursorPageRequest first(int limit) {
+        return new CursorPageRequest(null, limit);
+    }
+
+    public static CursorPageRequest after(String cursor, Integer limit) {
+        return new CursorPageRequest(cursor, limit);
+    }
+
+    public PageCursor decodedCursor() {
+        return PageCursor.decode(cursor);
+    }
+}
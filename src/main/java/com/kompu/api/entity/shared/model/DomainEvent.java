@@ -0,0 +1,41 @@
+package com.kompu.api.entity.shared.model;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import com.kompu.api.entity.shared.util.UuidV7;
+
+/**
+ * DomainEvent - Something that happened to an aggregate and must trigger side
+ * effects (mail, audit, cache invalidation, webhooks) outside the request.
+ * 
+ * Events are written to the outbox in the transaction that changed the
+ * aggregate and delivered at least once, so handlers must be idempotent; the
+ * event id is stable across redeliveries.
+ * 
+ * @param type          event name, e.g. "member.created"
+ * @param aggregateType kind of aggregate, e.g. "member"
+ * @param payload       JSON-serializable event data
+ */
+public record DomainEvent(
+        UUID id,
+        String type,
+        String aggregateType,
+        UUID aggregateId,
+        UUID tenantId,
+        Map<String, Object> payload,
+        Instant occurredAt) {
+
+    public DomainEvent {
+        if (type == null || type.isBlank()) {
+            throw new IllegalArgumentException("Event type must not be blank");
+        }
+        payload = payload != null ? payload : Map.of();
+    }
+
+    public static DomainEvent of(String type, String aggregateType, UUID aggregateId, UUID tenantId,
+            Map<String, Object> payload) {
+        return new DomainEvent(UuidV7.next(), type, aggregateType, aggregateId, tenantId, payload, Instant.now());
+    }
+}
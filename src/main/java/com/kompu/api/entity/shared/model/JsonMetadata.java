@@ -0,0 +1,171 @@
+package com.kompu.api.entity.shared.model;
+
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * JsonMetadata - Lazily parsed, read-only view over a jsonb metadata document.
+ * 
+ * The raw JSON is parsed on first access only, and conversions to a typed
+ * metadata schema are cached per type, so repeated reads of the same document
+ * do not allocate a new tree or map. The returned tree is shared: callers must
+ * not modify it and should use {@link MetadataPatch} to change metadata.
+ * Typed conversions are lenient: unknown keys are ignored, missing keys read
+ * as null, and a key whose value cannot be read as its declared type reads as
+ * null rather than failing the whole document.
+ */
+public final class JsonMetadata {
+
+    static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .enable(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+
+    private final String raw;
+    private final JsonNode source;
+    private volatile JsonNode tree;
+    private final Map<Class<?>, Object> typed = new ConcurrentHashMap<>();
+
+    private JsonMetadata(String raw, JsonNode source) {
+        this.raw = raw;
+        this.source = source;
+        this.tree = source;
+    }
+
+    public static JsonMetadata of(String raw) {
+        return new JsonMetadata(raw, null);
+    }
+
+    public static JsonMetadata of(JsonNode tree) {
+        return new JsonMetadata(null, tree);
+    }
+
+    /**
+     * Whether this view was built from exactly this raw document (identity
+     * check, no comparison of content).
+     */
+    public boolean isFor(String rawMetadata) {
+        return source == null && raw == rawMetadata;
+    }
+
+    /**
+     * Whether this view wraps exactly this tree.
+     */
+    public boolean isFor(JsonNode node) {
+        return source != null && source == node;
+    }
+
+    public JsonNode tree() {
+        JsonNode current = tree;
+        if (current == null || !current.isObject()) {
+            current = source != null && source.isObject() ? source : parse(raw);
+            tree = current;
+        }
+        return current;
+    }
+
+    public boolean has(String field) {
+        JsonNode value = tree().get(field);
+        return value != null && !value.isNull();
+    }
+
+    public Optional<String> getString(String field) {
+        return value(field).map(JsonNode::asText);
+    }
+
+    public Optional<Long> getLong(String field) {
+        return value(field).filter(node -> node.isNumber() || node.isTextual())
+                .map(node -> node.isNumber() ? node.asLong() : Long.parseLong(node.asText().trim()));
+    }
+
+    public Optional<Boolean> getBoolean(String field) {
+        return value(field).map(node -> node.isBoolean() ? node.booleanValue()
+                : Boolean.parseBoolean(node.asText().trim()));
+    }
+
+    public Optional<BigDecimal> getDecimal(String field) {
+        return value(field).filter(node -> node.isNumber() || node.isTextual())
+                .map(node -> node.isNumber() ? node.decimalValue() : new BigDecimal(node.asText().trim()));
+    }
+
+    /**
+     * Convert the document to a typed metadata schema. The result is cached
+     * for this view and shared between callers.
+     *
+     * @param type the schema type
+     * @return the typed metadata
+     */
+    public <T> T as(Class<T> type) {
+        return type.cast(typed.computeIfAbsent(type, this::convert));
+    }
+
+    public String toJson() {
+        return raw != null ? raw : tree().toString();
+    }
+
+    private Optional<JsonNode> value(String field) {
+        JsonNode value = tree().get(field);
+        return value == null || value.isNull() ? Optional.empty() : Optional.of(value);
+    }
+
+    private Object convert(Class<?> type) {
+        try {
+            return MAPPER.treeToValue(tree(), type);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return convertLeniently(type, e);
+        }
+    }
+
+    // Legacy rows may hold a well-known key in another shape (a date in a
+    // local format, tags as one string); such keys read as missing instead of
+    // failing the whole document
+    private Object convertLeniently(Class<?> type, Exception cause) {
+        if (!type.isRecord()) {
+            throw new IllegalStateException("Metadata does not match " + type.getSimpleName(), cause);
+        }
+        ObjectNode readable = MAPPER.createObjectNode();
+        for (RecordComponent component : type.getRecordComponents()) {
+            JsonNode value = tree().get(component.getName());
+            if (value != null && readsAs(value, component.getGenericType())) {
+                readable.set(component.getName(), value);
+            }
+        }
+        try {
+            return MAPPER.treeToValue(readable, type);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new IllegalStateException("Metadata does not match " + type.getSimpleName(), e);
+        }
+    }
+
+    private static boolean readsAs(JsonNode value, Type type) {
+        try {
+            MAPPER.treeToValue(value, MAPPER.constructType(type));
+            return true;
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static JsonNode parse(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return MAPPER.createObjectNode();
+        }
+        try {
+            JsonNode node = MAPPER.readTree(raw);
+            return node != null && node.isObject() ? node : MAPPER.createObjectNode();
+        } catch (JsonProcessingException e) {
+            return MAPPER.createObjectNode();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.kompu.api.entity.shared.model;
+
+import java.util.Map;
+
+/**
+ * MailMessage - A templated mail for one recipient.
+ * 
+ * {@code template} names a template under {@code mail/templates}; every
+ * placeholder it uses must have an entry in {@code variables}.
+ */
+public record MailMessage(String template, String to, Map<String, String> variables) {
+
+    public MailMessage {
+        if (template == null || template.isBlank()) {
+            throw new IllegalArgumentException("template is required");
+        }
+        if (to == null || to.isBlank()) {
+            throw new IllegalArgumentException("to is required");
+        }
+        variables = variables == null ? Map.of() : Map.copyOf(variables);
+    }
+
+    public static MailMessage of(String template, String to, Map<String, String> variables) {
+        return new MailMessage(template, to, variables);
+    }
+}
@@ -0,0 +1,82 @@
+package com.kompu.api.entity.shared.model;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * MetadataPatch - Partial update of top-level metadata fields.
+ * 
+ * Only the fields that are set or removed travel to the database, where they
+ * are merged into the stored jsonb document, so concurrent patches touching
+ * different fields do not overwrite each other.
+ */
+public final class MetadataPatch {
+
+    private final ObjectNode set = JsonMetadata.MAPPER.createObjectNode();
+    private final Set<String> removed = new LinkedHashSet<>();
+
+    public static MetadataPatch create() {
+        return new MetadataPatch();
+    }
+
+    public MetadataPatch set(String field, Object value) {
+        removed.remove(field);
+        set.set(field, JsonMetadata.MAPPER.valueToTree(value));
+        return this;
+    }
+
+    public MetadataPatch remove(String field) {
+        set.remove(field);
+        removed.add(field);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return set.isEmpty() && removed.isEmpty();
+    }
+
+    /**
+     * Fields to merge, as a JSON object.
+     */
+    public String setJson() {
+        return set.toString();
+    }
+
+    /**
+     * Fields to drop, as a JSON array of names.
+     */
+    public String removedJson() {
+        ArrayNode array = JsonMetadata.MAPPER.createArrayNode();
+        removed.forEach(array::add);
+        return array.toString();
+    }
+
+    /**
+     * Apply the patch to an in-memory document, mirroring the database merge.
+     *
+     * @param rawMetadata the current JSON document
+     * @return the patched JSON document
+     */
+    public String applyTo(String rawMetadata) {
+        return applyTo(JsonMetadata.of(rawMetadata).tree()).toString();
+    }
+
+    /**
+     * Apply the patch to an in-memory tree without modifying it.
+     *
+     * @param metadata the current document
+     * @return a patched copy
+     */
+    public JsonNode applyTo(JsonNode metadata) {
+        ObjectNode patched = metadata != null && metadata.isObject()
+                ? ((ObjectNode) metadata).deepCopy()
+                : JsonMetadata.MAPPER.createObjectNode();
+        patched.setAll(set.deepCopy());
+        patched.remove(removed);
+        return patched;
+    }
+}
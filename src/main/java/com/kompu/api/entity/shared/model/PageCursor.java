@@ -0,0 +1,76 @@
+package com.kompu.api.entity.shared.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.kompu.api.entity.shared.exception.InvalidCursorException;
+
+/**
+ * PageCursor - Position of the last row of a keyset page.
+ * 
+ * Lists are ordered on (created_at, id); the next page starts strictly after
+ * this pair, so the database seeks through the index instead of skipping an
+ * offset. Tables without a creation timestamp are ordered on id alone and
+ * leave {@code createdAt} null.
+ * 
+ * Clients only ever see the {@link #encode() encoded} form, which is opaque
+ * and may change format without breaking the API.
+ */
+public record PageCursor(Instant createdAt, UUID id) {
+
+    private static final String VERSION = "1";
+    private static final char SEPARATOR = '|';
+
+    public PageCursor {
+        if (id == null) {
+            throw new IllegalArgumentException("Cursor id must not be null");
+        }
+    }
+
+    public static PageCursor of(UUID id) {
+        return new PageCursor(null, id);
+    }
+
+    public String encode() {
+        StringBuilder token = new StringBuilder(VERSION).append(SEPARATOR);
+        if (createdAt != null) {
+            token.append(createdAt.getEpochSecond()).append('.').append(createdAt.getNano());
+        }
+        token.append(SEPARATOR).append(id);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}
+     * 
+     * @param token the opaque cursor, null or blank for the first page
+     * @return the cursor, or null for the first page
+     * @throws InvalidCursorException if the token was not issued by this API
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new InvalidCursorException();
+            }
+            Instant createdAt = null;
+            if (!parts[1].isEmpty()) {
+                int dot = parts[1].indexOf('.');
+                createdAt = Instant.ofEpochSecond(
+                        Long.parseLong(parts[1].substring(0, dot)),
+                        Long.parseLong(parts[1].substring(dot + 1)));
+            }
+            return new PageCursor(createdAt, UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException e) {
+            throw new InvalidCursorException();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.kompu.api.entity.subscription.exception;
+
+/**
+ * TenantSubscriptionNotFoundException - Thrown when a tenant has no
+ * subscription to change
+ */
+public class TenantSubscriptionNotFoundException extends RuntimeException {
+
+    public TenantSubscriptionNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -16,7 +16,7 @@ import lombok.NoArgsConstructor;
  * Represents BASIC, PRO, ENTERPRISE plans with feature access and pricing
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = false)
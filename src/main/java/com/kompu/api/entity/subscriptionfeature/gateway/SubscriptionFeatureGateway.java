@@ -0,0 +1,19 @@
+package com.kompu.api.entity.subscriptionfeature.gateway;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.kompu.api.entity.subscriptionfeature.model.SubscriptionFeatureModel;
+
+/**
+ * SubscriptionFeatureGateway - Read access to the subscription feature catalog
+ */
+public interface SubscriptionFeatureGateway {
+
+    Optional<SubscriptionFeatureModel> findById(UUID id);
+
+    Optional<SubscriptionFeatureModel> findByFeatureKey(String featureKey);
+
+    List<SubscriptionFeatureModel> findAll();
+}
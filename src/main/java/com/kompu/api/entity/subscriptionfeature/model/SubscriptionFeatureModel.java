@@ -15,7 +15,7 @@ import lombok.NoArgsConstructor;
  * Represents feature flags that can be included in subscription plans
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = false)
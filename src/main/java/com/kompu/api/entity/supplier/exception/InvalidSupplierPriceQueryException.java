@@ -0,0 +1,9 @@
+package com.kompu.api.entity.supplier.exception;
+
+public class InvalidSupplierPriceQueryException extends RuntimeException {
+
+    public InvalidSupplierPriceQueryException(String message) {
+        super(message);
+    }
+
+}
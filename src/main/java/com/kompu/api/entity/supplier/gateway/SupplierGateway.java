@@ -3,8 +3,13 @@ package com.kompu.api.entity.supplier.gateway;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
+import com.kompu.api.entity.shared.model.MetadataPatch;
 import com.kompu.api.entity.supplier.model.SupplierModel;
+import com.kompu.api.entity.supplier.model.SupplierSummary;
 
 /**
  * SupplierGateway - Gateway interface for supplier data access
@@ -37,6 +42,20 @@ public interface SupplierGateway {
      */
     List<SupplierModel> findAllByTenant(UUID tenantId);
 
+    /**
+     * Keyset page of suppliers for tenant as lightweight projections, for
+     * list screens
+     */
+    CursorPage<SupplierSummary> findSummaryPageByTenant(UUID tenantId, CursorPageRequest request);
+
+    /**
+     * Stream all live suppliers of a tenant to the consumer in fetch-size
+     * batches, for exports and other batch consumers
+     *
+     * @return number of suppliers consumed
+     */
+    long forEachByTenantId(UUID tenantId, Consumer<? super SupplierModel> consumer);
+
     /**
      * Find suppliers by type (producer, distributor, wholesaler)
      */
@@ -61,4 +80,15 @@ public interface SupplierGateway {
      * Search suppliers by name
      */
     List<SupplierModel> searchByName(UUID tenantId, String searchTerm);
+
+    /**
+     * Typo-tolerant search over name, code, city and contact person, best
+     * matches first. {@code query} must already be trimmed and lower-cased.
+     */
+    List<SupplierSummary> searchFuzzy(UUID tenantId, String query, int limit);
+
+    /**
+     * Set/remove top-level metadata keys in place
+     */
+    boolean patchMetadata(UUID id, MetadataPatch patch);
 }
@@ -0,0 +1,24 @@
+package com.kompu.api.entity.supplier.gateway;
+
+import java.util.UUID;
+
+import com.kompu.api.entity.supplier.model.SupplierPriceQuery;
+import com.kompu.api.entity.supplier.model.SupplierPriceResolution;
+
+/**
+ * SupplierPriceGateway - Picks the best supplier price per product
+ */
+public interface SupplierPriceGateway {
+
+    /**
+     * For every line, the cheapest active price of an active supplier that
+     * is valid on the query date and accepts the line's quantity. Ties go to
+     * the shorter lead time.
+     */
+    SupplierPriceResolution resolveBest(SupplierPriceQuery query);
+
+    /**
+     * Drop the tenant's loaded prices on every node
+     */
+    void refresh(UUID tenantId);
+}
@@ -0,0 +1,18 @@
+package com.kompu.api.entity.supplier.model;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * SupplierMetadata - Typed view of the well-known keys in suppliers.metadata
+ * Unknown keys are ignored and remain untouched in the stored document.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SupplierMetadata(
+        String website,
+        String whatsapp,
+        Integer leadTimeDays,
+        BigDecimal minimumOrderAmount,
+        String deliveryArea) {
+}
@@ -3,13 +3,20 @@ package com.kompu.api.entity.supplier.model;
 import java.time.Instant;
 import java.util.UUID;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.kompu.api.entity.AbstractEntity;
+import com.kompu.api.entity.shared.model.JsonMetadata;
+import com.kompu.api.entity.shared.model.MetadataPatch;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 /**
  * SupplierModel - Domain model for supplier/vendor management
@@ -44,9 +51,31 @@ public class SupplierModel extends AbstractEntity<UUID> {
     private String notes;
     @Builder.Default
     private String metadata = "{}";
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient JsonMetadata metadataView;
     private Instant createdAt;
     private Instant updatedAt;
     private UUID createdBy;
     private UUID updatedBy;
 
+    public JsonMetadata metadataView() {
+        JsonMetadata view = this.metadataView;
+        if (view == null || !view.isFor(this.metadata)) {
+            view = JsonMetadata.of(this.metadata);
+            this.metadataView = view;
+        }
+        return view;
+    }
+
+    public SupplierMetadata typedMetadata() {
+        return metadataView().as(SupplierMetadata.class);
+    }
+
+    public void applyMetadataPatch(MetadataPatch patch) {
+        this.metadata = patch.applyTo(this.metadata);
+    }
 }
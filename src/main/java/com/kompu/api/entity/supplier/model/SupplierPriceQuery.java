@@ -0,0 +1,23 @@
+package com.kompu.api.entity.supplier.model;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * SupplierPriceQuery - Products to price for one tenant, each at its own
+ * order quantity, on a given date and in one currency, since prices in
+ * different currencies cannot be ranked against each other.
+ * {@code maxLeadTimeDays} is an optional filter; a price without a lead time
+ * never passes it.
+ */
+public record SupplierPriceQuery(
+        UUID tenantId,
+        List<Line> lines,
+        LocalDate date,
+        Integer maxLeadTimeDays,
+        String currency) {
+
+    public record Line(UUID productId, int quantity) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.kompu.api.entity.supplier.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * SupplierPriceQuote - The cheapest supplier price that applies to one
+ * product line. {@code validUntil} is null for open-ended prices.
+ */
+public record SupplierPriceQuote(
+        UUID productId,
+        int quantity,
+        UUID priceId,
+        UUID supplierId,
+        BigDecimal unitPrice,
+        BigDecimal lineTotal,
+        String currency,
+        Integer leadTimeDays,
+        LocalDate validUntil) {
+}
@@ -0,0 +1,11 @@
+package com.kompu.api.entity.supplier.model;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * SupplierPriceResolution - Quotes in the order of the query lines, and the
+ * products no supplier price applies to
+ */
+public record SupplierPriceResolution(List<SupplierPriceQuote> quotes, List<UUID> unpriced) {
+}
@@ -0,0 +1,15 @@
+package com.kompu.api.entity.supplier.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * SupplierSummary - Read-only projection of a supplier for supplier list
+ * screens.
+ * 
+ * Selected column by column, so the bank, tax, notes, jsonb metadata and audit
+ * columns are never loaded and no managed entity is created.
+ */
+public record SupplierSummary(UUID id, String supplierCode, String supplierName, String supplierType, String city,
+        String phone, String status, Double rating, Instant createdAt) {
+}
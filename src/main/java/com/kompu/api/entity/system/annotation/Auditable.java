@@ -0,0 +1,32 @@
+package com.kompu.api.entity.system.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.kompu.api.entity.system.model.AuditStream;
+
+/**
+ * Auditable - Declares a use case method as an auditable action.
+ * 
+ * After the method returns, an entry is handed to the audit recorder. The
+ * tenant and resource ids are read from the returned model
+ * ({@code getTenantId()} and {@code getId()}), falling back to a UUID
+ * parameter named {@code tenantId}; the user is the authenticated principal.
+ * Failed invocations are not recorded.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Auditable {
+
+    /** Action name, e.g. "member.created" */
+    String action();
+
+    /** Type of the resource the action touches, e.g. "member" */
+    String resourceType() default "";
+
+    AuditStream stream() default AuditStream.ACTIVITY;
+}
@@ -0,0 +1,9 @@
+package com.kompu.api.entity.system.exception;
+
+public class InvalidAuditQueryException extends RuntimeException {
+
+    public InvalidAuditQueryException(String message) {
+        super(message);
+    }
+
+}
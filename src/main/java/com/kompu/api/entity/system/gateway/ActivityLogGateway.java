@@ -0,0 +1,24 @@
+package com.kompu.api.entity.system.gateway;
+
+import java.util.function.Consumer;
+
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
+import com.kompu.api.entity.system.model.ActivityLogModel;
+import com.kompu.api.entity.system.model.AuditLogFilter;
+
+public interface ActivityLogGateway {
+
+    /**
+     * One keyset page of matching entries, newest first
+     */
+    CursorPage<ActivityLogModel> findPage(AuditLogFilter filter, CursorPageRequest request);
+
+    /**
+     * Stream every matching entry, newest first, without loading them all
+     * 
+     * @return number of entries passed to the consumer
+     */
+    long forEach(AuditLogFilter filter, Consumer<? super ActivityLogModel> consumer);
+
+}
@@ -0,0 +1,21 @@
+package com.kompu.api.entity.system.gateway;
+
+import com.kompu.api.entity.system.model.ActivityLogModel;
+import com.kompu.api.entity.system.model.AuthAuditModel;
+
+/**
+ * AuditGateway - Records audit entries without blocking the caller on the
+ * database. Entries are persisted in batches shortly after they are recorded.
+ */
+public interface AuditGateway {
+
+    /**
+     * @return false if the entry was dropped because the recorder is saturated
+     */
+    boolean recordActivity(ActivityLogModel entry);
+
+    /**
+     * @return false if the entry was dropped because the recorder is saturated
+     */
+    boolean recordAuthAudit(AuthAuditModel entry);
+}
@@ -0,0 +1,23 @@
+package com.kompu.api.entity.system.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * AuditLogFilter - Criteria for reading activity, auth audit and login log
+ * entries.
+ * 
+ * The window [from, to) is mandatory and capped so every query prunes down to
+ * a few monthly partitions. Null criteria match everything. For the login log,
+ * {@code action} matches the login result and the resource criteria are
+ * ignored.
+ */
+public record AuditLogFilter(
+        UUID tenantId,
+        UUID userId,
+        String action,
+        String resourceType,
+        UUID resourceId,
+        LocalDateTime from,
+        LocalDateTime to) {
+}
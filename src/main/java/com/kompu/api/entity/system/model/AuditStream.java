@@ -0,0 +1,11 @@
+package com.kompu.api.entity.system.model;
+
+/**
+ * AuditStream - Table an audit entry is written to
+ */
+public enum AuditStream {
+    /** app.activity_log: business actions on tenant data */
+    ACTIVITY,
+    /** app.auth_audit: authentication and credential events */
+    AUTH
+}
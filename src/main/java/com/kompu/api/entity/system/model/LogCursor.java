@@ -0,0 +1,58 @@
+package com.kompu.api.entity.system.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import com.kompu.api.entity.shared.exception.InvalidCursorException;
+
+/**
+ * LogCursor - Position of the last row of a log page.
+ * 
+ * The log tables are keyed on a bigint sequence rather than a UUID, so they
+ * get their own cursor; otherwise it behaves like
+ * {@link com.kompu.api.entity.shared.model.PageCursor}: rows are ordered on
+ * (created_at, id) and the encoded form is opaque to clients.
+ */
+public record LogCursor(Instant createdAt, long id) {
+
+    private static final String VERSION = "L1";
+
+    public LogCursor {
+        if (createdAt == null) {
+            throw new IllegalArgumentException("Cursor createdAt must not be null");
+        }
+    }
+
+    public String encode() {
+        String token = VERSION + '|' + createdAt.getEpochSecond() + '.' + createdAt.getNano() + '|' + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}
+     * 
+     * @param token the opaque cursor, null or blank for the first page
+     * @return the cursor, or null for the first page
+     * @throws InvalidCursorException if the token was not issued by this API
+     */
+    public static LogCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new InvalidCursorException();
+            }
+            int dot = parts[1].indexOf('.');
+            Instant createdAt = Instant.ofEpochSecond(
+                    Long.parseLong(parts[1].substring(0, dot)),
+                    Long.parseLong(parts[1].substring(dot + 1)));
+            return new LogCursor(createdAt, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import com.kompu.api.entity.shared.model.MetadataPatch;
 import com.kompu.api.entity.tenant.exception.TenantNotFoundException;
 import com.kompu.api.entity.tenant.model.TenantModel;
 
@@ -88,4 +89,15 @@ public interface TenantGateway {
      * @return true if tenant exists, false otherwise
      */
     boolean existsById(UUID id);
+
+    /**
+     * Apply a partial metadata update in a single statement, without loading
+     * the tenant. Only top-level keys are set or removed.
+     * 
+     * @param id    the tenant ID
+     * @param patch the fields to set or remove
+     * @return true if the tenant was updated, false if nothing matched or the
+     *         patch is empty
+     */
+    boolean patchMetadata(UUID id, MetadataPatch patch);
 }
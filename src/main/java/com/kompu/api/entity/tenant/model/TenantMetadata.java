@@ -0,0 +1,22 @@
+package com.kompu.api.entity.tenant.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * TenantMetadata - Typed view of the well-known keys in tenants.metadata
+ * Unknown keys are ignored and remain untouched in the stored document.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record TenantMetadata(
+        String profilePhotoBase64,
+        String legalName,
+        String registrationNumber,
+        String address,
+        String city,
+        String province,
+        String phone,
+        String email,
+        String website,
+        String timezone,
+        String currency) {
+}
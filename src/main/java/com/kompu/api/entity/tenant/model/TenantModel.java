@@ -5,12 +5,18 @@ import java.util.UUID;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.kompu.api.entity.AbstractEntity;
+import com.kompu.api.entity.shared.model.JsonMetadata;
+import com.kompu.api.entity.shared.model.MetadataPatch;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 /**
  * TenantModel represents a multi-tenant organization.
@@ -50,6 +56,16 @@ public class TenantModel extends AbstractEntity<UUID> {
     @Builder.Default
     private String metadata = "{}";
 
+    /**
+     * Lazily parsed view of metadata, rebuilt only when metadata is replaced
+     */
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient JsonMetadata metadataView;
+
     /**
      * ID of the selected dashboard theme
      */
@@ -135,4 +151,37 @@ public class TenantModel extends AbstractEntity<UUID> {
         this.status = "archived";
         this.deletedAt = LocalDateTime.now();
     }
+
+    /**
+     * Parsed metadata, shared until metadata is replaced
+     * 
+     * @return read-only view of the metadata document
+     */
+    public JsonMetadata metadataView() {
+        JsonMetadata view = this.metadataView;
+        if (view == null || !view.isFor(this.metadata)) {
+            view = JsonMetadata.of(this.metadata);
+            this.metadataView = view;
+        }
+        return view;
+    }
+
+    /**
+     * Typed metadata, converted once per metadata document
+     * 
+     * @return the well-known metadata keys
+     */
+    public TenantMetadata typedMetadata() {
+        return metadataView().as(TenantMetadata.class);
+    }
+
+    /**
+     * Apply a partial metadata update in memory, mirroring what the gateway
+     * patch does in the database
+     * 
+     * @param patch the fields to set or remove
+     */
+    public void applyMetadataPatch(MetadataPatch patch) {
+        this.metadata = patch.applyTo(this.metadata);
+    }
 }
@@ -0,0 +1,9 @@
+package com.kompu.api.entity.user.exception;
+
+public class InvalidPasswordResetTokenException extends RuntimeException {
+
+    public InvalidPasswordResetTokenException() {
+        super("The password reset link is invalid or has expired.");
+    }
+
+}
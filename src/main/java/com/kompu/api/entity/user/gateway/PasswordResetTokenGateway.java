@@ -0,0 +1,25 @@
+package com.kompu.api.entity.user.gateway;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * PasswordResetTokenGateway - Stores one-time password reset tokens by hash.
+ */
+public interface PasswordResetTokenGateway {
+
+    /**
+     * Store a new token for the user; the user's earlier unused tokens stop
+     * working
+     */
+    void issue(UUID userId, byte[] tokenHash, Instant expiresAt);
+
+    /**
+     * Use up a token
+     * 
+     * @return the token's user, empty if the token is unknown, expired or was
+     *         already used
+     */
+    Optional<UUID> consume(byte[] tokenHash);
+}
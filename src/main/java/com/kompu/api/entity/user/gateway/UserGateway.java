@@ -3,7 +3,10 @@ package com.kompu.api.entity.user.gateway;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
 import com.kompu.api.entity.user.exception.UserNotFoundException;
 import com.kompu.api.entity.user.model.UserAccountModel;
 
@@ -21,6 +24,10 @@ public interface UserGateway {
 
     List<UserAccountModel> findByTenantId(UUID tenantId);
 
+    CursorPage<UserAccountModel> findPageByTenantId(UUID tenantId, CursorPageRequest request);
+
+    long forEachByTenantId(UUID tenantId, Consumer<? super UserAccountModel> consumer);
+
     List<UserAccountModel> findAll();
 
 }
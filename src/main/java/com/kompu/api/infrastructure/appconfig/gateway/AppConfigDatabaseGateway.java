@@ -1,5 +1,6 @@
 package com.kompu.api.infrastructure.appconfig.gateway;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -7,25 +8,33 @@ import java.util.UUID;
 import com.kompu.api.entity.appconfig.exception.AppConfigNotFoundException;
 import com.kompu.api.entity.appconfig.gateway.AppConfigGateway;
 import com.kompu.api.entity.appconfig.model.AppConfigModel;
+import com.kompu.api.entity.shared.gateway.CacheInvalidationGateway;
+import com.kompu.api.entity.shared.model.CacheRegion;
 import com.kompu.api.infrastructure.config.db.repository.AppConfigRepository;
 import com.kompu.api.infrastructure.config.db.schema.AppConfigSchema;
 
 public class AppConfigDatabaseGateway implements AppConfigGateway {
 
     private final AppConfigRepository repository;
+    private final CacheInvalidationGateway cacheInvalidationGateway;
 
-    public AppConfigDatabaseGateway(AppConfigRepository repository) {
+    public AppConfigDatabaseGateway(AppConfigRepository repository, CacheInvalidationGateway cacheInvalidationGateway) {
         this.repository = repository;
+        this.cacheInvalidationGateway = cacheInvalidationGateway;
     }
 
     @Override
     public AppConfigModel create(AppConfigModel appConfigModel) {
-        return repository.save(new AppConfigSchema(appConfigModel)).toAppConfigModel();
+        AppConfigModel saved = repository.save(new AppConfigSchema(appConfigModel)).toAppConfigModel();
+        cacheInvalidationGateway.publish(CacheRegion.APP_CONFIG, saved.getId().toString());
+        return saved;
     }
 
     @Override
     public AppConfigModel update(AppConfigModel appConfigModel) {
-        return repository.save(new AppConfigSchema(appConfigModel)).toAppConfigModel();
+        AppConfigModel saved = repository.save(new AppConfigSchema(appConfigModel)).toAppConfigModel();
+        cacheInvalidationGateway.publish(CacheRegion.APP_CONFIG, saved.getId().toString());
+        return saved;
     }
 
     @Override
@@ -34,6 +43,7 @@ public class AppConfigDatabaseGateway implements AppConfigGateway {
             throw new AppConfigNotFoundException();
         }
         repository.deleteById(id);
+        cacheInvalidationGateway.publish(CacheRegion.APP_CONFIG, id.toString());
     }
 
     @Override
@@ -53,4 +63,20 @@ public class AppConfigDatabaseGateway implements AppConfigGateway {
                 .toList();
     }
 
+    @Override
+    public Optional<LocalDateTime> findLastUpdatedAt() {
+        return repository.findLastUpdatedAt();
+    }
+
+    @Override
+    public long count() {
+        return repository.count();
+    }
+
+    @Override
+    public void saveValue(String configKey, String configValue, String description) {
+        repository.upsertValue(configKey, configValue, description);
+        cacheInvalidationGateway.publish(CacheRegion.APP_CONFIG, configKey);
+    }
+
 }
@@ -0,0 +1,263 @@
+package com.kompu.api.infrastructure.appconfig.gateway;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.kompu.api.entity.appconfig.gateway.AppConfigGateway;
+import com.kompu.api.entity.appconfig.gateway.AppSettingsGateway;
+import com.kompu.api.entity.appconfig.model.AppConfigChangeEvent;
+import com.kompu.api.entity.appconfig.model.AppConfigModel;
+import com.kompu.api.entity.appconfig.model.ConfigProperty;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CachedAppSettingsGateway - In-memory snapshot of app_config.
+ * 
+ * A poller compares MAX(updated_at) and the row count every interval and
+ * reloads the (small) table when either moved; APP_CONFIG invalidations
+ * reload it straight away, on the poller thread, so the writer whose commit
+ * announced the change runs neither the reload nor the change listeners.
+ * Parsed values are memoised per snapshot, so each
+ * raw value is parsed at most once per type until it changes.
+ */
+@Slf4j
+public class CachedAppSettingsGateway implements AppSettingsGateway {
+
+    private static final Function<String, Integer> INT_PARSER = Integer::valueOf;
+    private static final Function<String, Long> LONG_PARSER = Long::valueOf;
+    private static final Function<String, Boolean> BOOLEAN_PARSER = CachedAppSettingsGateway::parseBoolean;
+    private static final Function<String, Duration> DURATION_PARSER = CachedAppSettingsGateway::parseDuration;
+
+    private final AppConfigGateway appConfigGateway;
+    private final long pollIntervalMillis;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+    private final List<Consumer<AppConfigChangeEvent>> listeners = new CopyOnWriteArrayList<>();
+    private final Object reloadLock = new Object();
+
+    private volatile Stamp lastStamp;
+    private volatile ScheduledExecutorService poller;
+
+    public CachedAppSettingsGateway(AppConfigGateway appConfigGateway, long pollIntervalMillis) {
+        this.appConfigGateway = appConfigGateway;
+        this.pollIntervalMillis = pollIntervalMillis;
+    }
+
+    public synchronized void start() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Initial app config load failed, will retry on next poll: {}", e.getMessage());
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "app-config-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::poll, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+            poller = null;
+        }
+    }
+
+    @Override
+    public Optional<String> getString(String configKey) {
+        return Optional.ofNullable(snapshot.get().values().get(configKey));
+    }
+
+    @Override
+    public String getString(String configKey, String defaultValue) {
+        return getString(configKey).orElse(defaultValue);
+    }
+
+    @Override
+    public int getInt(String configKey, int defaultValue) {
+        return typed("int", configKey, INT_PARSER, defaultValue);
+    }
+
+    @Override
+    public long getLong(String configKey, long defaultValue) {
+        return typed("long", configKey, LONG_PARSER, defaultValue);
+    }
+
+    @Override
+    public boolean getBoolean(String configKey, boolean defaultValue) {
+        return typed("boolean", configKey, BOOLEAN_PARSER, defaultValue);
+    }
+
+    @Override
+    public Duration getDuration(String configKey, Duration defaultValue) {
+        return typed("duration", configKey, DURATION_PARSER, defaultValue);
+    }
+
+    @Override
+    public <T> ConfigProperty<T> property(String configKey, Function<String, T> parser, T defaultValue) {
+        return new ConfigProperty<>(this, configKey, parser, defaultValue);
+    }
+
+    @Override
+    public long getVersion() {
+        return snapshot.get().version();
+    }
+
+    @Override
+    public void addChangeListener(Consumer<AppConfigChangeEvent> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void reload() {
+        AppConfigChangeEvent event;
+        synchronized (reloadLock) {
+            // Read the stamp first so a write racing the load is seen next poll
+            Stamp stamp = readStamp();
+            Map<String, String> values = new HashMap<>();
+            for (AppConfigModel config : appConfigGateway.findAll()) {
+                values.put(config.getConfigKey(), config.getConfigValue());
+            }
+
+            Snapshot previous = snapshot.get();
+            Set<String> changedKeys = diff(previous.values(), values);
+            lastStamp = stamp;
+            if (changedKeys.isEmpty()) {
+                return;
+            }
+
+            Snapshot next = new Snapshot(previous.version() + 1, Map.copyOf(values), new ConcurrentHashMap<>());
+            snapshot.set(next);
+            event = AppConfigChangeEvent.builder()
+                    .changedKeys(Set.copyOf(changedKeys))
+                    .version(next.version())
+                    .build();
+        }
+
+        log.info("App config reloaded (version {}), changed keys: {}", event.getVersion(), event.getChangedKeys());
+        for (Consumer<AppConfigChangeEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                log.warn("App config change listener failed", e);
+            }
+        }
+    }
+
+    /**
+     * Reload on the poller thread and return straight away; reloads inline
+     * until the poller has started.
+     */
+    public void reloadAsync() {
+        ScheduledExecutorService current = poller;
+        if (current == null) {
+            reloadQuietly();
+            return;
+        }
+        try {
+            current.execute(this::reloadQuietly);
+        } catch (RejectedExecutionException e) {
+            log.debug("App config poller stopped, reload skipped");
+        }
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("App config reload failed: {}", e.getMessage());
+        }
+    }
+
+    private void poll() {
+        try {
+            if (!readStamp().equals(lastStamp)) {
+                reload();
+            }
+        } catch (RuntimeException e) {
+            log.warn("App config poll failed: {}", e.getMessage());
+        }
+    }
+
+    private Stamp readStamp() {
+        return new Stamp(appConfigGateway.findLastUpdatedAt().orElse(null), appConfigGateway.count());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T typed(String type, String configKey, Function<String, T> parser, T defaultValue) {
+        Snapshot current = snapshot.get();
+        String raw = current.values().get(configKey);
+        if (raw == null) {
+            return defaultValue;
+        }
+        Object value = current.parsed().computeIfAbsent(type + ':' + configKey, ignored -> {
+            try {
+                return parser.apply(raw.trim());
+            } catch (RuntimeException e) {
+                log.warn("Invalid {} value for app config {}: {}", type, configKey, raw);
+                return Invalid.INSTANCE;
+            }
+        });
+        return value == Invalid.INSTANCE ? defaultValue : (T) value;
+    }
+
+    private static Set<String> diff(Map<String, String> before, Map<String, String> after) {
+        Set<String> changed = new HashSet<>();
+        after.forEach((key, value) -> {
+            if (!Objects.equals(before.get(key), value)) {
+                changed.add(key);
+            }
+        });
+        for (String key : before.keySet()) {
+            if (!after.containsKey(key)) {
+                changed.add(key);
+            }
+        }
+        return changed;
+    }
+
+    private static Boolean parseBoolean(String raw) {
+        return switch (raw.toLowerCase(Locale.ROOT)) {
+            case "true", "1", "yes", "on" -> true;
+            case "false", "0", "no", "off" -> false;
+            default -> throw new IllegalArgumentException("Not a boolean: " + raw);
+        };
+    }
+
+    private static Duration parseDuration(String raw) {
+        if (raw.startsWith("P") || raw.startsWith("p")) {
+            return Duration.parse(raw);
+        }
+        return Duration.ofMillis(Long.parseLong(raw));
+    }
+
+    private enum Invalid {
+        INSTANCE
+    }
+
+    private record Stamp(LocalDateTime lastUpdatedAt, long count) {
+    }
+
+    private record Snapshot(long version, Map<String, String> values, Map<String, Object> parsed) {
+
+        static final Snapshot EMPTY = new Snapshot(0, Map.of(), new ConcurrentHashMap<>());
+    }
+}
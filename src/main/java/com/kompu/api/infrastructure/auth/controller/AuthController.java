@@ -15,12 +15,15 @@ import org.springframework.web.bind.annotation.RestController;
 import com.kompu.api.infrastructure.auth.dto.AuthTokenResponse;
 import com.kompu.api.infrastructure.auth.dto.ChangePasswordRequest;
 import com.kompu.api.infrastructure.auth.dto.ForgotPasswordRequest;
+import com.kompu.api.infrastructure.auth.dto.ResetPasswordRequest;
 import com.kompu.api.infrastructure.auth.dto.RefreshTokenRequest;
 import com.kompu.api.infrastructure.auth.dto.SignInRequest;
 import com.kompu.api.infrastructure.auth.dto.SignUpRequest;
 import com.kompu.api.infrastructure.config.web.response.WebHttpResponse;
+import com.kompu.api.infrastructure.shared.idempotency.Idempotent;
 import com.kompu.api.usecase.auth.ForgotPasswordUseCase;
 import com.kompu.api.usecase.auth.RefreshTokenUseCase;
+import com.kompu.api.usecase.auth.ResetPasswordUseCase;
 import com.kompu.api.usecase.auth.SignInUseCase;
 import com.kompu.api.usecase.auth.SignUpUseCase;
 import com.kompu.api.usecase.user.ChangePasswordUseCase;
@@ -37,7 +40,8 @@ import lombok.extern.slf4j.Slf4j;
  * - POST /api/v1/auth/signout - Invalidate user session
  * - POST /api/v1/auth/refresh - Refresh access token
  * - PUT /api/v1/auth/change-password - Change user password
- * - PUT /api/v1/auth/reset-password - Reset forgotten password
+ * - PUT /api/v1/auth/forgot-password - Mail a one-time password reset link
+ * - PUT /api/v1/auth/reset-password - Reset forgotten password with that link's token
  * 
  * This controller is kept thin and delegates all business logic to use cases.
  * No business rules are implemented in the controller.
@@ -52,18 +56,21 @@ public class AuthController {
         private final RefreshTokenUseCase refreshTokenUseCase;
         private final ChangePasswordUseCase changePasswordUseCase;
         private final ForgotPasswordUseCase forgotPasswordUseCase;
+        private final ResetPasswordUseCase resetPasswordUseCase;
 
         public AuthController(
                         SignUpUseCase signUpUseCase,
                         SignInUseCase signInUseCase,
                         RefreshTokenUseCase refreshTokenUseCase,
                         ChangePasswordUseCase changePasswordUseCase,
-                        ForgotPasswordUseCase forgotPasswordUseCase) {
+                        ForgotPasswordUseCase forgotPasswordUseCase,
+                        ResetPasswordUseCase resetPasswordUseCase) {
                 this.signUpUseCase = signUpUseCase;
                 this.signInUseCase = signInUseCase;
                 this.refreshTokenUseCase = refreshTokenUseCase;
                 this.changePasswordUseCase = changePasswordUseCase;
                 this.forgotPasswordUseCase = forgotPasswordUseCase;
+                this.resetPasswordUseCase = resetPasswordUseCase;
         }
 
         /**
@@ -78,9 +85,14 @@ public class AuthController {
          * 6. Establish user session and issue JWT tokens
          * 7. Return AuthTokenResponse with tokens and user profile
          * 
+         * A retry carrying the same Idempotency-Key gets the first response's
+         * status back instead of a duplicate account. That response holds
+         * tokens, so its body is never stored; the client signs in instead.
+         * 
          * @param request the signup request
          * @return 201 Created with authentication tokens and user profile
          */
+        @Idempotent(value = "auth.signup", ttlSeconds = 3600, replayBody = false)
         @PostMapping("/signup")
         public ResponseEntity<WebHttpResponse<AuthTokenResponse>> signUp(@Valid @RequestBody SignUpRequest request) {
                 AuthTokenResponse result = signUpUseCase.execute(request);
@@ -133,4 +145,15 @@ public class AuthController {
                 return ResponseEntity.ok(WebHttpResponse.ok("If email exists, reset instructions sent"));
         }
 
+        /**
+         * Reset password endpoint - sets a new password with the token from
+         * the reset link. Each token works once.
+         */
+        @PutMapping("/reset-password")
+        public ResponseEntity<WebHttpResponse<String>> resetPassword(
+                        @Valid @RequestBody ResetPasswordRequest request) {
+                resetPasswordUseCase.execute(request.token(), request.newPassword());
+                return ResponseEntity.ok(WebHttpResponse.ok("Password reset successfully"));
+        }
+
 }
@@ -0,0 +1,10 @@
+package com.kompu.api.infrastructure.auth.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record ResetPasswordRequest(
+        @NotBlank(message = "Token is required") String token,
+
+        @NotBlank(message = "New password is required") @Size(min = 8, max = 100, message = "New password must be between 8 and 100 characters") String newPassword) {
+}
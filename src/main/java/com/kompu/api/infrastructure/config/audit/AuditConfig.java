@@ -0,0 +1,74 @@
+package com.kompu.api.infrastructure.config.audit;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.kompu.api.entity.system.gateway.ActivityLogGateway;
+import com.kompu.api.entity.system.gateway.AuditGateway;
+import com.kompu.api.entity.system.gateway.AuthAuditGateway;
+import com.kompu.api.entity.system.gateway.LoginLogGateway;
+import com.kompu.api.infrastructure.config.db.repository.ActivityLogRepository;
+import com.kompu.api.infrastructure.config.db.repository.AuthAuditRepository;
+import com.kompu.api.infrastructure.shared.audit.AuditMethodInterceptor;
+import com.kompu.api.infrastructure.shared.audit.AuditOverflowPolicy;
+import com.kompu.api.infrastructure.shared.audit.AuditSpillFile;
+import com.kompu.api.infrastructure.shared.audit.WriteBehindAuditRecorder;
+import com.kompu.api.usecase.system.QueryAuditLogUseCase;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class AuditConfig {
+
+    @Value("${app.audit.buffer-capacity:16384}")
+    private int bufferCapacity;
+
+    @Value("${app.audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.audit.flush-interval-ms:50}")
+    private long flushIntervalMillis;
+
+    @Value("${app.audit.overflow-policy:SPILL}")
+    private AuditOverflowPolicy overflowPolicy;
+
+    @Value("${app.audit.block-timeout-ms:100}")
+    private long blockTimeoutMillis;
+
+    @Value("${app.audit.block-max-waiters:8}")
+    private int blockMaxWaiters;
+
+    @Value("${app.audit.spill-dir:logs/audit-spill}")
+    private String spillDir;
+
+    @Value("${app.audit.query.max-range-days:31}")
+    private long queryMaxRangeDays;
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public WriteBehindAuditRecorder auditGateway(ActivityLogRepository activityLogRepository,
+            AuthAuditRepository authAuditRepository, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        AuditSpillFile spillFile = spillDir.isBlank() ? null : new AuditSpillFile(Path.of(spillDir), objectMapper);
+        return new WriteBehindAuditRecorder(bufferCapacity, batchSize, flushIntervalMillis, blockTimeoutMillis,
+                blockMaxWaiters, overflowPolicy, spillFile, activityLogRepository, authAuditRepository, objectMapper,
+                meterRegistry);
+    }
+
+    @Bean
+    public QueryAuditLogUseCase queryAuditLogUseCase(ActivityLogGateway activityLogGateway,
+            AuthAuditGateway authAuditGateway, LoginLogGateway loginLogGateway) {
+        return new QueryAuditLogUseCase(activityLogGateway, authAuditGateway, loginLogGateway,
+                Duration.ofDays(queryMaxRangeDays));
+    }
+
+    // Static and lazy on the gateway so the post-processor does not pull the recorder in early
+    @Bean
+    public static AuditableBeanPostProcessor auditableBeanPostProcessor(ObjectProvider<AuditGateway> auditGateway) {
+        return new AuditableBeanPostProcessor(new AuditMethodInterceptor(auditGateway));
+    }
+}
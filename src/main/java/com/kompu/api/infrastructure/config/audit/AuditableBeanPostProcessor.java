@@ -0,0 +1,47 @@
+package com.kompu.api.infrastructure.config.audit;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ReflectionUtils;
+
+import com.kompu.api.entity.system.annotation.Auditable;
+
+/**
+ * AuditableBeanPostProcessor - Wraps beans that declare {@link Auditable}
+ * methods in a class proxy carrying the audit interceptor. Use cases stay
+ * plain classes; only calls through the bean are audited, not calls a use
+ * case makes on itself.
+ */
+public class AuditableBeanPostProcessor implements BeanPostProcessor {
+
+    private final MethodInterceptor auditInterceptor;
+
+    public AuditableBeanPostProcessor(MethodInterceptor auditInterceptor) {
+        this.auditInterceptor = auditInterceptor;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        if (!hasAuditableMethod(targetClass)) {
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(auditInterceptor);
+        return proxyFactory.getProxy(targetClass.getClassLoader());
+    }
+
+    private static boolean hasAuditableMethod(Class<?> type) {
+        if (!type.getPackageName().startsWith("com.kompu.api")) {
+            return false;
+        }
+        boolean[] found = { false };
+        ReflectionUtils.doWithMethods(type, method -> found[0] = true,
+                method -> AnnotatedElementUtils.hasAnnotation(method, Auditable.class));
+        return found[0];
+    }
+}
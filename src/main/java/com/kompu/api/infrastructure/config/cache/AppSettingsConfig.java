@@ -0,0 +1,26 @@
+package com.kompu.api.infrastructure.config.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.kompu.api.entity.appconfig.gateway.AppConfigGateway;
+import com.kompu.api.entity.appconfig.gateway.AppSettingsGateway;
+import com.kompu.api.entity.shared.gateway.CacheInvalidationGateway;
+import com.kompu.api.entity.shared.model.CacheRegion;
+import com.kompu.api.infrastructure.appconfig.gateway.CachedAppSettingsGateway;
+
+@Configuration
+public class AppSettingsConfig {
+
+    @Value("${app.config.poll-interval-ms:10000}")
+    private long pollIntervalMillis;
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public AppSettingsGateway appSettingsGateway(AppConfigGateway appConfigGateway,
+            CacheInvalidationGateway cacheInvalidationGateway) {
+        CachedAppSettingsGateway settings = new CachedAppSettingsGateway(appConfigGateway, pollIntervalMillis);
+        cacheInvalidationGateway.subscribe(CacheRegion.APP_CONFIG, event -> settings.reloadAsync());
+        return settings;
+    }
+}
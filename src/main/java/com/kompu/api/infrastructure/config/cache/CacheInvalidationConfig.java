@@ -0,0 +1,58 @@
+package com.kompu.api.infrastructure.config.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.infrastructure.shared.cache.CacheInvalidationBus;
+import com.kompu.api.infrastructure.shared.cache.InMemoryInvalidationTransport;
+import com.kompu.api.infrastructure.shared.cache.InvalidationTransport;
+import com.kompu.api.infrastructure.shared.cache.PostgresInvalidationTransport;
+
+@Configuration
+public class CacheInvalidationConfig {
+
+    @Value("${app.cache.invalidation.transport:postgres}")
+    private String transport;
+
+    @Value("${app.cache.invalidation.resync-interval-ms:60000}")
+    private long resyncIntervalMillis;
+
+    @Value("${spring.datasource.url:}")
+    private String datasourceUrl;
+
+    @Value("${spring.datasource.username:}")
+    private String datasourceUsername;
+
+    @Value("${spring.datasource.password:}")
+    private String datasourcePassword;
+
+    @Bean
+    public InvalidationTransport invalidationTransport(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        if ("memory".equalsIgnoreCase(transport)) {
+            return new InMemoryInvalidationTransport();
+        }
+        // Announcements run after the writer's commit, when its transaction can no longer write
+        TransactionTemplate publishTransaction = new TransactionTemplate(transactionManager);
+        publishTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return new PostgresInvalidationTransport(
+                jdbcTemplate,
+                publishTransaction,
+                objectMapper,
+                datasourceUrl,
+                datasourceUsername,
+                datasourcePassword,
+                resyncIntervalMillis);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public CacheInvalidationBus cacheInvalidationBus(InvalidationTransport invalidationTransport) {
+        return new CacheInvalidationBus(invalidationTransport);
+    }
+}
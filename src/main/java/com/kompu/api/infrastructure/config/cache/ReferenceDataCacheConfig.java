@@ -0,0 +1,182 @@
+package com.kompu.api.infrastructure.config.cache;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.kompu.api.entity.dashboardtheme.gateway.DashboardThemeGateway;
+import com.kompu.api.entity.dashboardtheme.model.DashboardThemeModel;
+import com.kompu.api.entity.permission.gateway.PermissionGateway;
+import com.kompu.api.entity.permission.model.PermissionModel;
+import com.kompu.api.entity.role.gateway.RoleGateway;
+import com.kompu.api.entity.role.model.RoleModel;
+import com.kompu.api.entity.shared.gateway.CacheInvalidationGateway;
+import com.kompu.api.entity.shared.model.CacheRegion;
+import com.kompu.api.entity.subscription.gateway.SubscriptionPlanGateway;
+import com.kompu.api.entity.subscription.model.SubscriptionPlanModel;
+import com.kompu.api.entity.subscriptionfeature.gateway.SubscriptionFeatureGateway;
+import com.kompu.api.entity.subscriptionfeature.model.SubscriptionFeatureModel;
+import com.kompu.api.infrastructure.config.db.repository.DashboardThemeRepository;
+import com.kompu.api.infrastructure.config.db.repository.PermissionRepository;
+import com.kompu.api.infrastructure.config.db.repository.RoleRepository;
+import com.kompu.api.infrastructure.config.db.repository.SubscriptionFeatureRepository;
+import com.kompu.api.infrastructure.dashboardtheme.gateway.CachedDashboardThemeGateway;
+import com.kompu.api.infrastructure.dashboardtheme.gateway.DashboardThemeDatabaseGateway;
+import com.kompu.api.infrastructure.permission.gateway.CachedPermissionGateway;
+import com.kompu.api.infrastructure.permission.gateway.PermissionDatabaseGateway;
+import com.kompu.api.infrastructure.role.gateway.CachedRoleGateway;
+import com.kompu.api.infrastructure.role.gateway.RoleDatabaseGateway;
+import com.kompu.api.infrastructure.shared.cache.ReferenceDataCache;
+import com.kompu.api.infrastructure.subscription.gateway.CachedSubscriptionPlanGateway;
+import com.kompu.api.infrastructure.subscription.gateway.SubscriptionPlanDatabaseGateway;
+import com.kompu.api.infrastructure.subscriptionfeature.gateway.CachedSubscriptionFeatureGateway;
+import com.kompu.api.infrastructure.subscriptionfeature.gateway.SubscriptionFeatureDatabaseGateway;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class ReferenceDataCacheConfig {
+
+    // ==================== Reference Data Caches ====================
+
+    @Bean
+    public ReferenceDataCache<SubscriptionPlanModel> subscriptionPlanCache(
+            SubscriptionPlanDatabaseGateway subscriptionPlanDatabaseGateway,
+            CacheInvalidationGateway cacheInvalidationGateway,
+            MeterRegistry meterRegistry) {
+        return new ReferenceDataCache<>(
+                "subscription_plans",
+                subscriptionPlanDatabaseGateway::findAll,
+                Map.<String, Function<SubscriptionPlanModel, ?>>of(
+                        CachedSubscriptionPlanGateway.BY_ID, SubscriptionPlanModel::getId,
+                        CachedSubscriptionPlanGateway.BY_NAME,
+                        plan -> CachedSubscriptionPlanGateway.nameKey(plan.getName())),
+                plan -> plan.toBuilder().build(),
+                meterRegistry)
+                .subscribeTo(cacheInvalidationGateway, CacheRegion.SUBSCRIPTION_PLANS);
+    }
+
+    @Bean
+    public ReferenceDataCache<SubscriptionFeatureModel> subscriptionFeatureCache(
+            SubscriptionFeatureRepository subscriptionFeatureRepository,
+            CacheInvalidationGateway cacheInvalidationGateway,
+            MeterRegistry meterRegistry) {
+        SubscriptionFeatureGateway database = new SubscriptionFeatureDatabaseGateway(subscriptionFeatureRepository);
+        return new ReferenceDataCache<>(
+                "subscription_features",
+                database::findAll,
+                Map.<String, Function<SubscriptionFeatureModel, ?>>of(
+                        CachedSubscriptionFeatureGateway.BY_ID, SubscriptionFeatureModel::getId,
+                        CachedSubscriptionFeatureGateway.BY_FEATURE_KEY, SubscriptionFeatureModel::getFeatureKey),
+                feature -> feature.toBuilder().build(),
+                meterRegistry)
+                .subscribeTo(cacheInvalidationGateway, CacheRegion.SUBSCRIPTION_FEATURES);
+    }
+
+    @Bean
+    public ReferenceDataCache<PermissionModel> permissionCache(
+            PermissionRepository permissionRepository,
+            CacheInvalidationGateway cacheInvalidationGateway,
+            MeterRegistry meterRegistry) {
+        PermissionGateway database = new PermissionDatabaseGateway(permissionRepository, cacheInvalidationGateway);
+        return new ReferenceDataCache<>(
+                "permissions",
+                database::findAll,
+                Map.<String, Function<PermissionModel, ?>>of(
+                        CachedPermissionGateway.BY_ID, PermissionModel::getId,
+                        CachedPermissionGateway.BY_CODE, PermissionModel::getCode),
+                permission -> permission.toBuilder().build(),
+                meterRegistry)
+                .subscribeTo(cacheInvalidationGateway, CacheRegion.PERMISSIONS);
+    }
+
+    @Bean
+    public ReferenceDataCache<RoleModel> systemRoleCache(
+            RoleRepository roleRepository,
+            CacheInvalidationGateway cacheInvalidationGateway,
+            MeterRegistry meterRegistry) {
+        RoleGateway database = new RoleDatabaseGateway(roleRepository, cacheInvalidationGateway);
+        return new ReferenceDataCache<>(
+                "system_roles",
+                database::findSystemRoles,
+                Map.<String, Function<RoleModel, ?>>of(CachedRoleGateway.BY_ID, RoleModel::getId),
+                ReferenceDataCacheConfig::copyOf,
+                meterRegistry)
+                .subscribeTo(cacheInvalidationGateway, CacheRegion.ROLES);
+    }
+
+    @Bean
+    public ReferenceDataCache<DashboardThemeModel> dashboardThemeCache(
+            DashboardThemeRepository dashboardThemeRepository,
+            CacheInvalidationGateway cacheInvalidationGateway,
+            MeterRegistry meterRegistry) {
+        DashboardThemeGateway database = new DashboardThemeDatabaseGateway(dashboardThemeRepository);
+        return new ReferenceDataCache<>(
+                "dashboard_themes",
+                database::findAll,
+                Map.<String, Function<DashboardThemeModel, ?>>of(
+                        CachedDashboardThemeGateway.BY_ID, DashboardThemeModel::getId,
+                        CachedDashboardThemeGateway.BY_NAME, DashboardThemeModel::getName),
+                theme -> theme.toBuilder().build(),
+                meterRegistry)
+                .subscribeTo(cacheInvalidationGateway, CacheRegion.DASHBOARD_THEMES);
+    }
+
+    // ==================== Cached Gateway Beans ====================
+
+    @Bean
+    @Primary
+    public SubscriptionPlanGateway subscriptionPlanGateway(
+            SubscriptionPlanDatabaseGateway subscriptionPlanDatabaseGateway,
+            ReferenceDataCache<SubscriptionPlanModel> subscriptionPlanCache) {
+        return new CachedSubscriptionPlanGateway(subscriptionPlanDatabaseGateway, subscriptionPlanCache);
+    }
+
+    @Bean
+    public SubscriptionFeatureGateway subscriptionFeatureGateway(
+            SubscriptionFeatureRepository subscriptionFeatureRepository,
+            ReferenceDataCache<SubscriptionFeatureModel> subscriptionFeatureCache) {
+        return new CachedSubscriptionFeatureGateway(
+                new SubscriptionFeatureDatabaseGateway(subscriptionFeatureRepository), subscriptionFeatureCache);
+    }
+
+    @Bean
+    public PermissionGateway permissionGateway(
+            PermissionRepository permissionRepository,
+            CacheInvalidationGateway cacheInvalidationGateway,
+            ReferenceDataCache<PermissionModel> permissionCache) {
+        return new CachedPermissionGateway(
+                new PermissionDatabaseGateway(permissionRepository, cacheInvalidationGateway), permissionCache);
+    }
+
+    @Bean
+    public RoleGateway roleGateway(
+            RoleRepository roleRepository,
+            CacheInvalidationGateway cacheInvalidationGateway,
+            ReferenceDataCache<RoleModel> systemRoleCache) {
+        return new CachedRoleGateway(
+                new RoleDatabaseGateway(roleRepository, cacheInvalidationGateway), systemRoleCache);
+    }
+
+    @Bean
+    public DashboardThemeGateway dashboardThemeGateway(
+            DashboardThemeRepository dashboardThemeRepository,
+            ReferenceDataCache<DashboardThemeModel> dashboardThemeCache) {
+        return new CachedDashboardThemeGateway(
+                new DashboardThemeDatabaseGateway(dashboardThemeRepository), dashboardThemeCache);
+    }
+
+    private static RoleModel copyOf(RoleModel role) {
+        return role.toBuilder()
+                .permissions(role.getPermissions() != null
+                        ? role.getPermissions().stream().map(permission -> permission.toBuilder().build())
+                                .collect(Collectors.toCollection(HashSet::new))
+                        : null)
+                .build();
+    }
+}
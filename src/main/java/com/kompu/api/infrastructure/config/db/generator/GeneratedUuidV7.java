@@ -0,0 +1,19 @@
+package com.kompu.api.infrastructure.config.db.generator;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Marks a UUID primary key generated by {@link UuidV7Generator}
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RUNTIME)
+@Target({ FIELD, METHOD })
+public @interface GeneratedUuidV7 {
+}
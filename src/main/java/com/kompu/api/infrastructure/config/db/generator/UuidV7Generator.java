@@ -0,0 +1,35 @@
+package com.kompu.api.infrastructure.config.db.generator;
+
+import java.util.EnumSet;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import com.kompu.api.entity.shared.util.UuidV7;
+
+/**
+ * UuidV7Generator - Hibernate identifier generator backed by {@link UuidV7},
+ * so entities and use cases draw keys from the same time-ordered sequence.
+ * 
+ * Identifiers already assigned by a use case are kept.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+            EventType eventType) {
+        return currentValue != null ? currentValue : UuidV7.next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    @Override
+    public boolean allowAssignedIdentifiers() {
+        return true;
+    }
+}
@@ -1,10 +1,15 @@
 package com.kompu.api.infrastructure.config.db.repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.kompu.api.infrastructure.config.db.schema.AppConfigSchema;
 
@@ -13,4 +18,21 @@ public interface AppConfigRepository extends JpaRepository<AppConfigSchema, UUID
 
     Optional<AppConfigSchema> findByConfigKey(String configKey);
 
+    @Query("SELECT MAX(c.updatedAt) FROM AppConfigSchema c")
+    Optional<LocalDateTime> findLastUpdatedAt();
+
+    /**
+     * Insert the key or overwrite its value, in one statement.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO app.app_config (id, config_key, config_value, description, created_at, updated_at)
+            VALUES (app.uuid_generate_v7(), :key, :value, :description, now(), now())
+            ON CONFLICT (config_key) DO UPDATE
+               SET config_value = EXCLUDED.config_value, updated_at = now()
+            """, nativeQuery = true)
+    int upsertValue(@Param("key") String configKey, @Param("value") String configValue,
+            @Param("description") String description);
+
 }
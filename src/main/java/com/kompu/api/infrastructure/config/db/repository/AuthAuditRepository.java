@@ -1,12 +1,24 @@
 package com.kompu.api.infrastructure.config.db.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.kompu.api.infrastructure.config.db.schema.AuthAuditSchema;
+import com.kompu.api.infrastructure.shared.pagination.KeysetPager;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface AuthAuditRepository extends JpaRepository<AuthAuditSchema, Long> {
@@ -14,4 +26,168 @@ public interface AuthAuditRepository extends JpaRepository<AuthAuditSchema, Long
     List<AuthAuditSchema> findByTenantId(UUID tenantId);
 
     List<AuthAuditSchema> findByUserId(UUID userId);
+
+    /**
+     * Entries of a tenant in [from, to), newest first. The bounds on
+     * created_at let PostgreSQL prune the monthly partitions outside the range.
+     */
+    @Query("""
+            SELECT a FROM AuthAuditSchema a
+            WHERE a.tenantId = :tenantId AND a.createdAt >= :from AND a.createdAt < :to
+            ORDER BY a.createdAt DESC
+            """)
+    List<AuthAuditSchema> findByTenantIdInRange(@Param("tenantId") UUID tenantId, @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    /**
+     * Entries of a user in [from, to), newest first, partition-pruned like
+     * {@link #findByTenantIdInRange(UUID, LocalDateTime, LocalDateTime)}
+     */
+    @Query("""
+            SELECT a FROM AuthAuditSchema a
+            WHERE a.userId = :userId AND a.createdAt >= :from AND a.createdAt < :to
+            ORDER BY a.createdAt DESC
+            """)
+    List<AuthAuditSchema> findByUserIdInRange(@Param("userId") UUID userId, @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    /**
+     * Multi-row insert used by the write-behind audit recorder. {@code rows} is
+     * a JSON array of column-named objects, expanded server side so a whole
+     * batch costs a single statement.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO app.auth_audit (tenant_id, user_id, actor_user_id, action, resource_type, resource_id, payload, created_at)
+            SELECT r.tenant_id, r.user_id, r.actor_user_id, r.action, r.resource_type,
+                   r.resource_id, CAST(r.payload AS jsonb), r.created_at
+            FROM jsonb_to_recordset(CAST(:rows AS jsonb))
+                 AS r(tenant_id uuid, user_id uuid, actor_user_id uuid, action text, resource_type text,
+                    resource_id uuid, payload text, created_at timestamptz)
+            """, nativeQuery = true)
+    int insertAll(@Param("rows") String rows);
+
+    /**
+     * First keyset page of a tenant's entries matching the filter in [from, to),
+     * newest first. The tenant is bound in every execution, so the plan seeks
+     * on the (tenant_id, created_at, id) index of each partition inside the
+     * window; null values of the other criteria match everything.
+     */
+    @Query("""
+            SELECT a FROM AuthAuditSchema a
+            WHERE a.tenantId = :tenantId AND a.createdAt >= :from AND a.createdAt < :to
+                AND (:userId IS NULL OR a.userId = :userId)
+                AND (:action IS NULL OR a.action = :action)
+                AND (:resourceType IS NULL OR a.resourceType = :resourceType)
+                AND (:resourceId IS NULL OR a.resourceId = :resourceId)
+            ORDER BY a.createdAt DESC, a.id DESC
+            """)
+    List<AuthAuditSchema> findFirstPageByTenantInRange(@Param("tenantId") UUID tenantId,
+            @Param("userId") UUID userId,
+            @Param("action") String action, @Param("resourceType") String resourceType,
+            @Param("resourceId") UUID resourceId,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Limit limit);
+
+    /**
+     * Keyset page of a tenant's matching entries strictly after
+     * ({@code createdAt}, {@code id}) in (created_at DESC, id DESC) order
+     */
+    @Query("""
+            SELECT a FROM AuthAuditSchema a
+            WHERE a.tenantId = :tenantId AND a.createdAt >= :from AND a.createdAt < :to
+                AND (:userId IS NULL OR a.userId = :userId)
+                AND (:action IS NULL OR a.action = :action)
+                AND (:resourceType IS NULL OR a.resourceType = :resourceType)
+                AND (:resourceId IS NULL OR a.resourceId = :resourceId)
+                AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id))
+            ORDER BY a.createdAt DESC, a.id DESC
+            """)
+    List<AuthAuditSchema> findPageByTenantInRangeAfter(@Param("tenantId") UUID tenantId,
+            @Param("userId") UUID userId,
+            @Param("action") String action, @Param("resourceType") String resourceType,
+            @Param("resourceId") UUID resourceId,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Limit limit);
+
+    /**
+     * Every matching entry of a tenant in [from, to), newest first, streamed
+     * for exports. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = KeysetPager.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT a FROM AuthAuditSchema a
+            WHERE a.tenantId = :tenantId AND a.createdAt >= :from AND a.createdAt < :to
+                AND (:userId IS NULL OR a.userId = :userId)
+                AND (:action IS NULL OR a.action = :action)
+                AND (:resourceType IS NULL OR a.resourceType = :resourceType)
+                AND (:resourceId IS NULL OR a.resourceId = :resourceId)
+            ORDER BY a.createdAt DESC, a.id DESC
+            """)
+    Stream<AuthAuditSchema> streamByTenantInRange(@Param("tenantId") UUID tenantId,
+            @Param("userId") UUID userId,
+            @Param("action") String action, @Param("resourceType") String resourceType,
+            @Param("resourceId") UUID resourceId,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * First keyset page of a user's entries matching the filter in [from, to),
+     * newest first, across tenants; seeks on (user_id, created_at, id) like
+     * {@link #findFirstPageByTenantInRange} does on the tenant
+     */
+    @Query("""
+            SELECT a FROM AuthAuditSchema a
+            WHERE a.userId = :userId AND a.createdAt >= :from AND a.createdAt < :to
+                AND (:action IS NULL OR a.action = :action)
+                AND (:resourceType IS NULL OR a.resourceType = :resourceType)
+                AND (:resourceId IS NULL OR a.resourceId = :resourceId)
+            ORDER BY a.createdAt DESC, a.id DESC
+            """)
+    List<AuthAuditSchema> findFirstPageByUserInRange(@Param("userId") UUID userId,
+            @Param("action") String action, @Param("resourceType") String resourceType,
+            @Param("resourceId") UUID resourceId,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Limit limit);
+
+    /**
+     * Keyset page of a user's matching entries strictly after
+     * ({@code createdAt}, {@code id}) in (created_at DESC, id DESC) order
+     */
+    @Query("""
+            SELECT a FROM AuthAuditSchema a
+            WHERE a.userId = :userId AND a.createdAt >= :from AND a.createdAt < :to
+                AND (:action IS NULL OR a.action = :action)
+                AND (:resourceType IS NULL OR a.resourceType = :resourceType)
+                AND (:resourceId IS NULL OR a.resourceId = :resourceId)
+                AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id))
+            ORDER BY a.createdAt DESC, a.id DESC
+            """)
+    List<AuthAuditSchema> findPageByUserInRangeAfter(@Param("userId") UUID userId,
+            @Param("action") String action, @Param("resourceType") String resourceType,
+            @Param("resourceId") UUID resourceId,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Limit limit);
+
+    /**
+     * Every matching entry of a user in [from, to), newest first, streamed
+     * for exports. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = KeysetPager.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT a FROM AuthAuditSchema a
+            WHERE a.userId = :userId AND a.createdAt >= :from AND a.createdAt < :to
+                AND (:action IS NULL OR a.action = :action)
+                AND (:resourceType IS NULL OR a.resourceType = :resourceType)
+                AND (:resourceId IS NULL OR a.resourceId = :resourceId)
+            ORDER BY a.createdAt DESC, a.id DESC
+            """)
+    Stream<AuthAuditSchema> streamByUserInRange(@Param("userId") UUID userId,
+            @Param("action") String action, @Param("resourceType") String resourceType,
+            @Param("resourceId") UUID resourceId,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
@@ -1,12 +1,20 @@
 package com.kompu.api.infrastructure.config.db.repository;
 
+import com.kompu.api.entity.document.model.DocumentSummary;
 import com.kompu.api.infrastructure.config.db.schema.DocumentSchema;
+import com.kompu.api.infrastructure.shared.pagination.KeysetPager;
+import jakarta.persistence.QueryHint;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -33,4 +41,58 @@ public interface DocumentRepository extends JpaRepository<DocumentSchema, UUID>
 
     @Query("SELECT d FROM DocumentSchema d WHERE d.tenantId = :tenantId AND d.generatedAt >= :startDate AND d.generatedAt <= :endDate AND d.deletedAt IS NULL")
     List<DocumentSchema> findByDateRange(UUID tenantId, Instant startDate, Instant endDate);
+
+    /**
+     * First keyset page for a tenant, newest first, ordered on (created_at, id)
+     */
+    @Query("SELECT d FROM DocumentSchema d WHERE d.tenantId = :tenantId AND d.deletedAt IS NULL ORDER BY d.createdAt DESC, d.id DESC")
+    List<DocumentSchema> findFirstPageByTenantId(@Param("tenantId") UUID tenantId, Limit limit);
+
+    /**
+     * Keyset page of the rows strictly after the given key
+     */
+    @Query("""
+            SELECT d FROM DocumentSchema d
+            WHERE d.tenantId = :tenantId AND d.deletedAt IS NULL
+              AND d.createdAt <= :createdAt
+              AND (d.createdAt < :createdAt OR d.id < :id)
+            ORDER BY d.createdAt DESC, d.id DESC
+            """)
+    List<DocumentSchema> findPageByTenantIdAfter(@Param("tenantId") UUID tenantId, @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = KeysetPager.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT d FROM DocumentSchema d WHERE d.tenantId = :tenantId AND d.deletedAt IS NULL ORDER BY d.createdAt DESC, d.id DESC")
+    Stream<DocumentSchema> streamByTenantId(@Param("tenantId") UUID tenantId);
+
+    /**
+     * First page of DocumentSummary projections, newest first on
+     * (created_at, id). Only the listed columns are read and no entity is put
+     * in the persistence context.
+     */
+    @Query("""
+            SELECT new com.kompu.api.entity.document.model.DocumentSummary(
+                d.id, d.documentType, d.documentNumber, d.orderId, d.supplierId,
+                d.status, d.generatedAt, d.createdAt)
+            FROM DocumentSchema d
+            WHERE d.tenantId = :tenantId AND d.deletedAt IS NULL
+            ORDER BY d.createdAt DESC, d.id DESC
+            """)
+    List<DocumentSummary> findSummaryFirstPageByTenantId(@Param("tenantId") UUID tenantId, Limit limit);
+
+    @Query("""
+            SELECT new com.kompu.api.entity.document.model.DocumentSummary(
+                d.id, d.documentType, d.documentNumber, d.orderId, d.supplierId,
+                d.status, d.generatedAt, d.createdAt)
+            FROM DocumentSchema d
+            WHERE d.tenantId = :tenantId AND d.deletedAt IS NULL
+              AND d.createdAt <= :createdAt
+              AND (d.createdAt < :createdAt OR d.id < :id)
+            ORDER BY d.createdAt DESC, d.id DESC
+            """)
+    List<DocumentSummary> findSummaryPageByTenantIdAfter(@Param("tenantId") UUID tenantId,
+            @Param("createdAt") Instant createdAt, @Param("id") UUID id, Limit limit);
 }
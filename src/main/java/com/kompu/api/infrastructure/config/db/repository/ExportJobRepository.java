@@ -0,0 +1,107 @@
+package com.kompu.api.infrastructure.config.db.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.kompu.api.infrastructure.config.db.schema.ExportJobSchema;
+
+@Repository
+public interface ExportJobRepository extends JpaRepository<ExportJobSchema, UUID> {
+
+    /**
+     * Lease the oldest runnable job to one worker: a PENDING job, or a
+     * RUNNING one whose lease ran out because its node died. The row is
+     * locked with {@code SKIP LOCKED}, marked RUNNING and its lease pushed
+     * out in one statement.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE app.export_jobs j
+               SET status = 'RUNNING',
+                   attempts = j.attempts + 1,
+                   started_at = now(),
+                   available_at = now() + make_interval(secs => :leaseSeconds)
+            WHERE j.id IN (
+                SELECT id FROM app.export_jobs
+                WHERE status IN ('PENDING', 'RUNNING') AND available_at <= now()
+                  AND attempts < :maxAttempts
+                ORDER BY available_at, id
+                LIMIT 1
+                FOR UPDATE SKIP LOCKED)
+            RETURNING j.*
+            """, nativeQuery = true)
+    List<ExportJobSchema> leaseNext(@Param("leaseSeconds") long leaseSeconds, @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * Push the lease of a running job out again. The attempt number fences
+     * the lease: once the job was leased again by another worker, the old
+     * holder's renewals and results no longer match any row.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE app.export_jobs
+               SET available_at = now() + make_interval(secs => :leaseSeconds)
+            WHERE id = :id AND status = 'RUNNING' AND attempts = :attempt
+            """, nativeQuery = true)
+    int renewLease(@Param("id") UUID id, @Param("attempt") int attempt, @Param("leaseSeconds") long leaseSeconds);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE app.export_jobs
+               SET status = 'DONE', row_count = :rowCount, file_path = :filePath, last_error = NULL,
+                   finished_at = now()
+            WHERE id = :id AND status = 'RUNNING' AND attempts = :attempt
+            """, nativeQuery = true)
+    int markDone(@Param("id") UUID id, @Param("attempt") int attempt, @Param("rowCount") long rowCount,
+            @Param("filePath") String filePath);
+
+    /**
+     * Record a failed attempt: the job goes back to PENDING after the delay,
+     * or to FAILED once it is out of attempts
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE app.export_jobs
+               SET status = CASE WHEN attempts >= :maxAttempts THEN 'FAILED' ELSE 'PENDING' END,
+                   available_at = now() + make_interval(secs => :retrySeconds),
+                   finished_at = CASE WHEN attempts >= :maxAttempts THEN now() END,
+                   last_error = :error
+            WHERE id = :id AND status = 'RUNNING' AND attempts = :attempt
+            """, nativeQuery = true)
+    int markFailed(@Param("id") UUID id, @Param("attempt") int attempt, @Param("maxAttempts") int maxAttempts,
+            @Param("retrySeconds") long retrySeconds, @Param("error") String error);
+
+    /**
+     * Jobs whose last lease ran out on their final attempt
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE app.export_jobs
+               SET status = 'FAILED', finished_at = now(),
+                   last_error = COALESCE(last_error, 'Export did not finish within its lease')
+            WHERE status = 'RUNNING' AND available_at <= now() AND attempts >= :maxAttempts
+            """, nativeQuery = true)
+    int failAbandoned(@Param("maxAttempts") int maxAttempts);
+
+    /**
+     * Finished jobs past the retention period, oldest first
+     */
+    @Query(value = """
+            SELECT * FROM app.export_jobs
+            WHERE status IN ('DONE', 'FAILED') AND finished_at < now() - make_interval(days => :retentionDays)
+            ORDER BY finished_at
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ExportJobSchema> findExpired(@Param("retentionDays") int retentionDays, @Param("limit") int limit);
+}
@@ -5,7 +5,11 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.kompu.api.infrastructure.config.db.schema.FeatureFlagSchema;
 
@@ -17,4 +21,64 @@ public interface FeatureFlagRepository extends JpaRepository<FeatureFlagSchema,
     List<FeatureFlagSchema> findByTenantId(UUID tenantId);
 
     List<FeatureFlagSchema> findByTenantIdIsNull();
+
+    /**
+     * Multi-row insert. {@code rows} is a JSON array of
+     * {id, tenant_id, key, value, enabled} objects, expanded server side so the
+     * whole batch costs a single statement.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO app.feature_flags (id, tenant_id, key, value, enabled, created_at, updated_at)
+            SELECT r.id, r.tenant_id, r.key, CAST(r.value AS jsonb), r.enabled, now(), now()
+            FROM jsonb_to_recordset(CAST(:rows AS jsonb))
+                 AS r(id uuid, tenant_id uuid, key text, value text, enabled boolean)
+            ON CONFLICT (tenant_id, lower(key)) DO NOTHING
+            """, nativeQuery = true)
+    int insertAll(@Param("rows") String rows);
+
+    /**
+     * Multi-row upsert, same row format as {@link #insertAll(String)}.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO app.feature_flags (id, tenant_id, key, value, enabled, created_at, updated_at)
+            SELECT r.id, r.tenant_id, r.key, CAST(r.value AS jsonb), r.enabled, now(), now()
+            FROM jsonb_to_recordset(CAST(:rows AS jsonb))
+                 AS r(id uuid, tenant_id uuid, key text, value text, enabled boolean)
+            ON CONFLICT (tenant_id, lower(key)) DO UPDATE
+               SET value = EXCLUDED.value,
+                   enabled = EXCLUDED.enabled,
+                   updated_at = now()
+            """, nativeQuery = true)
+    int upsertAll(@Param("rows") String rows);
+
+    /**
+     * Applies the effective templates of every subscribed tenant's plan that
+     * are newer than {@code sinceVersion}, in one statement.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO app.feature_flags (id, tenant_id, key, value, enabled, created_at, updated_at)
+            SELECT app.uuid_generate_v7(), ts.tenant_id, t.key, t.value, t.enabled, now(), now()
+            FROM app.tenant_subscriptions ts
+            CROSS JOIN LATERAL (
+                SELECT DISTINCT ON (lower(tpl.key))
+                       tpl.key, tpl.value, tpl.version,
+                       (tpl.enabled AND (tpl.feature_id IS NULL OR EXISTS (
+                           SELECT 1 FROM app.subscription_plan_features spf
+                           WHERE spf.plan_id = ts.plan_id
+                             AND spf.feature_id = tpl.feature_id
+                             AND spf.is_included))) AS enabled
+                FROM app.feature_flag_templates tpl
+                WHERE tpl.plan_id IS NULL OR tpl.plan_id = ts.plan_id
+                ORDER BY lower(tpl.key), tpl.plan_id NULLS LAST
+            ) t
+            WHERE t.version > :sinceVersion
+            ON CONFLICT (tenant_id, lower(key)) DO NOTHING
+            """, nativeQuery = true)
+    int backfillFromTemplates(@Param("sinceVersion") int sinceVersion);
 }
@@ -0,0 +1,50 @@
+package com.kompu.api.infrastructure.config.db.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.kompu.api.infrastructure.config.db.schema.FeatureFlagTemplateSchema;
+
+/**
+ * FeatureFlagTemplateRepository - JPA repository for feature flag templates
+ */
+@Repository
+public interface FeatureFlagTemplateRepository extends JpaRepository<FeatureFlagTemplateSchema, UUID> {
+
+    /**
+     * One template per key for the plan: plan rows win over base rows, and
+     * feature-bound rows are only enabled when the plan includes the feature.
+     */
+    @Query(value = """
+            SELECT DISTINCT ON (lower(t.key))
+                   t.id, t.plan_id, t.feature_id, t.key, t.value,
+                   (t.enabled AND (t.feature_id IS NULL OR EXISTS (
+                       SELECT 1 FROM app.subscription_plan_features spf
+                       WHERE spf.plan_id = :planId
+                         AND spf.feature_id = t.feature_id
+                         AND spf.is_included))) AS enabled,
+                   t.version, t.description, t.created_at, t.updated_at
+            FROM app.feature_flag_templates t
+            WHERE t.plan_id IS NULL OR t.plan_id = :planId
+            ORDER BY lower(t.key), t.plan_id NULLS LAST
+            """, nativeQuery = true)
+    List<FeatureFlagTemplateSchema> findEffectiveByPlanId(@Param("planId") UUID planId);
+
+    @Query(value = """
+            SELECT t.id, t.plan_id, t.feature_id, t.key, t.value,
+                   (t.enabled AND t.feature_id IS NULL) AS enabled,
+                   t.version, t.description, t.created_at, t.updated_at
+            FROM app.feature_flag_templates t
+            WHERE t.plan_id IS NULL
+            ORDER BY lower(t.key)
+            """, nativeQuery = true)
+    List<FeatureFlagTemplateSchema> findEffectiveBase();
+
+    @Query("SELECT COALESCE(MAX(t.version), 0) FROM FeatureFlagTemplateSchema t")
+    int findLatestVersion();
+}
@@ -3,11 +3,21 @@ package com.kompu.api.infrastructure.config.db.repository;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.kompu.api.infrastructure.config.db.schema.InventorySchema;
+import com.kompu.api.infrastructure.shared.pagination.KeysetPager;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface InventoryRepository extends JpaRepository<InventorySchema, UUID> {
@@ -17,4 +27,122 @@ public interface InventoryRepository extends JpaRepository<InventorySchema, UUID
     Optional<InventorySchema> findByTenantIdAndProductIdAndLocation(UUID tenantId, UUID productId, String location);
 
     List<InventorySchema> findByTenantIdAndProductId(UUID tenantId, UUID productId);
+
+    /**
+     * First keyset page for a tenant, ordered on id (inventories have no
+     * creation timestamp)
+     */
+    @Query("SELECT i FROM InventorySchema i WHERE i.tenantId = :tenantId ORDER BY i.id DESC")
+    List<InventorySchema> findFirstPageByTenantId(@Param("tenantId") UUID tenantId, Limit limit);
+
+    /**
+     * Keyset page of the rows strictly after the given key
+     */
+    @Query("""
+            SELECT i FROM InventorySchema i
+            WHERE i.tenantId = :tenantId
+              AND i.id < :id
+            ORDER BY i.id DESC
+            """)
+    List<InventorySchema> findPageByTenantIdAfter(@Param("tenantId") UUID tenantId, @Param("id") UUID id, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = KeysetPager.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i FROM InventorySchema i WHERE i.tenantId = :tenantId ORDER BY i.id DESC")
+    Stream<InventorySchema> streamByTenantId(@Param("tenantId") UUID tenantId);
+
+    /**
+     * Reserve {@code quantity} units if they are available, in one statement
+     * 
+     * @return units still available after the reservation, empty when there
+     *         were not enough
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE app.inventories
+               SET reserved = reserved + :quantity, updated_at = now()
+            WHERE id = :id
+              AND deleted_at IS NULL
+              AND quantity - reserved >= :quantity
+            RETURNING quantity - reserved
+            """, nativeQuery = true)
+    Optional<Long> reserveIfAvailable(@Param("id") UUID id, @Param("quantity") long quantity);
+
+    @Query(value = "SELECT quantity - reserved FROM app.inventories WHERE id = :id AND deleted_at IS NULL",
+            nativeQuery = true)
+    Optional<Long> findAvailable(@Param("id") UUID id);
+
+    /**
+     * Reserve all requested lines or none. {@code rows} is a JSON array of
+     * {product_id, location, quantity} objects, one per product and location.
+     * The inventory rows are locked in id order before anything is checked,
+     * so concurrent multi-line reservations cannot deadlock, and the update
+     * only happens when every line is found and fits.
+     *
+     * @return ids of the inventory rows updated; empty when any line did not
+     *         fit
+     */
+    @Transactional
+    @Query(value = """
+            WITH req AS (
+                SELECT r.product_id, r.location, r.quantity
+                FROM jsonb_to_recordset(CAST(:rows AS jsonb))
+                     AS r(product_id uuid, location text, quantity bigint)
+            ), locked AS (
+                SELECT i.id, i.quantity - i.reserved AS available, req.quantity AS requested
+                FROM app.inventories i
+                JOIN req ON req.product_id = i.product_id AND req.location IS NOT DISTINCT FROM i.location
+                WHERE i.tenant_id = :tenantId AND i.deleted_at IS NULL
+                ORDER BY i.id
+                FOR UPDATE OF i
+            ), fits AS (
+                SELECT count(*) FILTER (WHERE available >= requested) = (SELECT count(*) FROM req) AS ok
+                FROM locked
+            )
+            UPDATE app.inventories i
+               SET reserved = i.reserved + l.requested, updated_at = now()
+            FROM locked l, fits
+            WHERE i.id = l.id AND fits.ok
+            RETURNING i.id
+            """, nativeQuery = true)
+    List<UUID> reserveAll(@Param("tenantId") UUID tenantId, @Param("rows") String rows);
+
+    /**
+     * Release or commit reserved lines, same row format as
+     * {@link #reserveAll(UUID, String)} and the same lock order. A release
+     * updates whatever lines exist; a commit updates every line or none,
+     * and none when any line lacks the on-hand units.
+     *
+     * @return ids of the inventory rows updated
+     */
+    @Transactional
+    @Query(value = """
+            WITH req AS (
+                SELECT r.product_id, r.location, r.quantity
+                FROM jsonb_to_recordset(CAST(:rows AS jsonb))
+                     AS r(product_id uuid, location text, quantity bigint)
+            ), locked AS (
+                SELECT i.id, i.quantity AS on_hand, req.quantity AS requested
+                FROM app.inventories i
+                JOIN req ON req.product_id = i.product_id AND req.location IS NOT DISTINCT FROM i.location
+                WHERE i.tenant_id = :tenantId AND i.deleted_at IS NULL
+                ORDER BY i.id
+                FOR UPDATE OF i
+            ), fits AS (
+                SELECT NOT :commit
+                       OR count(*) FILTER (WHERE on_hand >= requested) = (SELECT count(*) FROM req) AS ok
+                FROM locked
+            )
+            UPDATE app.inventories i
+               SET reserved = GREATEST(i.reserved - l.requested, 0),
+                   quantity = CASE WHEN :commit THEN i.quantity - l.requested ELSE i.quantity END,
+                   updated_at = now()
+            FROM locked l, fits
+            WHERE i.id = l.id AND fits.ok
+            RETURNING i.id
+            """, nativeQuery = true)
+    List<UUID> settleAll(@Param("tenantId") UUID tenantId, @Param("rows") String rows,
+            @Param("commit") boolean commit);
 }
@@ -0,0 +1,101 @@
+package com.kompu.api.infrastructure.config.db.repository;
+
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.kompu.api.infrastructure.config.db.schema.InventoryReservationSchema;
+
+@Repository
+public interface InventoryReservationRepository extends JpaRepository<InventoryReservationSchema, UUID> {
+
+    /**
+     * Multi-row insert. {@code rows} is a JSON array of
+     * {id, tenant_id, inventory_id, quantity, expires_at} objects.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO app.inventory_reservations
+                (id, tenant_id, inventory_id, quantity, status, expires_at, created_at, updated_at)
+            SELECT r.id, r.tenant_id, r.inventory_id, r.quantity, 'RESERVED', r.expires_at, now(), now()
+            FROM jsonb_to_recordset(CAST(:rows AS jsonb))
+                 AS r(id uuid, tenant_id uuid, inventory_id uuid, quantity bigint, expires_at timestamptz)
+            """, nativeQuery = true)
+    int insertAll(@Param("rows") String rows);
+
+    /**
+     * Move RESERVED reservations (a JSON array of ids) to {@code status} and
+     * take their units out of inventories.reserved; COMMITTED also takes them
+     * out of quantity. Reservations already settled elsewhere are skipped, so
+     * repeating a release or commit is harmless. Inventory rows are locked in
+     * id order.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            WITH moved AS (
+                UPDATE app.inventory_reservations r
+                   SET status = :status, updated_at = now()
+                WHERE r.id IN (SELECT CAST(value AS uuid) FROM jsonb_array_elements_text(CAST(:ids AS jsonb)))
+                  AND r.status = 'RESERVED'
+                RETURNING r.inventory_id, r.quantity
+            ), settled AS (
+                SELECT inventory_id, sum(quantity) AS units FROM moved GROUP BY inventory_id
+            ), locked AS (
+                SELECT i.id FROM app.inventories i
+                WHERE i.id IN (SELECT inventory_id FROM settled)
+                ORDER BY i.id
+                FOR UPDATE
+            )
+            UPDATE app.inventories i
+               SET reserved = GREATEST(i.reserved - s.units, 0),
+                   quantity = CASE WHEN :status = 'COMMITTED' THEN i.quantity - s.units ELSE i.quantity END,
+                   updated_at = now()
+            FROM settled s JOIN locked l ON l.id = s.inventory_id
+            WHERE i.id = s.inventory_id
+            """, nativeQuery = true)
+    int settle(@Param("ids") String ids, @Param("status") String status);
+
+    /**
+     * Expire up to {@code limit} reservations that are past their deadline
+     * by more than {@code graceSeconds}, returning their units; covers nodes
+     * that died holding reservations
+     * 
+     * @return number of inventory rows updated
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            WITH moved AS (
+                UPDATE app.inventory_reservations r
+                   SET status = 'EXPIRED', updated_at = now()
+                WHERE r.id IN (
+                    SELECT id FROM app.inventory_reservations
+                    WHERE status = 'RESERVED'
+                      AND expires_at < now() - make_interval(secs => :graceSeconds)
+                    ORDER BY expires_at
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING r.inventory_id, r.quantity
+            ), settled AS (
+                SELECT inventory_id, sum(quantity) AS units FROM moved GROUP BY inventory_id
+            ), locked AS (
+                SELECT i.id FROM app.inventories i
+                WHERE i.id IN (SELECT inventory_id FROM settled)
+                ORDER BY i.id
+                FOR UPDATE
+            )
+            UPDATE app.inventories i
+               SET reserved = GREATEST(i.reserved - s.units, 0),
+                   updated_at = now()
+            FROM settled s JOIN locked l ON l.id = s.inventory_id
+            WHERE i.id = s.inventory_id
+            """, nativeQuery = true)
+    int expireOverdue(@Param("graceSeconds") long graceSeconds, @Param("limit") int limit);
+}
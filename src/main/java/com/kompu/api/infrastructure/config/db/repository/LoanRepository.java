@@ -1,13 +1,23 @@
 package com.kompu.api.infrastructure.config.db.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.kompu.api.infrastructure.config.db.schema.LoanSchema;
+import com.kompu.api.infrastructure.shared.pagination.KeysetPager;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface LoanRepository extends JpaRepository<LoanSchema, UUID> {
@@ -17,4 +27,30 @@ public interface LoanRepository extends JpaRepository<LoanSchema, UUID> {
     Optional<LoanSchema> findByTenantIdAndLoanNumber(UUID tenantId, String loanNumber);
 
     List<LoanSchema> findByTenantIdAndMemberId(UUID tenantId, UUID memberId);
+
+    /**
+     * First keyset page for a tenant, newest first, ordered on (created_at, id)
+     */
+    @Query("SELECT l FROM LoanSchema l WHERE l.tenantId = :tenantId ORDER BY l.createdAt DESC, l.id DESC")
+    List<LoanSchema> findFirstPageByTenantId(@Param("tenantId") UUID tenantId, Limit limit);
+
+    /**
+     * Keyset page of the rows strictly after the given key
+     */
+    @Query("""
+            SELECT l FROM LoanSchema l
+            WHERE l.tenantId = :tenantId
+              AND l.createdAt <= :createdAt
+              AND (l.createdAt < :createdAt OR l.id < :id)
+            ORDER BY l.createdAt DESC, l.id DESC
+            """)
+    List<LoanSchema> findPageByTenantIdAfter(@Param("tenantId") UUID tenantId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = KeysetPager.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT l FROM LoanSchema l WHERE l.tenantId = :tenantId ORDER BY l.createdAt DESC, l.id DESC")
+    Stream<LoanSchema> streamByTenantId(@Param("tenantId") UUID tenantId);
 }
@@ -1,12 +1,22 @@
 package com.kompu.api.infrastructure.config.db.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.kompu.api.infrastructure.config.db.schema.LoginLogSchema;
+import com.kompu.api.infrastructure.shared.pagination.KeysetPager;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface LoginLogRepository extends JpaRepository<LoginLogSchema, Long> {
@@ -14,4 +24,133 @@ public interface LoginLogRepository extends JpaRepository<LoginLogSchema, Long>
     List<LoginLogSchema> findByTenantId(UUID tenantId);
 
     List<LoginLogSchema> findByUserId(UUID userId);
+
+    /**
+     * Entries of a tenant in [from, to), newest first. The bounds on
+     * created_at let PostgreSQL prune the monthly partitions outside the range.
+     */
+    @Query("""
+            SELECT l FROM LoginLogSchema l
+            WHERE l.tenantId = :tenantId AND l.createdAt >= :from AND l.createdAt < :to
+            ORDER BY l.createdAt DESC
+            """)
+    List<LoginLogSchema> findByTenantIdInRange(@Param("tenantId") UUID tenantId, @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    /**
+     * Entries of a user in [from, to), newest first, partition-pruned like
+     * {@link #findByTenantIdInRange(UUID, LocalDateTime, LocalDateTime)}
+     */
+    @Query("""
+            SELECT l FROM LoginLogSchema l
+            WHERE l.userId = :userId AND l.createdAt >= :from AND l.createdAt < :to
+            ORDER BY l.createdAt DESC
+            """)
+    List<LoginLogSchema> findByUserIdInRange(@Param("userId") UUID userId, @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    /**
+     * First keyset page of a tenant's entries matching the filter in [from, to),
+     * newest first. The tenant is bound in every execution, so the plan seeks
+     * on the (tenant_id, created_at, id) index of each partition inside the
+     * window; null values of the other criteria match everything.
+     */
+    @Query("""
+            SELECT l FROM LoginLogSchema l
+            WHERE l.tenantId = :tenantId AND l.createdAt >= :from AND l.createdAt < :to
+                AND (:userId IS NULL OR l.userId = :userId)
+                AND (:action IS NULL OR l.result = :action)
+            ORDER BY l.createdAt DESC, l.id DESC
+            """)
+    List<LoginLogSchema> findFirstPageByTenantInRange(@Param("tenantId") UUID tenantId,
+            @Param("userId") UUID userId,
+            @Param("action") String action,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Limit limit);
+
+    /**
+     * Keyset page of a tenant's matching entries strictly after
+     * ({@code createdAt}, {@code id}) in (created_at DESC, id DESC) order
+     */
+    @Query("""
+            SELECT l FROM LoginLogSchema l
+            WHERE l.tenantId = :tenantId AND l.createdAt >= :from AND l.createdAt < :to
+                AND (:userId IS NULL OR l.userId = :userId)
+                AND (:action IS NULL OR l.result = :action)
+                AND (l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.id < :id))
+            ORDER BY l.createdAt DESC, l.id DESC
+            """)
+    List<LoginLogSchema> findPageByTenantInRangeAfter(@Param("tenantId") UUID tenantId,
+            @Param("userId") UUID userId,
+            @Param("action") String action,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Limit limit);
+
+    /**
+     * Every matching entry of a tenant in [from, to), newest first, streamed
+     * for exports. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = KeysetPager.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT l FROM LoginLogSchema l
+            WHERE l.tenantId = :tenantId AND l.createdAt >= :from AND l.createdAt < :to
+                AND (:userId IS NULL OR l.userId = :userId)
+                AND (:action IS NULL OR l.result = :action)
+            ORDER BY l.createdAt DESC, l.id DESC
+            """)
+    Stream<LoginLogSchema> streamByTenantInRange(@Param("tenantId") UUID tenantId,
+            @Param("userId") UUID userId,
+            @Param("action") String action,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * First keyset page of a user's entries matching the filter in [from, to),
+     * newest first, across tenants; seeks on (user_id, created_at, id) like
+     * {@link #findFirstPageByTenantInRange} does on the tenant
+     */
+    @Query("""
+            SELECT l FROM LoginLogSchema l
+            WHERE l.userId = :userId AND l.createdAt >= :from AND l.createdAt < :to
+                AND (:action IS NULL OR l.result = :action)
+            ORDER BY l.createdAt DESC, l.id DESC
+            """)
+    List<LoginLogSchema> findFirstPageByUserInRange(@Param("userId") UUID userId,
+            @Param("action") String action,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Limit limit);
+
+    /**
+     * Keyset page of a user's matching entries strictly after
+     * ({@code createdAt}, {@code id}) in (created_at DESC, id DESC) order
+     */
+    @Query("""
+            SELECT l FROM LoginLogSchema l
+            WHERE l.userId = :userId AND l.createdAt >= :from AND l.createdAt < :to
+                AND (:action IS NULL OR l.result = :action)
+                AND (l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.id < :id))
+            ORDER BY l.createdAt DESC, l.id DESC
+            """)
+    List<LoginLogSchema> findPageByUserInRangeAfter(@Param("userId") UUID userId,
+            @Param("action") String action,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Limit limit);
+
+    /**
+     * Every matching entry of a user in [from, to), newest first, streamed
+     * for exports. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = KeysetPager.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT l FROM LoginLogSchema l
+            WHERE l.userId = :userId AND l.createdAt >= :from AND l.createdAt < :to
+                AND (:action IS NULL OR l.result = :action)
+            ORDER BY l.createdAt DESC, l.id DESC
+            """)
+    Stream<LoginLogSchema> streamByUserInRange(@Param("userId") UUID userId,
+            @Param("action") String action,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
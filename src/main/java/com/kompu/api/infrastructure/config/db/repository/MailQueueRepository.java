@@ -0,0 +1,69 @@
+package com.kompu.api.infrastructure.config.db.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.kompu.api.infrastructure.config.db.schema.MailQueueSchema;
+
+@Repository
+public interface MailQueueRepository extends JpaRepository<MailQueueSchema, UUID> {
+
+    /**
+     * Lease the next due mails to one dispatcher: the rows are locked with
+     * {@code SKIP LOCKED} and their {@code available_at} pushed out by the
+     * lease, all in one statement. The lease expires on its own if the node
+     * dies mid-send, so the mail is picked up again.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE app.mail_queue q
+               SET available_at = now() + make_interval(secs => :leaseSeconds)
+            WHERE q.id IN (
+                SELECT id FROM app.mail_queue
+                WHERE status = 'PENDING' AND available_at <= now()
+                ORDER BY available_at, id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED)
+            RETURNING q.*
+            """, nativeQuery = true)
+    List<MailQueueSchema> leaseDue(@Param("limit") int limit, @Param("leaseSeconds") long leaseSeconds);
+
+    // Sent and dead rows keep no body; a rendered mail may carry a reset link
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE app.mail_queue
+               SET status = 'SENT', body = '', sent_at = now(), attempts = attempts + 1, last_error = NULL
+            WHERE id IN (:ids)
+            """, nativeQuery = true)
+    int markSent(@Param("ids") List<UUID> ids);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE app.mail_queue
+               SET attempts = :attempts, available_at = :availableAt, last_error = :error
+            WHERE id = :id
+            """, nativeQuery = true)
+    int reschedule(@Param("id") UUID id, @Param("attempts") int attempts,
+            @Param("availableAt") Instant availableAt, @Param("error") String error);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE app.mail_queue
+               SET status = 'DEAD', body = '', attempts = :attempts, last_error = :error
+            WHERE id = :id
+            """, nativeQuery = true)
+    int markDead(@Param("id") UUID id, @Param("attempts") int attempts, @Param("error") String error);
+
+    long countByStatus(String status);
+}
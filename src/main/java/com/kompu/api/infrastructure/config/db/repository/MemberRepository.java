@@ -1,13 +1,26 @@
 package com.kompu.api.infrastructure.config.db.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.kompu.api.entity.member.model.MemberSummary;
 import com.kompu.api.infrastructure.config.db.schema.MemberSchema;
+import com.kompu.api.infrastructure.shared.pagination.KeysetPager;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface MemberRepository extends JpaRepository<MemberSchema, UUID> {
@@ -21,4 +34,92 @@ public interface MemberRepository extends JpaRepository<MemberSchema, UUID> {
     java.util.Optional<MemberSchema> findByTenantIdAndUserId(UUID tenantId, UUID userId);
 
     boolean existsByTenantIdAndMemberCode(UUID tenantId, String memberCode);
+
+    /**
+     * Fuzzy search over the generated search_text column (full name, member
+     * code, phone, email), served by the tenant trigram index. Rows containing
+     * {@code pattern} rank first, then by word similarity to {@code query};
+     * both arguments are expected lower-cased.
+     */
+    @Query(value = """
+            SELECT m.* FROM app.members m
+            WHERE m.tenant_id = :tenantId AND m.deleted_at IS NULL
+              AND (m.search_text LIKE :pattern ESCAPE '\\' OR :query <% m.search_text)
+            ORDER BY (m.search_text LIKE :pattern ESCAPE '\\') DESC,
+                     word_similarity(:query, m.search_text) DESC,
+                     m.full_name, m.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<MemberSchema> searchFuzzy(@Param("tenantId") UUID tenantId, @Param("query") String query,
+            @Param("pattern") String pattern, @Param("limit") int limit);
+
+    /**
+     * Shallow jsonb merge: top-level keys in {@code set} (a JSON object) are
+     * written, keys in {@code remove} (a JSON array) are dropped, everything
+     * else in the document is left untouched.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE app.members
+               SET metadata = (COALESCE(metadata, CAST('{}' AS jsonb)) || CAST(:set AS jsonb))
+                              - ARRAY(SELECT jsonb_array_elements_text(CAST(:remove AS jsonb))),
+                   updated_at = now()
+             WHERE id = :id
+            """, nativeQuery = true)
+    int patchMetadata(@Param("id") UUID id, @Param("set") String set, @Param("remove") String remove);
+
+    /**
+     * First keyset page for a tenant, newest first, ordered on (created_at, id)
+     */
+    @Query("SELECT m FROM MemberSchema m WHERE m.tenantId = :tenantId ORDER BY m.createdAt DESC, m.id DESC")
+    List<MemberSchema> findFirstPageByTenantId(@Param("tenantId") UUID tenantId, Limit limit);
+
+    /**
+     * Keyset page of the rows strictly after the given key
+     */
+    @Query("""
+            SELECT m FROM MemberSchema m
+            WHERE m.tenantId = :tenantId
+              AND m.createdAt <= :createdAt
+              AND (m.createdAt < :createdAt OR m.id < :id)
+            ORDER BY m.createdAt DESC, m.id DESC
+            """)
+    List<MemberSchema> findPageByTenantIdAfter(@Param("tenantId") UUID tenantId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = KeysetPager.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m FROM MemberSchema m WHERE m.tenantId = :tenantId ORDER BY m.createdAt DESC, m.id DESC")
+    Stream<MemberSchema> streamByTenantId(@Param("tenantId") UUID tenantId);
+
+    /**
+     * First page of MemberSummary projections, newest first on
+     * (created_at, id). Only the listed columns are read and no entity is put
+     * in the persistence context.
+     */
+    @Query("""
+            SELECT new com.kompu.api.entity.member.model.MemberSummary(
+                m.id, m.memberCode, m.fullName, m.email, m.phone,
+                m.status, m.joinedAt, m.createdAt)
+            FROM MemberSchema m
+            WHERE m.tenantId = :tenantId
+            ORDER BY m.createdAt DESC, m.id DESC
+            """)
+    List<MemberSummary> findSummaryFirstPageByTenantId(@Param("tenantId") UUID tenantId, Limit limit);
+
+    @Query("""
+            SELECT new com.kompu.api.entity.member.model.MemberSummary(
+                m.id, m.memberCode, m.fullName, m.email, m.phone,
+                m.status, m.joinedAt, m.createdAt)
+            FROM MemberSchema m
+            WHERE m.tenantId = :tenantId
+              AND m.createdAt <= :createdAt
+              AND (m.createdAt < :createdAt OR m.id < :id)
+            ORDER BY m.createdAt DESC, m.id DESC
+            """)
+    List<MemberSummary> findSummaryPageByTenantIdAfter(@Param("tenantId") UUID tenantId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Limit limit);
 }
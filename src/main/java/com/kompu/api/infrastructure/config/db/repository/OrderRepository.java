@@ -1,13 +1,26 @@
 package com.kompu.api.infrastructure.config.db.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.kompu.api.entity.order.model.OrderSummary;
 import com.kompu.api.infrastructure.config.db.schema.OrderSchema;
+import com.kompu.api.infrastructure.shared.pagination.KeysetPager;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface OrderRepository extends JpaRepository<OrderSchema, UUID> {
@@ -15,4 +28,159 @@ public interface OrderRepository extends JpaRepository<OrderSchema, UUID> {
     List<OrderSchema> findByTenantId(UUID tenantId);
 
     Optional<OrderSchema> findByTenantIdAndOrderNumber(UUID tenantId, String orderNumber);
+
+    /**
+     * Shallow jsonb merge: top-level keys in {@code set} (a JSON object) are
+     * written, keys in {@code remove} (a JSON array) are dropped, everything
+     * else in the document is left untouched.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE app.orders
+               SET metadata = (COALESCE(metadata, CAST('{}' AS jsonb)) || CAST(:set AS jsonb))
+                              - ARRAY(SELECT jsonb_array_elements_text(CAST(:remove AS jsonb))),
+                   updated_at = now()
+             WHERE id = :id
+            """, nativeQuery = true)
+    int patchMetadata(@Param("id") UUID id, @Param("set") String set, @Param("remove") String remove);
+
+    /**
+     * Inserts a placed order, its items and its payment in one statement.
+     * {@code orderRow} and {@code paymentRow} are JSON objects and
+     * {@code itemRows} a JSON array, with the columns as snake_case keys and
+     * ids already assigned; the items and payment take the order's id.
+     *
+     * @return number of items inserted
+     */
+    @Transactional
+    @Query(value = """
+            WITH o AS (
+                INSERT INTO app.orders (id, tenant_id, order_number, order_type, buyer_id, buyer_snapshot,
+                                        status, total_amount, currency, metadata, created_at, updated_at)
+                SELECT r.id, r.tenant_id, r.order_number, r.order_type, r.buyer_id, r.buyer_snapshot,
+                       r.status, r.total_amount, r.currency, COALESCE(r.metadata, CAST('{}' AS jsonb)), now(), now()
+                FROM jsonb_to_record(CAST(:orderRow AS jsonb))
+                     AS r(id uuid, tenant_id uuid, order_number text, order_type text, buyer_id uuid,
+                          buyer_snapshot jsonb, status text, total_amount numeric, currency text, metadata jsonb)
+                RETURNING id, tenant_id
+            ), p AS (
+                INSERT INTO app.payments (id, tenant_id, order_id, payment_provider, amount, currency, status,
+                                          created_at)
+                SELECT r.id, o.tenant_id, o.id, r.payment_provider, r.amount, r.currency, r.status, now()
+                FROM o, jsonb_to_record(CAST(:paymentRow AS jsonb))
+                     AS r(id uuid, payment_provider text, amount numeric, currency text, status text)
+            ), i AS (
+                INSERT INTO app.order_items (id, order_id, product_id, product_snapshot, quantity, unit_price,
+                                             created_at)
+                SELECT r.id, o.id, r.product_id, r.product_snapshot, r.quantity, r.unit_price, now()
+                FROM o, jsonb_to_recordset(CAST(:itemRows AS jsonb))
+                     AS r(id uuid, product_id uuid, product_snapshot jsonb, quantity integer, unit_price numeric)
+                RETURNING 1
+            )
+            SELECT count(*) FROM i
+            """, nativeQuery = true)
+    long insertPlaced(@Param("orderRow") String orderRow, @Param("itemRows") String itemRows,
+            @Param("paymentRow") String paymentRow);
+
+    /**
+     * Moves a created order to {@code status}, and its pending payment with
+     * it; a paid payment also gets {@code paid_at} and the provider
+     * reference.
+     *
+     * @return the order's stock lines as a JSON array of
+     *         {productId, location, quantity} objects, or null when the
+     *         tenant has no created order with that id
+     */
+    @Transactional
+    @Query(value = """
+            WITH o AS (
+                UPDATE app.orders
+                   SET status = CAST(:status AS text), updated_at = now()
+                 WHERE id = :id AND tenant_id = :tenantId AND status = 'created' AND deleted_at IS NULL
+                RETURNING id
+            ), p AS (
+                UPDATE app.payments p
+                   SET status = CAST(:status AS text),
+                       paid_at = CASE WHEN CAST(:status AS text) = 'paid' THEN now() END,
+                       provider_reference = COALESCE(CAST(:providerReference AS text), p.provider_reference)
+                  FROM o
+                 WHERE p.tenant_id = :tenantId AND p.order_id = o.id
+                   AND p.status = 'pending' AND p.deleted_at IS NULL
+            )
+            SELECT CAST(jsonb_agg(jsonb_build_object('productId', i.product_id,
+                       'location', i.product_snapshot ->> 'location', 'quantity', i.quantity)) AS text)
+            FROM o JOIN app.order_items i ON i.order_id = o.id
+            """, nativeQuery = true)
+    String settleCreated(@Param("tenantId") UUID tenantId, @Param("id") UUID id, @Param("status") String status,
+            @Param("providerReference") String providerReference);
+
+    @Query(value = "SELECT status FROM app.orders WHERE id = :id AND tenant_id = :tenantId AND deleted_at IS NULL",
+            nativeQuery = true)
+    Optional<String> findStatus(@Param("tenantId") UUID tenantId, @Param("id") UUID id);
+
+    /**
+     * Created sales orders placed before the cutoff, oldest first; served by
+     * idx_orders_created_unsettled
+     */
+    @Query("""
+            SELECT o FROM OrderSchema o
+            WHERE o.status = 'created' AND o.orderType = 'sales' AND o.createdAt < :cutoff AND o.deletedAt IS NULL
+            ORDER BY o.createdAt
+            """)
+    List<OrderSchema> findCreatedSalesBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    /**
+     * First keyset page for a tenant, newest first, ordered on (created_at, id)
+     */
+    @Query("SELECT o FROM OrderSchema o WHERE o.tenantId = :tenantId ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSchema> findFirstPageByTenantId(@Param("tenantId") UUID tenantId, Limit limit);
+
+    /**
+     * Keyset page of the rows strictly after the given key
+     */
+    @Query("""
+            SELECT o FROM OrderSchema o
+            WHERE o.tenantId = :tenantId
+              AND o.createdAt <= :createdAt
+              AND (o.createdAt < :createdAt OR o.id < :id)
+            ORDER BY o.createdAt DESC, o.id DESC
+            """)
+    List<OrderSchema> findPageByTenantIdAfter(@Param("tenantId") UUID tenantId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = KeysetPager.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o FROM OrderSchema o WHERE o.tenantId = :tenantId ORDER BY o.createdAt DESC, o.id DESC")
+    Stream<OrderSchema> streamByTenantId(@Param("tenantId") UUID tenantId);
+
+    /**
+     * First page of OrderSummary projections, newest first on
+     * (created_at, id). Only the listed columns are read and no entity is put
+     * in the persistence context.
+     */
+    @Query("""
+            SELECT new com.kompu.api.entity.order.model.OrderSummary(
+                o.id, o.orderNumber, o.orderType, o.status, o.totalAmount,
+                o.currency, o.buyerId, o.supplierId, o.createdAt)
+            FROM OrderSchema o
+            WHERE o.tenantId = :tenantId
+            ORDER BY o.createdAt DESC, o.id DESC
+            """)
+    List<OrderSummary> findSummaryFirstPageByTenantId(@Param("tenantId") UUID tenantId, Limit limit);
+
+    @Query("""
+            SELECT new com.kompu.api.entity.order.model.OrderSummary(
+                o.id, o.orderNumber, o.orderType, o.status, o.totalAmount,
+                o.currency, o.buyerId, o.supplierId, o.createdAt)
+            FROM OrderSchema o
+            WHERE o.tenantId = :tenantId
+              AND o.createdAt <= :createdAt
+              AND (o.createdAt < :createdAt OR o.id < :id)
+            ORDER BY o.createdAt DESC, o.id DESC
+            """)
+    List<OrderSummary> findSummaryPageByTenantIdAfter(@Param("tenantId") UUID tenantId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Limit limit);
 }
@@ -0,0 +1,80 @@
+package com.kompu.api.infrastructure.config.db.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.kompu.api.infrastructure.config.db.schema.OutboxSchema;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxSchema, UUID> {
+
+    /**
+     * Lease the next due events to one relay: the rows are locked with
+     * {@code SKIP LOCKED} and their {@code available_at} pushed out by the
+     * lease, all in one statement, so any number of nodes can poll
+     * concurrently and no lock is held while the handlers run. The lease
+     * expires on its own if the node dies mid-delivery, so the event is picked
+     * up again.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE app.outbox o
+               SET available_at = now() + make_interval(secs => :leaseSeconds)
+            WHERE o.id IN (
+                SELECT id FROM app.outbox
+                WHERE status = 'PENDING' AND available_at <= now()
+                ORDER BY available_at, id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED)
+            RETURNING o.*
+            """, nativeQuery = true)
+    List<OutboxSchema> leaseDue(@Param("limit") int limit, @Param("leaseSeconds") long leaseSeconds);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE app.outbox
+               SET status = 'DONE', processed_at = now(), last_error = NULL
+            WHERE id IN (:ids) AND status = 'PENDING'
+            """, nativeQuery = true)
+    int markDone(@Param("ids") List<UUID> ids);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE app.outbox
+               SET attempts = :attempts, available_at = :availableAt, last_error = :error
+            WHERE id = :id AND status = 'PENDING'
+            """, nativeQuery = true)
+    int reschedule(@Param("id") UUID id, @Param("attempts") int attempts,
+            @Param("availableAt") Instant availableAt, @Param("error") String error);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE app.outbox
+               SET status = 'DEAD', processed_at = now(), attempts = :attempts, last_error = :error
+            WHERE id = :id AND status = 'PENDING'
+            """, nativeQuery = true)
+    int markDead(@Param("id") UUID id, @Param("attempts") int attempts, @Param("error") String error);
+
+    long countByStatus(String status);
+
+    /**
+     * Seconds since the oldest pending event was written, 0 when none
+     */
+    @Query(value = """
+            SELECT COALESCE(EXTRACT(EPOCH FROM now() - min(created_at)), 0)
+            FROM app.outbox
+            WHERE status = 'PENDING'
+            """, nativeQuery = true)
+    double findPendingLagSeconds();
+}
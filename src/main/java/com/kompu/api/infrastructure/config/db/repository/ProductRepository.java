@@ -1,13 +1,27 @@
 package com.kompu.api.infrastructure.config.db.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.kompu.api.entity.product.model.ProductSummary;
 import com.kompu.api.infrastructure.config.db.schema.ProductSchema;
+import com.kompu.api.infrastructure.shared.pagination.KeysetPager;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface ProductRepository extends JpaRepository<ProductSchema, UUID> {
@@ -17,4 +31,125 @@ public interface ProductRepository extends JpaRepository<ProductSchema, UUID> {
     Optional<ProductSchema> findByTenantIdAndSku(UUID tenantId, String sku);
 
     List<ProductSchema> findByTenantIdAndCategoryId(UUID tenantId, UUID categoryId);
+
+    List<ProductSchema> findByTenantIdAndIdIn(UUID tenantId, Collection<UUID> ids);
+
+    /**
+     * Shallow jsonb merge: top-level keys in {@code set} (a JSON object) are
+     * written, keys in {@code remove} (a JSON array) are dropped, everything
+     * else in the document is left untouched.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE app.products
+               SET metadata = (COALESCE(metadata, CAST('{}' AS jsonb)) || CAST(:set AS jsonb))
+                              - ARRAY(SELECT jsonb_array_elements_text(CAST(:remove AS jsonb))),
+                   updated_at = now()
+             WHERE id = :id
+            """, nativeQuery = true)
+    int patchMetadata(@Param("id") UUID id, @Param("set") String set, @Param("remove") String remove);
+
+    /**
+     * First keyset page for a tenant, newest first, ordered on (created_at, id)
+     */
+    @Query("SELECT p FROM ProductSchema p WHERE p.tenantId = :tenantId ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductSchema> findFirstPageByTenantId(@Param("tenantId") UUID tenantId, Limit limit);
+
+    /**
+     * Keyset page of the rows strictly after the given key
+     */
+    @Query("""
+            SELECT p FROM ProductSchema p
+            WHERE p.tenantId = :tenantId
+              AND p.createdAt <= :createdAt
+              AND (p.createdAt < :createdAt OR p.id < :id)
+            ORDER BY p.createdAt DESC, p.id DESC
+            """)
+    List<ProductSchema> findPageByTenantIdAfter(@Param("tenantId") UUID tenantId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = KeysetPager.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM ProductSchema p WHERE p.tenantId = :tenantId ORDER BY p.createdAt DESC, p.id DESC")
+    Stream<ProductSchema> streamByTenantId(@Param("tenantId") UUID tenantId);
+
+    /**
+     * First page of ProductSummary projections, newest first on
+     * (created_at, id). Only the listed columns are read and no entity is put
+     * in the persistence context.
+     */
+    @Query("""
+            SELECT new com.kompu.api.entity.product.model.ProductSummary(
+                p.id, p.sku, p.name, p.categoryId, p.price, p.isActive, p.createdAt)
+            FROM ProductSchema p
+            WHERE p.tenantId = :tenantId
+            ORDER BY p.createdAt DESC, p.id DESC
+            """)
+    List<ProductSummary> findSummaryFirstPageByTenantId(@Param("tenantId") UUID tenantId, Limit limit);
+
+    @Query("""
+            SELECT new com.kompu.api.entity.product.model.ProductSummary(
+                p.id, p.sku, p.name, p.categoryId, p.price, p.isActive, p.createdAt)
+            FROM ProductSchema p
+            WHERE p.tenantId = :tenantId
+              AND p.createdAt <= :createdAt
+              AND (p.createdAt < :createdAt OR p.id < :id)
+            ORDER BY p.createdAt DESC, p.id DESC
+            """)
+    List<ProductSummary> findSummaryPageByTenantIdAfter(@Param("tenantId") UUID tenantId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Limit limit);
+
+    /**
+     * First page of ProductSummary projections in a category and all its
+     * descendants, newest first, resolved through the category closure table
+     * in the same statement. Soft-deleted categories and everything below them
+     * are left out, as they are from the cached CategoryTree
+     */
+    @Query("""
+            SELECT new com.kompu.api.entity.product.model.ProductSummary(
+                p.id, p.sku, p.name, p.categoryId, p.price, p.isActive, p.createdAt)
+            FROM ProductSchema p
+            WHERE p.tenantId = :tenantId
+              AND p.deletedAt IS NULL
+              AND p.categoryId IN (
+                  SELECT c.descendantId FROM ProductCategoryClosureSchema c
+                  WHERE c.ancestorId = :categoryId
+                    AND NOT EXISTS (
+                        SELECT x.id
+                        FROM ProductCategoryClosureSchema via, ProductCategoryClosureSchema down,
+                             ProductCategorySchema x
+                        WHERE via.ancestorId = :categoryId AND via.descendantId = x.id
+                          AND down.ancestorId = x.id AND down.descendantId = c.descendantId
+                          AND x.deletedAt IS NOT NULL))
+            ORDER BY p.createdAt DESC, p.id DESC
+            """)
+    List<ProductSummary> findSummaryFirstPageByCategorySubtree(@Param("tenantId") UUID tenantId,
+            @Param("categoryId") UUID categoryId, Limit limit);
+
+    @Query("""
+            SELECT new com.kompu.api.entity.product.model.ProductSummary(
+                p.id, p.sku, p.name, p.categoryId, p.price, p.isActive, p.createdAt)
+            FROM ProductSchema p
+            WHERE p.tenantId = :tenantId
+              AND p.deletedAt IS NULL
+              AND p.categoryId IN (
+                  SELECT c.descendantId FROM ProductCategoryClosureSchema c
+                  WHERE c.ancestorId = :categoryId
+                    AND NOT EXISTS (
+                        SELECT x.id
+                        FROM ProductCategoryClosureSchema via, ProductCategoryClosureSchema down,
+                             ProductCategorySchema x
+                        WHERE via.ancestorId = :categoryId AND via.descendantId = x.id
+                          AND down.ancestorId = x.id AND down.descendantId = c.descendantId
+                          AND x.deletedAt IS NOT NULL))
+              AND p.createdAt <= :createdAt
+              AND (p.createdAt < :createdAt OR p.id < :id)
+            ORDER BY p.createdAt DESC, p.id DESC
+            """)
+    List<ProductSummary> findSummaryPageByCategorySubtreeAfter(@Param("tenantId") UUID tenantId,
+            @Param("categoryId") UUID categoryId, @Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id,
+            Limit limit);
 }
@@ -1,5 +1,6 @@
 package com.kompu.api.infrastructure.config.db.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,4 +17,10 @@ public interface RevokedJtiRepository extends JpaRepository<RevokedJtiSchema, UU
 
     List<RevokedJtiSchema> findByUserId(UUID userId);
 
+    /**
+     * Revocation of a token that has not expired yet. The expires_at bound
+     * prunes the partitions of already expired tokens.
+     */
+    boolean existsByJtiAndExpiresAtAfter(UUID jti, LocalDateTime now);
+
 }
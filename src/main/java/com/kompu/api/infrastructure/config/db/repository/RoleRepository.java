@@ -16,4 +16,6 @@ public interface RoleRepository extends JpaRepository<RoleSchema, UUID> {
 
     List<RoleSchema> findByTenantId(UUID tenantId);
 
+    List<RoleSchema> findByIsSystemTrue();
+
 }
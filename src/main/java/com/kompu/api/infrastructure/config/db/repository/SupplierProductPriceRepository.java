@@ -5,6 +5,8 @@ import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.kompu.api.infrastructure.config.db.schema.SupplierProductPriceSchema;
@@ -19,4 +21,18 @@ public interface SupplierProductPriceRepository extends JpaRepository<SupplierPr
     List<SupplierProductPriceSchema> findByProductId(UUID productId);
 
     List<SupplierProductPriceSchema> findByProductIdAndUnitPriceLessThanEqual(UUID productId, BigDecimal price);
+
+    /**
+     * Every active price of the tenant's active, non-deleted suppliers, with
+     * its whole validity history, for the in-memory price index
+     */
+    @Query("""
+            SELECT p FROM SupplierProductPriceSchema p, SupplierSchema s
+            WHERE s.id = p.supplierId
+              AND p.tenantId = :tenantId
+              AND p.isActive = true
+              AND s.status = 'active'
+              AND s.deletedAt IS NULL
+            """)
+    List<SupplierProductPriceSchema> findActiveForPricing(@Param("tenantId") UUID tenantId);
 }
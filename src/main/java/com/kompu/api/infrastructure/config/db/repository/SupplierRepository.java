@@ -1,12 +1,23 @@
 package com.kompu.api.infrastructure.config.db.repository;
 
+import com.kompu.api.entity.supplier.model.SupplierSummary;
 import com.kompu.api.infrastructure.config.db.schema.SupplierSchema;
+import com.kompu.api.infrastructure.shared.pagination.KeysetPager;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * SupplierRepository - JPA repository for supplier queries
@@ -24,9 +35,78 @@ public interface SupplierRepository extends JpaRepository<SupplierSchema, UUID>
     @Query("SELECT s FROM SupplierSchema s WHERE s.tenantId = :tenantId AND s.deletedAt IS NULL")
     List<SupplierSchema> findAllByTenant(UUID tenantId);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = KeysetPager.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM SupplierSchema s WHERE s.tenantId = :tenantId AND s.deletedAt IS NULL ORDER BY s.createdAt DESC, s.id DESC")
+    Stream<SupplierSchema> streamByTenantId(@Param("tenantId") UUID tenantId);
+
     @Query("SELECT s FROM SupplierSchema s WHERE s.tenantId = :tenantId AND s.supplierType = :type AND s.deletedAt IS NULL")
     List<SupplierSchema> findByTypeAndTenant(UUID tenantId, String type);
 
     @Query("SELECT s FROM SupplierSchema s WHERE s.tenantId = :tenantId AND LOWER(s.supplierName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) AND s.deletedAt IS NULL")
     List<SupplierSchema> searchByName(UUID tenantId, String searchTerm);
+
+    /**
+     * Fuzzy search over the generated search_text column (name, code, city,
+     * contact person), served by the tenant trigram index. Rows containing
+     * {@code pattern} rank first, then by word similarity to {@code query};
+     * both arguments are expected lower-cased.
+     */
+    @Query(value = """
+            SELECT s.* FROM app.suppliers s
+            WHERE s.tenant_id = :tenantId AND s.deleted_at IS NULL
+              AND (s.search_text LIKE :pattern ESCAPE '\\' OR :query <% s.search_text)
+            ORDER BY (s.search_text LIKE :pattern ESCAPE '\\') DESC,
+                     word_similarity(:query, s.search_text) DESC,
+                     s.supplier_name, s.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<SupplierSchema> searchFuzzy(@Param("tenantId") UUID tenantId, @Param("query") String query,
+            @Param("pattern") String pattern, @Param("limit") int limit);
+
+    /**
+     * Shallow jsonb merge: top-level keys in {@code set} (a JSON object) are
+     * written, keys in {@code remove} (a JSON array) are dropped, everything
+     * else in the document is left untouched.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE app.suppliers
+               SET metadata = (COALESCE(metadata, CAST('{}' AS jsonb)) || CAST(:set AS jsonb))
+                              - ARRAY(SELECT jsonb_array_elements_text(CAST(:remove AS jsonb))),
+                   updated_at = now()
+             WHERE id = :id
+            """, nativeQuery = true)
+    int patchMetadata(@Param("id") UUID id, @Param("set") String set, @Param("remove") String remove);
+
+    /**
+     * First page of SupplierSummary projections, newest first on
+     * (created_at, id). Only the listed columns are read and no entity is put
+     * in the persistence context.
+     */
+    @Query("""
+            SELECT new com.kompu.api.entity.supplier.model.SupplierSummary(
+                s.id, s.supplierCode, s.supplierName, s.supplierType, s.city,
+                s.phone, s.status, s.rating, s.createdAt)
+            FROM SupplierSchema s
+            WHERE s.tenantId = :tenantId AND s.deletedAt IS NULL
+            ORDER BY s.createdAt DESC, s.id DESC
+            """)
+    List<SupplierSummary> findSummaryFirstPageByTenantId(@Param("tenantId") UUID tenantId, Limit limit);
+
+    @Query("""
+            SELECT new com.kompu.api.entity.supplier.model.SupplierSummary(
+                s.id, s.supplierCode, s.supplierName, s.supplierType, s.city,
+                s.phone, s.status, s.rating, s.createdAt)
+            FROM SupplierSchema s
+            WHERE s.tenantId = :tenantId AND s.deletedAt IS NULL
+              AND s.createdAt <= :createdAt
+              AND (s.createdAt < :createdAt OR s.id < :id)
+            ORDER BY s.createdAt DESC, s.id DESC
+            """)
+    List<SupplierSummary> findSummaryPageByTenantIdAfter(@Param("tenantId") UUID tenantId,
+            @Param("createdAt") Instant createdAt, @Param("id") UUID id, Limit limit);
 }
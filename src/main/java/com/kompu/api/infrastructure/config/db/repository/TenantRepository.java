@@ -4,7 +4,11 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.kompu.api.infrastructure.config.db.schema.TenantSchema;
 
@@ -23,4 +27,20 @@ public interface TenantRepository extends JpaRepository<TenantSchema, UUID> {
     Optional<TenantSchema> findByName(String name);
 
     java.util.List<TenantSchema> findByStatus(String status);
+
+    /**
+     * Shallow jsonb merge: top-level keys in {@code set} (a JSON object) are
+     * written, keys in {@code remove} (a JSON array) are dropped, everything
+     * else in the document is left untouched.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE app.tenants
+               SET metadata = (COALESCE(metadata, CAST('{}' AS jsonb)) || CAST(:set AS jsonb))
+                              - ARRAY(SELECT jsonb_array_elements_text(CAST(:remove AS jsonb))),
+                   updated_at = now()
+             WHERE id = :id
+            """, nativeQuery = true)
+    int patchMetadata(@Param("id") UUID id, @Param("set") String set, @Param("remove") String remove);
 }
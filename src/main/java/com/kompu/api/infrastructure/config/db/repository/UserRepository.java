@@ -1,15 +1,23 @@
 package com.kompu.api.infrastructure.config.db.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.kompu.api.infrastructure.config.db.schema.UserSchema;
+import com.kompu.api.infrastructure.shared.pagination.KeysetPager;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface UserRepository extends JpaRepository<UserSchema, UUID> {
@@ -24,4 +32,29 @@ public interface UserRepository extends JpaRepository<UserSchema, UUID> {
     @Query("SELECT u FROM UserSchema u LEFT JOIN FETCH u.roles r LEFT JOIN FETCH r.permissions WHERE u.id = :id")
     Optional<UserSchema> findByIdWithRolesAndPermissions(@Param("id") UUID id);
 
-}
\ No newline at end of file
+    /**
+     * First keyset page for a tenant, newest first, ordered on (created_at, id)
+     */
+    @Query("SELECT u FROM UserSchema u WHERE u.tenantId = :tenantId ORDER BY u.createdAt DESC, u.id DESC")
+    List<UserSchema> findFirstPageByTenantId(@Param("tenantId") UUID tenantId, Limit limit);
+
+    /**
+     * Keyset page of the rows strictly after the given key
+     */
+    @Query("""
+            SELECT u FROM UserSchema u
+            WHERE u.tenantId = :tenantId
+              AND u.createdAt <= :createdAt
+              AND (u.createdAt < :createdAt OR u.id < :id)
+            ORDER BY u.createdAt DESC, u.id DESC
+            """)
+    List<UserSchema> findPageByTenantIdAfter(@Param("tenantId") UUID tenantId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = KeysetPager.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM UserSchema u WHERE u.tenantId = :tenantId ORDER BY u.createdAt DESC, u.id DESC")
+    Stream<UserSchema> streamByTenantId(@Param("tenantId") UUID tenantId);
+}
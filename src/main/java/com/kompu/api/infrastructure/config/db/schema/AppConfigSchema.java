@@ -8,12 +8,11 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import com.kompu.api.entity.appconfig.model.AppConfigModel;
+import com.kompu.api.infrastructure.config.db.generator.GeneratedUuidV7;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
@@ -32,7 +31,7 @@ import lombok.NoArgsConstructor;
 public class AppConfigSchema {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
 
     @Column(name = "config_key", nullable = false, unique = true, length = 100)
@@ -65,6 +64,7 @@ public class AppConfigSchema {
                 .configKey(this.configKey)
                 .configValue(this.configValue)
                 .description(this.description)
+                .updatedAt(this.updatedAt)
                 .build();
     }
 
@@ -7,12 +7,11 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import com.kompu.api.entity.document.model.DocumentModel;
+import com.kompu.api.infrastructure.config.db.generator.GeneratedUuidV7;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.Table;
@@ -41,7 +40,7 @@ import lombok.NoArgsConstructor;
 public class DocumentSchema {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     @Column(columnDefinition = "uuid")
     private UUID id;
 
@@ -0,0 +1,93 @@
+package com.kompu.api.infrastructure.config.db.schema;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.kompu.api.entity.export.model.ExportDataset;
+import com.kompu.api.entity.export.model.ExportFormat;
+import com.kompu.api.entity.export.model.ExportJobModel;
+import com.kompu.api.infrastructure.config.db.generator.GeneratedUuidV7;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "export_jobs", schema = "app")
+public class ExportJobSchema {
+
+    @Id
+    @GeneratedUuidV7
+    private UUID id;
+
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ExportDataset dataset;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ExportFormat format;
+
+    @Column(nullable = false)
+    private boolean gzip;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private String status = ExportJobModel.STATUS_PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "row_count")
+    private Long rowCount;
+
+    @Column(name = "file_path")
+    private String filePath;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "available_at", nullable = false)
+    private Instant availableAt;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    public ExportJobModel toModel() {
+        return ExportJobModel.builder()
+                .id(id)
+                .tenantId(tenantId)
+                .dataset(dataset)
+                .format(format)
+                .gzip(gzip)
+                .status(status)
+                .attempts(attempts)
+                .rowCount(rowCount)
+                .filePath(filePath)
+                .lastError(lastError)
+                .createdAt(createdAt)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+}
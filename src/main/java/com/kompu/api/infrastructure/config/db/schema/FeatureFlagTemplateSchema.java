@@ -0,0 +1,103 @@
+package com.kompu.api.infrastructure.config.db.schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import com.kompu.api.entity.featureflag.model.FeatureFlagTemplateModel;
+import com.kompu.api.infrastructure.config.db.generator.GeneratedUuidV7;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * FeatureFlagTemplateSchema - JPA entity mapping to feature_flag_templates
+ * table
+ * Stores the versioned, plan-driven defaults used to provision tenant flags
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "feature_flag_templates", schema = "app", indexes = {
+        @Index(name = "idx_flag_templates_plan", columnList = "plan_id"),
+        @Index(name = "idx_flag_templates_version", columnList = "version")
+})
+public class FeatureFlagTemplateSchema {
+
+    @Id
+    @GeneratedUuidV7
+    private UUID id;
+
+    @Column(name = "plan_id")
+    private UUID planId;
+
+    @Column(name = "feature_id")
+    private UUID featureId;
+
+    @Column(nullable = false)
+    private String key;
+
+    @Column(nullable = false, columnDefinition = "jsonb")
+    private String value;
+
+    @Column(name = "enabled", nullable = false)
+    @Builder.Default
+    private boolean enabled = true;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int version = 1;
+
+    @Column(columnDefinition = "text")
+    private String description;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public FeatureFlagTemplateSchema(FeatureFlagTemplateModel model) {
+        this.id = model.getId();
+        this.planId = model.getPlanId();
+        this.featureId = model.getFeatureId();
+        this.key = model.getKey();
+        this.value = model.getValue();
+        this.enabled = model.isEnabled();
+        this.version = model.getVersion();
+        this.description = model.getDescription();
+        this.createdAt = model.getCreatedAt();
+        this.updatedAt = model.getUpdatedAt();
+    }
+
+    public FeatureFlagTemplateModel toModel() {
+        return FeatureFlagTemplateModel.builder()
+                .id(this.id)
+                .planId(this.planId)
+                .featureId(this.featureId)
+                .key(this.key)
+                .value(this.value)
+                .enabled(this.enabled)
+                .version(this.version)
+                .description(this.description)
+                .createdAt(this.createdAt)
+                .updatedAt(this.updatedAt)
+                .build();
+    }
+}
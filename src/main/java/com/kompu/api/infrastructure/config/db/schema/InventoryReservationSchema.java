@@ -0,0 +1,55 @@
+package com.kompu.api.infrastructure.config.db.schema;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.kompu.api.infrastructure.config.db.generator.GeneratedUuidV7;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "inventory_reservations", schema = "app")
+public class InventoryReservationSchema {
+
+    public static final String STATUS_RESERVED = "RESERVED";
+    public static final String STATUS_RELEASED = "RELEASED";
+    public static final String STATUS_COMMITTED = "COMMITTED";
+    public static final String STATUS_EXPIRED = "EXPIRED";
+
+    @Id
+    @GeneratedUuidV7
+    private UUID id;
+
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    @Column(name = "inventory_id", nullable = false)
+    private UUID inventoryId;
+
+    @Column(nullable = false)
+    private long quantity;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private String status = STATUS_RESERVED;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,71 @@
+package com.kompu.api.infrastructure.config.db.schema;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import com.kompu.api.infrastructure.config.db.generator.GeneratedUuidV7;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "outbox", schema = "app")
+public class OutboxSchema {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_DONE = "DONE";
+    public static final String STATUS_DEAD = "DEAD";
+
+    @Id
+    @GeneratedUuidV7
+    private UUID id;
+
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    @Column(name = "aggregate_type")
+    private String aggregateType;
+
+    @Column(name = "aggregate_id")
+    private UUID aggregateId;
+
+    @Column(name = "tenant_id")
+    private UUID tenantId;
+
+    // Bound as jsonb; a plain String is sent as varchar, which PostgreSQL rejects
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false, columnDefinition = "jsonb")
+    private String payload;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private String status = STATUS_PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "available_at", nullable = false)
+    private Instant availableAt;
+
+    @Column(name = "processed_at")
+    private Instant processedAt;
+}
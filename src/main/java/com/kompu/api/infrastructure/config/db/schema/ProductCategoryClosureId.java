@@ -0,0 +1,19 @@
+package com.kompu.api.infrastructure.config.db.schema;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductCategoryClosureId implements Serializable {
+
+    private UUID ancestorId;
+
+    private UUID descendantId;
+
+}
@@ -0,0 +1,45 @@
+package com.kompu.api.infrastructure.config.db.schema;
+
+import java.util.UUID;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One (ancestor, descendant) pair of the category hierarchy, including each
+ * category paired with itself at depth 0. Maintained by database triggers on
+ * product_categories; mapped read-only so JPQL can join on it.
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Immutable
+@IdClass(ProductCategoryClosureId.class)
+@Table(name = "product_category_closure", schema = "app")
+public class ProductCategoryClosureSchema {
+
+    @Id
+    @Column(name = "ancestor_id")
+    private UUID ancestorId;
+
+    @Id
+    @Column(name = "descendant_id")
+    private UUID descendantId;
+
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    @Column(nullable = false)
+    private int depth;
+}
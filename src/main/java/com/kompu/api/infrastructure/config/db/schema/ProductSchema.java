@@ -14,12 +14,12 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kompu.api.entity.product.model.ProductModel;
+import com.kompu.api.infrastructure.config.db.generator.GeneratedUuidV7;
+import com.kompu.api.infrastructure.product.search.ProductSearchEntityListener;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -33,7 +33,7 @@ import lombok.extern.slf4j.Slf4j;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({ AuditingEntityListener.class, ProductSearchEntityListener.class })
 @Table(name = "products", schema = "app")
 @Slf4j
 public class ProductSchema {
@@ -41,7 +41,7 @@ public class ProductSchema {
     private static final ObjectMapper mapper = new ObjectMapper();
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
 
     @Column(name = "tenant_id", nullable = false)
@@ -137,6 +137,9 @@ public class ProductSchema {
                 .weightGrams(this.weightGrams)
                 .isActive(this.isActive)
                 .metadata(metadataNode)
+                .createdAt(this.createdAt)
+                .updatedAt(this.updatedAt)
+                .deletedAt(this.deletedAt)
                 .build();
     }
 }
@@ -10,12 +10,12 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import com.kompu.api.entity.supplier.model.SupplierProductPriceModel;
+import com.kompu.api.infrastructure.config.db.generator.GeneratedUuidV7;
+import com.kompu.api.infrastructure.supplier.pricing.SupplierPriceEntityListener;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
@@ -29,14 +29,14 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({ AuditingEntityListener.class, SupplierPriceEntityListener.class })
 @Table(name = "supplier_product_prices", schema = "app", uniqueConstraints = {
         @UniqueConstraint(columnNames = { "supplier_id", "product_id", "valid_from" })
 })
 public class SupplierProductPriceSchema {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
 
     @Column(name = "tenant_id", nullable = false)
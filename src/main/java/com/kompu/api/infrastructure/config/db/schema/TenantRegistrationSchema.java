@@ -3,11 +3,10 @@ package com.kompu.api.infrastructure.config.db.schema;
 import java.util.UUID;
 
 import com.kompu.api.entity.subscription.model.TenantRegistrationModel;
+import com.kompu.api.infrastructure.config.db.generator.GeneratedUuidV7;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.Table;
@@ -32,7 +31,7 @@ import lombok.NoArgsConstructor;
 public class TenantRegistrationSchema {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     @Column(columnDefinition = "uuid")
     private UUID id;
 
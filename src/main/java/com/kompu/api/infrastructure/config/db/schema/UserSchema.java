@@ -14,13 +14,12 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import com.kompu.api.entity.role.model.RoleModel;
 import com.kompu.api.entity.user.model.UserAccountModel;
+import com.kompu.api.infrastructure.config.db.generator.GeneratedUuidV7;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
@@ -44,7 +43,7 @@ import lombok.NoArgsConstructor;
 public class UserSchema {
 
         @Id
-        @GeneratedValue(strategy = GenerationType.UUID)
+        @GeneratedUuidV7
         private UUID id;
 
         @Column(name = "tenant_id")
@@ -4,12 +4,35 @@ import java.util.List;
 
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import com.kompu.api.entity.export.exception.ExportJobNotFoundException;
+import com.kompu.api.entity.export.exception.InvalidExportRequestException;
+import com.kompu.api.entity.featureflag.exception.FeatureNotEnabledException;
+import com.kompu.api.entity.order.exception.InvalidOrderException;
+import com.kompu.api.entity.order.exception.OrderNotFoundException;
+import com.kompu.api.entity.order.exception.OrderStatusConflictException;
+import com.kompu.api.entity.product.exception.InsufficientStockException;
+import com.kompu.api.entity.product.exception.InvalidCategoryHierarchyException;
+import com.kompu.api.entity.product.exception.InvalidProductImportException;
+import com.kompu.api.entity.product.exception.InvalidProductSearchException;
+import com.kompu.api.entity.product.exception.ProductCategoryNotFoundException;
+import com.kompu.api.entity.product.exception.ProductSearchUnavailableException;
+import com.kompu.api.entity.shared.exception.IdempotencyKeyInProgressException;
+import com.kompu.api.entity.shared.exception.InvalidCursorException;
+import com.kompu.api.entity.shared.exception.InvalidIdempotencyKeyException;
+import com.kompu.api.entity.shared.exception.InvalidSearchQueryException;
+import com.kompu.api.entity.shared.exception.TenantAccessDeniedException;
+import com.kompu.api.entity.subscription.exception.SubscriptionPlanNotFoundException;
+import com.kompu.api.entity.subscription.exception.TenantSubscriptionNotFoundException;
+import com.kompu.api.entity.supplier.exception.InvalidSupplierPriceQueryException;
+import com.kompu.api.entity.system.exception.InvalidAuditQueryException;
+import com.kompu.api.entity.user.exception.InvalidPasswordResetTokenException;
 import com.kompu.api.entity.user.exception.PasswordNotMatchException;
 import com.kompu.api.entity.user.exception.UserNotFoundException;
 import com.kompu.api.entity.userrole.exception.UserRoleNotFoundException;
@@ -55,6 +78,38 @@ public class GlobalRestControllerAdvice {
 		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(WebHttpResponse.badRequest(messages));
 	}
 
+	@ExceptionHandler(ProductCategoryNotFoundException.class)
+	public ResponseEntity<WebHttpResponse<List<WebHttpErrorResponse>>> handleProductCategoryNotFoundException(
+			ProductCategoryNotFoundException ex) {
+		log.error(EXCEPTION_CAUGHT_MESSAGE, ex);
+		List<WebHttpErrorResponse> messages = List.of(new WebHttpErrorResponse(null, ex.getMessage()));
+		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(WebHttpResponse.notFound(messages));
+	}
+
+	@ExceptionHandler(ExportJobNotFoundException.class)
+	public ResponseEntity<WebHttpResponse<List<WebHttpErrorResponse>>> handleExportJobNotFoundException(
+			ExportJobNotFoundException ex) {
+		log.error(EXCEPTION_CAUGHT_MESSAGE, ex);
+		List<WebHttpErrorResponse> messages = List.of(new WebHttpErrorResponse(null, ex.getMessage()));
+		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(WebHttpResponse.notFound(messages));
+	}
+
+	@ExceptionHandler(OrderNotFoundException.class)
+	public ResponseEntity<WebHttpResponse<List<WebHttpErrorResponse>>> handleOrderNotFoundException(
+			OrderNotFoundException ex) {
+		log.warn(EXCEPTION_CAUGHT_MESSAGE + ex.getMessage());
+		List<WebHttpErrorResponse> messages = List.of(new WebHttpErrorResponse(null, ex.getMessage()));
+		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(WebHttpResponse.notFound(messages));
+	}
+
+	@ExceptionHandler({ SubscriptionPlanNotFoundException.class, TenantSubscriptionNotFoundException.class })
+	public ResponseEntity<WebHttpResponse<List<WebHttpErrorResponse>>> handleSubscriptionNotFoundException(
+			RuntimeException ex) {
+		log.error(EXCEPTION_CAUGHT_MESSAGE, ex);
+		List<WebHttpErrorResponse> messages = List.of(new WebHttpErrorResponse(null, ex.getMessage()));
+		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(WebHttpResponse.notFound(messages));
+	}
+
 	@ExceptionHandler(UserTokenNotFoundException.class)
 	public ResponseEntity<WebHttpResponse<List<WebHttpErrorResponse>>> handleUserTokenNotFoundException(
 			UserTokenNotFoundException ex) {
@@ -63,6 +118,68 @@ public class GlobalRestControllerAdvice {
 		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(WebHttpResponse.notFound(messages));
 	}
 
+	@ExceptionHandler({ InvalidCursorException.class, InvalidAuditQueryException.class,
+			InvalidProductSearchException.class, InvalidCategoryHierarchyException.class,
+			InvalidSupplierPriceQueryException.class, InvalidProductImportException.class,
+			InvalidExportRequestException.class, InvalidSearchQueryException.class,
+			InvalidOrderException.class, InvalidIdempotencyKeyException.class,
+			InvalidPasswordResetTokenException.class })
+	public ResponseEntity<WebHttpResponse<List<WebHttpErrorResponse>>> handleInvalidQueryException(
+			RuntimeException ex) {
+		log.error(EXCEPTION_CAUGHT_MESSAGE, ex);
+		List<WebHttpErrorResponse> messages = List.of(new WebHttpErrorResponse(null, ex.getMessage()));
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(WebHttpResponse.badRequest(messages));
+	}
+
+	@ExceptionHandler(InsufficientStockException.class)
+	public ResponseEntity<WebHttpResponse<List<WebHttpErrorResponse>>> handleInsufficientStockException(
+			InsufficientStockException ex) {
+		log.warn(EXCEPTION_CAUGHT_MESSAGE + ex.getMessage());
+		List<WebHttpErrorResponse> messages = List.of(new WebHttpErrorResponse(null, ex.getMessage()));
+		return ResponseEntity.status(HttpStatus.CONFLICT).body(WebHttpResponse.conflict(messages));
+	}
+
+	@ExceptionHandler(OrderStatusConflictException.class)
+	public ResponseEntity<WebHttpResponse<List<WebHttpErrorResponse>>> handleOrderStatusConflictException(
+			OrderStatusConflictException ex) {
+		log.warn(EXCEPTION_CAUGHT_MESSAGE + ex.getMessage());
+		List<WebHttpErrorResponse> messages = List.of(new WebHttpErrorResponse(null, ex.getMessage()));
+		return ResponseEntity.status(HttpStatus.CONFLICT).body(WebHttpResponse.conflict(messages));
+	}
+
+	@ExceptionHandler(ProductSearchUnavailableException.class)
+	public ResponseEntity<WebHttpResponse<List<WebHttpErrorResponse>>> handleProductSearchUnavailableException(
+			ProductSearchUnavailableException ex) {
+		log.warn(EXCEPTION_CAUGHT_MESSAGE + ex.getMessage());
+		List<WebHttpErrorResponse> messages = List.of(new WebHttpErrorResponse(null, ex.getMessage()));
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+				.body(WebHttpResponse.serviceUnavailable(messages));
+	}
+
+	@ExceptionHandler(IdempotencyKeyInProgressException.class)
+	public ResponseEntity<WebHttpResponse<List<WebHttpErrorResponse>>> handleIdempotencyKeyInProgressException(
+			IdempotencyKeyInProgressException ex) {
+		log.warn(EXCEPTION_CAUGHT_MESSAGE + ex.getMessage());
+		List<WebHttpErrorResponse> messages = List.of(new WebHttpErrorResponse(null, ex.getMessage()));
+		return ResponseEntity.status(HttpStatus.CONFLICT).body(WebHttpResponse.conflict(messages));
+	}
+
+	@ExceptionHandler(TenantAccessDeniedException.class)
+	public ResponseEntity<WebHttpResponse<List<WebHttpErrorResponse>>> handleTenantAccessDeniedException(
+			TenantAccessDeniedException ex) {
+		log.warn(EXCEPTION_CAUGHT_MESSAGE + ex.getMessage());
+		List<WebHttpErrorResponse> messages = List.of(new WebHttpErrorResponse(null, ex.getMessage()));
+		return ResponseEntity.status(HttpStatus.FORBIDDEN).body(WebHttpResponse.forbidden(messages));
+	}
+
+	@ExceptionHandler(FeatureNotEnabledException.class)
+	public ResponseEntity<WebHttpResponse<List<WebHttpErrorResponse>>> handleFeatureNotEnabledException(
+			FeatureNotEnabledException ex) {
+		log.warn(EXCEPTION_CAUGHT_MESSAGE + ex.getMessage());
+		List<WebHttpErrorResponse> messages = List.of(new WebHttpErrorResponse(null, ex.getMessage()));
+		return ResponseEntity.status(HttpStatus.FORBIDDEN).body(WebHttpResponse.forbidden(messages));
+	}
+
 	@ExceptionHandler(Exception.class)
 	public ResponseEntity<WebHttpResponse<List<WebHttpErrorResponse>>> handleGenericException(Exception ex) {
 		log.error(EXCEPTION_CAUGHT_MESSAGE, ex);
@@ -0,0 +1,96 @@
+package com.kompu.api.infrastructure.config.export;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.entity.export.gateway.DataExportGateway;
+import com.kompu.api.entity.export.gateway.ExportJobGateway;
+import com.kompu.api.entity.featureflag.gateway.FeatureFlagGateway;
+import com.kompu.api.entity.member.gateway.MemberGateway;
+import com.kompu.api.entity.order.gateway.OrderGateway;
+import com.kompu.api.entity.product.gateway.ProductCategoryGateway;
+import com.kompu.api.entity.product.gateway.ProductGateway;
+import com.kompu.api.entity.shared.gateway.FileStorageGateway;
+import com.kompu.api.entity.supplier.gateway.SupplierGateway;
+import com.kompu.api.infrastructure.config.db.repository.ExportJobRepository;
+import com.kompu.api.infrastructure.export.gateway.DataExportDatabaseGateway;
+import com.kompu.api.infrastructure.export.gateway.ExportJobDatabaseGateway;
+import com.kompu.api.infrastructure.export.job.ExportJobWorker;
+import com.kompu.api.infrastructure.export.job.ExportRetentionJob;
+import com.kompu.api.usecase.export.ExportDataUseCase;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class ExportConfig {
+
+    @Value("${app.export.sync-max-rows:50000}")
+    private long syncMaxRows;
+
+    @Value("${app.export.worker-threads:2}")
+    private int workerThreads;
+
+    @Value("${app.export.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.export.lease-ms:3600000}")
+    private long leaseMillis;
+
+    @Value("${app.export.retry-delay-ms:60000}")
+    private long retryDelayMillis;
+
+    @Value("${app.export.poll-interval-ms:2000}")
+    private long pollIntervalMillis;
+
+    @Value("${app.export.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${app.export.retention.interval-ms:3600000}")
+    private long retentionIntervalMillis;
+
+    @Bean
+    public DataExportGateway dataExportGateway(MemberGateway memberGateway, ProductGateway productGateway,
+            ProductCategoryGateway productCategoryGateway, OrderGateway orderGateway,
+            SupplierGateway supplierGateway, JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        return new DataExportDatabaseGateway(memberGateway, productGateway, productCategoryGateway, orderGateway,
+                supplierGateway, jdbcTemplate, objectMapper, meterRegistry);
+    }
+
+    @Bean
+    public ExportJobGateway exportJobGateway(ExportJobRepository exportJobRepository) {
+        return new ExportJobDatabaseGateway(exportJobRepository);
+    }
+
+    @Bean
+    public ExportDataUseCase exportDataUseCase(FeatureFlagGateway featureFlagGateway,
+            DataExportGateway dataExportGateway, ExportJobGateway exportJobGateway,
+            FileStorageGateway fileStorageGateway) {
+        return new ExportDataUseCase(featureFlagGateway, dataExportGateway, exportJobGateway, fileStorageGateway,
+                syncMaxRows);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(name = "app.export.worker.enabled", havingValue = "true", matchIfMissing = true)
+    public ExportJobWorker exportJobWorker(ExportJobRepository exportJobRepository,
+            DataExportGateway dataExportGateway, FileStorageGateway fileStorageGateway,
+            MeterRegistry meterRegistry) {
+        return new ExportJobWorker(exportJobRepository, dataExportGateway, fileStorageGateway, meterRegistry,
+                workerThreads, maxAttempts, Duration.ofMillis(leaseMillis), Duration.ofMillis(retryDelayMillis),
+                pollIntervalMillis);
+    }
+
+    // Scheduled once per cluster by the JobRunner
+    @Bean
+    public ExportRetentionJob exportRetentionJob(ExportJobRepository exportJobRepository,
+            FileStorageGateway fileStorageGateway) {
+        return new ExportRetentionJob(exportJobRepository, fileStorageGateway,
+                Duration.ofMillis(retentionIntervalMillis), retentionDays, 500, 20);
+    }
+}
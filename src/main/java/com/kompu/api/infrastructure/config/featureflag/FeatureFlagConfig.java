@@ -0,0 +1,25 @@
+package com.kompu.api.infrastructure.config.featureflag;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.kompu.api.infrastructure.featureflag.job.FeatureFlagTemplateBackfillJob;
+import com.kompu.api.usecase.featureflag.InitializeFeatureFlagsUseCase;
+
+@Configuration
+public class FeatureFlagConfig {
+
+    @Value("${app.feature-flags.template-backfill-interval-ms:300000}")
+    private long templateBackfillIntervalMillis;
+
+    // Scheduled once per cluster by the JobRunner
+    @Bean
+    public FeatureFlagTemplateBackfillJob featureFlagTemplateBackfillJob(
+            InitializeFeatureFlagsUseCase initializeFeatureFlagsUseCase) {
+        return new FeatureFlagTemplateBackfillJob(initializeFeatureFlagsUseCase,
+                Duration.ofMillis(templateBackfillIntervalMillis));
+    }
+}
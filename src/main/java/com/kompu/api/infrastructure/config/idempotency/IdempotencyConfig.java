@@ -0,0 +1,62 @@
+package com.kompu.api.infrastructure.config.idempotency;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.infrastructure.shared.idempotency.IdempotencyInterceptor;
+import com.kompu.api.infrastructure.shared.idempotency.IdempotencyManager;
+import com.kompu.api.infrastructure.shared.idempotency.IdempotencyStore;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class IdempotencyConfig {
+
+    @Value("${app.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${app.idempotency.front-cache-size:10000}")
+    private int frontCacheSize;
+
+    @Value("${app.idempotency.wait-timeout-ms:10000}")
+    private long waitTimeoutMillis;
+
+    @Value("${app.idempotency.lock-timeout-ms:60000}")
+    private long lockTimeoutMillis;
+
+    @Bean
+    public IdempotencyManager idempotencyManager(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+            KeyPair rsaKeyPair, MeterRegistry meterRegistry) {
+        return new IdempotencyManager(new IdempotencyStore(jdbcTemplate, Duration.ofMillis(lockTimeoutMillis)),
+                objectMapper, fingerprintKey(rsaKeyPair), Duration.ofHours(ttlHours),
+                Duration.ofMillis(waitTimeoutMillis), frontCacheSize, meterRegistry);
+    }
+
+    // Every node loads the same signing key from app config, so their fingerprints agree
+    private static byte[] fingerprintKey(KeyPair rsaKeyPair) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update("idempotency-fingerprint".getBytes(StandardCharsets.UTF_8));
+            return digest.digest(rsaKeyPair.getPrivate().getEncoded());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Static and lazy on the manager, as for the audit post-processor
+    @Bean
+    public static IdempotentBeanPostProcessor idempotentBeanPostProcessor(
+            ObjectProvider<IdempotencyManager> idempotencyManager) {
+        return new IdempotentBeanPostProcessor(new IdempotencyInterceptor(idempotencyManager));
+    }
+}
@@ -0,0 +1,46 @@
+package com.kompu.api.infrastructure.config.idempotency;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ReflectionUtils;
+
+import com.kompu.api.infrastructure.shared.idempotency.Idempotent;
+
+/**
+ * IdempotentBeanPostProcessor - Wraps controllers that declare
+ * {@link Idempotent} methods in a class proxy carrying the idempotency
+ * interceptor, the same way AuditableBeanPostProcessor does for use cases.
+ */
+public class IdempotentBeanPostProcessor implements BeanPostProcessor {
+
+    private final MethodInterceptor idempotencyInterceptor;
+
+    public IdempotentBeanPostProcessor(MethodInterceptor idempotencyInterceptor) {
+        this.idempotencyInterceptor = idempotencyInterceptor;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        if (!hasIdempotentMethod(targetClass)) {
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(idempotencyInterceptor);
+        return proxyFactory.getProxy(targetClass.getClassLoader());
+    }
+
+    private static boolean hasIdempotentMethod(Class<?> type) {
+        if (!type.getPackageName().startsWith("com.kompu.api")) {
+            return false;
+        }
+        boolean[] found = { false };
+        ReflectionUtils.doWithMethods(type, method -> found[0] = true,
+                method -> AnnotatedElementUtils.hasAnnotation(method, Idempotent.class));
+        return found[0];
+    }
+}
@@ -0,0 +1,42 @@
+package com.kompu.api.infrastructure.config.job;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.kompu.api.infrastructure.shared.job.JobRunner;
+import com.kompu.api.infrastructure.shared.job.ScheduledJob;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(name = "app.jobs.enabled", havingValue = "true", matchIfMissing = true)
+public class JobConfig {
+
+    @Value("${app.jobs.tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${app.jobs.worker-threads:4}")
+    private int workerThreads;
+
+    @Value("${app.jobs.node-id:}")
+    private String nodeId;
+
+    @Value("${app.jobs.lease-ms:60000}")
+    private long leaseMillis;
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public JobRunner jobRunner(DataSource dataSource, ObjectProvider<ScheduledJob> jobs,
+            MeterRegistry meterRegistry) {
+        String node = nodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId;
+        return new JobRunner(dataSource, jobs.orderedStream().toList(), node, meterRegistry, tickMillis,
+                workerThreads, Duration.ofMillis(leaseMillis));
+    }
+}
@@ -8,6 +8,10 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 
+import com.kompu.api.entity.appconfig.gateway.AppSettingsGateway;
+import com.kompu.api.infrastructure.shared.mail.ReloadableMailSender;
+import com.kompu.api.infrastructure.shared.mail.ReloadableMailSender.SmtpServer;
+
 @Configuration
 public class JavaMailConfig {
 
@@ -23,20 +27,33 @@ public class JavaMailConfig {
     @Value("${spring.mail.password}")
     private String mailPassword;
 
-    @Bean
-    public JavaMailSender getJavaMailSender() {
+    @Value("${app.mail.smtp-timeout-ms:10000}")
+    private int smtpTimeoutMillis;
+
+    @Bean(initMethod = "start")
+    public JavaMailSender getJavaMailSender(AppSettingsGateway appSettingsGateway) {
+        // mail.smtp.* rows in app_config override the server below at runtime
+        return new ReloadableMailSender(appSettingsGateway,
+                new SmtpServer(mailHost, mailPort, mailUsername, mailPassword), this::newMailSender);
+    }
+
+    private JavaMailSenderImpl newMailSender(SmtpServer server) {
         JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
-        mailSender.setHost(mailHost);
-        mailSender.setPort(mailPort);
+        mailSender.setHost(server.host());
+        mailSender.setPort(server.port());
 
-        mailSender.setUsername(mailUsername);
-        mailSender.setPassword(mailPassword);
+        mailSender.setUsername(server.username());
+        mailSender.setPassword(server.password());
 
         Properties props = mailSender.getJavaMailProperties();
         props.put("mail.transport.protocol", "smtp");
         props.put("mail.smtp.auth", "true");
         props.put("mail.smtp.starttls.enable", "true");
         props.put("mail.debug", "true");
+        // Bound a stuck server so it cannot hold a dispatcher worker forever
+        props.put("mail.smtp.connectiontimeout", String.valueOf(smtpTimeoutMillis));
+        props.put("mail.smtp.timeout", String.valueOf(smtpTimeoutMillis));
+        props.put("mail.smtp.writetimeout", String.valueOf(smtpTimeoutMillis));
 
         return mailSender;
     }
@@ -0,0 +1,65 @@
+package com.kompu.api.infrastructure.config.mail;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import com.kompu.api.entity.shared.gateway.MailGateway;
+import com.kompu.api.infrastructure.config.db.repository.MailQueueRepository;
+import com.kompu.api.infrastructure.shared.gateway.MailQueueDatabaseGateway;
+import com.kompu.api.infrastructure.shared.mail.MailDispatcher;
+import com.kompu.api.infrastructure.shared.mail.MailTemplateRegistry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class MailQueueConfig {
+
+    @Value("${app.mail.from:noreply@kompu.id}")
+    private String sender;
+
+    @Value("${app.mail.worker-threads:2}")
+    private int workerThreads;
+
+    @Value("${app.mail.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.base-backoff-ms:5000}")
+    private long baseBackoffMillis;
+
+    @Value("${app.mail.max-backoff-ms:3600000}")
+    private long maxBackoffMillis;
+
+    @Value("${app.mail.lease-ms:300000}")
+    private long leaseMillis;
+
+    @Value("${app.mail.poll-interval-ms:1000}")
+    private long pollIntervalMillis;
+
+    @Bean
+    public MailTemplateRegistry mailTemplateRegistry() {
+        return new MailTemplateRegistry();
+    }
+
+    @Bean
+    public MailGateway mailGateway(MailQueueRepository mailQueueRepository,
+            MailTemplateRegistry mailTemplateRegistry) {
+        return new MailQueueDatabaseGateway(mailQueueRepository, mailTemplateRegistry, sender);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(name = "app.mail.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+    public MailDispatcher mailDispatcher(MailQueueRepository mailQueueRepository, JavaMailSender mailSender,
+            MeterRegistry meterRegistry) {
+        return new MailDispatcher(mailQueueRepository, mailSender, meterRegistry, workerThreads, batchSize,
+                maxAttempts, Duration.ofMillis(baseBackoffMillis), Duration.ofMillis(maxBackoffMillis),
+                Duration.ofMillis(leaseMillis), pollIntervalMillis);
+    }
+}
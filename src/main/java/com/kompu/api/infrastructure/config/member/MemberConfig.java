@@ -0,0 +1,21 @@
+package com.kompu.api.infrastructure.config.member;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.kompu.api.entity.member.gateway.MemberGateway;
+import com.kompu.api.entity.shared.gateway.OutboxGateway;
+import com.kompu.api.usecase.member.CreateMemberUseCase;
+
+@Configuration
+public class MemberConfig {
+
+    // The member insert and its outbox event share this transaction
+    @Bean
+    public CreateMemberUseCase createMemberUseCase(MemberGateway memberGateway, OutboxGateway outboxGateway,
+            PlatformTransactionManager transactionManager) {
+        return new CreateMemberUseCase(memberGateway, outboxGateway, new TransactionTemplate(transactionManager));
+    }
+}
@@ -0,0 +1,124 @@
+package com.kompu.api.infrastructure.config.order;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.entity.member.gateway.MemberGateway;
+import com.kompu.api.entity.order.gateway.OrderNumberGateway;
+import com.kompu.api.entity.order.gateway.OrderPlacementGateway;
+import com.kompu.api.entity.order.gateway.OrderSettlementGateway;
+import com.kompu.api.entity.product.gateway.InventoryGateway;
+import com.kompu.api.entity.product.gateway.ProductCatalogGateway;
+import com.kompu.api.entity.shared.gateway.CacheInvalidationGateway;
+import com.kompu.api.entity.shared.gateway.OutboxGateway;
+import com.kompu.api.infrastructure.config.db.repository.OrderRepository;
+import com.kompu.api.infrastructure.config.db.repository.ProductRepository;
+import com.kompu.api.infrastructure.order.job.UnpaidOrderExpiryJob;
+import com.kompu.api.infrastructure.order.number.OrderNumberAllocator;
+import com.kompu.api.infrastructure.order.placement.OrderPlacementWriter;
+import com.kompu.api.infrastructure.order.placement.OrderSettlementWriter;
+import com.kompu.api.infrastructure.product.catalog.ProductCatalogCache;
+import com.kompu.api.usecase.order.PlaceOrderUseCase;
+import com.kompu.api.usecase.order.SettleOrderUseCase;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class OrderConfig {
+
+    @Value("${app.orders.max-lines:200}")
+    private int maxLines;
+
+    @Value("${app.orders.default-currency:IDR}")
+    private String defaultCurrency;
+
+    @Value("${app.orders.currencies:IDR}")
+    private Set<String> currencies;
+
+    @Value("${app.orders.payment-providers:cash,qris,transfer,card}")
+    private Set<String> paymentProviders;
+
+    @Value("${app.orders.number-prefix:SO-}")
+    private String numberPrefix;
+
+    @Value("${app.orders.number-block-size:100}")
+    private int numberBlockSize;
+
+    @Value("${app.orders.number-max-tenants:1000}")
+    private int numberMaxTenants;
+
+    @Value("${app.orders.catalog.max-tenants:500}")
+    private int catalogMaxTenants;
+
+    @Value("${app.orders.transaction-timeout-seconds:5}")
+    private int transactionTimeoutSeconds;
+
+    @Value("${app.orders.unpaid-ttl-ms:1800000}")
+    private long unpaidTtlMillis;
+
+    @Value("${app.orders.unpaid-expiry.interval-ms:60000}")
+    private long unpaidExpiryIntervalMillis;
+
+    @Bean(initMethod = "start")
+    public ProductCatalogGateway productCatalogGateway(ProductRepository productRepository,
+            CacheInvalidationGateway cacheInvalidationGateway, MeterRegistry meterRegistry) {
+        return new ProductCatalogCache(productRepository, cacheInvalidationGateway, catalogMaxTenants,
+                meterRegistry);
+    }
+
+    @Bean
+    public OrderNumberGateway orderNumberGateway(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        return new OrderNumberAllocator(jdbcTemplate, new TransactionTemplate(transactionManager), numberPrefix,
+                numberBlockSize, numberMaxTenants);
+    }
+
+    @Bean
+    public OrderPlacementGateway orderPlacementGateway(OrderRepository orderRepository,
+            InventoryGateway inventoryGateway, OutboxGateway outboxGateway,
+            PlatformTransactionManager transactionManager, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setTimeout(transactionTimeoutSeconds);
+        return new OrderPlacementWriter(orderRepository, inventoryGateway, outboxGateway, transactionTemplate,
+                objectMapper, meterRegistry);
+    }
+
+    @Bean
+    public PlaceOrderUseCase placeOrderUseCase(ProductCatalogGateway productCatalogGateway,
+            MemberGateway memberGateway, OrderNumberGateway orderNumberGateway,
+            OrderPlacementGateway orderPlacementGateway, ObjectMapper objectMapper) {
+        return new PlaceOrderUseCase(productCatalogGateway, memberGateway, orderNumberGateway,
+                orderPlacementGateway, objectMapper, maxLines, defaultCurrency, currencies, paymentProviders);
+    }
+
+    @Bean
+    public OrderSettlementGateway orderSettlementGateway(OrderRepository orderRepository,
+            InventoryGateway inventoryGateway, PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setTimeout(transactionTimeoutSeconds);
+        return new OrderSettlementWriter(orderRepository, inventoryGateway, transactionTemplate, objectMapper,
+                meterRegistry);
+    }
+
+    @Bean
+    public SettleOrderUseCase settleOrderUseCase(OrderSettlementGateway orderSettlementGateway) {
+        return new SettleOrderUseCase(orderSettlementGateway);
+    }
+
+    // Scheduled once per cluster by the JobRunner
+    @Bean
+    public UnpaidOrderExpiryJob unpaidOrderExpiryJob(OrderSettlementGateway orderSettlementGateway) {
+        return new UnpaidOrderExpiryJob(orderSettlementGateway, Duration.ofMillis(unpaidExpiryIntervalMillis),
+                Duration.ofMillis(unpaidTtlMillis), 200, 20, Clock.systemDefaultZone());
+    }
+}
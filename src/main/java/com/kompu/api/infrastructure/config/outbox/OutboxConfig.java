@@ -0,0 +1,68 @@
+package com.kompu.api.infrastructure.config.outbox;
+
+import java.time.Duration;
+import java.util.Set;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.entity.shared.gateway.MailGateway;
+import com.kompu.api.entity.system.gateway.AuditGateway;
+import com.kompu.api.infrastructure.config.db.repository.OutboxRepository;
+import com.kompu.api.infrastructure.shared.outbox.AuditEventHandler;
+import com.kompu.api.infrastructure.shared.outbox.DomainEventHandler;
+import com.kompu.api.infrastructure.shared.outbox.OutboxRelay;
+import com.kompu.api.infrastructure.shared.outbox.WelcomeMailHandler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class OutboxConfig {
+
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.base-backoff-ms:1000}")
+    private long baseBackoffMillis;
+
+    @Value("${app.outbox.max-backoff-ms:600000}")
+    private long maxBackoffMillis;
+
+    @Value("${app.outbox.lease-ms:60000}")
+    private long leaseMillis;
+
+    @Value("${app.outbox.poll-interval-ms:500}")
+    private long pollIntervalMillis;
+
+    @Value("${app.outbox.audit-events:tenant.registered}")
+    private Set<String> auditEvents;
+
+    @Bean
+    public AuditEventHandler auditEventHandler(AuditGateway auditGateway, ObjectMapper objectMapper) {
+        return new AuditEventHandler(auditGateway, objectMapper, auditEvents);
+    }
+
+    @Bean
+    public WelcomeMailHandler welcomeMailHandler(MailGateway mailGateway) {
+        return new WelcomeMailHandler(mailGateway);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(name = "app.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+    public OutboxRelay outboxRelay(OutboxRepository outboxRepository, PlatformTransactionManager transactionManager,
+            ObjectProvider<DomainEventHandler> handlers, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new OutboxRelay(outboxRepository, new TransactionTemplate(transactionManager),
+                handlers.orderedStream().toList(), objectMapper, meterRegistry, batchSize, maxAttempts,
+                Duration.ofMillis(baseBackoffMillis), Duration.ofMillis(maxBackoffMillis), Duration.ofMillis(leaseMillis),
+                pollIntervalMillis);
+    }
+}
@@ -0,0 +1,55 @@
+package com.kompu.api.infrastructure.config.partition;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.kompu.api.infrastructure.shared.partition.LogPartitionManager;
+import com.kompu.api.infrastructure.shared.partition.PartitionPolicy;
+
+@Configuration
+@ConditionalOnProperty(name = "app.partitions.enabled", havingValue = "true", matchIfMissing = true)
+public class LogPartitionConfig {
+
+    @Value("${app.partitions.premake-months:3}")
+    private int premakeMonths;
+
+    @Value("${app.partitions.archive:false}")
+    private boolean archive;
+
+    @Value("${app.partitions.maintenance-interval-ms:21600000}")
+    private long maintenanceIntervalMillis;
+
+    @Value("${app.partitions.lock-timeout-ms:5000}")
+    private long lockTimeoutMillis;
+
+    @Value("${app.partitions.retention-months.activity-log:12}")
+    private int activityLogRetentionMonths;
+
+    @Value("${app.partitions.retention-months.login-log:6}")
+    private int loginLogRetentionMonths;
+
+    @Value("${app.partitions.retention-months.auth-audit:12}")
+    private int authAuditRetentionMonths;
+
+    @Value("${app.partitions.retention-months.revoked-jtis:1}")
+    private int revokedJtisRetentionMonths;
+
+    // Scheduled once per cluster by the JobRunner; its first run is due as soon as the job is first seen
+    @Bean
+    public LogPartitionManager logPartitionManager(JdbcTemplate jdbcTemplate) {
+        List<PartitionPolicy> policies = List.of(
+                new PartitionPolicy("activity_log", premakeMonths, activityLogRetentionMonths),
+                new PartitionPolicy("login_log", premakeMonths, loginLogRetentionMonths),
+                new PartitionPolicy("auth_audit", premakeMonths, authAuditRetentionMonths),
+                // Partitioned on expires_at: only kept until the tokens expire
+                new PartitionPolicy("revoked_jtis", premakeMonths, revokedJtisRetentionMonths));
+        return new LogPartitionManager(jdbcTemplate, policies, archive, Duration.ofMillis(maintenanceIntervalMillis),
+                Duration.ofMillis(lockTimeoutMillis));
+    }
+}
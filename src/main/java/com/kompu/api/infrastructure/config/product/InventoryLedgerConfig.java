@@ -0,0 +1,72 @@
+package com.kompu.api.infrastructure.config.product;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.infrastructure.config.db.repository.InventoryRepository;
+import com.kompu.api.infrastructure.config.db.repository.InventoryReservationRepository;
+import com.kompu.api.infrastructure.product.inventory.InventoryLedger;
+import com.kompu.api.infrastructure.product.inventory.InventoryReservationExpiryJob;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Off by default: order placement reserves inside its own transaction through
+// InventoryGateway.reserveAll, so the ledger only runs for callers that hold
+// stock through InventoryReservationGateway
+@Configuration
+@ConditionalOnProperty(name = "app.inventory.ledger.enabled", havingValue = "true")
+public class InventoryLedgerConfig {
+
+    @Value("${app.inventory.ledger.default-ttl-ms:900000}")
+    private long defaultTtlMillis;
+
+    @Value("${app.inventory.ledger.flush-interval-ms:5}")
+    private long flushIntervalMillis;
+
+    @Value("${app.inventory.ledger.refresh-interval-ms:250}")
+    private long refreshIntervalMillis;
+
+    @Value("${app.inventory.ledger.idle-timeout-ms:600000}")
+    private long idleTimeoutMillis;
+
+    @Value("${app.inventory.ledger.wheel-tick-ms:100}")
+    private long wheelTickMillis;
+
+    @Value("${app.inventory.ledger.wheel-slots:512}")
+    private int wheelSlots;
+
+    @Value("${app.inventory.ledger.expiry.interval-ms:30000}")
+    private long expiryIntervalMillis;
+
+    @Value("${app.inventory.ledger.expiry.grace-ms:60000}")
+    private long expiryGraceMillis;
+
+    @Value("${app.inventory.ledger.expiry.batch-size:500}")
+    private int expiryBatchSize;
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public InventoryLedger inventoryLedger(InventoryRepository inventoryRepository,
+            InventoryReservationRepository inventoryReservationRepository,
+            PlatformTransactionManager transactionManager, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new InventoryLedger(inventoryRepository, inventoryReservationRepository,
+                new TransactionTemplate(transactionManager), objectMapper, meterRegistry,
+                Duration.ofMillis(defaultTtlMillis), Duration.ofMillis(flushIntervalMillis),
+                Duration.ofMillis(refreshIntervalMillis), Duration.ofMillis(idleTimeoutMillis),
+                Duration.ofMillis(wheelTickMillis), wheelSlots);
+    }
+
+    // Scheduled once per cluster by the JobRunner
+    @Bean
+    public InventoryReservationExpiryJob inventoryReservationExpiryJob(
+            InventoryReservationRepository inventoryReservationRepository) {
+        return new InventoryReservationExpiryJob(inventoryReservationRepository,
+                Duration.ofMillis(expiryIntervalMillis), Duration.ofMillis(expiryGraceMillis), expiryBatchSize, 20);
+    }
+}
@@ -0,0 +1,37 @@
+package com.kompu.api.infrastructure.config.product;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.kompu.api.entity.product.gateway.ProductCategoryGateway;
+import com.kompu.api.entity.product.gateway.ProductGateway;
+import com.kompu.api.entity.shared.gateway.CacheInvalidationGateway;
+import com.kompu.api.infrastructure.config.db.repository.ProductCategoryRepository;
+import com.kompu.api.infrastructure.product.category.CategoryTreeCache;
+import com.kompu.api.infrastructure.product.gateway.ProductCategoryDatabaseGateway;
+import com.kompu.api.usecase.product.BrowseCategoriesUseCase;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class ProductCategoryConfig {
+
+    @Value("${app.product-categories.max-tenants:1000}")
+    private int maxTenants;
+
+    @Bean
+    public ProductCategoryGateway productCategoryGateway(ProductCategoryRepository productCategoryRepository,
+            CacheInvalidationGateway cacheInvalidationGateway, MeterRegistry meterRegistry) {
+        CategoryTreeCache treeCache = new CategoryTreeCache(productCategoryRepository, cacheInvalidationGateway,
+                maxTenants, meterRegistry);
+        treeCache.start();
+        return new ProductCategoryDatabaseGateway(productCategoryRepository, treeCache, cacheInvalidationGateway);
+    }
+
+    @Bean
+    public BrowseCategoriesUseCase browseCategoriesUseCase(ProductCategoryGateway productCategoryGateway,
+            ProductGateway productGateway) {
+        return new BrowseCategoriesUseCase(productCategoryGateway, productGateway);
+    }
+}
@@ -0,0 +1,37 @@
+package com.kompu.api.infrastructure.config.product;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.entity.featureflag.gateway.FeatureFlagGateway;
+import com.kompu.api.entity.product.gateway.ProductCategoryGateway;
+import com.kompu.api.entity.product.gateway.ProductImportGateway;
+import com.kompu.api.entity.product.gateway.ProductSearchGateway;
+import com.kompu.api.infrastructure.product.importer.ProductCopyImporter;
+import com.kompu.api.usecase.product.ImportProductsUseCase;
+
+@Configuration
+public class ProductImportConfig {
+
+    @Value("${app.product-import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Bean
+    public ProductImportGateway productImportGateway(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        return new ProductCopyImporter(jdbcTemplate, new TransactionTemplate(transactionManager));
+    }
+
+    @Bean
+    public ImportProductsUseCase importProductsUseCase(FeatureFlagGateway featureFlagGateway,
+            ProductCategoryGateway productCategoryGateway, ProductImportGateway productImportGateway,
+            ProductSearchGateway productSearchGateway, ObjectMapper objectMapper) {
+        return new ImportProductsUseCase(featureFlagGateway, productCategoryGateway, productImportGateway,
+                productSearchGateway, objectMapper, chunkSize);
+    }
+}
@@ -0,0 +1,48 @@
+package com.kompu.api.infrastructure.config.product;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.kompu.api.entity.product.gateway.ProductGateway;
+import com.kompu.api.entity.product.gateway.ProductSearchGateway;
+import com.kompu.api.entity.shared.gateway.CacheInvalidationGateway;
+import com.kompu.api.infrastructure.product.search.ProductSearchIndex;
+import com.kompu.api.usecase.product.SearchProductsUseCase;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class ProductSearchConfig {
+
+    @Value("${app.product-search.metadata-keys:brand,barcode,tags}")
+    private List<String> metadataKeys;
+
+    @Value("${app.product-search.price-buckets:10000,50000,100000,500000,1000000}")
+    private List<BigDecimal> priceBuckets;
+
+    @Value("${app.product-search.max-tenants:200}")
+    private int maxTenants;
+
+    @Value("${app.product-search.build-wait-ms:1000}")
+    private long buildWaitMillis;
+
+    @Value("${app.product-search.max-limit:100}")
+    private int maxLimit;
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ProductSearchGateway productSearchGateway(ProductGateway productGateway,
+            CacheInvalidationGateway cacheInvalidationGateway, MeterRegistry meterRegistry) {
+        return new ProductSearchIndex(productGateway, cacheInvalidationGateway, metadataKeys, priceBuckets,
+                maxTenants, Duration.ofMillis(buildWaitMillis), meterRegistry);
+    }
+
+    @Bean
+    public SearchProductsUseCase searchProductsUseCase(ProductSearchGateway productSearchGateway) {
+        return new SearchProductsUseCase(productSearchGateway, maxLimit);
+    }
+}
@@ -0,0 +1,107 @@
+package com.kompu.api.infrastructure.config.retention;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.kompu.api.infrastructure.shared.retention.RetentionPolicy;
+import com.kompu.api.infrastructure.shared.retention.RetentionSweeper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(name = "app.retention.enabled", havingValue = "true", matchIfMissing = true)
+public class RetentionConfig {
+
+    @Value("${app.retention.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.retention.pause-ms:200}")
+    private long pauseMillis;
+
+    @Value("${app.retention.max-chunks-per-run:500}")
+    private int maxChunksPerRun;
+
+    @Value("${app.retention.interval-ms:900000}")
+    private long intervalMillis;
+
+    @Value("${app.retention.grace-days.refresh-tokens:7}")
+    private int refreshTokenGraceDays;
+
+    @Value("${app.retention.grace-days.user-sessions:30}")
+    private int userSessionGraceDays;
+
+    @Value("${app.retention.grace-days.user-tokens:1}")
+    private int userTokenGraceDays;
+
+    @Value("${app.retention.grace-days.outbox:7}")
+    private int outboxGraceDays;
+
+    @Value("${app.retention.grace-days.mail-queue:3}")
+    private int mailQueueGraceDays;
+
+    @Value("${app.retention.grace-days.password-reset-tokens:1}")
+    private int passwordResetTokenGraceDays;
+
+    @Value("${app.retention.grace-days.job-runs:30}")
+    private int jobRunGraceDays;
+
+    @Value("${app.retention.grace-days.inventory-reservations:30}")
+    private int inventoryReservationGraceDays;
+
+    @Value("${app.retention.revoked-jtis.enabled:false}")
+    private boolean revokedJtisEnabled;
+
+    // Scheduled once per cluster by the JobRunner
+    @Bean
+    public RetentionSweeper retentionSweeper(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        List<RetentionPolicy> policies = List.of(
+                new RetentionPolicy("refresh_tokens", "app.refresh_tokens", "id", "uuid",
+                        "expires_at < now() - make_interval(days => %d) OR revoked_at < now() - make_interval(days => %d)"
+                                .formatted(refreshTokenGraceDays, refreshTokenGraceDays),
+                        true),
+                // Refresh tokens are swept first; the FK sets their session_id to NULL anyway
+                new RetentionPolicy("user_sessions", "app.user_sessions", "id", "uuid",
+                        "(is_active = false OR deleted_at IS NOT NULL) AND last_active_at < now() - make_interval(days => %d)"
+                                .formatted(userSessionGraceDays),
+                        true),
+                new RetentionPolicy("user_tokens", "user_tokens", "id", "bigint",
+                        "expiry_date_time < now() - make_interval(days => %d)".formatted(userTokenGraceDays),
+                        true),
+                // Delivered and dead outbox events, kept a while for inspection
+                new RetentionPolicy("outbox", "app.outbox", "id", "uuid",
+                        "status <> 'PENDING' AND processed_at < now() - make_interval(days => %d)"
+                                .formatted(outboxGraceDays),
+                        true),
+                // Sent and dead mail, bodies already cleared; dead rows never get a sent_at
+                new RetentionPolicy("mail_queue", "app.mail_queue", "id", "uuid",
+                        "status IN ('SENT', 'DEAD') AND coalesce(sent_at, available_at) < now() - make_interval(days => %d)"
+                                .formatted(mailQueueGraceDays),
+                        true),
+                // Used or expired reset links; only the latest unused one per user can still work
+                new RetentionPolicy("password_reset_tokens", "app.password_reset_tokens", "token_hash", "bytea",
+                        "expires_at < now() - make_interval(days => %d) OR used_at IS NOT NULL"
+                                .formatted(passwordResetTokenGraceDays),
+                        true),
+                new RetentionPolicy("job_runs", "app.job_runs", "id", "uuid",
+                        "finished_at < now() - make_interval(days => %d)".formatted(jobRunGraceDays),
+                        true),
+                // Settled reservations only; RESERVED rows still hold stock
+                new RetentionPolicy("inventory_reservations", "app.inventory_reservations", "id", "uuid",
+                        "status <> 'RESERVED' AND updated_at < now() - make_interval(days => %d)"
+                                .formatted(inventoryReservationGraceDays),
+                        true),
+                // Whole partitions are dropped by LogPartitionManager; enable only without partitioning
+                new RetentionPolicy("revoked_jtis", "app.revoked_jtis", "jti", "uuid",
+                        "expires_at < now()", revokedJtisEnabled),
+                // Replayable responses past their TTL
+                new RetentionPolicy("idempotency_keys", "app.idempotency_keys", "key_hash", "bytea",
+                        "expires_at < now()", true));
+        return new RetentionSweeper(jdbcTemplate, policies, chunkSize, pauseMillis, maxChunksPerRun, intervalMillis,
+                meterRegistry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.kompu.api.infrastructure.config.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.kompu.api.entity.member.gateway.MemberGateway;
+import com.kompu.api.entity.supplier.gateway.SupplierGateway;
+import com.kompu.api.usecase.member.SearchMembersUseCase;
+import com.kompu.api.usecase.supplier.SearchSuppliersUseCase;
+
+@Configuration
+public class FuzzySearchConfig {
+
+    @Value("${app.fuzzy-search.min-query-length:3}")
+    private int minQueryLength;
+
+    @Value("${app.fuzzy-search.max-results:50}")
+    private int maxResults;
+
+    @Bean
+    public SearchSuppliersUseCase searchSuppliersUseCase(SupplierGateway supplierGateway) {
+        return new SearchSuppliersUseCase(supplierGateway, minQueryLength, maxResults);
+    }
+
+    @Bean
+    public SearchMembersUseCase searchMembersUseCase(MemberGateway memberGateway) {
+        return new SearchMembersUseCase(memberGateway, minQueryLength, maxResults);
+    }
+}
@@ -0,0 +1,27 @@
+package com.kompu.api.infrastructure.config.subscription;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.kompu.api.entity.subscription.gateway.SubscriptionPlanGateway;
+import com.kompu.api.infrastructure.config.db.repository.TenantSubscriptionRepository;
+import com.kompu.api.infrastructure.subscription.gateway.TenantSubscriptionDatabaseGateway;
+import com.kompu.api.usecase.featureflag.InitializeFeatureFlagsUseCase;
+import com.kompu.api.usecase.subscription.ChangeSubscriptionPlanUseCase;
+
+@Configuration
+public class SubscriptionConfig {
+
+    // The plan change and the re-provisioned flags share this transaction
+    @Bean
+    public ChangeSubscriptionPlanUseCase changeSubscriptionPlanUseCase(
+            TenantSubscriptionRepository tenantSubscriptionRepository,
+            SubscriptionPlanGateway subscriptionPlanGateway,
+            InitializeFeatureFlagsUseCase initializeFeatureFlagsUseCase,
+            PlatformTransactionManager transactionManager) {
+        return new ChangeSubscriptionPlanUseCase(new TenantSubscriptionDatabaseGateway(tenantSubscriptionRepository),
+                subscriptionPlanGateway, initializeFeatureFlagsUseCase, new TransactionTemplate(transactionManager));
+    }
+}
@@ -0,0 +1,41 @@
+package com.kompu.api.infrastructure.config.supplier;
+
+import java.time.Clock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.kompu.api.entity.shared.gateway.CacheInvalidationGateway;
+import com.kompu.api.entity.supplier.gateway.SupplierPriceGateway;
+import com.kompu.api.infrastructure.config.db.repository.SupplierProductPriceRepository;
+import com.kompu.api.infrastructure.supplier.pricing.SupplierPriceIndex;
+import com.kompu.api.usecase.supplier.ResolveSupplierPricesUseCase;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class SupplierPricingConfig {
+
+    @Value("${app.supplier-pricing.max-tenants:200}")
+    private int maxTenants;
+
+    @Value("${app.supplier-pricing.max-lines:1000}")
+    private int maxLines;
+
+    @Value("${app.supplier-pricing.default-currency:IDR}")
+    private String defaultCurrency;
+
+    @Bean(initMethod = "start")
+    public SupplierPriceGateway supplierPriceGateway(SupplierProductPriceRepository supplierProductPriceRepository,
+            CacheInvalidationGateway cacheInvalidationGateway, MeterRegistry meterRegistry) {
+        return new SupplierPriceIndex(supplierProductPriceRepository, cacheInvalidationGateway, maxTenants,
+                meterRegistry);
+    }
+
+    @Bean
+    public ResolveSupplierPricesUseCase resolveSupplierPricesUseCase(SupplierPriceGateway supplierPriceGateway) {
+        return new ResolveSupplierPricesUseCase(supplierPriceGateway, maxLines, defaultCurrency,
+                Clock.systemDefaultZone());
+    }
+}
@@ -1,8 +1,11 @@
 package com.kompu.api.infrastructure.config.web.mvc;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import com.kompu.api.infrastructure.shared.SharedUseCase;
@@ -12,23 +15,36 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.kompu.api.entity.appconfig.gateway.AppConfigGateway;
+import com.kompu.api.entity.featureflag.gateway.FeatureFlagGateway;
+import com.kompu.api.entity.featureflag.gateway.FeatureFlagTemplateGateway;
+import com.kompu.api.entity.shared.gateway.CacheInvalidationGateway;
 import com.kompu.api.entity.shared.gateway.FileStorageGateway;
+import com.kompu.api.entity.shared.gateway.MailGateway;
+import com.kompu.api.entity.shared.gateway.OutboxGateway;
 import com.kompu.api.entity.usertoken.gateway.UserSessionGateway;
 import com.kompu.api.entity.usertoken.gateway.UserTokenGateway;
+import com.kompu.api.entity.user.gateway.PasswordResetTokenGateway;
 import com.kompu.api.entity.user.gateway.UserGateway;
 import com.kompu.api.entity.usertoken.gateway.RefreshTokenGateway;
 import com.kompu.api.infrastructure.appconfig.gateway.AppConfigDatabaseGateway;
 import com.kompu.api.infrastructure.config.db.repository.AppConfigRepository;
+import com.kompu.api.infrastructure.config.db.repository.FeatureFlagRepository;
+import com.kompu.api.infrastructure.config.db.repository.FeatureFlagTemplateRepository;
 import com.kompu.api.infrastructure.config.db.repository.RefreshTokenRepository;
 import com.kompu.api.infrastructure.config.db.repository.UserRepository;
 import com.kompu.api.infrastructure.config.db.repository.UserSessionRepository;
 import com.kompu.api.infrastructure.config.db.repository.UserTokenRepository;
 import com.kompu.api.infrastructure.config.web.security.util.JwtUtils;
+import com.kompu.api.infrastructure.featureflag.gateway.FeatureFlagDatabaseGateway;
+import com.kompu.api.infrastructure.featureflag.gateway.FeatureFlagTemplateDatabaseGateway;
+import com.kompu.api.infrastructure.shared.pagination.KeysetPager;
+import com.kompu.api.infrastructure.user.gateway.PasswordResetTokenDatabaseGateway;
 import com.kompu.api.infrastructure.user.gateway.UserDatabaseGateway;
 import com.kompu.api.infrastructure.usertoken.gateway.RefreshTokenDatabaseGateway;
 import com.kompu.api.infrastructure.usertoken.gateway.UserSessionDatabaseGateway;
 import com.kompu.api.infrastructure.usertoken.gateway.UserTokenDatabaseGateway;
 import com.kompu.api.usecase.appconfig.RsaKeyPairUseCase;
+import com.kompu.api.usecase.featureflag.InitializeFeatureFlagsUseCase;
 import com.kompu.api.usecase.user.ChangePasswordUseCase;
 import com.kompu.api.usecase.user.CreateUserUseCase;
 import com.kompu.api.usecase.user.GetUserUseCase;
@@ -54,14 +70,13 @@ public class MvcConfiguration {
     }
 
     @Bean
-    public RsaKeyPairUseCase rsaKeyPairUseCase(AppConfigRepository appConfigRepository) {
-        AppConfigGateway appConfigGateway = new AppConfigDatabaseGateway(appConfigRepository);
+    public RsaKeyPairUseCase rsaKeyPairUseCase(AppConfigGateway appConfigGateway) {
         return new RsaKeyPairUseCase(appConfigGateway);
     }
 
     @Bean
-    public GetUserUseCase getUserUseCase(UserRepository userRepository) {
-        UserGateway userGateway = new UserDatabaseGateway(userRepository);
+    public GetUserUseCase getUserUseCase(UserRepository userRepository, KeysetPager keysetPager) {
+        UserGateway userGateway = new UserDatabaseGateway(userRepository, keysetPager);
         return new GetUserUseCase(userGateway);
     }
 
@@ -73,6 +88,12 @@ public class MvcConfiguration {
 
     // ==================== Gateway Beans ====================
 
+    @Bean
+    public AppConfigGateway appConfigGateway(AppConfigRepository appConfigRepository,
+            CacheInvalidationGateway cacheInvalidationGateway) {
+        return new AppConfigDatabaseGateway(appConfigRepository, cacheInvalidationGateway);
+    }
+
     @Bean
     public RefreshTokenGateway refreshTokenGateway(RefreshTokenRepository refreshTokenRepository) {
         return new RefreshTokenDatabaseGateway(refreshTokenRepository);
@@ -83,26 +104,46 @@ public class MvcConfiguration {
         return new UserSessionDatabaseGateway(userSessionRepository);
     }
 
+    @Bean
+    public FeatureFlagGateway featureFlagGateway(FeatureFlagRepository featureFlagRepository,
+            ObjectMapper objectMapper, CacheInvalidationGateway cacheInvalidationGateway) {
+        return new FeatureFlagDatabaseGateway(featureFlagRepository, objectMapper, cacheInvalidationGateway);
+    }
+
+    @Bean
+    public FeatureFlagTemplateGateway featureFlagTemplateGateway(
+            FeatureFlagTemplateRepository featureFlagTemplateRepository) {
+        return new FeatureFlagTemplateDatabaseGateway(featureFlagTemplateRepository);
+    }
+
+    // ==================== Feature Flag Use Cases ====================
+
+    @Bean
+    public InitializeFeatureFlagsUseCase initializeFeatureFlagsUseCase(FeatureFlagGateway featureFlagGateway,
+            FeatureFlagTemplateGateway featureFlagTemplateGateway, AppConfigGateway appConfigGateway) {
+        return new InitializeFeatureFlagsUseCase(featureFlagGateway, featureFlagTemplateGateway, appConfigGateway);
+    }
+
     // ==================== Authentication Use Cases ====================
 
     @Bean
-    public CreateUserUseCase createUserUseCase(UserRepository userRepository,
+    public CreateUserUseCase createUserUseCase(UserRepository userRepository, KeysetPager keysetPager,
             BCryptPasswordEncoder passwordEncoder) {
-        UserGateway userGateway = new UserDatabaseGateway(userRepository);
+        UserGateway userGateway = new UserDatabaseGateway(userRepository, keysetPager);
         return new CreateUserUseCase(userGateway, passwordEncoder);
     }
 
     @Bean
     public ValidateUserCredentialsUseCase validateUserCredentialsUseCase(UserRepository userRepository,
-            BCryptPasswordEncoder passwordEncoder) {
-        UserGateway userGateway = new UserDatabaseGateway(userRepository);
+            KeysetPager keysetPager, BCryptPasswordEncoder passwordEncoder) {
+        UserGateway userGateway = new UserDatabaseGateway(userRepository, keysetPager);
         return new ValidateUserCredentialsUseCase(userGateway, passwordEncoder);
     }
 
     @Bean
-    public ChangePasswordUseCase changePasswordUseCase(UserRepository userRepository,
+    public ChangePasswordUseCase changePasswordUseCase(UserRepository userRepository, KeysetPager keysetPager,
             BCryptPasswordEncoder passwordEncoder) {
-        UserGateway userGateway = new UserDatabaseGateway(userRepository);
+        UserGateway userGateway = new UserDatabaseGateway(userRepository, keysetPager);
         return new ChangePasswordUseCase(userGateway, passwordEncoder);
     }
 
@@ -141,39 +182,38 @@ public class MvcConfiguration {
     @Bean
     public com.kompu.api.usecase.auth.SignUpUseCase signUpUseCase(
             com.kompu.api.infrastructure.shared.SharedUseCase sharedUseCase,
-            UserRepository userRepository,
-            com.kompu.api.infrastructure.config.db.repository.RoleRepository roleRepository,
+            UserRepository userRepository, KeysetPager keysetPager,
+            com.kompu.api.entity.role.gateway.RoleGateway roleGateway,
             com.kompu.api.infrastructure.config.db.repository.UserRoleRepository userRoleRepository,
             com.kompu.api.infrastructure.config.db.repository.MemberRepository memberRepository,
             com.kompu.api.infrastructure.config.db.repository.TenantRepository tenantRepository,
             com.kompu.api.infrastructure.config.db.repository.TenantDomainRepository tenantDomainRepository,
             com.kompu.api.infrastructure.config.db.repository.TenantRegistrationRepository tenantRegistrationRepository,
             com.kompu.api.infrastructure.config.db.repository.TenantSubscriptionRepository tenantSubscriptionRepository,
-            com.kompu.api.infrastructure.config.db.repository.SubscriptionPlanRepository subscriptionPlanRepository,
+            com.kompu.api.entity.subscription.gateway.SubscriptionPlanGateway subscriptionPlanGateway,
             UserSessionRepository userSessionRepository,
             RefreshTokenRepository refreshTokenRepository,
             BCryptPasswordEncoder passwordEncoder,
             JwtUtils jwtUtils,
             com.kompu.api.infrastructure.config.web.security.service.MyUserDetailService myUserDetailService,
-            FileStorageGateway fileStorageGateway) {
+            FileStorageGateway fileStorageGateway,
+            InitializeFeatureFlagsUseCase initializeFeatureFlagsUseCase,
+            CacheInvalidationGateway cacheInvalidationGateway,
+            OutboxGateway outboxGateway) {
 
-        UserGateway userGateway = new UserDatabaseGateway(userRepository);
-        com.kompu.api.entity.role.gateway.RoleGateway roleGateway = new com.kompu.api.infrastructure.role.gateway.RoleDatabaseGateway(
-                roleRepository);
+        UserGateway userGateway = new UserDatabaseGateway(userRepository, keysetPager);
         com.kompu.api.entity.user.gateway.UserRoleGateway userRoleGateway = new com.kompu.api.infrastructure.user.gateway.UserRoleDatabaseGateway(
                 userRoleRepository);
         com.kompu.api.entity.member.gateway.MemberGateway memberGateway = new com.kompu.api.infrastructure.member.gateway.MemberDatabaseGateway(
-                memberRepository);
+                memberRepository, keysetPager);
         com.kompu.api.entity.tenant.gateway.TenantGateway tenantGateway = new com.kompu.api.infrastructure.tenant.gateway.TenantDatabaseGateway(
                 tenantRepository);
         com.kompu.api.entity.tenantdomain.gateway.TenantDomainGateway tenantDomainGateway = new com.kompu.api.infrastructure.tenantdomain.gateway.TenantDomainDatabaseGateway(
-                tenantDomainRepository);
+                tenantDomainRepository, cacheInvalidationGateway);
         com.kompu.api.entity.subscription.gateway.TenantRegistrationGateway tenantRegistrationGateway = new com.kompu.api.infrastructure.subscription.gateway.TenantRegistrationDatabaseGateway(
                 tenantRegistrationRepository);
         com.kompu.api.entity.subscription.gateway.TenantSubscriptionGateway tenantSubscriptionGateway = new com.kompu.api.infrastructure.subscription.gateway.TenantSubscriptionDatabaseGateway(
                 tenantSubscriptionRepository);
-        com.kompu.api.entity.subscription.gateway.SubscriptionPlanGateway subscriptionPlanGateway = new com.kompu.api.infrastructure.subscription.gateway.SubscriptionPlanDatabaseGateway(
-                subscriptionPlanRepository);
         UserSessionGateway userSessionGateway = new UserSessionDatabaseGateway(userSessionRepository);
         RefreshTokenGateway refreshTokenGateway = new RefreshTokenDatabaseGateway(refreshTokenRepository);
 
@@ -193,7 +233,9 @@ public class MvcConfiguration {
                 passwordEncoder,
                 jwtUtils,
                 myUserDetailService,
-                fileStorageGateway);
+                fileStorageGateway,
+                initializeFeatureFlagsUseCase,
+                outboxGateway);
     }
 
     @Bean
@@ -202,10 +244,7 @@ public class MvcConfiguration {
             CreateUserSessionUseCase createUserSessionUseCase,
             GenerateAccessTokenUseCase generateAccessTokenUseCase,
             GenerateRefreshTokenUseCase generateRefreshTokenUseCase,
-            com.kompu.api.infrastructure.config.db.repository.LoginLogRepository loginLogRepository) {
-
-        com.kompu.api.entity.system.gateway.LoginLogGateway loginLogGateway = new com.kompu.api.infrastructure.system.gateway.LoginLogDatabaseGateway(
-                loginLogRepository);
+            com.kompu.api.entity.system.gateway.LoginLogGateway loginLogGateway) {
 
         return new com.kompu.api.usecase.auth.SignInUseCase(
                 validateUserCredentialsUseCase,
@@ -219,12 +258,12 @@ public class MvcConfiguration {
     public com.kompu.api.usecase.auth.RefreshTokenUseCase refreshTokenUseCase(
             ValidateRefreshTokenUseCase validateRefreshTokenUseCase,
             RefreshTokenRepository refreshTokenRepository,
-            UserRepository userRepository,
+            UserRepository userRepository, KeysetPager keysetPager,
             GenerateAccessTokenUseCase generateAccessTokenUseCase,
             GenerateRefreshTokenUseCase generateRefreshTokenUseCase) {
 
         RefreshTokenGateway refreshTokenGateway = new RefreshTokenDatabaseGateway(refreshTokenRepository);
-        UserGateway userGateway = new UserDatabaseGateway(userRepository);
+        UserGateway userGateway = new UserDatabaseGateway(userRepository, keysetPager);
 
         return new com.kompu.api.usecase.auth.RefreshTokenUseCase(
                 validateRefreshTokenUseCase,
@@ -234,14 +273,33 @@ public class MvcConfiguration {
                 generateRefreshTokenUseCase);
     }
 
+    @Bean
+    public PasswordResetTokenGateway passwordResetTokenGateway(JdbcTemplate jdbcTemplate) {
+        return new PasswordResetTokenDatabaseGateway(jdbcTemplate);
+    }
+
     @Bean
     public com.kompu.api.usecase.auth.ForgotPasswordUseCase forgotPasswordUseCase(
-            UserRepository userRepository,
-            BCryptPasswordEncoder passwordEncoder,
-            JavaMailSender emailSender) {
+            UserRepository userRepository, KeysetPager keysetPager,
+            PasswordResetTokenGateway passwordResetTokenGateway,
+            MailGateway mailGateway,
+            @Value("${app.auth.password-reset.url}") String resetUrl,
+            @Value("${app.auth.password-reset.ttl-minutes:30}") long ttlMinutes) {
+
+        UserGateway userGateway = new UserDatabaseGateway(userRepository, keysetPager);
+        return new com.kompu.api.usecase.auth.ForgotPasswordUseCase(userGateway, passwordResetTokenGateway,
+                mailGateway, resetUrl, Duration.ofMinutes(ttlMinutes));
+    }
+
+    @Bean
+    public com.kompu.api.usecase.auth.ResetPasswordUseCase resetPasswordUseCase(
+            UserRepository userRepository, KeysetPager keysetPager,
+            PasswordResetTokenGateway passwordResetTokenGateway,
+            BCryptPasswordEncoder passwordEncoder) {
 
-        UserGateway userGateway = new UserDatabaseGateway(userRepository);
-        return new com.kompu.api.usecase.auth.ForgotPasswordUseCase(userGateway, passwordEncoder, emailSender);
+        UserGateway userGateway = new UserDatabaseGateway(userRepository, keysetPager);
+        return new com.kompu.api.usecase.auth.ResetPasswordUseCase(userGateway, passwordResetTokenGateway,
+                passwordEncoder);
     }
 
 }
@@ -35,6 +35,10 @@ public class WebHttpResponse<T> {
         return of(201, "Created", data);
     }
 
+    public static <T> WebHttpResponse<T> accepted(T data) {
+        return of(202, "Accepted", data);
+    }
+
     public static <T> WebHttpResponse<T> badRequest(T data) {
         return of(400, "Bad Request", data);
     }
@@ -43,6 +47,10 @@ public class WebHttpResponse<T> {
         return of(404, "Not Found", data);
     }
 
+    public static <T> WebHttpResponse<T> conflict(T data) {
+        return of(409, "Conflict", data);
+    }
+
     public static <T> WebHttpResponse<T> internalServerError(T data) {
         return of(500, "Internal Server Error", data);
     }
@@ -54,4 +62,8 @@ public class WebHttpResponse<T> {
     public static <T> WebHttpResponse<T> forbidden(T data) {
         return of(403, "Forbidden", data);
     }
+
+    public static <T> WebHttpResponse<T> serviceUnavailable(T data) {
+        return of(503, "Service Unavailable", data);
+    }
 }
@@ -36,8 +36,12 @@ public class AppSecurityConfigurer {
 
 	private static final String[] PUBLIC_ENDPOINTS = { "/users/login", "/users/user" };
 	private static final String[] SUPER_ADMIN_ENDPOINTS = { "/actuator/**" };
-	private static final String[] ADMIN_ENDPOINTS = { "/usertokens/**", "/userroles/**", "/transactions/{id}" };
-	private static final String[] USER_ENDPOINTS = { "/users/**", "/transactions/{senderId}/transfer" };
+	private static final String[] ADMIN_ENDPOINTS = { "/usertokens/**", "/userroles/**", "/transactions/{id}",
+			"/api/v1/audit/**", "/api/v1/products/search/rebuild", "/api/v1/exports/**",
+			"/api/v1/products/import", "/api/v1/members/search", "/api/v1/subscriptions/**" };
+	private static final String[] USER_ENDPOINTS = { "/users/**", "/transactions/{senderId}/transfer",
+			"/api/v1/suppliers/search", "/api/v1/orders/**", "/api/v1/supplier-prices/**",
+			"/api/v1/product-categories/**", "/api/v1/products/search" };
 
 	public AppSecurityConfigurer(MyUserDetailService myUserDetailService,
 			SecurityMethodFilter securityMethodFilter,
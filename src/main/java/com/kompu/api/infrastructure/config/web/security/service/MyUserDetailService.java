@@ -5,7 +5,6 @@ import java.util.List;
 import java.util.UUID;
 
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
@@ -55,11 +54,8 @@ public class MyUserDetailService implements UserDetailsService {
 			authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
 		}
 
-		return User
-				.withUsername(userIdString) // Principal is UserId
-				.password(password)
-				.authorities(authorities)
-				.build();
+		// Principal is UserId; the tenant travels with it for TenantScope
+		return new TenantUserDetails(userIdString, password, authorities, userAccount.getTenantId());
 	}
 
 }
@@ -0,0 +1,27 @@
+package com.kompu.api.infrastructure.config.web.security.service;
+
+import java.util.Collection;
+import java.util.UUID;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * TenantUserDetails - The authenticated user together with the tenant the
+ * account belongs to; null for global accounts.
+ */
+public class TenantUserDetails extends User {
+
+	private final UUID tenantId;
+
+	public TenantUserDetails(String username, String password, Collection<? extends GrantedAuthority> authorities,
+			UUID tenantId) {
+		super(username, password, authorities);
+		this.tenantId = tenantId;
+	}
+
+	public UUID getTenantId() {
+		return tenantId;
+	}
+
+}
@@ -0,0 +1,47 @@
+package com.kompu.api.infrastructure.config.web.security.util;
+
+import java.util.UUID;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.kompu.api.entity.shared.exception.TenantAccessDeniedException;
+import com.kompu.api.infrastructure.config.web.security.service.TenantUserDetails;
+
+/**
+ * TenantScope - Resolves the tenant a request acts on from the authenticated
+ * principal, never from the request alone.
+ *
+ * Tenant accounts are bound to their own tenant: the tenantId parameter may
+ * be left out, and when given it must be theirs. SUPER_ADMIN works across
+ * tenants and gets the requested tenant back as is, null included.
+ */
+public final class TenantScope {
+
+	private static final String SUPER_ADMIN = "ROLE_SUPER_ADMIN";
+
+	private TenantScope() {
+	}
+
+	public static UUID resolve(UUID requestedTenantId) {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication == null || !authentication.isAuthenticated()) {
+			throw new TenantAccessDeniedException("Authentication is required");
+		}
+		if (authentication.getAuthorities().stream()
+				.anyMatch(authority -> SUPER_ADMIN.equals(authority.getAuthority()))) {
+			return requestedTenantId;
+		}
+		UUID ownTenantId = authentication.getPrincipal() instanceof TenantUserDetails user
+				? user.getTenantId()
+				: null;
+		if (ownTenantId == null) {
+			throw new TenantAccessDeniedException("The account is not bound to a tenant");
+		}
+		if (requestedTenantId != null && !requestedTenantId.equals(ownTenantId)) {
+			throw new TenantAccessDeniedException("Access to tenant " + requestedTenantId + " is not allowed");
+		}
+		return ownTenantId;
+	}
+
+}
@@ -0,0 +1,49 @@
+package com.kompu.api.infrastructure.dashboardtheme.gateway;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.kompu.api.entity.dashboardtheme.gateway.DashboardThemeGateway;
+import com.kompu.api.entity.dashboardtheme.model.DashboardThemeModel;
+import com.kompu.api.infrastructure.shared.cache.ReferenceDataCache;
+
+/**
+ * CachedDashboardThemeGateway - Read-through cache in front of
+ * DashboardThemeGateway
+ */
+public class CachedDashboardThemeGateway implements DashboardThemeGateway {
+
+    public static final String BY_ID = "id";
+    public static final String BY_NAME = "name";
+
+    private final DashboardThemeGateway delegate;
+    private final ReferenceDataCache<DashboardThemeModel> cache;
+
+    public CachedDashboardThemeGateway(DashboardThemeGateway delegate, ReferenceDataCache<DashboardThemeModel> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Optional<DashboardThemeModel> findById(UUID id) {
+        return cache.find(BY_ID, id).or(() -> delegate.findById(id));
+    }
+
+    @Override
+    public Optional<DashboardThemeModel> findByName(String name) {
+        return cache.find(BY_NAME, name).or(() -> delegate.findByName(name));
+    }
+
+    @Override
+    public List<DashboardThemeModel> findAllActive() {
+        return cache.getAll().stream()
+                .filter(DashboardThemeModel::isActive)
+                .toList();
+    }
+
+    @Override
+    public List<DashboardThemeModel> findAll() {
+        return cache.getAll();
+    }
+}
@@ -0,0 +1,43 @@
+package com.kompu.api.infrastructure.dashboardtheme.gateway;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.kompu.api.entity.dashboardtheme.gateway.DashboardThemeGateway;
+import com.kompu.api.entity.dashboardtheme.model.DashboardThemeModel;
+import com.kompu.api.infrastructure.config.db.repository.DashboardThemeRepository;
+import com.kompu.api.infrastructure.config.db.schema.DashboardThemeSchema;
+
+public class DashboardThemeDatabaseGateway implements DashboardThemeGateway {
+
+    private final DashboardThemeRepository repository;
+
+    public DashboardThemeDatabaseGateway(DashboardThemeRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public Optional<DashboardThemeModel> findById(UUID id) {
+        return repository.findById(id).map(DashboardThemeSchema::toModel);
+    }
+
+    @Override
+    public Optional<DashboardThemeModel> findByName(String name) {
+        return repository.findByName(name).map(DashboardThemeSchema::toModel);
+    }
+
+    @Override
+    public List<DashboardThemeModel> findAllActive() {
+        return findAll().stream()
+                .filter(DashboardThemeModel::isActive)
+                .toList();
+    }
+
+    @Override
+    public List<DashboardThemeModel> findAll() {
+        return repository.findAll().stream()
+                .map(DashboardThemeSchema::toModel)
+                .toList();
+    }
+}
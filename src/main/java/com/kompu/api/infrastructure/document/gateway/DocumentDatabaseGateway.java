@@ -4,13 +4,20 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.springframework.stereotype.Component;
 
 import com.kompu.api.entity.document.gateway.DocumentGateway;
 import com.kompu.api.entity.document.model.DocumentModel;
+import com.kompu.api.entity.document.model.DocumentSummary;
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
+import com.kompu.api.entity.shared.model.PageCursor;
 import com.kompu.api.infrastructure.config.db.repository.DocumentRepository;
 import com.kompu.api.infrastructure.config.db.schema.DocumentSchema;
+import com.kompu.api.infrastructure.shared.pagination.KeysetPager;
 
 import lombok.RequiredArgsConstructor;
 
@@ -23,6 +30,7 @@ import lombok.RequiredArgsConstructor;
 public class DocumentDatabaseGateway implements DocumentGateway {
 
     private final DocumentRepository documentRepository;
+    private final KeysetPager keysetPager;
 
     @Override
     public Optional<DocumentModel> findById(UUID id) {
@@ -51,6 +59,32 @@ public class DocumentDatabaseGateway implements DocumentGateway {
         return documentRepository.findAllByTenant(tenantId).stream().map(DocumentSchema::toDocumentModel).toList();
     }
 
+    @Override
+    public CursorPage<DocumentSummary> findSummaryPageByTenant(UUID tenantId, CursorPageRequest request) {
+        return keysetPager.page(request,
+                limit -> documentRepository.findSummaryFirstPageByTenantId(tenantId, limit),
+                (cursor, limit) -> documentRepository.findSummaryPageByTenantIdAfter(tenantId, cursor.createdAt(),
+                        cursor.id(), limit),
+                row -> new PageCursor(row.createdAt(), row.id()),
+                Function.identity());
+    }
+
+    @Override
+    public CursorPage<DocumentModel> findPageByTenant(UUID tenantId, CursorPageRequest request) {
+        return keysetPager.page(request,
+                limit -> documentRepository.findFirstPageByTenantId(tenantId, limit),
+                (cursor, limit) -> documentRepository.findPageByTenantIdAfter(tenantId, cursor.createdAt(),
+                        cursor.id(), limit),
+                row -> new PageCursor(row.getCreatedAt(), row.getId()),
+                DocumentSchema::toDocumentModel);
+    }
+
+    @Override
+    public long forEachByTenant(UUID tenantId, Consumer<? super DocumentModel> consumer) {
+        return keysetPager.forEach(() -> documentRepository.streamByTenantId(tenantId),
+                DocumentSchema::toDocumentModel, consumer);
+    }
+
     @Override
     public List<DocumentModel> findByType(UUID tenantId, String documentType) {
         return documentRepository.findByTenantAndType(tenantId, documentType).stream()
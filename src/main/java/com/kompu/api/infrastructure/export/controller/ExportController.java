@@ -0,0 +1,96 @@
+package com.kompu.api.infrastructure.export.controller;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.kompu.api.entity.export.model.ExportJobModel;
+import com.kompu.api.entity.export.model.ExportRequest;
+import com.kompu.api.infrastructure.config.web.response.WebHttpResponse;
+import com.kompu.api.infrastructure.config.web.security.util.TenantScope;
+import com.kompu.api.usecase.export.ExportDataUseCase;
+
+/**
+ * ExportController exposes bulk export of tenant data.
+ * 
+ * Endpoints:
+ * - GET /api/v1/exports/{dataset} - Stream the export in the response
+ * - POST /api/v1/exports/{dataset}/jobs - Queue the export as a background job
+ * - GET /api/v1/exports/jobs/{id} - Status of an export job
+ * - GET /api/v1/exports/jobs/{id}/download - File of a finished export job
+ * 
+ * dataset is members, products, orders or suppliers; format is csv (the
+ * default), ndjson or xlsx, and gzip=true compresses the file. Streamed
+ * exports are size checked before the response starts. Exports cover the
+ * caller's own tenant; tenantId may only name another one for SUPER_ADMIN.
+ */
+@RestController
+@RequestMapping("/api/v1/exports")
+public class ExportController {
+
+    private final ExportDataUseCase exportDataUseCase;
+
+    public ExportController(ExportDataUseCase exportDataUseCase) {
+        this.exportDataUseCase = exportDataUseCase;
+    }
+
+    @GetMapping("/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String dataset,
+            @RequestParam(required = false) UUID tenantId,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportRequest request = exportDataUseCase.validateSync(
+                exportDataUseCase.request(TenantScope.resolve(tenantId), dataset, format, gzip));
+        StreamingResponseBody body = outputStream -> exportDataUseCase.export(request, outputStream);
+        return attachment(request, body);
+    }
+
+    @PostMapping("/{dataset}/jobs")
+    public ResponseEntity<WebHttpResponse<ExportJobModel>> submit(@PathVariable String dataset,
+            @RequestParam(required = false) UUID tenantId,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportJobModel job = exportDataUseCase.submit(
+                exportDataUseCase.request(TenantScope.resolve(tenantId), dataset, format, gzip));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(WebHttpResponse.accepted(job));
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<WebHttpResponse<ExportJobModel>> job(@PathVariable UUID id, @RequestParam(required = false) UUID tenantId) {
+        ExportJobModel job = exportDataUseCase.findJob(TenantScope.resolve(tenantId), id);
+        return ResponseEntity.ok(WebHttpResponse.ok(job));
+    }
+
+    @GetMapping("/jobs/{id}/download")
+    public ResponseEntity<StreamingResponseBody> download(@PathVariable UUID id, @RequestParam(required = false) UUID tenantId) {
+        ExportJobModel job = exportDataUseCase.findJob(TenantScope.resolve(tenantId), id);
+        InputStream file = exportDataUseCase.openResult(job);
+        StreamingResponseBody body = outputStream -> {
+            try (InputStream input = file) {
+                input.transferTo(outputStream);
+            }
+        };
+        return attachment(job.toRequest(), body);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> attachment(ExportRequest request,
+            StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(request.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(request.fileName()).build().toString())
+                .body(body);
+    }
+}
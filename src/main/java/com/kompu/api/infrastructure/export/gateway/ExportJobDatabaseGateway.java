@@ -0,0 +1,43 @@
+package com.kompu.api.infrastructure.export.gateway;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.kompu.api.entity.export.gateway.ExportJobGateway;
+import com.kompu.api.entity.export.model.ExportJobModel;
+import com.kompu.api.entity.export.model.ExportRequest;
+import com.kompu.api.infrastructure.config.db.repository.ExportJobRepository;
+import com.kompu.api.infrastructure.config.db.schema.ExportJobSchema;
+
+/**
+ * ExportJobDatabaseGateway - Queues exports in app.export_jobs;
+ * {@link com.kompu.api.infrastructure.export.job.ExportJobWorker} runs them.
+ */
+public class ExportJobDatabaseGateway implements ExportJobGateway {
+
+    private final ExportJobRepository repository;
+
+    public ExportJobDatabaseGateway(ExportJobRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public ExportJobModel submit(ExportRequest request) {
+        Instant now = Instant.now();
+        return repository.save(ExportJobSchema.builder()
+                .tenantId(request.tenantId())
+                .dataset(request.dataset())
+                .format(request.format())
+                .gzip(request.gzip())
+                .createdAt(now)
+                .availableAt(now)
+                .build())
+                .toModel();
+    }
+
+    @Override
+    public Optional<ExportJobModel> findById(UUID id) {
+        return repository.findById(id).map(ExportJobSchema::toModel);
+    }
+}
@@ -0,0 +1,204 @@
+package com.kompu.api.infrastructure.export.job;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.kompu.api.entity.export.gateway.DataExportGateway;
+import com.kompu.api.entity.export.model.ExportJobModel;
+import com.kompu.api.entity.export.model.ExportRequest;
+import com.kompu.api.entity.shared.gateway.FileStorageGateway;
+import com.kompu.api.infrastructure.config.db.repository.ExportJobRepository;
+import com.kompu.api.infrastructure.config.db.schema.ExportJobSchema;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ExportJobWorker - Runs queued exports from a small pool of workers.
+ * 
+ * Each worker leases one job at a time (see
+ * {@link ExportJobRepository#leaseNext(long, int)}) and streams it straight
+ * into file storage under {@code exports/<tenantId>}; no transaction is held
+ * on the job row while the file is written. The lease is renewed every third
+ * of its length while the export runs, so it only runs out when the node
+ * dies; another worker then starts the job again. The attempt number fences
+ * each lease: a worker that lost its lease cannot renew it or finish the job,
+ * and removes the file it wrote. A failed attempt is retried after the retry
+ * delay until {@code maxAttempts}, then the job is FAILED.
+ */
+@Slf4j
+public class ExportJobWorker {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final ExportJobRepository repository;
+    private final DataExportGateway dataExportGateway;
+    private final FileStorageGateway fileStorageGateway;
+    private final int workerThreads;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration retryDelay;
+    private final long pollIntervalMillis;
+    private final Counter done;
+    private final Counter failed;
+
+    private ExecutorService workers;
+    private ScheduledExecutorService leaseRenewer;
+
+    public ExportJobWorker(ExportJobRepository repository, DataExportGateway dataExportGateway,
+            FileStorageGateway fileStorageGateway, MeterRegistry meterRegistry, int workerThreads, int maxAttempts,
+            Duration lease, Duration retryDelay, long pollIntervalMillis) {
+        this.repository = repository;
+        this.dataExportGateway = dataExportGateway;
+        this.fileStorageGateway = fileStorageGateway;
+        this.workerThreads = workerThreads;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.retryDelay = retryDelay;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.done = jobs(meterRegistry, "done");
+        this.failed = jobs(meterRegistry, "failed");
+    }
+
+    private static Counter jobs(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("export.jobs")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public synchronized void start() {
+        AtomicInteger sequence = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "export-worker-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        leaseRenewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "export-lease-renewer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workerThreads; i++) {
+            workers.execute(this::work);
+        }
+    }
+
+    public synchronized void stop() {
+        if (workers != null) {
+            workers.shutdownNow();
+            try {
+                workers.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            workers = null;
+        }
+        if (leaseRenewer != null) {
+            leaseRenewer.shutdownNow();
+            leaseRenewer = null;
+        }
+    }
+
+    /**
+     * Run queued jobs until none is due
+     *
+     * @return number of jobs run
+     */
+    public int drain() {
+        repository.failAbandoned(maxAttempts);
+        int count = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<ExportJobSchema> leased = repository.leaseNext(lease.toSeconds(), maxAttempts);
+            if (leased.isEmpty()) {
+                break;
+            }
+            run(leased.get(0).toModel());
+            count++;
+        }
+        return count;
+    }
+
+    private void work() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                drain();
+                Thread.sleep(pollIntervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Export worker poll failed", e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    private void run(ExportJobModel job) {
+        ExportRequest request = job.toRequest();
+        int attempt = job.getAttempts();
+        long[] rows = { 0 };
+        ScheduledFuture<?> renewal = scheduleRenewal(job, attempt);
+        try {
+            // One file per attempt, so a worker that lost its lease never touches the new holder's file
+            String path = fileStorageGateway.saveFile(job.getId() + "-" + attempt + "-" + request.fileName(),
+                    "exports/" + job.getTenantId(),
+                    output -> rows[0] = dataExportGateway.export(request, output));
+            if (repository.markDone(job.getId(), attempt, rows[0], path) == 0) {
+                log.warn("Export {} lost its lease during attempt {}; discarding its file", job.getId(), attempt);
+                fileStorageGateway.deleteFile(path);
+                return;
+            }
+            done.increment();
+            log.info("Export {} of {} for tenant {} wrote {} rows", job.getId(), request.dataset().slug(),
+                    job.getTenantId(), rows[0]);
+        } catch (RuntimeException e) {
+            if (repository.markFailed(job.getId(), attempt, maxAttempts, retryDelay.toSeconds(),
+                    truncate(e.toString())) == 0) {
+                log.warn("Export {} lost its lease during attempt {}", job.getId(), attempt);
+            }
+            failed.increment();
+            log.error("Export {} for tenant {} failed, attempt {}", job.getId(), job.getTenantId(), attempt, e);
+        } finally {
+            if (renewal != null) {
+                renewal.cancel(false);
+            }
+        }
+    }
+
+    private ScheduledFuture<?> scheduleRenewal(ExportJobModel job, int attempt) {
+        ScheduledExecutorService renewer = leaseRenewer;
+        if (renewer == null) {
+            return null;
+        }
+        long period = Math.max(1000, lease.toMillis() / 3);
+        return renewer.scheduleAtFixedRate(() -> renew(job, attempt), period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private void renew(ExportJobModel job, int attempt) {
+        try {
+            if (repository.renewLease(job.getId(), attempt, lease.toSeconds()) == 0) {
+                log.warn("Export {} could not renew its lease for attempt {}", job.getId(), attempt);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Export {} lease renewal failed: {}", job.getId(), e.getMessage());
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(pollIntervalMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
@@ -0,0 +1,87 @@
+package com.kompu.api.infrastructure.export.job;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.kompu.api.entity.shared.gateway.FileStorageGateway;
+import com.kompu.api.infrastructure.config.db.repository.ExportJobRepository;
+import com.kompu.api.infrastructure.config.db.schema.ExportJobSchema;
+import com.kompu.api.infrastructure.shared.job.JobContext;
+import com.kompu.api.infrastructure.shared.job.JobTrigger;
+import com.kompu.api.infrastructure.shared.job.ScheduledJob;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ExportRetentionJob - Removes finished export jobs and their files once
+ * they are older than {@code retentionDays}. Export files hold member and
+ * customer data, so they are not kept around for good.
+ *
+ * The file goes first and the row after it; a file that cannot be deleted
+ * keeps its row, and the next run tries again.
+ */
+@Slf4j
+public class ExportRetentionJob implements ScheduledJob {
+
+    private final ExportJobRepository repository;
+    private final FileStorageGateway fileStorageGateway;
+    private final Duration interval;
+    private final int retentionDays;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public ExportRetentionJob(ExportJobRepository repository, FileStorageGateway fileStorageGateway,
+            Duration interval, int retentionDays, int batchSize, int maxBatchesPerRun) {
+        this.repository = repository;
+        this.fileStorageGateway = fileStorageGateway;
+        this.interval = interval;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Override
+    public String name() {
+        return "export-retention";
+    }
+
+    @Override
+    public JobTrigger trigger() {
+        return JobTrigger.fixedRate(interval);
+    }
+
+    @Override
+    public void run(JobContext context) {
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<ExportJobSchema> expired = repository.findExpired(retentionDays, batchSize);
+            List<UUID> removable = new ArrayList<>(expired.size());
+            for (ExportJobSchema job : expired) {
+                if (deleteFile(job)) {
+                    removable.add(job.getId());
+                }
+            }
+            repository.deleteAllByIdInBatch(removable);
+            context.addProcessed(removable.size());
+            if (expired.size() < batchSize || removable.isEmpty()) {
+                return;
+            }
+        }
+        log.info("Export retention stopped after {} batches; the rest waits for the next run", maxBatchesPerRun);
+    }
+
+    private boolean deleteFile(ExportJobSchema job) {
+        if (job.getFilePath() == null) {
+            return true;
+        }
+        try {
+            fileStorageGateway.deleteFile(job.getFilePath());
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Could not delete export file {} of job {}: {}", job.getFilePath(), job.getId(),
+                    e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.kompu.api.infrastructure.export.writer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.entity.export.model.ExportFormat;
+
+/**
+ * ExportWriter - Encodes export rows into one file format, one row at a time.
+ * 
+ * Values are Strings, numbers, Booleans, temporal values (written in ISO
+ * form), UUIDs, {@link RawJson} or null. Writers buffer at most one row
+ * beyond the underlying stream's own buffer.
+ */
+public interface ExportWriter {
+
+    void header(List<String> columns) throws IOException;
+
+    void row(Object[] values) throws IOException;
+
+    /**
+     * Write any trailer and flush; the stream is left open
+     */
+    void finish() throws IOException;
+
+    static ExportWriter open(ExportFormat format, OutputStream output, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvExportWriter(output);
+            case NDJSON -> new NdjsonExportWriter(output, objectMapper);
+            case XLSX -> new XlsxExportWriter(output);
+        };
+    }
+
+    /**
+     * A JSON document kept as text, embedded as JSON by NDJSON and as text
+     * by the tabular formats
+     */
+    record RawJson(String json) {
+
+        @Override
+        public String toString() {
+            return json;
+        }
+    }
+
+    static String text(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof java.math.BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        return value.toString();
+    }
+}
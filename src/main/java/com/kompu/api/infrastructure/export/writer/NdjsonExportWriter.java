@@ -0,0 +1,58 @@
+package com.kompu.api.infrastructure.export.writer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * NdjsonExportWriter - One JSON object per row, keyed by the column names.
+ * {@link ExportWriter.RawJson} values are embedded as JSON.
+ */
+class NdjsonExportWriter implements ExportWriter {
+
+    private final JsonGenerator generator;
+    private List<String> columns;
+
+    NdjsonExportWriter(OutputStream output, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(output);
+        // The output stream belongs to the caller
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void header(List<String> columns) {
+        this.columns = List.copyOf(columns);
+    }
+
+    @Override
+    public void row(Object[] values) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < values.length; i++) {
+            generator.writeFieldName(columns.get(i));
+            Object value = values[i];
+            if (value == null) {
+                generator.writeNull();
+            } else if (value instanceof RawJson raw) {
+                generator.writeRawValue(raw.json());
+            } else if (value instanceof BigDecimal decimal) {
+                generator.writeNumber(decimal);
+            } else if (value instanceof Number || value instanceof Boolean) {
+                generator.writeObject(value);
+            } else {
+                generator.writeString(ExportWriter.text(value));
+            }
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.flush();
+    }
+}
@@ -0,0 +1,145 @@
+package com.kompu.api.infrastructure.export.writer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import com.kompu.api.entity.export.model.ExportFormat;
+
+/**
+ * XlsxExportWriter - Minimal single-sheet Office Open XML workbook, streamed.
+ * 
+ * The package parts that do not depend on the data are written first, then
+ * the worksheet is written row by row into its zip entry. Strings are stored
+ * inline rather than in a shared string table, which would have to be held
+ * in memory until the end; numbers and booleans get typed cells. Text is cut
+ * to the 32,767 characters a cell can hold, and more than
+ * {@link ExportFormat#XLSX_MAX_ROWS} rows fail the export.
+ */
+class XlsxExportWriter implements ExportWriter {
+
+    static final int MAX_CELL_LENGTH = 32_767;
+
+    private static final String CONTENT_TYPES = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">\
+            <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>\
+            <Default Extension="xml" ContentType="application/xml"/>\
+            <Override PartName="/xl/workbook.xml" \
+            ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml"/>\
+            <Override PartName="/xl/worksheets/sheet1.xml" \
+            ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml"/>\
+            </Types>""";
+
+    private static final String ROOT_RELS = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" \
+            Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" \
+            Target="xl/workbook.xml"/>\
+            </Relationships>""";
+
+    private static final String WORKBOOK = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" \
+            xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">\
+            <sheets><sheet name="Export" sheetId="1" r:id="rId1"/></sheets>\
+            </workbook>""";
+
+    private static final String WORKBOOK_RELS = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" \
+            Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet" \
+            Target="worksheets/sheet1.xml"/>\
+            </Relationships>""";
+
+    private final ZipOutputStream zip;
+    private final Writer writer;
+    private long rows;
+
+    XlsxExportWriter(OutputStream output) throws IOException {
+        this.zip = new ZipOutputStream(output, StandardCharsets.UTF_8);
+        this.writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+        part("[Content_Types].xml", CONTENT_TYPES);
+        part("_rels/.rels", ROOT_RELS);
+        part("xl/workbook.xml", WORKBOOK);
+        part("xl/_rels/workbook.xml.rels", WORKBOOK_RELS);
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+        writer.write("""
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <worksheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main"><sheetData>""");
+    }
+
+    @Override
+    public void header(List<String> columns) throws IOException {
+        writer.write("<row>");
+        for (String column : columns) {
+            inlineString(column);
+        }
+        writer.write("</row>");
+    }
+
+    @Override
+    public void row(Object[] values) throws IOException {
+        if (++rows > ExportFormat.XLSX_MAX_ROWS) {
+            throw new IllegalStateException("An XLSX sheet holds at most " + ExportFormat.XLSX_MAX_ROWS + " rows");
+        }
+        writer.write("<row>");
+        for (Object value : values) {
+            if (value == null) {
+                writer.write("<c/>");
+            } else if (value instanceof Number number) {
+                writer.write("<c><v>");
+                writer.write(ExportWriter.text(number));
+                writer.write("</v></c>");
+            } else if (value instanceof Boolean bool) {
+                writer.write(bool ? "<c t=\"b\"><v>1</v></c>" : "<c t=\"b\"><v>0</v></c>");
+            } else {
+                inlineString(ExportWriter.text(value));
+            }
+        }
+        writer.write("</row>");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.write("</sheetData></worksheet>");
+        writer.flush();
+        zip.closeEntry();
+        zip.finish();
+    }
+
+    private void part(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private void inlineString(String text) throws IOException {
+        writer.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+        int length = Math.min(text.length(), MAX_CELL_LENGTH);
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> writer.write("&amp;");
+                case '<' -> writer.write("&lt;");
+                case '>' -> writer.write("&gt;");
+                case '"' -> writer.write("&quot;");
+                default -> {
+                    // Control characters other than tab and line breaks are not allowed in XML 1.0
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        writer.write(c);
+                    }
+                }
+            }
+        }
+        writer.write("</t></is></c>");
+    }
+}
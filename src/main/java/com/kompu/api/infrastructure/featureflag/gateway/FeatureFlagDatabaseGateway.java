@@ -0,0 +1,179 @@
+package com.kompu.api.infrastructure.featureflag.gateway;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.kompu.api.entity.featureflag.gateway.FeatureFlagGateway;
+import com.kompu.api.entity.featureflag.model.FeatureFlagModel;
+import com.kompu.api.entity.shared.gateway.CacheInvalidationGateway;
+import com.kompu.api.entity.shared.model.CacheRegion;
+import com.kompu.api.entity.shared.util.UuidV7;
+import com.kompu.api.infrastructure.config.db.repository.FeatureFlagRepository;
+import com.kompu.api.infrastructure.config.db.schema.FeatureFlagSchema;
+
+/**
+ * FeatureFlagDatabaseGateway - Database implementation of FeatureFlagGateway
+ * Converts between domain models and database schemas. Bulk operations are
+ * sent as one JSON document and expanded by a single multi-row statement.
+ * Writes invalidate the FEATURE_FLAGS cache region keyed by tenant ID; global
+ * flag changes invalidate the whole region.
+ */
+public class FeatureFlagDatabaseGateway implements FeatureFlagGateway {
+
+    private final FeatureFlagRepository repository;
+    private final ObjectMapper objectMapper;
+    private final CacheInvalidationGateway cacheInvalidationGateway;
+
+    public FeatureFlagDatabaseGateway(FeatureFlagRepository repository, ObjectMapper objectMapper,
+            CacheInvalidationGateway cacheInvalidationGateway) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.cacheInvalidationGateway = cacheInvalidationGateway;
+    }
+
+    @Override
+    public FeatureFlagModel create(FeatureFlagModel flagModel) {
+        FeatureFlagModel saved = repository.save(new FeatureFlagSchema(flagModel)).toModel();
+        invalidate(saved.getTenantId());
+        return saved;
+    }
+
+    @Override
+    public int createAll(List<FeatureFlagModel> flagModels) {
+        if (flagModels == null || flagModels.isEmpty()) {
+            return 0;
+        }
+        int inserted = repository.insertAll(toRows(flagModels));
+        invalidateAll(flagModels);
+        return inserted;
+    }
+
+    @Override
+    public int upsertAll(List<FeatureFlagModel> flagModels) {
+        if (flagModels == null || flagModels.isEmpty()) {
+            return 0;
+        }
+        int written = repository.upsertAll(toRows(flagModels));
+        invalidateAll(flagModels);
+        return written;
+    }
+
+    @Override
+    public int backfillFromTemplates(int sinceVersion) {
+        int inserted = repository.backfillFromTemplates(sinceVersion);
+        if (inserted > 0) {
+            cacheInvalidationGateway.publishRegion(CacheRegion.FEATURE_FLAGS);
+        }
+        return inserted;
+    }
+
+    @Override
+    public FeatureFlagModel update(FeatureFlagModel flagModel) {
+        FeatureFlagModel saved = repository.save(new FeatureFlagSchema(flagModel)).toModel();
+        invalidate(saved.getTenantId());
+        return saved;
+    }
+
+    @Override
+    public void delete(UUID id) {
+        UUID tenantId = repository.findById(id).map(FeatureFlagSchema::getTenantId).orElse(null);
+        repository.deleteById(id);
+        invalidate(tenantId);
+    }
+
+    @Override
+    public Optional<FeatureFlagModel> findById(UUID id) {
+        return repository.findById(id).map(FeatureFlagSchema::toModel);
+    }
+
+    @Override
+    public Optional<FeatureFlagModel> findGlobalByKey(String key) {
+        return repository.findByTenantIdAndKey(null, key).map(FeatureFlagSchema::toModel);
+    }
+
+    @Override
+    public Optional<FeatureFlagModel> findByTenantIdAndKey(UUID tenantId, String key) {
+        return repository.findByTenantIdAndKey(tenantId, key).map(FeatureFlagSchema::toModel);
+    }
+
+    @Override
+    public List<FeatureFlagModel> findAllGlobal() {
+        return repository.findByTenantIdIsNull().stream()
+                .map(FeatureFlagSchema::toModel)
+                .toList();
+    }
+
+    @Override
+    public List<FeatureFlagModel> findByTenantId(UUID tenantId) {
+        // Tenant flags override global flags with the same key
+        Map<String, FeatureFlagModel> resolved = new LinkedHashMap<>();
+        for (FeatureFlagSchema global : repository.findByTenantIdIsNull()) {
+            resolved.put(global.getKey().toLowerCase(), global.toModel());
+        }
+        for (FeatureFlagSchema tenantFlag : repository.findByTenantId(tenantId)) {
+            resolved.put(tenantFlag.getKey().toLowerCase(), tenantFlag.toModel());
+        }
+        return List.copyOf(resolved.values());
+    }
+
+    @Override
+    public List<FeatureFlagModel> findTenantSpecificByTenantId(UUID tenantId) {
+        return repository.findByTenantId(tenantId).stream()
+                .map(FeatureFlagSchema::toModel)
+                .toList();
+    }
+
+    @Override
+    public boolean isFeatureEnabled(UUID tenantId, String key) {
+        return repository.findByTenantIdAndKey(tenantId, key)
+                .or(() -> repository.findByTenantIdAndKey(null, key))
+                .map(FeatureFlagSchema::isEnabled)
+                .orElse(false);
+    }
+
+    @Override
+    public boolean isGlobalFeatureEnabled(String key) {
+        return repository.findByTenantIdAndKey(null, key)
+                .map(FeatureFlagSchema::isEnabled)
+                .orElse(false);
+    }
+
+    private void invalidate(UUID tenantId) {
+        if (tenantId == null) {
+            cacheInvalidationGateway.publishRegion(CacheRegion.FEATURE_FLAGS);
+        } else {
+            cacheInvalidationGateway.publish(CacheRegion.FEATURE_FLAGS, tenantId.toString());
+        }
+    }
+
+    private void invalidateAll(List<FeatureFlagModel> flagModels) {
+        flagModels.stream()
+                .map(FeatureFlagModel::getTenantId)
+                .distinct()
+                .forEach(this::invalidate);
+    }
+
+    private String toRows(List<FeatureFlagModel> flagModels) {
+        ArrayNode rows = objectMapper.createArrayNode();
+        for (FeatureFlagModel flag : flagModels) {
+            ObjectNode row = rows.addObject();
+            row.put("id", (flag.getId() != null ? flag.getId() : UuidV7.next()).toString());
+            row.put("tenant_id", flag.getTenantId() != null ? flag.getTenantId().toString() : null);
+            row.put("key", flag.getKey());
+            row.put("value", flag.getValue() != null ? flag.getValue() : String.valueOf(flag.isEnabled()));
+            row.put("enabled", flag.isEnabled());
+        }
+        try {
+            return objectMapper.writeValueAsString(rows);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize feature flag rows", e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.kompu.api.infrastructure.featureflag.gateway;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.kompu.api.entity.featureflag.gateway.FeatureFlagTemplateGateway;
+import com.kompu.api.entity.featureflag.model.FeatureFlagTemplateModel;
+import com.kompu.api.infrastructure.config.db.repository.FeatureFlagTemplateRepository;
+import com.kompu.api.infrastructure.config.db.schema.FeatureFlagTemplateSchema;
+
+/**
+ * FeatureFlagTemplateDatabaseGateway - Database implementation of
+ * FeatureFlagTemplateGateway
+ */
+public class FeatureFlagTemplateDatabaseGateway implements FeatureFlagTemplateGateway {
+
+    private final FeatureFlagTemplateRepository repository;
+
+    public FeatureFlagTemplateDatabaseGateway(FeatureFlagTemplateRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public List<FeatureFlagTemplateModel> findEffectiveByPlanId(UUID planId) {
+        List<FeatureFlagTemplateSchema> templates = planId != null
+                ? repository.findEffectiveByPlanId(planId)
+                : repository.findEffectiveBase();
+        return templates.stream()
+                .map(FeatureFlagTemplateSchema::toModel)
+                .toList();
+    }
+
+    @Override
+    public List<FeatureFlagTemplateModel> findAll() {
+        return repository.findAll().stream()
+                .map(FeatureFlagTemplateSchema::toModel)
+                .toList();
+    }
+
+    @Override
+    public int findLatestVersion() {
+        return repository.findLatestVersion();
+    }
+
+    @Override
+    public FeatureFlagTemplateModel save(FeatureFlagTemplateModel templateModel) {
+        return repository.save(new FeatureFlagTemplateSchema(templateModel)).toModel();
+    }
+}
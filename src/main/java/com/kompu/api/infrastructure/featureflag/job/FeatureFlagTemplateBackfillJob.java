@@ -0,0 +1,50 @@
+package com.kompu.api.infrastructure.featureflag.job;
+
+import java.time.Duration;
+
+import com.kompu.api.infrastructure.shared.job.JobContext;
+import com.kompu.api.infrastructure.shared.job.JobTrigger;
+import com.kompu.api.infrastructure.shared.job.ScheduledJob;
+import com.kompu.api.usecase.featureflag.InitializeFeatureFlagsUseCase;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * FeatureFlagTemplateBackfillJob - Gives existing tenants the flags of
+ * templates added since the last run.
+ *
+ * Compares the latest template version with the one recorded in app_config
+ * and, when templates moved ahead, backfills every tenant in one statement
+ * and records the new version. A run with nothing new costs two lookups.
+ */
+@Slf4j
+public class FeatureFlagTemplateBackfillJob implements ScheduledJob {
+
+    private final InitializeFeatureFlagsUseCase initializeFeatureFlagsUseCase;
+    private final Duration interval;
+
+    public FeatureFlagTemplateBackfillJob(InitializeFeatureFlagsUseCase initializeFeatureFlagsUseCase,
+            Duration interval) {
+        this.initializeFeatureFlagsUseCase = initializeFeatureFlagsUseCase;
+        this.interval = interval;
+    }
+
+    @Override
+    public String name() {
+        return "feature-flag-template-backfill";
+    }
+
+    @Override
+    public JobTrigger trigger() {
+        return JobTrigger.fixedRate(interval);
+    }
+
+    @Override
+    public void run(JobContext context) {
+        int inserted = initializeFeatureFlagsUseCase.backfillPendingTemplates();
+        context.addProcessed(inserted);
+        if (inserted > 0) {
+            log.info("Backfilled {} tenant feature flags from new templates", inserted);
+        }
+    }
+}
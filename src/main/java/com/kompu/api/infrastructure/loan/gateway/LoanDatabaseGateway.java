@@ -0,0 +1,54 @@
+package com.kompu.api.infrastructure.loan.gateway;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+import com.kompu.api.entity.loan.gateway.LoanGateway;
+import com.kompu.api.entity.loan.model.LoanModel;
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
+import com.kompu.api.infrastructure.config.db.repository.LoanRepository;
+import com.kompu.api.infrastructure.config.db.schema.LoanSchema;
+import com.kompu.api.infrastructure.shared.pagination.KeysetPager;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * LoanDatabaseGateway - Database implementation of LoanGateway
+ */
+@Component
+@RequiredArgsConstructor
+public class LoanDatabaseGateway implements LoanGateway {
+
+    private final LoanRepository loanRepository;
+    private final KeysetPager keysetPager;
+
+    @Override
+    public Optional<LoanModel> findById(UUID id) {
+        return loanRepository.findById(id).map(LoanSchema::toModel);
+    }
+
+    @Override
+    public List<LoanModel> findByTenantId(UUID tenantId) {
+        return loanRepository.findByTenantId(tenantId).stream().map(LoanSchema::toModel).toList();
+    }
+
+    @Override
+    public CursorPage<LoanModel> findPageByTenantId(UUID tenantId, CursorPageRequest request) {
+        return keysetPager.page(request,
+                limit -> loanRepository.findFirstPageByTenantId(tenantId, limit),
+                (cursor, limit) -> loanRepository.findPageByTenantIdAfter(tenantId,
+                        KeysetPager.localCreatedAt(cursor), cursor.id(), limit),
+                row -> KeysetPager.cursorOf(row.getCreatedAt(), row.getId()),
+                LoanSchema::toModel);
+    }
+
+    @Override
+    public long forEachByTenantId(UUID tenantId, Consumer<? super LoanModel> consumer) {
+        return keysetPager.forEach(() -> loanRepository.streamByTenantId(tenantId), LoanSchema::toModel, consumer);
+    }
+}
@@ -0,0 +1,44 @@
+package com.kompu.api.infrastructure.member.controller;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.kompu.api.entity.member.model.MemberSummary;
+import com.kompu.api.infrastructure.config.web.response.WebHttpResponse;
+import com.kompu.api.infrastructure.config.web.security.util.TenantScope;
+import com.kompu.api.usecase.member.SearchMembersUseCase;
+
+/**
+ * MemberSearchController exposes fuzzy member lookup.
+ * 
+ * Endpoints:
+ * - GET /api/v1/members/search - Best matches on name, member code, phone or email
+ * 
+ * Results are limited to the caller's own tenant (ADMIN only, as they carry
+ * member contact details).
+ */
+@RestController
+@RequestMapping("/api/v1/members/search")
+public class MemberSearchController {
+
+    private final SearchMembersUseCase searchMembersUseCase;
+
+    public MemberSearchController(SearchMembersUseCase searchMembersUseCase) {
+        this.searchMembersUseCase = searchMembersUseCase;
+    }
+
+    @GetMapping
+    public ResponseEntity<WebHttpResponse<List<MemberSummary>>> search(
+            @RequestParam(required = false) UUID tenantId,
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(WebHttpResponse.ok(
+                searchMembersUseCase.search(TenantScope.resolve(tenantId), q, limit)));
+    }
+}
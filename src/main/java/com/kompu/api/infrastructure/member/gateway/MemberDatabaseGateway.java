@@ -1,22 +1,33 @@
 package com.kompu.api.infrastructure.member.gateway;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.springframework.stereotype.Service;
 
 import com.kompu.api.entity.member.gateway.MemberGateway;
 import com.kompu.api.entity.member.model.MemberModel;
+import com.kompu.api.entity.member.model.MemberSummary;
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
+import com.kompu.api.entity.shared.model.MetadataPatch;
 import com.kompu.api.infrastructure.config.db.repository.MemberRepository;
 import com.kompu.api.infrastructure.config.db.schema.MemberSchema;
+import com.kompu.api.infrastructure.shared.pagination.KeysetPager;
+import com.kompu.api.infrastructure.shared.search.LikePatterns;
 
 @Service
 public class MemberDatabaseGateway implements MemberGateway {
 
     private final MemberRepository memberRepository;
+    private final KeysetPager keysetPager;
 
-    public MemberDatabaseGateway(MemberRepository memberRepository) {
+    public MemberDatabaseGateway(MemberRepository memberRepository, KeysetPager keysetPager) {
         this.memberRepository = memberRepository;
+        this.keysetPager = keysetPager;
     }
 
     @Override
@@ -66,6 +77,40 @@ public class MemberDatabaseGateway implements MemberGateway {
                 .toList();
     }
 
+    @Override
+    public CursorPage<MemberModel> findPageByTenantId(UUID tenantId, CursorPageRequest request) {
+        return keysetPager.page(request,
+                limit -> memberRepository.findFirstPageByTenantId(tenantId, limit),
+                (cursor, limit) -> memberRepository.findPageByTenantIdAfter(tenantId,
+                        KeysetPager.localCreatedAt(cursor), cursor.id(), limit),
+                row -> KeysetPager.cursorOf(row.getCreatedAt(), row.getId()),
+                MemberSchema::toModel);
+    }
+
+    @Override
+    public CursorPage<MemberSummary> findSummaryPageByTenantId(UUID tenantId, CursorPageRequest request) {
+        return keysetPager.page(request,
+                limit -> memberRepository.findSummaryFirstPageByTenantId(tenantId, limit),
+                (cursor, limit) -> memberRepository.findSummaryPageByTenantIdAfter(tenantId,
+                        KeysetPager.localCreatedAt(cursor), cursor.id(), limit),
+                row -> KeysetPager.cursorOf(row.createdAt(), row.id()),
+                Function.identity());
+    }
+
+    @Override
+    public List<MemberSummary> searchFuzzy(UUID tenantId, String query, int limit) {
+        return memberRepository.searchFuzzy(tenantId, query, LikePatterns.contains(query), limit).stream()
+                .map(m -> new MemberSummary(m.getId(), m.getMemberCode(), m.getFullName(), m.getEmail(),
+                        m.getPhone(), m.getStatus(), m.getJoinedAt(), m.getCreatedAt()))
+                .toList();
+    }
+
+    @Override
+    public long forEachByTenantId(UUID tenantId, Consumer<? super MemberModel> consumer) {
+        return keysetPager.forEach(() -> memberRepository.streamByTenantId(tenantId), MemberSchema::toModel,
+                consumer);
+    }
+
     @Override
     public java.util.List<MemberModel> findActiveByTenantId(UUID tenantId) {
         return memberRepository.findByTenantIdAndStatus(tenantId, "active").stream()
@@ -77,4 +122,12 @@ public class MemberDatabaseGateway implements MemberGateway {
     public boolean existsById(UUID id) {
         return memberRepository.existsById(id);
     }
+
+    @Override
+    public boolean patchMetadata(UUID id, MetadataPatch patch) {
+        if (patch == null || patch.isEmpty()) {
+            return false;
+        }
+        return memberRepository.patchMetadata(id, patch.setJson(), patch.removedJson()) > 0;
+    }
 }
@@ -0,0 +1,76 @@
+package com.kompu.api.infrastructure.order.controller;
+
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.kompu.api.entity.order.model.OrderLine;
+import com.kompu.api.entity.order.model.PlacedOrder;
+import com.kompu.api.entity.order.model.SettledOrder;
+import com.kompu.api.infrastructure.config.web.response.WebHttpResponse;
+import com.kompu.api.infrastructure.config.web.security.util.TenantScope;
+import com.kompu.api.infrastructure.order.dto.PayOrderRequest;
+import com.kompu.api.infrastructure.order.dto.PlaceOrderRequest;
+import com.kompu.api.infrastructure.shared.idempotency.Idempotent;
+import com.kompu.api.usecase.order.PlaceOrderUseCase;
+import com.kompu.api.usecase.order.SettleOrderUseCase;
+
+import jakarta.validation.Valid;
+
+/**
+ * OrderController exposes order placement for POS and online checkouts.
+ * 
+ * Endpoints:
+ * - POST /api/v1/orders - Price, reserve stock and create the order with a pending payment
+ * - POST /api/v1/orders/{id}/payment - Record the payment and take the reserved stock out
+ * - POST /api/v1/orders/{id}/cancel - Cancel an unpaid order and give its stock back
+ *
+ * Orders go to the caller's own tenant; tenantId in the body may be left out.
+ * Checkouts should send an Idempotency-Key; a retried POST then gets the
+ * first order back instead of placing a second one. Paying or cancelling
+ * twice is harmless: the second call returns the order with changed false.
+ */
+@RestController
+@RequestMapping("/api/v1/orders")
+public class OrderController {
+
+    private final PlaceOrderUseCase placeOrderUseCase;
+    private final SettleOrderUseCase settleOrderUseCase;
+
+    public OrderController(PlaceOrderUseCase placeOrderUseCase, SettleOrderUseCase settleOrderUseCase) {
+        this.placeOrderUseCase = placeOrderUseCase;
+        this.settleOrderUseCase = settleOrderUseCase;
+    }
+
+    @Idempotent("orders.place")
+    @PostMapping
+    public ResponseEntity<WebHttpResponse<PlacedOrder>> place(@Valid @RequestBody PlaceOrderRequest request) {
+        PlacedOrder placed = placeOrderUseCase.place(
+                TenantScope.resolve(request.tenantId()), request.buyerId(), request.currency(), request.paymentProvider(),
+                request.lines().stream()
+                        .map(line -> new OrderLine(line.productId(), line.location(), line.quantity()))
+                        .toList());
+        return ResponseEntity.status(HttpStatus.CREATED).body(WebHttpResponse.created(placed));
+    }
+
+    @PostMapping("/{id}/payment")
+    public ResponseEntity<WebHttpResponse<SettledOrder>> pay(@PathVariable UUID id,
+            @RequestBody(required = false) PayOrderRequest request) {
+        PayOrderRequest body = request != null ? request : new PayOrderRequest(null, null);
+        return ResponseEntity.ok(WebHttpResponse.ok(settleOrderUseCase.pay(
+                TenantScope.resolve(body.tenantId()), id, body.providerReference())));
+    }
+
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<WebHttpResponse<SettledOrder>> cancel(@PathVariable UUID id,
+            @RequestParam(required = false) UUID tenantId) {
+        return ResponseEntity.ok(WebHttpResponse.ok(settleOrderUseCase.cancel(TenantScope.resolve(tenantId), id)));
+    }
+}
@@ -0,0 +1,10 @@
+package com.kompu.api.infrastructure.order.dto;
+
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record PayOrderRequest(
+        @JsonProperty("tenantId") UUID tenantId,
+        @JsonProperty("providerReference") String providerReference) {
+}
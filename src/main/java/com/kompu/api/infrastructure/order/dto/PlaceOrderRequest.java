@@ -0,0 +1,25 @@
+package com.kompu.api.infrastructure.order.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record PlaceOrderRequest(
+        @JsonProperty("tenantId") UUID tenantId,
+        @JsonProperty("buyerId") UUID buyerId,
+        @JsonProperty("currency") String currency,
+        @JsonProperty("paymentProvider") String paymentProvider,
+        @NotEmpty(message = "At least one line is required") @Valid @JsonProperty("lines") List<Line> lines) {
+
+    public record Line(
+            @NotNull(message = "Product ID is required") @JsonProperty("productId") UUID productId,
+            @JsonProperty("location") String location,
+            @NotNull(message = "Quantity is required") @Positive(message = "Quantity must be positive") @JsonProperty("quantity") Integer quantity) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.kompu.api.infrastructure.order.gateway;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.kompu.api.entity.order.gateway.OrderGateway;
+import com.kompu.api.entity.order.model.OrderModel;
+import com.kompu.api.entity.order.model.OrderSummary;
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
+import com.kompu.api.entity.shared.model.MetadataPatch;
+import com.kompu.api.infrastructure.config.db.repository.OrderRepository;
+import com.kompu.api.infrastructure.config.db.schema.OrderSchema;
+import com.kompu.api.infrastructure.shared.pagination.KeysetPager;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * OrderDatabaseGateway - Database implementation of OrderGateway
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderDatabaseGateway implements OrderGateway {
+
+    private final OrderRepository orderRepository;
+    private final KeysetPager keysetPager;
+
+    @Override
+    public Optional<OrderModel> findById(UUID id) {
+        return orderRepository.findById(id).map(OrderSchema::toModel);
+    }
+
+    @Override
+    public List<OrderModel> findByTenantId(UUID tenantId) {
+        return orderRepository.findByTenantId(tenantId).stream().map(OrderSchema::toModel).toList();
+    }
+
+    @Override
+    public CursorPage<OrderModel> findPageByTenantId(UUID tenantId, CursorPageRequest request) {
+        return keysetPager.page(request,
+                limit -> orderRepository.findFirstPageByTenantId(tenantId, limit),
+                (cursor, limit) -> orderRepository.findPageByTenantIdAfter(tenantId,
+                        KeysetPager.localCreatedAt(cursor), cursor.id(), limit),
+                row -> KeysetPager.cursorOf(row.getCreatedAt(), row.getId()),
+                OrderSchema::toModel);
+    }
+
+    @Override
+    public CursorPage<OrderSummary> findSummaryPageByTenantId(UUID tenantId, CursorPageRequest request) {
+        return keysetPager.page(request,
+                limit -> orderRepository.findSummaryFirstPageByTenantId(tenantId, limit),
+                (cursor, limit) -> orderRepository.findSummaryPageByTenantIdAfter(tenantId,
+                        KeysetPager.localCreatedAt(cursor), cursor.id(), limit),
+                row -> KeysetPager.cursorOf(row.createdAt(), row.id()),
+                Function.identity());
+    }
+
+    @Override
+    public long forEachByTenantId(UUID tenantId, Consumer<? super OrderModel> consumer) {
+        return keysetPager.forEach(() -> orderRepository.streamByTenantId(tenantId), OrderSchema::toModel, consumer);
+    }
+
+    @Override
+    public boolean patchMetadata(UUID id, MetadataPatch patch) {
+        if (patch == null || patch.isEmpty()) {
+            return false;
+        }
+        return orderRepository.patchMetadata(id, patch.setJson(), patch.removedJson()) > 0;
+    }
+}
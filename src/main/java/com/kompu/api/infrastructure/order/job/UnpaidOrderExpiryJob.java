@@ -0,0 +1,67 @@
+package com.kompu.api.infrastructure.order.job;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import com.kompu.api.entity.order.gateway.OrderSettlementGateway;
+import com.kompu.api.infrastructure.shared.job.JobContext;
+import com.kompu.api.infrastructure.shared.job.JobTrigger;
+import com.kompu.api.infrastructure.shared.job.ScheduledJob;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * UnpaidOrderExpiryJob - Expires sales orders still unpaid {@code ttl} after
+ * they were placed and gives their reserved stock back, so an abandoned
+ * checkout does not hold units for good.
+ *
+ * Orders are expired oldest first in batches of {@code batchSize}, each in
+ * its own short transaction.
+ */
+@Slf4j
+public class UnpaidOrderExpiryJob implements ScheduledJob {
+
+    private final OrderSettlementGateway orderSettlementGateway;
+    private final Duration interval;
+    private final Duration ttl;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Clock clock;
+
+    public UnpaidOrderExpiryJob(OrderSettlementGateway orderSettlementGateway, Duration interval, Duration ttl,
+            int batchSize, int maxBatchesPerRun, Clock clock) {
+        this.orderSettlementGateway = orderSettlementGateway;
+        this.interval = interval;
+        this.ttl = ttl;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.clock = clock;
+    }
+
+    @Override
+    public String name() {
+        return "unpaid-order-expiry";
+    }
+
+    @Override
+    public JobTrigger trigger() {
+        return JobTrigger.fixedRate(interval);
+    }
+
+    @Override
+    public void run(JobContext context) {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(ttl);
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            if (context.isCancelled()) {
+                return;
+            }
+            int expired = orderSettlementGateway.expireCreatedBefore(cutoff, batchSize);
+            context.addProcessed(expired);
+            if (expired < batchSize) {
+                return;
+            }
+        }
+        log.info("Unpaid order expiry stopped after {} batches; the rest waits for the next run", maxBatchesPerRun);
+    }
+}
@@ -0,0 +1,88 @@
+package com.kompu.api.infrastructure.order.number;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.kompu.api.entity.order.gateway.OrderNumberGateway;
+
+/**
+ * OrderNumberAllocator - Implements OrderNumberGateway with per-tenant
+ * blocks of numbers reserved from app.order_number_counters.
+ *
+ * A node takes {@code blockSize} numbers in one committed statement and then
+ * hands them out from memory, so the counter row is touched once per block
+ * instead of once per order and never inside an order transaction. Numbers
+ * left in a block when a node stops, or when its tenant is evicted after
+ * {@code maxTenants}, are skipped.
+ */
+public class OrderNumberAllocator implements OrderNumberGateway {
+
+    private static final String RESERVE_BLOCK = """
+            INSERT INTO app.order_number_counters AS c (tenant_id, next_value)
+            VALUES (?, 1 + ?)
+            ON CONFLICT (tenant_id) DO UPDATE
+               SET next_value = c.next_value + EXCLUDED.next_value - 1,
+                   updated_at = now()
+            RETURNING c.next_value
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String prefix;
+    private final int blockSize;
+    private final Map<UUID, Block> blocks;
+
+    public OrderNumberAllocator(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, String prefix,
+            int blockSize, int maxTenants) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Blocks must commit on their own, whatever the caller is running in
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate = transactionTemplate;
+        this.prefix = prefix;
+        this.blockSize = blockSize;
+        this.blocks = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Block> eldest) {
+                return size() > maxTenants;
+            }
+        };
+    }
+
+    @Override
+    public String next(UUID tenantId) {
+        Block block;
+        synchronized (blocks) {
+            block = blocks.computeIfAbsent(tenantId, id -> new Block());
+        }
+        long value;
+        synchronized (block) {
+            if (block.next >= block.end) {
+                long end = reserve(tenantId);
+                block.next = end - blockSize;
+                block.end = end;
+            }
+            value = block.next++;
+        }
+        return prefix + String.format("%08d", value);
+    }
+
+    // Returns the first value after the reserved block
+    private long reserve(UUID tenantId) {
+        Long end = transactionTemplate.execute(
+                status -> jdbcTemplate.queryForObject(RESERVE_BLOCK, Long.class, tenantId, blockSize));
+        if (end == null) {
+            throw new IllegalStateException("No order number block returned for tenant " + tenantId);
+        }
+        return end;
+    }
+
+    private static final class Block {
+        private long next;
+        private long end;
+    }
+}
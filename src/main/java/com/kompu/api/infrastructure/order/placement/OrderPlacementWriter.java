@@ -0,0 +1,149 @@
+package com.kompu.api.infrastructure.order.placement;
+
+import java.util.UUID;
+
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.kompu.api.entity.order.gateway.OrderPlacementGateway;
+import com.kompu.api.entity.order.model.OrderItemModel;
+import com.kompu.api.entity.order.model.OrderModel;
+import com.kompu.api.entity.order.model.OrderPlacement;
+import com.kompu.api.entity.payment.model.PaymentModel;
+import com.kompu.api.entity.product.exception.InsufficientStockException;
+import com.kompu.api.entity.product.gateway.InventoryGateway;
+import com.kompu.api.entity.shared.gateway.OutboxGateway;
+import com.kompu.api.infrastructure.config.db.repository.OrderRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * OrderPlacementWriter - Implements OrderPlacementGateway as one transaction
+ * of three statements: the order, items and payment in a single multi-table
+ * insert, the outbox event, and the stock reservation for every line.
+ *
+ * The reservation goes last because it locks the shared inventories rows;
+ * they are then held only for the commit, not for the inserts as well.
+ *
+ * Metrics: order_placement.latency and
+ * order_placement.results{result=placed|out_of_stock|failed}.
+ */
+public class OrderPlacementWriter implements OrderPlacementGateway {
+
+    private final OrderRepository orderRepository;
+    private final InventoryGateway inventoryGateway;
+    private final OutboxGateway outboxGateway;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Timer latency;
+    private final Counter placed;
+    private final Counter outOfStock;
+    private final Counter failed;
+
+    public OrderPlacementWriter(OrderRepository orderRepository, InventoryGateway inventoryGateway,
+            OutboxGateway outboxGateway, TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.inventoryGateway = inventoryGateway;
+        this.outboxGateway = outboxGateway;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.latency = Timer.builder("order_placement.latency")
+                .description("Time spent in the order placement transaction")
+                .register(meterRegistry);
+        this.placed = result(meterRegistry, "placed");
+        this.outOfStock = result(meterRegistry, "out_of_stock");
+        this.failed = result(meterRegistry, "failed");
+    }
+
+    @Override
+    public void place(OrderPlacement placement) {
+        // Serialized before the transaction opens so it stays as short as possible
+        String orderRow = write(orderRow(placement.order()));
+        String itemRows = write(itemRows(placement));
+        String paymentRow = write(paymentRow(placement.payment()));
+        UUID tenantId = placement.order().getTenantId();
+        try {
+            latency.record(() -> transactionTemplate.executeWithoutResult(status -> {
+                orderRepository.insertPlaced(orderRow, itemRows, paymentRow);
+                outboxGateway.publish(placement.event());
+                inventoryGateway.reserveAll(tenantId, placement.stock());
+            }));
+            placed.increment();
+        } catch (InsufficientStockException e) {
+            outOfStock.increment();
+            throw e;
+        } catch (RuntimeException e) {
+            failed.increment();
+            throw e;
+        }
+    }
+
+    private ObjectNode orderRow(OrderModel order) {
+        ObjectNode row = objectMapper.createObjectNode();
+        row.put("id", order.getId().toString());
+        row.put("tenant_id", order.getTenantId().toString());
+        row.put("order_number", order.getOrderNumber());
+        row.put("order_type", order.getOrderType());
+        row.put("buyer_id", order.getBuyerId() != null ? order.getBuyerId().toString() : null);
+        putJson(row, "buyer_snapshot", order.getBuyerSnapshot());
+        row.put("status", order.getStatus());
+        row.put("total_amount", order.getTotalAmount());
+        row.put("currency", order.getCurrency());
+        putJson(row, "metadata", order.getMetadata());
+        return row;
+    }
+
+    private ArrayNode itemRows(OrderPlacement placement) {
+        ArrayNode rows = objectMapper.createArrayNode();
+        for (OrderItemModel item : placement.items()) {
+            ObjectNode row = rows.addObject();
+            row.put("id", item.getId().toString());
+            row.put("product_id", item.getProductId().toString());
+            putJson(row, "product_snapshot", item.getProductSnapshot());
+            row.put("quantity", item.getQuantity());
+            row.put("unit_price", item.getUnitPrice());
+        }
+        return rows;
+    }
+
+    private ObjectNode paymentRow(PaymentModel payment) {
+        ObjectNode row = objectMapper.createObjectNode();
+        row.put("id", payment.getId().toString());
+        row.put("payment_provider", payment.getPaymentProvider());
+        row.put("amount", payment.getAmount());
+        row.put("currency", payment.getCurrency());
+        row.put("status", payment.getStatus());
+        return row;
+    }
+
+    // Snapshots are stored as jsonb; embed them as documents, not strings, without parsing them again
+    private static void putJson(ObjectNode row, String field, String raw) {
+        if (raw == null) {
+            row.putNull(field);
+        } else {
+            row.putRawValue(field, new RawValue(raw));
+        }
+    }
+
+    private String write(JsonNode node) {
+        try {
+            return objectMapper.writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize order rows", e);
+        }
+    }
+
+    private static Counter result(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("order_placement.results")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
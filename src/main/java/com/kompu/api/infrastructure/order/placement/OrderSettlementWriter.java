@@ -0,0 +1,96 @@
+package com.kompu.api.infrastructure.order.placement;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.entity.order.gateway.OrderSettlementGateway;
+import com.kompu.api.entity.order.model.OrderModel;
+import com.kompu.api.entity.product.gateway.InventoryGateway;
+import com.kompu.api.entity.product.model.StockLine;
+import com.kompu.api.infrastructure.config.db.repository.OrderRepository;
+import com.kompu.api.infrastructure.config.db.schema.OrderSchema;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * OrderSettlementWriter - Implements OrderSettlementGateway as one
+ * transaction of two statements: the order and its payment leave created
+ * together, returning the order's lines, and those lines are then committed
+ * or released on the inventories rows OrderPlacementWriter reserved them on.
+ *
+ * The status change is conditional on the order still being created, so of
+ * two concurrent settlements (a payment racing a cancellation or the expiry
+ * job) exactly one touches the stock.
+ *
+ * Metrics: order_settlement.results{result=paid|cancelled|expired}.
+ */
+public class OrderSettlementWriter implements OrderSettlementGateway {
+
+    private static final TypeReference<List<StockLine>> STOCK_LINES = new TypeReference<>() {
+    };
+
+    private final OrderRepository orderRepository;
+    private final InventoryGateway inventoryGateway;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public OrderSettlementWriter(OrderRepository orderRepository, InventoryGateway inventoryGateway,
+            TransactionTemplate transactionTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.inventoryGateway = inventoryGateway;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Optional<String> settle(UUID tenantId, UUID orderId, String status, String providerReference) {
+        Optional<String> previous = transactionTemplate.execute(transaction -> {
+            String lines = orderRepository.settleCreated(tenantId, orderId, status, providerReference);
+            if (lines == null) {
+                return orderRepository.findStatus(tenantId, orderId);
+            }
+            List<StockLine> stock = read(lines);
+            if (OrderModel.STATUS_PAID.equals(status)) {
+                inventoryGateway.commitAll(tenantId, stock);
+            } else {
+                inventoryGateway.releaseAll(tenantId, stock);
+            }
+            return Optional.of(OrderModel.STATUS_CREATED);
+        });
+        if (previous.filter(OrderModel.STATUS_CREATED::equals).isPresent()) {
+            meterRegistry.counter("order_settlement.results", "result", status).increment();
+        }
+        return previous;
+    }
+
+    @Override
+    public int expireCreatedBefore(LocalDateTime cutoff, int limit) {
+        int expired = 0;
+        for (OrderSchema order : orderRepository.findCreatedSalesBefore(cutoff, Limit.of(limit))) {
+            // Paid or cancelled since the lookup: the conditional update leaves it alone
+            if (settle(order.getTenantId(), order.getId(), OrderModel.STATUS_EXPIRED, null)
+                    .filter(OrderModel.STATUS_CREATED::equals).isPresent()) {
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    private List<StockLine> read(String lines) {
+        try {
+            return objectMapper.readValue(lines, STOCK_LINES);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read order lines", e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.kompu.api.infrastructure.permission.gateway;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.kompu.api.entity.permission.exception.PermissionNotFoundException;
+import com.kompu.api.entity.permission.gateway.PermissionGateway;
+import com.kompu.api.entity.permission.model.PermissionModel;
+import com.kompu.api.infrastructure.shared.cache.ReferenceDataCache;
+
+/**
+ * CachedPermissionGateway - Read-through cache in front of PermissionGateway
+ */
+public class CachedPermissionGateway implements PermissionGateway {
+
+    public static final String BY_ID = "id";
+    public static final String BY_CODE = "code";
+
+    private final PermissionGateway delegate;
+    private final ReferenceDataCache<PermissionModel> cache;
+
+    public CachedPermissionGateway(PermissionGateway delegate, ReferenceDataCache<PermissionModel> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public PermissionModel create(PermissionModel permissionModel) {
+        return delegate.create(permissionModel);
+    }
+
+    @Override
+    public PermissionModel update(PermissionModel permissionModel) {
+        return delegate.update(permissionModel);
+    }
+
+    @Override
+    public void delete(UUID id) throws PermissionNotFoundException {
+        delegate.delete(id);
+    }
+
+    @Override
+    public Optional<PermissionModel> findById(UUID id) {
+        return cache.find(BY_ID, id).or(() -> delegate.findById(id));
+    }
+
+    @Override
+    public Optional<PermissionModel> findByCode(String code) {
+        return cache.find(BY_CODE, code).or(() -> delegate.findByCode(code));
+    }
+
+    @Override
+    public List<PermissionModel> findAll() {
+        return cache.getAll();
+    }
+}
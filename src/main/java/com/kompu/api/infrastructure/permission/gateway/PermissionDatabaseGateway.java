@@ -7,25 +7,33 @@ import java.util.UUID;
 import com.kompu.api.entity.permission.exception.PermissionNotFoundException;
 import com.kompu.api.entity.permission.gateway.PermissionGateway;
 import com.kompu.api.entity.permission.model.PermissionModel;
+import com.kompu.api.entity.shared.gateway.CacheInvalidationGateway;
+import com.kompu.api.entity.shared.model.CacheRegion;
 import com.kompu.api.infrastructure.config.db.repository.PermissionRepository;
 import com.kompu.api.infrastructure.config.db.schema.PermissionSchema;
 
 public class PermissionDatabaseGateway implements PermissionGateway {
 
     private final PermissionRepository repository;
+    private final CacheInvalidationGateway cacheInvalidationGateway;
 
-    public PermissionDatabaseGateway(PermissionRepository repository) {
+    public PermissionDatabaseGateway(PermissionRepository repository, CacheInvalidationGateway cacheInvalidationGateway) {
         this.repository = repository;
+        this.cacheInvalidationGateway = cacheInvalidationGateway;
     }
 
     @Override
     public PermissionModel create(PermissionModel permissionModel) {
-        return repository.save(new PermissionSchema(permissionModel)).toPermissionModel();
+        PermissionModel saved = repository.save(new PermissionSchema(permissionModel)).toPermissionModel();
+        cacheInvalidationGateway.publish(CacheRegion.PERMISSIONS, saved.getId().toString());
+        return saved;
     }
 
     @Override
     public PermissionModel update(PermissionModel permissionModel) {
-        return repository.save(new PermissionSchema(permissionModel)).toPermissionModel();
+        PermissionModel saved = repository.save(new PermissionSchema(permissionModel)).toPermissionModel();
+        cacheInvalidationGateway.publish(CacheRegion.PERMISSIONS, saved.getId().toString());
+        return saved;
     }
 
     @Override
@@ -34,6 +42,7 @@ public class PermissionDatabaseGateway implements PermissionGateway {
             throw new PermissionNotFoundException();
         }
         repository.deleteById(id);
+        cacheInvalidationGateway.publish(CacheRegion.PERMISSIONS, id.toString());
     }
 
     @Override
@@ -0,0 +1,181 @@
+package com.kompu.api.infrastructure.product.catalog;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.kompu.api.entity.product.gateway.ProductCatalogGateway;
+import com.kompu.api.entity.product.model.ProductModel;
+import com.kompu.api.entity.shared.gateway.CacheInvalidationGateway;
+import com.kompu.api.entity.shared.model.CacheInvalidationEvent;
+import com.kompu.api.entity.shared.model.CacheRegion;
+import com.kompu.api.infrastructure.config.db.repository.ProductRepository;
+import com.kompu.api.infrastructure.config.db.schema.ProductSchema;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * ProductCatalogCache - Read-through cache of products by id, per tenant,
+ * implementing ProductCatalogGateway.
+ *
+ * Products are loaded on first use, all misses of one lookup in a single
+ * query, and kept for up to {@code maxTenants} tenants, least recently used
+ * evicted first. It listens to the same PRODUCTS cache region as the search
+ * index: {@code tenantId:productId,...} drops those products, a bare tenant
+ * id drops the tenant and a region-wide event drops everything. A load that
+ * raced with an invalidation of its tenant is served once but not kept.
+ *
+ * Metrics: product_catalog.cache.requests{result=hit|miss} (per product) and
+ * product_catalog.tenants.
+ */
+public class ProductCatalogCache implements ProductCatalogGateway {
+
+    private final ProductRepository productRepository;
+    private final CacheInvalidationGateway cacheInvalidationGateway;
+    private final MeterRegistry meterRegistry;
+    private final Map<UUID, TenantCatalog> tenants;
+    private final Counter hits;
+    private final Counter misses;
+
+    public ProductCatalogCache(ProductRepository productRepository,
+            CacheInvalidationGateway cacheInvalidationGateway, int maxTenants, MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.cacheInvalidationGateway = cacheInvalidationGateway;
+        this.meterRegistry = meterRegistry;
+        this.tenants = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, TenantCatalog> eldest) {
+                return size() > maxTenants;
+            }
+        };
+        this.hits = Counter.builder("product_catalog.cache.requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("product_catalog.cache.requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    // Registered once constructed, so neither the registry nor the bus sees a half-built cache
+    public void start() {
+        Gauge.builder("product_catalog.tenants", this, ProductCatalogCache::loadedTenants)
+                .description("Tenants with cached catalog products")
+                .register(meterRegistry);
+        cacheInvalidationGateway.subscribe(CacheRegion.PRODUCTS, this::onInvalidation);
+    }
+
+    @Override
+    public Map<UUID, ProductModel> findByIds(UUID tenantId, Collection<UUID> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return Map.of();
+        }
+        TenantCatalog catalog = catalogFor(tenantId);
+        Map<UUID, ProductModel> found = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : productIds) {
+            ProductModel product = catalog.products().get(id);
+            if (product != null) {
+                found.put(id, product);
+            } else {
+                missing.add(id);
+            }
+        }
+        hits.increment(found.size());
+        if (missing.isEmpty()) {
+            return found;
+        }
+        misses.increment(missing.size());
+        long generation = catalog.generation().get();
+        List<ProductModel> loaded = productRepository.findByTenantIdAndIdIn(tenantId, missing).stream()
+                .map(ProductSchema::toModel)
+                .toList();
+        for (ProductModel product : loaded) {
+            found.put(product.getId(), product);
+        }
+        if (catalog.generation().get() == generation) {
+            loaded.forEach(product -> catalog.products().put(product.getId(), product));
+            // An invalidation may have slipped in after the check; undo rather than keep stale rows
+            if (catalog.generation().get() != generation) {
+                loaded.forEach(product -> catalog.products().remove(product.getId()));
+            }
+        }
+        return found;
+    }
+
+    private TenantCatalog catalogFor(UUID tenantId) {
+        synchronized (tenants) {
+            return tenants.computeIfAbsent(tenantId, id -> new TenantCatalog());
+        }
+    }
+
+    private void onInvalidation(CacheInvalidationEvent event) {
+        // The local copy arrives inside the writing transaction; act once it commits
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(event);
+                }
+            });
+        } else {
+            apply(event);
+        }
+    }
+
+    private void apply(CacheInvalidationEvent event) {
+        if (event.isRegionWide()) {
+            synchronized (tenants) {
+                tenants.values().forEach(TenantCatalog::clear);
+                tenants.clear();
+            }
+            return;
+        }
+        String key = event.getKey();
+        int separator = key.indexOf(':');
+        UUID tenantId = UUID.fromString(separator < 0 ? key : key.substring(0, separator));
+        TenantCatalog catalog;
+        synchronized (tenants) {
+            catalog = separator < 0 ? tenants.remove(tenantId) : tenants.get(tenantId);
+        }
+        if (catalog == null) {
+            return;
+        }
+        if (separator < 0) {
+            catalog.clear();
+            return;
+        }
+        catalog.generation().incrementAndGet();
+        for (String id : key.substring(separator + 1).split(",")) {
+            catalog.products().remove(UUID.fromString(id));
+        }
+    }
+
+    private int loadedTenants() {
+        synchronized (tenants) {
+            return tenants.size();
+        }
+    }
+
+    private record TenantCatalog(Map<UUID, ProductModel> products, AtomicLong generation) {
+
+        TenantCatalog() {
+            this(new ConcurrentHashMap<>(), new AtomicLong());
+        }
+
+        void clear() {
+            generation.incrementAndGet();
+            products.clear();
+        }
+    }
+}
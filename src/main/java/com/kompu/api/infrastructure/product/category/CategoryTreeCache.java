@@ -0,0 +1,112 @@
+package com.kompu.api.infrastructure.product.category;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.kompu.api.entity.product.model.CategoryTree;
+import com.kompu.api.entity.shared.gateway.CacheInvalidationGateway;
+import com.kompu.api.entity.shared.model.CacheInvalidationEvent;
+import com.kompu.api.entity.shared.model.CacheRegion;
+import com.kompu.api.infrastructure.config.db.repository.ProductCategoryRepository;
+import com.kompu.api.infrastructure.config.db.schema.ProductCategorySchema;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * CategoryTreeCache - Keeps one {@link CategoryTree} per tenant in memory.
+ * 
+ * A tenant's tree is loaded with a single query on first use and kept for up
+ * to {@code maxTenants} tenants, least recently used evicted first; callers
+ * that arrive during the load wait for it instead of loading again. Category
+ * writes are announced on the PRODUCT_CATEGORIES cache region keyed by tenant
+ * id, and every node drops that tenant's tree once the write has committed.
+ * 
+ * Metrics: product_categories.tenants.
+ */
+public class CategoryTreeCache {
+
+    private final ProductCategoryRepository repository;
+    private final CacheInvalidationGateway cacheInvalidationGateway;
+    private final MeterRegistry meterRegistry;
+    private final Map<UUID, CompletableFuture<CategoryTree>> trees;
+
+    public CategoryTreeCache(ProductCategoryRepository repository, CacheInvalidationGateway cacheInvalidationGateway,
+            int maxTenants, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.cacheInvalidationGateway = cacheInvalidationGateway;
+        this.meterRegistry = meterRegistry;
+        this.trees = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, CompletableFuture<CategoryTree>> eldest) {
+                return size() > maxTenants;
+            }
+        };
+    }
+
+    // Registered once constructed, so neither the registry nor the bus sees a half-built cache
+    public void start() {
+        Gauge.builder("product_categories.tenants", this, CategoryTreeCache::loadedTenants)
+                .description("Tenants with a category tree in memory")
+                .register(meterRegistry);
+        cacheInvalidationGateway.subscribe(CacheRegion.PRODUCT_CATEGORIES, this::onInvalidation);
+    }
+
+    public CategoryTree get(UUID tenantId) {
+        CompletableFuture<CategoryTree> created = new CompletableFuture<>();
+        CompletableFuture<CategoryTree> tree;
+        synchronized (trees) {
+            tree = trees.putIfAbsent(tenantId, created);
+        }
+        if (tree != null) {
+            return tree.join();
+        }
+        try {
+            List<ProductCategorySchema> rows = repository.findByTenantId(tenantId);
+            created.complete(CategoryTree.of(tenantId, rows.stream().map(ProductCategorySchema::toModel).toList()));
+        } catch (RuntimeException e) {
+            synchronized (trees) {
+                trees.remove(tenantId, created);
+            }
+            created.completeExceptionally(e);
+            throw e;
+        }
+        return created.join();
+    }
+
+    private void onInvalidation(CacheInvalidationEvent event) {
+        // The local copy arrives inside the writing transaction; a reload now would miss the write
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(event);
+                }
+            });
+        } else {
+            apply(event);
+        }
+    }
+
+    private void apply(CacheInvalidationEvent event) {
+        synchronized (trees) {
+            if (event.isRegionWide()) {
+                trees.clear();
+            } else {
+                trees.remove(UUID.fromString(event.getKey()));
+            }
+        }
+    }
+
+    private int loadedTenants() {
+        synchronized (trees) {
+            return trees.size();
+        }
+    }
+}
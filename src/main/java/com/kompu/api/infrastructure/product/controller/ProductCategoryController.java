@@ -0,0 +1,62 @@
+package com.kompu.api.infrastructure.product.controller;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.kompu.api.entity.product.model.CategoryNode;
+import com.kompu.api.entity.product.model.ProductCategoryModel;
+import com.kompu.api.entity.product.model.ProductSummary;
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
+import com.kompu.api.infrastructure.config.web.response.WebHttpResponse;
+import com.kompu.api.infrastructure.config.web.security.util.TenantScope;
+import com.kompu.api.usecase.product.BrowseCategoriesUseCase;
+
+/**
+ * ProductCategoryController exposes category browsing.
+ * 
+ * Endpoints:
+ * - GET /api/v1/product-categories/tree - The tenant's category hierarchy
+ * - GET /api/v1/product-categories/{id}/path - Breadcrumb from the root
+ * - GET /api/v1/product-categories/{id}/products - Products in the category and its subcategories
+ */
+@RestController
+@RequestMapping("/api/v1/product-categories")
+public class ProductCategoryController {
+
+    private final BrowseCategoriesUseCase browseCategoriesUseCase;
+
+    public ProductCategoryController(BrowseCategoriesUseCase browseCategoriesUseCase) {
+        this.browseCategoriesUseCase = browseCategoriesUseCase;
+    }
+
+    @GetMapping("/tree")
+    public ResponseEntity<WebHttpResponse<List<CategoryNode>>> tree(@RequestParam(required = false) UUID tenantId) {
+        return ResponseEntity.ok(WebHttpResponse.ok(
+                browseCategoriesUseCase.tree(TenantScope.resolve(tenantId))));
+    }
+
+    @GetMapping("/{id}/path")
+    public ResponseEntity<WebHttpResponse<List<ProductCategoryModel>>> path(@PathVariable UUID id,
+            @RequestParam(required = false) UUID tenantId) {
+        return ResponseEntity.ok(WebHttpResponse.ok(
+                browseCategoriesUseCase.path(TenantScope.resolve(tenantId), id)));
+    }
+
+    @GetMapping("/{id}/products")
+    public ResponseEntity<WebHttpResponse<CursorPage<ProductSummary>>> products(@PathVariable UUID id,
+            @RequestParam(required = false) UUID tenantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(WebHttpResponse.ok(
+                browseCategoriesUseCase.products(TenantScope.resolve(tenantId), id,
+                        CursorPageRequest.after(cursor, limit))));
+    }
+}
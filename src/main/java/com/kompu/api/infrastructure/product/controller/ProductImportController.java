@@ -0,0 +1,112 @@
+package com.kompu.api.infrastructure.product.controller;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.UUID;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.entity.product.exception.InvalidProductImportException;
+import com.kompu.api.entity.product.model.ProductImportRow;
+import com.kompu.api.entity.product.model.ProductImportSummary;
+import com.kompu.api.infrastructure.config.web.security.util.TenantScope;
+import com.kompu.api.infrastructure.product.importer.ProductCsvReader;
+import com.kompu.api.infrastructure.product.importer.ProductNdjsonReader;
+import com.kompu.api.usecase.product.ImportProductsUseCase;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * ProductImportController exposes bulk catalog import.
+ * 
+ * Endpoints:
+ * - POST /api/v1/products/import - Create or update products from a CSV or
+ * NDJSON request body
+ * 
+ * The format comes from the format parameter (csv or ndjson) or else the
+ * Content-Type. The body is read while the response is written: the response
+ * is NDJSON with one line per rejected record as it is found, then a final
+ * line with the ProductImportSummary. A missing feature flag or an unusable
+ * CSV header fails the request before anything is streamed.
+ */
+@RestController
+@RequestMapping("/api/v1/products")
+public class ProductImportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ImportProductsUseCase importProductsUseCase;
+    private final ObjectMapper objectMapper;
+
+    public ProductImportController(ImportProductsUseCase importProductsUseCase, ObjectMapper objectMapper) {
+        this.importProductsUseCase = importProductsUseCase;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping("/import")
+    public ResponseEntity<StreamingResponseBody> importProducts(@RequestParam(required = false) UUID tenantId,
+            @RequestParam(required = false) String format,
+            HttpServletRequest request) throws IOException {
+        UUID scopedTenantId = TenantScope.resolve(tenantId);
+        importProductsUseCase.validate(scopedTenantId);
+        InputStream input = request.getInputStream();
+        Iterator<ProductImportRow> rows = switch (resolveFormat(format, request.getContentType())) {
+            case "csv" -> new ProductCsvReader(input);
+            default -> new ProductNdjsonReader(input, objectMapper);
+        };
+        StreamingResponseBody body = outputStream -> {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            try {
+                ProductImportSummary summary = importProductsUseCase.importProducts(scopedTenantId, rows, error -> {
+                    try {
+                        writer.write(objectMapper.writeValueAsString(error));
+                        writer.newLine();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.write(objectMapper.writeValueAsString(summary));
+                writer.newLine();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                ((Closeable) rows).close();
+            }
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    private static String resolveFormat(String format, String contentType) {
+        if (format != null && !format.isBlank()) {
+            String normalized = format.trim().toLowerCase(Locale.ROOT);
+            if (!normalized.equals("csv") && !normalized.equals("ndjson")) {
+                throw new InvalidProductImportException("format must be csv or ndjson");
+            }
+            return normalized;
+        }
+        String type = contentType != null ? contentType.toLowerCase(Locale.ROOT) : "";
+        if (type.startsWith("text/csv")) {
+            return "csv";
+        }
+        if (type.startsWith("application/x-ndjson") || type.startsWith("application/jsonl")) {
+            return "ndjson";
+        }
+        throw new InvalidProductImportException(
+                "Pass format=csv or format=ndjson, or send text/csv or application/x-ndjson");
+    }
+}
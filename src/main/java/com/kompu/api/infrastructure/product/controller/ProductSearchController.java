@@ -0,0 +1,54 @@
+package com.kompu.api.infrastructure.product.controller;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.kompu.api.entity.product.model.ProductSearchResult;
+import com.kompu.api.infrastructure.config.web.response.WebHttpResponse;
+import com.kompu.api.infrastructure.config.web.security.util.TenantScope;
+import com.kompu.api.usecase.product.SearchProductsUseCase;
+
+/**
+ * ProductSearchController exposes type-ahead product search.
+ * 
+ * Endpoints:
+ * - GET /api/v1/products/search - Ranked hits with category and price facets
+ * - POST /api/v1/products/search/rebuild - Rebuild a tenant's index on every node
+ */
+@RestController
+@RequestMapping("/api/v1/products/search")
+public class ProductSearchController {
+
+    private final SearchProductsUseCase searchProductsUseCase;
+
+    public ProductSearchController(SearchProductsUseCase searchProductsUseCase) {
+        this.searchProductsUseCase = searchProductsUseCase;
+    }
+
+    @GetMapping
+    public ResponseEntity<WebHttpResponse<ProductSearchResult>> search(
+            @RequestParam(required = false) UUID tenantId,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "false") boolean includeInactive,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(WebHttpResponse.ok(
+                searchProductsUseCase.search(TenantScope.resolve(tenantId), q, categoryId, minPrice, maxPrice,
+                        includeInactive, limit)));
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<WebHttpResponse<Void>> rebuild(@RequestParam(required = false) UUID tenantId) {
+        searchProductsUseCase.rebuild(TenantScope.resolve(tenantId));
+        return ResponseEntity.accepted().body(WebHttpResponse.ok(null));
+    }
+}
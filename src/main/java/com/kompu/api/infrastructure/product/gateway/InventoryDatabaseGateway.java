@@ -0,0 +1,154 @@
+package com.kompu.api.infrastructure.product.gateway;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.kompu.api.entity.product.exception.InsufficientStockException;
+import com.kompu.api.entity.product.gateway.InventoryGateway;
+import com.kompu.api.entity.product.model.InventoryKey;
+import com.kompu.api.entity.product.model.InventoryModel;
+import com.kompu.api.entity.product.model.StockLine;
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
+import com.kompu.api.entity.shared.model.PageCursor;
+import com.kompu.api.infrastructure.config.db.repository.InventoryRepository;
+import com.kompu.api.infrastructure.config.db.schema.InventorySchema;
+import com.kompu.api.infrastructure.shared.pagination.KeysetPager;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * InventoryDatabaseGateway - Database implementation of InventoryGateway.
+ * Multi-line stock changes are sent as one JSON document and applied by a
+ * single conditional statement that locks the rows in id order.
+ */
+@Component
+@RequiredArgsConstructor
+public class InventoryDatabaseGateway implements InventoryGateway {
+
+    private final InventoryRepository inventoryRepository;
+    private final KeysetPager keysetPager;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Optional<InventoryModel> findById(UUID id) {
+        return inventoryRepository.findById(id).map(InventorySchema::toModel);
+    }
+
+    @Override
+    public List<InventoryModel> findByTenantId(UUID tenantId) {
+        return inventoryRepository.findByTenantId(tenantId).stream().map(InventorySchema::toModel).toList();
+    }
+
+    @Override
+    public CursorPage<InventoryModel> findPageByTenantId(UUID tenantId, CursorPageRequest request) {
+        return keysetPager.page(request,
+                limit -> inventoryRepository.findFirstPageByTenantId(tenantId, limit),
+                (cursor, limit) -> inventoryRepository.findPageByTenantIdAfter(tenantId, cursor.id(), limit),
+                row -> PageCursor.of(row.getId()),
+                InventorySchema::toModel);
+    }
+
+    @Override
+    public long forEachByTenantId(UUID tenantId, Consumer<? super InventoryModel> consumer) {
+        return keysetPager.forEach(() -> inventoryRepository.streamByTenantId(tenantId), InventorySchema::toModel,
+                consumer);
+    }
+
+    @Override
+    public void reserveAll(UUID tenantId, List<StockLine> lines) {
+        List<StockLine> merged = merge(lines);
+        if (merged.isEmpty()) {
+            return;
+        }
+        if (inventoryRepository.reserveAll(tenantId, toRows(merged)).size() < merged.size()) {
+            throw shortLine(tenantId, merged, row -> row.getQuantity() - row.getReserved());
+        }
+    }
+
+    @Override
+    public void releaseAll(UUID tenantId, List<StockLine> lines) {
+        List<StockLine> merged = merge(lines);
+        if (!merged.isEmpty()) {
+            inventoryRepository.settleAll(tenantId, toRows(merged), false);
+        }
+    }
+
+    @Override
+    public void commitAll(UUID tenantId, List<StockLine> lines) {
+        List<StockLine> merged = merge(lines);
+        if (merged.isEmpty()) {
+            return;
+        }
+        if (inventoryRepository.settleAll(tenantId, toRows(merged), true).size() < merged.size()) {
+            throw shortLine(tenantId, merged, InventorySchema::getQuantity);
+        }
+    }
+
+    // One row per product and location; the statement joins on that pair
+    private static List<StockLine> merge(List<StockLine> lines) {
+        if (lines == null || lines.isEmpty()) {
+            return List.of();
+        }
+        Map<LineKey, Long> units = new LinkedHashMap<>();
+        for (StockLine line : lines) {
+            units.merge(new LineKey(line.productId(), line.location()), line.quantity(), Long::sum);
+        }
+        List<StockLine> merged = new ArrayList<>(units.size());
+        units.forEach((key, quantity) -> merged.add(new StockLine(key.productId(), key.location(), quantity)));
+        return merged;
+    }
+
+    /**
+     * The statement changed nothing; look up which line was short for the
+     * error. Only read after the fact, so it may name a different line than
+     * the one that failed under concurrent changes.
+     */
+    private InsufficientStockException shortLine(UUID tenantId, List<StockLine> lines,
+            ToLongFunction<InventorySchema> available) {
+        for (StockLine line : lines) {
+            long units = inventoryRepository
+                    .findByTenantIdAndProductIdAndLocation(tenantId, line.productId(), line.location())
+                    .filter(row -> row.getDeletedAt() == null)
+                    .map(available::applyAsLong)
+                    .orElse(0L);
+            if (units < line.quantity()) {
+                return new InsufficientStockException(
+                        new InventoryKey(tenantId, line.productId(), line.location()), line.quantity());
+            }
+        }
+        StockLine first = lines.get(0);
+        return new InsufficientStockException(new InventoryKey(tenantId, first.productId(), first.location()),
+                first.quantity());
+    }
+
+    private String toRows(List<StockLine> lines) {
+        ArrayNode rows = objectMapper.createArrayNode();
+        for (StockLine line : lines) {
+            ObjectNode row = rows.addObject();
+            row.put("product_id", line.productId().toString());
+            row.put("location", line.location());
+            row.put("quantity", line.quantity());
+        }
+        try {
+            return objectMapper.writeValueAsString(rows);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize stock lines", e);
+        }
+    }
+
+    private record LineKey(UUID productId, String location) {
+    }
+}
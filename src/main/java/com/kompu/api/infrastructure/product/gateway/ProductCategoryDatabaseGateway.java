@@ -0,0 +1,81 @@
+package com.kompu.api.infrastructure.product.gateway;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.kompu.api.entity.product.exception.InvalidCategoryHierarchyException;
+import com.kompu.api.entity.product.gateway.ProductCategoryGateway;
+import com.kompu.api.entity.product.model.CategoryTree;
+import com.kompu.api.entity.product.model.ProductCategoryModel;
+import com.kompu.api.entity.shared.gateway.CacheInvalidationGateway;
+import com.kompu.api.entity.shared.model.CacheRegion;
+import com.kompu.api.infrastructure.config.db.repository.ProductCategoryRepository;
+import com.kompu.api.infrastructure.config.db.schema.ProductCategorySchema;
+import com.kompu.api.infrastructure.product.category.CategoryTreeCache;
+
+/**
+ * ProductCategoryDatabaseGateway - Database implementation of
+ * ProductCategoryGateway. Hierarchy reads come from the
+ * {@link CategoryTreeCache}; writes invalidate the PRODUCT_CATEGORIES cache
+ * region keyed by tenant ID. Parent changes are checked against the cached
+ * tree here and again by the closure table trigger. The trigger takes a
+ * per-tenant advisory lock first, so concurrent moves are checked one after
+ * the other and cannot build a cycle between them.
+ */
+public class ProductCategoryDatabaseGateway implements ProductCategoryGateway {
+
+    private final ProductCategoryRepository repository;
+    private final CategoryTreeCache treeCache;
+    private final CacheInvalidationGateway cacheInvalidationGateway;
+
+    public ProductCategoryDatabaseGateway(ProductCategoryRepository repository, CategoryTreeCache treeCache,
+            CacheInvalidationGateway cacheInvalidationGateway) {
+        this.repository = repository;
+        this.treeCache = treeCache;
+        this.cacheInvalidationGateway = cacheInvalidationGateway;
+    }
+
+    @Override
+    public Optional<ProductCategoryModel> findById(UUID id) {
+        return repository.findById(id).map(ProductCategorySchema::toModel);
+    }
+
+    @Override
+    public CategoryTree tree(UUID tenantId) {
+        return treeCache.get(tenantId);
+    }
+
+    @Override
+    public ProductCategoryModel save(ProductCategoryModel category) {
+        UUID parentId = category.getParentId();
+        if (parentId != null) {
+            CategoryTree tree = treeCache.get(category.getTenantId());
+            if (!tree.contains(parentId)) {
+                throw new InvalidCategoryHierarchyException("Parent category " + parentId + " does not exist");
+            }
+            if (category.getId() != null && tree.isInSubtree(category.getId(), parentId)) {
+                throw new InvalidCategoryHierarchyException(
+                        "A category cannot be moved under itself or one of its subcategories");
+            }
+        }
+        ProductCategoryModel saved = repository.save(new ProductCategorySchema(category)).toModel();
+        invalidate(saved.getTenantId());
+        return saved;
+    }
+
+    @Override
+    public void delete(UUID id) {
+        repository.findById(id)
+                .filter(category -> category.getDeletedAt() == null)
+                .ifPresent(category -> {
+                    category.setDeletedAt(LocalDateTime.now());
+                    repository.save(category);
+                    invalidate(category.getTenantId());
+                });
+    }
+
+    private void invalidate(UUID tenantId) {
+        cacheInvalidationGateway.publish(CacheRegion.PRODUCT_CATEGORIES, tenantId.toString());
+    }
+}
@@ -0,0 +1,86 @@
+package com.kompu.api.infrastructure.product.gateway;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.kompu.api.entity.product.gateway.ProductGateway;
+import com.kompu.api.entity.product.model.ProductModel;
+import com.kompu.api.entity.product.model.ProductSummary;
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
+import com.kompu.api.entity.shared.model.MetadataPatch;
+import com.kompu.api.infrastructure.config.db.repository.ProductRepository;
+import com.kompu.api.infrastructure.config.db.schema.ProductSchema;
+import com.kompu.api.infrastructure.shared.pagination.KeysetPager;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * ProductDatabaseGateway - Database implementation of ProductGateway
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductDatabaseGateway implements ProductGateway {
+
+    private final ProductRepository productRepository;
+    private final KeysetPager keysetPager;
+
+    @Override
+    public Optional<ProductModel> findById(UUID id) {
+        return productRepository.findById(id).map(ProductSchema::toModel);
+    }
+
+    @Override
+    public List<ProductModel> findByTenantId(UUID tenantId) {
+        return productRepository.findByTenantId(tenantId).stream().map(ProductSchema::toModel).toList();
+    }
+
+    @Override
+    public CursorPage<ProductModel> findPageByTenantId(UUID tenantId, CursorPageRequest request) {
+        return keysetPager.page(request,
+                limit -> productRepository.findFirstPageByTenantId(tenantId, limit),
+                (cursor, limit) -> productRepository.findPageByTenantIdAfter(tenantId,
+                        KeysetPager.localCreatedAt(cursor), cursor.id(), limit),
+                row -> KeysetPager.cursorOf(row.getCreatedAt(), row.getId()),
+                ProductSchema::toModel);
+    }
+
+    @Override
+    public CursorPage<ProductSummary> findSummaryPageByTenantId(UUID tenantId, CursorPageRequest request) {
+        return keysetPager.page(request,
+                limit -> productRepository.findSummaryFirstPageByTenantId(tenantId, limit),
+                (cursor, limit) -> productRepository.findSummaryPageByTenantIdAfter(tenantId,
+                        KeysetPager.localCreatedAt(cursor), cursor.id(), limit),
+                row -> KeysetPager.cursorOf(row.createdAt(), row.id()),
+                Function.identity());
+    }
+
+    @Override
+    public CursorPage<ProductSummary> findSummaryPageByCategorySubtree(UUID tenantId, UUID categoryId,
+            CursorPageRequest request) {
+        return keysetPager.page(request,
+                limit -> productRepository.findSummaryFirstPageByCategorySubtree(tenantId, categoryId, limit),
+                (cursor, limit) -> productRepository.findSummaryPageByCategorySubtreeAfter(tenantId, categoryId,
+                        KeysetPager.localCreatedAt(cursor), cursor.id(), limit),
+                row -> KeysetPager.cursorOf(row.createdAt(), row.id()),
+                Function.identity());
+    }
+
+    @Override
+    public long forEachByTenantId(UUID tenantId, Consumer<? super ProductModel> consumer) {
+        return keysetPager.forEach(() -> productRepository.streamByTenantId(tenantId), ProductSchema::toModel, consumer);
+    }
+
+    @Override
+    public boolean patchMetadata(UUID id, MetadataPatch patch) {
+        if (patch == null || patch.isEmpty()) {
+            return false;
+        }
+        return productRepository.patchMetadata(id, patch.setJson(), patch.removedJson()) > 0;
+    }
+}
@@ -0,0 +1,43 @@
+package com.kompu.api.infrastructure.product.importer;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import com.kompu.api.entity.product.model.ProductImportRow;
+
+/**
+ * Column names shared by the CSV header and the NDJSON object fields
+ */
+final class ImportColumns {
+
+    static final String SKU = "sku";
+    static final String NAME = "name";
+    static final String DESCRIPTION = "description";
+    static final String CATEGORY = "category";
+    static final String PRICE = "price";
+    static final String COST_PRICE = "cost_price";
+    static final String WEIGHT_GRAMS = "weight_grams";
+    static final String ACTIVE = "active";
+    static final String METADATA = "metadata";
+
+    static final List<String> ALL = List.of(SKU, NAME, DESCRIPTION, CATEGORY, PRICE, COST_PRICE, WEIGHT_GRAMS,
+            ACTIVE, METADATA);
+    static final List<String> REQUIRED = List.of(SKU, NAME, PRICE);
+
+    private ImportColumns() {
+    }
+
+    static ProductImportRow toRow(long line, UnaryOperator<String> values) {
+        return new ProductImportRow(line,
+                values.apply(SKU),
+                values.apply(NAME),
+                values.apply(DESCRIPTION),
+                values.apply(CATEGORY),
+                values.apply(PRICE),
+                values.apply(COST_PRICE),
+                values.apply(WEIGHT_GRAMS),
+                values.apply(ACTIVE),
+                values.apply(METADATA),
+                null);
+    }
+}
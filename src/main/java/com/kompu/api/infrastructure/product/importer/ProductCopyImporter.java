@@ -0,0 +1,168 @@
+package com.kompu.api.infrastructure.product.importer;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.kompu.api.entity.product.gateway.ProductImportGateway;
+import com.kompu.api.entity.product.model.ProductImportResult;
+import com.kompu.api.entity.product.model.ProductModel;
+
+/**
+ * ProductCopyImporter - ProductImportGateway that loads each chunk with COPY.
+ * 
+ * A chunk is streamed into a session temp table with COPY, then merged into
+ * app.products by one statement: staged SKUs are matched against live
+ * products on (tenant_id, lower(sku)), matches are updated and the rest
+ * inserted. Columns left empty in the file keep their current value. The
+ * whole chunk is one transaction under a per-tenant advisory lock, so two
+ * imports for a tenant cannot both insert the same new SKU.
+ * 
+ * Rows written here bypass the JPA entity listeners; the caller is expected
+ * to rebuild whatever caches depend on the tenant's products.
+ */
+public class ProductCopyImporter implements ProductImportGateway {
+
+    private static final String CREATE_STAGING_SQL = """
+            CREATE TEMP TABLE IF NOT EXISTS product_import_staging (
+              sku text NOT NULL,
+              name text NOT NULL,
+              description text,
+              category_id uuid,
+              price numeric(14,2) NOT NULL,
+              cost_price numeric(14,2),
+              weight_grams integer,
+              is_active boolean,
+              metadata jsonb
+            ) ON COMMIT DELETE ROWS
+            """;
+
+    private static final String COPY_SQL = """
+            COPY product_import_staging
+              (sku, name, description, category_id, price, cost_price, weight_grams, is_active, metadata)
+            FROM STDIN (FORMAT csv)
+            """;
+
+    private static final String MERGE_SQL = """
+            WITH matched AS (
+                SELECT s.*, p.id AS product_id
+                FROM product_import_staging s
+                LEFT JOIN LATERAL (
+                    SELECT p.id
+                    FROM app.products p
+                    WHERE p.tenant_id = ?
+                      AND lower(p.sku) = lower(s.sku)
+                      AND p.deleted_at IS NULL
+                    ORDER BY p.created_at
+                    LIMIT 1
+                ) p ON true
+            ),
+            updated AS (
+                UPDATE app.products p
+                   SET name = m.name,
+                       description = COALESCE(m.description, p.description),
+                       category_id = COALESCE(m.category_id, p.category_id),
+                       price = m.price,
+                       cost_price = COALESCE(m.cost_price, p.cost_price),
+                       weight_grams = COALESCE(m.weight_grams, p.weight_grams),
+                       is_active = COALESCE(m.is_active, p.is_active),
+                       metadata = COALESCE(p.metadata, '{}'::jsonb) || COALESCE(m.metadata, '{}'::jsonb),
+                       updated_at = now()
+                FROM matched m
+                WHERE p.id = m.product_id
+                RETURNING p.id
+            ),
+            inserted AS (
+                INSERT INTO app.products
+                    (id, tenant_id, sku, name, description, category_id, price, cost_price, weight_grams,
+                     is_active, metadata, created_at, updated_at)
+                SELECT app.uuid_generate_v7(), ?, m.sku, m.name, m.description, m.category_id, m.price,
+                       m.cost_price, m.weight_grams, COALESCE(m.is_active, true),
+                       COALESCE(m.metadata, '{}'::jsonb), now(), now()
+                FROM matched m
+                WHERE m.product_id IS NULL
+                RETURNING id
+            )
+            SELECT (SELECT count(*) FROM inserted) AS inserted,
+                   (SELECT count(*) FROM updated) AS updated
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductCopyImporter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public ProductImportResult upsertBySku(UUID tenantId, List<ProductModel> products) {
+        if (products == null || products.isEmpty()) {
+            return new ProductImportResult(0, 0);
+        }
+        String csv = toCsv(products);
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(hashtextextended(?, 0))", Object.class,
+                    "product_import:" + tenantId);
+            jdbcTemplate.execute(CREATE_STAGING_SQL);
+            jdbcTemplate.execute((ConnectionCallback<Long>) connection -> copy(connection, csv));
+            return jdbcTemplate.queryForObject(MERGE_SQL,
+                    (rs, rowNum) -> new ProductImportResult(rs.getInt("inserted"), rs.getInt("updated")),
+                    tenantId, tenantId);
+        });
+    }
+
+    private static long copy(Connection connection, String csv) throws SQLException {
+        try {
+            return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, new StringReader(csv));
+        } catch (IOException e) {
+            throw new SQLException("COPY into product_import_staging failed", e);
+        }
+    }
+
+    // Every value quoted; an unquoted empty field is NULL to COPY
+    private static String toCsv(List<ProductModel> products) {
+        StringBuilder csv = new StringBuilder(products.size() * 128);
+        for (ProductModel product : products) {
+            field(csv, product.getSku()).append(',');
+            field(csv, product.getName()).append(',');
+            field(csv, product.getDescription()).append(',');
+            field(csv, product.getCategoryId()).append(',');
+            field(csv, plain(product.getPrice())).append(',');
+            field(csv, plain(product.getCostPrice())).append(',');
+            field(csv, product.getWeightGrams()).append(',');
+            field(csv, product.getIsActive()).append(',');
+            field(csv, product.getMetadata() != null ? product.getMetadata().toString() : null).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static StringBuilder field(StringBuilder csv, Object value) {
+        if (value == null) {
+            return csv;
+        }
+        String text = value.toString();
+        csv.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                csv.append('"');
+            }
+            csv.append(c);
+        }
+        return csv.append('"');
+    }
+
+    private static String plain(BigDecimal value) {
+        return value != null ? value.toPlainString() : null;
+    }
+}
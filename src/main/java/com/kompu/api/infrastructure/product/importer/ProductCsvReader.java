@@ -0,0 +1,238 @@
+package com.kompu.api.infrastructure.product.importer;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import com.kompu.api.entity.product.exception.InvalidProductImportException;
+import com.kompu.api.entity.product.model.ProductImportRow;
+
+/**
+ * ProductCsvReader - Reads product records from an RFC 4180 CSV stream one
+ * record at a time.
+ * 
+ * The header is read by the constructor so a file that cannot be imported at
+ * all is rejected before any response is written. Quoted fields may contain
+ * separators, doubled quotes and line breaks; a record that cannot be parsed
+ * becomes an unreadable row and reading carries on with the next record.
+ * Only the current record is held in memory, and a field is capped at
+ * {@link #MAX_FIELD_LENGTH} characters so one bad quote cannot swallow the
+ * rest of the file into memory.
+ */
+public class ProductCsvReader implements Iterator<ProductImportRow>, Closeable {
+
+    static final int MAX_FIELD_LENGTH = 64 * 1024;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int NONE = -2;
+
+    private final BufferedReader reader;
+    private final int[] positions;
+    private final int fieldCount;
+    private long line = 1;
+    private int pushedBack = NONE;
+    private ProductImportRow next;
+
+    public ProductCsvReader(InputStream input) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), BUFFER_SIZE);
+        skipByteOrderMark();
+        Record header = readRecord();
+        if (header == null) {
+            throw new InvalidProductImportException("The file is empty");
+        }
+        if (header.error() != null) {
+            throw new InvalidProductImportException("Header: " + header.error());
+        }
+        this.fieldCount = header.fields().size();
+        this.positions = headerPositions(header.fields());
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readRow();
+        }
+        return next != null;
+    }
+
+    @Override
+    public ProductImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ProductImportRow row = next;
+        next = null;
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private ProductImportRow readRow() {
+        Record record;
+        do {
+            record = readRecord();
+        } while (record != null && record.isBlank());
+        if (record == null) {
+            return null;
+        }
+        if (record.error() != null) {
+            return ProductImportRow.unreadable(record.line(), record.error());
+        }
+        List<String> fields = record.fields();
+        if (fields.size() != fieldCount) {
+            return ProductImportRow.unreadable(record.line(),
+                    "Expected " + fieldCount + " fields, found " + fields.size());
+        }
+        return ImportColumns.toRow(record.line(), column -> {
+            int position = positions[ImportColumns.ALL.indexOf(column)];
+            return position < 0 ? null : fields.get(position);
+        });
+    }
+
+    // Position of each known column in the header, -1 when absent
+    private static int[] headerPositions(List<String> header) {
+        int[] positions = new int[ImportColumns.ALL.size()];
+        Arrays.fill(positions, -1);
+        Map<String, Integer> seen = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+            int column = ImportColumns.ALL.indexOf(name);
+            if (column < 0) {
+                throw new InvalidProductImportException("Unknown column '" + header.get(i).trim()
+                        + "', expected some of " + ImportColumns.ALL);
+            }
+            if (seen.putIfAbsent(name, i) != null) {
+                throw new InvalidProductImportException("Column '" + name + "' appears more than once");
+            }
+            positions[column] = i;
+        }
+        for (String required : ImportColumns.REQUIRED) {
+            if (!seen.containsKey(required)) {
+                throw new InvalidProductImportException("Missing required column '" + required + "'");
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * One record, or null at the end of the input. Parsing errors are kept
+     * on the record after consuming the rest of it, so the next call starts
+     * on a record boundary.
+     */
+    private Record readRecord() {
+        long start = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean inQuotes = false;
+        boolean closed = false;
+        String error = null;
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        while (true) {
+            if (inQuotes) {
+                if (c == -1) {
+                    error = "Quoted field is not terminated";
+                    break;
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        append(field, '"');
+                    } else {
+                        inQuotes = false;
+                        closed = true;
+                        pushedBack = following;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    append(field, (char) c);
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                quoted = false;
+                closed = false;
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        pushedBack = following;
+                    }
+                }
+                if (c != -1) {
+                    line++;
+                }
+                break;
+            } else if (c == '"' && !quoted && field.isEmpty()) {
+                quoted = true;
+                inQuotes = true;
+            } else if (closed) {
+                if (error == null) {
+                    error = "Unexpected character after a closing quote";
+                }
+            } else {
+                append(field, (char) c);
+            }
+            if (field.length() > MAX_FIELD_LENGTH && error == null) {
+                error = "Field is longer than " + MAX_FIELD_LENGTH + " characters";
+            }
+            c = read();
+        }
+        fields.add(field.toString());
+        return new Record(start, fields, error);
+    }
+
+    private static void append(StringBuilder field, char c) {
+        // Past the limit the record is already failed; keep consuming without growing
+        if (field.length() <= MAX_FIELD_LENGTH) {
+            field.append(c);
+        }
+    }
+
+    private int read() {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        try {
+            return reader.read();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void skipByteOrderMark() {
+        int c = read();
+        if (c != '\uFEFF') {
+            pushedBack = c;
+        }
+    }
+
+    private record Record(long line, List<String> fields, String error) {
+
+        boolean isBlank() {
+            return error == null && fields.size() == 1 && fields.get(0).isBlank();
+        }
+    }
+}
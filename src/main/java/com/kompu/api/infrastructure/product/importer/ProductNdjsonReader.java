@@ -0,0 +1,136 @@
+package com.kompu.api.infrastructure.product.importer;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.entity.product.model.ProductImportRow;
+
+/**
+ * ProductNdjsonReader - Reads product records from a stream with one JSON
+ * object per line.
+ * 
+ * Fields use the CSV column names. Scalars are taken as text so both readers
+ * hand the use case the same raw values; {@code metadata} must be an object.
+ * A line that is not a JSON object, has unknown fields or is longer than
+ * {@link #MAX_LINE_LENGTH} characters becomes an unreadable row.
+ */
+public class ProductNdjsonReader implements Iterator<ProductImportRow>, Closeable {
+
+    static final int MAX_LINE_LENGTH = 1024 * 1024;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private final StringBuilder buffer = new StringBuilder();
+    private long line;
+    private boolean eof;
+    private ProductImportRow next;
+
+    public ProductNdjsonReader(InputStream input, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null && !eof) {
+            next = readRow();
+        }
+        return next != null;
+    }
+
+    @Override
+    public ProductImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ProductImportRow row = next;
+        next = null;
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // Null for blank lines and at the end of the input
+    private ProductImportRow readRow() {
+        boolean tooLong = readLine();
+        line++;
+        if (tooLong) {
+            return ProductImportRow.unreadable(line, "Line is longer than " + MAX_LINE_LENGTH + " characters");
+        }
+        if (buffer.isEmpty() || buffer.toString().isBlank()) {
+            return null;
+        }
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(buffer.toString());
+        } catch (JsonProcessingException e) {
+            return ProductImportRow.unreadable(line, "Invalid JSON: " + e.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            return ProductImportRow.unreadable(line, "Expected a JSON object");
+        }
+        for (String field : (Iterable<String>) node::fieldNames) {
+            if (!ImportColumns.ALL.contains(field)) {
+                return ProductImportRow.unreadable(line, "Unknown field '" + field + "'");
+            }
+        }
+        JsonNode metadata = node.get(ImportColumns.METADATA);
+        if (metadata != null && !metadata.isNull() && !metadata.isObject()) {
+            return ProductImportRow.unreadable(line, "Field 'metadata' must be an object");
+        }
+        return ImportColumns.toRow(line, column -> text(node.get(column)));
+    }
+
+    private static String text(JsonNode value) {
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        if (value.isContainerNode()) {
+            return value.toString();
+        }
+        return value.isNumber() ? value.decimalValue().toPlainString() : value.asText();
+    }
+
+    /**
+     * Fill the buffer with the next line, without its terminator. Returns true
+     * when the line was cut at the length limit; the rest of it is skipped.
+     */
+    private boolean readLine() {
+        buffer.setLength(0);
+        boolean tooLong = false;
+        try {
+            int c;
+            while ((c = reader.read()) != -1 && c != '\n') {
+                if (buffer.length() < MAX_LINE_LENGTH) {
+                    buffer.append((char) c);
+                } else {
+                    tooLong = true;
+                }
+            }
+            if (c == -1) {
+                eof = true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!buffer.isEmpty() && buffer.charAt(buffer.length() - 1) == '\r') {
+            buffer.setLength(buffer.length() - 1);
+        }
+        return tooLong;
+    }
+}
@@ -0,0 +1,455 @@
+package com.kompu.api.infrastructure.product.inventory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.kompu.api.entity.product.exception.InsufficientStockException;
+import com.kompu.api.entity.product.gateway.InventoryReservationGateway;
+import com.kompu.api.entity.product.model.InventoryKey;
+import com.kompu.api.entity.product.model.InventoryReservation;
+import com.kompu.api.entity.shared.util.UuidV7;
+import com.kompu.api.infrastructure.config.db.repository.InventoryRepository;
+import com.kompu.api.infrastructure.config.db.repository.InventoryReservationRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * InventoryLedger - In-memory admission and group commit for stock
+ * reservations.
+ *
+ * Every inventories row in use has an entry whose {@code available} counter
+ * is the row's {@code quantity - reserved} less the reservations still on
+ * their way to the database. A reservation takes its units from that counter
+ * with a compare-and-set, so requests for stock that is plainly gone are
+ * turned away without touching the database or taking a lock.
+ *
+ * Admitted reservations are written by a single flusher thread every
+ * {@code flushInterval}: per inventories row the queued units go out as one
+ * conditional {@code UPDATE ... WHERE quantity - reserved >= :units}, rows in
+ * id order, and the reservation rows in one multi-row insert, all in one
+ * transaction. The reservation's future completes only after that commit, so
+ * a confirmed reservation is durable and, with several nodes sharing the
+ * stock, the database condition is what rules out overselling; the counter is
+ * only a local estimate. When a whole group does not fit, its reservations
+ * are tried one by one in arrival order and the ones that do not fit fail
+ * with {@link InsufficientStockException}.
+ *
+ * Releases, commits and expiries give the units back to the counter at once
+ * and reach the database with the next flush, before that flush's new
+ * reservations. Expiry deadlines live on a {@link TimingWheel} advanced by the
+ * flusher; reservations left behind by a node that died are expired by
+ * {@link InventoryReservationExpiryJob}.
+ *
+ * Metrics: inventory.ledger.reservations{outcome}, inventory.ledger.flush and
+ * inventory.ledger.entries.
+ */
+@Slf4j
+public class InventoryLedger implements InventoryReservationGateway {
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryReservationRepository reservationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration defaultTtl;
+    private final long flushIntervalMillis;
+    private final long refreshIntervalMillis;
+    private final long idleMillis;
+
+    private final Map<InventoryKey, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<UUID, Hold> holds = new ConcurrentHashMap<>();
+    private final Queue<Hold> pendingReserves = new ConcurrentLinkedQueue<>();
+    private final Queue<Settlement> pendingSettlements = new ConcurrentLinkedQueue<>();
+    private final TimingWheel<Hold> wheel;
+
+    private final Counter confirmed;
+    private final Counter rejected;
+    private final Counter failed;
+    private final Counter released;
+    private final Counter committed;
+    private final Counter expired;
+    private final Timer flushTimer;
+
+    private ScheduledExecutorService flusher;
+    private long lastEviction;
+
+    public InventoryLedger(InventoryRepository inventoryRepository,
+            InventoryReservationRepository reservationRepository, TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry, Duration defaultTtl, Duration flushInterval,
+            Duration refreshInterval, Duration idleTimeout, Duration wheelTick, int wheelSlots) {
+        this.inventoryRepository = inventoryRepository;
+        this.reservationRepository = reservationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.defaultTtl = defaultTtl;
+        this.flushIntervalMillis = Math.max(1, flushInterval.toMillis());
+        this.refreshIntervalMillis = refreshInterval.toMillis();
+        this.idleMillis = idleTimeout.toMillis();
+        this.wheel = new TimingWheel<>(wheelTick, wheelSlots, System.currentTimeMillis());
+        this.confirmed = reservations(meterRegistry, "confirmed");
+        this.rejected = reservations(meterRegistry, "rejected");
+        this.failed = reservations(meterRegistry, "failed");
+        this.released = reservations(meterRegistry, "released");
+        this.committed = reservations(meterRegistry, "committed");
+        this.expired = reservations(meterRegistry, "expired");
+        this.flushTimer = Timer.builder("inventory.ledger.flush")
+                .description("Time to write one group of reservations and settlements")
+                .register(meterRegistry);
+        Gauge.builder("inventory.ledger.entries", entries, Map::size)
+                .description("Inventory rows with an in-memory stock counter")
+                .register(meterRegistry);
+    }
+
+    private static Counter reservations(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("inventory.ledger.reservations")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public synchronized void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inventory-ledger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            flusher = null;
+            // Write whatever was admitted before the executor stopped
+            flushSafely();
+        }
+    }
+
+    @Override
+    public CompletableFuture<InventoryReservation> reserve(InventoryKey key, long quantity, Duration ttl) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("quantity must be positive");
+        }
+        Optional<Entry> found = entryFor(key);
+        if (found.isEmpty()) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new InsufficientStockException(key, quantity));
+        }
+        Entry entry = found.get();
+        entry.lastUsed = System.currentTimeMillis();
+        if (!entry.take(quantity) && !(refresh(entry, false) && entry.take(quantity))) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new InsufficientStockException(key, quantity));
+        }
+        Instant expiresAt = Instant.now().plus(ttl != null ? ttl : defaultTtl);
+        Hold hold = new Hold(new InventoryReservation(UuidV7.next(), key, quantity, expiresAt), entry);
+        entry.inFlight.addAndGet(quantity);
+        holds.put(hold.reservation.id(), hold);
+        pendingReserves.add(hold);
+        return hold.future;
+    }
+
+    @Override
+    public void release(UUID reservationId) {
+        settle(reservationId, Status.RELEASED);
+    }
+
+    @Override
+    public void commit(UUID reservationId) {
+        settle(reservationId, Status.COMMITTED);
+    }
+
+    private void settle(UUID reservationId, Status target) {
+        Hold hold = holds.get(reservationId);
+        if (hold == null) {
+            // Reserved on another node or before a restart: the database knows it by id
+            pendingSettlements.add(new Settlement(reservationId, target));
+            return;
+        }
+        while (true) {
+            Status current = hold.status.get();
+            if (current != Status.PENDING && current != Status.HELD) {
+                return;
+            }
+            if (hold.status.compareAndSet(current, target)) {
+                if (target != Status.COMMITTED) {
+                    hold.entry.available.addAndGet(hold.reservation.quantity());
+                }
+                (target == Status.COMMITTED ? committed : released).increment();
+                if (current == Status.HELD) {
+                    holds.remove(reservationId);
+                    pendingSettlements.add(new Settlement(reservationId, target));
+                }
+                // A PENDING hold is settled by the flush that writes it
+                return;
+            }
+        }
+    }
+
+    private Optional<Entry> entryFor(InventoryKey key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            return Optional.of(entry);
+        }
+        // Loaded outside the map so a slow query does not block other keys
+        return inventoryRepository.findByTenantIdAndProductIdAndLocation(key.tenantId(), key.productId(),
+                key.location())
+                .filter(inventory -> inventory.getDeletedAt() == null)
+                .map(inventory -> {
+                    Entry loaded = new Entry(inventory.getId(),
+                            inventory.getQuantity() - inventory.getReserved());
+                    Entry existing = entries.putIfAbsent(key, loaded);
+                    return existing != null ? existing : loaded;
+                });
+    }
+
+    /**
+     * Reload the counter from the database, at most once per refresh interval
+     * unless forced; stock added or released elsewhere shows up this way
+     */
+    private boolean refresh(Entry entry, boolean force) {
+        long now = System.currentTimeMillis();
+        long last = entry.refreshedAt.get();
+        if (!force && now - last < refreshIntervalMillis) {
+            return false;
+        }
+        if (!entry.refreshedAt.compareAndSet(last, now)) {
+            return false;
+        }
+        Optional<Long> available = inventoryRepository.findAvailable(entry.inventoryId);
+        entry.available.set(available.orElse(0L) - entry.inFlight.get());
+        return true;
+    }
+
+    private void flushSafely() {
+        try {
+            flushTimer.record(this::flush);
+        } catch (RuntimeException e) {
+            log.error("Inventory ledger flush failed", e);
+        }
+    }
+
+    // One pass of the flusher: expiries, then settlements, then new reservations
+    void flush() {
+        long now = System.currentTimeMillis();
+        wheel.advance(now, this::expire);
+        flushSettlements();
+        flushReserves();
+        if (now - lastEviction >= idleMillis) {
+            lastEviction = now;
+            entries.values().removeIf(entry -> now - entry.lastUsed >= idleMillis && entry.inFlight.get() == 0);
+        }
+    }
+
+    private void expire(Hold hold) {
+        if (hold.status.compareAndSet(Status.HELD, Status.EXPIRED)) {
+            hold.entry.available.addAndGet(hold.reservation.quantity());
+            holds.remove(hold.reservation.id());
+            pendingSettlements.add(new Settlement(hold.reservation.id(), Status.EXPIRED));
+            expired.increment();
+        }
+    }
+
+    private void flushSettlements() {
+        if (pendingSettlements.isEmpty()) {
+            return;
+        }
+        Map<Status, List<UUID>> byStatus = new EnumMap<>(Status.class);
+        List<Settlement> drained = new ArrayList<>();
+        for (Settlement settlement; (settlement = pendingSettlements.poll()) != null;) {
+            drained.add(settlement);
+            byStatus.computeIfAbsent(settlement.status(), status -> new ArrayList<>()).add(settlement.id());
+        }
+        try {
+            transactionTemplate.executeWithoutResult(tx -> byStatus.forEach(
+                    (status, ids) -> reservationRepository.settle(toJson(ids), status.name())));
+        } catch (RuntimeException e) {
+            // Settling is idempotent, so the next flush simply tries again
+            pendingSettlements.addAll(drained);
+            throw e;
+        }
+    }
+
+    private void flushReserves() {
+        if (pendingReserves.isEmpty()) {
+            return;
+        }
+        Map<Entry, List<Hold>> byEntry = new LinkedHashMap<>();
+        for (Hold hold; (hold = pendingReserves.poll()) != null;) {
+            byEntry.computeIfAbsent(hold.entry, entry -> new ArrayList<>()).add(hold);
+        }
+        List<Entry> order = new ArrayList<>(byEntry.keySet());
+        order.sort(Comparator.comparing(entry -> entry.inventoryId));
+
+        List<Hold> accepted = new ArrayList<>();
+        List<Hold> refused = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                accepted.clear();
+                refused.clear();
+                for (Entry entry : order) {
+                    write(entry, byEntry.get(entry), accepted, refused);
+                }
+                if (!accepted.isEmpty()) {
+                    reservationRepository.insertAll(toRows(accepted));
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not write {} inventory reservations", byEntry.values().stream().mapToInt(List::size).sum(),
+                    e);
+            byEntry.values().forEach(group -> group.forEach(hold -> fail(hold, e)));
+            return;
+        }
+        accepted.forEach(this::confirm);
+        refused.forEach(hold -> fail(hold, new InsufficientStockException(hold.reservation.key(),
+                hold.reservation.quantity())));
+        // The counter was too optimistic for these rows; bring it back in line
+        refused.stream().map(hold -> hold.entry).distinct().forEach(entry -> refresh(entry, true));
+    }
+
+    private void write(Entry entry, List<Hold> group, List<Hold> accepted, List<Hold> refused) {
+        long units = group.stream().mapToLong(hold -> hold.reservation.quantity()).sum();
+        if (group.size() == 1 || inventoryRepository.reserveIfAvailable(entry.inventoryId, units).isEmpty()) {
+            // Not enough for the whole group: first come, first served
+            for (Hold hold : group) {
+                if (inventoryRepository.reserveIfAvailable(entry.inventoryId, hold.reservation.quantity())
+                        .isPresent()) {
+                    accepted.add(hold);
+                } else {
+                    refused.add(hold);
+                }
+            }
+        } else {
+            accepted.addAll(group);
+        }
+    }
+
+    private void confirm(Hold hold) {
+        hold.entry.inFlight.addAndGet(-hold.reservation.quantity());
+        confirmed.increment();
+        if (hold.status.compareAndSet(Status.PENDING, Status.HELD)) {
+            wheel.schedule(hold, hold.reservation.expiresAt().toEpochMilli());
+        } else {
+            // Released or committed while it was being written
+            holds.remove(hold.reservation.id());
+            pendingSettlements.add(new Settlement(hold.reservation.id(), hold.status.get()));
+        }
+        hold.future.complete(hold.reservation);
+    }
+
+    private void fail(Hold hold, RuntimeException cause) {
+        hold.entry.inFlight.addAndGet(-hold.reservation.quantity());
+        Status previous = hold.status.getAndSet(Status.FAILED);
+        if (previous != Status.RELEASED) {
+            hold.entry.available.addAndGet(hold.reservation.quantity());
+        }
+        holds.remove(hold.reservation.id());
+        (cause instanceof InsufficientStockException ? rejected : failed).increment();
+        hold.future.completeExceptionally(cause);
+    }
+
+    private String toRows(List<Hold> accepted) {
+        ArrayNode rows = objectMapper.createArrayNode();
+        for (Hold hold : accepted) {
+            ObjectNode row = rows.addObject();
+            row.put("id", hold.reservation.id().toString());
+            row.put("tenant_id", hold.reservation.key().tenantId().toString());
+            row.put("inventory_id", hold.entry.inventoryId.toString());
+            row.put("quantity", hold.reservation.quantity());
+            row.put("expires_at", hold.reservation.expiresAt().toString());
+        }
+        return write(rows);
+    }
+
+    private String toJson(List<UUID> ids) {
+        ArrayNode array = objectMapper.createArrayNode();
+        ids.forEach(id -> array.add(id.toString()));
+        return write(array);
+    }
+
+    private String write(ArrayNode node) {
+        try {
+            return objectMapper.writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize inventory reservation rows", e);
+        }
+    }
+
+    // RELEASED, COMMITTED and EXPIRED are stored under the same names
+    private enum Status {
+        PENDING, HELD, RELEASED, COMMITTED, EXPIRED, FAILED
+    }
+
+    private record Settlement(UUID id, Status status) {
+    }
+
+    private static final class Entry {
+
+        private final UUID inventoryId;
+        private final AtomicLong available;
+        private final AtomicLong inFlight = new AtomicLong();
+        private final AtomicLong refreshedAt = new AtomicLong(System.currentTimeMillis());
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        private Entry(UUID inventoryId, long available) {
+            this.inventoryId = inventoryId;
+            this.available = new AtomicLong(available);
+        }
+
+        private boolean take(long quantity) {
+            while (true) {
+                long current = available.get();
+                if (current < quantity) {
+                    return false;
+                }
+                if (available.compareAndSet(current, current - quantity)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    private static final class Hold {
+
+        private final InventoryReservation reservation;
+        private final Entry entry;
+        private final AtomicReference<Status> status = new AtomicReference<>(Status.PENDING);
+        private final CompletableFuture<InventoryReservation> future = new CompletableFuture<>();
+
+        private Hold(InventoryReservation reservation, Entry entry) {
+            this.reservation = reservation;
+            this.entry = entry;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.kompu.api.infrastructure.product.inventory;
+
+import java.time.Duration;
+
+import com.kompu.api.infrastructure.config.db.repository.InventoryReservationRepository;
+import com.kompu.api.infrastructure.shared.job.JobContext;
+import com.kompu.api.infrastructure.shared.job.JobTrigger;
+import com.kompu.api.infrastructure.shared.job.ScheduledJob;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * InventoryReservationExpiryJob - Returns the stock of reservations nobody
+ * settled, e.g. because the node holding them died or restarted.
+ * 
+ * Live nodes expire their own reservations on time; this job only picks up
+ * reservations past their deadline by more than {@code grace}, in batches of
+ * {@code batchSize}, skipping rows a node is settling right now.
+ */
+@Slf4j
+public class InventoryReservationExpiryJob implements ScheduledJob {
+
+    private final InventoryReservationRepository repository;
+    private final Duration interval;
+    private final Duration grace;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public InventoryReservationExpiryJob(InventoryReservationRepository repository, Duration interval,
+            Duration grace, int batchSize, int maxBatchesPerRun) {
+        this.repository = repository;
+        this.interval = interval;
+        this.grace = grace;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Override
+    public String name() {
+        return "inventory-reservation-expiry";
+    }
+
+    @Override
+    public JobTrigger trigger() {
+        return JobTrigger.fixedRate(interval);
+    }
+
+    @Override
+    public void run(JobContext context) {
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int rows = repository.expireOverdue(grace.toSeconds(), batchSize);
+            if (rows == 0) {
+                return;
+            }
+            context.addProcessed(rows);
+        }
+        log.info("Inventory reservation expiry stopped after {} batches; the rest waits for the next run",
+                maxBatchesPerRun);
+    }
+}
@@ -0,0 +1,74 @@
+package com.kompu.api.infrastructure.product.inventory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * TimingWheel - Hashed wheel of deadlines, for many timeouts that are mostly
+ * cancelled before they fire.
+ * 
+ * Scheduling appends to the slot of the deadline's tick in O(1) from any
+ * thread; one thread calls {@link #advance(long, Consumer)} to expire the
+ * slots it passes. Deadlines further out than one turn stay in their slot
+ * until the wheel has gone round often enough. Cancellation is lazy: the
+ * consumer decides whether an expired item still matters.
+ */
+class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final Queue<Timeout<T>>[] slots;
+    private long currentTick;
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    TimingWheel(Duration tick, int slotCount, long nowMillis) {
+        this.tickMillis = Math.max(1, tick.toMillis());
+        this.slots = new Queue[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    void schedule(T item, long deadlineMillis) {
+        long tick = Math.max(deadlineMillis / tickMillis, currentTick);
+        slots[(int) (tick % slots.length)].add(new Timeout<>(item, deadlineMillis));
+    }
+
+    /**
+     * Expire every item whose deadline is at or before {@code nowMillis}
+     * 
+     * @return number of items expired
+     */
+    int advance(long nowMillis, Consumer<T> onExpired) {
+        long targetTick = nowMillis / tickMillis;
+        int expired = 0;
+        // A gap longer than a turn only needs each slot visited once
+        long from = Math.max(currentTick, targetTick - slots.length + 1);
+        for (long tick = from; tick <= targetTick; tick++) {
+            expired += expire(slots[(int) (tick % slots.length)], nowMillis, onExpired);
+        }
+        currentTick = targetTick;
+        return expired;
+    }
+
+    private static <T> int expire(Queue<Timeout<T>> slot, long nowMillis, Consumer<T> onExpired) {
+        List<T> due = new ArrayList<>();
+        for (Iterator<Timeout<T>> it = slot.iterator(); it.hasNext();) {
+            Timeout<T> timeout = it.next();
+            if (timeout.deadlineMillis() <= nowMillis) {
+                it.remove();
+                due.add(timeout.item());
+            }
+        }
+        due.forEach(onExpired);
+        return due.size();
+    }
+
+    private record Timeout<T>(T item, long deadlineMillis) {
+    }
+}
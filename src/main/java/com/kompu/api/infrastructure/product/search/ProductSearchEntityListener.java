@@ -0,0 +1,87 @@
+package com.kompu.api.infrastructure.product.search;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.kompu.api.entity.product.gateway.ProductSearchGateway;
+import com.kompu.api.infrastructure.config.db.schema.ProductSchema;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * ProductSearchEntityListener - Reindexes products written through JPA.
+ * 
+ * Ids are collected per transaction and announced once it has committed, so
+ * a bulk write costs one notification per tenant instead of one per row.
+ * Rows flushed by the commit itself, as with a repository save outside any
+ * outer transaction, only reach the listener after beforeCommit, which is why
+ * the announcement waits for afterCommit and runs in a transaction of its
+ * own. Instantiated by Hibernate through the Spring bean container; the
+ * gateway is looked up lazily because it depends on the entity manager.
+ */
+public class ProductSearchEntityListener {
+
+    private final ObjectProvider<ProductSearchGateway> productSearchGateway;
+    private final ObjectProvider<PlatformTransactionManager> transactionManager;
+
+    public ProductSearchEntityListener(ObjectProvider<ProductSearchGateway> productSearchGateway,
+            ObjectProvider<PlatformTransactionManager> transactionManager) {
+        this.productSearchGateway = productSearchGateway;
+        this.transactionManager = transactionManager;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(ProductSchema product) {
+        if (product.getTenantId() == null || product.getId() == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(Map.of(product.getTenantId(), Set.of(product.getId())));
+            return;
+        }
+        PendingWrites pending = (PendingWrites) TransactionSynchronizationManager.getResource(PendingWrites.class);
+        if (pending == null) {
+            pending = new PendingWrites();
+            TransactionSynchronizationManager.bindResource(PendingWrites.class, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.ids.computeIfAbsent(product.getTenantId(), id -> new LinkedHashSet<>()).add(product.getId());
+    }
+
+    private void publish(Map<UUID, Set<UUID>> idsByTenant) {
+        productSearchGateway.ifAvailable(gateway -> idsByTenant
+                .forEach((tenantId, ids) -> gateway.reindex(tenantId, List.copyOf(ids))));
+    }
+
+    private final class PendingWrites implements TransactionSynchronization {
+
+        private final Map<UUID, Set<UUID>> ids = new HashMap<>();
+
+        @Override
+        public void afterCommit() {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager.getObject());
+            transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            transaction.executeWithoutResult(status -> publish(ids));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(PendingWrites.class);
+        }
+    }
+}
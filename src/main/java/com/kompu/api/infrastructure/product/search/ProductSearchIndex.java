@@ -0,0 +1,299 @@
+package com.kompu.api.infrastructure.product.search;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.kompu.api.entity.product.exception.ProductSearchUnavailableException;
+import com.kompu.api.entity.product.gateway.ProductGateway;
+import com.kompu.api.entity.product.gateway.ProductSearchGateway;
+import com.kompu.api.entity.product.model.ProductSearchQuery;
+import com.kompu.api.entity.product.model.ProductSearchResult;
+import com.kompu.api.entity.shared.gateway.CacheInvalidationGateway;
+import com.kompu.api.entity.shared.model.CacheInvalidationEvent;
+import com.kompu.api.entity.shared.model.CacheRegion;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ProductSearchIndex - Keeps one {@link TenantProductIndex} per tenant and
+ * implements ProductSearchGateway on top of them.
+ *
+ * A tenant's index is built from the database by a background thread when
+ * the tenant is first searched, and kept for up to {@code maxTenants}
+ * tenants, least recently searched evicted first. That first search waits at
+ * most {@code buildWait} for the build and then fails with
+ * ProductSearchUnavailableException, so a large catalog never holds a request
+ * thread for the whole load. Product writes are announced on the PRODUCTS
+ * cache region with the key {@code tenantId:productId,...}; every node marks
+ * those products dirty and reloads them just before the tenant's next search.
+ * A key of only the tenant id, or a region-wide event after missed
+ * notifications, rebuilds the tenant's index (or all of them) in the
+ * background while searches keep using the old one until the swap.
+ *
+ * Metrics: product_search.latency{phase=search|build} and
+ * product_search.tenants.
+ */
+@Slf4j
+public class ProductSearchIndex implements ProductSearchGateway {
+
+    static final int MAX_IDS_PER_EVENT = 100;
+
+    private final ProductGateway productGateway;
+    private final CacheInvalidationGateway cacheInvalidationGateway;
+    private final MeterRegistry meterRegistry;
+    private final List<String> metadataKeys;
+    private final List<BigDecimal> priceBounds;
+    private final Duration buildWait;
+    private final Map<UUID, Entry> tenants;
+    private final Timer searchTimer;
+    private final Timer buildTimer;
+    private ExecutorService builder;
+
+    public ProductSearchIndex(ProductGateway productGateway, CacheInvalidationGateway cacheInvalidationGateway,
+            List<String> metadataKeys, List<BigDecimal> priceBounds, int maxTenants, Duration buildWait,
+            MeterRegistry meterRegistry) {
+        this.productGateway = productGateway;
+        this.buildWait = buildWait;
+        this.cacheInvalidationGateway = cacheInvalidationGateway;
+        this.meterRegistry = meterRegistry;
+        this.metadataKeys = List.copyOf(metadataKeys);
+        this.priceBounds = priceBounds.stream().sorted().toList();
+        this.tenants = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > maxTenants;
+            }
+        };
+        this.searchTimer = Timer.builder("product_search.latency")
+                .tag("phase", "search")
+                .register(meterRegistry);
+        this.buildTimer = Timer.builder("product_search.latency")
+                .tag("phase", "build")
+                .register(meterRegistry);
+    }
+
+    // Registered once constructed, so neither the registry nor the bus sees a half-built index
+    public synchronized void start() {
+        builder = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-search-build");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("product_search.tenants", this, ProductSearchIndex::loadedTenants)
+                .description("Tenants with a product search index in memory")
+                .register(meterRegistry);
+        cacheInvalidationGateway.subscribe(CacheRegion.PRODUCTS, this::onInvalidation);
+    }
+
+    public synchronized void stop() {
+        if (builder != null) {
+            builder.shutdownNow();
+            builder = null;
+        }
+    }
+
+    @Override
+    public ProductSearchResult search(ProductSearchQuery query) {
+        TenantProductIndex index = indexFor(query.tenantId());
+        return searchTimer.record(() -> index.search(query));
+    }
+
+    @Override
+    public void reindex(UUID tenantId, Collection<UUID> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = List.copyOf(Set.copyOf(productIds));
+        if (ids.size() > MAX_IDS_PER_EVENT) {
+            // Past this a rebuild is cheaper than item reloads, and the key stays well inside NOTIFY limits
+            rebuild(tenantId);
+            return;
+        }
+        StringBuilder key = new StringBuilder(tenantId.toString()).append(':');
+        for (int i = 0; i < ids.size(); i++) {
+            key.append(i == 0 ? "" : ",").append(ids.get(i));
+        }
+        cacheInvalidationGateway.publish(CacheRegion.PRODUCTS, key.toString());
+    }
+
+    @Override
+    public void rebuild(UUID tenantId) {
+        cacheInvalidationGateway.publish(CacheRegion.PRODUCTS, tenantId.toString());
+    }
+
+    private TenantProductIndex indexFor(UUID tenantId) {
+        Entry entry;
+        synchronized (tenants) {
+            entry = tenants.get(tenantId);
+            if (entry == null) {
+                entry = new Entry();
+                tenants.put(tenantId, entry);
+                scheduleBuild(tenantId, entry);
+            }
+        }
+        TenantProductIndex index = entry.index;
+        if (index == null) {
+            index = awaitFirstBuild(tenantId, entry);
+        }
+        applyDirty(entry, index);
+        return index;
+    }
+
+    private TenantProductIndex awaitFirstBuild(UUID tenantId, Entry entry) {
+        try {
+            return entry.ready.get(buildWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ProductSearchUnavailableException(tenantId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProductSearchUnavailableException(tenantId);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // Under the tenants lock; an invalidation during a build queues one more after it
+    private void scheduleBuild(UUID tenantId, Entry entry) {
+        if (entry.building) {
+            entry.stale = true;
+            return;
+        }
+        entry.building = true;
+        builder.execute(() -> build(tenantId, entry));
+    }
+
+    private void build(UUID tenantId, Entry entry) {
+        TenantProductIndex index = new TenantProductIndex(metadataKeys, priceBounds);
+        long count;
+        try {
+            count = buildTimer.record(() -> productGateway.forEachByTenantId(tenantId, index::upsert));
+        } catch (RuntimeException e) {
+            log.warn("Failed to build product search index for tenant {}", tenantId, e);
+            synchronized (tenants) {
+                finishBuild(tenantId, entry, null);
+            }
+            entry.ready.completeExceptionally(e);
+            return;
+        }
+        synchronized (tenants) {
+            finishBuild(tenantId, entry, index);
+        }
+        entry.ready.complete(index);
+        log.info("Built product search index for tenant {} with {} products", tenantId, count);
+    }
+
+    // Products announced while the build read the catalog may be missing from
+    // it even if a search already reloaded them into the old index
+    private void finishBuild(UUID tenantId, Entry entry, TenantProductIndex index) {
+        entry.building = false;
+        entry.dirty.addAll(entry.changedDuringBuild);
+        entry.changedDuringBuild.clear();
+        if (index != null) {
+            entry.index = index;
+        } else if (entry.index == null) {
+            // Nothing to serve; the next search starts over
+            tenants.remove(tenantId, entry);
+            return;
+        }
+        if (entry.stale && tenants.get(tenantId) == entry) {
+            entry.stale = false;
+            scheduleBuild(tenantId, entry);
+        }
+    }
+
+    private void applyDirty(Entry entry, TenantProductIndex index) {
+        if (entry.dirty.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = new ArrayList<>(entry.dirty);
+        entry.dirty.removeAll(ids);
+        for (UUID id : ids) {
+            productGateway.findById(id)
+                    .ifPresentOrElse(index::upsert, () -> index.remove(id));
+        }
+    }
+
+    private void onInvalidation(CacheInvalidationEvent event) {
+        // The local copy arrives inside the writing transaction; act once it commits
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(event);
+                }
+            });
+        } else {
+            apply(event);
+        }
+    }
+
+    private void apply(CacheInvalidationEvent event) {
+        if (event.isRegionWide()) {
+            synchronized (tenants) {
+                tenants.forEach(this::scheduleBuild);
+            }
+            return;
+        }
+        String key = event.getKey();
+        int separator = key.indexOf(':');
+        UUID tenantId = UUID.fromString(separator < 0 ? key : key.substring(0, separator));
+        synchronized (tenants) {
+            Entry entry = tenants.get(tenantId);
+            if (entry == null) {
+                return;
+            }
+            if (separator < 0) {
+                scheduleBuild(tenantId, entry);
+                return;
+            }
+            for (String id : key.substring(separator + 1).split(",")) {
+                UUID productId = UUID.fromString(id);
+                entry.dirty.add(productId);
+                if (entry.building) {
+                    entry.changedDuringBuild.add(productId);
+                }
+            }
+        }
+    }
+
+    private int loadedTenants() {
+        synchronized (tenants) {
+            return tenants.size();
+        }
+    }
+
+    private static final class Entry {
+
+        final CompletableFuture<TenantProductIndex> ready = new CompletableFuture<>();
+        final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+        // The rest is guarded by the tenants lock; index is read without it
+        final Set<UUID> changedDuringBuild = new HashSet<>();
+        volatile TenantProductIndex index;
+        boolean building;
+        boolean stale;
+    }
+}
@@ -0,0 +1,92 @@
+package com.kompu.api.infrastructure.product.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * SearchText - Folds text to the form stored in the index: lower case,
+ * accents stripped, split on anything that is not a letter or digit.
+ */
+final class SearchText {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final int MAX_TOKEN_LENGTH = 32;
+
+    private SearchText() {
+    }
+
+    static String fold(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> tokens(String text) {
+        String folded = fold(text);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(folded.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH)));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * The whole value with separators removed, so "AB-12/x" is found as "ab12x"
+     */
+    static String compact(String text) {
+        return String.join("", tokens(text));
+    }
+
+    /**
+     * Optimal string alignment distance between {@code token} and the closest
+     * prefix of {@code term}, or {@code maxDistance + 1} when it is larger
+     */
+    static int prefixDistance(String token, String term, int maxDistance) {
+        int n = token.length();
+        int m = Math.min(term.length(), n + maxDistance);
+        int[] previous2 = new int[m + 1];
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= n; i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= m; j++) {
+                int cost = token.charAt(i - 1) == term.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && token.charAt(i - 1) == term.charAt(j - 2)
+                        && token.charAt(i - 2) == term.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        int best = maxDistance + 1;
+        for (int j = 0; j <= m; j++) {
+            best = Math.min(best, previous[j]);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,765 @@
+package com.kompu.api.infrastructure.product.search;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.kompu.api.entity.product.model.ProductModel;
+import com.kompu.api.entity.product.model.ProductSearchQuery;
+import com.kompu.api.entity.product.model.ProductSearchResult;
+import com.kompu.api.entity.product.model.ProductSearchResult.CategoryFacet;
+import com.kompu.api.entity.product.model.ProductSearchResult.PriceFacet;
+import com.kompu.api.entity.product.model.ProductSummary;
+
+/**
+ * TenantProductIndex - In-memory inverted index over one tenant's products.
+ *
+ * Every word of the name, the SKU and the configured metadata keys is a
+ * term with a posting list of document ordinals. Terms are kept sorted, so a
+ * prefix is a contiguous range of the dictionary, and each term is also
+ * listed under its trigrams to find near misses. The whole SKU, separators
+ * removed, is kept in a dictionary of its own so codes can be typed with or
+ * without dashes.
+ *
+ * A document matches when every query word is the prefix of one of its terms,
+ * or when the whole query is a prefix of its SKU. When that leaves fewer hits
+ * than asked for, purely alphabetic words of four or more letters also match
+ * terms within one edit (two from eight letters) of their prefix; codes are
+ * never matched approximately. Hits are ranked by how well each word matched
+ * (exact term, prefix, near miss), then shorter names first.
+ *
+ * The per-hit work reads primitive columns (category, price, name length)
+ * and tests bitsets, never the documents themselves. When a query matches
+ * more than {@value #DENSE_MATCHES} products (a blank browse, one or two
+ * letters, a common word), only the facets look at every hit; ranking walks
+ * the products shortest name first and stops as soon as the kept hits reach
+ * the best score any hit can have, so it scores a few hundred documents
+ * rather than the catalog.
+ *
+ * Updates append a new ordinal and tombstone the old one, so posting lists
+ * stay sorted and never need rewriting; the index compacts itself once a
+ * quarter of the ordinals are dead. Readers share a read lock, updates take
+ * the write lock.
+ */
+final class TenantProductIndex {
+
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int FUZZY = 1;
+    private static final int FUZZY_MIN_LENGTH = 4;
+    private static final int SHORT_PREFIX_LENGTH = 2;
+    private static final int POSTING_CACHE_SIZE = 256;
+    private static final int MIN_COMPACT_TOMBSTONES = 1024;
+    private static final int DENSE_MATCHES = 4096;
+    private static final int VISIBLE_FACETS_CACHE_SIZE = 64;
+
+    private final List<String> metadataKeys;
+    private final List<BigDecimal> priceBounds;
+    private final long[] priceBoundCents;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<Doc> docs = new ArrayList<>();
+    private final BitSet live = new BitSet();
+    private final BitSet inactive = new BitSet();
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final TreeMap<String, Term> terms = new TreeMap<>();
+    private final TreeMap<String, Term> skus = new TreeMap<>();
+    private final TreeMap<String, Term> names = new TreeMap<>();
+    private final List<BitSet> byNameLength = new ArrayList<>();
+    private final Map<String, List<Term>> trigrams = new HashMap<>();
+    private final Map<UUID, Integer> categoryOrdinals = new HashMap<>();
+    private final List<UUID> categories = new ArrayList<>();
+    private final Map<String, BitSet> postingCache = new ConcurrentHashMap<>();
+    private final Map<FacetKey, Facets> visibleFacets = new ConcurrentHashMap<>();
+    private int[] docCategory = new int[16];
+    private long[] docPrice = new long[16];
+    private byte[] docPriceBucket = new byte[16];
+    private int[] docNameLength = new int[16];
+    private int tombstones;
+
+    TenantProductIndex(List<String> metadataKeys, List<BigDecimal> priceBounds) {
+        this.metadataKeys = List.copyOf(metadataKeys);
+        this.priceBounds = List.copyOf(priceBounds);
+        this.priceBoundCents = priceBounds.stream().mapToLong(TenantProductIndex::cents).toArray();
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Add or replace a product; deleted products are removed
+     */
+    void upsert(ProductModel product) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(product.getId());
+            if (product.getDeletedAt() == null) {
+                addLocked(product);
+            }
+            afterWrite();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(UUID productId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+            afterWrite();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    ProductSearchResult search(ProductSearchQuery query) {
+        lock.readLock().lock();
+        try {
+            return searchLocked(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---- writes, under the write lock
+
+    private void addLocked(ProductModel product) {
+        int ordinal = docs.size();
+        Doc doc = new Doc(
+                new ProductSummary(product.getId(), product.getSku(), product.getName(), product.getCategoryId(),
+                        product.getPrice(), product.getIsActive(), product.getCreatedAt()),
+                SearchText.fold(product.getName()),
+                SearchText.compact(product.getSku()),
+                product.getPrice() != null ? cents(product.getPrice()) : 0L,
+                categoryOrdinal(product.getCategoryId()),
+                !Boolean.FALSE.equals(product.getIsActive()));
+        docs.add(doc);
+        columns(ordinal, doc);
+        live.set(ordinal);
+        inactive.set(ordinal, !doc.active());
+        ordinals.put(product.getId(), ordinal);
+        for (String term : termsOf(product)) {
+            terms.computeIfAbsent(term, this::newTerm).add(ordinal);
+        }
+        if (!doc.sku().isEmpty()) {
+            skus.computeIfAbsent(doc.sku(), Term::new).add(ordinal);
+        }
+        if (!doc.name().isEmpty()) {
+            names.computeIfAbsent(doc.name(), Term::new).add(ordinal);
+        }
+    }
+
+    private void columns(int ordinal, Doc doc) {
+        if (ordinal == docCategory.length) {
+            int capacity = ordinal * 2;
+            docCategory = Arrays.copyOf(docCategory, capacity);
+            docPrice = Arrays.copyOf(docPrice, capacity);
+            docPriceBucket = Arrays.copyOf(docPriceBucket, capacity);
+            docNameLength = Arrays.copyOf(docNameLength, capacity);
+        }
+        docCategory[ordinal] = doc.category();
+        docPrice[ordinal] = doc.priceCents();
+        docPriceBucket[ordinal] = (byte) priceBucket(doc.priceCents());
+        docNameLength[ordinal] = doc.name().length();
+        while (byNameLength.size() <= doc.name().length()) {
+            byNameLength.add(new BitSet());
+        }
+        byNameLength.get(doc.name().length()).set(ordinal);
+    }
+
+    private void removeLocked(UUID productId) {
+        Integer ordinal = ordinals.remove(productId);
+        if (ordinal != null) {
+            live.clear(ordinal);
+            tombstones++;
+        }
+    }
+
+    private void afterWrite() {
+        postingCache.clear();
+        visibleFacets.clear();
+        if (tombstones >= MIN_COMPACT_TOMBSTONES && tombstones * 4 >= docs.size()) {
+            compact();
+        }
+    }
+
+    // Re-number the live documents densely and drop terms left without postings
+    private void compact() {
+        int[] remap = new int[docs.size()];
+        Arrays.fill(remap, -1);
+        List<Doc> kept = new ArrayList<>(ordinals.size());
+        for (int ordinal = live.nextSetBit(0); ordinal >= 0; ordinal = live.nextSetBit(ordinal + 1)) {
+            remap[ordinal] = kept.size();
+            kept.add(docs.get(ordinal));
+        }
+        docs.clear();
+        docs.addAll(kept);
+        live.clear();
+        live.set(0, kept.size());
+        inactive.clear();
+        byNameLength.clear();
+        for (int ordinal = 0; ordinal < kept.size(); ordinal++) {
+            inactive.set(ordinal, !kept.get(ordinal).active());
+            columns(ordinal, kept.get(ordinal));
+        }
+        ordinals.replaceAll((id, ordinal) -> remap[ordinal]);
+        terms.values().removeIf(term -> !term.remap(remap));
+        skus.values().removeIf(term -> !term.remap(remap));
+        names.values().removeIf(term -> !term.remap(remap));
+        trigrams.values().forEach(list -> list.removeIf(Term::isEmpty));
+        trigrams.values().removeIf(List::isEmpty);
+        tombstones = 0;
+    }
+
+    private Term newTerm(String text) {
+        Term term = new Term(text);
+        for (String trigram : trigramsOf(text)) {
+            trigrams.computeIfAbsent(trigram, key -> new ArrayList<>()).add(term);
+        }
+        return term;
+    }
+
+    private int categoryOrdinal(UUID categoryId) {
+        if (categoryId == null) {
+            return -1;
+        }
+        return categoryOrdinals.computeIfAbsent(categoryId, id -> {
+            categories.add(id);
+            return categories.size() - 1;
+        });
+    }
+
+    private Set<String> termsOf(ProductModel product) {
+        Set<String> result = new LinkedHashSet<>(SearchText.tokens(product.getName()));
+        result.addAll(SearchText.tokens(product.getSku()));
+        JsonNode metadata = product.getMetadata();
+        if (metadata != null && metadata.isObject()) {
+            for (String key : metadataKeys) {
+                JsonNode value = metadata.get(key);
+                if (value == null || value.isNull()) {
+                    continue;
+                }
+                if (value.isArray()) {
+                    value.forEach(item -> result.addAll(SearchText.tokens(item.asText())));
+                } else {
+                    result.addAll(SearchText.tokens(value.asText()));
+                }
+            }
+        }
+        return result;
+    }
+
+    // ---- reads, under the read lock
+
+    private ProductSearchResult searchLocked(ProductSearchQuery query) {
+        List<String> words = SearchText.tokens(query.text());
+        String compactQuery = String.join("", words);
+
+        List<WordMatch> matches = new ArrayList<>(words.size());
+        BitSet matched;
+        Bonus bonus = Bonus.NONE;
+        if (words.isEmpty()) {
+            matched = visible(live, query);
+        } else {
+            BitSet bySku = postings('#', skus, compactQuery, true);
+            matched = null;
+            for (String word : words) {
+                WordMatch match = new WordMatch(exact(word), prefix(word));
+                matches.add(match);
+                matched = intersect(matched, match.prefix());
+            }
+            matched.or(bySku);
+            matched = visible(matched, query);
+            if (matched.cardinality() < query.limit() && words.stream().anyMatch(TenantProductIndex::fuzzyCandidate)) {
+                matched = null;
+                for (int i = 0; i < words.size(); i++) {
+                    WordMatch match = matches.get(i);
+                    BitSet any = match.prefix();
+                    if (fuzzyCandidate(words.get(i))) {
+                        BitSet fuzzy = fuzzy(words.get(i));
+                        fuzzy.andNot(match.prefix());
+                        match = new WordMatch(match.exact(), match.prefix(), fuzzy);
+                        matches.set(i, match);
+                        any = (BitSet) match.prefix().clone();
+                        any.or(fuzzy);
+                    }
+                    matched = intersect(matched, any);
+                }
+                matched.or(bySku);
+                matched = visible(matched, query);
+            }
+            bonus = new Bonus(postings('$', skus, compactQuery, false), bySku, String.join(" ", words), words.size());
+        }
+
+        int categoryFilter = query.categoryId() == null ? Integer.MIN_VALUE
+                : categoryOrdinals.getOrDefault(query.categoryId(), Integer.MAX_VALUE);
+        long minCents = query.minPrice() != null ? cents(query.minPrice()) : Long.MIN_VALUE;
+        long maxCents = query.maxPrice() != null ? cents(query.maxPrice()) : Long.MAX_VALUE;
+        Filter filter = new Filter(categoryFilter, minCents, maxCents);
+
+        TopHits top = new TopHits(query.limit());
+        Facets facets;
+        if (matched.cardinality() <= DENSE_MATCHES) {
+            facets = new Facets(categories.size() + 1, priceBoundCents.length + 1);
+            for (int ordinal = matched.nextSetBit(0); ordinal >= 0; ordinal = matched.nextSetBit(ordinal + 1)) {
+                if (facets.add(docCategory[ordinal], docPrice[ordinal], docPriceBucket[ordinal], filter)) {
+                    top.offer(ordinal, score(ordinal, matches, bonus), docNameLength[ordinal]);
+                }
+            }
+        } else {
+            facets = denseFacets(matched, filter, query.includeInactive());
+            if (query.limit() > 0 && facets.total() > 0) {
+                rankDense(matched, filter, matches, bonus, facets.total(), top);
+            }
+        }
+
+        return new ProductSearchResult(
+                top.ranked().stream().map(scored -> docs.get(scored.ordinal()).summary()).toList(),
+                facets.total(),
+                categoryFacets(facets.categories()),
+                priceFacets(facets.prices()));
+    }
+
+    // Most of the catalog matched: count what did not match and take it off
+    // the cached counts of everything visible
+    private Facets denseFacets(BitSet matched, Filter filter, boolean includeInactive) {
+        BitSet visible = (BitSet) live.clone();
+        if (!includeInactive) {
+            visible.andNot(inactive);
+        }
+        if (matched.cardinality() * 2L <= visible.cardinality()) {
+            return count(matched, filter);
+        }
+        Facets all = visibleFacets.get(new FacetKey(includeInactive, filter));
+        if (all == null) {
+            all = count(visible, filter);
+            if (visibleFacets.size() < VISIBLE_FACETS_CACHE_SIZE) {
+                visibleFacets.put(new FacetKey(includeInactive, filter), all);
+            }
+        }
+        visible.andNot(matched);
+        return all.minus(count(visible, filter));
+    }
+
+    private Facets count(BitSet hits, Filter filter) {
+        Facets facets = new Facets(categories.size() + 1, priceBoundCents.length + 1);
+        long[] words = hits.toLongArray();
+        for (int index = 0; index < words.length; index++) {
+            long word = words[index];
+            while (word != 0) {
+                int ordinal = (index << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                facets.add(docCategory[ordinal], docPrice[ordinal], docPriceBucket[ordinal], filter);
+            }
+        }
+        return facets;
+    }
+
+    private void rankDense(BitSet matched, Filter filter, List<WordMatch> matches, Bonus bonus, long total,
+            TopHits top) {
+        if (total > DENSE_MATCHES) {
+            rankShortestFirst(matched, filter, matches, bonus, top);
+            return;
+        }
+        // The filters left few hits; walking by name length would visit the whole catalog for them
+        for (int ordinal = matched.nextSetBit(0); ordinal >= 0; ordinal = matched.nextSetBit(ordinal + 1)) {
+            if (filter.category(docCategory[ordinal]) && filter.price(docPrice[ordinal])) {
+                top.offer(ordinal, score(ordinal, matches, bonus), docNameLength[ordinal]);
+            }
+        }
+    }
+
+    // Every later document has a name at least as long and a higher ordinal, so
+    // once the kept hits all have the best reachable score none can displace them
+    private void rankShortestFirst(BitSet matched, Filter filter, List<WordMatch> matches, Bonus bonus,
+            TopHits top) {
+        int bound = scoreBound(matched, matches, bonus);
+        BitSet hits = new BitSet(docs.size());
+        for (BitSet bucket : byNameLength) {
+            hits.clear();
+            hits.or(bucket);
+            hits.and(matched);
+            for (int ordinal = hits.nextSetBit(0); ordinal >= 0; ordinal = hits.nextSetBit(ordinal + 1)) {
+                if (!filter.category(docCategory[ordinal]) || !filter.price(docPrice[ordinal])) {
+                    continue;
+                }
+                top.offer(ordinal, score(ordinal, matches, bonus), docNameLength[ordinal]);
+                if (top.isFull() && top.worstScore() >= bound) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private int score(int ordinal, List<WordMatch> matches, Bonus bonus) {
+        int score = 0;
+        for (WordMatch match : matches) {
+            if (match.exact().get(ordinal)) {
+                score += EXACT;
+            } else if (match.prefix().get(ordinal)) {
+                score += PREFIX;
+            } else if (match.fuzzy().get(ordinal)) {
+                score += FUZZY;
+            }
+        }
+        if (bonus.sku().get(ordinal)) {
+            score += 10 * EXACT;
+        } else if (bonus.skuPrefix().get(ordinal)) {
+            score += PREFIX * bonus.words() + 1;
+        } else if (!bonus.namePrefix().isEmpty() && docs.get(ordinal).name().startsWith(bonus.namePrefix())) {
+            score += EXACT;
+        }
+        return score;
+    }
+
+    // The best score any matched document could reach: each word and the
+    // bonus at the best level some match has, whether or not one has them all
+    private int scoreBound(BitSet matched, List<WordMatch> matches, Bonus bonus) {
+        int bound = 0;
+        for (WordMatch match : matches) {
+            if (match.exact().intersects(matched)) {
+                bound += EXACT;
+            } else if (match.prefix().intersects(matched)) {
+                bound += PREFIX;
+            } else if (match.fuzzy().intersects(matched)) {
+                bound += FUZZY;
+            }
+        }
+        if (bonus.sku().intersects(matched)) {
+            bound += 10 * EXACT;
+        } else if (bonus.skuPrefix().intersects(matched)) {
+            bound += PREFIX * bonus.words() + 1;
+        } else if (!bonus.namePrefix().isEmpty() && anyNameStartsWith(bonus.namePrefix())) {
+            bound += EXACT;
+        }
+        return bound;
+    }
+
+    // Postings may be shared (cached short prefixes), so the first one is copied
+    private static BitSet intersect(BitSet matched, BitSet postings) {
+        if (matched == null) {
+            return (BitSet) postings.clone();
+        }
+        matched.and(postings);
+        return matched;
+    }
+
+    private BitSet visible(BitSet matched, ProductSearchQuery query) {
+        BitSet result = matched == live ? (BitSet) live.clone() : matched;
+        result.and(live);
+        if (!query.includeInactive()) {
+            result.andNot(inactive);
+        }
+        return result;
+    }
+
+    private BitSet exact(String word) {
+        return postings('=', terms, word, false);
+    }
+
+    private BitSet prefix(String word) {
+        return postings('*', terms, word, true);
+    }
+
+    /**
+     * Postings of one dictionary key, or of every key starting with it. Short
+     * prefixes and common words span much of the catalog, so those sets are
+     * kept for the next keystroke until the index changes; they are shared,
+     * and callers copy before changing them.
+     */
+    private BitSet postings(char kind, TreeMap<String, Term> dictionary, String key, boolean prefix) {
+        String cacheKey = kind + key;
+        BitSet cached = postingCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+        BitSet bits = new BitSet(docs.size());
+        if (prefix) {
+            for (Term term : dictionary.subMap(key, true, key + Character.MAX_VALUE, false).values()) {
+                term.addTo(bits);
+            }
+        } else {
+            Term term = dictionary.get(key);
+            if (term != null) {
+                term.addTo(bits);
+            }
+        }
+        if ((key.length() <= SHORT_PREFIX_LENGTH || bits.cardinality() > DENSE_MATCHES)
+                && postingCache.size() < POSTING_CACHE_SIZE) {
+            postingCache.put(cacheKey, bits);
+        }
+        return bits;
+    }
+
+    private boolean anyNameStartsWith(String foldedQuery) {
+        String name = names.ceilingKey(foldedQuery);
+        return name != null && name.startsWith(foldedQuery);
+    }
+
+    private static boolean fuzzyCandidate(String word) {
+        return word.length() >= FUZZY_MIN_LENGTH && word.chars().allMatch(Character::isLetter);
+    }
+
+    // Candidate terms share a trigram with the word, then are verified by edit distance
+    private BitSet fuzzy(String word) {
+        int maxDistance = word.length() >= 8 ? 2 : 1;
+        Map<Term, Integer> shared = new HashMap<>();
+        for (String trigram : trigramsOf(word)) {
+            for (Term term : trigrams.getOrDefault(trigram, List.of())) {
+                shared.merge(term, 1, Integer::sum);
+            }
+        }
+        // q-gram lemma on the padded word, but never fewer than two shared trigrams
+        int required = Math.max(2, word.length() - 1 - 3 * maxDistance);
+        BitSet bits = new BitSet(docs.size());
+        for (Map.Entry<Term, Integer> candidate : shared.entrySet()) {
+            Term term = candidate.getKey();
+            if (candidate.getValue() >= required
+                    && SearchText.prefixDistance(word, term.text(), maxDistance) <= maxDistance) {
+                term.addTo(bits);
+            }
+        }
+        return bits;
+    }
+
+    private List<CategoryFacet> categoryFacets(long[] counts) {
+        List<CategoryFacet> facets = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                facets.add(new CategoryFacet(i == 0 ? null : categories.get(i - 1), counts[i]));
+            }
+        }
+        facets.sort(Comparator.comparingLong(CategoryFacet::count).reversed());
+        return facets;
+    }
+
+    private List<PriceFacet> priceFacets(long[] counts) {
+        List<PriceFacet> facets = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            BigDecimal from = i == 0 ? BigDecimal.ZERO : priceBounds.get(i - 1);
+            BigDecimal to = i < priceBounds.size() ? priceBounds.get(i) : null;
+            facets.add(new PriceFacet(from, to, counts[i]));
+        }
+        return facets;
+    }
+
+    private int priceBucket(long priceCents) {
+        int bucket = Arrays.binarySearch(priceBoundCents, priceCents);
+        return bucket >= 0 ? bucket + 1 : -bucket - 1;
+    }
+
+    private static List<String> trigramsOf(String text) {
+        String padded = "^" + text;
+        List<String> result = new ArrayList<>(Math.max(1, padded.length() - 2));
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValue();
+    }
+
+    private record Doc(ProductSummary summary, String name, String sku, long priceCents, int category,
+            boolean active) {
+    }
+
+    private record WordMatch(BitSet exact, BitSet prefix, BitSet fuzzy) {
+
+        WordMatch(BitSet exact, BitSet prefix) {
+            this(exact, prefix, new BitSet());
+        }
+    }
+
+    private record Bonus(BitSet sku, BitSet skuPrefix, String namePrefix, int words) {
+
+        static final Bonus NONE = new Bonus(new BitSet(), new BitSet(), "", 0);
+    }
+
+    private record Filter(int category, long minCents, long maxCents) {
+
+        boolean category(int docCategory) {
+            return category == Integer.MIN_VALUE || docCategory == category;
+        }
+
+        boolean price(long docPrice) {
+            return docPrice >= minCents && docPrice < maxCents;
+        }
+    }
+
+    private record Scored(int ordinal, int score, int nameLength) {
+    }
+
+    private record FacetKey(boolean includeInactive, Filter filter) {
+    }
+
+    /**
+     * Category counts ignore the category filter, price counts ignore the
+     * price bounds, the total honours both
+     */
+    private record Facets(long[] categories, long[] prices, long[] totals) {
+
+        Facets(int categoryCount, int priceCount) {
+            this(new long[categoryCount], new long[priceCount], new long[1]);
+        }
+
+        long total() {
+            return totals[0];
+        }
+
+        /**
+         * @return true when the document passes both filters
+         */
+        boolean add(int category, long price, int priceBucket, Filter filter) {
+            boolean inCategory = filter.category(category);
+            boolean inPrice = filter.price(price);
+            if (inPrice) {
+                categories[category + 1]++;
+            }
+            if (inCategory) {
+                prices[priceBucket]++;
+            }
+            if (inCategory && inPrice) {
+                totals[0]++;
+                return true;
+            }
+            return false;
+        }
+
+        Facets minus(Facets other) {
+            Facets result = new Facets(categories.length, prices.length);
+            for (int i = 0; i < categories.length; i++) {
+                result.categories[i] = categories[i] - other.categories[i];
+            }
+            for (int i = 0; i < prices.length; i++) {
+                result.prices[i] = prices[i] - other.prices[i];
+            }
+            result.totals[0] = total() - other.total();
+            return result;
+        }
+    }
+
+    /**
+     * The best {@code limit} hits seen so far: higher score first, then the
+     * shorter name, then the lower ordinal
+     */
+    private static final class TopHits {
+
+        // Lowest rank at the head
+        private static final Comparator<Scored> WORST_FIRST = Comparator.comparingInt(Scored::score)
+                .thenComparing(Comparator.comparingInt(Scored::nameLength).reversed())
+                .thenComparing(Comparator.comparingInt(Scored::ordinal).reversed());
+
+        private final int limit;
+        private final PriorityQueue<Scored> heap;
+
+        TopHits(int limit) {
+            this.limit = limit;
+            this.heap = new PriorityQueue<>(Math.max(1, limit), WORST_FIRST);
+        }
+
+        void offer(int ordinal, int score, int nameLength) {
+            if (limit <= 0) {
+                return;
+            }
+            if (heap.size() < limit) {
+                heap.add(new Scored(ordinal, score, nameLength));
+                return;
+            }
+            Scored worst = heap.peek();
+            if (score > worst.score() || (score == worst.score() && (nameLength < worst.nameLength()
+                    || (nameLength == worst.nameLength() && ordinal < worst.ordinal())))) {
+                heap.poll();
+                heap.add(new Scored(ordinal, score, nameLength));
+            }
+        }
+
+        boolean isFull() {
+            return limit > 0 && heap.size() >= limit;
+        }
+
+        int worstScore() {
+            return heap.peek().score();
+        }
+
+        List<Scored> ranked() {
+            List<Scored> ranked = new ArrayList<>(heap);
+            ranked.sort(WORST_FIRST.reversed());
+            return ranked;
+        }
+    }
+
+    /**
+     * Posting list of ordinals in ascending order; appends only
+     */
+    private static final class Term {
+
+        private final String text;
+        private int[] postings = new int[2];
+        private int size;
+
+        Term(String text) {
+            this.text = text;
+        }
+
+        String text() {
+            return text;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void add(int ordinal) {
+            if (size == postings.length) {
+                postings = Arrays.copyOf(postings, size * 2);
+            }
+            postings[size++] = ordinal;
+        }
+
+        void addTo(BitSet bits) {
+            for (int i = 0; i < size; i++) {
+                bits.set(postings[i]);
+            }
+        }
+
+        /**
+         * @return false when no posting survived
+         */
+        boolean remap(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int ordinal = remap[postings[i]];
+                if (ordinal >= 0) {
+                    postings[kept++] = ordinal;
+                }
+            }
+            size = kept;
+            if (postings.length > Math.max(2, kept * 2)) {
+                postings = Arrays.copyOf(postings, Math.max(2, kept));
+            }
+            return kept > 0;
+        }
+    }
+}
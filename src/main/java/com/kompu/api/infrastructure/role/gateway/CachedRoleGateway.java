@@ -0,0 +1,72 @@
+package com.kompu.api.infrastructure.role.gateway;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.kompu.api.entity.role.exception.RoleNotFoundException;
+import com.kompu.api.entity.role.gateway.RoleGateway;
+import com.kompu.api.entity.role.model.RoleModel;
+import com.kompu.api.infrastructure.shared.cache.ReferenceDataCache;
+
+/**
+ * CachedRoleGateway - Caches the system roles in front of RoleGateway
+ * Tenant roles are not cached and always go to the delegate.
+ */
+public class CachedRoleGateway implements RoleGateway {
+
+    public static final String BY_ID = "id";
+
+    private final RoleGateway delegate;
+    private final ReferenceDataCache<RoleModel> systemRoleCache;
+
+    public CachedRoleGateway(RoleGateway delegate, ReferenceDataCache<RoleModel> systemRoleCache) {
+        this.delegate = delegate;
+        this.systemRoleCache = systemRoleCache;
+    }
+
+    @Override
+    public RoleModel create(RoleModel roleModel) {
+        return delegate.create(roleModel);
+    }
+
+    @Override
+    public RoleModel update(RoleModel roleModel) {
+        return delegate.update(roleModel);
+    }
+
+    @Override
+    public void delete(UUID id) throws RoleNotFoundException {
+        delegate.delete(id);
+    }
+
+    @Override
+    public Optional<RoleModel> findById(UUID id) {
+        return systemRoleCache.find(BY_ID, id).or(() -> delegate.findById(id));
+    }
+
+    @Override
+    public Optional<RoleModel> findByName(String name, UUID tenantId) {
+        return delegate.findByName(name, tenantId);
+    }
+
+    @Override
+    public Optional<RoleModel> findByTenantIdAndName(UUID tenantId, String name) {
+        return delegate.findByTenantIdAndName(tenantId, name);
+    }
+
+    @Override
+    public List<RoleModel> findByTenantId(UUID tenantId) {
+        return delegate.findByTenantId(tenantId);
+    }
+
+    @Override
+    public List<RoleModel> findSystemRoles() {
+        return systemRoleCache.getAll();
+    }
+
+    @Override
+    public List<RoleModel> findAll() {
+        return delegate.findAll();
+    }
+}
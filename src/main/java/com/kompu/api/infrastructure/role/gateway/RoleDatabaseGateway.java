@@ -7,25 +7,33 @@ import java.util.UUID;
 import com.kompu.api.entity.role.exception.RoleNotFoundException;
 import com.kompu.api.entity.role.gateway.RoleGateway;
 import com.kompu.api.entity.role.model.RoleModel;
+import com.kompu.api.entity.shared.gateway.CacheInvalidationGateway;
+import com.kompu.api.entity.shared.model.CacheRegion;
 import com.kompu.api.infrastructure.config.db.repository.RoleRepository;
 import com.kompu.api.infrastructure.config.db.schema.RoleSchema;
 
 public class RoleDatabaseGateway implements RoleGateway {
 
     private final RoleRepository repository;
+    private final CacheInvalidationGateway cacheInvalidationGateway;
 
-    public RoleDatabaseGateway(RoleRepository repository) {
+    public RoleDatabaseGateway(RoleRepository repository, CacheInvalidationGateway cacheInvalidationGateway) {
         this.repository = repository;
+        this.cacheInvalidationGateway = cacheInvalidationGateway;
     }
 
     @Override
     public RoleModel create(RoleModel roleModel) {
-        return repository.save(new RoleSchema(roleModel)).toRoleModel();
+        RoleModel saved = repository.save(new RoleSchema(roleModel)).toRoleModel();
+        cacheInvalidationGateway.publish(CacheRegion.ROLES, saved.getId().toString());
+        return saved;
     }
 
     @Override
     public RoleModel update(RoleModel roleModel) {
-        return repository.save(new RoleSchema(roleModel)).toRoleModel();
+        RoleModel saved = repository.save(new RoleSchema(roleModel)).toRoleModel();
+        cacheInvalidationGateway.publish(CacheRegion.ROLES, saved.getId().toString());
+        return saved;
     }
 
     @Override
@@ -34,6 +42,7 @@ public class RoleDatabaseGateway implements RoleGateway {
             throw new RoleNotFoundException();
         }
         repository.deleteById(id);
+        cacheInvalidationGateway.publish(CacheRegion.ROLES, id.toString());
     }
 
     @Override
@@ -58,6 +67,13 @@ public class RoleDatabaseGateway implements RoleGateway {
                 .toList();
     }
 
+    @Override
+    public List<RoleModel> findSystemRoles() {
+        return repository.findByIsSystemTrue().stream()
+                .map(RoleSchema::toRoleModel)
+                .toList();
+    }
+
     @Override
     public List<RoleModel> findAll() {
         return repository.findAll().stream()
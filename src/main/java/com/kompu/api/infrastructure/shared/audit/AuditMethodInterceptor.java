@@ -0,0 +1,157 @@
+package com.kompu.api.infrastructure.shared.audit;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.kompu.api.entity.system.annotation.Auditable;
+import com.kompu.api.entity.system.gateway.AuditGateway;
+import com.kompu.api.entity.system.model.ActivityLogModel;
+import com.kompu.api.entity.system.model.AuditStream;
+import com.kompu.api.entity.system.model.AuthAuditModel;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * AuditMethodInterceptor - Records an audit entry after a successful call to
+ * an {@link Auditable} method.
+ * 
+ * The annotation, the index of a {@code tenantId} parameter and the model
+ * accessors are resolved once per method and result type, so the per-call
+ * cost is a few reflective reads and one offer to the recorder. Recording
+ * failures are logged and never fail the use case.
+ */
+@Slf4j
+public class AuditMethodInterceptor implements MethodInterceptor {
+
+    private static final AuditedMethod NOT_AUDITED = new AuditedMethod(null, -1);
+
+    private static final ClassValue<Accessors> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Accessors computeValue(Class<?> type) {
+            return new Accessors(findGetter(type, "getTenantId"), findGetter(type, "getId"));
+        }
+    };
+
+    private final ObjectProvider<AuditGateway> auditGateway;
+    private final Map<Method, AuditedMethod> methods = new ConcurrentHashMap<>();
+
+    public AuditMethodInterceptor(ObjectProvider<AuditGateway> auditGateway) {
+        this.auditGateway = auditGateway;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        AuditedMethod audited = methods.computeIfAbsent(invocation.getMethod(), AuditMethodInterceptor::resolve);
+        Object result = invocation.proceed();
+        if (audited.auditable() != null) {
+            try {
+                record(audited, invocation.getArguments(), result);
+            } catch (RuntimeException e) {
+                log.warn("Failed to record audit entry {}: {}", audited.auditable().action(), e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    private void record(AuditedMethod audited, Object[] arguments, Object result) {
+        Auditable auditable = audited.auditable();
+        Accessors accessors = result != null ? ACCESSORS.get(result.getClass()) : Accessors.NONE;
+        UUID tenantId = accessors.read(accessors.tenantId(), result);
+        if (tenantId == null && audited.tenantIdIndex() >= 0) {
+            tenantId = (UUID) arguments[audited.tenantIdIndex()];
+        }
+        UUID resourceId = accessors.read(accessors.id(), result);
+        UUID userId = currentUserId();
+        String resourceType = auditable.resourceType().isEmpty() ? null : auditable.resourceType();
+
+        AuditGateway gateway = auditGateway.getIfAvailable();
+        if (gateway == null) {
+            return;
+        }
+        if (auditable.stream() == AuditStream.AUTH) {
+            gateway.recordAuthAudit(AuthAuditModel.builder()
+                    .tenantId(tenantId)
+                    .userId(userId)
+                    .actorUserId(userId)
+                    .action(auditable.action())
+                    .resourceType(resourceType)
+                    .resourceId(resourceId)
+                    .build());
+        } else {
+            gateway.recordActivity(ActivityLogModel.builder()
+                    .tenantId(tenantId)
+                    .userId(userId)
+                    .action(auditable.action())
+                    .resourceType(resourceType)
+                    .resourceId(resourceId)
+                    .build());
+        }
+    }
+
+    // The principal name is the user id (see MyUserDetailService)
+    private static UUID currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(authentication.getName());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static AuditedMethod resolve(Method method) {
+        Auditable auditable = AnnotatedElementUtils.findMergedAnnotation(method, Auditable.class);
+        if (auditable == null) {
+            return NOT_AUDITED;
+        }
+        Parameter[] parameters = method.getParameters();
+        int tenantIdIndex = -1;
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].getType() == UUID.class && "tenantId".equals(parameters[i].getName())) {
+                tenantIdIndex = i;
+                break;
+            }
+        }
+        return new AuditedMethod(auditable, tenantIdIndex);
+    }
+
+    private static Method findGetter(Class<?> type, String name) {
+        try {
+            Method getter = type.getMethod(name);
+            return getter.getReturnType() == UUID.class ? getter : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private record AuditedMethod(Auditable auditable, int tenantIdIndex) {
+    }
+
+    private record Accessors(Method tenantId, Method id) {
+
+        static final Accessors NONE = new Accessors(null, null);
+
+        UUID read(Method getter, Object target) {
+            if (getter == null) {
+                return null;
+            }
+            try {
+                return (UUID) getter.invoke(target);
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.kompu.api.infrastructure.shared.audit;
+
+/**
+ * AuditOverflowPolicy - What the recorder does when its ring buffer is full
+ */
+public enum AuditOverflowPolicy {
+    /**
+     * Wait for the writer to free a slot, up to the block timeout; only a
+     * bounded number of callers wait at once, the others drop the entry
+     */
+    BLOCK,
+    /** Discard the oldest buffered entry to make room */
+    DROP_OLDEST,
+    /** Append the entry to the local spill file; it is replayed once the database keeps up */
+    SPILL
+}
@@ -0,0 +1,112 @@
+package com.kompu.api.infrastructure.shared.audit;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.kompu.api.entity.system.model.AuditStream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * AuditSpillFile - Append-only JSON lines file holding audit rows that could
+ * not be buffered or written. Each line is
+ * {@code {"stream":"ACTIVITY","row":{...}}}; rows use the column names of the
+ * bulk insert so replay needs no conversion.
+ */
+@Slf4j
+public class AuditSpillFile {
+
+    private final Path file;
+    private final Path replayFile;
+    private final ObjectMapper objectMapper;
+
+    private BufferedWriter writer;
+
+    public AuditSpillFile(Path directory, ObjectMapper objectMapper) {
+        this.file = directory.resolve("audit-spill.jsonl");
+        this.replayFile = directory.resolve("audit-spill.replay.jsonl");
+        this.objectMapper = objectMapper;
+    }
+
+    public synchronized void append(AuditStream stream, ObjectNode row) throws IOException {
+        if (writer == null) {
+            Files.createDirectories(file.getParent());
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        }
+        ObjectNode line = objectMapper.createObjectNode();
+        line.put("stream", stream.name());
+        line.set("row", row);
+        writer.write(objectMapper.writeValueAsString(line));
+        writer.newLine();
+        writer.flush();
+    }
+
+    public boolean hasPending() {
+        return Files.exists(replayFile) || Files.exists(file);
+    }
+
+    /**
+     * Hand the spilled rows to {@code batchConsumer} in batches of
+     * {@code batchSize}. The file is moved aside first so new spills go to a
+     * fresh file; it is deleted only after every batch was accepted, and a
+     * batch that throws leaves it in place for the next replay, so replay is
+     * at-least-once.
+     */
+    public void replay(int batchSize, Consumer<List<ObjectNode>> batchConsumer) throws IOException {
+        synchronized (this) {
+            if (!Files.exists(replayFile)) {
+                if (!Files.exists(file)) {
+                    return;
+                }
+                closeWriter();
+                Files.move(file, replayFile, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+        List<ObjectNode> batch = new ArrayList<>(batchSize);
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                batch.add((ObjectNode) objectMapper.readTree(line));
+                if (batch.size() == batchSize) {
+                    batchConsumer.accept(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            batchConsumer.accept(batch);
+        }
+        Files.delete(replayFile);
+        log.info("Replayed spilled audit entries from {}", replayFile);
+    }
+
+    public synchronized void close() {
+        closeWriter();
+    }
+
+    private void closeWriter() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("Failed to close audit spill file {}", file, e);
+            }
+            writer = null;
+        }
+    }
+}
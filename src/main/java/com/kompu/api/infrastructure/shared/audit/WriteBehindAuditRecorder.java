@@ -0,0 +1,383 @@
+package com.kompu.api.infrastructure.shared.audit;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.kompu.api.entity.system.gateway.AuditGateway;
+import com.kompu.api.entity.system.model.ActivityLogModel;
+import com.kompu.api.entity.system.model.AuditStream;
+import com.kompu.api.entity.system.model.AuthAuditModel;
+import com.kompu.api.infrastructure.config.db.repository.ActivityLogRepository;
+import com.kompu.api.infrastructure.config.db.repository.AuthAuditRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * WriteBehindAuditRecorder - AuditGateway that takes entries off the request
+ * path.
+ * 
+ * Recording only stamps the entry and offers it to a per-node
+ * {@link AuditRingBuffer}; a single writer thread drains the ring and writes
+ * each batch with one multi-row insert per table. When the ring is full the
+ * {@link AuditOverflowPolicy} decides between waiting, dropping the oldest
+ * entry or spilling to a local file. Batches that fail to insert are spilled
+ * too when a spill file is configured, and the spill file is replayed whenever
+ * the ring runs empty.
+ * 
+ * Waiting under BLOCK is bounded twice: at most {@code maxBlockedThreads}
+ * callers wait at a time (the rest drop at once, so a stalled database cannot
+ * hold the whole request pool), and each waits at most the block timeout. The
+ * waiters sleep on a condition that the writer signals after every drain
+ * instead of polling the ring.
+ */
+@Slf4j
+public class WriteBehindAuditRecorder implements AuditGateway {
+
+    private final AuditRingBuffer<Object> ring;
+    private final ActivityLogRepository activityLogRepository;
+    private final AuthAuditRepository authAuditRepository;
+    private final ObjectMapper objectMapper;
+    private final AuditOverflowPolicy overflowPolicy;
+    private final AuditSpillFile spillFile;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long blockTimeoutNanos;
+    private final int maxBlockedThreads;
+    private final Semaphore blockPermits;
+    private final ReentrantLock spaceLock = new ReentrantLock();
+    private final Condition spaceFreed = spaceLock.newCondition();
+
+    private final Counter recorded;
+    private final Counter dropped;
+    private final Counter spilled;
+    private final Counter written;
+    private final Counter failed;
+
+    private volatile boolean running;
+    private volatile Thread writerThread;
+
+    public WriteBehindAuditRecorder(int capacity, int batchSize, long flushIntervalMillis, long blockTimeoutMillis,
+            int maxBlockedThreads, AuditOverflowPolicy overflowPolicy, AuditSpillFile spillFile,
+            ActivityLogRepository activityLogRepository, AuthAuditRepository authAuditRepository,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.ring = new AuditRingBuffer<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis);
+        this.maxBlockedThreads = maxBlockedThreads;
+        this.blockPermits = new Semaphore(maxBlockedThreads);
+        this.overflowPolicy = overflowPolicy;
+        this.spillFile = spillFile;
+        this.activityLogRepository = activityLogRepository;
+        this.authAuditRepository = authAuditRepository;
+        this.objectMapper = objectMapper;
+        this.recorded = entries(meterRegistry, "recorded");
+        this.dropped = entries(meterRegistry, "dropped");
+        this.spilled = entries(meterRegistry, "spilled");
+        this.written = entries(meterRegistry, "written");
+        this.failed = entries(meterRegistry, "failed");
+        Gauge.builder("audit.recorder.buffered", ring, AuditRingBuffer::size)
+                .description("Audit entries waiting for the writer")
+                .register(meterRegistry);
+    }
+
+    private static Counter entries(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("audit.recorder.entries")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public synchronized void start() {
+        running = true;
+        writerThread = new Thread(this::writeLoop, "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Stop the writer and flush what is still buffered
+     */
+    public synchronized void stop() {
+        running = false;
+        if (writerThread != null) {
+            LockSupport.unpark(writerThread);
+            try {
+                writerThread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writerThread = null;
+        }
+        List<Object> batch = new ArrayList<>(batchSize);
+        while (ring.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+        if (spillFile != null) {
+            spillFile.close();
+        }
+    }
+
+    @Override
+    public boolean recordActivity(ActivityLogModel entry) {
+        if (entry.getCreatedAt() == null) {
+            entry.setCreatedAt(LocalDateTime.now());
+        }
+        return record(entry);
+    }
+
+    @Override
+    public boolean recordAuthAudit(AuthAuditModel entry) {
+        if (entry.getCreatedAt() == null) {
+            entry.setCreatedAt(LocalDateTime.now());
+        }
+        return record(entry);
+    }
+
+    private boolean record(Object entry) {
+        if (ring.offer(entry)) {
+            recorded.increment();
+            return true;
+        }
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                if (offerWaiting(entry)) {
+                    recorded.increment();
+                    return true;
+                }
+            }
+            case DROP_OLDEST -> {
+                for (int attempt = 0; attempt < 3; attempt++) {
+                    if (ring.poll() != null) {
+                        dropped.increment();
+                    }
+                    if (ring.offer(entry)) {
+                        recorded.increment();
+                        return true;
+                    }
+                }
+            }
+            case SPILL -> {
+                if (spill(List.of(entry))) {
+                    return true;
+                }
+            }
+        }
+        dropped.increment();
+        return false;
+    }
+
+    /**
+     * Wait for the writer to free a slot, if fewer than maxBlockedThreads
+     * callers are already waiting; gives up after the block timeout
+     */
+    private boolean offerWaiting(Object entry) {
+        if (!blockPermits.tryAcquire()) {
+            return false;
+        }
+        try {
+            Thread writer = writerThread;
+            if (writer != null) {
+                LockSupport.unpark(writer);
+            }
+            long remaining = blockTimeoutNanos;
+            spaceLock.lock();
+            try {
+                while (!ring.offer(entry)) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = spaceFreed.awaitNanos(remaining);
+                }
+                return true;
+            } finally {
+                spaceLock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            blockPermits.release();
+        }
+    }
+
+    private void signalSpaceFreed() {
+        if (blockPermits.availablePermits() == maxBlockedThreads) {
+            return;
+        }
+        spaceLock.lock();
+        try {
+            spaceFreed.signalAll();
+        } finally {
+            spaceLock.unlock();
+        }
+    }
+
+    private void writeLoop() {
+        List<Object> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                int drained = ring.drainTo(batch, batchSize);
+                if (drained > 0) {
+                    signalSpaceFreed();
+                    write(batch);
+                    batch.clear();
+                }
+                if (drained < batchSize) {
+                    if (drained == 0 && spillFile != null && spillFile.hasPending()) {
+                        replaySpill();
+                    }
+                    LockSupport.parkNanos(flushIntervalNanos);
+                }
+            } catch (RuntimeException e) {
+                log.error("Audit writer iteration failed", e);
+                batch.clear();
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+        }
+    }
+
+    private void write(List<Object> batch) {
+        ArrayNode activityRows = objectMapper.createArrayNode();
+        ArrayNode authRows = objectMapper.createArrayNode();
+        for (Object entry : batch) {
+            if (entry instanceof ActivityLogModel activity) {
+                activityRows.add(toRow(activity));
+            } else if (entry instanceof AuthAuditModel auth) {
+                authRows.add(toRow(auth));
+            }
+        }
+        insert(AuditStream.ACTIVITY, activityRows);
+        insert(AuditStream.AUTH, authRows);
+    }
+
+    private void insert(AuditStream stream, ArrayNode rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            String json = objectMapper.writeValueAsString(rows);
+            int inserted = stream == AuditStream.ACTIVITY
+                    ? activityLogRepository.insertAll(json)
+                    : authAuditRepository.insertAll(json);
+            written.increment(inserted);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("Failed to write {} {} audit entries", rows.size(), stream, e);
+            if (!spillRows(stream, rows)) {
+                failed.increment(rows.size());
+            }
+        }
+    }
+
+    private void replaySpill() {
+        try {
+            spillFile.replay(batchSize, lines -> {
+                ArrayNode activityRows = objectMapper.createArrayNode();
+                ArrayNode authRows = objectMapper.createArrayNode();
+                for (ObjectNode line : lines) {
+                    ArrayNode target = AuditStream.AUTH.name().equals(line.path("stream").asText())
+                            ? authRows
+                            : activityRows;
+                    target.add(line.get("row"));
+                }
+                try {
+                    written.increment(activityRows.isEmpty() ? 0
+                            : activityLogRepository.insertAll(objectMapper.writeValueAsString(activityRows)));
+                    written.increment(authRows.isEmpty() ? 0
+                            : authAuditRepository.insertAll(objectMapper.writeValueAsString(authRows)));
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("Failed to serialize spilled audit rows", e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            log.warn("Audit spill replay failed, retrying later: {}", e.getMessage());
+        }
+    }
+
+    private boolean spill(List<Object> entries) {
+        if (spillFile == null) {
+            return false;
+        }
+        try {
+            for (Object entry : entries) {
+                if (entry instanceof ActivityLogModel activity) {
+                    spillFile.append(AuditStream.ACTIVITY, toRow(activity));
+                } else if (entry instanceof AuthAuditModel auth) {
+                    spillFile.append(AuditStream.AUTH, toRow(auth));
+                }
+            }
+            spilled.increment(entries.size());
+            return true;
+        } catch (IOException e) {
+            log.error("Failed to spill audit entries", e);
+            return false;
+        }
+    }
+
+    private boolean spillRows(AuditStream stream, ArrayNode rows) {
+        if (spillFile == null) {
+            return false;
+        }
+        try {
+            for (int i = 0; i < rows.size(); i++) {
+                spillFile.append(stream, (ObjectNode) rows.get(i));
+            }
+            spilled.increment(rows.size());
+            return true;
+        } catch (IOException e) {
+            log.error("Failed to spill audit entries", e);
+            return false;
+        }
+    }
+
+    private ObjectNode toRow(ActivityLogModel entry) {
+        ObjectNode row = objectMapper.createObjectNode();
+        putUuid(row, "tenant_id", entry.getTenantId());
+        putUuid(row, "user_id", entry.getUserId());
+        row.put("actor_snapshot", entry.getActorSnapshot());
+        row.put("action", entry.getAction());
+        row.put("resource_type", entry.getResourceType());
+        putUuid(row, "resource_id", entry.getResourceId());
+        row.put("payload", entry.getPayload());
+        row.put("created_at", toTimestamp(entry.getCreatedAt()));
+        return row;
+    }
+
+    private ObjectNode toRow(AuthAuditModel entry) {
+        ObjectNode row = objectMapper.createObjectNode();
+        putUuid(row, "tenant_id", entry.getTenantId());
+        putUuid(row, "user_id", entry.getUserId());
+        putUuid(row, "actor_user_id", entry.getActorUserId());
+        row.put("action", entry.getAction());
+        row.put("resource_type", entry.getResourceType());
+        putUuid(row, "resource_id", entry.getResourceId());
+        row.put("payload", entry.getPayload());
+        row.put("created_at", toTimestamp(entry.getCreatedAt()));
+        return row;
+    }
+
+    private static void putUuid(ObjectNode row, String column, UUID value) {
+        row.put(column, value != null ? value.toString() : null);
+    }
+
+    // created_at is timestamptz; LocalDateTime values are in the JVM zone, as in the schemas
+    private static String toTimestamp(LocalDateTime createdAt) {
+        return createdAt.atZone(ZoneId.systemDefault()).toOffsetDateTime().toString();
+    }
+}
@@ -0,0 +1,108 @@
+package com.kompu.api.infrastructure.shared.cache;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.kompu.api.entity.shared.gateway.CacheInvalidationGateway;
+import com.kompu.api.entity.shared.model.CacheInvalidationEvent;
+import com.kompu.api.entity.shared.model.CacheRegion;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CacheInvalidationBus - Node-local side of the invalidation bus.
+ * 
+ * Fans events received from the transport out to the caches subscribed to a
+ * region, and tracks the last epoch seen per region so that a resync after a
+ * reconnect drops every region that changed while notifications were lost.
+ */
+@Slf4j
+public class CacheInvalidationBus implements CacheInvalidationGateway, InvalidationTransport.Receiver {
+
+    private final InvalidationTransport transport;
+    private final String nodeId;
+    private final Map<CacheRegion, List<Consumer<CacheInvalidationEvent>>> subscribers = new EnumMap<>(
+            CacheRegion.class);
+    private final Map<CacheRegion, AtomicLong> seenEpochs = new EnumMap<>(CacheRegion.class);
+
+    public CacheInvalidationBus(InvalidationTransport transport) {
+        this.transport = transport;
+        this.nodeId = UUID.randomUUID().toString();
+        for (CacheRegion region : CacheRegion.values()) {
+            subscribers.put(region, new CopyOnWriteArrayList<>());
+            seenEpochs.put(region, new AtomicLong());
+        }
+    }
+
+    public void start() {
+        transport.start(this);
+    }
+
+    public void stop() {
+        transport.stop();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public long getSeenEpoch(CacheRegion region) {
+        return seenEpochs.get(region).get();
+    }
+
+    @Override
+    public void publish(CacheRegion region, String key) {
+        CacheInvalidationEvent event = transport.publish(region, key, nodeId);
+        // Evict locally right away; the broadcast copy evicts again after commit and carries the epoch
+        advance(region, event.getEpoch());
+        dispatch(event);
+    }
+
+    @Override
+    public void publishRegion(CacheRegion region) {
+        publish(region, null);
+    }
+
+    @Override
+    public void subscribe(CacheRegion region, Consumer<CacheInvalidationEvent> listener) {
+        subscribers.get(region).add(listener);
+    }
+
+    @Override
+    public void onEvent(CacheInvalidationEvent event) {
+        if (event.getRegion() == null) {
+            return;
+        }
+        advance(event.getRegion(), event.getEpoch());
+        dispatch(event);
+    }
+
+    @Override
+    public void onResync(Map<CacheRegion, Long> epochs) {
+        epochs.forEach((region, epoch) -> {
+            if (advance(region, epoch)) {
+                log.debug("Cache region {} moved to epoch {} while unobserved, dropping it", region, epoch);
+                dispatch(CacheInvalidationEvent.regionWide(region, epoch));
+            }
+        });
+    }
+
+    private boolean advance(CacheRegion region, long epoch) {
+        return seenEpochs.get(region).getAndAccumulate(epoch, Math::max) < epoch;
+    }
+
+    private void dispatch(CacheInvalidationEvent event) {
+        for (Consumer<CacheInvalidationEvent> listener : subscribers.get(event.getRegion())) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                log.warn("Cache invalidation listener failed for region {}", event.getRegion(), e);
+            }
+        }
+    }
+}
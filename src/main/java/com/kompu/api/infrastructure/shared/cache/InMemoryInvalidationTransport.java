@@ -0,0 +1,71 @@
+package com.kompu.api.infrastructure.shared.cache;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.kompu.api.entity.shared.model.CacheInvalidationEvent;
+import com.kompu.api.entity.shared.model.CacheRegion;
+
+/**
+ * InMemoryInvalidationTransport - Single-JVM transport for unit tests and
+ * single-node runs.
+ * 
+ * Several buses may be started on the same instance to simulate a cluster.
+ * Events are delivered synchronously; {@link #suspendDelivery()} and
+ * {@link #resumeDelivery()} simulate a dropped listener connection and the
+ * resync that follows it.
+ */
+public class InMemoryInvalidationTransport implements InvalidationTransport {
+
+    private final Map<CacheRegion, Long> epochs = new EnumMap<>(CacheRegion.class);
+    private final List<Receiver> receivers = new CopyOnWriteArrayList<>();
+    private volatile boolean deliveryEnabled = true;
+
+    @Override
+    public CacheInvalidationEvent publish(CacheRegion region, String key, String originNodeId) {
+        long epoch;
+        synchronized (epochs) {
+            epoch = epochs.merge(region, 1L, Long::sum);
+        }
+        CacheInvalidationEvent event = CacheInvalidationEvent.builder()
+                .region(region)
+                .key(key)
+                .originNodeId(originNodeId)
+                .epoch(epoch)
+                .build();
+        if (deliveryEnabled) {
+            receivers.forEach(receiver -> receiver.onEvent(event));
+        }
+        return event;
+    }
+
+    @Override
+    public Map<CacheRegion, Long> currentEpochs() {
+        synchronized (epochs) {
+            return Map.copyOf(epochs);
+        }
+    }
+
+    @Override
+    public void start(Receiver receiver) {
+        receivers.add(receiver);
+        receiver.onResync(currentEpochs());
+    }
+
+    @Override
+    public void stop() {
+        receivers.clear();
+    }
+
+    public void suspendDelivery() {
+        deliveryEnabled = false;
+    }
+
+    public void resumeDelivery() {
+        deliveryEnabled = true;
+        Map<CacheRegion, Long> snapshot = currentEpochs();
+        receivers.forEach(receiver -> receiver.onResync(snapshot));
+    }
+}
@@ -0,0 +1,51 @@
+package com.kompu.api.infrastructure.shared.cache;
+
+import java.util.Map;
+
+import com.kompu.api.entity.shared.model.CacheInvalidationEvent;
+import com.kompu.api.entity.shared.model.CacheRegion;
+
+/**
+ * InvalidationTransport - Carries invalidation events between nodes and keeps
+ * the per-region epochs used to recover from missed notifications
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Bump the region epoch and broadcast the event to every node. Inside a
+     * transaction both may wait for the commit.
+     *
+     * @return the event as broadcast, carrying the new epoch, or 0 when the
+     *         broadcast waits for the commit
+     */
+    CacheInvalidationEvent publish(CacheRegion region, String key, String originNodeId);
+
+    /**
+     * Current epoch of every region that has been written at least once.
+     */
+    Map<CacheRegion, Long> currentEpochs();
+
+    /**
+     * Start delivering events to the receiver.
+     */
+    void start(Receiver receiver);
+
+    /**
+     * Stop delivering events and release any connection held.
+     */
+    void stop();
+
+    /**
+     * Node-side callbacks of a transport.
+     */
+    interface Receiver {
+
+        void onEvent(CacheInvalidationEvent event);
+
+        /**
+         * Called after (re)connecting and periodically, with the epochs read
+         * from the shared store.
+         */
+        void onResync(Map<CacheRegion, Long> epochs);
+    }
+}
@@ -0,0 +1,274 @@
+package com.kompu.api.infrastructure.shared.cache;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.entity.shared.model.CacheInvalidationEvent;
+import com.kompu.api.entity.shared.model.CacheRegion;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * PostgresInvalidationTransport - Invalidation transport over LISTEN/NOTIFY.
+ * 
+ * Publishing bumps the region row in app.cache_epochs and issues pg_notify in
+ * one statement. Inside a writer's transaction that statement waits for the
+ * commit and then runs in a short transaction of its own, so remote nodes
+ * only hear about committed writes and concurrent writers never queue on the
+ * region's epoch row for the length of their transactions. The returned
+ * event then carries epoch 0; the real one arrives with the broadcast copy.
+ * A node dying between the commit and the announcement loses it, as it would
+ * lose the commit's cache drops anyway. An announcement that fails after the
+ * commit cannot fail the already committed write: it is logged and its region
+ * is bumped region-wide by the listener thread on its next resync tick, which
+ * remote nodes then pick up through their own resync. Each node keeps one dedicated LISTEN
+ * connection outside the pool; after every (re)connect and on a fixed interval
+ * the epochs are re-read so notifications lost while disconnected still
+ * invalidate the affected regions.
+ */
+@Slf4j
+public class PostgresInvalidationTransport implements InvalidationTransport {
+
+    static final String CHANNEL = "app_cache_invalidation";
+
+    private static final long POLL_TIMEOUT_MILLIS = 500;
+    private static final long INITIAL_BACKOFF_MILLIS = 1_000;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private static final String PUBLISH_SQL = """
+            WITH bumped AS (
+                INSERT INTO app.cache_epochs (region, epoch, updated_at)
+                VALUES (?, 1, now())
+                ON CONFLICT (region) DO UPDATE
+                   SET epoch = app.cache_epochs.epoch + 1,
+                       updated_at = now()
+                RETURNING region, epoch
+            )
+            SELECT b.epoch,
+                   pg_notify(?, json_build_object(
+                       'region', b.region,
+                       'key', CAST(? AS text),
+                       'originNodeId', CAST(? AS text),
+                       'epoch', b.epoch)::text) AS notified
+            FROM bumped b
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate publishTransaction;
+    private final ObjectMapper objectMapper;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final long resyncIntervalMillis;
+
+    // Regions whose announcement failed after commit, with the origin node
+    private final Map<CacheRegion, String> unannounced = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private volatile Connection listenConnection;
+    private Thread listenerThread;
+
+    public PostgresInvalidationTransport(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate publishTransaction,
+            ObjectMapper objectMapper,
+            String url,
+            String username,
+            String password,
+            long resyncIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.publishTransaction = publishTransaction;
+        this.objectMapper = objectMapper;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.resyncIntervalMillis = resyncIntervalMillis;
+    }
+
+    @Override
+    public CacheInvalidationEvent publish(CacheRegion region, String key, String originNodeId) {
+        long epoch = 0L;
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        announce(region, key, originNodeId);
+                    } catch (RuntimeException e) {
+                        log.warn("Failed to announce cache invalidation of region {} after commit, "
+                                + "retrying region-wide on the next resync", region, e);
+                        unannounced.put(region, originNodeId);
+                    }
+                }
+            });
+        } else {
+            epoch = announce(region, key, originNodeId);
+        }
+
+        return CacheInvalidationEvent.builder()
+                .region(region)
+                .key(key)
+                .originNodeId(originNodeId)
+                .epoch(epoch)
+                .build();
+    }
+
+    private long announce(CacheRegion region, String key, String originNodeId) {
+        Long epoch = publishTransaction.execute(status -> jdbcTemplate.queryForObject(PUBLISH_SQL,
+                (rs, rowNum) -> rs.getLong("epoch"), region.name(), CHANNEL, key, originNodeId));
+        return epoch != null ? epoch : 0L;
+    }
+
+    /**
+     * Region-wide bump for every region whose announcement failed after
+     * commit. A region failing again stays queued for the next tick.
+     */
+    void announceUnannounced() {
+        for (CacheRegion region : unannounced.keySet()) {
+            String originNodeId = unannounced.remove(region);
+            if (originNodeId == null) {
+                continue;
+            }
+            try {
+                announce(region, null, originNodeId);
+            } catch (RuntimeException e) {
+                unannounced.putIfAbsent(region, originNodeId);
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public Map<CacheRegion, Long> currentEpochs() {
+        Map<CacheRegion, Long> epochs = new EnumMap<>(CacheRegion.class);
+        jdbcTemplate.query("SELECT region, epoch FROM app.cache_epochs", rs -> {
+            toRegion(rs.getString("region")).ifPresent(region -> {
+                try {
+                    epochs.put(region, rs.getLong("epoch"));
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        });
+        return epochs;
+    }
+
+    @Override
+    public synchronized void start(Receiver receiver) {
+        if (running) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(() -> listen(receiver), "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        closeQuietly(listenConnection);
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+            try {
+                listenerThread.join(POLL_TIMEOUT_MILLIS * 2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            listenerThread = null;
+        }
+    }
+
+    private void listen(Receiver receiver) {
+        long backoff = INITIAL_BACKOFF_MILLIS;
+
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                listenConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("Cache invalidation listener connected");
+                backoff = INITIAL_BACKOFF_MILLIS;
+
+                receiver.onResync(currentEpochs());
+                long nextResync = System.currentTimeMillis() + resyncIntervalMillis;
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            decode(notification.getParameter()).ifPresent(receiver::onEvent);
+                        }
+                    }
+                    if (System.currentTimeMillis() >= nextResync) {
+                        announceUnannounced();
+                        receiver.onResync(currentEpochs());
+                        nextResync = System.currentTimeMillis() + resyncIntervalMillis;
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Cache invalidation listener disconnected, retrying in {} ms: {}", backoff, e.getMessage());
+                sleep(backoff);
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            } finally {
+                listenConnection = null;
+            }
+        }
+    }
+
+    private Optional<CacheInvalidationEvent> decode(String payload) {
+        try {
+            return Optional.of(objectMapper.readValue(payload, CacheInvalidationEvent.class));
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed cache invalidation payload: {}", payload);
+            return Optional.empty();
+        }
+    }
+
+    private Optional<CacheRegion> toRegion(String name) {
+        try {
+            return Optional.of(CacheRegion.valueOf(name));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close cache invalidation listener connection", e);
+        }
+    }
+}
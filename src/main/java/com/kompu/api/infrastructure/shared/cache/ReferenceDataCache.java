@@ -0,0 +1,200 @@
+package com.kompu.api.infrastructure.shared.cache;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import com.kompu.api.entity.shared.gateway.CacheInvalidationGateway;
+import com.kompu.api.entity.shared.model.CacheRegion;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ReferenceDataCache - Read-through cache holding a whole reference table as
+ * an immutable snapshot.
+ * 
+ * The snapshot (value list plus one lookup map per index) is built in one go
+ * and swapped atomically, so readers never see a half-loaded table. Any
+ * invalidation of the subscribed region drops the snapshot and the next read
+ * reloads it. The snapshot keeps its own models and hands every caller a
+ * copy, so a caller changing a model it got from the cache cannot change what
+ * other threads read.
+ * 
+ * Metrics: reference_data.cache.requests{cache,result=hit|miss},
+ * reference_data.cache.loads{cache} and reference_data.cache.size{cache}.
+ */
+@Slf4j
+public class ReferenceDataCache<T> {
+
+    private final String name;
+    private final Supplier<List<T>> loader;
+    private final Map<String, Function<T, ?>> indexes;
+    private final UnaryOperator<T> copier;
+    private final AtomicReference<Snapshot<T>> snapshot = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Object loadLock = new Object();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter loads;
+
+    /**
+     * @param name          cache name, used as the metrics tag
+     * @param loader        loads the full table
+     * @param indexes       lookup keys by index name; keys must already be
+     *                      normalised the way callers will query them
+     * @param copier        deep copy of a model, applied to every value
+     *                      handed out
+     * @param meterRegistry registry for hit/miss metrics
+     */
+    public ReferenceDataCache(
+            String name,
+            Supplier<List<T>> loader,
+            Map<String, Function<T, ?>> indexes,
+            UnaryOperator<T> copier,
+            MeterRegistry meterRegistry) {
+        this.name = name;
+        this.loader = loader;
+        this.indexes = Map.copyOf(indexes);
+        this.copier = copier;
+
+        this.hits = Counter.builder("reference_data.cache.requests")
+                .tag("cache", name)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("reference_data.cache.requests")
+                .tag("cache", name)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.loads = Counter.builder("reference_data.cache.loads")
+                .tag("cache", name)
+                .register(meterRegistry);
+        Gauge.builder("reference_data.cache.size", snapshot, ReferenceDataCache::sizeOf)
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drop the snapshot whenever the region is invalidated on any node.
+     */
+    public ReferenceDataCache<T> subscribeTo(CacheInvalidationGateway invalidationGateway, CacheRegion region) {
+        invalidationGateway.subscribe(region, event -> invalidate());
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * All cached values, loading the table on first use.
+     */
+    public List<T> getAll() {
+        Snapshot<T> current = snapshot.get();
+        record(current != null);
+        return (current != null ? current : load()).values().stream().map(copier).toList();
+    }
+
+    /**
+     * Look a value up by index. A miss (table not loaded yet or key absent)
+     * returns empty so the caller can fall through to the database.
+     */
+    public Optional<T> find(String index, Object key) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        Snapshot<T> current = snapshot.get();
+        boolean loaded = current != null;
+        T value = (loaded ? current : load()).lookup(index).get(key);
+        record(loaded && value != null);
+        return Optional.ofNullable(value).map(copier);
+    }
+
+    /**
+     * Reload the table now, replacing the current snapshot.
+     */
+    public void refresh() {
+        synchronized (loadLock) {
+            long expected = generation.get();
+            Snapshot<T> fresh = build(loader.get());
+            if (generation.get() == expected) {
+                snapshot.set(fresh);
+            }
+            loads.increment();
+            log.debug("Reference data cache {} refreshed with {} entries", name, fresh.values().size());
+        }
+    }
+
+    /**
+     * Drop the snapshot; the next read reloads it.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot.set(null);
+    }
+
+    public int size() {
+        return sizeOf(snapshot);
+    }
+
+    private static int sizeOf(AtomicReference<? extends Snapshot<?>> snapshot) {
+        Snapshot<?> current = snapshot.get();
+        return current != null ? current.values().size() : 0;
+    }
+
+    private Snapshot<T> load() {
+        synchronized (loadLock) {
+            Snapshot<T> current = snapshot.get();
+            if (current != null) {
+                return current;
+            }
+            long expected = generation.get();
+            Snapshot<T> fresh = build(loader.get());
+            // An invalidation raced with the load: serve it once, don't keep it
+            if (generation.get() == expected) {
+                snapshot.set(fresh);
+            }
+            loads.increment();
+            return fresh;
+        }
+    }
+
+    private Snapshot<T> build(List<T> values) {
+        Map<String, Map<Object, T>> byIndex = new HashMap<>();
+        indexes.forEach((index, keyExtractor) -> {
+            Map<Object, T> lookup = new HashMap<>();
+            for (T value : values) {
+                Object key = keyExtractor.apply(value);
+                if (key != null) {
+                    lookup.putIfAbsent(key, value);
+                }
+            }
+            byIndex.put(index, Map.copyOf(lookup));
+        });
+        return new Snapshot<>(List.copyOf(values), Map.copyOf(byIndex));
+    }
+
+    private void record(boolean hit) {
+        (hit ? hits : misses).increment();
+    }
+
+    private record Snapshot<T>(List<T> values, Map<String, Map<Object, T>> byIndex) {
+
+        Map<Object, T> lookup(String index) {
+            Map<Object, T> lookup = byIndex.get(index);
+            if (lookup == null) {
+                throw new IllegalArgumentException("Unknown reference data index: " + index);
+            }
+            return lookup;
+        }
+    }
+}
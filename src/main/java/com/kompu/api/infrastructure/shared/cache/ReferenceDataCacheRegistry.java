@@ -0,0 +1,55 @@
+package com.kompu.api.infrastructure.shared.cache;
+
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ReferenceDataCacheRegistry - Preloads every reference data cache once the
+ * application is ready and offers explicit refresh by name.
+ */
+@Slf4j
+@Component
+public class ReferenceDataCacheRegistry {
+
+    private final List<ReferenceDataCache<?>> caches;
+
+    public ReferenceDataCacheRegistry(List<ReferenceDataCache<?>> caches) {
+        this.caches = List.copyOf(caches);
+    }
+
+    @EventListener(classes = ApplicationReadyEvent.class)
+    public void preload() {
+        for (ReferenceDataCache<?> cache : caches) {
+            try {
+                cache.refresh();
+            } catch (RuntimeException e) {
+                // Not fatal: the cache loads lazily on first read instead
+                log.warn("Failed to preload reference data cache {}: {}", cache.getName(), e.getMessage());
+            }
+        }
+        log.info("Preloaded {} reference data caches", caches.size());
+    }
+
+    public void refreshAll() {
+        caches.forEach(ReferenceDataCache::refresh);
+    }
+
+    public boolean refresh(String name) {
+        for (ReferenceDataCache<?> cache : caches) {
+            if (cache.getName().equals(name)) {
+                cache.refresh();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<String> getCacheNames() {
+        return caches.stream().map(ReferenceDataCache::getName).toList();
+    }
+}
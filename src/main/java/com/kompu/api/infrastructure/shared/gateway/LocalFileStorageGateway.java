@@ -1,10 +1,15 @@
 package com.kompu.api.infrastructure.shared.gateway;
 
+import java.io.BufferedOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Base64;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -88,6 +93,67 @@ public class LocalFileStorageGateway implements FileStorageGateway {
         }
     }
 
+    @Override
+    public String saveFile(String filename, String subDirectory, ContentWriter writer) {
+        Path directoryPath = resolve(Paths.get(subDirectory != null ? subDirectory : "", filename)).getParent();
+        Path filePath = directoryPath.resolve(filename);
+        Path partial = null;
+        try {
+            Files.createDirectories(directoryPath);
+            // Written under a temporary name and moved into place once complete
+            partial = Files.createTempFile(directoryPath, filename, ".part");
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(partial), 64 * 1024)) {
+                writer.writeTo(output);
+            }
+            Files.move(partial, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return Paths.get(uploadDir).toAbsolutePath().normalize().relativize(filePath).toString();
+        } catch (IOException e) {
+            log.error("Failed to write file {} to disk", filePath, e);
+            throw new UncheckedIOException("Failed to save file", e);
+        } finally {
+            deleteQuietly(partial);
+        }
+    }
+
+    @Override
+    public InputStream openFile(String path) {
+        try {
+            return Files.newInputStream(resolve(Paths.get(path)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open file " + path, e);
+        }
+    }
+
+    // Absolute path inside the upload directory; rejects paths that climb out of it
+    @Override
+    public void deleteFile(String path) {
+        try {
+            Files.deleteIfExists(resolve(Paths.get(path)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete file " + path, e);
+        }
+    }
+
+    private Path resolve(Path relative) {
+        Path root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Path resolved = root.resolve(relative).normalize();
+        if (!resolved.startsWith(root) || resolved.equals(root)) {
+            throw new IllegalArgumentException("Path is outside the storage directory: " + relative);
+        }
+        return resolved;
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete partial file {}", path, e);
+        }
+    }
+
     private String getExtensionFromMimeType(String mimeType) {
         switch (mimeType.toLowerCase()) {
             case "image/jpeg":
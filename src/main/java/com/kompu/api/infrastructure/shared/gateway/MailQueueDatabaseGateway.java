@@ -0,0 +1,43 @@
+package com.kompu.api.infrastructure.shared.gateway;
+
+import java.time.Instant;
+
+import com.kompu.api.entity.shared.gateway.MailGateway;
+import com.kompu.api.entity.shared.model.MailMessage;
+import com.kompu.api.infrastructure.config.db.repository.MailQueueRepository;
+import com.kompu.api.infrastructure.config.db.schema.MailQueueSchema;
+import com.kompu.api.infrastructure.shared.mail.MailTemplate.RenderedMail;
+import com.kompu.api.infrastructure.shared.mail.MailTemplateRegistry;
+
+/**
+ * MailQueueDatabaseGateway - Renders the template and writes the mail to
+ * app.mail_queue through the current JPA transaction;
+ * {@link com.kompu.api.infrastructure.shared.mail.MailDispatcher} sends it.
+ */
+public class MailQueueDatabaseGateway implements MailGateway {
+
+    private final MailQueueRepository repository;
+    private final MailTemplateRegistry templates;
+    private final String sender;
+
+    public MailQueueDatabaseGateway(MailQueueRepository repository, MailTemplateRegistry templates, String sender) {
+        this.repository = repository;
+        this.templates = templates;
+        this.sender = sender;
+    }
+
+    @Override
+    public void enqueue(MailMessage message) {
+        RenderedMail rendered = templates.get(message.template()).render(message.variables());
+        Instant now = Instant.now();
+        repository.save(MailQueueSchema.builder()
+                .template(message.template())
+                .sender(sender)
+                .recipient(message.to())
+                .subject(rendered.subject())
+                .body(rendered.body())
+                .createdAt(now)
+                .availableAt(now)
+                .build());
+    }
+}
@@ -0,0 +1,45 @@
+package com.kompu.api.infrastructure.shared.gateway;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.entity.shared.gateway.OutboxGateway;
+import com.kompu.api.entity.shared.model.DomainEvent;
+import com.kompu.api.infrastructure.config.db.repository.OutboxRepository;
+import com.kompu.api.infrastructure.config.db.schema.OutboxSchema;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * OutboxDatabaseGateway - Writes domain events to app.outbox through the
+ * current JPA transaction; {@link com.kompu.api.infrastructure.shared.outbox.OutboxRelay}
+ * delivers them.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxDatabaseGateway implements OutboxGateway {
+
+    private final OutboxRepository repository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void publish(DomainEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event.payload());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Event payload is not serializable: " + event.type(), e);
+        }
+        repository.save(OutboxSchema.builder()
+                .id(event.id())
+                .eventType(event.type())
+                .aggregateType(event.aggregateType())
+                .aggregateId(event.aggregateId())
+                .tenantId(event.tenantId())
+                .payload(payload)
+                .createdAt(event.occurredAt())
+                .availableAt(event.occurredAt())
+                .build());
+    }
+}
@@ -0,0 +1,106 @@
+package com.kompu.api.infrastructure.shared.idempotency;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * IdempotencyInterceptor - Hands calls to {@link Idempotent} methods that
+ * carry an {@code Idempotency-Key} header to the IdempotencyManager.
+ *
+ * The annotation and the indexes of the arguments that make up the request
+ * are resolved once per method; calls without the header only pay for the
+ * header lookup.
+ */
+public class IdempotencyInterceptor implements MethodInterceptor {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final IdempotentMethod NOT_IDEMPOTENT = new IdempotentMethod(null, new int[0]);
+
+    private final ObjectProvider<IdempotencyManager> idempotencyManager;
+    private final Map<Method, IdempotentMethod> methods = new ConcurrentHashMap<>();
+
+    public IdempotencyInterceptor(ObjectProvider<IdempotencyManager> idempotencyManager) {
+        this.idempotencyManager = idempotencyManager;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        IdempotentMethod idempotent = methods.computeIfAbsent(invocation.getMethod(),
+                IdempotencyInterceptor::resolve);
+        if (idempotent.idempotent() == null) {
+            return invocation.proceed();
+        }
+        String key = currentKey();
+        IdempotencyManager manager = idempotencyManager.getIfAvailable();
+        if (key == null || manager == null) {
+            return invocation.proceed();
+        }
+        Object[] arguments = invocation.getArguments();
+        Object[] requestParts = new Object[idempotent.requestParts().length];
+        for (int i = 0; i < requestParts.length; i++) {
+            requestParts[i] = arguments[idempotent.requestParts()[i]];
+        }
+        return manager.execute(scope(idempotent.idempotent().value()), key, requestParts,
+                idempotent.idempotent().ttlSeconds(), idempotent.idempotent().replayBody(),
+                () -> (ResponseEntity<?>) invocation.proceed());
+    }
+
+    private static String currentKey() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getHeader(HEADER);
+        }
+        return null;
+    }
+
+    // Two users sending the same key must not see each other's responses
+    private static String scope(String value) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return value;
+        }
+        return value + ':' + authentication.getName();
+    }
+
+    private static IdempotentMethod resolve(Method method) {
+        Idempotent idempotent = AnnotatedElementUtils.findMergedAnnotation(method, Idempotent.class);
+        if (idempotent == null) {
+            return NOT_IDEMPOTENT;
+        }
+        if (!ResponseEntity.class.isAssignableFrom(method.getReturnType())) {
+            throw new IllegalStateException("@Idempotent method must return ResponseEntity: " + method);
+        }
+        Parameter[] parameters = method.getParameters();
+        List<Integer> requestParts = new ArrayList<>();
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].isAnnotationPresent(RequestBody.class)
+                    || parameters[i].isAnnotationPresent(PathVariable.class)
+                    || parameters[i].isAnnotationPresent(RequestParam.class)) {
+                requestParts.add(i);
+            }
+        }
+        return new IdempotentMethod(idempotent, requestParts.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private record IdempotentMethod(Idempotent idempotent, int[] requestParts) {
+    }
+}
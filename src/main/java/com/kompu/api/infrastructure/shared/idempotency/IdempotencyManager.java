@@ -0,0 +1,322 @@
+package com.kompu.api.infrastructure.shared.idempotency;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.entity.shared.exception.IdempotencyKeyInProgressException;
+import com.kompu.api.entity.shared.exception.InvalidIdempotencyKeyException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * IdempotencyManager - Runs a request at most once per idempotency key and
+ * replays its response to retries.
+ *
+ * A retry is answered from the cheapest place that knows the outcome:
+ * completed responses are kept in a small LRU in front of the store; a
+ * duplicate arriving while the first request still runs on this node waits
+ * on it instead of touching the store; only then is the key claimed in the
+ * store, where a request running on another node is polled until it
+ * completes or {@code waitTimeout} passes. A failed request stores nothing
+ * and gives its key up, so waiters and later retries run it again.
+ *
+ * Requests are fingerprinted with an HMAC under a server key, so a stored
+ * fingerprint says nothing about the request it came from, passwords
+ * included. A request that ran but whose response could not be stored still
+ * completes its key without a body; it is never run a second time.
+ *
+ * Metrics: idempotency.requests{result=executed|replayed|rejected} and
+ * idempotency.in_flight.
+ */
+@Slf4j
+public class IdempotencyManager {
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private static final long POLL_MILLIS = 50;
+    private static final String FINGERPRINT_ALGORITHM = "HmacSHA256";
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec fingerprintKey;
+    private final Duration defaultTtl;
+    private final long waitTimeoutNanos;
+    private final Map<String, StoredResponse> completed;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter rejected;
+
+    public IdempotencyManager(IdempotencyStore store, ObjectMapper objectMapper, byte[] fingerprintKey,
+            Duration defaultTtl, Duration waitTimeout, int frontCacheSize, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.fingerprintKey = new SecretKeySpec(fingerprintKey, FINGERPRINT_ALGORITHM);
+        this.defaultTtl = defaultTtl;
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+        this.completed = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > frontCacheSize;
+            }
+        };
+        this.executed = result(meterRegistry, "executed");
+        this.replayed = result(meterRegistry, "replayed");
+        this.rejected = result(meterRegistry, "rejected");
+        Gauge.builder("idempotency.in_flight", inFlight, Map::size)
+                .description("Requests with an idempotency key running on this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param scope        key scope, including the principal when there is one
+     * @param requestParts the arguments that make up the request; a key reused
+     *                     with different ones is rejected
+     * @param ttlSeconds   how long the response is replayed; 0 for the default
+     * @param replayBody   false to keep only the status of the response
+     * @throws InvalidIdempotencyKeyException     when the key is malformed or
+     *                                            was used for another request
+     * @throws IdempotencyKeyInProgressException  when the first request is
+     *                                            still running after the wait
+     */
+    public ResponseEntity<?> execute(String scope, String key, Object[] requestParts, long ttlSeconds,
+            boolean replayBody, IdempotentCall call) throws Throwable {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(
+                    "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        byte[] keyHash = sha256((scope + '\n' + key).getBytes(StandardCharsets.UTF_8));
+        byte[] fingerprint = fingerprint(serialize(requestParts));
+        String id = HexFormat.of().formatHex(keyHash);
+        Duration ttl = ttlSeconds > 0 ? Duration.ofSeconds(ttlSeconds) : defaultTtl;
+        long deadline = System.nanoTime() + waitTimeoutNanos;
+
+        while (true) {
+            StoredResponse cached = cached(id);
+            if (cached != null) {
+                return replay(cached, fingerprint);
+            }
+            CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(id, mine);
+            if (running != null) {
+                StoredResponse stored = await(running, deadline);
+                if (stored != null) {
+                    return replay(stored, fingerprint);
+                }
+                // The first attempt failed and stored nothing; run it again
+                continue;
+            }
+            try {
+                return claimAndRun(id, keyHash, fingerprint, ttl, replayBody, deadline, call, mine);
+            } finally {
+                inFlight.remove(id, mine);
+                if (!mine.isDone()) {
+                    mine.completeExceptionally(new CancellationException("No response stored"));
+                }
+            }
+        }
+    }
+
+    private ResponseEntity<?> claimAndRun(String id, byte[] keyHash, byte[] fingerprint, Duration ttl,
+            boolean replayBody, long deadline, IdempotentCall call, CompletableFuture<StoredResponse> mine)
+            throws Throwable {
+        while (!store.claim(keyHash, fingerprint, ttl)) {
+            Optional<IdempotencyStore.Entry> entry = store.find(keyHash);
+            if (entry.isEmpty()) {
+                // Released or expired between the two statements; claim again
+                continue;
+            }
+            StoredResponse existing = entry.get().response();
+            if (entry.get().completed()) {
+                remember(id, existing);
+                mine.complete(existing);
+                return replay(existing, fingerprint);
+            }
+            if (!MessageDigest.isEqual(existing.fingerprint(), fingerprint)) {
+                throw reused();
+            }
+            // Running on another node
+            if (System.nanoTime() - deadline >= 0) {
+                throw inProgress();
+            }
+            try {
+                Thread.sleep(POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw inProgress();
+            }
+        }
+        return run(id, keyHash, fingerprint, ttl, replayBody, call, mine);
+    }
+
+    private ResponseEntity<?> run(String id, byte[] keyHash, byte[] fingerprint, Duration ttl, boolean replayBody,
+            IdempotentCall call, CompletableFuture<StoredResponse> mine) throws Throwable {
+        ResponseEntity<?> response;
+        try {
+            response = call.proceed();
+        } catch (Throwable e) {
+            try {
+                store.release(keyHash, fingerprint);
+            } catch (RuntimeException releaseFailure) {
+                e.addSuppressed(releaseFailure);
+            }
+            throw e;
+        }
+        executed.increment();
+        StoredResponse stored = new StoredResponse(fingerprint, response.getStatusCode().value(),
+                replayBody ? body(id, response) : null, Instant.now().plus(ttl));
+        remember(id, stored);
+        mine.complete(stored);
+        try {
+            store.complete(keyHash, stored, ttl);
+        } catch (RuntimeException e) {
+            fence(id, keyHash, stored, ttl, e);
+        }
+        return response;
+    }
+
+    private byte[] body(String id, ResponseEntity<?> response) {
+        if (!response.hasBody()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsBytes(response.getBody());
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize idempotent response {}, replaying its status only: {}", id,
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    // The request did happen; without a completed row another node would run it again once the lock runs out
+    private void fence(String id, byte[] keyHash, StoredResponse stored, Duration ttl, RuntimeException cause) {
+        log.warn("Failed to store idempotent response {}, completing it without a body: {}", id,
+                cause.getMessage());
+        try {
+            store.complete(keyHash, new StoredResponse(stored.fingerprint(), stored.status(), null,
+                    stored.expiresAt()), ttl);
+        } catch (RuntimeException e) {
+            e.addSuppressed(cause);
+            log.error("Idempotency key {} is left in progress and may run again after its lock expires", id, e);
+        }
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running, long deadline) {
+        try {
+            return running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException | CancellationException e) {
+            return null;
+        } catch (TimeoutException e) {
+            throw inProgress();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress();
+        }
+    }
+
+    private ResponseEntity<JsonNode> replay(StoredResponse stored, byte[] fingerprint) throws IOException {
+        if (!MessageDigest.isEqual(stored.fingerprint(), fingerprint)) {
+            throw reused();
+        }
+        replayed.increment();
+        return ResponseEntity.status(stored.status())
+                .header(REPLAYED_HEADER, "true")
+                .body(stored.body() != null ? objectMapper.readTree(stored.body()) : null);
+    }
+
+    private StoredResponse cached(String id) {
+        synchronized (completed) {
+            StoredResponse stored = completed.get(id);
+            if (stored != null && stored.expiresAt().isBefore(Instant.now())) {
+                completed.remove(id);
+                return null;
+            }
+            return stored;
+        }
+    }
+
+    private void remember(String id, StoredResponse stored) {
+        synchronized (completed) {
+            completed.put(id, stored);
+        }
+    }
+
+    private InvalidIdempotencyKeyException reused() {
+        rejected.increment();
+        return new InvalidIdempotencyKeyException("Idempotency-Key was already used for a different request");
+    }
+
+    private IdempotencyKeyInProgressException inProgress() {
+        rejected.increment();
+        return new IdempotencyKeyInProgressException(
+                "A request with this Idempotency-Key is still being processed; retry later");
+    }
+
+    private byte[] serialize(Object[] requestParts) {
+        try {
+            return objectMapper.writeValueAsBytes(requestParts);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to fingerprint idempotent request", e);
+        }
+    }
+
+    private byte[] fingerprint(byte[] request) {
+        try {
+            Mac mac = Mac.getInstance(FINGERPRINT_ALGORITHM);
+            mac.init(fingerprintKey);
+            return mac.doFinal(request);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(FINGERPRINT_ALGORITHM + " not available", e);
+        }
+    }
+
+    private static byte[] sha256(byte[] input) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(input);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Counter result(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("idempotency.requests")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The guarded call, typically the intercepted controller method.
+     */
+    @FunctionalInterface
+    public interface IdempotentCall {
+
+        ResponseEntity<?> proceed() throws Throwable;
+    }
+}
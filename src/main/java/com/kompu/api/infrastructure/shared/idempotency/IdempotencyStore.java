@@ -0,0 +1,93 @@
+package com.kompu.api.infrastructure.shared.idempotency;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * IdempotencyStore - Idempotency keys in app.idempotency_keys, shared by all
+ * nodes.
+ *
+ * Rows are keyed by the SHA-256 of scope and key and hold the request
+ * fingerprint, IN_PROGRESS or COMPLETED, and the response once there is one.
+ * A claim is a single insert; it also takes over a row that has expired or
+ * is still IN_PROGRESS past {@code locked_until}, e.g. after a node died
+ * mid-request. Statements run on their own (autocommit), never inside
+ * the request's transaction, so other nodes see a claim at once. Expired rows
+ * are removed by the retention sweeper.
+ */
+public class IdempotencyStore {
+
+    private static final String CLAIM_SQL = """
+            INSERT INTO app.idempotency_keys (key_hash, fingerprint, status, locked_until, expires_at)
+            VALUES (?, ?, 'IN_PROGRESS', now() + ? * interval '1 millisecond', now() + ? * interval '1 second')
+            ON CONFLICT (key_hash) DO UPDATE
+            SET fingerprint = EXCLUDED.fingerprint,
+                status = 'IN_PROGRESS',
+                response_status = NULL,
+                response_body = NULL,
+                locked_until = EXCLUDED.locked_until,
+                created_at = now(),
+                expires_at = EXCLUDED.expires_at
+            WHERE idempotency_keys.expires_at <= now()
+               OR (idempotency_keys.status = 'IN_PROGRESS' AND idempotency_keys.locked_until <= now())
+            """;
+
+    private static final String COMPLETE_SQL = """
+            UPDATE app.idempotency_keys
+            SET status = 'COMPLETED', response_status = ?, response_body = ?, locked_until = NULL,
+                expires_at = now() + ? * interval '1 second'
+            WHERE key_hash = ? AND fingerprint = ? AND status = 'IN_PROGRESS'
+            """;
+
+    private static final String RELEASE_SQL = """
+            DELETE FROM app.idempotency_keys
+            WHERE key_hash = ? AND fingerprint = ? AND status = 'IN_PROGRESS'
+            """;
+
+    private static final String FIND_SQL = """
+            SELECT status, fingerprint, response_status, response_body, expires_at
+            FROM app.idempotency_keys
+            WHERE key_hash = ? AND expires_at > now()
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration lockTimeout;
+
+    public IdempotencyStore(JdbcTemplate jdbcTemplate, Duration lockTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lockTimeout = lockTimeout;
+    }
+
+    /**
+     * @return true when this caller now owns the key and must run the request
+     */
+    public boolean claim(byte[] keyHash, byte[] fingerprint, Duration ttl) {
+        return jdbcTemplate.update(CLAIM_SQL, keyHash, fingerprint, lockTimeout.toMillis(), ttl.toSeconds()) == 1;
+    }
+
+    public void complete(byte[] keyHash, StoredResponse response, Duration ttl) {
+        jdbcTemplate.update(COMPLETE_SQL, response.status(), response.body(), ttl.toSeconds(), keyHash,
+                response.fingerprint());
+    }
+
+    /** Gives the key up after a failed request so a retry runs it again */
+    public void release(byte[] keyHash, byte[] fingerprint) {
+        jdbcTemplate.update(RELEASE_SQL, keyHash, fingerprint);
+    }
+
+    public Optional<Entry> find(byte[] keyHash) {
+        return jdbcTemplate.query(FIND_SQL, (rs, rowNum) -> new Entry(
+                "COMPLETED".equals(rs.getString("status")),
+                new StoredResponse(rs.getBytes("fingerprint"), rs.getInt("response_status"),
+                        rs.getBytes("response_body"), rs.getTimestamp("expires_at").toInstant())),
+                keyHash).stream().findFirst();
+    }
+
+    /**
+     * A live row; the response status and body are only set once completed.
+     */
+    public record Entry(boolean completed, StoredResponse response) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.kompu.api.infrastructure.shared.idempotency;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Idempotent - Declares a mutating controller method as safe to retry with an
+ * {@code Idempotency-Key} header.
+ *
+ * The first request with a key runs the method and its response is kept; a
+ * retry with the same key and the same request gets that response back with
+ * {@code Idempotent-Replayed: true} instead of running the method again.
+ * Requests without the header run as usual. Keys are scoped by the value
+ * below and the authenticated principal, and fingerprinted over the
+ * {@code @RequestBody}, {@code @PathVariable} and {@code @RequestParam}
+ * arguments. The method must return a ResponseEntity.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Idempotent {
+
+    /** Scope of the keys, e.g. "auth.signup" */
+    String value();
+
+    /** How long a response is replayed, in seconds; 0 for app.idempotency.ttl-hours */
+    long ttlSeconds() default 0;
+
+    /**
+     * Whether the response body is kept for replay. Turn it off for responses
+     * carrying credentials; a retry then gets the status alone.
+     */
+    boolean replayBody() default true;
+}
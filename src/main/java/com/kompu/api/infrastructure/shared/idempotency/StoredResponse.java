@@ -0,0 +1,11 @@
+package com.kompu.api.infrastructure.shared.idempotency;
+
+import java.time.Instant;
+
+/**
+ * StoredResponse - The response kept for an idempotency key: the request
+ * fingerprint it answered, the HTTP status and the serialized body (null when
+ * the response had none).
+ */
+public record StoredResponse(byte[] fingerprint, int status, byte[] body, Instant expiresAt) {
+}
@@ -0,0 +1,118 @@
+package com.kompu.api.infrastructure.shared.job;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * JobContext - State of one job run, handed to {@link ScheduledJob#run}.
+ * 
+ * {@link #forEachChunk} spreads work across the runner's worker pool so a
+ * single run can use several connections; the job still runs on one node.
+ */
+public class JobContext {
+
+    private final UUID runId;
+    private final String jobName;
+    private final Instant scheduledAt;
+    private final ExecutorService workers;
+    private final Thread runThread;
+    private final AtomicLong processed = new AtomicLong();
+    private volatile boolean cancelled;
+    private volatile boolean leaseLost;
+
+    JobContext(UUID runId, String jobName, Instant scheduledAt, ExecutorService workers, Thread runThread) {
+        this.runId = runId;
+        this.jobName = jobName;
+        this.scheduledAt = scheduledAt;
+        this.workers = workers;
+        this.runThread = runThread;
+    }
+
+    public UUID runId() {
+        return runId;
+    }
+
+    public String jobName() {
+        return jobName;
+    }
+
+    /**
+     * Fire time this run was scheduled for
+     */
+    public Instant scheduledAt() {
+        return scheduledAt;
+    }
+
+    /**
+     * Add to the item count stored in the run history
+     */
+    public void addProcessed(long count) {
+        processed.addAndGet(count);
+    }
+
+    public long processed() {
+        return processed.get();
+    }
+
+    /**
+     * True once the runner stops or the run loses its lease to another node.
+     * Long jobs should check it between units of work and stop early; the
+     * thread calling {@link ScheduledJob#run} is also interrupted.
+     */
+    public boolean isCancelled() {
+        return cancelled || Thread.currentThread().isInterrupted();
+    }
+
+    boolean isLeaseLost() {
+        return leaseLost;
+    }
+
+    void cancel() {
+        cancelled = true;
+        runThread.interrupt();
+    }
+
+    void loseLease() {
+        leaseLost = true;
+        cancel();
+    }
+
+    /**
+     * Process {@code items} in chunks of {@code chunkSize} on the worker pool
+     * and wait for all of them. The first failure is rethrown after the other
+     * chunks finish; chunks not started yet are skipped once the run is
+     * cancelled. Processed items are counted automatically.
+     */
+    public <T> void forEachChunk(List<T> items, int chunkSize, Consumer<List<T>> chunkHandler) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<T> chunk = items.subList(from, Math.min(from + chunkSize, items.size()));
+            chunks.add(CompletableFuture.runAsync(() -> {
+                if (isCancelled()) {
+                    throw new CancellationException("Job run cancelled: " + jobName);
+                }
+                chunkHandler.accept(chunk);
+                addProcessed(chunk.size());
+            }, workers));
+        }
+        try {
+            CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package com.kompu.api.infrastructure.shared.job;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.kompu.api.entity.shared.util.UuidV7;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JobRunner - Runs {@link ScheduledJob}s once per cluster.
+ * 
+ * A tick thread checks which jobs are locally due and hands them to the job
+ * pool. A due job is claimed with one UPDATE of its
+ * {@code app.scheduled_jobs} row that only succeeds when the job is due by
+ * the database clock and nobody holds an unexpired lease, so exactly one node
+ * runs each fire time and no connection is held while the job runs. The
+ * holder renews the lease every third of {@code leaseDuration}; when a
+ * renewal finds the lease taken over, or cannot reach the database before the
+ * lease runs out, the run is cancelled (its thread is interrupted and
+ * {@link JobContext#isCancelled()} turns true). Every write that records the
+ * outcome is conditioned on the run still holding the lease, so a run that
+ * lost it cannot overwrite the next holder's schedule. Runs left RUNNING by a
+ * node that stopped renewing are marked ABANDONED by the next node to claim
+ * the job. Every run is recorded in {@code app.job_runs}.
+ * 
+ * Several runners may share one database (for example two nodes started in
+ * the same JVM against a local Postgres); {@code nodeId} tells them apart in
+ * the run history.
+ */
+@Slf4j
+public class JobRunner {
+
+    private static final String STATUS_RUNNING = "RUNNING";
+    private static final String STATUS_SUCCEEDED = "SUCCEEDED";
+    private static final String STATUS_FAILED = "FAILED";
+    private static final String STATUS_ABANDONED = "ABANDONED";
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private static final String CLAIM_SQL = """
+            UPDATE app.scheduled_jobs
+            SET lease_owner = ?, lease_run_id = ?, lease_until = now() + ? * interval '1 millisecond',
+                last_started_at = now(), last_node_id = ?
+            WHERE name = ?
+              AND next_run_at <= now()
+              AND (lease_until IS NULL OR lease_until < now())
+            RETURNING next_run_at, now() AS claimed_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<ScheduledJob> jobs;
+    private final String nodeId;
+    private final MeterRegistry meterRegistry;
+    private final long tickMillis;
+    private final int workerThreads;
+    private final Duration leaseDuration;
+
+    private final Map<String, Instant> localNextDue = new ConcurrentHashMap<>();
+    private final Map<String, JobContext> running = new ConcurrentHashMap<>();
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final Map<String, AtomicLong> lagMillis = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService ticker;
+    private ScheduledExecutorService heartbeat;
+    private ExecutorService jobPool;
+    private ExecutorService workers;
+
+    public JobRunner(DataSource dataSource, List<ScheduledJob> jobs, String nodeId, MeterRegistry meterRegistry,
+            long tickMillis, int workerThreads, Duration leaseDuration) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jobs = List.copyOf(jobs);
+        this.nodeId = nodeId;
+        this.meterRegistry = meterRegistry;
+        this.tickMillis = tickMillis;
+        this.workerThreads = workerThreads;
+        this.leaseDuration = leaseDuration;
+        for (ScheduledJob job : this.jobs) {
+            AtomicLong lag = new AtomicLong();
+            lagMillis.put(job.name(), lag);
+            Gauge.builder("jobs.lag", lag, value -> value.get() / 1000.0)
+                    .description("Delay between the scheduled and actual start of the last run")
+                    .baseUnit("seconds")
+                    .tag("job", job.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    public synchronized void start() {
+        AtomicInteger workerCount = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "job-worker-" + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        jobPool = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "job-runner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-lease-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(this::tickSafely, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+        running.values().forEach(JobContext::cancel);
+        if (jobPool != null) {
+            jobPool.shutdownNow();
+            jobPool = null;
+        }
+        if (workers != null) {
+            workers.shutdownNow();
+            workers = null;
+        }
+        if (heartbeat != null) {
+            heartbeat.shutdownNow();
+            heartbeat = null;
+        }
+    }
+
+    /**
+     * Start every job that is locally due and not already running here
+     */
+    public void tick() {
+        Instant now = Instant.now();
+        for (ScheduledJob job : jobs) {
+            Instant due = localNextDue.get(job.name());
+            if ((due == null || !now.isBefore(due)) && inFlight.add(job.name())) {
+                jobPool.execute(() -> {
+                    try {
+                        runIfLeader(job);
+                    } catch (RuntimeException e) {
+                        log.error("Job {} could not be started", job.name(), e);
+                    } finally {
+                        inFlight.remove(job.name());
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Run the job now on this node if it is due cluster-wide and no other
+     * node holds its lease. Must be called after {@link #start()}.
+     * 
+     * @return the run id, empty if another node holds the lease or the job is
+     *         not due
+     */
+    public Optional<UUID> runIfLeader(ScheduledJob job) {
+        UUID runId = UuidV7.next();
+        jdbcTemplate.update("""
+                INSERT INTO app.scheduled_jobs (name, next_run_at)
+                VALUES (?, now())
+                ON CONFLICT (name) DO NOTHING
+                """, job.name());
+        List<Claim> claims = jdbcTemplate.query(CLAIM_SQL,
+                (rs, rowNum) -> new Claim(rs.getTimestamp("next_run_at").toInstant(),
+                        rs.getTimestamp("claimed_at").toInstant()),
+                nodeId, runId, leaseDuration.toMillis(), nodeId, job.name());
+        if (claims.isEmpty()) {
+            Instant scheduledAt = jdbcTemplate.queryForObject(
+                    "SELECT next_run_at FROM app.scheduled_jobs WHERE name = ?",
+                    (rs, rowNum) -> rs.getTimestamp(1).toInstant(), job.name());
+            Instant now = Instant.now();
+            // Not due yet, or due and leased by another node: look again on its next fire time
+            localNextDue.put(job.name(), scheduledAt.isAfter(now) ? scheduledAt : job.trigger().next(now));
+            return Optional.empty();
+        }
+        return Optional.of(runClaimed(job, runId, claims.get(0)));
+    }
+
+    private UUID runClaimed(ScheduledJob job, UUID runId, Claim claim) {
+        Instant scheduledAt = claim.scheduledAt();
+        int abandoned = jdbcTemplate.update("""
+                UPDATE app.job_runs
+                SET status = ?, finished_at = now(), error = ?
+                WHERE job_name = ? AND status = ?
+                """, STATUS_ABANDONED, "Lease expired before the run finished", job.name(), STATUS_RUNNING);
+        if (abandoned > 0) {
+            log.warn("Job {}: marked {} run(s) of a node that stopped renewing its lease as abandoned",
+                    job.name(), abandoned);
+        }
+
+        JobContext context = new JobContext(runId, job.name(), scheduledAt, workers, Thread.currentThread());
+        running.put(job.name(), context);
+        lagMillis.get(job.name()).set(Duration.between(scheduledAt, claim.claimedAt()).toMillis());
+        jdbcTemplate.update("""
+                INSERT INTO app.job_runs (id, job_name, node_id, scheduled_at, started_at, status)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """, runId, job.name(), nodeId, Timestamp.from(scheduledAt), Timestamp.from(claim.claimedAt()),
+                STATUS_RUNNING);
+
+        LeaseHeartbeat lease = new LeaseHeartbeat(job.name(), runId, context);
+        long renewEvery = Math.max(1, leaseDuration.toMillis() / 3);
+        ScheduledFuture<?> renewal = heartbeat.scheduleWithFixedDelay(lease::renew, renewEvery, renewEvery,
+                TimeUnit.MILLISECONDS);
+
+        String status = STATUS_SUCCEEDED;
+        String error = null;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            job.run(context);
+            if (context.isLeaseLost()) {
+                status = STATUS_FAILED;
+                error = "Lease lost during the run";
+            }
+        } catch (Exception e) {
+            status = STATUS_FAILED;
+            error = truncate(context.isLeaseLost() ? "Lease lost during the run: " + e : e.toString());
+            log.error("Job {} run {} failed", job.name(), runId, e);
+        } finally {
+            renewal.cancel(false);
+            running.remove(job.name());
+            // A cancellation must not leak into the pool thread's next job
+            Thread.interrupted();
+            sample.stop(Timer.builder("jobs.run")
+                    .description("Duration of scheduled job runs")
+                    .tag("job", job.name())
+                    .tag("status", status)
+                    .register(meterRegistry));
+            Counter.builder("jobs.runs")
+                    .tag("job", job.name())
+                    .tag("status", status)
+                    .register(meterRegistry)
+                    .increment();
+        }
+
+        Instant finished = Instant.now();
+        Instant next = job.trigger().next(scheduledAt);
+        if (next.isBefore(finished)) {
+            // Missed fire times are not caught up; resume from now
+            next = job.trigger().next(finished);
+        }
+        jdbcTemplate.update("""
+                UPDATE app.job_runs
+                SET finished_at = ?, status = ?, items_processed = ?, error = ?
+                WHERE id = ? AND status = ?
+                """, Timestamp.from(finished), status, context.processed(), error, runId, STATUS_RUNNING);
+        int released = jdbcTemplate.update("""
+                UPDATE app.scheduled_jobs
+                SET next_run_at = ?, last_finished_at = ?, last_status = ?,
+                    lease_owner = NULL, lease_run_id = NULL, lease_until = NULL
+                WHERE name = ? AND lease_run_id = ?
+                """, Timestamp.from(next), Timestamp.from(finished), status, job.name(), runId);
+        if (released == 0) {
+            log.error("Job {} run {} lost its lease; its outcome was not recorded in the schedule", job.name(),
+                    runId);
+        }
+        localNextDue.put(job.name(), next);
+        return runId;
+    }
+
+    private void tickSafely() {
+        try {
+            tick();
+        } catch (RuntimeException e) {
+            log.error("Job tick failed", e);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private record Claim(Instant scheduledAt, Instant claimedAt) {
+    }
+
+    /**
+     * Keeps one run's lease alive and cancels the run once it cannot
+     */
+    private final class LeaseHeartbeat {
+
+        private final String jobName;
+        private final UUID runId;
+        private final JobContext context;
+        private volatile long renewedAtNanos = System.nanoTime();
+
+        LeaseHeartbeat(String jobName, UUID runId, JobContext context) {
+            this.jobName = jobName;
+            this.runId = runId;
+            this.context = context;
+        }
+
+        void renew() {
+            if (context.isLeaseLost()) {
+                return;
+            }
+            try {
+                int renewed = jdbcTemplate.update("""
+                        UPDATE app.scheduled_jobs
+                        SET lease_until = now() + ? * interval '1 millisecond'
+                        WHERE name = ? AND lease_run_id = ?
+                        """, leaseDuration.toMillis(), jobName, runId);
+                if (renewed == 1) {
+                    renewedAtNanos = System.nanoTime();
+                    return;
+                }
+                log.error("Job {} run {} lost its lease to another node, cancelling it", jobName, runId);
+            } catch (RuntimeException e) {
+                if (System.nanoTime() - renewedAtNanos < leaseDuration.toNanos()) {
+                    log.warn("Job {} could not renew its lease, retrying: {}", jobName, e.getMessage());
+                    return;
+                }
+                log.error("Job {} run {} could not renew its lease before it expired, cancelling it", jobName,
+                        runId, e);
+            }
+            context.loseLease();
+        }
+    }
+}
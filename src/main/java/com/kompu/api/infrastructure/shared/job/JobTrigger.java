@@ -0,0 +1,54 @@
+package com.kompu.api.infrastructure.shared.job;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import org.springframework.scheduling.support.CronExpression;
+
+/**
+ * JobTrigger - When a scheduled job is due next.
+ */
+public sealed interface JobTrigger {
+
+    /**
+     * First fire time strictly after {@code after}
+     */
+    Instant next(Instant after);
+
+    /**
+     * Spring cron expression (six fields, seconds first) evaluated in
+     * {@code zone}
+     */
+    static JobTrigger cron(String expression, ZoneId zone) {
+        return new Cron(CronExpression.parse(expression), zone);
+    }
+
+    static JobTrigger fixedRate(Duration period) {
+        if (period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Job period must be positive");
+        }
+        return new FixedRate(period);
+    }
+
+    record Cron(CronExpression expression, ZoneId zone) implements JobTrigger {
+
+        @Override
+        public Instant next(Instant after) {
+            ZonedDateTime next = expression.next(after.atZone(zone));
+            if (next == null) {
+                throw new IllegalStateException("Cron expression never fires: " + expression);
+            }
+            return next.toInstant();
+        }
+    }
+
+    record FixedRate(Duration period) implements JobTrigger {
+
+        @Override
+        public Instant next(Instant after) {
+            return after.plus(period);
+        }
+    }
+}
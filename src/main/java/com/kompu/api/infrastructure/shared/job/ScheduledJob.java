@@ -0,0 +1,22 @@
+package com.kompu.api.infrastructure.shared.job;
+
+/**
+ * ScheduledJob - Work that runs once per cluster on a trigger.
+ * 
+ * Every bean implementing this interface is picked up by {@link JobRunner}.
+ * The name keys the lease, the schedule row and the run history, so
+ * it must be stable and unique.
+ */
+public interface ScheduledJob {
+
+    String name();
+
+    JobTrigger trigger();
+
+    /**
+     * Run the job. Throwing marks the run FAILED; the next run is still
+     * scheduled from the trigger.
+     */
+    void run(JobContext context) throws Exception;
+
+}
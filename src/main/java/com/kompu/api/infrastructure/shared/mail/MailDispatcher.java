@@ -0,0 +1,261 @@
+package com.kompu.api.infrastructure.shared.mail;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import com.kompu.api.infrastructure.config.db.repository.MailQueueRepository;
+import com.kompu.api.infrastructure.config.db.schema.MailQueueSchema;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MailDispatcher - Sends queued mail from a small pool of workers.
+ * 
+ * Each worker leases a batch of due rows (see
+ * {@link MailQueueRepository#leaseDue(int, long)}), sends the whole batch with
+ * one {@link JavaMailSender#send(MimeMessage...)} call, which opens a single
+ * SMTP connection for it, and then records the outcome per message. No
+ * database transaction is held while talking to the mail server.
+ * 
+ * A failed message is rescheduled with exponential backoff and marked DEAD
+ * after {@code maxAttempts}. When a batch comes back full the worker leases
+ * again immediately, otherwise it sleeps for the poll interval.
+ */
+@Slf4j
+public class MailDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final MailQueueRepository repository;
+    private final JavaMailSender mailSender;
+    private final MeterRegistry meterRegistry;
+    private final int workerThreads;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final long pollIntervalMillis;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter dead;
+    private final Timer batchTimer;
+
+    private ExecutorService workers;
+
+    public MailDispatcher(MailQueueRepository repository, JavaMailSender mailSender, MeterRegistry meterRegistry,
+            int workerThreads, int batchSize, int maxAttempts, Duration baseBackoff, Duration maxBackoff,
+            Duration lease, long pollIntervalMillis) {
+        this.repository = repository;
+        this.mailSender = mailSender;
+        this.meterRegistry = meterRegistry;
+        this.workerThreads = workerThreads;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = baseBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.sent = messages(meterRegistry, "sent");
+        this.retried = messages(meterRegistry, "retried");
+        this.dead = messages(meterRegistry, "dead");
+        this.batchTimer = Timer.builder("mail.batch")
+                .description("Time to send one batch over a single SMTP connection")
+                .register(meterRegistry);
+        Gauge.builder("mail.pending", pending, AtomicLong::get)
+                .description("Queued mail waiting to be sent")
+                .register(meterRegistry);
+    }
+
+    private static Counter messages(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("mail.messages")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public synchronized void start() {
+        AtomicInteger sequence = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "mail-dispatcher-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workerThreads; i++) {
+            workers.execute(this::work);
+        }
+    }
+
+    public synchronized void stop() {
+        if (workers != null) {
+            workers.shutdownNow();
+            try {
+                workers.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            workers = null;
+        }
+    }
+
+    /**
+     * Send due mail until a batch comes back short
+     * 
+     * @return number of messages leased
+     */
+    public int drain() {
+        int total = 0;
+        int leased;
+        do {
+            leased = sendBatch();
+            total += leased;
+        } while (leased == batchSize && !Thread.currentThread().isInterrupted());
+        pending.set(repository.countByStatus(MailQueueSchema.STATUS_PENDING));
+        return total;
+    }
+
+    private void work() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                drain();
+                Thread.sleep(pollIntervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Mail dispatcher poll failed", e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    private int sendBatch() {
+        List<MailQueueSchema> batch = repository.leaseDue(batchSize, lease.toSeconds());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Map<MimeMessage, MailQueueSchema> byMessage = new IdentityHashMap<>();
+        List<MimeMessage> messages = new ArrayList<>(batch.size());
+        for (MailQueueSchema row : batch) {
+            try {
+                MimeMessage message = toMimeMessage(row);
+                byMessage.put(message, row);
+                messages.add(message);
+            } catch (MessagingException e) {
+                // Malformed address or content never gets better; skip the retries
+                markDead(row, row.getAttempts() + 1, e);
+            }
+        }
+        if (!messages.isEmpty()) {
+            Map<Object, Exception> failures = batchTimer.record(() -> send(messages));
+            record(byMessage, failures);
+        }
+        return batch.size();
+    }
+
+    private Map<Object, Exception> send(List<MimeMessage> messages) {
+        try {
+            mailSender.send(messages.toArray(MimeMessage[]::new));
+            return Map.of();
+        } catch (MailSendException e) {
+            // Per-message failures, or every message when the connection failed
+            if (!e.getFailedMessages().isEmpty()) {
+                return e.getFailedMessages();
+            }
+            return failAll(messages, e);
+        } catch (RuntimeException e) {
+            return failAll(messages, e);
+        }
+    }
+
+    private void record(Map<MimeMessage, MailQueueSchema> byMessage, Map<Object, Exception> failures) {
+        List<UUID> sentIds = new ArrayList<>(byMessage.size());
+        for (Map.Entry<MimeMessage, MailQueueSchema> entry : byMessage.entrySet()) {
+            Exception failure = failures.get(entry.getKey());
+            if (failure == null) {
+                sentIds.add(entry.getValue().getId());
+            } else {
+                fail(entry.getValue(), failure);
+            }
+        }
+        if (!sentIds.isEmpty()) {
+            repository.markSent(sentIds);
+            sent.increment(sentIds.size());
+        }
+    }
+
+    private void fail(MailQueueSchema row, Exception error) {
+        int attempts = row.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            markDead(row, attempts, error);
+            return;
+        }
+        repository.reschedule(row.getId(), attempts, Instant.now().plus(backoff(attempts)),
+                truncate(error.toString()));
+        retried.increment();
+        log.warn("Mail {} to {} failed, attempt {}: {}", row.getId(), row.getRecipient(), attempts,
+                error.getMessage());
+    }
+
+    private void markDead(MailQueueSchema row, int attempts, Exception error) {
+        repository.markDead(row.getId(), attempts, truncate(error.toString()));
+        dead.increment();
+        log.error("Mail {} ({}) to {} is dead after {} attempts", row.getId(), row.getTemplate(),
+                row.getRecipient(), attempts, error);
+    }
+
+    private MimeMessage toMimeMessage(MailQueueSchema row) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setFrom(row.getSender());
+        helper.setTo(row.getRecipient());
+        helper.setSubject(row.getSubject());
+        helper.setText(row.getBody());
+        return message;
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = baseBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static Map<Object, Exception> failAll(List<MimeMessage> messages, Exception error) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        for (MimeMessage message : messages) {
+            failures.put(message, error);
+        }
+        return failures;
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(pollIntervalMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
@@ -0,0 +1,103 @@
+package com.kompu.api.infrastructure.shared.mail;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * MailTemplate - A subject and plain-text body with {@code {{name}}}
+ * placeholders, parsed once into literal and variable segments so rendering
+ * is a single pass of appends.
+ */
+public final class MailTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{\\s*([a-zA-Z][a-zA-Z0-9_.]*)\\s*}}");
+
+    private final String name;
+    private final List<Segment> subject;
+    private final List<Segment> body;
+    private final Set<String> variables;
+
+    private MailTemplate(String name, List<Segment> subject, List<Segment> body) {
+        this.name = name;
+        this.subject = subject;
+        this.body = body;
+        Set<String> names = new LinkedHashSet<>();
+        collect(subject, names);
+        collect(body, names);
+        this.variables = Set.copyOf(names);
+    }
+
+    public static MailTemplate compile(String name, String subject, String body) {
+        return new MailTemplate(name, parse(subject), parse(body));
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public Set<String> variables() {
+        return variables;
+    }
+
+    /**
+     * @throws IllegalArgumentException when a placeholder has no value
+     */
+    public RenderedMail render(Map<String, String> values) {
+        for (String variable : variables) {
+            if (!values.containsKey(variable)) {
+                throw new IllegalArgumentException(
+                        "Mail template '" + name + "' is missing variable '" + variable + "'");
+            }
+        }
+        return new RenderedMail(render(subject, values), render(body, values));
+    }
+
+    private static String render(List<Segment> segments, Map<String, String> values) {
+        StringBuilder out = new StringBuilder();
+        for (Segment segment : segments) {
+            if (segment.variable()) {
+                String value = values.get(segment.text());
+                out.append(value != null ? value : "");
+            } else {
+                out.append(segment.text());
+            }
+        }
+        return out.toString();
+    }
+
+    private static List<Segment> parse(String source) {
+        List<Segment> segments = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER.matcher(source);
+        int last = 0;
+        while (matcher.find()) {
+            if (matcher.start() > last) {
+                segments.add(new Segment(source.substring(last, matcher.start()), false));
+            }
+            segments.add(new Segment(matcher.group(1), true));
+            last = matcher.end();
+        }
+        if (last < source.length()) {
+            segments.add(new Segment(source.substring(last), false));
+        }
+        return List.copyOf(segments);
+    }
+
+    private static void collect(List<Segment> segments, Set<String> names) {
+        for (Segment segment : segments) {
+            if (segment.variable()) {
+                names.add(segment.text());
+            }
+        }
+    }
+
+    private record Segment(String text, boolean variable) {
+    }
+
+    public record RenderedMail(String subject, String body) {
+    }
+}
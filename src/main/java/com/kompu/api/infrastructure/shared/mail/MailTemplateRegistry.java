@@ -0,0 +1,71 @@
+package com.kompu.api.infrastructure.shared.mail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MailTemplateRegistry - Compiles every {@code classpath:mail/templates/*.txt}
+ * at startup, so a broken template fails the boot instead of a send.
+ * 
+ * A template file starts with a {@code Subject:} line, then a blank line,
+ * then the body. The file name without extension is the template name.
+ */
+@Slf4j
+public class MailTemplateRegistry {
+
+    private static final String LOCATION = "classpath:mail/templates/*.txt";
+    private static final String SUBJECT_PREFIX = "Subject:";
+
+    private final Map<String, MailTemplate> templates;
+
+    public MailTemplateRegistry() {
+        this.templates = load();
+        log.info("Compiled {} mail templates: {}", templates.size(), templates.keySet());
+    }
+
+    /**
+     * @throws IllegalArgumentException when no template has this name
+     */
+    public MailTemplate get(String name) {
+        MailTemplate template = templates.get(name);
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown mail template: " + name);
+        }
+        return template;
+    }
+
+    private static Map<String, MailTemplate> load() {
+        Map<String, MailTemplate> compiled = new HashMap<>();
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+                String fileName = resource.getFilename();
+                String name = fileName.substring(0, fileName.length() - ".txt".length());
+                try (InputStream in = resource.getInputStream()) {
+                    compiled.put(name, compile(name, new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load mail templates", e);
+        }
+        return Map.copyOf(compiled);
+    }
+
+    private static MailTemplate compile(String name, String source) {
+        String text = source.replace("\r\n", "\n");
+        int headerEnd = text.indexOf("\n\n");
+        if (!text.startsWith(SUBJECT_PREFIX) || headerEnd < 0) {
+            throw new IllegalStateException(
+                    "Mail template '" + name + "' must start with a Subject: line followed by a blank line");
+        }
+        String subject = text.substring(SUBJECT_PREFIX.length(), headerEnd).strip();
+        return MailTemplate.compile(name, subject, text.substring(headerEnd + 2));
+    }
+}
@@ -0,0 +1,114 @@
+package com.kompu.api.infrastructure.shared.mail;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.mail.MailException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import com.kompu.api.entity.appconfig.gateway.AppSettingsGateway;
+import com.kompu.api.entity.appconfig.model.AppConfigChangeEvent;
+
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ReloadableMailSender - JavaMailSender whose SMTP server is read from
+ * app_config and swapped when it changes, without a restart.
+ *
+ * The mail.smtp.* keys override the server from application properties. A
+ * change event touching any of them builds a new sender and swaps it in; a
+ * batch already sending finishes on the sender it started with.
+ */
+@Slf4j
+public class ReloadableMailSender implements JavaMailSender {
+
+    public static final String HOST = "mail.smtp.host";
+    public static final String PORT = "mail.smtp.port";
+    public static final String USERNAME = "mail.smtp.username";
+    public static final String PASSWORD = "mail.smtp.password";
+
+    private static final List<String> KEYS = List.of(HOST, PORT, USERNAME, PASSWORD);
+
+    private final AppSettingsGateway settings;
+    private final SmtpServer defaults;
+    private final Function<SmtpServer, JavaMailSenderImpl> factory;
+
+    private volatile SmtpServer server;
+    private volatile JavaMailSenderImpl current;
+
+    /**
+     * @param settings the cached app_config view
+     * @param defaults the server from application properties
+     * @param factory  builds a sender for a server
+     */
+    public ReloadableMailSender(AppSettingsGateway settings, SmtpServer defaults,
+            Function<SmtpServer, JavaMailSenderImpl> factory) {
+        this.settings = settings;
+        this.defaults = defaults;
+        this.factory = factory;
+    }
+
+    public void start() {
+        apply();
+        settings.addChangeListener(this::onChange);
+    }
+
+    public SmtpServer getServer() {
+        return server;
+    }
+
+    @Override
+    public MimeMessage createMimeMessage() {
+        return current.createMimeMessage();
+    }
+
+    @Override
+    public MimeMessage createMimeMessage(InputStream contentStream) throws MailException {
+        return current.createMimeMessage(contentStream);
+    }
+
+    @Override
+    public void send(MimeMessage... mimeMessages) throws MailException {
+        current.send(mimeMessages);
+    }
+
+    @Override
+    public void send(SimpleMailMessage... simpleMessages) throws MailException {
+        current.send(simpleMessages);
+    }
+
+    private void onChange(AppConfigChangeEvent event) {
+        if (KEYS.stream().anyMatch(event::affects)) {
+            apply();
+        }
+    }
+
+    private synchronized void apply() {
+        SmtpServer next = new SmtpServer(
+                settings.getString(HOST, defaults.host()),
+                settings.getInt(PORT, defaults.port()),
+                settings.getString(USERNAME, defaults.username()),
+                settings.getString(PASSWORD, defaults.password()));
+        if (next.equals(server)) {
+            return;
+        }
+        current = factory.apply(next);
+        server = next;
+        log.info("SMTP server set to {}", next);
+    }
+
+    /**
+     * SMTP server and credentials; the password is left out of toString.
+     */
+    public record SmtpServer(String host, int port, String username, String password) {
+
+        @Override
+        public String toString() {
+            return username != null && !username.isEmpty() ? username + '@' + host + ':' + port : host + ':' + port;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.kompu.api.infrastructure.shared.outbox;
+
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.entity.shared.model.DomainEvent;
+import com.kompu.api.entity.system.gateway.AuditGateway;
+import com.kompu.api.entity.system.model.ActivityLogModel;
+
+/**
+ * AuditEventHandler - Copies selected domain events into the activity log.
+ * Only the configured event types are handled, so actions already audited
+ * through {@link com.kompu.api.entity.system.annotation.Auditable} are not
+ * recorded twice.
+ */
+public class AuditEventHandler implements DomainEventHandler {
+
+    private final AuditGateway auditGateway;
+    private final ObjectMapper objectMapper;
+    private final Set<String> eventTypes;
+
+    public AuditEventHandler(AuditGateway auditGateway, ObjectMapper objectMapper, Set<String> eventTypes) {
+        this.auditGateway = auditGateway;
+        this.objectMapper = objectMapper;
+        this.eventTypes = Set.copyOf(eventTypes);
+    }
+
+    @Override
+    public boolean supports(String eventType) {
+        return eventTypes.contains(eventType);
+    }
+
+    @Override
+    public void handle(DomainEvent event) throws Exception {
+        auditGateway.recordActivity(ActivityLogModel.builder()
+                .tenantId(event.tenantId())
+                .action(event.type())
+                .resourceType(event.aggregateType())
+                .resourceId(event.aggregateId())
+                .payload(objectMapper.writeValueAsString(event.payload()))
+                .build());
+    }
+}
@@ -0,0 +1,20 @@
+package com.kompu.api.infrastructure.shared.outbox;
+
+import com.kompu.api.entity.shared.model.DomainEvent;
+
+/**
+ * DomainEventHandler - Side effect run by the outbox relay.
+ * 
+ * Every bean implementing this interface is registered with the relay. An
+ * event is retried as a whole when any handler throws, so handlers must be
+ * idempotent (the event id is stable across attempts). Handlers run with no
+ * transaction open, after the event has been leased and before its outcome
+ * is recorded, so database work commits on its own.
+ */
+public interface DomainEventHandler {
+
+    boolean supports(String eventType);
+
+    void handle(DomainEvent event) throws Exception;
+
+}
@@ -0,0 +1,225 @@
+package com.kompu.api.infrastructure.shared.outbox;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.entity.shared.model.DomainEvent;
+import com.kompu.api.infrastructure.config.db.repository.OutboxRepository;
+import com.kompu.api.infrastructure.config.db.schema.OutboxSchema;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * OutboxRelay - Delivers outbox events to the registered handlers.
+ * 
+ * Each poll leases a batch of due events (see
+ * {@link OutboxRepository#leaseDue(int, long)}), runs the handlers with no
+ * transaction open, and then records every outcome of the batch in one short
+ * transaction. A failed event is rescheduled with exponential backoff and
+ * marked DEAD after {@code maxAttempts}. When a batch comes back full the
+ * relay polls again immediately, otherwise it waits for the poll interval.
+ * 
+ * Lag (age of the oldest pending event) and backlog are exported as gauges
+ * and refreshed on every poll.
+ */
+@Slf4j
+public class OutboxRelay {
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final OutboxRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final List<DomainEventHandler> handlers;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final long pollIntervalMillis;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter dead;
+
+    private ScheduledExecutorService scheduler;
+
+    public OutboxRelay(OutboxRepository repository, TransactionTemplate transactionTemplate,
+            List<DomainEventHandler> handlers, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            int batchSize, int maxAttempts, Duration baseBackoff, Duration maxBackoff, Duration lease,
+            long pollIntervalMillis) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.handlers = List.copyOf(handlers);
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = baseBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.delivered = events(meterRegistry, "delivered");
+        this.retried = events(meterRegistry, "retried");
+        this.dead = events(meterRegistry, "dead");
+        Gauge.builder("outbox.pending", pending, AtomicLong::get)
+                .description("Outbox events waiting for delivery")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag", lagMillis, value -> value.get() / 1000.0)
+                .description("Age of the oldest pending outbox event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    private static Counter events(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("outbox.events")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public synchronized void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::pollSafely, pollIntervalMillis, pollIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Deliver due events until a batch comes back short
+     * 
+     * @return number of events claimed
+     */
+    public int drain() {
+        int total = 0;
+        int claimed;
+        do {
+            claimed = pollOnce();
+            total += claimed;
+        } while (claimed == batchSize && !Thread.currentThread().isInterrupted());
+        refreshGauges();
+        return total;
+    }
+
+    private int pollOnce() {
+        List<OutboxSchema> batch = repository.leaseDue(batchSize, Math.max(1, lease.toSeconds()));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<UUID> done = new ArrayList<>(batch.size());
+        List<Failure> failures = new ArrayList<>();
+        for (OutboxSchema row : batch) {
+            Exception failure = dispatch(row);
+            if (failure == null) {
+                done.add(row.getId());
+            } else {
+                failures.add(new Failure(row, failure));
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> record(done, failures));
+        return batch.size();
+    }
+
+    private Exception dispatch(OutboxSchema row) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            DomainEvent event = toEvent(row);
+            for (DomainEventHandler handler : handlers) {
+                if (handler.supports(event.type())) {
+                    handler.handle(event);
+                }
+            }
+            return null;
+        } catch (Exception e) {
+            return e;
+        } finally {
+            sample.stop(Timer.builder("outbox.dispatch")
+                    .tag("event_type", row.getEventType())
+                    .register(meterRegistry));
+        }
+    }
+
+    private void record(List<UUID> done, List<Failure> failures) {
+        if (!done.isEmpty()) {
+            repository.markDone(done);
+            delivered.increment(done.size());
+        }
+        for (Failure failure : failures) {
+            OutboxSchema row = failure.row();
+            int attempts = row.getAttempts() + 1;
+            String error = truncate(failure.error().toString());
+            if (attempts >= maxAttempts) {
+                repository.markDead(row.getId(), attempts, error);
+                dead.increment();
+                log.error("Outbox event {} ({}) is dead after {} attempts", row.getId(), row.getEventType(),
+                        attempts, failure.error());
+            } else {
+                repository.reschedule(row.getId(), attempts, Instant.now().plus(backoff(attempts)), error);
+                retried.increment();
+                log.warn("Outbox event {} ({}) failed, attempt {}: {}", row.getId(), row.getEventType(), attempts,
+                        failure.error().getMessage());
+            }
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = baseBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private DomainEvent toEvent(OutboxSchema row) throws Exception {
+        Map<String, Object> payload = objectMapper.readValue(row.getPayload(), PAYLOAD_TYPE);
+        return new DomainEvent(row.getId(), row.getEventType(), row.getAggregateType(), row.getAggregateId(),
+                row.getTenantId(), payload, row.getCreatedAt());
+    }
+
+    private void refreshGauges() {
+        pending.set(repository.countByStatus(OutboxSchema.STATUS_PENDING));
+        lagMillis.set((long) (repository.findPendingLagSeconds() * 1000));
+    }
+
+    private void pollSafely() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            log.error("Outbox relay poll failed", e);
+        }
+    }
+
+    private record Failure(OutboxSchema row, Exception error) {
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
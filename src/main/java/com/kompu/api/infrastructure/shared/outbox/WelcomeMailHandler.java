@@ -0,0 +1,47 @@
+package com.kompu.api.infrastructure.shared.outbox;
+
+import java.util.Map;
+
+import com.kompu.api.entity.shared.gateway.MailGateway;
+import com.kompu.api.entity.shared.model.DomainEvent;
+import com.kompu.api.entity.shared.model.MailMessage;
+
+/**
+ * WelcomeMailHandler - Queues the welcome mail for a newly registered tenant
+ * (to its founding admin) and for a new member that has an email address.
+ * 
+ * The mail is queued in its own transaction; if recording the event outcome
+ * fails afterwards, the redelivery queues it again, so a welcome mail can
+ * rarely arrive twice but is never lost.
+ */
+public class WelcomeMailHandler implements DomainEventHandler {
+
+    static final String TENANT_REGISTERED = "tenant.registered";
+    static final String MEMBER_CREATED = "member.created";
+
+    private final MailGateway mailGateway;
+
+    public WelcomeMailHandler(MailGateway mailGateway) {
+        this.mailGateway = mailGateway;
+    }
+
+    @Override
+    public boolean supports(String eventType) {
+        return TENANT_REGISTERED.equals(eventType) || MEMBER_CREATED.equals(eventType);
+    }
+
+    @Override
+    public void handle(DomainEvent event) {
+        Object email = event.payload().get("email");
+        if (!(email instanceof String recipient) || recipient.isBlank()) {
+            return;
+        }
+        if (TENANT_REGISTERED.equals(event.type())) {
+            mailGateway.enqueue(MailMessage.of("welcome-tenant", recipient, Map.of("email", recipient)));
+        } else {
+            Object memberCode = event.payload().get("memberCode");
+            mailGateway.enqueue(MailMessage.of("welcome-member", recipient,
+                    Map.of("memberCode", memberCode != null ? memberCode.toString() : "")));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.kompu.api.infrastructure.shared.pagination;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
+import com.kompu.api.entity.shared.model.PageCursor;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * KeysetPager - Shared plumbing for keyset-paginated and streamed lists.
+ * 
+ * Pages fetch one row more than requested to learn whether another page
+ * exists, and hand out the last row's (created_at, id) as the next cursor.
+ * Streams run in a read-only transaction (the PostgreSQL driver only honours
+ * the fetch size with auto-commit off) and detach every row once it has been
+ * mapped, so memory stays flat no matter how large the tenant is.
+ */
+@Component
+public class KeysetPager {
+
+    /**
+     * Rows per JDBC round trip for streamed queries, used in repository
+     * {@code @QueryHints}
+     */
+    public static final String STREAM_FETCH_SIZE = "500";
+
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final TransactionTemplate readOnlyTransaction;
+    private final EntityManager entityManager;
+
+    public KeysetPager(
+            @Value("${app.pagination.default-page-size:50}") int defaultPageSize,
+            @Value("${app.pagination.max-page-size:500}") int maxPageSize,
+            PlatformTransactionManager transactionManager,
+            EntityManager entityManager) {
+        this.maxPageSize = Math.max(1, maxPageSize);
+        this.defaultPageSize = Math.min(Math.max(1, defaultPageSize), this.maxPageSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Page size for the request, clamped to the configured cap
+     */
+    public int pageSize(CursorPageRequest request) {
+        Integer requested = request != null ? request.limit() : null;
+        if (requested == null || requested <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
+    }
+
+    /**
+     * Load one keyset page
+     * 
+     * @param request   cursor and limit from the caller
+     * @param firstPage query for the first page
+     * @param nextPage  query for the rows strictly after a cursor
+     * @param cursorOf  key of a row
+     * @param mapper    schema to model conversion
+     * @return the page, with a next cursor when more rows follow
+     */
+    public <S, M> CursorPage<M> page(CursorPageRequest request,
+            Function<Limit, List<S>> firstPage,
+            BiFunction<PageCursor, Limit, List<S>> nextPage,
+            Function<S, PageCursor> cursorOf,
+            Function<S, M> mapper) {
+        return page(request, PageCursor::decode, firstPage, nextPage, row -> cursorOf.apply(row).encode(), mapper);
+    }
+
+    /**
+     * Load one keyset page with a cursor type other than {@link PageCursor},
+     * for tables that are not keyed on UUID
+     * 
+     * @param request   cursor and limit from the caller
+     * @param decode    token to cursor, null for the first page
+     * @param firstPage query for the first page
+     * @param nextPage  query for the rows strictly after a cursor
+     * @param tokenOf   encoded cursor of a row
+     * @param mapper    schema to model conversion
+     * @return the page, with a next cursor when more rows follow
+     */
+    public <S, M, C> CursorPage<M> page(CursorPageRequest request,
+            Function<String, C> decode,
+            Function<Limit, List<S>> firstPage,
+            BiFunction<C, Limit, List<S>> nextPage,
+            Function<S, String> tokenOf,
+            Function<S, M> mapper) {
+        int size = pageSize(request);
+        C after = request != null ? decode.apply(request.cursor()) : null;
+        Limit limit = Limit.of(size + 1);
+
+        return readOnlyTransaction.execute(status -> {
+            List<S> rows = after == null ? firstPage.apply(limit) : nextPage.apply(after, limit);
+            if (rows.size() <= size) {
+                return new CursorPage<>(rows.stream().map(mapper).toList(), null);
+            }
+            List<S> pageRows = rows.subList(0, size);
+            String next = tokenOf.apply(pageRows.get(size - 1));
+            return new CursorPage<>(pageRows.stream().map(mapper).toList(), next);
+        });
+    }
+
+    /**
+     * Feed every row of a streamed query to the consumer
+     * 
+     * @param query    repository stream, opened inside the transaction
+     * @param mapper   schema to model conversion
+     * @param consumer receives each model in query order
+     * @return number of rows consumed
+     */
+    public <S, M> long forEach(Supplier<Stream<S>> query, Function<S, M> mapper, Consumer<? super M> consumer) {
+        Long count = readOnlyTransaction.execute(status -> {
+            long consumed = 0;
+            try (Stream<S> rows = query.get()) {
+                for (S row : (Iterable<S>) rows::iterator) {
+                    M model = mapper.apply(row);
+                    entityManager.detach(row);
+                    consumer.accept(model);
+                    consumed++;
+                }
+            }
+            return consumed;
+        });
+        return count != null ? count : 0;
+    }
+
+    public static PageCursor cursorOf(LocalDateTime createdAt, UUID id) {
+        return new PageCursor(createdAt != null ? createdAt.toInstant(ZoneOffset.UTC) : null, id);
+    }
+
+    /**
+     * Inverse of {@link #cursorOf(LocalDateTime, UUID)}; the cursor
+     * is opaque, so UTC is only used to round-trip the local value exactly
+     */
+    public static LocalDateTime localCreatedAt(PageCursor cursor) {
+        Instant createdAt = cursor.createdAt();
+        return createdAt != null ? LocalDateTime.ofInstant(createdAt, ZoneOffset.UTC) : null;
+    }
+}
@@ -0,0 +1,238 @@
+package com.kompu.api.infrastructure.shared.partition;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.kompu.api.infrastructure.shared.job.JobContext;
+import com.kompu.api.infrastructure.shared.job.JobTrigger;
+import com.kompu.api.infrastructure.shared.job.ScheduledJob;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * LogPartitionManager - Keeps the monthly partitions of the log tables in
+ * shape.
+ * 
+ * Each run creates the partitions for the coming months before rows can
+ * arrive for them, and removes whole partitions that fell out of retention,
+ * which replaces row-by-row DELETEs and the vacuum work they cause. Partitions
+ * are named {@code <table>_pYYYY_MM} and cover one UTC month, matching
+ * {@code app.create_monthly_partition} from the partitioning migration.
+ * Rows outside every monthly partition land in {@code <table>_default};
+ * creating their month moves them over, and those past retention are deleted
+ * from it, since the default partition itself is never dropped.
+ * 
+ * Runs once per cluster as a {@link ScheduledJob}. Every partition change is
+ * its own statement and transaction, so a log table is locked only for the
+ * moment its own catalog entry changes and never while another table is
+ * worked on. A detach uses {@code DETACH PARTITION ... CONCURRENTLY} when the
+ * table has no default partition (PostgreSQL refuses it otherwise) and a
+ * plain detach, which briefly takes ACCESS EXCLUSIVE on the table, when it
+ * has one. DDL waits at most {@code lockTimeout} for its lock, so a long
+ * reader makes the change wait for the next run instead of queueing every
+ * writer of the table behind it. A concurrent detach interrupted half way is
+ * finalized by the next run. A table that fails does not stop the others;
+ * the run is reported failed afterwards. Tables that have not been converted
+ * yet are skipped with a warning.
+ */
+@Slf4j
+public class LogPartitionManager implements ScheduledJob {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<PartitionPolicy> policies;
+    private final boolean archive;
+    private final Duration interval;
+    private final Duration lockTimeout;
+
+    public LogPartitionManager(JdbcTemplate jdbcTemplate, List<PartitionPolicy> policies, boolean archive,
+            Duration interval, Duration lockTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.policies = List.copyOf(policies);
+        this.archive = archive;
+        this.interval = interval;
+        this.lockTimeout = lockTimeout;
+    }
+
+    @Override
+    public String name() {
+        return "log-partition-maintenance";
+    }
+
+    @Override
+    public JobTrigger trigger() {
+        return JobTrigger.fixedRate(interval);
+    }
+
+    @Override
+    public void run(JobContext context) {
+        context.addProcessed(maintain().size());
+    }
+
+    /**
+     * Run one maintenance pass now
+     * 
+     * @return the partitions created and removed
+     * @throws IllegalStateException after every table was tried, if any of
+     *                               them failed
+     */
+    public List<String> maintain() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        List<String> changes = new ArrayList<>();
+        List<String> failed = new ArrayList<>();
+        for (PartitionPolicy policy : policies) {
+            if (!isPartitioned(policy.table())) {
+                log.warn("Table app.{} is not partitioned yet, run log_partitioning_18102026.sql", policy.table());
+                continue;
+            }
+            try {
+                createAhead(policy, current, changes);
+                removeExpired(policy, current, changes);
+            } catch (RuntimeException e) {
+                log.warn("Partition maintenance of app.{} failed, retrying next run", policy.table(), e);
+                failed.add(policy.table());
+            }
+        }
+        if (!changes.isEmpty()) {
+            log.info("Partition maintenance: {}", changes);
+        }
+        if (!failed.isEmpty()) {
+            throw new IllegalStateException("Partition maintenance failed for " + failed);
+        }
+        return changes;
+    }
+
+    private void createAhead(PartitionPolicy policy, YearMonth current, List<String> changes) {
+        List<String> existing = partitionsOf(policy.table()).stream().map(Partition::name).toList();
+        for (int i = 0; i <= policy.premakeMonths(); i++) {
+            YearMonth month = current.plusMonths(i);
+            String name = partitionName(policy.table(), month);
+            if (!existing.contains(name)) {
+                withLockTimeout("SELECT app.create_monthly_partition('" + policy.table() + "', DATE '"
+                        + month.atDay(1) + "')");
+                changes.add("created " + name);
+            }
+        }
+    }
+
+    private void removeExpired(PartitionPolicy policy, YearMonth current, List<String> changes) {
+        YearMonth oldestKept = current.minusMonths(policy.retentionMonths());
+        String table = "app." + policy.table();
+        boolean hasDefault = hasDefaultPartition(policy.table());
+        for (Partition partition : partitionsOf(policy.table())) {
+            YearMonth month = monthOf(policy.table(), partition.name());
+            if (month == null || !month.isBefore(oldestKept)) {
+                continue;
+            }
+            String detach = "ALTER TABLE " + table + " DETACH PARTITION app." + partition.name();
+            if (partition.detachPending()) {
+                withLockTimeout(detach + " FINALIZE");
+            } else {
+                withLockTimeout(hasDefault ? detach : detach + " CONCURRENTLY");
+            }
+            if (archive) {
+                changes.add("detached " + partition.name());
+            } else {
+                withLockTimeout("DROP TABLE app." + partition.name());
+                changes.add("dropped " + partition.name());
+            }
+        }
+        Long purged = jdbcTemplate.queryForObject("SELECT app.purge_default_partition(?, ?)", Long.class,
+                policy.table(), oldestKept.atDay(1).atStartOfDay(ZoneOffset.UTC).toOffsetDateTime());
+        if (purged != null && purged > 0) {
+            changes.add("purged " + purged + " rows from " + policy.table() + "_default");
+        }
+    }
+
+    /**
+     * Run one DDL statement in auto-commit mode, waiting at most
+     * {@code lockTimeout} for its locks. Identifiers come from validated
+     * policies and catalog names, never from input.
+     */
+    private void withLockTimeout(String sql) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            execute(connection, "SET lock_timeout = " + Math.max(1, lockTimeout.toMillis()));
+            try {
+                execute(connection, sql);
+            } finally {
+                execute(connection, "RESET lock_timeout");
+            }
+            return null;
+        });
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private boolean hasDefaultPartition(String table) {
+        Boolean hasDefault = jdbcTemplate.queryForObject("""
+                SELECT pt.partdefid <> 0
+                FROM pg_partitioned_table pt
+                JOIN pg_class c ON c.oid = pt.partrelid
+                JOIN pg_namespace n ON n.oid = c.relnamespace
+                WHERE n.nspname = 'app' AND c.relname = ?
+                """, Boolean.class, table);
+        return Boolean.TRUE.equals(hasDefault);
+    }
+
+    private boolean isPartitioned(String table) {
+        Boolean partitioned = jdbcTemplate.queryForObject("""
+                SELECT EXISTS (
+                    SELECT 1 FROM pg_partitioned_table pt
+                    JOIN pg_class c ON c.oid = pt.partrelid
+                    JOIN pg_namespace n ON n.oid = c.relnamespace
+                    WHERE n.nspname = 'app' AND c.relname = ?)
+                """, Boolean.class, table);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    private List<Partition> partitionsOf(String table) {
+        return jdbcTemplate.query("""
+                SELECT child.relname, i.inhdetachpending
+                FROM pg_inherits i
+                JOIN pg_class parent ON parent.oid = i.inhparent
+                JOIN pg_class child ON child.oid = i.inhrelid
+                JOIN pg_namespace n ON n.oid = parent.relnamespace
+                WHERE n.nspname = 'app' AND parent.relname = ?
+                ORDER BY child.relname
+                """, (rs, rowNum) -> new Partition(rs.getString(1), rs.getBoolean(2)), table);
+    }
+
+    static String partitionName(String table, YearMonth month) {
+        return table + "_p" + month.format(SUFFIX);
+    }
+
+    /**
+     * Month covered by a partition, or null if it does not follow the naming
+     * scheme (such partitions are never touched)
+     */
+    static YearMonth monthOf(String table, String partition) {
+        String prefix = table + "_p";
+        if (!partition.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(prefix.length()), SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private record Partition(String name, boolean detachPending) {
+    }
+}
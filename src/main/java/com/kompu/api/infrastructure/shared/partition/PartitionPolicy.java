@@ -0,0 +1,23 @@
+package com.kompu.api.infrastructure.shared.partition;
+
+/**
+ * PartitionPolicy - How one monthly range-partitioned table is maintained.
+ * 
+ * @param table           table name in the app schema
+ * @param premakeMonths   months after the current one that must already have
+ *                        a partition
+ * @param retentionMonths whole months kept before the current one; older
+ *                        partitions are detached (and dropped unless
+ *                        archiving)
+ */
+public record PartitionPolicy(String table, int premakeMonths, int retentionMonths) {
+
+    public PartitionPolicy {
+        if (!table.matches("[a-z_]+")) {
+            throw new IllegalArgumentException("Invalid partitioned table name: " + table);
+        }
+        if (premakeMonths < 1 || retentionMonths < 0) {
+            throw new IllegalArgumentException("Invalid partition policy for " + table);
+        }
+    }
+}
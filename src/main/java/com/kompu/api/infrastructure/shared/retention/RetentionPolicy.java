@@ -0,0 +1,22 @@
+package com.kompu.api.infrastructure.shared.retention;
+
+/**
+ * RetentionPolicy - Which rows of one table the sweeper deletes.
+ * 
+ * @param name      metric tag and log name
+ * @param table     table to sweep, schema qualified where needed
+ * @param keyColumn unique, indexed column the sweep walks in order
+ * @param keyType   SQL type of the key column, used to bind the cursor
+ * @param condition SQL predicate selecting expired rows; built from
+ *                  configuration, never from user input
+ * @param enabled   disabled policies are skipped
+ */
+public record RetentionPolicy(String name, String table, String keyColumn, String keyType, String condition,
+        boolean enabled) {
+
+    public RetentionPolicy {
+        if (!table.matches("[a-z_.]+") || !keyColumn.matches("[a-z_]+") || !keyType.matches("[a-z]+")) {
+            throw new IllegalArgumentException("Invalid retention policy " + name);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.kompu.api.infrastructure.shared.retention;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.kompu.api.infrastructure.shared.job.JobContext;
+import com.kompu.api.infrastructure.shared.job.JobTrigger;
+import com.kompu.api.infrastructure.shared.job.ScheduledJob;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * RetentionSweeper - Deletes expired rows from the authentication tables in
+ * small chunks.
+ * 
+ * Each chunk is its own short transaction that deletes at most
+ * {@code chunkSize} rows, walking the key column in order from where the
+ * previous chunk stopped, so a run reads every candidate row once and never
+ * holds locks for long. Rows locked by a login in progress are skipped and
+ * picked up by the next run. The sweeper pauses between chunks and stops a
+ * policy after {@code maxChunksPerRun} chunks to leave I/O for live traffic.
+ * 
+ * Runs as the "retention-sweep" {@link ScheduledJob}; the runner's leadership
+ * keeps it to one node at a time. Every chunk borrows a pooled connection in
+ * auto-commit mode only for its own statement, so the pauses between chunks
+ * hold no connection.
+ */
+@Slf4j
+public class RetentionSweeper implements ScheduledJob {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<RetentionPolicy> policies;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final int maxChunksPerRun;
+    private final long intervalMillis;
+    private final MeterRegistry meterRegistry;
+
+    public RetentionSweeper(JdbcTemplate jdbcTemplate, List<RetentionPolicy> policies, int chunkSize, long pauseMillis,
+            int maxChunksPerRun, long intervalMillis, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.policies = List.copyOf(policies);
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.intervalMillis = intervalMillis;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String name() {
+        return "retention-sweep";
+    }
+
+    @Override
+    public JobTrigger trigger() {
+        return JobTrigger.fixedRate(Duration.ofMillis(intervalMillis));
+    }
+
+    @Override
+    public void run(JobContext context) {
+        sweep().values().forEach(context::addProcessed);
+    }
+
+    /**
+     * Run every enabled policy once. Callers outside the job runner must not
+     * overlap a scheduled run.
+     * 
+     * @return rows deleted per policy
+     */
+    public Map<String, Long> sweep() {
+        Map<String, Long> deleted = new LinkedHashMap<>();
+        for (RetentionPolicy policy : policies) {
+            if (policy.enabled() && !Thread.currentThread().isInterrupted()) {
+                deleted.put(policy.name(), sweep(policy));
+            }
+        }
+        return deleted;
+    }
+
+    private long sweep(RetentionPolicy policy) {
+        Counter deletedRows = Counter.builder("retention.sweeper.deleted")
+                .description("Expired rows deleted by the retention sweeper")
+                .tag("policy", policy.name())
+                .register(meterRegistry);
+        Counter chunks = Counter.builder("retention.sweeper.chunks")
+                .tag("policy", policy.name())
+                .register(meterRegistry);
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        String firstChunk = chunkSql(policy, false);
+        String nextChunk = chunkSql(policy, true);
+        String lastKey = null;
+        long total = 0;
+        int chunk = 0;
+        try {
+            while (chunk < maxChunksPerRun) {
+                ChunkResult result = lastKey == null
+                        ? jdbcTemplate.queryForObject(firstChunk, ChunkResult.MAPPER, chunkSize)
+                        : jdbcTemplate.queryForObject(nextChunk, ChunkResult.MAPPER, lastKey, chunkSize);
+                chunk++;
+                chunks.increment();
+                deletedRows.increment(result.deleted());
+                total += result.deleted();
+                if (result.scanned() < chunkSize || result.lastKey() == null) {
+                    break;
+                }
+                lastKey = result.lastKey();
+                if (!pause()) {
+                    break;
+                }
+            }
+        } finally {
+            sample.stop(Timer.builder("retention.sweeper.run")
+                    .tag("policy", policy.name())
+                    .register(meterRegistry));
+        }
+        if (total > 0) {
+            log.info("Retention sweep {}: deleted {} rows in {} chunks", policy.name(), total, chunk);
+        }
+        return total;
+    }
+
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    static String chunkSql(RetentionPolicy policy, boolean afterCursor) {
+        String key = policy.keyColumn();
+        String cursor = afterCursor ? " AND " + key + " > CAST(? AS " + policy.keyType() + ")" : "";
+        return """
+                WITH candidates AS (
+                    SELECT %1$s FROM %2$s
+                    WHERE (%3$s)%4$s
+                    ORDER BY %1$s
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED
+                ), deleted AS (
+                    DELETE FROM %2$s t USING candidates c
+                    WHERE t.%1$s = c.%1$s
+                    RETURNING t.%1$s
+                )
+                SELECT (SELECT count(*) FROM candidates) AS scanned,
+                       (SELECT count(*) FROM deleted) AS deleted,
+                       (SELECT CAST(%1$s AS text) FROM candidates ORDER BY %1$s DESC LIMIT 1) AS last_key
+                """.formatted(key, policy.table(), policy.condition(), cursor);
+    }
+
+    private record ChunkResult(long scanned, long deleted, String lastKey) {
+
+        static final RowMapper<ChunkResult> MAPPER = (rs, rowNum) -> new ChunkResult(
+                rs.getLong("scanned"), rs.getLong("deleted"), rs.getString("last_key"));
+    }
+}
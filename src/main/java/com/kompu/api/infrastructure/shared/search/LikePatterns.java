@@ -0,0 +1,23 @@
+package com.kompu.api.infrastructure.shared.search;
+
+/**
+ * LikePatterns - Builds LIKE patterns from user input. Wildcards in the
+ * input are escaped with a backslash, so queries using them must declare
+ * {@code ESCAPE '\'}.
+ */
+public final class LikePatterns {
+
+    private LikePatterns() {
+    }
+
+    /**
+     * Pattern matching {@code text} anywhere in the value, taken literally
+     */
+    public static String contains(String text) {
+        return "%" + escape(text) + "%";
+    }
+
+    public static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,44 @@
+package com.kompu.api.infrastructure.subscription.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.kompu.api.entity.subscription.model.TenantSubscriptionModel;
+import com.kompu.api.infrastructure.config.web.response.WebHttpResponse;
+import com.kompu.api.infrastructure.config.web.security.util.TenantScope;
+import com.kompu.api.infrastructure.subscription.dto.ChangePlanRequest;
+import com.kompu.api.usecase.subscription.ChangeSubscriptionPlanUseCase;
+
+import jakarta.validation.Valid;
+
+/**
+ * SubscriptionController exposes subscription changes to tenant admins.
+ * 
+ * Endpoints:
+ * - PUT /api/v1/subscriptions/plan - Move the tenant to another plan and
+ * re-provision its feature flags
+ *
+ * The change applies to the caller's own tenant; tenantId in the body may be
+ * left out.
+ */
+@RestController
+@RequestMapping("/api/v1/subscriptions")
+public class SubscriptionController {
+
+    private final ChangeSubscriptionPlanUseCase changeSubscriptionPlanUseCase;
+
+    public SubscriptionController(ChangeSubscriptionPlanUseCase changeSubscriptionPlanUseCase) {
+        this.changeSubscriptionPlanUseCase = changeSubscriptionPlanUseCase;
+    }
+
+    @PutMapping("/plan")
+    public ResponseEntity<WebHttpResponse<TenantSubscriptionModel>> changePlan(
+            @Valid @RequestBody ChangePlanRequest request) {
+        TenantSubscriptionModel subscription = changeSubscriptionPlanUseCase.changePlan(
+                TenantScope.resolve(request.tenantId()), request.planId());
+        return ResponseEntity.ok(WebHttpResponse.ok(subscription));
+    }
+}
@@ -0,0 +1,12 @@
+package com.kompu.api.infrastructure.subscription.dto;
+
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.validation.constraints.NotNull;
+
+public record ChangePlanRequest(
+        @JsonProperty("tenantId") UUID tenantId,
+        @NotNull(message = "Plan ID is required") @JsonProperty("planId") UUID planId) {
+}
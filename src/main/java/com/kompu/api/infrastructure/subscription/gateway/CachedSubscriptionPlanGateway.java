@@ -0,0 +1,76 @@
+package com.kompu.api.infrastructure.subscription.gateway;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.kompu.api.entity.subscription.gateway.SubscriptionPlanGateway;
+import com.kompu.api.entity.subscription.model.SubscriptionPlanModel;
+import com.kompu.api.infrastructure.shared.cache.ReferenceDataCache;
+
+/**
+ * CachedSubscriptionPlanGateway - Read-through cache in front of
+ * SubscriptionPlanGateway
+ * Lookups are served from the plan snapshot; writes go to the delegate, which
+ * publishes the invalidation that drops the snapshot.
+ */
+public class CachedSubscriptionPlanGateway implements SubscriptionPlanGateway {
+
+    public static final String BY_ID = "id";
+    public static final String BY_NAME = "name";
+
+    private final SubscriptionPlanGateway delegate;
+    private final ReferenceDataCache<SubscriptionPlanModel> cache;
+
+    public CachedSubscriptionPlanGateway(SubscriptionPlanGateway delegate,
+            ReferenceDataCache<SubscriptionPlanModel> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    public static String nameKey(String name) {
+        return name != null ? name.toLowerCase(Locale.ROOT) : null;
+    }
+
+    @Override
+    public Optional<SubscriptionPlanModel> findById(UUID id) {
+        return cache.find(BY_ID, id).or(() -> delegate.findById(id));
+    }
+
+    @Override
+    public Optional<SubscriptionPlanModel> findByName(String name) {
+        return cache.find(BY_NAME, nameKey(name)).or(() -> delegate.findByName(name));
+    }
+
+    @Override
+    public List<SubscriptionPlanModel> findAllActive() {
+        return cache.getAll().stream()
+                .filter(plan -> Boolean.TRUE.equals(plan.getIsActive()))
+                .sorted(Comparator.comparing(SubscriptionPlanModel::getPrice,
+                        Comparator.nullsLast(BigDecimal::compareTo)))
+                .toList();
+    }
+
+    @Override
+    public List<SubscriptionPlanModel> findAll() {
+        return cache.getAll();
+    }
+
+    @Override
+    public SubscriptionPlanModel save(SubscriptionPlanModel model) {
+        return delegate.save(model);
+    }
+
+    @Override
+    public SubscriptionPlanModel update(SubscriptionPlanModel model) {
+        return delegate.update(model);
+    }
+
+    @Override
+    public void delete(UUID id) {
+        delegate.delete(id);
+    }
+}
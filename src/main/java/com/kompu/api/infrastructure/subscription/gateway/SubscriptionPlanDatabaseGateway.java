@@ -6,6 +6,8 @@ import java.util.UUID;
 
 import org.springframework.stereotype.Component;
 
+import com.kompu.api.entity.shared.gateway.CacheInvalidationGateway;
+import com.kompu.api.entity.shared.model.CacheRegion;
 import com.kompu.api.entity.subscription.gateway.SubscriptionPlanGateway;
 import com.kompu.api.entity.subscription.model.SubscriptionPlanModel;
 import com.kompu.api.infrastructure.config.db.repository.SubscriptionPlanRepository;
@@ -23,6 +25,7 @@ import lombok.RequiredArgsConstructor;
 public class SubscriptionPlanDatabaseGateway implements SubscriptionPlanGateway {
 
     private final SubscriptionPlanRepository subscriptionPlanRepository;
+    private final CacheInvalidationGateway cacheInvalidationGateway;
 
     @Override
     public Optional<SubscriptionPlanModel> findById(UUID id) {
@@ -48,6 +51,7 @@ public class SubscriptionPlanDatabaseGateway implements SubscriptionPlanGateway
     public SubscriptionPlanModel save(SubscriptionPlanModel model) {
         SubscriptionPlanSchema schema = new SubscriptionPlanSchema(model);
         SubscriptionPlanSchema saved = subscriptionPlanRepository.save(schema);
+        cacheInvalidationGateway.publish(CacheRegion.SUBSCRIPTION_PLANS, saved.getId().toString());
         return toModel(saved);
     }
 
@@ -67,12 +71,14 @@ public class SubscriptionPlanDatabaseGateway implements SubscriptionPlanGateway
         schema.setIsActive(model.getIsActive());
 
         SubscriptionPlanSchema updated = subscriptionPlanRepository.save(schema);
+        cacheInvalidationGateway.publish(CacheRegion.SUBSCRIPTION_PLANS, updated.getId().toString());
         return toModel(updated);
     }
 
     @Override
     public void delete(UUID id) {
         subscriptionPlanRepository.deleteById(id);
+        cacheInvalidationGateway.publish(CacheRegion.SUBSCRIPTION_PLANS, id.toString());
     }
 
     private SubscriptionPlanModel toModel(SubscriptionPlanSchema schema) {
@@ -0,0 +1,43 @@
+package com.kompu.api.infrastructure.subscriptionfeature.gateway;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.kompu.api.entity.subscriptionfeature.gateway.SubscriptionFeatureGateway;
+import com.kompu.api.entity.subscriptionfeature.model.SubscriptionFeatureModel;
+import com.kompu.api.infrastructure.shared.cache.ReferenceDataCache;
+
+/**
+ * CachedSubscriptionFeatureGateway - Read-through cache in front of
+ * SubscriptionFeatureGateway
+ */
+public class CachedSubscriptionFeatureGateway implements SubscriptionFeatureGateway {
+
+    public static final String BY_ID = "id";
+    public static final String BY_FEATURE_KEY = "featureKey";
+
+    private final SubscriptionFeatureGateway delegate;
+    private final ReferenceDataCache<SubscriptionFeatureModel> cache;
+
+    public CachedSubscriptionFeatureGateway(SubscriptionFeatureGateway delegate,
+            ReferenceDataCache<SubscriptionFeatureModel> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Optional<SubscriptionFeatureModel> findById(UUID id) {
+        return cache.find(BY_ID, id).or(() -> delegate.findById(id));
+    }
+
+    @Override
+    public Optional<SubscriptionFeatureModel> findByFeatureKey(String featureKey) {
+        return cache.find(BY_FEATURE_KEY, featureKey).or(() -> delegate.findByFeatureKey(featureKey));
+    }
+
+    @Override
+    public List<SubscriptionFeatureModel> findAll() {
+        return cache.getAll();
+    }
+}
@@ -0,0 +1,36 @@
+package com.kompu.api.infrastructure.subscriptionfeature.gateway;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.kompu.api.entity.subscriptionfeature.gateway.SubscriptionFeatureGateway;
+import com.kompu.api.entity.subscriptionfeature.model.SubscriptionFeatureModel;
+import com.kompu.api.infrastructure.config.db.repository.SubscriptionFeatureRepository;
+import com.kompu.api.infrastructure.config.db.schema.SubscriptionFeatureSchema;
+
+public class SubscriptionFeatureDatabaseGateway implements SubscriptionFeatureGateway {
+
+    private final SubscriptionFeatureRepository repository;
+
+    public SubscriptionFeatureDatabaseGateway(SubscriptionFeatureRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public Optional<SubscriptionFeatureModel> findById(UUID id) {
+        return repository.findById(id).map(SubscriptionFeatureSchema::toModel);
+    }
+
+    @Override
+    public Optional<SubscriptionFeatureModel> findByFeatureKey(String featureKey) {
+        return repository.findByFeatureKey(featureKey).map(SubscriptionFeatureSchema::toModel);
+    }
+
+    @Override
+    public List<SubscriptionFeatureModel> findAll() {
+        return repository.findAll().stream()
+                .map(SubscriptionFeatureSchema::toModel)
+                .toList();
+    }
+}
@@ -0,0 +1,44 @@
+package com.kompu.api.infrastructure.supplier.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.kompu.api.entity.supplier.model.SupplierPriceQuery;
+import com.kompu.api.entity.supplier.model.SupplierPriceResolution;
+import com.kompu.api.infrastructure.config.web.response.WebHttpResponse;
+import com.kompu.api.infrastructure.config.web.security.util.TenantScope;
+import com.kompu.api.infrastructure.supplier.dto.BestSupplierPriceRequest;
+import com.kompu.api.usecase.supplier.ResolveSupplierPricesUseCase;
+
+import jakarta.validation.Valid;
+
+/**
+ * SupplierPriceController exposes supplier price resolution for procurement.
+ * 
+ * Endpoints:
+ * - POST /api/v1/supplier-prices/best - Cheapest valid supplier per product line
+ */
+@RestController
+@RequestMapping("/api/v1/supplier-prices")
+public class SupplierPriceController {
+
+    private final ResolveSupplierPricesUseCase resolveSupplierPricesUseCase;
+
+    public SupplierPriceController(ResolveSupplierPricesUseCase resolveSupplierPricesUseCase) {
+        this.resolveSupplierPricesUseCase = resolveSupplierPricesUseCase;
+    }
+
+    @PostMapping("/best")
+    public ResponseEntity<WebHttpResponse<SupplierPriceResolution>> best(
+            @Valid @RequestBody BestSupplierPriceRequest request) {
+        return ResponseEntity.ok(WebHttpResponse.ok(resolveSupplierPricesUseCase.resolve(
+                TenantScope.resolve(request.tenantId()),
+                request.lines().stream()
+                        .map(line -> new SupplierPriceQuery.Line(line.productId(), line.quantity()))
+                        .toList(),
+                request.date(), request.maxLeadTimeDays(), request.currency())));
+    }
+}
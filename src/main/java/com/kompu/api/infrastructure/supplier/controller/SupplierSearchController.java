@@ -0,0 +1,41 @@
+package com.kompu.api.infrastructure.supplier.controller;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.kompu.api.entity.supplier.model.SupplierSummary;
+import com.kompu.api.infrastructure.config.web.response.WebHttpResponse;
+import com.kompu.api.infrastructure.config.web.security.util.TenantScope;
+import com.kompu.api.usecase.supplier.SearchSuppliersUseCase;
+
+/**
+ * SupplierSearchController exposes fuzzy supplier lookup.
+ * 
+ * Endpoints:
+ * - GET /api/v1/suppliers/search - Best matches on name, code, city or contact
+ */
+@RestController
+@RequestMapping("/api/v1/suppliers/search")
+public class SupplierSearchController {
+
+    private final SearchSuppliersUseCase searchSuppliersUseCase;
+
+    public SupplierSearchController(SearchSuppliersUseCase searchSuppliersUseCase) {
+        this.searchSuppliersUseCase = searchSuppliersUseCase;
+    }
+
+    @GetMapping
+    public ResponseEntity<WebHttpResponse<List<SupplierSummary>>> search(
+            @RequestParam(required = false) UUID tenantId,
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(WebHttpResponse.ok(
+                searchSuppliersUseCase.search(TenantScope.resolve(tenantId), q, limit)));
+    }
+}
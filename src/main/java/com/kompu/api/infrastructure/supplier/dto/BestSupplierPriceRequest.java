@@ -0,0 +1,25 @@
+package com.kompu.api.infrastructure.supplier.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record BestSupplierPriceRequest(
+        @JsonProperty("tenantId") UUID tenantId,
+        @NotEmpty(message = "At least one line is required") @Valid @JsonProperty("lines") List<Line> lines,
+        @JsonProperty("date") LocalDate date,
+        @JsonProperty("maxLeadTimeDays") Integer maxLeadTimeDays,
+        @JsonProperty("currency") String currency) {
+
+    public record Line(
+            @NotNull(message = "Product ID is required") @JsonProperty("productId") UUID productId,
+            @NotNull(message = "Quantity is required") @Positive(message = "Quantity must be positive") @JsonProperty("quantity") Integer quantity) {
+    }
+}
@@ -4,13 +4,22 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.springframework.stereotype.Component;
 
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
+import com.kompu.api.entity.shared.model.MetadataPatch;
+import com.kompu.api.entity.shared.model.PageCursor;
 import com.kompu.api.entity.supplier.gateway.SupplierGateway;
 import com.kompu.api.entity.supplier.model.SupplierModel;
+import com.kompu.api.entity.supplier.model.SupplierSummary;
 import com.kompu.api.infrastructure.config.db.repository.SupplierRepository;
 import com.kompu.api.infrastructure.config.db.schema.SupplierSchema;
+import com.kompu.api.infrastructure.shared.pagination.KeysetPager;
+import com.kompu.api.infrastructure.shared.search.LikePatterns;
 
 import lombok.RequiredArgsConstructor;
 
@@ -23,6 +32,7 @@ import lombok.RequiredArgsConstructor;
 public class SupplierDatabaseGateway implements SupplierGateway {
 
     private final SupplierRepository supplierRepository;
+    private final KeysetPager keysetPager;
 
     @Override
     public Optional<SupplierModel> findById(UUID id) {
@@ -51,6 +61,22 @@ public class SupplierDatabaseGateway implements SupplierGateway {
         return supplierRepository.findAllByTenant(tenantId).stream().map(SupplierSchema::toSupplierModel).toList();
     }
 
+    @Override
+    public CursorPage<SupplierSummary> findSummaryPageByTenant(UUID tenantId, CursorPageRequest request) {
+        return keysetPager.page(request,
+                limit -> supplierRepository.findSummaryFirstPageByTenantId(tenantId, limit),
+                (cursor, limit) -> supplierRepository.findSummaryPageByTenantIdAfter(tenantId, cursor.createdAt(),
+                        cursor.id(), limit),
+                row -> new PageCursor(row.createdAt(), row.id()),
+                Function.identity());
+    }
+
+    @Override
+    public long forEachByTenantId(UUID tenantId, Consumer<? super SupplierModel> consumer) {
+        return keysetPager.forEach(() -> supplierRepository.streamByTenantId(tenantId),
+                SupplierSchema::toSupplierModel, consumer);
+    }
+
     @Override
     public List<SupplierModel> findByType(UUID tenantId, String supplierType) {
         return supplierRepository.findByTypeAndTenant(tenantId, supplierType).stream()
@@ -106,4 +132,21 @@ public class SupplierDatabaseGateway implements SupplierGateway {
         return supplierRepository.searchByName(tenantId, searchTerm).stream().map(SupplierSchema::toSupplierModel)
                 .toList();
     }
+
+    @Override
+    public List<SupplierSummary> searchFuzzy(UUID tenantId, String query, int limit) {
+        return supplierRepository.searchFuzzy(tenantId, query, LikePatterns.contains(query), limit).stream()
+                .map(s -> new SupplierSummary(s.getId(), s.getSupplierCode(), s.getSupplierName(),
+                        s.getSupplierType(), s.getCity(), s.getPhone(), s.getStatus(), s.getRating(),
+                        s.getCreatedAt()))
+                .toList();
+    }
+
+    @Override
+    public boolean patchMetadata(UUID id, MetadataPatch patch) {
+        if (patch == null || patch.isEmpty()) {
+            return false;
+        }
+        return supplierRepository.patchMetadata(id, patch.setJson(), patch.removedJson()) > 0;
+    }
 }
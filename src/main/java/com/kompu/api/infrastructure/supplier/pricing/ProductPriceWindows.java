@@ -0,0 +1,95 @@
+package com.kompu.api.infrastructure.supplier.pricing;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+import com.kompu.api.entity.supplier.model.SupplierProductPriceModel;
+
+/**
+ * ProductPriceWindows - Interval index over the validity windows of one
+ * product's supplier prices.
+ * 
+ * Prices are sorted by {@code validFrom}, with the running maximum of
+ * {@code validUntil} alongside. A lookup binary-searches the last window that
+ * has started by the date and walks back only while some earlier window can
+ * still reach the date, so expired price history costs nothing. Only prices
+ * in the requested currency are compared; unit prices in different currencies
+ * are not comparable.
+ */
+final class ProductPriceWindows {
+
+    private static final Comparator<SupplierProductPriceModel> BETTER = Comparator
+            .comparing(SupplierProductPriceModel::getUnitPrice)
+            .thenComparing(SupplierProductPriceModel::getLeadTimeDays, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(SupplierProductPriceModel::getSupplierId);
+
+    private final SupplierProductPriceModel[] prices;
+    private final long[] from;
+    private final long[] until;
+    private final long[] reach;
+
+    ProductPriceWindows(List<SupplierProductPriceModel> productPrices) {
+        this.prices = productPrices.stream()
+                .sorted(Comparator.comparing(SupplierProductPriceModel::getValidFrom))
+                .toArray(SupplierProductPriceModel[]::new);
+        this.from = new long[prices.length];
+        this.until = new long[prices.length];
+        this.reach = new long[prices.length];
+        long maxUntil = Long.MIN_VALUE;
+        for (int i = 0; i < prices.length; i++) {
+            from[i] = prices[i].getValidFrom().toEpochDay();
+            until[i] = prices[i].getValidUntil() != null ? prices[i].getValidUntil().toEpochDay() : Long.MAX_VALUE;
+            maxUntil = Math.max(maxUntil, until[i]);
+            reach[i] = maxUntil;
+        }
+    }
+
+    /**
+     * Best price in {@code currency} valid on {@code date} that accepts
+     * {@code quantity}; null when none does
+     */
+    SupplierProductPriceModel best(LocalDate date, int quantity, Integer maxLeadTimeDays, String currency) {
+        Objects.requireNonNull(currency, "currency");
+        long day = date.toEpochDay();
+        SupplierProductPriceModel best = null;
+        for (int i = lastStartedBy(day); i >= 0 && reach[i] >= day; i--) {
+            SupplierProductPriceModel price = prices[i];
+            if (until[i] >= day && accepts(price, quantity, maxLeadTimeDays, currency)
+                    && (best == null || BETTER.compare(price, best) < 0)) {
+                best = price;
+            }
+        }
+        return best;
+    }
+
+    private int lastStartedBy(long day) {
+        int low = 0;
+        int high = from.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (from[mid] <= day) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private static boolean accepts(SupplierProductPriceModel price, int quantity, Integer maxLeadTimeDays,
+            String currency) {
+        int minimum = price.getMinimumOrderQty() != null ? price.getMinimumOrderQty() : 1;
+        if (quantity < minimum || (price.getMaximumOrderQty() != null && quantity > price.getMaximumOrderQty())) {
+            return false;
+        }
+        if (maxLeadTimeDays != null
+                && (price.getLeadTimeDays() == null || price.getLeadTimeDays() > maxLeadTimeDays)) {
+            return false;
+        }
+        return currency.equalsIgnoreCase(price.getCurrency());
+    }
+}
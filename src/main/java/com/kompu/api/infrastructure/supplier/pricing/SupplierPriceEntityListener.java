@@ -0,0 +1,92 @@
+package com.kompu.api.infrastructure.supplier.pricing;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.kompu.api.entity.supplier.gateway.SupplierPriceGateway;
+import com.kompu.api.infrastructure.config.db.schema.SupplierProductPriceSchema;
+import com.kompu.api.infrastructure.config.db.schema.SupplierSchema;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * SupplierPriceEntityListener - Refreshes a tenant's supplier prices when a
+ * price or a supplier is written through JPA.
+ * 
+ * Tenants are collected per transaction and announced once it has
+ * committed, so a bulk price import costs one notification per tenant.
+ * Announcing after commit also catches entities flushed by the commit itself,
+ * as with a repository save outside any outer transaction, whose
+ * {@code @PostUpdate} fires after beforeCommit has already run. The
+ * announcement runs in a transaction of its own, since the committed one can
+ * no longer write. Instantiated by Hibernate through the Spring bean
+ * container; the gateway is looked up lazily because it depends on the entity
+ * manager.
+ */
+public class SupplierPriceEntityListener {
+
+    private final ObjectProvider<SupplierPriceGateway> supplierPriceGateway;
+    private final ObjectProvider<PlatformTransactionManager> transactionManager;
+
+    public SupplierPriceEntityListener(ObjectProvider<SupplierPriceGateway> supplierPriceGateway,
+            ObjectProvider<PlatformTransactionManager> transactionManager) {
+        this.supplierPriceGateway = supplierPriceGateway;
+        this.transactionManager = transactionManager;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(Object entity) {
+        UUID tenantId = switch (entity) {
+            case SupplierProductPriceSchema price -> price.getTenantId();
+            case SupplierSchema supplier -> supplier.getTenantId();
+            default -> null;
+        };
+        if (tenantId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(Set.of(tenantId));
+            return;
+        }
+        PendingTenants pending = (PendingTenants) TransactionSynchronizationManager.getResource(PendingTenants.class);
+        if (pending == null) {
+            pending = new PendingTenants();
+            TransactionSynchronizationManager.bindResource(PendingTenants.class, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.tenantIds.add(tenantId);
+    }
+
+    private void publish(Set<UUID> tenantIds) {
+        supplierPriceGateway.ifAvailable(gateway -> tenantIds.forEach(gateway::refresh));
+    }
+
+    private final class PendingTenants implements TransactionSynchronization {
+
+        private final Set<UUID> tenantIds = new LinkedHashSet<>();
+
+        @Override
+        public void afterCommit() {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager.getObject());
+            transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            transaction.executeWithoutResult(status -> publish(tenantIds));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(PendingTenants.class);
+        }
+    }
+}
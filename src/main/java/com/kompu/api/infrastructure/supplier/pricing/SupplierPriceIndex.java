@@ -0,0 +1,173 @@
+package com.kompu.api.infrastructure.supplier.pricing;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.kompu.api.entity.shared.gateway.CacheInvalidationGateway;
+import com.kompu.api.entity.shared.model.CacheInvalidationEvent;
+import com.kompu.api.entity.shared.model.CacheRegion;
+import com.kompu.api.entity.supplier.gateway.SupplierPriceGateway;
+import com.kompu.api.entity.supplier.model.SupplierPriceQuery;
+import com.kompu.api.entity.supplier.model.SupplierPriceQuote;
+import com.kompu.api.entity.supplier.model.SupplierPriceResolution;
+import com.kompu.api.entity.supplier.model.SupplierProductPriceModel;
+import com.kompu.api.infrastructure.config.db.repository.SupplierProductPriceRepository;
+import com.kompu.api.infrastructure.config.db.schema.SupplierProductPriceSchema;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * SupplierPriceIndex - Implements SupplierPriceGateway from per-tenant,
+ * per-product {@link ProductPriceWindows} held in memory.
+ * 
+ * A tenant's active prices of active suppliers are loaded with one query on
+ * its first lookup and kept for up to {@code maxTenants} tenants, least
+ * recently used evicted first, so a batch of hundreds of products is priced
+ * without further database work. Writes to prices or suppliers are announced
+ * on the SUPPLIER_PRICES cache region keyed by tenant id, and every node drops
+ * that tenant's prices once the write has committed.
+ * 
+ * Metrics: supplier_pricing.latency{phase=resolve|load} and
+ * supplier_pricing.tenants.
+ */
+@Slf4j
+public class SupplierPriceIndex implements SupplierPriceGateway {
+
+    private final SupplierProductPriceRepository repository;
+    private final CacheInvalidationGateway cacheInvalidationGateway;
+    private final MeterRegistry meterRegistry;
+    private final Map<UUID, CompletableFuture<Map<UUID, ProductPriceWindows>>> tenants;
+    private final Timer resolveTimer;
+    private final Timer loadTimer;
+
+    public SupplierPriceIndex(SupplierProductPriceRepository repository,
+            CacheInvalidationGateway cacheInvalidationGateway, int maxTenants, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.cacheInvalidationGateway = cacheInvalidationGateway;
+        this.meterRegistry = meterRegistry;
+        this.tenants = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, CompletableFuture<Map<UUID, ProductPriceWindows>>> eldest) {
+                return size() > maxTenants;
+            }
+        };
+        this.resolveTimer = Timer.builder("supplier_pricing.latency")
+                .tag("phase", "resolve")
+                .register(meterRegistry);
+        this.loadTimer = Timer.builder("supplier_pricing.latency")
+                .tag("phase", "load")
+                .register(meterRegistry);
+    }
+
+    // Registered once constructed, so neither the registry nor the bus sees a half-built index
+    public void start() {
+        Gauge.builder("supplier_pricing.tenants", this, SupplierPriceIndex::loadedTenants)
+                .description("Tenants with supplier prices in memory")
+                .register(meterRegistry);
+        cacheInvalidationGateway.subscribe(CacheRegion.SUPPLIER_PRICES, this::onInvalidation);
+    }
+
+    @Override
+    public SupplierPriceResolution resolveBest(SupplierPriceQuery query) {
+        Map<UUID, ProductPriceWindows> windows = windowsFor(query.tenantId());
+        return resolveTimer.record(() -> resolve(windows, query));
+    }
+
+    @Override
+    public void refresh(UUID tenantId) {
+        cacheInvalidationGateway.publish(CacheRegion.SUPPLIER_PRICES, tenantId.toString());
+    }
+
+    private static SupplierPriceResolution resolve(Map<UUID, ProductPriceWindows> windows, SupplierPriceQuery query) {
+        List<SupplierPriceQuote> quotes = new ArrayList<>(query.lines().size());
+        List<UUID> unpriced = new ArrayList<>();
+        for (SupplierPriceQuery.Line line : query.lines()) {
+            ProductPriceWindows product = windows.get(line.productId());
+            SupplierProductPriceModel best = product != null
+                    ? product.best(query.date(), line.quantity(), query.maxLeadTimeDays(), query.currency())
+                    : null;
+            if (best == null) {
+                unpriced.add(line.productId());
+                continue;
+            }
+            quotes.add(new SupplierPriceQuote(line.productId(), line.quantity(), best.getId(), best.getSupplierId(),
+                    best.getUnitPrice(), best.getUnitPrice().multiply(BigDecimal.valueOf(line.quantity())),
+                    best.getCurrency(), best.getLeadTimeDays(), best.getValidUntil()));
+        }
+        return new SupplierPriceResolution(quotes, unpriced);
+    }
+
+    private Map<UUID, ProductPriceWindows> windowsFor(UUID tenantId) {
+        CompletableFuture<Map<UUID, ProductPriceWindows>> created = new CompletableFuture<>();
+        CompletableFuture<Map<UUID, ProductPriceWindows>> existing;
+        synchronized (tenants) {
+            existing = tenants.putIfAbsent(tenantId, created);
+        }
+        if (existing != null) {
+            return existing.join();
+        }
+        try {
+            created.complete(loadTimer.record(() -> load(tenantId)));
+        } catch (RuntimeException e) {
+            synchronized (tenants) {
+                tenants.remove(tenantId, created);
+            }
+            created.completeExceptionally(e);
+            throw e;
+        }
+        return created.join();
+    }
+
+    private Map<UUID, ProductPriceWindows> load(UUID tenantId) {
+        Map<UUID, List<SupplierProductPriceModel>> byProduct = repository.findActiveForPricing(tenantId).stream()
+                .map(SupplierProductPriceSchema::toModel)
+                .collect(Collectors.groupingBy(SupplierProductPriceModel::getProductId));
+        Map<UUID, ProductPriceWindows> windows = HashMap.newHashMap(byProduct.size());
+        byProduct.forEach((productId, prices) -> windows.put(productId, new ProductPriceWindows(prices)));
+        log.debug("Loaded supplier prices for tenant {}: {} products", tenantId, windows.size());
+        return windows;
+    }
+
+    private void onInvalidation(CacheInvalidationEvent event) {
+        // The local copy arrives inside the writing transaction; a reload now would miss the write
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(event);
+                }
+            });
+        } else {
+            apply(event);
+        }
+    }
+
+    private void apply(CacheInvalidationEvent event) {
+        synchronized (tenants) {
+            if (event.isRegionWide()) {
+                tenants.clear();
+            } else {
+                tenants.remove(UUID.fromString(event.getKey()));
+            }
+        }
+    }
+
+    private int loadedTenants() {
+        synchronized (tenants) {
+            return tenants.size();
+        }
+    }
+}
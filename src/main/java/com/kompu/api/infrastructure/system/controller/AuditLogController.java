@@ -0,0 +1,174 @@
+package com.kompu.api.infrastructure.system.controller;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
+import com.kompu.api.entity.system.model.ActivityLogModel;
+import com.kompu.api.entity.system.model.AuditLogFilter;
+import com.kompu.api.entity.system.model.AuthAuditModel;
+import com.kompu.api.entity.system.model.LoginLogModel;
+import com.kompu.api.infrastructure.config.web.response.WebHttpResponse;
+import com.kompu.api.infrastructure.config.web.security.util.TenantScope;
+import com.kompu.api.usecase.system.QueryAuditLogUseCase;
+
+/**
+ * AuditLogController exposes the activity log, auth audit and login log.
+ * 
+ * Endpoints:
+ * - GET /api/v1/audit/activity - Keyset page of activity log entries
+ * - GET /api/v1/audit/activity/export - All matching entries as NDJSON
+ * - GET /api/v1/audit/auth - Keyset page of auth audit entries
+ * - GET /api/v1/audit/auth/export - All matching entries as NDJSON
+ * - GET /api/v1/audit/logins - Keyset page of login log entries
+ * - GET /api/v1/audit/logins/export - All matching entries as NDJSON
+ * 
+ * Every request takes a tenantId or userId and a from/to window (ISO date
+ * time, to exclusive); the window is capped by QueryAuditLogUseCase. Exports
+ * are validated before the response starts streaming. ADMIN only, and bound
+ * to the admin's own tenant: tenantId may be left out and defaults to it.
+ * Only SUPER_ADMIN reads across tenants, including by userId alone.
+ */
+@RestController
+@RequestMapping("/api/v1/audit")
+public class AuditLogController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final QueryAuditLogUseCase queryAuditLogUseCase;
+    private final ObjectMapper objectMapper;
+
+    public AuditLogController(QueryAuditLogUseCase queryAuditLogUseCase, ObjectMapper objectMapper) {
+        this.queryAuditLogUseCase = queryAuditLogUseCase;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping("/activity")
+    public ResponseEntity<WebHttpResponse<CursorPage<ActivityLogModel>>> findActivity(
+            @RequestParam(required = false) UUID tenantId,
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String resourceType,
+            @RequestParam(required = false) UUID resourceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        AuditLogFilter filter = new AuditLogFilter(TenantScope.resolve(tenantId), userId, action, resourceType,
+                resourceId, from, to);
+        return ResponseEntity.ok(WebHttpResponse.ok(
+                queryAuditLogUseCase.findActivity(filter, CursorPageRequest.after(cursor, limit))));
+    }
+
+    @GetMapping("/activity/export")
+    public ResponseEntity<StreamingResponseBody> exportActivity(
+            @RequestParam(required = false) UUID tenantId,
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String resourceType,
+            @RequestParam(required = false) UUID resourceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        AuditLogFilter filter = queryAuditLogUseCase.validate(
+                new AuditLogFilter(TenantScope.resolve(tenantId), userId, action, resourceType, resourceId, from, to));
+        return ndjson(writer -> queryAuditLogUseCase.exportActivity(filter, writer));
+    }
+
+    @GetMapping("/auth")
+    public ResponseEntity<WebHttpResponse<CursorPage<AuthAuditModel>>> findAuthAudit(
+            @RequestParam(required = false) UUID tenantId,
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String resourceType,
+            @RequestParam(required = false) UUID resourceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        AuditLogFilter filter = new AuditLogFilter(TenantScope.resolve(tenantId), userId, action, resourceType,
+                resourceId, from, to);
+        return ResponseEntity.ok(WebHttpResponse.ok(
+                queryAuditLogUseCase.findAuthAudit(filter, CursorPageRequest.after(cursor, limit))));
+    }
+
+    @GetMapping("/auth/export")
+    public ResponseEntity<StreamingResponseBody> exportAuthAudit(
+            @RequestParam(required = false) UUID tenantId,
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String resourceType,
+            @RequestParam(required = false) UUID resourceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        AuditLogFilter filter = queryAuditLogUseCase.validate(
+                new AuditLogFilter(TenantScope.resolve(tenantId), userId, action, resourceType, resourceId, from, to));
+        return ndjson(writer -> queryAuditLogUseCase.exportAuthAudit(filter, writer));
+    }
+
+    @GetMapping("/logins")
+    public ResponseEntity<WebHttpResponse<CursorPage<LoginLogModel>>> findLogins(
+            @RequestParam(required = false) UUID tenantId,
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(required = false) String result,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        AuditLogFilter filter = new AuditLogFilter(TenantScope.resolve(tenantId), userId, result, null, null, from, to);
+        return ResponseEntity.ok(WebHttpResponse.ok(
+                queryAuditLogUseCase.findLogins(filter, CursorPageRequest.after(cursor, limit))));
+    }
+
+    @GetMapping("/logins/export")
+    public ResponseEntity<StreamingResponseBody> exportLogins(
+            @RequestParam(required = false) UUID tenantId,
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(required = false) String result,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        AuditLogFilter filter = queryAuditLogUseCase.validate(
+                new AuditLogFilter(TenantScope.resolve(tenantId), userId, result, null, null, from, to));
+        return ndjson(writer -> queryAuditLogUseCase.exportLogins(filter, writer));
+    }
+
+    /**
+     * Stream one JSON document per line; the export callback receives a
+     * consumer that writes each entry as it is read from the database
+     */
+    private ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<Object>> export) {
+        StreamingResponseBody body = outputStream -> {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            try {
+                export.accept(entry -> {
+                    try {
+                        writer.write(objectMapper.writeValueAsString(entry));
+                        writer.newLine();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+}
@@ -0,0 +1,64 @@
+package com.kompu.api.infrastructure.system.gateway;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
+import com.kompu.api.entity.system.gateway.AuthAuditGateway;
+import com.kompu.api.entity.system.model.AuthAuditModel;
+import com.kompu.api.entity.system.model.AuditLogFilter;
+import com.kompu.api.entity.system.model.LogCursor;
+import com.kompu.api.infrastructure.config.db.repository.AuthAuditRepository;
+import com.kompu.api.infrastructure.config.db.schema.AuthAuditSchema;
+import com.kompu.api.infrastructure.shared.pagination.KeysetPager;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class AuthAuditDatabaseGateway implements AuthAuditGateway {
+
+    private final AuthAuditRepository repository;
+    private final KeysetPager keysetPager;
+
+    // One query per mandatory key, so each keeps a plan on its own index
+    @Override
+    public CursorPage<AuthAuditModel> findPage(AuditLogFilter filter, CursorPageRequest request) {
+        if (filter.tenantId() == null) {
+            return keysetPager.page(request, LogCursor::decode,
+                    limit -> repository.findFirstPageByUserInRange(filter.userId(), filter.action(),
+                            filter.resourceType(), filter.resourceId(), filter.from(), filter.to(), limit),
+                    (cursor, limit) -> repository.findPageByUserInRangeAfter(filter.userId(), filter.action(),
+                            filter.resourceType(), filter.resourceId(), filter.from(), filter.to(),
+                            LocalDateTime.ofInstant(cursor.createdAt(), ZoneOffset.UTC), cursor.id(), limit),
+                    row -> new LogCursor(row.getCreatedAt().toInstant(ZoneOffset.UTC), row.getId()).encode(),
+                    AuthAuditSchema::toModel);
+        }
+        return keysetPager.page(request, LogCursor::decode,
+                limit -> repository.findFirstPageByTenantInRange(filter.tenantId(), filter.userId(), filter.action(),
+                        filter.resourceType(), filter.resourceId(), filter.from(), filter.to(), limit),
+                (cursor, limit) -> repository.findPageByTenantInRangeAfter(filter.tenantId(), filter.userId(),
+                        filter.action(), filter.resourceType(), filter.resourceId(), filter.from(), filter.to(),
+                        LocalDateTime.ofInstant(cursor.createdAt(), ZoneOffset.UTC), cursor.id(), limit),
+                row -> new LogCursor(row.getCreatedAt().toInstant(ZoneOffset.UTC), row.getId()).encode(),
+                AuthAuditSchema::toModel);
+    }
+
+    @Override
+    public long forEach(AuditLogFilter filter, Consumer<? super AuthAuditModel> consumer) {
+        if (filter.tenantId() == null) {
+            return keysetPager.forEach(
+                    () -> repository.streamByUserInRange(filter.userId(), filter.action(), filter.resourceType(),
+                            filter.resourceId(), filter.from(), filter.to()),
+                    AuthAuditSchema::toModel, consumer);
+        }
+        return keysetPager.forEach(
+                () -> repository.streamByTenantInRange(filter.tenantId(), filter.userId(), filter.action(),
+                        filter.resourceType(), filter.resourceId(), filter.from(), filter.to()),
+                AuthAuditSchema::toModel, consumer);
+    }
+}
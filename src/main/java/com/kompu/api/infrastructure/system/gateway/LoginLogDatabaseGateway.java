@@ -1,11 +1,20 @@
 package com.kompu.api.infrastructure.system.gateway;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+
 import org.springframework.stereotype.Service;
 
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
 import com.kompu.api.entity.system.gateway.LoginLogGateway;
+import com.kompu.api.entity.system.model.AuditLogFilter;
+import com.kompu.api.entity.system.model.LogCursor;
 import com.kompu.api.entity.system.model.LoginLogModel;
 import com.kompu.api.infrastructure.config.db.repository.LoginLogRepository;
 import com.kompu.api.infrastructure.config.db.schema.LoginLogSchema;
+import com.kompu.api.infrastructure.shared.pagination.KeysetPager;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -14,9 +23,11 @@ import lombok.extern.slf4j.Slf4j;
 public class LoginLogDatabaseGateway implements LoginLogGateway {
 
     private final LoginLogRepository loginLogRepository;
+    private final KeysetPager keysetPager;
 
-    public LoginLogDatabaseGateway(LoginLogRepository loginLogRepository) {
+    public LoginLogDatabaseGateway(LoginLogRepository loginLogRepository, KeysetPager keysetPager) {
         this.loginLogRepository = loginLogRepository;
+        this.keysetPager = keysetPager;
     }
 
     @Override
@@ -26,4 +37,41 @@ public class LoginLogDatabaseGateway implements LoginLogGateway {
         return loginLogRepository.save(schema).toModel();
     }
 
+    // One query per mandatory key, so each keeps a plan on its own index
+    @Override
+    public CursorPage<LoginLogModel> findPage(AuditLogFilter filter, CursorPageRequest request) {
+        if (filter.tenantId() == null) {
+            return keysetPager.page(request, LogCursor::decode,
+                    limit -> loginLogRepository.findFirstPageByUserInRange(filter.userId(), filter.action(),
+                            filter.from(), filter.to(), limit),
+                    (cursor, limit) -> loginLogRepository.findPageByUserInRangeAfter(filter.userId(),
+                            filter.action(), filter.from(), filter.to(),
+                            LocalDateTime.ofInstant(cursor.createdAt(), ZoneOffset.UTC), cursor.id(), limit),
+                    row -> new LogCursor(row.getCreatedAt().toInstant(ZoneOffset.UTC), row.getId()).encode(),
+                    LoginLogSchema::toModel);
+        }
+        return keysetPager.page(request, LogCursor::decode,
+                limit -> loginLogRepository.findFirstPageByTenantInRange(filter.tenantId(), filter.userId(),
+                        filter.action(), filter.from(), filter.to(), limit),
+                (cursor, limit) -> loginLogRepository.findPageByTenantInRangeAfter(filter.tenantId(),
+                        filter.userId(), filter.action(), filter.from(), filter.to(),
+                        LocalDateTime.ofInstant(cursor.createdAt(), ZoneOffset.UTC), cursor.id(), limit),
+                row -> new LogCursor(row.getCreatedAt().toInstant(ZoneOffset.UTC), row.getId()).encode(),
+                LoginLogSchema::toModel);
+    }
+
+    @Override
+    public long forEach(AuditLogFilter filter, Consumer<? super LoginLogModel> consumer) {
+        if (filter.tenantId() == null) {
+            return keysetPager.forEach(
+                    () -> loginLogRepository.streamByUserInRange(filter.userId(), filter.action(), filter.from(),
+                            filter.to()),
+                    LoginLogSchema::toModel, consumer);
+        }
+        return keysetPager.forEach(
+                () -> loginLogRepository.streamByTenantInRange(filter.tenantId(), filter.userId(), filter.action(),
+                        filter.from(), filter.to()),
+                LoginLogSchema::toModel, consumer);
+    }
+
 }
@@ -5,6 +5,7 @@ import java.util.UUID;
 
 import org.springframework.stereotype.Service;
 
+import com.kompu.api.entity.shared.model.MetadataPatch;
 import com.kompu.api.entity.tenant.gateway.TenantGateway;
 import com.kompu.api.entity.tenant.model.TenantModel;
 import com.kompu.api.infrastructure.config.db.repository.TenantRepository;
@@ -72,4 +73,12 @@ public class TenantDatabaseGateway implements TenantGateway {
     public boolean existsById(UUID id) {
         return tenantRepository.existsById(id);
     }
+
+    @Override
+    public boolean patchMetadata(UUID id, MetadataPatch patch) {
+        if (patch == null || patch.isEmpty()) {
+            return false;
+        }
+        return tenantRepository.patchMetadata(id, patch.setJson(), patch.removedJson()) > 0;
+    }
 }
@@ -5,6 +5,8 @@ import java.util.UUID;
 
 import org.springframework.stereotype.Service;
 
+import com.kompu.api.entity.shared.gateway.CacheInvalidationGateway;
+import com.kompu.api.entity.shared.model.CacheRegion;
 import com.kompu.api.entity.tenantdomain.gateway.TenantDomainGateway;
 import com.kompu.api.entity.tenantdomain.model.TenantDomainModel;
 import com.kompu.api.infrastructure.config.db.repository.TenantDomainRepository;
@@ -14,21 +16,28 @@ import com.kompu.api.infrastructure.config.db.schema.TenantDomainSchema;
 public class TenantDomainDatabaseGateway implements TenantDomainGateway {
 
     private final TenantDomainRepository tenantDomainRepository;
+    private final CacheInvalidationGateway cacheInvalidationGateway;
 
-    public TenantDomainDatabaseGateway(TenantDomainRepository tenantDomainRepository) {
+    public TenantDomainDatabaseGateway(TenantDomainRepository tenantDomainRepository,
+            CacheInvalidationGateway cacheInvalidationGateway) {
         this.tenantDomainRepository = tenantDomainRepository;
+        this.cacheInvalidationGateway = cacheInvalidationGateway;
     }
 
     @Override
     public TenantDomainModel create(TenantDomainModel domain) {
         TenantDomainSchema schema = new TenantDomainSchema(domain);
-        return tenantDomainRepository.save(schema).toModel();
+        TenantDomainModel saved = tenantDomainRepository.save(schema).toModel();
+        cacheInvalidationGateway.publish(CacheRegion.TENANT_DOMAINS, saved.getId().toString());
+        return saved;
     }
 
     @Override
     public TenantDomainModel update(TenantDomainModel domain) {
         TenantDomainSchema schema = new TenantDomainSchema(domain);
-        return tenantDomainRepository.save(schema).toModel();
+        TenantDomainModel saved = tenantDomainRepository.save(schema).toModel();
+        cacheInvalidationGateway.publish(CacheRegion.TENANT_DOMAINS, saved.getId().toString());
+        return saved;
     }
 
     @Override
@@ -39,6 +48,7 @@ public class TenantDomainDatabaseGateway implements TenantDomainGateway {
     @Override
     public void delete(UUID id) {
         tenantDomainRepository.deleteById(id);
+        cacheInvalidationGateway.publish(CacheRegion.TENANT_DOMAINS, id.toString());
     }
 
     @Override
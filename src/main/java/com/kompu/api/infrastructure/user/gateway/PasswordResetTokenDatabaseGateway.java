@@ -0,0 +1,45 @@
+package com.kompu.api.infrastructure.user.gateway;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.kompu.api.entity.user.gateway.PasswordResetTokenGateway;
+
+/**
+ * PasswordResetTokenDatabaseGateway - Keeps reset tokens in
+ * app.password_reset_tokens. A token is used up with a single conditional
+ * UPDATE, so two requests racing with the same link cannot both succeed.
+ */
+public class PasswordResetTokenDatabaseGateway implements PasswordResetTokenGateway {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PasswordResetTokenDatabaseGateway(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void issue(UUID userId, byte[] tokenHash, Instant expiresAt) {
+        jdbcTemplate.update("DELETE FROM app.password_reset_tokens WHERE user_id = ? AND used_at IS NULL", userId);
+        jdbcTemplate.update("""
+                INSERT INTO app.password_reset_tokens (token_hash, user_id, expires_at)
+                VALUES (?, ?, ?)
+                """, tokenHash, userId, Timestamp.from(expiresAt));
+    }
+
+    @Override
+    public Optional<UUID> consume(byte[] tokenHash) {
+        List<UUID> userIds = jdbcTemplate.queryForList("""
+                UPDATE app.password_reset_tokens
+                   SET used_at = now()
+                WHERE token_hash = ? AND used_at IS NULL AND expires_at > now()
+                RETURNING user_id
+                """, UUID.class, tokenHash);
+        return userIds.stream().findFirst();
+    }
+}
@@ -3,18 +3,24 @@ package com.kompu.api.infrastructure.user.gateway;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
 import com.kompu.api.entity.user.gateway.UserGateway;
 import com.kompu.api.entity.user.model.UserAccountModel;
 import com.kompu.api.infrastructure.config.db.repository.UserRepository;
 import com.kompu.api.infrastructure.config.db.schema.UserSchema;
+import com.kompu.api.infrastructure.shared.pagination.KeysetPager;
 
 public class UserDatabaseGateway implements UserGateway {
 
     private final UserRepository repository;
+    private final KeysetPager keysetPager;
 
-    public UserDatabaseGateway(UserRepository repository) {
+    public UserDatabaseGateway(UserRepository repository, KeysetPager keysetPager) {
         this.repository = repository;
+        this.keysetPager = keysetPager;
     }
 
     @Override
@@ -49,6 +55,22 @@ public class UserDatabaseGateway implements UserGateway {
                 .toList();
     }
 
+    @Override
+    public CursorPage<UserAccountModel> findPageByTenantId(UUID tenantId, CursorPageRequest request) {
+        return keysetPager.page(request,
+                limit -> repository.findFirstPageByTenantId(tenantId, limit),
+                (cursor, limit) -> repository.findPageByTenantIdAfter(tenantId,
+                        KeysetPager.localCreatedAt(cursor), cursor.id(), limit),
+                row -> KeysetPager.cursorOf(row.getCreatedAt(), row.getId()),
+                UserSchema::toUserAccountModel);
+    }
+
+    @Override
+    public long forEachByTenantId(UUID tenantId, Consumer<? super UserAccountModel> consumer) {
+        return keysetPager.forEach(() -> repository.streamByTenantId(tenantId), UserSchema::toUserAccountModel,
+                consumer);
+    }
+
     @Override
     public List<UserAccountModel> findAll() {
         return repository.findAll().stream()
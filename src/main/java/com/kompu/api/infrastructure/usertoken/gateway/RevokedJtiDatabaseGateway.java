@@ -1,5 +1,6 @@
 package com.kompu.api.infrastructure.usertoken.gateway;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -49,7 +50,9 @@ public class RevokedJtiDatabaseGateway implements RevokedJtiGateway {
 
     @Override
     public boolean isRevoked(UUID jti) throws RevokedJtiException {
-        return repository.findByJti(jti).isPresent();
+        // Revocations of expired tokens no longer matter: the token itself is
+        // rejected, and its partition is dropped soon after
+        return repository.existsByJtiAndExpiresAtAfter(jti, LocalDateTime.now());
     }
 
 }
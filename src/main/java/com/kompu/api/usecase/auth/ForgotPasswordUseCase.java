@@ -1,68 +1,62 @@
 package com.kompu.api.usecase.auth;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import com.kompu.api.entity.shared.gateway.MailGateway;
+import com.kompu.api.entity.shared.model.MailMessage;
+import com.kompu.api.entity.user.gateway.PasswordResetTokenGateway;
 import com.kompu.api.entity.user.gateway.UserGateway;
 
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
 
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * ForgotPasswordUseCase - Mails a one-time reset link to the account owner.
+ * 
+ * The password itself is left alone until the link is used (see
+ * {@link ResetPasswordUseCase}), so asking for a reset cannot lock anyone
+ * out, and no password ever reaches the mail queue.
+ */
 @Slf4j
 public class ForgotPasswordUseCase {
 
     private final UserGateway userGateway;
-    private final BCryptPasswordEncoder passwordEncoder;
-    private final JavaMailSender emailSender;
+    private final PasswordResetTokenGateway passwordResetTokenGateway;
+    private final MailGateway mailGateway;
+    private final String resetUrl;
+    private final Duration tokenTtl;
 
-    public ForgotPasswordUseCase(UserGateway userGateway, BCryptPasswordEncoder passwordEncoder,
-            JavaMailSender emailSender) {
+    public ForgotPasswordUseCase(UserGateway userGateway, PasswordResetTokenGateway passwordResetTokenGateway,
+            MailGateway mailGateway, String resetUrl, Duration tokenTtl) {
         this.userGateway = userGateway;
-        this.passwordEncoder = passwordEncoder;
-        this.emailSender = emailSender;
+        this.passwordResetTokenGateway = passwordResetTokenGateway;
+        this.mailGateway = mailGateway;
+        this.resetUrl = resetUrl;
+        this.tokenTtl = tokenTtl;
     }
 
+    // The mail is queued in the same transaction as the token, so neither is
+    // kept without the other
+    @Transactional
     public void execute(String email) {
         log.info("Processing forgot password for email: {}", email);
 
         userGateway.findByEmail(email).ifPresent(user -> {
-            // Generate new password
-            String newPassword = generateNewPassword(email);
-            String newPasswordHash = passwordEncoder.encode(newPassword);
-
-            // Update user
-            user.setPasswordHash(newPasswordHash);
-            userGateway.update(user);
+            String token = PasswordResetTokens.generate();
+            passwordResetTokenGateway.issue(user.getId(), PasswordResetTokens.hash(token),
+                    Instant.now().plus(tokenTtl));
 
-            // Send email
-            sendEmail(user.getEmail(), newPassword);
+            mailGateway.enqueue(MailMessage.of("password-reset", user.getEmail(), Map.of(
+                    "resetUrl", resetUrl + (resetUrl.contains("?") ? "&" : "?") + "token=" + token,
+                    "expiresMinutes", String.valueOf(tokenTtl.toMinutes()))));
 
-            log.info("Password reset and email sent for: {}", user.getEmail());
+            log.info("Password reset link queued for: {}", user.getEmail());
         });
 
         // Security best practice: Don't reveal if user exists.
         log.info("If email exists, password reset instructions have been sent to: {}", email);
     }
-
-    private String generateNewPassword(String email) {
-        // Simple deterministic password for now as requested: email + "123"
-        // In production, use a random string generator.
-        return email.split("@")[0] + "123";
-    }
-
-    private void sendEmail(String to, String newPassword) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom("noreply@kompu.id");
-            message.setTo(to);
-            message.setSubject("Your New Password");
-            message.setText("Your password has been reset. Your new password is: " + newPassword
-                    + "\n\nPlease change it immediately after logging in.");
-            emailSender.send(message);
-        } catch (Exception e) {
-            log.error("Failed to send email to {}", to, e);
-            // Don't rethrow to avoid exposing user existence, or handle according to
-            // requirements
-        }
-    }
 }
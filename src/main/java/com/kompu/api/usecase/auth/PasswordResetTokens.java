@@ -0,0 +1,34 @@
+package com.kompu.api.usecase.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * PasswordResetTokens - Creates reset tokens and the hash they are stored
+ * under. Tokens carry 256 random bits, so an unsalted SHA-256 is enough to
+ * keep a leaked table from being usable.
+ */
+final class PasswordResetTokens {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private PasswordResetTokens() {
+    }
+
+    static String generate() {
+        byte[] token = new byte[32];
+        RANDOM.nextBytes(token);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+
+    static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
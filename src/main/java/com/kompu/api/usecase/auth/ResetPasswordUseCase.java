@@ -0,0 +1,55 @@
+package com.kompu.api.usecase.auth;
+
+import java.util.UUID;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.kompu.api.entity.system.annotation.Auditable;
+import com.kompu.api.entity.system.model.AuditStream;
+import com.kompu.api.entity.user.exception.InvalidPasswordResetTokenException;
+import com.kompu.api.entity.user.exception.UserNotFoundException;
+import com.kompu.api.entity.user.gateway.PasswordResetTokenGateway;
+import com.kompu.api.entity.user.gateway.UserGateway;
+import com.kompu.api.entity.user.model.UserAccountModel;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ResetPasswordUseCase - Sets a new password with a token mailed by
+ * {@link ForgotPasswordUseCase}. The token is used up in the same
+ * transaction as the password change, so a failed change leaves it usable.
+ */
+@Slf4j
+public class ResetPasswordUseCase {
+
+    private final UserGateway userGateway;
+    private final PasswordResetTokenGateway passwordResetTokenGateway;
+    private final BCryptPasswordEncoder passwordEncoder;
+
+    public ResetPasswordUseCase(UserGateway userGateway, PasswordResetTokenGateway passwordResetTokenGateway,
+            BCryptPasswordEncoder passwordEncoder) {
+        this.userGateway = userGateway;
+        this.passwordResetTokenGateway = passwordResetTokenGateway;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    /**
+     * @throws InvalidPasswordResetTokenException when the token is unknown,
+     *                                            expired or already used
+     */
+    @Transactional
+    @Auditable(action = "user.password_reset", resourceType = "user", stream = AuditStream.AUTH)
+    public UserAccountModel execute(String token, String newPassword) {
+        UUID userId = passwordResetTokenGateway.consume(PasswordResetTokens.hash(token))
+                .orElseThrow(InvalidPasswordResetTokenException::new);
+
+        UserAccountModel user = userGateway.findById(userId)
+                .orElseThrow(UserNotFoundException::new);
+        user.setPasswordHash(passwordEncoder.encode(newPassword));
+        UserAccountModel updatedUser = userGateway.update(user);
+
+        log.info("Password reset for user: {}", userId);
+        return updatedUser;
+    }
+}
@@ -13,6 +13,7 @@ import com.kompu.api.entity.member.model.MemberModel;
 import com.kompu.api.entity.role.exception.RoleNotFoundException;
 import com.kompu.api.entity.role.gateway.RoleGateway;
 import com.kompu.api.entity.role.model.RoleModel;
+import com.kompu.api.entity.shared.util.UuidV7;
 import com.kompu.api.entity.subscription.gateway.SubscriptionPlanGateway;
 import com.kompu.api.entity.subscription.gateway.TenantRegistrationGateway;
 import com.kompu.api.entity.subscription.gateway.TenantSubscriptionGateway;
@@ -37,8 +38,11 @@ import com.kompu.api.infrastructure.config.web.security.service.MyUserDetailServ
 import com.kompu.api.infrastructure.config.web.security.util.JwtUtils;
 import com.kompu.api.infrastructure.shared.SharedUseCase;
 import com.kompu.api.usecase.auth.dto.ISignUpRequest;
+import com.kompu.api.usecase.featureflag.InitializeFeatureFlagsUseCase;
 
 import com.kompu.api.entity.shared.gateway.FileStorageGateway;
+import com.kompu.api.entity.shared.gateway.OutboxGateway;
+import com.kompu.api.entity.shared.model.DomainEvent;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -71,6 +75,8 @@ public class SignUpUseCase {
     private final JwtUtils jwtUtils;
     private final MyUserDetailService myUserDetailService;
     private final FileStorageGateway fileStorageGateway;
+    private final InitializeFeatureFlagsUseCase initializeFeatureFlagsUseCase;
+    private final OutboxGateway outboxGateway;
 
     public SignUpUseCase(
             SharedUseCase sharedUseCase,
@@ -88,7 +94,9 @@ public class SignUpUseCase {
             BCryptPasswordEncoder passwordEncoder,
             JwtUtils jwtUtils,
             MyUserDetailService myUserDetailService,
-            FileStorageGateway fileStorageGateway) {
+            FileStorageGateway fileStorageGateway,
+            InitializeFeatureFlagsUseCase initializeFeatureFlagsUseCase,
+            OutboxGateway outboxGateway) {
 
         this.sharedUseCase = sharedUseCase;
         this.userGateway = userGateway;
@@ -106,6 +114,8 @@ public class SignUpUseCase {
         this.jwtUtils = jwtUtils;
         this.myUserDetailService = myUserDetailService;
         this.fileStorageGateway = fileStorageGateway;
+        this.initializeFeatureFlagsUseCase = initializeFeatureFlagsUseCase;
+        this.outboxGateway = outboxGateway;
     }
 
     /**
@@ -119,8 +129,8 @@ public class SignUpUseCase {
 
         validateSignUpRequest(request);
 
-        UUID tenantId = UUID.randomUUID();
-        UUID userId = UUID.randomUUID(); // Pre-generate to link entities
+        UUID tenantId = UuidV7.next();
+        UUID userId = UuidV7.next(); // Pre-generate to link entities
 
         // 1. Create Tenant
         createTenantForUser(request, tenantId, userId);
@@ -129,7 +139,10 @@ public class SignUpUseCase {
         setupTenantDomain(request, tenantId);
 
         // 4. Setup Subscription
-        setupTenantSubscription(request, tenantId, userId);
+        UUID planId = setupTenantSubscription(request, tenantId, userId);
+
+        // 4a. Provision plan feature flags (single multi-row insert)
+        initializeFeatureFlagsUseCase.initializeTenantFlags(tenantId, planId);
 
         // 5. Create User Account
         UserAccountModel user = createUserAccount(request, userId, tenantId);
@@ -143,6 +156,12 @@ public class SignUpUseCase {
         // 8. Record Registration Audit
         recordTenantRegistration(request, user, tenantId);
 
+        // 8a. Queue the welcome mail and the registration audit entry for the outbox relay
+        outboxGateway.publish(DomainEvent.of("tenant.registered", "tenant", tenantId, tenantId,
+                Map.of("userId", user.getId().toString(),
+                        "email", user.getEmail(),
+                        "planId", planId.toString())));
+
         // 9. Create Session & Tokens
         AuthTokenResponse response = createUserSessionWithTokens(user, tenantId);
 
@@ -187,7 +206,7 @@ public class SignUpUseCase {
         String host = tenantCode.toLowerCase().trim() + "." + PLATFORM_DOMAIN_SUFFIX;
 
         TenantDomainModel domain = TenantDomainModel.builder()
-                .id(UUID.randomUUID())
+                .id(UuidV7.next())
                 .tenantId(tenantId)
                 .host(host)
                 .primary(true)
@@ -201,14 +220,14 @@ public class SignUpUseCase {
         tenantDomainGateway.create(domain);
     }
 
-    private void setupTenantSubscription(ISignUpRequest request, UUID tenantId, UUID userId) {
+    private UUID setupTenantSubscription(ISignUpRequest request, UUID tenantId, UUID userId) {
         String planName = request.planName() != null ? request.planName() : DEFAULT_PLAN;
 
         SubscriptionPlanModel plan = subscriptionPlanGateway.findByName(planName)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid subscription plan: " + planName));
 
         TenantSubscriptionModel subscription = TenantSubscriptionModel.builder()
-                .id(UUID.randomUUID())
+                .id(UuidV7.next())
                 .tenantId(tenantId)
                 .planId(plan.getId())
                 .subscriptionStartDate(LocalDate.now())
@@ -221,6 +240,7 @@ public class SignUpUseCase {
                 .build();
 
         tenantSubscriptionGateway.save(subscription);
+        return plan.getId();
     }
 
     private UserAccountModel createUserAccount(ISignUpRequest request, UUID userId, UUID tenantId) {
@@ -260,7 +280,7 @@ public class SignUpUseCase {
 
         memberGateway.create(
                 MemberModel.builder()
-                        .id(UUID.randomUUID())
+                        .id(UuidV7.next())
                         .tenantId(user.getTenantId())
                         .memberCode(memberCode)
                         .userId(user.getId())
@@ -281,7 +301,7 @@ public class SignUpUseCase {
     private void recordTenantRegistration(ISignUpRequest request, UserAccountModel user, UUID tenantId) {
         tenantRegistrationGateway.save(
                 TenantRegistrationModel.builder()
-                        .id(UUID.randomUUID())
+                        .id(UuidV7.next())
                         .tenantId(tenantId)
                         .registrationType(request.registrationType())
                         .adminUserId(user.getId())
@@ -300,7 +320,7 @@ public class SignUpUseCase {
         try {
             UserSessionModel session = userSessionGateway.create(
                     UserSessionModel.builder()
-                            .id(UUID.randomUUID())
+                            .id(UuidV7.next())
                             .tenantId(tenantId)
                             .userId(user.getId())
                             .ipAddress(null) // Ideally passed from controller
@@ -331,7 +351,7 @@ public class SignUpUseCase {
 
         refreshTokenGateway.create(
                 RefreshTokenModel.builder()
-                        .id(UUID.randomUUID())
+                        .id(UuidV7.next())
                         .userId(user.getId())
                         .sessionId(session.getId())
                         .tokenHash(tokenHash)
@@ -0,0 +1,129 @@
+package com.kompu.api.usecase.export;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.UUID;
+
+import com.kompu.api.entity.export.exception.ExportJobNotFoundException;
+import com.kompu.api.entity.export.exception.InvalidExportRequestException;
+import com.kompu.api.entity.export.gateway.DataExportGateway;
+import com.kompu.api.entity.export.gateway.ExportJobGateway;
+import com.kompu.api.entity.export.model.ExportDataset;
+import com.kompu.api.entity.export.model.ExportFormat;
+import com.kompu.api.entity.export.model.ExportJobModel;
+import com.kompu.api.entity.export.model.ExportRequest;
+import com.kompu.api.entity.featureflag.exception.FeatureNotEnabledException;
+import com.kompu.api.entity.featureflag.gateway.FeatureFlagGateway;
+import com.kompu.api.entity.shared.gateway.FileStorageGateway;
+
+/**
+ * ExportDataUseCase - Bulk export of a tenant's members, products, orders or
+ * suppliers.
+ * 
+ * Small exports are streamed in the response; up to {@code syncMaxRows}
+ * rows are allowed there, larger ones must be submitted as a job, written in
+ * the background to file storage and downloaded when done. Requests are
+ * checked, including the row count, before anything is streamed.
+ */
+public class ExportDataUseCase {
+
+    public static final String FEATURE_KEY = "bulk_export.enabled";
+
+    private final FeatureFlagGateway featureFlagGateway;
+    private final DataExportGateway dataExportGateway;
+    private final ExportJobGateway exportJobGateway;
+    private final FileStorageGateway fileStorageGateway;
+    private final long syncMaxRows;
+
+    public ExportDataUseCase(FeatureFlagGateway featureFlagGateway, DataExportGateway dataExportGateway,
+            ExportJobGateway exportJobGateway, FileStorageGateway fileStorageGateway, long syncMaxRows) {
+        this.featureFlagGateway = featureFlagGateway;
+        this.dataExportGateway = dataExportGateway;
+        this.exportJobGateway = exportJobGateway;
+        this.fileStorageGateway = fileStorageGateway;
+        this.syncMaxRows = syncMaxRows;
+    }
+
+    /**
+     * @throws InvalidExportRequestException when the tenant is missing or the
+     *                                       data set or format is unknown
+     * @throws FeatureNotEnabledException    when bulk export is not enabled
+     *                                       for the tenant
+     */
+    public ExportRequest request(UUID tenantId, String dataset, String format, boolean gzip) {
+        if (tenantId == null) {
+            throw new InvalidExportRequestException("A tenantId is required");
+        }
+        ExportDataset exportDataset = ExportDataset.fromSlug(dataset)
+                .orElseThrow(() -> new InvalidExportRequestException("Unknown data set '" + dataset
+                        + "', expected members, products, orders or suppliers"));
+        ExportFormat exportFormat = format == null || format.isBlank() ? ExportFormat.CSV
+                : ExportFormat.fromExtension(format)
+                        .orElseThrow(() -> new InvalidExportRequestException("Unknown format '" + format
+                                + "', expected csv, ndjson or xlsx"));
+        if (!featureFlagGateway.isFeatureEnabled(tenantId, FEATURE_KEY)) {
+            throw new FeatureNotEnabledException(FEATURE_KEY);
+        }
+        return new ExportRequest(tenantId, exportDataset, exportFormat, gzip);
+    }
+
+    /**
+     * Checks for an export streamed in the response
+     *
+     * @throws InvalidExportRequestException when the export has more rows
+     *                                       than a synchronous export allows
+     */
+    public ExportRequest validateSync(ExportRequest request) {
+        long rows = checkSize(request);
+        if (rows > syncMaxRows) {
+            throw new InvalidExportRequestException("This export has " + rows + " rows, more than the "
+                    + syncMaxRows + " allowed in one request; submit an export job instead");
+        }
+        return request;
+    }
+
+    /**
+     * Write the export to {@code output}; call {@link #validateSync} first
+     *
+     * @return number of rows written
+     */
+    public long export(ExportRequest request, OutputStream output) {
+        return dataExportGateway.export(request, output);
+    }
+
+    public ExportJobModel submit(ExportRequest request) {
+        checkSize(request);
+        return exportJobGateway.submit(request);
+    }
+
+    /**
+     * @throws ExportJobNotFoundException when the job does not exist for the
+     *                                    tenant
+     */
+    public ExportJobModel findJob(UUID tenantId, UUID jobId) {
+        return exportJobGateway.findById(jobId)
+                .filter(job -> job.getTenantId().equals(tenantId))
+                .orElseThrow(() -> new ExportJobNotFoundException("Export job " + jobId + " not found"));
+    }
+
+    /**
+     * @throws ExportJobNotFoundException when the job does not exist for the
+     *                                    tenant or has not finished
+     */
+    public InputStream openResult(ExportJobModel job) {
+        if (!job.isDone() || job.getFilePath() == null) {
+            throw new ExportJobNotFoundException("Export job " + job.getId() + " has no file yet, status "
+                    + job.getStatus());
+        }
+        return fileStorageGateway.openFile(job.getFilePath());
+    }
+
+    private long checkSize(ExportRequest request) {
+        long rows = dataExportGateway.count(request);
+        if (request.format() == ExportFormat.XLSX && rows > ExportFormat.XLSX_MAX_ROWS) {
+            throw new InvalidExportRequestException("This export has " + rows + " rows, more than an XLSX sheet"
+                    + " holds; use csv or ndjson");
+        }
+        return rows;
+    }
+}
@@ -3,20 +3,27 @@ package com.kompu.api.usecase.featureflag;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+import com.kompu.api.entity.appconfig.gateway.AppConfigGateway;
+
 import com.kompu.api.entity.featureflag.model.FeatureFlagModel;
+import com.kompu.api.entity.featureflag.model.FeatureFlagTemplateModel;
 import com.kompu.api.entity.featureflag.gateway.FeatureFlagGateway;
+import com.kompu.api.entity.featureflag.gateway.FeatureFlagTemplateGateway;
+import com.kompu.api.entity.shared.util.UuidV7;
 
 /**
  * InitializeFeatureFlagsUseCase orchestrates the initialization of feature
  * flags for a new tenant.
  * 
  * This use case handles:
- * 1. Creating default feature flags for a tenant
+ * 1. Creating default feature flags for a tenant from plan-driven templates
  * 2. Copying global flags as tenant overrides (optional)
- * 3. Setting initial enabled/disabled states
- * 4. Persisting all flags via the gateway
+ * 3. Re-applying templates on plan changes and backfilling new template
+ * versions to existing tenants
+ * 4. Persisting all flags via the gateway in one statement per tenant
  * 
  * Responsibilities:
  * - Initialize standard feature flags (payments, reporting, etc.)
@@ -28,66 +35,126 @@ import com.kompu.api.entity.featureflag.gateway.FeatureFlagGateway;
  */
 public class InitializeFeatureFlagsUseCase {
 
+    /**
+     * app_config key holding the template version every tenant has been
+     * backfilled to
+     */
+    public static final String TEMPLATE_VERSION_KEY = "feature_flags.template_version";
+
     private final FeatureFlagGateway featureFlagGateway;
+    private final FeatureFlagTemplateGateway featureFlagTemplateGateway;
+    private final AppConfigGateway appConfigGateway;
 
     /**
      * Constructor with gateway dependency injection
      * 
-     * @param featureFlagGateway the gateway for feature flag persistence
+     * @param featureFlagGateway         the gateway for feature flag persistence
+     * @param featureFlagTemplateGateway the gateway for plan-driven flag
+     *                                   templates
+     * @param appConfigGateway           the gateway recording the applied
+     *                                   template version
      */
-    public InitializeFeatureFlagsUseCase(FeatureFlagGateway featureFlagGateway) {
+    public InitializeFeatureFlagsUseCase(
+            FeatureFlagGateway featureFlagGateway,
+            FeatureFlagTemplateGateway featureFlagTemplateGateway,
+            AppConfigGateway appConfigGateway) {
         this.featureFlagGateway = featureFlagGateway;
+        this.featureFlagTemplateGateway = featureFlagTemplateGateway;
+        this.appConfigGateway = appConfigGateway;
     }
 
     /**
-     * Initialize default feature flags for a new tenant.
-     * 
-     * Creates standard feature flags with default configurations:
-     * - Core features enabled (dashboard, basic reporting)
-     * - Premium features disabled (advanced analytics, custom integrations)
-     * - Payment processing enabled
+     * Initialize default feature flags for a new tenant using the base
+     * templates only (no subscription plan).
      * 
      * @param tenantId the tenant ID
      * @return list of created feature flags
      */
     public List<FeatureFlagModel> initializeTenantFlags(UUID tenantId) {
-        List<FeatureFlagModel> flags = new ArrayList<>();
-
-        // Core features (enabled by default)
-        flags.add(createFlag(tenantId, "dashboard.enabled", "true", true));
-        flags.add(createFlag(tenantId, "basic_reporting.enabled", "true", true));
-        flags.add(createFlag(tenantId, "user_management.enabled", "true", true));
-        flags.add(createFlag(tenantId, "member_management.enabled", "true", true));
-
-        // Payment features (enabled by default)
-        flags.add(createFlag(tenantId, "payments.enabled", "true", true));
-        flags.add(createFlag(tenantId, "online_payments.enabled", "false", false));
-
-        // Business features (enabled by default)
-        flags.add(createFlag(tenantId, "inventory_management.enabled", "true", true));
-        flags.add(createFlag(tenantId, "order_management.enabled", "true", true));
-
-        // Advanced features (disabled by default)
-        flags.add(createFlag(tenantId, "advanced_analytics.enabled", "false", false));
-        flags.add(createFlag(tenantId, "api_access.enabled", "false", false));
-        flags.add(createFlag(tenantId, "webhook_integration.enabled", "false", false));
-
-        // Financial features (disabled by default)
-        flags.add(createFlag(tenantId, "savings_products.enabled", "false", false));
-        flags.add(createFlag(tenantId, "loan_products.enabled", "false", false));
-
-        // Bulk operations (disabled by default - requires approval)
-        flags.add(createFlag(tenantId, "bulk_import.enabled", "false", false));
-        flags.add(createFlag(tenantId, "bulk_export.enabled", "true", true));
-
-        // Persist all flags
-        for (FeatureFlagModel flag : flags) {
-            featureFlagGateway.create(flag);
-        }
+        return initializeTenantFlags(tenantId, null);
+    }
+
+    /**
+     * Initialize default feature flags for a new tenant from the templates of
+     * its subscription plan.
+     * 
+     * The effective templates (base templates overridden by plan templates,
+     * feature-bound templates resolved against the plan features) are
+     * persisted with a single multi-row insert.
+     * 
+     * @param tenantId the tenant ID
+     * @param planId   the subscription plan ID, or null for base templates only
+     * @return list of created feature flags
+     */
+    public List<FeatureFlagModel> initializeTenantFlags(UUID tenantId, UUID planId) {
+        List<FeatureFlagModel> flags = buildFlagsFromTemplates(tenantId, planId);
+        featureFlagGateway.createAll(flags);
+        return flags;
+    }
 
+    /**
+     * Re-apply plan templates after a subscription plan change.
+     * 
+     * Template-managed flags are overwritten with the new plan defaults in one
+     * multi-row upsert; flags not covered by a template are left untouched.
+     * 
+     * @param tenantId  the tenant ID
+     * @param newPlanId the plan the tenant moved to
+     * @return list of flags written for the tenant
+     */
+    public List<FeatureFlagModel> applyPlanTemplates(UUID tenantId, UUID newPlanId) {
+        List<FeatureFlagModel> flags = buildFlagsFromTemplates(tenantId, newPlanId);
+        featureFlagGateway.upsertAll(flags);
         return flags;
     }
 
+    /**
+     * Backfill existing tenants with templates introduced after the given
+     * version. Runs as a single statement across all subscribed tenants and
+     * never overwrites flags that already exist; a changed default on an
+     * existing template reaches a tenant through applyPlanTemplates on its next
+     * plan change.
+     * 
+     * @param sinceVersion the template version tenants are already on
+     * @return number of flags inserted
+     */
+    public int backfillTenantFlags(int sinceVersion) {
+        return featureFlagGateway.backfillFromTemplates(sinceVersion);
+    }
+
+    /**
+     * Backfill existing tenants with every template newer than the recorded
+     * template version, then record the latest version.
+     * 
+     * A failure between the backfill and the record only repeats the backfill
+     * next time, which skips flags that already exist.
+     * 
+     * @return number of flags inserted, 0 when the templates did not change
+     */
+    public int backfillPendingTemplates() {
+        int latest = featureFlagTemplateGateway.findLatestVersion();
+        int applied = appConfigGateway.findByConfigKey(TEMPLATE_VERSION_KEY)
+                .map(config -> Integer.parseInt(config.getConfigValue().trim()))
+                .orElse(0);
+        if (latest <= applied) {
+            return 0;
+        }
+
+        int inserted = backfillTenantFlags(applied);
+        appConfigGateway.saveValue(TEMPLATE_VERSION_KEY, String.valueOf(latest),
+                "Feature flag template version every tenant has been backfilled to");
+        return inserted;
+    }
+
+    /**
+     * Latest template version, to be recorded after a successful backfill.
+     * 
+     * @return the highest template version defined
+     */
+    public int getLatestTemplateVersion() {
+        return featureFlagTemplateGateway.findLatestVersion();
+    }
+
     /**
      * Initialize feature flags with a specific configuration.
      * 
@@ -97,17 +164,16 @@ public class InitializeFeatureFlagsUseCase {
      */
     public List<FeatureFlagModel> initializeTenantFlagsWithConfig(
             UUID tenantId,
-            java.util.Map<String, Boolean> flagConfigurations) {
+            Map<String, Boolean> flagConfigurations) {
 
-        List<FeatureFlagModel> flags = new ArrayList<>();
+        List<FeatureFlagModel> flags = new ArrayList<>(flagConfigurations.size());
 
-        for (String key : flagConfigurations.keySet()) {
-            boolean enabled = flagConfigurations.get(key);
-            FeatureFlagModel flag = createFlag(tenantId, key, String.valueOf(enabled), enabled);
-            flags.add(flag);
-            featureFlagGateway.create(flag);
+        for (Map.Entry<String, Boolean> entry : flagConfigurations.entrySet()) {
+            boolean enabled = entry.getValue();
+            flags.add(createFlag(tenantId, entry.getKey(), String.valueOf(enabled), enabled));
         }
 
+        featureFlagGateway.createAll(flags);
         return flags;
     }
 
@@ -171,6 +237,24 @@ public class InitializeFeatureFlagsUseCase {
         return featureFlagGateway.create(createFlag(tenantId, key, "false", false));
     }
 
+    /**
+     * Helper method to turn the effective templates of a plan into tenant flags
+     * 
+     * @param tenantId the tenant ID
+     * @param planId   the subscription plan ID (nullable)
+     * @return list of flag models ready to persist
+     */
+    private List<FeatureFlagModel> buildFlagsFromTemplates(UUID tenantId, UUID planId) {
+        List<FeatureFlagTemplateModel> templates = featureFlagTemplateGateway.findEffectiveByPlanId(planId);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<FeatureFlagModel> flags = new ArrayList<>(templates.size());
+        for (FeatureFlagTemplateModel template : templates) {
+            flags.add(template.toTenantFlag(tenantId, UuidV7.next(), now));
+        }
+        return flags;
+    }
+
     /**
      * Helper method to create a feature flag model
      * 
@@ -182,7 +266,7 @@ public class InitializeFeatureFlagsUseCase {
      */
     private FeatureFlagModel createFlag(UUID tenantId, String key, String value, boolean enabled) {
         return FeatureFlagModel.builder()
-                .id(UUID.randomUUID())
+                .id(UuidV7.next())
                 .tenantId(tenantId)
                 .key(key)
                 .value(value)
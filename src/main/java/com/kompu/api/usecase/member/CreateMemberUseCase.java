@@ -2,10 +2,18 @@ package com.kompu.api.usecase.member;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
+import org.springframework.transaction.support.TransactionOperations;
+
 import com.kompu.api.entity.member.gateway.MemberGateway;
 import com.kompu.api.entity.member.model.MemberModel;
+import com.kompu.api.entity.shared.gateway.OutboxGateway;
+import com.kompu.api.entity.shared.model.DomainEvent;
+import com.kompu.api.entity.shared.util.UuidV7;
+import com.kompu.api.entity.system.annotation.Auditable;
 
 /**
  * CreateMemberUseCase orchestrates the creation of member records within a
@@ -15,7 +23,8 @@ import com.kompu.api.entity.member.model.MemberModel;
  * 1. Member model creation with validation
  * 2. Generation of unique member code
  * 3. Linking to a user account (optional)
- * 4. Persisting the member via the gateway
+ * 4. Persisting the member and its member.created outbox event in one
+ * transaction
  * 
  * Responsibilities:
  * - Validate member data (name, email, phone)
@@ -24,19 +33,29 @@ import com.kompu.api.entity.member.model.MemberModel;
  * - Prevent duplicate member codes within tenant
  * - Link to user account if provided
  * 
- * This class is completely framework-agnostic and contains pure business logic.
+ * The transaction comes from the TransactionOperations it is built with, so
+ * the member insert and the outbox event commit or roll back together
+ * whoever calls it.
  */
 public class CreateMemberUseCase {
 
     private final MemberGateway memberGateway;
+    private final OutboxGateway outboxGateway;
+    private final TransactionOperations transaction;
 
     /**
      * Constructor with gateway dependency injection
      * 
      * @param memberGateway the gateway for member persistence
+     * @param outboxGateway the outbox for the member.created event
+     * @param transaction   the transaction the member and the event are written
+     *                      in; joins the caller's transaction when there is one
      */
-    public CreateMemberUseCase(MemberGateway memberGateway) {
+    public CreateMemberUseCase(MemberGateway memberGateway, OutboxGateway outboxGateway,
+            TransactionOperations transaction) {
         this.memberGateway = memberGateway;
+        this.outboxGateway = outboxGateway;
+        this.transaction = transaction;
     }
 
     /**
@@ -49,6 +68,7 @@ public class CreateMemberUseCase {
      * @return the created member with ID and generated code assigned
      * @throws IllegalArgumentException if required fields are invalid
      */
+    @Auditable(action = "member.created", resourceType = "member")
     public MemberModel createMember(
             UUID tenantId,
             String fullName,
@@ -68,6 +88,7 @@ public class CreateMemberUseCase {
      * @return the created member with ID and generated code assigned
      * @throws IllegalArgumentException if required fields are invalid
      */
+    @Auditable(action = "member.created", resourceType = "member")
     public MemberModel createMemberWithUserId(
             UUID tenantId,
             String fullName,
@@ -88,7 +109,7 @@ public class CreateMemberUseCase {
 
         // Build the member model
         MemberModel newMember = MemberModel.builder()
-                .id(UUID.randomUUID())
+                .id(UuidV7.next())
                 .tenantId(tenantId)
                 .memberCode(memberCode)
                 .userId(userId)
@@ -104,8 +125,8 @@ public class CreateMemberUseCase {
                 .updatedBy(userId != null ? userId.toString() : "system")
                 .build();
 
-        // Persist via gateway
-        return memberGateway.create(newMember);
+        // Persist via gateway and queue the side effects atomically
+        return transaction.execute(status -> publishCreated(memberGateway.create(newMember)));
     }
 
     /**
@@ -121,6 +142,7 @@ public class CreateMemberUseCase {
      * @return the created member with all details set
      * @throws IllegalArgumentException if required fields are invalid
      */
+    @Auditable(action = "member.created", resourceType = "member")
     public MemberModel createMemberFull(
             UUID tenantId,
             String fullName,
@@ -146,7 +168,7 @@ public class CreateMemberUseCase {
 
         // Build the member model with all details
         MemberModel newMember = MemberModel.builder()
-                .id(UUID.randomUUID())
+                .id(UuidV7.next())
                 .tenantId(tenantId)
                 .memberCode(memberCode)
                 .userId(userId)
@@ -163,8 +185,18 @@ public class CreateMemberUseCase {
                 .updatedBy(userId != null ? userId.toString() : "system")
                 .build();
 
-        // Persist via gateway
-        return memberGateway.create(newMember);
+        // Persist via gateway and queue the side effects atomically
+        return transaction.execute(status -> publishCreated(memberGateway.create(newMember)));
+    }
+
+    private MemberModel publishCreated(MemberModel member) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("memberCode", member.getMemberCode());
+        payload.put("userId", member.getUserId() != null ? member.getUserId().toString() : null);
+        payload.put("email", member.getEmail());
+        outboxGateway.publish(
+                DomainEvent.of("member.created", "member", member.getId(), member.getTenantId(), payload));
+        return member;
     }
 
     /**
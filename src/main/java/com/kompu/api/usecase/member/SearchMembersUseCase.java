@@ -0,0 +1,51 @@
+package com.kompu.api.usecase.member;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import com.kompu.api.entity.member.gateway.MemberGateway;
+import com.kompu.api.entity.member.model.MemberSummary;
+import com.kompu.api.entity.shared.exception.InvalidSearchQueryException;
+
+/**
+ * SearchMembersUseCase - Typo-tolerant member lookup by name, member code,
+ * phone or email.
+ * 
+ * Queries shorter than the minimum length are rejected: they carry too few
+ * trigrams to narrow the index and would match most of the tenant.
+ */
+public class SearchMembersUseCase {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_TEXT_LENGTH = 200;
+
+    private final MemberGateway memberGateway;
+    private final int minQueryLength;
+    private final int maxResults;
+
+    public SearchMembersUseCase(MemberGateway memberGateway, int minQueryLength, int maxResults) {
+        this.memberGateway = memberGateway;
+        this.minQueryLength = minQueryLength;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * @throws InvalidSearchQueryException when the tenant is missing or the
+     *                                     query is too short or too long
+     */
+    public List<MemberSummary> search(UUID tenantId, String text, Integer limit) {
+        if (tenantId == null) {
+            throw new InvalidSearchQueryException("A tenantId is required");
+        }
+        String query = text == null ? "" : text.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        if (query.length() < minQueryLength) {
+            throw new InvalidSearchQueryException("Search text needs at least " + minQueryLength + " characters");
+        }
+        if (query.length() > MAX_TEXT_LENGTH) {
+            throw new InvalidSearchQueryException("Search text is limited to " + MAX_TEXT_LENGTH + " characters");
+        }
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, maxResults));
+        return memberGateway.searchFuzzy(tenantId, query, size);
+    }
+}
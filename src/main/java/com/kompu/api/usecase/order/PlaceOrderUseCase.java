@@ -0,0 +1,261 @@
+package com.kompu.api.usecase.order;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.kompu.api.entity.member.gateway.MemberGateway;
+import com.kompu.api.entity.member.model.MemberModel;
+import com.kompu.api.entity.order.exception.InvalidOrderException;
+import com.kompu.api.entity.order.gateway.OrderNumberGateway;
+import com.kompu.api.entity.order.gateway.OrderPlacementGateway;
+import com.kompu.api.entity.order.model.OrderItemModel;
+import com.kompu.api.entity.order.model.OrderLine;
+import com.kompu.api.entity.order.model.OrderModel;
+import com.kompu.api.entity.order.model.OrderPlacement;
+import com.kompu.api.entity.order.model.PlacedOrder;
+import com.kompu.api.entity.payment.model.PaymentModel;
+import com.kompu.api.entity.product.gateway.ProductCatalogGateway;
+import com.kompu.api.entity.product.model.ProductModel;
+import com.kompu.api.entity.product.model.StockLine;
+import com.kompu.api.entity.shared.model.DomainEvent;
+import com.kompu.api.entity.shared.util.UuidV7;
+
+/**
+ * PlaceOrderUseCase - Places a sales order, e.g. from a POS checkout.
+ *
+ * Everything that can be decided without locks happens first: lines are
+ * merged and priced from the cached catalog and the order number comes from
+ * a block reserved in advance. Only then is one short transaction opened to
+ * reserve the stock, insert the order, items and pending payment, and queue
+ * the order.placed event. Receipts, documents and notifications hang off that
+ * event and never hold up the checkout.
+ */
+public class PlaceOrderUseCase {
+
+    public static final String EVENT_TYPE = "order.placed";
+
+    private final ProductCatalogGateway productCatalogGateway;
+    private final MemberGateway memberGateway;
+    private final OrderNumberGateway orderNumberGateway;
+    private final OrderPlacementGateway orderPlacementGateway;
+    private final ObjectMapper objectMapper;
+    private final int maxLines;
+    private final String defaultCurrency;
+    private final Set<String> currencies;
+    private final Set<String> paymentProviders;
+
+    /**
+     * @param currencies       accepted currency codes, the default among
+     *                         them
+     * @param paymentProviders accepted payment providers
+     */
+    public PlaceOrderUseCase(ProductCatalogGateway productCatalogGateway, MemberGateway memberGateway,
+            OrderNumberGateway orderNumberGateway, OrderPlacementGateway orderPlacementGateway,
+            ObjectMapper objectMapper, int maxLines, String defaultCurrency, Set<String> currencies,
+            Set<String> paymentProviders) {
+        this.productCatalogGateway = productCatalogGateway;
+        this.memberGateway = memberGateway;
+        this.orderNumberGateway = orderNumberGateway;
+        this.orderPlacementGateway = orderPlacementGateway;
+        this.objectMapper = objectMapper;
+        this.maxLines = maxLines;
+        this.defaultCurrency = defaultCurrency.trim().toUpperCase(Locale.ROOT);
+        this.currencies = currencies.stream()
+                .map(code -> code.trim().toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        this.paymentProviders = paymentProviders.stream()
+                .map(provider -> provider.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        if (!this.currencies.contains(this.defaultCurrency)) {
+            throw new IllegalArgumentException("Default currency " + this.defaultCurrency
+                    + " is not among the supported currencies " + this.currencies);
+        }
+    }
+
+    /**
+     * @param buyerId         member buying, or null for a walk-in sale
+     * @param currency        order currency, or null for the default
+     * @param paymentProvider how the pending payment will be settled, e.g.
+     *                        cash or qris
+     * @throws InvalidOrderException when the currency or payment provider is
+     *                               not supported, or a line is invalid or
+     *                               names an unknown, inactive or unpriced
+     *                               product
+     * @throws com.kompu.api.entity.product.exception.InsufficientStockException
+     *         when the stock for a line is not there; nothing is written then
+     */
+    public PlacedOrder place(UUID tenantId, UUID buyerId, String currency, String paymentProvider,
+            List<OrderLine> lines) {
+        if (tenantId == null) {
+            throw new InvalidOrderException("A tenantId is required");
+        }
+        String orderCurrency = currency(currency);
+        String provider = paymentProvider(paymentProvider);
+        List<OrderLine> merged = merge(lines);
+        Map<UUID, ProductModel> products = productCatalogGateway.findByIds(tenantId,
+                merged.stream().map(OrderLine::productId).distinct().toList());
+        String buyerSnapshot = buyerSnapshot(tenantId, buyerId);
+
+        UUID orderId = UuidV7.next();
+        List<OrderItemModel> items = new ArrayList<>(merged.size());
+        List<StockLine> stock = new ArrayList<>(merged.size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderLine line : merged) {
+            ProductModel product = sellable(products.get(line.productId()), line.productId());
+            items.add(OrderItemModel.builder()
+                    .id(UuidV7.next())
+                    .orderId(orderId)
+                    .productId(product.getId())
+                    .productSnapshot(productSnapshot(product, line.location()))
+                    .quantity(line.quantity())
+                    .unitPrice(product.getPrice())
+                    .build());
+            stock.add(new StockLine(product.getId(), line.location(), line.quantity()));
+            total = total.add(product.getPrice().multiply(BigDecimal.valueOf(line.quantity())));
+        }
+
+        OrderModel order = OrderModel.builder()
+                .id(orderId)
+                .tenantId(tenantId)
+                .orderNumber(orderNumberGateway.next(tenantId))
+                .orderType("sales")
+                .buyerId(buyerId)
+                .buyerSnapshot(buyerSnapshot)
+                .status(OrderModel.STATUS_CREATED)
+                .totalAmount(total)
+                .currency(orderCurrency)
+                .metadata("{}")
+                .build();
+        PaymentModel payment = PaymentModel.builder()
+                .id(UuidV7.next())
+                .tenantId(tenantId)
+                .orderId(orderId)
+                .paymentProvider(provider)
+                .amount(total)
+                .currency(orderCurrency)
+                .status("pending")
+                .build();
+
+        orderPlacementGateway.place(new OrderPlacement(order, items, payment, stock, placedEvent(order, items)));
+        return new PlacedOrder(order, List.copyOf(items), payment);
+    }
+
+    private String currency(String currency) {
+        if (currency == null || currency.isBlank()) {
+            return defaultCurrency;
+        }
+        String code = currency.trim().toUpperCase(Locale.ROOT);
+        if (!currencies.contains(code)) {
+            throw new InvalidOrderException("Currency " + code + " is not supported, expected one of "
+                    + currencies.stream().sorted().toList());
+        }
+        return code;
+    }
+
+    private String paymentProvider(String paymentProvider) {
+        if (paymentProvider == null || paymentProvider.isBlank()) {
+            throw new InvalidOrderException("A paymentProvider is required");
+        }
+        String provider = paymentProvider.trim().toLowerCase(Locale.ROOT);
+        if (!paymentProviders.contains(provider)) {
+            throw new InvalidOrderException("Payment provider " + provider + " is not supported, expected one of "
+                    + paymentProviders.stream().sorted().toList());
+        }
+        return provider;
+    }
+
+    // One line per product and location, in first-seen order
+    private List<OrderLine> merge(List<OrderLine> lines) {
+        if (lines == null || lines.isEmpty()) {
+            throw new InvalidOrderException("An order needs at least one line");
+        }
+        if (lines.size() > maxLines) {
+            throw new InvalidOrderException("An order is limited to " + maxLines + " lines");
+        }
+        Map<LineKey, OrderLine> merged = new LinkedHashMap<>();
+        for (OrderLine line : lines) {
+            if (line == null || line.productId() == null) {
+                throw new InvalidOrderException("Every line needs a productId");
+            }
+            if (line.quantity() <= 0) {
+                throw new InvalidOrderException("Quantity must be positive for product " + line.productId());
+            }
+            merged.merge(new LineKey(line.productId(), line.location()), line,
+                    (left, right) -> new OrderLine(left.productId(), left.location(),
+                            Math.addExact(left.quantity(), right.quantity())));
+        }
+        return List.copyOf(merged.values());
+    }
+
+    private static ProductModel sellable(ProductModel product, UUID productId) {
+        if (product == null || product.getDeletedAt() != null) {
+            throw new InvalidOrderException("Unknown product " + productId);
+        }
+        if (!Boolean.TRUE.equals(product.getIsActive())) {
+            throw new InvalidOrderException("Product " + product.getSku() + " is not for sale");
+        }
+        if (product.getPrice() == null) {
+            throw new InvalidOrderException("Product " + product.getSku() + " has no price");
+        }
+        return product;
+    }
+
+    private String buyerSnapshot(UUID tenantId, UUID buyerId) {
+        if (buyerId == null) {
+            return null;
+        }
+        MemberModel buyer = memberGateway.findById(buyerId)
+                .filter(member -> Objects.equals(member.getTenantId(), tenantId))
+                .orElseThrow(() -> new InvalidOrderException("Unknown buyer " + buyerId));
+        ObjectNode snapshot = objectMapper.createObjectNode();
+        snapshot.put("memberCode", buyer.getMemberCode());
+        snapshot.put("fullName", buyer.getFullName());
+        snapshot.put("phone", buyer.getPhone());
+        return write(snapshot);
+    }
+
+    // Kept on the item so later price or name changes do not rewrite history
+    private String productSnapshot(ProductModel product, String location) {
+        ObjectNode snapshot = objectMapper.createObjectNode();
+        snapshot.put("sku", product.getSku());
+        snapshot.put("name", product.getName());
+        snapshot.put("price", product.getPrice());
+        if (location != null) {
+            snapshot.put("location", location);
+        }
+        return write(snapshot);
+    }
+
+    private static DomainEvent placedEvent(OrderModel order, List<OrderItemModel> items) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("orderNumber", order.getOrderNumber());
+        payload.put("buyerId", order.getBuyerId() != null ? order.getBuyerId().toString() : null);
+        payload.put("totalAmount", order.getTotalAmount().toPlainString());
+        payload.put("currency", order.getCurrency());
+        payload.put("itemCount", items.size());
+        return DomainEvent.of(EVENT_TYPE, "order", order.getId(), order.getTenantId(), payload);
+    }
+
+    private String write(ObjectNode node) {
+        try {
+            return objectMapper.writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize order snapshot", e);
+        }
+    }
+
+    private record LineKey(UUID productId, String location) {
+    }
+}
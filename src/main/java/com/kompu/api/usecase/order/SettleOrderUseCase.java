@@ -0,0 +1,64 @@
+package com.kompu.api.usecase.order;
+
+import java.util.UUID;
+
+import com.kompu.api.entity.order.exception.InvalidOrderException;
+import com.kompu.api.entity.order.exception.OrderNotFoundException;
+import com.kompu.api.entity.order.exception.OrderStatusConflictException;
+import com.kompu.api.entity.order.gateway.OrderSettlementGateway;
+import com.kompu.api.entity.order.model.OrderModel;
+import com.kompu.api.entity.order.model.SettledOrder;
+
+/**
+ * SettleOrderUseCase - Ends the stock hold of a placed order.
+ *
+ * Placing an order reserves its stock. Paying takes those units out of
+ * stock; cancelling gives them back, as the unpaid order expiry job does for
+ * orders nobody paid in time. Each change happens at most once: repeating it
+ * returns the order unchanged, and any other change on a settled order is a
+ * conflict.
+ */
+public class SettleOrderUseCase {
+
+    private final OrderSettlementGateway orderSettlementGateway;
+
+    public SettleOrderUseCase(OrderSettlementGateway orderSettlementGateway) {
+        this.orderSettlementGateway = orderSettlementGateway;
+    }
+
+    /**
+     * @param providerReference the payment provider's reference, or null
+     * @throws OrderNotFoundException        when the tenant has no such order
+     * @throws OrderStatusConflictException  when the order was cancelled or
+     *                                       expired
+     * @throws com.kompu.api.entity.product.exception.InsufficientStockException
+     *         when the on-hand stock no longer covers the order
+     */
+    public SettledOrder pay(UUID tenantId, UUID orderId, String providerReference) {
+        return settle(tenantId, orderId, OrderModel.STATUS_PAID,
+                providerReference != null && !providerReference.isBlank() ? providerReference.trim() : null);
+    }
+
+    /**
+     * @throws OrderNotFoundException       when the tenant has no such order
+     * @throws OrderStatusConflictException when the order was paid or expired
+     */
+    public SettledOrder cancel(UUID tenantId, UUID orderId) {
+        return settle(tenantId, orderId, OrderModel.STATUS_CANCELLED, null);
+    }
+
+    private SettledOrder settle(UUID tenantId, UUID orderId, String status, String providerReference) {
+        if (tenantId == null || orderId == null) {
+            throw new InvalidOrderException("A tenantId and an order id are required");
+        }
+        String previous = orderSettlementGateway.settle(tenantId, orderId, status, providerReference)
+                .orElseThrow(() -> new OrderNotFoundException("Order " + orderId + " not found"));
+        if (OrderModel.STATUS_CREATED.equals(previous)) {
+            return new SettledOrder(orderId, status, true);
+        }
+        if (status.equals(previous)) {
+            return new SettledOrder(orderId, status, false);
+        }
+        throw new OrderStatusConflictException("Order " + orderId + " is already " + previous);
+    }
+}
@@ -0,0 +1,62 @@
+package com.kompu.api.usecase.product;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.kompu.api.entity.product.exception.ProductCategoryNotFoundException;
+import com.kompu.api.entity.product.gateway.ProductCategoryGateway;
+import com.kompu.api.entity.product.gateway.ProductGateway;
+import com.kompu.api.entity.product.model.CategoryNode;
+import com.kompu.api.entity.product.model.CategoryTree;
+import com.kompu.api.entity.product.model.ProductCategoryModel;
+import com.kompu.api.entity.product.model.ProductSummary;
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
+
+/**
+ * BrowseCategoriesUseCase - Category navigation for the catalog.
+ * 
+ * The hierarchy is answered from the in-memory category tree; listing the
+ * products of a category includes every subcategory and costs one query.
+ */
+public class BrowseCategoriesUseCase {
+
+    private final ProductCategoryGateway productCategoryGateway;
+    private final ProductGateway productGateway;
+
+    public BrowseCategoriesUseCase(ProductCategoryGateway productCategoryGateway, ProductGateway productGateway) {
+        this.productCategoryGateway = productCategoryGateway;
+        this.productGateway = productGateway;
+    }
+
+    public List<CategoryNode> tree(UUID tenantId) {
+        return productCategoryGateway.tree(tenantId).toNodes();
+    }
+
+    /**
+     * Root first, ending with the category
+     *
+     * @throws ProductCategoryNotFoundException when the category is not one
+     *                                          of the tenant's live categories
+     */
+    public List<ProductCategoryModel> path(UUID tenantId, UUID categoryId) {
+        return requireCategory(tenantId, categoryId).path(categoryId);
+    }
+
+    /**
+     * @throws ProductCategoryNotFoundException when the category is not one
+     *                                          of the tenant's live categories
+     */
+    public CursorPage<ProductSummary> products(UUID tenantId, UUID categoryId, CursorPageRequest request) {
+        requireCategory(tenantId, categoryId);
+        return productGateway.findSummaryPageByCategorySubtree(tenantId, categoryId, request);
+    }
+
+    private CategoryTree requireCategory(UUID tenantId, UUID categoryId) {
+        CategoryTree tree = productCategoryGateway.tree(tenantId);
+        if (!tree.contains(categoryId)) {
+            throw new ProductCategoryNotFoundException("Category " + categoryId + " not found");
+        }
+        return tree;
+    }
+}
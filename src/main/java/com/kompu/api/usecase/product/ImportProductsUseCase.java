@@ -0,0 +1,320 @@
+package com.kompu.api.usecase.product;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.kompu.api.entity.featureflag.exception.FeatureNotEnabledException;
+import com.kompu.api.entity.featureflag.gateway.FeatureFlagGateway;
+import com.kompu.api.entity.product.exception.InvalidProductImportException;
+import com.kompu.api.entity.product.gateway.ProductCategoryGateway;
+import com.kompu.api.entity.product.gateway.ProductImportGateway;
+import com.kompu.api.entity.product.gateway.ProductSearchGateway;
+import com.kompu.api.entity.product.model.CategoryTree;
+import com.kompu.api.entity.product.model.ProductCategoryModel;
+import com.kompu.api.entity.product.model.ProductImportError;
+import com.kompu.api.entity.product.model.ProductImportResult;
+import com.kompu.api.entity.product.model.ProductImportRow;
+import com.kompu.api.entity.product.model.ProductImportSummary;
+import com.kompu.api.entity.product.model.ProductModel;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ImportProductsUseCase - Bulk create and update of a tenant's catalog from
+ * an uploaded file.
+ * 
+ * Records are pulled from the reader, validated and written in chunks of
+ * {@code chunkSize}, so memory does not grow with the file. Products are
+ * matched on SKU, case-insensitively. An invalid record is reported and
+ * skipped; the rest of its chunk is still written. When a SKU appears twice
+ * in a chunk the later record is applied over the earlier one, the same
+ * result as writing them one after the other. Each chunk commits on its own:
+ * if one fails the import stops there and the earlier chunks stay.
+ */
+@Slf4j
+public class ImportProductsUseCase {
+
+    public static final String FEATURE_KEY = "bulk_import.enabled";
+
+    private static final int MAX_PRICE_INTEGER_DIGITS = 12;
+    private static final int MAX_PRICE_SCALE = 2;
+
+    private final FeatureFlagGateway featureFlagGateway;
+    private final ProductCategoryGateway productCategoryGateway;
+    private final ProductImportGateway productImportGateway;
+    private final ProductSearchGateway productSearchGateway;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public ImportProductsUseCase(FeatureFlagGateway featureFlagGateway,
+            ProductCategoryGateway productCategoryGateway, ProductImportGateway productImportGateway,
+            ProductSearchGateway productSearchGateway, ObjectMapper objectMapper, int chunkSize) {
+        this.featureFlagGateway = featureFlagGateway;
+        this.productCategoryGateway = productCategoryGateway;
+        this.productImportGateway = productImportGateway;
+        this.productSearchGateway = productSearchGateway;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Checks that can fail the whole request, run before the file is read
+     *
+     * @throws InvalidProductImportException when the tenant is missing
+     * @throws FeatureNotEnabledException    when bulk import is not enabled
+     *                                       for the tenant
+     */
+    public void validate(UUID tenantId) {
+        if (tenantId == null) {
+            throw new InvalidProductImportException("A tenantId is required");
+        }
+        if (!featureFlagGateway.isFeatureEnabled(tenantId, FEATURE_KEY)) {
+            throw new FeatureNotEnabledException(FEATURE_KEY);
+        }
+    }
+
+    /**
+     * Import every record of {@code rows}, reporting each rejected record to
+     * {@code errors} as soon as it is found
+     */
+    public ProductImportSummary importProducts(UUID tenantId, Iterator<ProductImportRow> rows,
+            Consumer<ProductImportError> errors) {
+        validate(tenantId);
+        CategoryTree categories = productCategoryGateway.tree(tenantId);
+        Map<String, Staged> chunk = new LinkedHashMap<>();
+        long read = 0;
+        long failed = 0;
+        long inserted = 0;
+        long updated = 0;
+        boolean aborted = false;
+        try {
+            while (rows.hasNext()) {
+                ProductImportRow row = rows.next();
+                read++;
+                String error = row.error();
+                ProductModel product = null;
+                if (error == null) {
+                    try {
+                        product = toProduct(tenantId, row, categories);
+                    } catch (InvalidProductImportException e) {
+                        error = e.getMessage();
+                    }
+                }
+                if (error != null) {
+                    failed++;
+                    errors.accept(new ProductImportError(row.line(), trimToNull(row.sku()), error));
+                    continue;
+                }
+                chunk.merge(product.getSku().toLowerCase(Locale.ROOT), new Staged(row.line(), row.line(), product),
+                        this::applyOver);
+                if (chunk.size() >= chunkSize) {
+                    ProductImportResult written = write(tenantId, chunk, errors);
+                    if (written == null) {
+                        aborted = true;
+                        break;
+                    }
+                    inserted += written.inserted();
+                    updated += written.updated();
+                }
+            }
+            if (!aborted && !chunk.isEmpty()) {
+                ProductImportResult written = write(tenantId, chunk, errors);
+                if (written == null) {
+                    aborted = true;
+                } else {
+                    inserted += written.inserted();
+                    updated += written.updated();
+                }
+            }
+        } finally {
+            // Chunks already written are committed; index them even when a later row failed the import
+            if (inserted + updated > 0) {
+                productSearchGateway.rebuild(tenantId);
+            }
+        }
+        log.info("Imported products for tenant {}: {} rows, {} inserted, {} updated, {} failed{}", tenantId, read,
+                inserted, updated, failed, aborted ? ", aborted" : "");
+        return new ProductImportSummary(read, inserted, updated, failed, aborted);
+    }
+
+    // Null when the chunk could not be written; that failure is reported as one error
+    private ProductImportResult write(UUID tenantId, Map<String, Staged> chunk, Consumer<ProductImportError> errors) {
+        long first = Long.MAX_VALUE;
+        long last = 0;
+        List<ProductModel> products = new ArrayList<>(chunk.size());
+        for (Staged staged : chunk.values()) {
+            first = Math.min(first, staged.firstLine());
+            last = Math.max(last, staged.lastLine());
+            products.add(staged.product());
+        }
+        chunk.clear();
+        try {
+            return productImportGateway.upsertBySku(tenantId, products);
+        } catch (RuntimeException e) {
+            log.error("Product import chunk failed for tenant {}, lines {}-{}", tenantId, first, last, e);
+            errors.accept(new ProductImportError(first, null, "Lines " + first + "-" + last
+                    + " could not be saved and the import was stopped; later lines were not read"));
+            return null;
+        }
+    }
+
+    // Later record wins field by field; metadata keys are merged
+    private Staged applyOver(Staged earlier, Staged later) {
+        ProductModel before = earlier.product();
+        ProductModel after = later.product();
+        ProductModel merged = ProductModel.builder()
+                .tenantId(after.getTenantId())
+                .sku(after.getSku())
+                .name(after.getName())
+                .description(after.getDescription() != null ? after.getDescription() : before.getDescription())
+                .categoryId(after.getCategoryId() != null ? after.getCategoryId() : before.getCategoryId())
+                .price(after.getPrice())
+                .costPrice(after.getCostPrice() != null ? after.getCostPrice() : before.getCostPrice())
+                .weightGrams(after.getWeightGrams() != null ? after.getWeightGrams() : before.getWeightGrams())
+                .isActive(after.getIsActive() != null ? after.getIsActive() : before.getIsActive())
+                .metadata(mergeMetadata(before.getMetadata(), after.getMetadata()))
+                .build();
+        return new Staged(earlier.firstLine(), later.lastLine(), merged);
+    }
+
+    private static JsonNode mergeMetadata(JsonNode before, JsonNode after) {
+        if (before == null) {
+            return after;
+        }
+        if (after == null) {
+            return before;
+        }
+        ObjectNode merged = ((ObjectNode) before).deepCopy();
+        merged.setAll((ObjectNode) after);
+        return merged;
+    }
+
+    private ProductModel toProduct(UUID tenantId, ProductImportRow row, CategoryTree categories) {
+        String sku = trimToNull(row.sku());
+        if (sku == null) {
+            throw new InvalidProductImportException("sku is required");
+        }
+        String name = trimToNull(row.name());
+        if (name == null) {
+            throw new InvalidProductImportException("name is required");
+        }
+        BigDecimal price = money("price", row.price());
+        if (price == null) {
+            throw new InvalidProductImportException("price is required");
+        }
+        return ProductModel.builder()
+                .tenantId(tenantId)
+                .sku(sku)
+                .name(name)
+                .description(trimToNull(row.description()))
+                .categoryId(category(row.category(), categories))
+                .price(price)
+                .costPrice(money("cost_price", row.costPrice()))
+                .weightGrams(weight(row.weightGrams()))
+                .isActive(active(row.active()))
+                .metadata(metadata(row.metadata()))
+                .build();
+    }
+
+    private static UUID category(String value, CategoryTree categories) {
+        String slug = trimToNull(value);
+        if (slug == null) {
+            return null;
+        }
+        return categories.findBySlug(slug)
+                .map(ProductCategoryModel::getId)
+                .orElseThrow(() -> new InvalidProductImportException("Unknown category '" + slug + "'"));
+    }
+
+    private static BigDecimal money(String column, String value) {
+        String text = trimToNull(value);
+        if (text == null) {
+            return null;
+        }
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            throw new InvalidProductImportException(column + " is not a number: '" + text + "'");
+        }
+        if (amount.signum() < 0) {
+            throw new InvalidProductImportException(column + " must not be negative");
+        }
+        amount = amount.stripTrailingZeros();
+        if (amount.scale() > MAX_PRICE_SCALE) {
+            throw new InvalidProductImportException(column + " has more than " + MAX_PRICE_SCALE + " decimals");
+        }
+        if (amount.precision() - amount.scale() > MAX_PRICE_INTEGER_DIGITS) {
+            throw new InvalidProductImportException(column + " is too large");
+        }
+        return amount;
+    }
+
+    private static Integer weight(String value) {
+        String text = trimToNull(value);
+        if (text == null) {
+            return null;
+        }
+        int grams;
+        try {
+            grams = Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new InvalidProductImportException("weight_grams is not a whole number: '" + text + "'");
+        }
+        if (grams < 0) {
+            throw new InvalidProductImportException("weight_grams must not be negative");
+        }
+        return grams;
+    }
+
+    private static Boolean active(String value) {
+        String text = trimToNull(value);
+        if (text == null) {
+            return null;
+        }
+        return switch (text.toLowerCase(Locale.ROOT)) {
+            case "true", "yes", "1" -> true;
+            case "false", "no", "0" -> false;
+            default -> throw new InvalidProductImportException("active must be true or false: '" + text + "'");
+        };
+    }
+
+    private JsonNode metadata(String value) {
+        String text = trimToNull(value);
+        if (text == null) {
+            return null;
+        }
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (JsonProcessingException e) {
+            throw new InvalidProductImportException("metadata is not valid JSON");
+        }
+        if (node == null || !node.isObject()) {
+            throw new InvalidProductImportException("metadata must be a JSON object");
+        }
+        return node;
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private record Staged(long firstLine, long lastLine, ProductModel product) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.kompu.api.usecase.product;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import com.kompu.api.entity.product.exception.InvalidProductSearchException;
+import com.kompu.api.entity.product.gateway.ProductSearchGateway;
+import com.kompu.api.entity.product.model.ProductSearchQuery;
+import com.kompu.api.entity.product.model.ProductSearchResult;
+
+/**
+ * SearchProductsUseCase - Type-ahead product search for one tenant.
+ * 
+ * Served from the in-memory index, so it is cheap enough to call on every
+ * keystroke; the page size is capped and the query text is bounded.
+ */
+public class SearchProductsUseCase {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_TEXT_LENGTH = 200;
+
+    private final ProductSearchGateway productSearchGateway;
+    private final int maxLimit;
+
+    public SearchProductsUseCase(ProductSearchGateway productSearchGateway, int maxLimit) {
+        this.productSearchGateway = productSearchGateway;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * @throws InvalidProductSearchException when the tenant is missing, the
+     *                                       text is too long or the price
+     *                                       bounds are inverted
+     */
+    public ProductSearchResult search(UUID tenantId, String text, UUID categoryId, BigDecimal minPrice,
+            BigDecimal maxPrice, boolean includeInactive, Integer limit) {
+        if (tenantId == null) {
+            throw new InvalidProductSearchException("A tenantId is required");
+        }
+        if (text != null && text.length() > MAX_TEXT_LENGTH) {
+            throw new InvalidProductSearchException("Search text is limited to " + MAX_TEXT_LENGTH + " characters");
+        }
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new InvalidProductSearchException("minPrice must not be greater than maxPrice");
+        }
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(0, Math.min(limit, maxLimit));
+        return productSearchGateway.search(
+                new ProductSearchQuery(tenantId, text, categoryId, minPrice, maxPrice, includeInactive, size));
+    }
+
+    public void rebuild(UUID tenantId) {
+        if (tenantId == null) {
+            throw new InvalidProductSearchException("A tenantId is required");
+        }
+        productSearchGateway.rebuild(tenantId);
+    }
+}
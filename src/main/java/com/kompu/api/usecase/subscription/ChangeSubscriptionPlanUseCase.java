@@ -0,0 +1,69 @@
+package com.kompu.api.usecase.subscription;
+
+import java.util.UUID;
+
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.kompu.api.entity.subscription.exception.SubscriptionPlanNotFoundException;
+import com.kompu.api.entity.subscription.exception.TenantSubscriptionNotFoundException;
+import com.kompu.api.entity.subscription.gateway.SubscriptionPlanGateway;
+import com.kompu.api.entity.subscription.gateway.TenantSubscriptionGateway;
+import com.kompu.api.entity.subscription.model.TenantSubscriptionModel;
+import com.kompu.api.usecase.featureflag.InitializeFeatureFlagsUseCase;
+
+/**
+ * ChangeSubscriptionPlanUseCase moves a tenant to another subscription plan
+ * and re-provisions its feature flags from the new plan's templates.
+ * 
+ * The plan change and the flag upsert (one statement for all of the tenant's
+ * template-managed flags) share one transaction, so a tenant is never left
+ * on the new plan with the old plan's flags.
+ */
+public class ChangeSubscriptionPlanUseCase {
+
+    private final TenantSubscriptionGateway tenantSubscriptionGateway;
+    private final SubscriptionPlanGateway subscriptionPlanGateway;
+    private final InitializeFeatureFlagsUseCase initializeFeatureFlagsUseCase;
+    private final TransactionOperations transaction;
+
+    /**
+     * @param tenantSubscriptionGateway     the gateway for tenant subscriptions
+     * @param subscriptionPlanGateway       the gateway for subscription plans
+     * @param initializeFeatureFlagsUseCase re-applies plan templates to flags
+     * @param transaction                   the transaction the plan change and
+     *                                      the flags are written in
+     */
+    public ChangeSubscriptionPlanUseCase(TenantSubscriptionGateway tenantSubscriptionGateway,
+            SubscriptionPlanGateway subscriptionPlanGateway,
+            InitializeFeatureFlagsUseCase initializeFeatureFlagsUseCase, TransactionOperations transaction) {
+        this.tenantSubscriptionGateway = tenantSubscriptionGateway;
+        this.subscriptionPlanGateway = subscriptionPlanGateway;
+        this.initializeFeatureFlagsUseCase = initializeFeatureFlagsUseCase;
+        this.transaction = transaction;
+    }
+
+    /**
+     * @param tenantId  the tenant changing plan
+     * @param newPlanId the active plan to move to
+     * @return the updated subscription
+     * @throws SubscriptionPlanNotFoundException   when the plan does not exist
+     *                                             or is no longer offered
+     * @throws TenantSubscriptionNotFoundException when the tenant has no
+     *                                             subscription
+     */
+    public TenantSubscriptionModel changePlan(UUID tenantId, UUID newPlanId) {
+        subscriptionPlanGateway.findById(newPlanId)
+                .filter(plan -> Boolean.TRUE.equals(plan.getIsActive()))
+                .orElseThrow(() -> new SubscriptionPlanNotFoundException(
+                        "Subscription plan " + newPlanId + " not found"));
+        if (tenantSubscriptionGateway.findByTenantId(tenantId).isEmpty()) {
+            throw new TenantSubscriptionNotFoundException("Tenant " + tenantId + " has no subscription");
+        }
+
+        return transaction.execute(status -> {
+            TenantSubscriptionModel changed = tenantSubscriptionGateway.changePlan(tenantId, newPlanId);
+            initializeFeatureFlagsUseCase.applyPlanTemplates(tenantId, newPlanId);
+            return changed;
+        });
+    }
+}
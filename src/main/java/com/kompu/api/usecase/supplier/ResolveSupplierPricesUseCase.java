@@ -0,0 +1,65 @@
+package com.kompu.api.usecase.supplier;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import com.kompu.api.entity.supplier.exception.InvalidSupplierPriceQueryException;
+import com.kompu.api.entity.supplier.gateway.SupplierPriceGateway;
+import com.kompu.api.entity.supplier.model.SupplierPriceQuery;
+import com.kompu.api.entity.supplier.model.SupplierPriceResolution;
+
+/**
+ * ResolveSupplierPricesUseCase - Cheapest valid supplier for a batch of
+ * products, for procurement screens.
+ * 
+ * The whole batch is priced in one call against the in-memory price index;
+ * the date defaults to today, the currency to the configured default, and the
+ * batch size is capped.
+ */
+public class ResolveSupplierPricesUseCase {
+
+    private final SupplierPriceGateway supplierPriceGateway;
+    private final int maxLines;
+    private final String defaultCurrency;
+    private final Clock clock;
+
+    public ResolveSupplierPricesUseCase(SupplierPriceGateway supplierPriceGateway, int maxLines,
+            String defaultCurrency, Clock clock) {
+        this.supplierPriceGateway = supplierPriceGateway;
+        this.maxLines = maxLines;
+        this.defaultCurrency = defaultCurrency;
+        this.clock = clock;
+    }
+
+    /**
+     * @throws InvalidSupplierPriceQueryException when the tenant or lines are
+     *                                            missing, there are too many
+     *                                            lines, or a quantity is not
+     *                                            positive
+     */
+    public SupplierPriceResolution resolve(UUID tenantId, List<SupplierPriceQuery.Line> lines, LocalDate date,
+            Integer maxLeadTimeDays, String currency) {
+        if (tenantId == null) {
+            throw new InvalidSupplierPriceQueryException("A tenantId is required");
+        }
+        if (lines == null || lines.isEmpty()) {
+            throw new InvalidSupplierPriceQueryException("At least one product line is required");
+        }
+        if (lines.size() > maxLines) {
+            throw new InvalidSupplierPriceQueryException("At most " + maxLines + " product lines per request");
+        }
+        for (SupplierPriceQuery.Line line : lines) {
+            if (line == null || line.productId() == null || line.quantity() <= 0) {
+                throw new InvalidSupplierPriceQueryException("Every line needs a productId and a positive quantity");
+            }
+        }
+        if (maxLeadTimeDays != null && maxLeadTimeDays < 0) {
+            throw new InvalidSupplierPriceQueryException("maxLeadTimeDays must not be negative");
+        }
+        return supplierPriceGateway.resolveBest(new SupplierPriceQuery(tenantId, List.copyOf(lines),
+                date != null ? date : LocalDate.now(clock), maxLeadTimeDays,
+                currency != null && !currency.isBlank() ? currency.trim() : defaultCurrency));
+    }
+}
@@ -0,0 +1,51 @@
+package com.kompu.api.usecase.supplier;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import com.kompu.api.entity.shared.exception.InvalidSearchQueryException;
+import com.kompu.api.entity.supplier.gateway.SupplierGateway;
+import com.kompu.api.entity.supplier.model.SupplierSummary;
+
+/**
+ * SearchSuppliersUseCase - Typo-tolerant supplier lookup by name, code, city
+ * or contact person.
+ * 
+ * Queries shorter than the minimum length are rejected: they carry too few
+ * trigrams to narrow the index and would match most of the tenant.
+ */
+public class SearchSuppliersUseCase {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_TEXT_LENGTH = 200;
+
+    private final SupplierGateway supplierGateway;
+    private final int minQueryLength;
+    private final int maxResults;
+
+    public SearchSuppliersUseCase(SupplierGateway supplierGateway, int minQueryLength, int maxResults) {
+        this.supplierGateway = supplierGateway;
+        this.minQueryLength = minQueryLength;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * @throws InvalidSearchQueryException when the tenant is missing or the
+     *                                     query is too short or too long
+     */
+    public List<SupplierSummary> search(UUID tenantId, String text, Integer limit) {
+        if (tenantId == null) {
+            throw new InvalidSearchQueryException("A tenantId is required");
+        }
+        String query = text == null ? "" : text.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        if (query.length() < minQueryLength) {
+            throw new InvalidSearchQueryException("Search text needs at least " + minQueryLength + " characters");
+        }
+        if (query.length() > MAX_TEXT_LENGTH) {
+            throw new InvalidSearchQueryException("Search text is limited to " + MAX_TEXT_LENGTH + " characters");
+        }
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, maxResults));
+        return supplierGateway.searchFuzzy(tenantId, query, size);
+    }
+}
@@ -0,0 +1,84 @@
+package com.kompu.api.usecase.system;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
+import com.kompu.api.entity.system.exception.InvalidAuditQueryException;
+import com.kompu.api.entity.system.gateway.ActivityLogGateway;
+import com.kompu.api.entity.system.gateway.AuthAuditGateway;
+import com.kompu.api.entity.system.gateway.LoginLogGateway;
+import com.kompu.api.entity.system.model.ActivityLogModel;
+import com.kompu.api.entity.system.model.AuditLogFilter;
+import com.kompu.api.entity.system.model.AuthAuditModel;
+import com.kompu.api.entity.system.model.LoginLogModel;
+
+/**
+ * QueryAuditLogUseCase reads the activity log, auth audit and login log.
+ * 
+ * Every query must name a tenant or a user and a time window no longer than
+ * the configured cap. The log tables are partitioned by month, so the bounded
+ * window keeps each query on a handful of partitions instead of the whole
+ * history.
+ */
+public class QueryAuditLogUseCase {
+
+    private final ActivityLogGateway activityLogGateway;
+    private final AuthAuditGateway authAuditGateway;
+    private final LoginLogGateway loginLogGateway;
+    private final Duration maxRange;
+
+    public QueryAuditLogUseCase(ActivityLogGateway activityLogGateway, AuthAuditGateway authAuditGateway,
+            LoginLogGateway loginLogGateway, Duration maxRange) {
+        this.activityLogGateway = activityLogGateway;
+        this.authAuditGateway = authAuditGateway;
+        this.loginLogGateway = loginLogGateway;
+        this.maxRange = maxRange;
+    }
+
+    public CursorPage<ActivityLogModel> findActivity(AuditLogFilter filter, CursorPageRequest request) {
+        return activityLogGateway.findPage(validate(filter), request);
+    }
+
+    public long exportActivity(AuditLogFilter filter, Consumer<? super ActivityLogModel> consumer) {
+        return activityLogGateway.forEach(validate(filter), consumer);
+    }
+
+    public CursorPage<AuthAuditModel> findAuthAudit(AuditLogFilter filter, CursorPageRequest request) {
+        return authAuditGateway.findPage(validate(filter), request);
+    }
+
+    public long exportAuthAudit(AuditLogFilter filter, Consumer<? super AuthAuditModel> consumer) {
+        return authAuditGateway.forEach(validate(filter), consumer);
+    }
+
+    public CursorPage<LoginLogModel> findLogins(AuditLogFilter filter, CursorPageRequest request) {
+        return loginLogGateway.findPage(validate(filter), request);
+    }
+
+    public long exportLogins(AuditLogFilter filter, Consumer<? super LoginLogModel> consumer) {
+        return loginLogGateway.forEach(validate(filter), consumer);
+    }
+
+    /**
+     * @throws InvalidAuditQueryException if the window is missing, empty or
+     *                                   longer than the cap, or no tenant or
+     *                                   user is given
+     */
+    public AuditLogFilter validate(AuditLogFilter filter) {
+        if (filter.tenantId() == null && filter.userId() == null) {
+            throw new InvalidAuditQueryException("A tenantId or userId is required");
+        }
+        if (filter.from() == null || filter.to() == null) {
+            throw new InvalidAuditQueryException("Both from and to are required");
+        }
+        if (!filter.from().isBefore(filter.to())) {
+            throw new InvalidAuditQueryException("from must be before to");
+        }
+        if (Duration.between(filter.from(), filter.to()).compareTo(maxRange) > 0) {
+            throw new InvalidAuditQueryException("Time range must not exceed " + maxRange.toDays() + " days");
+        }
+        return filter;
+    }
+}
@@ -3,6 +3,8 @@ package com.kompu.api.usecase.tenant;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import com.kompu.api.entity.shared.util.UuidV7;
+import com.kompu.api.entity.system.annotation.Auditable;
 import com.kompu.api.entity.tenant.gateway.TenantGateway;
 import com.kompu.api.entity.tenant.model.TenantModel;
 
@@ -44,6 +46,7 @@ public class CreateTenantUseCase {
      * @return the created tenant with ID assigned
      * @throws IllegalArgumentException if tenant name or code is invalid
      */
+    @Auditable(action = "tenant.created", resourceType = "tenant")
     public TenantModel createTenant(String tenantName, String tenantCode, UUID founderUserId) {
         // Validate input
         if (tenantName == null || tenantName.trim().isEmpty()) {
@@ -58,7 +61,7 @@ public class CreateTenantUseCase {
 
         // Build the tenant model
         TenantModel newTenant = TenantModel.builder()
-                .id(UUID.randomUUID())
+                .id(UuidV7.next())
                 .name(tenantName.trim())
                 .code(tenantCode.trim().toLowerCase())
                 .status("active")
@@ -83,6 +86,7 @@ public class CreateTenantUseCase {
      * @param metadata      additional JSON metadata (settings, config, etc.)
      * @return the created tenant with ID assigned
      */
+    @Auditable(action = "tenant.created", resourceType = "tenant")
     public TenantModel createTenantWithMetadata(
             String tenantName,
             String tenantCode,
@@ -105,7 +109,7 @@ public class CreateTenantUseCase {
 
         // Build the tenant model
         TenantModel newTenant = TenantModel.builder()
-                .id(UUID.randomUUID())
+                .id(UuidV7.next())
                 .name(tenantName.trim())
                 .code(tenantCode.trim().toLowerCase())
                 .status("active")
@@ -3,8 +3,10 @@ package com.kompu.api.usecase.tenantdomain;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
-import com.kompu.api.entity.tenantdomain.model.TenantDomainModel;
+import com.kompu.api.entity.shared.util.UuidV7;
+import com.kompu.api.entity.system.annotation.Auditable;
 import com.kompu.api.entity.tenantdomain.gateway.TenantDomainGateway;
+import com.kompu.api.entity.tenantdomain.model.TenantDomainModel;
 
 /**
  * SetupTenantDomainUseCase orchestrates the creation and configuration of
@@ -50,6 +52,7 @@ public class SetupTenantDomainUseCase {
      * @return the created domain model
      * @throws IllegalArgumentException if tenant code is invalid
      */
+    @Auditable(action = "tenant_domain.created", resourceType = "tenant_domain")
     public TenantDomainModel setupInitialDomain(UUID tenantId, String tenantCode) {
         if (tenantId == null) {
             throw new IllegalArgumentException("Tenant ID cannot be null");
@@ -63,7 +66,7 @@ public class SetupTenantDomainUseCase {
 
         // Create the primary domain model
         TenantDomainModel domain = TenantDomainModel.builder()
-                .id(UUID.randomUUID())
+                .id(UuidV7.next())
                 .tenantId(tenantId)
                 .host(host)
                 .primary(true)
@@ -90,6 +93,7 @@ public class SetupTenantDomainUseCase {
      * @throws IllegalArgumentException if domain parameters are invalid
      * @throws IllegalStateException    if host is already used by another tenant
      */
+    @Auditable(action = "tenant_domain.created", resourceType = "tenant_domain")
     public TenantDomainModel addCustomDomain(
             UUID tenantId,
             String customHost,
@@ -128,7 +132,7 @@ public class SetupTenantDomainUseCase {
 
         // Create the custom domain model
         TenantDomainModel domain = TenantDomainModel.builder()
-                .id(UUID.randomUUID())
+                .id(UuidV7.next())
                 .tenantId(tenantId)
                 .host(normalizedHost)
                 .primary(makePrimary)
@@ -151,6 +155,7 @@ public class SetupTenantDomainUseCase {
      * @throws IllegalStateException if domain not found or belongs to different
      *                               tenant
      */
+    @Auditable(action = "tenant_domain.primary_changed", resourceType = "tenant_domain")
     public TenantDomainModel setPrimaryDomain(UUID domainId) {
         var domainOpt = tenantDomainGateway.findById(domainId);
         if (domainOpt.isEmpty()) {
@@ -181,6 +186,7 @@ public class SetupTenantDomainUseCase {
      * @param tlsProvider  the TLS provider ("cloudflare", "letsencrypt", "custom")
      * @return the updated domain
      */
+    @Auditable(action = "tenant_domain.tls_configured", resourceType = "tenant_domain")
     public TenantDomainModel configureTls(UUID domainId, boolean httpsEnabled, String tlsProvider) {
         var domainOpt = tenantDomainGateway.findById(domainId);
         if (domainOpt.isEmpty()) {
@@ -7,6 +7,8 @@ import java.util.UUID;
 import com.kompu.api.entity.role.exception.RoleNotFoundException;
 import com.kompu.api.entity.role.gateway.RoleGateway;
 import com.kompu.api.entity.role.model.RoleModel;
+import com.kompu.api.entity.system.annotation.Auditable;
+import com.kompu.api.entity.system.model.AuditStream;
 import com.kompu.api.entity.user.gateway.UserGateway;
 import com.kompu.api.entity.user.model.UserAccountModel;
 
@@ -54,6 +56,7 @@ public class AssignUserRoleUseCase {
      * @throws RoleNotFoundException                                     if role not
      *                                                                   found
      */
+    @Auditable(action = "user.role_assigned", resourceType = "user", stream = AuditStream.AUTH)
     public UserAccountModel assignRoleToUser(UUID userId, UUID roleId) {
         // Find the user
         UserAccountModel user = userGateway
@@ -97,6 +100,7 @@ public class AssignUserRoleUseCase {
      *                                                                   is not
      *                                                                   found
      */
+    @Auditable(action = "user.role_assigned", resourceType = "user", stream = AuditStream.AUTH)
     public UserAccountModel assignRolesToUser(UUID userId, Set<UUID> roleIds) {
         // Find the user
         UserAccountModel user = userGateway
@@ -148,6 +152,7 @@ public class AssignUserRoleUseCase {
      *                                                                   found for
      *                                                                   tenant
      */
+    @Auditable(action = "user.role_assigned", resourceType = "user", stream = AuditStream.AUTH)
     public UserAccountModel assignDefaultRoleToUser(UUID userId, UUID tenantId) {
         // Find the user
         UserAccountModel user = userGateway
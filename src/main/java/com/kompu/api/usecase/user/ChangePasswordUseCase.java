@@ -2,6 +2,8 @@ package com.kompu.api.usecase.user;
 
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import com.kompu.api.entity.system.annotation.Auditable;
+import com.kompu.api.entity.system.model.AuditStream;
 import com.kompu.api.entity.user.exception.PasswordNotMatchException;
 import com.kompu.api.entity.user.exception.UserNotFoundException;
 import com.kompu.api.entity.user.gateway.UserGateway;
@@ -29,6 +31,7 @@ public class ChangePasswordUseCase {
      * @param newPassword the new plain-text password
      * @return the updated UserAccountModel
      */
+    @Auditable(action = "user.password_changed", resourceType = "user", stream = AuditStream.AUTH)
     public UserAccountModel changePassword(java.util.UUID userId, String oldPassword, String newPassword) {
         log.info("Changing password for user: {}", userId);
 
@@ -4,6 +4,7 @@ import java.util.UUID;
 
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import com.kompu.api.entity.shared.util.UuidV7;
 import com.kompu.api.entity.user.gateway.UserGateway;
 import com.kompu.api.entity.user.model.UserAccountModel;
 
@@ -35,7 +36,7 @@ public class CreateUserUseCase {
         log.info("Creating new user account for email: {} for tenant: {}", email, tenantId);
 
         UserAccountModel newUser = UserAccountModel.builder()
-                .id(UUID.randomUUID())
+                .id(UuidV7.next())
                 .tenantId(tenantId)
                 .email(email)
                 .passwordHash(passwordEncoder.encode(rawPassword))
@@ -1,8 +1,8 @@
 package com.kompu.api.usecase.usertoken;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
 
+import com.kompu.api.entity.shared.util.UuidV7;
 import com.kompu.api.entity.usertoken.gateway.UserSessionGateway;
 import com.kompu.api.entity.usertoken.model.UserSessionModel;
 import com.kompu.api.entity.user.model.UserAccountModel;
@@ -31,7 +31,7 @@ public class CreateUserSessionUseCase {
 
         LocalDateTime now = LocalDateTime.now();
         UserSessionModel session = UserSessionModel.builder()
-                .id(UUID.randomUUID())
+                .id(UuidV7.next())
                 .tenantId(userAccount.getTenantId())
                 .userId(userAccount.getId())
                 .ipAddress(ipAddress)
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.Base64;
 import java.util.UUID;
 
+import com.kompu.api.entity.shared.util.UuidV7;
 import com.kompu.api.entity.usertoken.gateway.RefreshTokenGateway;
 import com.kompu.api.entity.usertoken.model.RefreshTokenModel;
 import com.kompu.api.entity.user.model.UserAccountModel;
@@ -38,7 +39,7 @@ public class GenerateRefreshTokenUseCase {
         LocalDateTime expiresAt = now.plusDays(REFRESH_TOKEN_EXPIRY_DAYS);
 
         RefreshTokenModel refreshToken = RefreshTokenModel.builder()
-                .id(UUID.randomUUID())
+                .id(UuidV7.next())
                 .userId(userAccount.getId())
                 .sessionId(sessionId)
                 .tokenHash(tokenHash)
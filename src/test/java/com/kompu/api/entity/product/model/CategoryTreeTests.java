@@ -0,0 +1,131 @@
+package com.kompu.api.entity.product.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class CategoryTreeTests {
+
+    private static final UUID TENANT = UUID.randomUUID();
+
+    private final List<ProductCategoryModel> rows = new ArrayList<>();
+
+    @Test
+    void numbersSubtreesContiguouslyWithSiblingsByName() {
+        UUID food = add("Food", null);
+        UUID drinks = add("drinks", null);
+        UUID snacks = add("Snacks", food);
+        UUID noodles = add("Noodles", food);
+        UUID instant = add("Instant", noodles);
+        UUID coffee = add("Coffee", drinks);
+
+        CategoryTree tree = tree();
+
+        assertThat(tree.size()).isEqualTo(6);
+        assertThat(tree.subtreeIds(food)).containsExactly(food, noodles, instant, snacks);
+        assertThat(tree.subtreeIds(drinks)).containsExactly(drinks, coffee);
+        assertThat(tree.children(food)).extracting(ProductCategoryModel::getId).containsExactly(noodles, snacks);
+        assertThat(tree.path(instant)).extracting(ProductCategoryModel::getId).containsExactly(food, noodles, instant);
+        assertThat(tree.isInSubtree(food, instant)).isTrue();
+        assertThat(tree.isInSubtree(food, food)).isTrue();
+        assertThat(tree.isAncestor(food, food)).isFalse();
+        assertThat(tree.isAncestor(noodles, snacks)).isFalse();
+        assertThat(tree.isInSubtree(drinks, instant)).isFalse();
+        assertThat(tree.toNodes()).extracting(CategoryNode::name).containsExactly("drinks", "Food");
+    }
+
+    @Test
+    void deletedCategoryHidesItsWholeSubtreeLikeTheSubtreeQueries() {
+        UUID food = add("Food", null);
+        UUID noodles = add("Noodles", food);
+        UUID instant = add("Instant", noodles);
+        UUID cup = add("Cup", instant);
+        UUID snacks = add("Snacks", food);
+        delete(noodles);
+
+        CategoryTree tree = tree();
+
+        assertThat(tree.contains(noodles)).isFalse();
+        assertThat(tree.contains(instant)).isFalse();
+        assertThat(tree.contains(cup)).isFalse();
+        assertThat(tree.subtreeIds(food)).containsExactly(food, snacks);
+        assertThat(tree.toNodes()).singleElement()
+                .satisfies(root -> assertThat(root.children()).extracting(CategoryNode::id).containsExactly(snacks));
+        assertThat(tree.findBySlug("instant")).isEmpty();
+    }
+
+    @Test
+    void missingParentAndCycleLinksBecomeRoots() {
+        UUID orphan = add("Orphan", UUID.randomUUID());
+        UUID a = add("A", null);
+        UUID b = add("B", a);
+        row(a).setParentId(b);
+        row(add("Other tenant", null)).setTenantId(UUID.randomUUID());
+
+        CategoryTree tree = tree();
+
+        assertThat(tree.size()).isEqualTo(3);
+        assertThat(tree.path(orphan)).extracting(ProductCategoryModel::getId).containsExactly(orphan);
+        assertThat(tree.path(a)).hasSize(1);
+        assertThat(tree.path(b)).hasSize(1);
+    }
+
+    @Test
+    void findsBySlugIgnoringCase() {
+        UUID food = add("Food", null);
+
+        assertThat(tree().findBySlug("FOOD")).map(ProductCategoryModel::getId).contains(food);
+        assertThat(tree().findBySlug("drinks")).isEmpty();
+    }
+
+    @Test
+    void deepChainsDoNotOverflowTheStack() {
+        UUID root = add("Level 0", null);
+        UUID parent = root;
+        for (int i = 1; i < 50_000; i++) {
+            parent = add("Level " + i, parent);
+        }
+
+        CategoryTree tree = tree();
+
+        assertThat(tree.subtreeIds(root)).hasSize(50_000);
+        assertThat(tree.path(parent)).hasSize(50_000);
+        CategoryNode node = tree.toNodes().getFirst();
+        int depth = 0;
+        while (!node.children().isEmpty()) {
+            node = node.children().getFirst();
+            depth++;
+        }
+        assertThat(node.id()).isEqualTo(parent);
+        assertThat(node.depth()).isEqualTo(depth).isEqualTo(49_999);
+    }
+
+    private CategoryTree tree() {
+        return CategoryTree.of(TENANT, rows);
+    }
+
+    private UUID add(String name, UUID parentId) {
+        ProductCategoryModel category = ProductCategoryModel.builder()
+                .id(UUID.randomUUID())
+                .tenantId(TENANT)
+                .name(name)
+                .slug(name.toLowerCase().replace(' ', '-'))
+                .parentId(parentId)
+                .build();
+        rows.add(category);
+        return category.getId();
+    }
+
+    private void delete(UUID id) {
+        row(id).setDeletedAt(LocalDateTime.now());
+    }
+
+    private ProductCategoryModel row(UUID id) {
+        return rows.stream().filter(row -> row.getId().equals(id)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,54 @@
+package com.kompu.api.entity.shared.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.kompu.api.entity.member.model.MemberMetadata;
+import com.kompu.api.entity.product.model.ProductMetadata;
+
+class JsonMetadataTests {
+
+    @Test
+    void readsWellKnownKeysAndIgnoresUnknownOnes() {
+        MemberMetadata metadata = JsonMetadata.of("""
+                {"nationalId": "3273010101900001", "birthDate": "1990-01-01", "legacyScore": {"a": 1}}
+                """).as(MemberMetadata.class);
+
+        assertThat(metadata.nationalId()).isEqualTo("3273010101900001");
+        assertThat(metadata.birthDate()).isEqualTo(LocalDate.of(1990, 1, 1));
+        assertThat(metadata.gender()).isNull();
+    }
+
+    @Test
+    void keyInAnotherShapeReadsAsMissing() {
+        MemberMetadata metadata = JsonMetadata.of("""
+                {"nationalId": "3273010101900001", "birthDate": "01/01/1990", "gender": {"code": "F"}}
+                """).as(MemberMetadata.class);
+
+        assertThat(metadata.nationalId()).isEqualTo("3273010101900001");
+        assertThat(metadata.birthDate()).isNull();
+        assertThat(metadata.gender()).isNull();
+    }
+
+    @Test
+    void singleTagReadsAsList() {
+        ProductMetadata metadata = JsonMetadata.of("""
+                {"brand": "Indomie", "tags": "mie"}
+                """).as(ProductMetadata.class);
+
+        assertThat(metadata.brand()).isEqualTo("Indomie");
+        assertThat(metadata.tags()).isEqualTo(List.of("mie"));
+    }
+
+    @Test
+    void malformedOrEmptyDocumentReadsAsAllMissing() {
+        assertThat(JsonMetadata.of("not json").as(ProductMetadata.class))
+                .isEqualTo(new ProductMetadata(null, null, null, null, null));
+        assertThat(JsonMetadata.of((String) null).as(ProductMetadata.class))
+                .isEqualTo(new ProductMetadata(null, null, null, null, null));
+    }
+}
@@ -0,0 +1,106 @@
+package com.kompu.api.entity.shared.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.kompu.api.entity.shared.exception.InvalidCursorException;
+
+class PageCursorTests {
+
+    private static final UUID ID = UUID.fromString("0192f3a4-5b6c-7d8e-9f01-23456789abcd");
+
+    @Test
+    void roundTripsCreatedAtToTheNanosecond() {
+        PageCursor cursor = new PageCursor(Instant.parse("2026-10-19T08:15:30.123456789Z"), ID);
+
+        assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void roundTripsTimestampsBeforeTheEpoch() {
+        PageCursor cursor = new PageCursor(Instant.parse("1969-12-31T23:59:59.5Z"), ID);
+
+        assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void roundTripsIdOnlyCursors() {
+        PageCursor cursor = PageCursor.of(ID);
+
+        PageCursor decoded = PageCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.createdAt()).isNull();
+    }
+
+    @Test
+    void encodedFormIsUrlSafe() {
+        String token = new PageCursor(Instant.now(), UUID.randomUUID()).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void missingTokenMeansTheFirstPage() {
+        assertThat(PageCursor.decode(null)).isNull();
+        assertThat(PageCursor.decode("")).isNull();
+        assertThat(PageCursor.decode("   ")).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "not base64!",
+            // wrong version
+            "2|1760861730.0|0192f3a4-5b6c-7d8e-9f01-23456789abcd",
+            // missing and extra parts
+            "1|0192f3a4-5b6c-7d8e-9f01-23456789abcd",
+            "1|1760861730.0|0192f3a4-5b6c-7d8e-9f01-23456789abcd|x",
+            // not a UUID
+            "1|1760861730.0|42",
+            "1|1760861730.0|",
+            // malformed or out of range timestamps
+            "1|1760861730|0192f3a4-5b6c-7d8e-9f01-23456789abcd",
+            "1|abc.0|0192f3a4-5b6c-7d8e-9f01-23456789abcd",
+            "1|99999999999999999.0|0192f3a4-5b6c-7d8e-9f01-23456789abcd" })
+    void rejectsTamperedTokens(String raw) {
+        String token = raw.equals("not base64!") ? raw : encode(raw);
+
+        assertThatThrownBy(() -> PageCursor.decode(token)).isInstanceOf(InvalidCursorException.class);
+    }
+
+    // A flipped character either still decodes to some cursor or is rejected; it never escapes as another error
+    @Test
+    void everySingleCharacterChangeDecodesOrIsRejected() {
+        String token = new PageCursor(Instant.parse("2026-10-19T08:15:30.123Z"), ID).encode();
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_=+/.";
+
+        for (int i = 0; i < token.length(); i++) {
+            for (char replacement : alphabet.toCharArray()) {
+                String tampered = token.substring(0, i) + replacement + token.substring(i + 1);
+                try {
+                    assertThat(PageCursor.decode(tampered)).isNotNull();
+                } catch (InvalidCursorException expected) {
+                    // rejected as the API reports it
+                }
+            }
+        }
+    }
+
+    @Test
+    void requiresAnId() {
+        assertThatThrownBy(() -> new PageCursor(Instant.now(), null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,208 @@
+package com.kompu.api.infrastructure.config.db.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+import org.hibernate.boot.model.naming.PhysicalNamingStrategySnakeCaseImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
+import com.kompu.api.infrastructure.config.db.schema.DocumentSchema;
+import com.kompu.api.infrastructure.config.db.schema.MemberSchema;
+import com.kompu.api.infrastructure.config.db.schema.OrderSchema;
+import com.kompu.api.infrastructure.document.gateway.DocumentDatabaseGateway;
+import com.kompu.api.infrastructure.member.gateway.MemberDatabaseGateway;
+import com.kompu.api.infrastructure.order.gateway.OrderDatabaseGateway;
+import com.kompu.api.infrastructure.shared.pagination.KeysetPager;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Allocation benchmark for the list projections: walks a whole tenant page by
+ * page through the gateways, once hydrating entities and mapping them to
+ * models, once reading summary records, and compares the bytes the reading
+ * thread allocates per row. Both paths run in the pager's read-only
+ * transaction, as in production.
+ *
+ * Needs a database with the app schema (initial and list_projections
+ * migrations); pass its JDBC url as -Dtest.datasource.url (and
+ * -Dtest.datasource.username/password). Skipped otherwise. The rows it seeds
+ * belong to a throwaway tenant removed afterwards.
+ */
+@Slf4j
+class ListProjectionAllocationTests {
+
+    private static final int ROWS = 2_000;
+    private static final int PAGE_SIZE = 50;
+    private static final int WARMUP_ROUNDS = 30;
+    private static final int MEASURED_ROUNDS = 50;
+
+    private static HikariDataSource dataSource;
+    private static EntityManagerFactory entityManagerFactory;
+    private static UUID tenantId;
+    private static MemberDatabaseGateway members;
+    private static OrderDatabaseGateway orders;
+    private static DocumentDatabaseGateway documents;
+
+    @BeforeAll
+    static void setUp() {
+        String url = System.getProperty("test.datasource.url");
+        assumeTrue(url != null && !url.isBlank(), "test.datasource.url not set");
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(System.getProperty("test.datasource.username", "postgres"));
+        dataSource.setPassword(System.getProperty("test.datasource.password", ""));
+        dataSource.setMaximumPoolSize(2);
+
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setManagedTypes(PersistenceManagedTypes.of(MemberSchema.class.getName(),
+                OrderSchema.class.getName(), DocumentSchema.class.getName()));
+        factoryBean.setJpaPropertyMap(Map.of("hibernate.physical_naming_strategy",
+                PhysicalNamingStrategySnakeCaseImpl.class.getName()));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        JpaRepositoryFactory repositories = new JpaRepositoryFactory(entityManager);
+        KeysetPager keysetPager = new KeysetPager(PAGE_SIZE, 500, new JpaTransactionManager(entityManagerFactory),
+                entityManager);
+        members = new MemberDatabaseGateway(repositories.getRepository(MemberRepository.class), keysetPager);
+        orders = new OrderDatabaseGateway(repositories.getRepository(OrderRepository.class), keysetPager);
+        documents = new DocumentDatabaseGateway(repositories.getRepository(DocumentRepository.class), keysetPager);
+
+        seed();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (tenantId != null) {
+            new JdbcTemplate(dataSource).update("DELETE FROM app.tenants WHERE id = ?", tenantId);
+        }
+        if (entityManagerFactory != null) {
+            entityManagerFactory.close();
+        }
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    @Test
+    void memberSummariesAllocateLessThanEntities() {
+        compare("members", members::findPageByTenantId, members::findSummaryPageByTenantId);
+    }
+
+    @Test
+    void orderSummariesAllocateLessThanEntities() {
+        compare("orders", orders::findPageByTenantId, orders::findSummaryPageByTenantId);
+    }
+
+    @Test
+    void documentSummariesAllocateLessThanEntities() {
+        compare("documents", documents::findPageByTenant, documents::findSummaryPageByTenant);
+    }
+
+    private static void compare(String table, BiFunction<UUID, CursorPageRequest, CursorPage<?>> entities,
+            BiFunction<UUID, CursorPageRequest, CursorPage<?>> summaries) {
+        Walk entityWalk = measure(entities);
+        Walk summaryWalk = measure(summaries);
+        log.info("{}: entities {} B/row {} ns/row, summaries {} B/row {} ns/row", table,
+                entityWalk.bytesPerRow(), entityWalk.nanosPerRow(), summaryWalk.bytesPerRow(),
+                summaryWalk.nanosPerRow());
+
+        assertThat(entityWalk.rows()).isEqualTo(summaryWalk.rows()).isEqualTo((long) ROWS * MEASURED_ROUNDS);
+        assertThat(summaryWalk.bytesPerRow()).isLessThan(entityWalk.bytesPerRow());
+    }
+
+    private static Walk measure(BiFunction<UUID, CursorPageRequest, CursorPage<?>> pages) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            walk(pages);
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+        long nanosBefore = System.nanoTime();
+        long rows = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            rows += walk(pages);
+        }
+        return new Walk(rows, threads.getCurrentThreadAllocatedBytes() - bytesBefore,
+                System.nanoTime() - nanosBefore);
+    }
+
+    private static long walk(BiFunction<UUID, CursorPageRequest, CursorPage<?>> pages) {
+        long rows = 0;
+        CursorPage<?> page = pages.apply(tenantId, CursorPageRequest.first(PAGE_SIZE));
+        rows += page.items().size();
+        while (page.hasMore()) {
+            page = pages.apply(tenantId, CursorPageRequest.after(page.nextCursor(), PAGE_SIZE));
+            rows += page.items().size();
+        }
+        return rows;
+    }
+
+    // Metadata of a few hundred bytes per row, as list screens never show it
+    private static void seed() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        tenantId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO app.tenants (id, name, code) VALUES (?, 'Projection benchmark', ?)",
+                tenantId, "proj-bench-" + tenantId.toString().substring(0, 8));
+        String metadata = """
+                json_build_object('notes', repeat('catatan anggota ', 12), 'tags', json_build_array('a', 'b', 'c'),
+                                  'preferences', json_build_object('newsletter', true, 'language', 'id'))::jsonb""";
+        jdbcTemplate.update("""
+                INSERT INTO app.members (id, tenant_id, member_code, full_name, email, phone, address, joined_at,
+                                         status, metadata, created_at, updated_at)
+                SELECT app.uuid_generate_v7(), ?, 'MBR-' || g, 'Member ' || g, 'member' || g || '@kompu.id',
+                       '08' || lpad(g::text, 10, '0'), 'Jalan Merdeka No. ' || g || ', Bandung',
+                       current_date - g, 'active', %s,
+                       now() - g * interval '1 minute', now()
+                FROM generate_series(1, ?) AS g
+                """.formatted(metadata), tenantId, ROWS);
+        jdbcTemplate.update("""
+                INSERT INTO app.orders (id, tenant_id, order_number, order_type, buyer_snapshot, status,
+                                        total_amount, currency, metadata, created_at, updated_at)
+                SELECT app.uuid_generate_v7(), ?, 'ORD-' || g, 'purchase',
+                       json_build_object('name', 'Member ' || g, 'address', 'Jalan Merdeka No. ' || g)::jsonb,
+                       'placed', g * 1000, 'IDR', %s, now() - g * interval '1 minute', now()
+                FROM generate_series(1, ?) AS g
+                """.formatted(metadata), tenantId, ROWS);
+        jdbcTemplate.update("""
+                INSERT INTO app.documents (id, tenant_id, document_type, document_number, content_path,
+                                           content_format, generated_at, signature_hash, status, created_at)
+                SELECT app.uuid_generate_v7(), ?, 'invoice', 'INV-' || g, 'documents/' || g || '.pdf', 'pdf',
+                       now() - g * interval '1 minute', md5(g::text), 'generated', now() - g * interval '1 minute'
+                FROM generate_series(1, ?) AS g
+                """, tenantId, ROWS);
+    }
+
+    private record Walk(long rows, long bytes, long nanos) {
+
+        long bytesPerRow() {
+            return bytes / rows;
+        }
+
+        long nanosPerRow() {
+            return nanos / rows;
+        }
+    }
+}
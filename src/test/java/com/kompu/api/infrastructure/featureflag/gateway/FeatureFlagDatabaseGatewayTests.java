@@ -0,0 +1,182 @@
+package com.kompu.api.infrastructure.featureflag.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.hibernate.boot.model.naming.PhysicalNamingStrategySnakeCaseImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.entity.featureflag.model.FeatureFlagModel;
+import com.kompu.api.entity.shared.gateway.CacheInvalidationGateway;
+import com.kompu.api.infrastructure.config.db.repository.FeatureFlagRepository;
+import com.kompu.api.infrastructure.config.db.schema.FeatureFlagSchema;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Covers the multi-row statements behind createAll, upsertAll and
+ * backfillFromTemplates against PostgreSQL, since they are native SQL the
+ * rest of the suite never runs.
+ *
+ * Needs a database with the app schema (initial and feature_flag_templates
+ * migrations); pass its JDBC url as -Dtest.datasource.url (and
+ * -Dtest.datasource.username/password). Skipped otherwise. Each test seeds its
+ * own tenant, plan and templates and rolls everything back.
+ */
+class FeatureFlagDatabaseGatewayTests {
+
+    private static HikariDataSource dataSource;
+    private static EntityManagerFactory entityManagerFactory;
+    private static FeatureFlagDatabaseGateway gateway;
+    private static TransactionTemplate transaction;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void setUp() {
+        String url = System.getProperty("test.datasource.url");
+        assumeTrue(url != null && !url.isBlank(), "test.datasource.url not set");
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(System.getProperty("test.datasource.username", "postgres"));
+        dataSource.setPassword(System.getProperty("test.datasource.password", ""));
+        dataSource.setMaximumPoolSize(2);
+
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setManagedTypes(PersistenceManagedTypes.of(FeatureFlagSchema.class.getName()));
+        factoryBean.setJpaPropertyMap(Map.of("hibernate.physical_naming_strategy",
+                PhysicalNamingStrategySnakeCaseImpl.class.getName()));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        FeatureFlagRepository repository = new JpaRepositoryFactory(entityManager)
+                .getRepository(FeatureFlagRepository.class);
+        gateway = new FeatureFlagDatabaseGateway(repository, new ObjectMapper(),
+                mock(CacheInvalidationGateway.class));
+        transaction = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (entityManagerFactory != null) {
+            entityManagerFactory.close();
+        }
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    @Test
+    void createAllSkipsKeysTheTenantAlreadyHasIgnoringCase() {
+        inRolledBackTransaction(tenantId -> {
+            gateway.createAll(List.of(flag(tenantId, "orders.enabled", "true", true)));
+
+            int inserted = gateway.createAll(List.of(
+                    flag(tenantId, "ORDERS.Enabled", "false", false),
+                    flag(tenantId, "exports.enabled", "true", true)));
+
+            assertThat(inserted).isEqualTo(1);
+            assertThat(flags(tenantId)).containsExactlyInAnyOrder(
+                    "orders.enabled=true/true", "exports.enabled=true/true");
+        });
+    }
+
+    @Test
+    void upsertAllOverwritesValueAndEnabledAndKeepsOtherFlags() {
+        inRolledBackTransaction(tenantId -> {
+            gateway.createAll(List.of(
+                    flag(tenantId, "orders.max_lines", "50", true),
+                    flag(tenantId, "custom.banner", "\"hello\"", true)));
+
+            int written = gateway.upsertAll(List.of(
+                    flag(tenantId, "Orders.Max_Lines", "200", false),
+                    flag(tenantId, "exports.enabled", "true", true)));
+
+            assertThat(written).isEqualTo(2);
+            assertThat(flags(tenantId)).containsExactlyInAnyOrder(
+                    "orders.max_lines=200/false", "custom.banner=\"hello\"/true", "exports.enabled=true/true");
+        });
+    }
+
+    @Test
+    void backfillInsertsOnlyNewerTemplatesAndNeverOverwrites() {
+        inRolledBackTransaction(tenantId -> {
+            UUID planId = subscribe(tenantId);
+            int since = 1_000_000;
+            template(planId, "orders.enabled", "true", since);
+            template(planId, "exports.enabled", "true", since + 1);
+            template(planId, "orders.max_lines", "500", since + 2);
+            gateway.createAll(List.of(flag(tenantId, "orders.max_lines", "50", false)));
+
+            gateway.backfillFromTemplates(since);
+
+            // orders.enabled is not newer than the recorded version, and the
+            // tenant's own orders.max_lines survives the changed template
+            assertThat(flags(tenantId)).containsExactlyInAnyOrder(
+                    "exports.enabled=true/true", "orders.max_lines=50/false");
+        });
+    }
+
+    private static void inRolledBackTransaction(Consumer<UUID> test) {
+        transaction.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            UUID tenantId = UUID.randomUUID();
+            jdbcTemplate.update("INSERT INTO app.tenants (id, name, code) VALUES (?, 'Flag tests', ?)",
+                    tenantId, "flag-test-" + tenantId.toString().substring(0, 8));
+            test.accept(tenantId);
+        });
+    }
+
+    private static UUID subscribe(UUID tenantId) {
+        UUID planId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO app.subscription_plans (id, name, price) VALUES (?, ?, 0)",
+                planId, "flag-test-" + planId);
+        jdbcTemplate.update("INSERT INTO app.tenant_subscriptions (tenant_id, plan_id) VALUES (?, ?)",
+                tenantId, planId);
+        return planId;
+    }
+
+    private static void template(UUID planId, String key, String value, int version) {
+        jdbcTemplate.update("""
+                INSERT INTO app.feature_flag_templates (plan_id, key, value, enabled, version)
+                VALUES (?, ?, CAST(? AS jsonb), true, ?)
+                """, planId, key, value, version);
+    }
+
+    private static List<String> flags(UUID tenantId) {
+        return jdbcTemplate.queryForList(
+                "SELECT key || '=' || value::text || '/' || enabled FROM app.feature_flags WHERE tenant_id = ?",
+                String.class, tenantId);
+    }
+
+    private static FeatureFlagModel flag(UUID tenantId, String key, String value, boolean enabled) {
+        return FeatureFlagModel.builder()
+                .tenantId(tenantId)
+                .key(key)
+                .value(value)
+                .enabled(enabled)
+                .build();
+    }
+}
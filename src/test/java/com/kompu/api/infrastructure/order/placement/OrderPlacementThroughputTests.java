@@ -0,0 +1,250 @@
+package com.kompu.api.infrastructure.order.placement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.boot.model.naming.PhysicalNamingStrategySnakeCaseImpl;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.hibernate.SpringBeanContainer;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.entity.member.gateway.MemberGateway;
+import com.kompu.api.entity.order.model.OrderLine;
+import com.kompu.api.entity.shared.gateway.CacheInvalidationGateway;
+import com.kompu.api.infrastructure.config.db.repository.InventoryRepository;
+import com.kompu.api.infrastructure.config.db.repository.OrderRepository;
+import com.kompu.api.infrastructure.config.db.repository.OutboxRepository;
+import com.kompu.api.infrastructure.config.db.repository.ProductRepository;
+import com.kompu.api.infrastructure.config.db.schema.InventorySchema;
+import com.kompu.api.infrastructure.config.db.schema.OrderSchema;
+import com.kompu.api.infrastructure.config.db.schema.OutboxSchema;
+import com.kompu.api.infrastructure.config.db.schema.ProductCategoryClosureSchema;
+import com.kompu.api.infrastructure.config.db.schema.ProductCategorySchema;
+import com.kompu.api.infrastructure.config.db.schema.ProductSchema;
+import com.kompu.api.infrastructure.order.number.OrderNumberAllocator;
+import com.kompu.api.infrastructure.product.catalog.ProductCatalogCache;
+import com.kompu.api.infrastructure.product.gateway.InventoryDatabaseGateway;
+import com.kompu.api.infrastructure.shared.gateway.OutboxDatabaseGateway;
+import com.kompu.api.infrastructure.shared.pagination.KeysetPager;
+import com.kompu.api.usecase.order.PlaceOrderUseCase;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Throughput benchmark for order placement: a burst of POS checkouts from
+ * many tills at once against one tenant, through PlaceOrderUseCase wired as
+ * in OrderConfig (cached catalog, block-allocated numbers, one transaction
+ * per order). Every order reserves stock on the same few inventory rows, so
+ * the row locks are contended as in a real burst.
+ *
+ * HTTP, security and JSON binding are left out; docs/loadtest/place_orders.k6.js
+ * covers the whole request. Needs a database with the app schema (initial,
+ * outbox and order_placement migrations); pass its JDBC url as
+ * -Dtest.datasource.url (and -Dtest.datasource.username/password). Skipped
+ * otherwise. The rows it seeds belong to a throwaway tenant removed afterwards.
+ *
+ * By default the rate is only logged. -Dtest.orders.min-rate=300 fails the
+ * run below 300 orders/s; set it on a node sized like production. A single
+ * vCPU shared with PostgreSQL reaches about 200.
+ */
+@Slf4j
+class OrderPlacementThroughputTests {
+
+    private static final int TILLS = 16;
+    private static final int PRODUCTS = 50;
+    private static final int MAX_LINES = 5;
+    private static final long WARMUP_SECONDS = 10;
+    private static final long MEASURED_SECONDS = 30;
+
+    private static HikariDataSource dataSource;
+    private static EntityManagerFactory entityManagerFactory;
+    private static UUID tenantId;
+    private static List<UUID> productIds;
+    private static PlaceOrderUseCase placeOrderUseCase;
+
+    @BeforeAll
+    static void setUp() {
+        String url = System.getProperty("test.datasource.url");
+        assumeTrue(url != null && !url.isBlank(), "test.datasource.url not set");
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(System.getProperty("test.datasource.username", "postgres"));
+        dataSource.setPassword(System.getProperty("test.datasource.password", ""));
+        dataSource.setMaximumPoolSize(TILLS);
+
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setManagedTypes(PersistenceManagedTypes.of(OrderSchema.class.getName(),
+                ProductSchema.class.getName(), ProductCategorySchema.class.getName(),
+                ProductCategoryClosureSchema.class.getName(), InventorySchema.class.getName(),
+                OutboxSchema.class.getName()));
+        // ProductSchema's search listener takes its collaborators from the container; none here
+        factoryBean.setJpaPropertyMap(Map.of("hibernate.physical_naming_strategy",
+                PhysicalNamingStrategySnakeCaseImpl.class.getName(), AvailableSettings.BEAN_CONTAINER,
+                new SpringBeanContainer(new DefaultListableBeanFactory())));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        JpaRepositoryFactory repositories = new JpaRepositoryFactory(entityManager);
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        ObjectMapper objectMapper = new ObjectMapper();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        ProductCatalogCache catalog = new ProductCatalogCache(repositories.getRepository(ProductRepository.class),
+                mock(CacheInvalidationGateway.class), 500, meterRegistry);
+        catalog.start();
+        TransactionTemplate placementTransaction = new TransactionTemplate(transactionManager);
+        placementTransaction.setTimeout(5);
+        OrderPlacementWriter writer = new OrderPlacementWriter(repositories.getRepository(OrderRepository.class),
+                new InventoryDatabaseGateway(repositories.getRepository(InventoryRepository.class),
+                        new KeysetPager(50, 500, transactionManager, entityManager), objectMapper),
+                new OutboxDatabaseGateway(repositories.getRepository(OutboxRepository.class), objectMapper),
+                placementTransaction, objectMapper, meterRegistry);
+        OrderNumberAllocator numbers = new OrderNumberAllocator(new JdbcTemplate(dataSource),
+                new TransactionTemplate(transactionManager), "SO-", 100, 1000);
+        placeOrderUseCase = new PlaceOrderUseCase(catalog, mock(MemberGateway.class), numbers, writer,
+                objectMapper, 200, "IDR", Set.of("IDR"), Set.of("cash"));
+
+        seed();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (tenantId != null) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.update("DELETE FROM app.outbox WHERE tenant_id = ?", tenantId);
+            jdbcTemplate.update("DELETE FROM app.tenants WHERE id = ?", tenantId);
+        }
+        if (entityManagerFactory != null) {
+            entityManagerFactory.close();
+        }
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    @Test
+    void placesConcurrentOrdersWithoutLosingStockOrNumbers() throws Exception {
+        burst(WARMUP_SECONDS);
+        Burst burst = burst(MEASURED_SECONDS);
+        log.info("{} tills: {} orders in {} s, {} orders/s, p50 {} ms, p95 {} ms, p99 {} ms", TILLS,
+                burst.orders(), MEASURED_SECONDS, burst.orders() / MEASURED_SECONDS, burst.percentileMillis(50),
+                burst.percentileMillis(95), burst.percentileMillis(99));
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Long orders = jdbcTemplate.queryForObject("SELECT count(*) FROM app.orders WHERE tenant_id = ?",
+                Long.class, tenantId);
+        Long numbers = jdbcTemplate.queryForObject(
+                "SELECT count(DISTINCT order_number) FROM app.orders WHERE tenant_id = ?", Long.class, tenantId);
+        Long reserved = jdbcTemplate.queryForObject("SELECT sum(reserved) FROM app.inventories WHERE tenant_id = ?",
+                Long.class, tenantId);
+        Long ordered = jdbcTemplate.queryForObject("""
+                SELECT sum(i.quantity) FROM app.order_items i JOIN app.orders o ON o.id = i.order_id
+                WHERE o.tenant_id = ?
+                """, Long.class, tenantId);
+        assertThat(numbers).isEqualTo(orders);
+        assertThat(reserved).isEqualTo(ordered);
+        assertThat(burst.orders() / MEASURED_SECONDS).isGreaterThanOrEqualTo(Long.getLong("test.orders.min-rate", 0));
+    }
+
+    // Every till places orders back to back until the time is up
+    private static Burst burst(long seconds) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService tills = Executors.newFixedThreadPool(TILLS);
+        try {
+            List<Future<List<Long>>> results = new ArrayList<>();
+            for (int i = 0; i < TILLS; i++) {
+                results.add(tills.submit(() -> {
+                    List<Long> latencies = new ArrayList<>();
+                    while (System.nanoTime() < deadline) {
+                        List<OrderLine> basket = basket();
+                        long started = System.nanoTime();
+                        placeOrderUseCase.place(tenantId, null, null, "cash", basket);
+                        latencies.add(System.nanoTime() - started);
+                    }
+                    return latencies;
+                }));
+            }
+            List<Long> latencies = new ArrayList<>();
+            for (Future<List<Long>> result : results) {
+                latencies.addAll(result.get());
+            }
+            return new Burst(latencies.stream().mapToLong(Long::longValue).sorted().toArray());
+        } finally {
+            tills.shutdown();
+        }
+    }
+
+    // A few random lines per basket, some products repeated as on a real till
+    private static List<OrderLine> basket() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int count = 1 + random.nextInt(MAX_LINES);
+        List<OrderLine> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add(new OrderLine(productIds.get(random.nextInt(productIds.size())), null,
+                    1 + random.nextInt(3)));
+        }
+        return lines;
+    }
+
+    // Stock at the default location for far more orders than the run places
+    private static void seed() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        tenantId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO app.tenants (id, name, code) VALUES (?, 'Order placement benchmark', ?)",
+                tenantId, "order-bench-" + tenantId.toString().substring(0, 8));
+        jdbcTemplate.update("""
+                INSERT INTO app.products (id, tenant_id, sku, name, price, is_active)
+                SELECT app.uuid_generate_v7(), ?, 'SKU-' || g, 'Product ' || g, 1000 + g * 500, true
+                FROM generate_series(1, ?) AS g
+                """, tenantId, PRODUCTS);
+        jdbcTemplate.update("""
+                INSERT INTO app.inventories (id, tenant_id, product_id, quantity, reserved)
+                SELECT app.uuid_generate_v7(), tenant_id, id, 100000000, 0
+                FROM app.products WHERE tenant_id = ?
+                """, tenantId);
+        productIds = jdbcTemplate.queryForList("SELECT id FROM app.products WHERE tenant_id = ?", UUID.class,
+                tenantId);
+    }
+
+    private record Burst(long[] nanos) {
+
+        long orders() {
+            return nanos.length;
+        }
+
+        long percentileMillis(int percentile) {
+            return TimeUnit.NANOSECONDS.toMillis(nanos[Math.min(nanos.length - 1, nanos.length * percentile / 100)]);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.kompu.api.infrastructure.order.placement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.boot.model.naming.PhysicalNamingStrategySnakeCaseImpl;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.hibernate.SpringBeanContainer;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.entity.member.gateway.MemberGateway;
+import com.kompu.api.entity.order.exception.InvalidOrderException;
+import com.kompu.api.entity.order.exception.OrderNotFoundException;
+import com.kompu.api.entity.order.exception.OrderStatusConflictException;
+import com.kompu.api.entity.order.model.OrderLine;
+import com.kompu.api.entity.order.model.SettledOrder;
+import com.kompu.api.entity.product.gateway.InventoryGateway;
+import com.kompu.api.entity.shared.gateway.CacheInvalidationGateway;
+import com.kompu.api.infrastructure.config.db.repository.InventoryRepository;
+import com.kompu.api.infrastructure.config.db.repository.OrderRepository;
+import com.kompu.api.infrastructure.config.db.repository.OutboxRepository;
+import com.kompu.api.infrastructure.config.db.repository.ProductRepository;
+import com.kompu.api.infrastructure.config.db.schema.InventorySchema;
+import com.kompu.api.infrastructure.config.db.schema.OrderSchema;
+import com.kompu.api.infrastructure.config.db.schema.OutboxSchema;
+import com.kompu.api.infrastructure.config.db.schema.ProductCategoryClosureSchema;
+import com.kompu.api.infrastructure.config.db.schema.ProductCategorySchema;
+import com.kompu.api.infrastructure.config.db.schema.ProductSchema;
+import com.kompu.api.infrastructure.order.number.OrderNumberAllocator;
+import com.kompu.api.infrastructure.product.catalog.ProductCatalogCache;
+import com.kompu.api.infrastructure.product.gateway.InventoryDatabaseGateway;
+import com.kompu.api.infrastructure.shared.gateway.OutboxDatabaseGateway;
+import com.kompu.api.infrastructure.shared.pagination.KeysetPager;
+import com.kompu.api.usecase.order.PlaceOrderUseCase;
+import com.kompu.api.usecase.order.SettleOrderUseCase;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Orders placed through PlaceOrderUseCase and then paid, cancelled or
+ * expired, checking the stock they reserved against app.inventories.
+ *
+ * Needs a database with the app schema (initial, outbox, order_placement and
+ * order_settlement migrations); pass its JDBC url as -Dtest.datasource.url
+ * (and -Dtest.datasource.username/password). Skipped otherwise. The rows it
+ * seeds belong to a throwaway tenant removed afterwards.
+ */
+class OrderSettlementWriterTests {
+
+    private static final String STORE = "GUDANG";
+
+    private static HikariDataSource dataSource;
+    private static EntityManagerFactory entityManagerFactory;
+    private static JdbcTemplate jdbcTemplate;
+    private static UUID tenantId;
+    private static UUID productId;
+    private static PlaceOrderUseCase placeOrderUseCase;
+    private static SettleOrderUseCase settleOrderUseCase;
+    private static OrderSettlementWriter settlementWriter;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        String url = System.getProperty("test.datasource.url");
+        assumeTrue(url != null && !url.isBlank(), "test.datasource.url not set");
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(System.getProperty("test.datasource.username", "postgres"));
+        dataSource.setPassword(System.getProperty("test.datasource.password", ""));
+        dataSource.setMaximumPoolSize(4);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(Files.readString(Path.of("migration/order_settlement_19102026.sql")));
+
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setManagedTypes(PersistenceManagedTypes.of(OrderSchema.class.getName(),
+                ProductSchema.class.getName(), ProductCategorySchema.class.getName(),
+                ProductCategoryClosureSchema.class.getName(), InventorySchema.class.getName(),
+                OutboxSchema.class.getName()));
+        // ProductSchema's search listener takes its collaborators from the container; none here
+        factoryBean.setJpaPropertyMap(Map.of("hibernate.physical_naming_strategy",
+                PhysicalNamingStrategySnakeCaseImpl.class.getName(), AvailableSettings.BEAN_CONTAINER,
+                new SpringBeanContainer(new DefaultListableBeanFactory())));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        JpaRepositoryFactory repositories = new JpaRepositoryFactory(entityManager);
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        ObjectMapper objectMapper = new ObjectMapper();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OrderRepository orderRepository = repositories.getRepository(OrderRepository.class);
+        InventoryGateway inventoryGateway = new InventoryDatabaseGateway(
+                repositories.getRepository(InventoryRepository.class),
+                new KeysetPager(50, 500, transactionManager, entityManager), objectMapper);
+
+        ProductCatalogCache catalog = new ProductCatalogCache(repositories.getRepository(ProductRepository.class),
+                mock(CacheInvalidationGateway.class), 10, meterRegistry);
+        catalog.start();
+        OrderPlacementWriter placementWriter = new OrderPlacementWriter(orderRepository, inventoryGateway,
+                new OutboxDatabaseGateway(repositories.getRepository(OutboxRepository.class), objectMapper),
+                new TransactionTemplate(transactionManager), objectMapper, meterRegistry);
+        placeOrderUseCase = new PlaceOrderUseCase(catalog, mock(MemberGateway.class),
+                new OrderNumberAllocator(jdbcTemplate, new TransactionTemplate(transactionManager), "SO-", 100, 10),
+                placementWriter, objectMapper, 200, "IDR", Set.of("IDR", "USD"), Set.of("cash", "qris"));
+        settlementWriter = new OrderSettlementWriter(orderRepository, inventoryGateway,
+                new TransactionTemplate(transactionManager), objectMapper, meterRegistry);
+        settleOrderUseCase = new SettleOrderUseCase(settlementWriter);
+
+        tenantId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO app.tenants (id, name, code) VALUES (?, 'Order settlement test', ?)",
+                tenantId, "order-settle-" + tenantId.toString().substring(0, 8));
+        productId = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO app.products (id, tenant_id, sku, name, price, is_active)
+                VALUES (?, ?, 'KOPI-1', 'Kopi Susu', 15000, true)
+                """, productId, tenantId);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (tenantId != null) {
+            jdbcTemplate.update("DELETE FROM app.outbox WHERE tenant_id = ?", tenantId);
+            jdbcTemplate.update("DELETE FROM app.tenants WHERE id = ?", tenantId);
+        }
+        if (entityManagerFactory != null) {
+            entityManagerFactory.close();
+        }
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    @BeforeEach
+    void resetStock() {
+        jdbcTemplate.update("DELETE FROM app.inventories WHERE tenant_id = ?", tenantId);
+        jdbcTemplate.update("""
+                INSERT INTO app.inventories (id, tenant_id, product_id, location, quantity, reserved)
+                VALUES (app.uuid_generate_v7(), ?, ?, NULL, 100, 0), (app.uuid_generate_v7(), ?, ?, ?, 50, 0)
+                """, tenantId, productId, tenantId, productId, STORE);
+    }
+
+    @Test
+    void paymentTakesTheReservedUnitsOutOfStockOnce() {
+        UUID orderId = place(3, 2);
+        assertThat(stock(null)).containsExactly(100L, 3L);
+        assertThat(stock(STORE)).containsExactly(50L, 2L);
+
+        SettledOrder paid = settleOrderUseCase.pay(tenantId, orderId, " QR-123 ");
+
+        assertThat(paid).isEqualTo(new SettledOrder(orderId, "paid", true));
+        assertThat(stock(null)).containsExactly(97L, 0L);
+        assertThat(stock(STORE)).containsExactly(48L, 0L);
+        Map<String, Object> payment = jdbcTemplate.queryForMap(
+                "SELECT status, provider_reference, paid_at FROM app.payments WHERE order_id = ?", orderId);
+        assertThat(payment.get("status")).isEqualTo("paid");
+        assertThat(payment.get("provider_reference")).isEqualTo("QR-123");
+        assertThat(payment.get("paid_at")).isNotNull();
+
+        // a retried callback changes nothing; the order cannot be cancelled any more
+        assertThat(settleOrderUseCase.pay(tenantId, orderId, null)).isEqualTo(new SettledOrder(orderId, "paid", false));
+        assertThat(stock(null)).containsExactly(97L, 0L);
+        assertThatThrownBy(() -> settleOrderUseCase.cancel(tenantId, orderId))
+                .isInstanceOf(OrderStatusConflictException.class);
+    }
+
+    @Test
+    void cancellationGivesTheReservedUnitsBack() {
+        UUID orderId = place(4, 1);
+
+        assertThat(settleOrderUseCase.cancel(tenantId, orderId))
+                .isEqualTo(new SettledOrder(orderId, "cancelled", true));
+
+        assertThat(stock(null)).containsExactly(100L, 0L);
+        assertThat(stock(STORE)).containsExactly(50L, 0L);
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM app.payments WHERE order_id = ?", String.class,
+                orderId)).isEqualTo("cancelled");
+        assertThatThrownBy(() -> settleOrderUseCase.pay(tenantId, orderId, null))
+                .isInstanceOf(OrderStatusConflictException.class);
+        assertThatThrownBy(() -> settleOrderUseCase.cancel(UUID.randomUUID(), orderId))
+                .isInstanceOf(OrderNotFoundException.class);
+    }
+
+    @Test
+    void expiryReleasesOnlyOrdersUnpaidPastTheCutoff() {
+        UUID stale = place(5, 0);
+        UUID fresh = place(1, 0);
+        UUID paid = place(2, 0);
+        jdbcTemplate.update("UPDATE app.orders SET created_at = now() - interval '2 hours' WHERE id IN (?, ?)", stale,
+                paid);
+        settleOrderUseCase.pay(tenantId, paid, null);
+
+        assertThat(settlementWriter.expireCreatedBefore(LocalDateTime.now().minusHours(1), 100)).isEqualTo(1);
+
+        assertThat(status(stale)).isEqualTo("expired");
+        assertThat(status(fresh)).isEqualTo("created");
+        assertThat(status(paid)).isEqualTo("paid");
+        assertThat(stock(null)).containsExactly(98L, 1L);
+    }
+
+    @Test
+    void racingPaymentAndCancellationSettleTheStockExactlyOnce() throws Exception {
+        List<UUID> orders = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            orders.add(place(1, 0));
+        }
+
+        for (UUID orderId : orders) {
+            CountDownLatch start = new CountDownLatch(1);
+            CompletableFuture<String> pay = CompletableFuture.supplyAsync(() -> attempt(start,
+                    () -> settleOrderUseCase.pay(tenantId, orderId, null)));
+            CompletableFuture<String> cancel = CompletableFuture.supplyAsync(() -> attempt(start,
+                    () -> settleOrderUseCase.cancel(tenantId, orderId)));
+            start.countDown();
+            assertThat(List.of(pay.get(10, TimeUnit.SECONDS), cancel.get(10, TimeUnit.SECONDS)))
+                    .containsExactlyInAnyOrder("settled", "conflict");
+        }
+
+        Long paidUnits = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM app.orders WHERE tenant_id = ? AND id = ANY(?) AND status = 'paid'", Long.class,
+                tenantId, orders.toArray(UUID[]::new));
+        assertThat(stock(null)).containsExactly(100L - paidUnits, 0L);
+    }
+
+    @Test
+    void placementRejectsUnsupportedCurrenciesAndProviders() {
+        List<OrderLine> lines = List.of(new OrderLine(productId, null, 1));
+
+        assertThatThrownBy(() -> placeOrderUseCase.place(tenantId, null, "EUR", "cash", lines))
+                .isInstanceOf(InvalidOrderException.class).hasMessageContaining("EUR");
+        assertThatThrownBy(() -> placeOrderUseCase.place(tenantId, null, null, "bitcoin", lines))
+                .isInstanceOf(InvalidOrderException.class).hasMessageContaining("bitcoin");
+        assertThatThrownBy(() -> placeOrderUseCase.place(tenantId, null, null, null, lines))
+                .isInstanceOf(InvalidOrderException.class);
+        assertThat(stock(null)).containsExactly(100L, 0L);
+
+        UUID orderId = placeOrderUseCase.place(tenantId, null, "usd", " QRIS ", lines).order().getId();
+        assertThat(jdbcTemplate.queryForMap("SELECT currency, payment_provider FROM app.payments WHERE order_id = ?",
+                orderId)).containsEntry("currency", "USD").containsEntry("payment_provider", "qris");
+        settleOrderUseCase.cancel(tenantId, orderId);
+    }
+
+    private static String attempt(CountDownLatch start, Runnable settle) {
+        try {
+            start.await();
+            settle.run();
+            return "settled";
+        } catch (OrderStatusConflictException e) {
+            return "conflict";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "interrupted";
+        }
+    }
+
+    private static UUID place(int atDefault, int atStore) {
+        List<OrderLine> lines = new ArrayList<>();
+        if (atDefault > 0) {
+            lines.add(new OrderLine(productId, null, atDefault));
+        }
+        if (atStore > 0) {
+            lines.add(new OrderLine(productId, STORE, atStore));
+        }
+        return placeOrderUseCase.place(tenantId, null, null, "cash", lines).order().getId();
+    }
+
+    private static List<Long> stock(String location) {
+        return jdbcTemplate.queryForObject("""
+                SELECT quantity, reserved FROM app.inventories
+                WHERE tenant_id = ? AND location IS NOT DISTINCT FROM ?
+                """, (rs, rowNum) -> List.of(rs.getLong("quantity"), rs.getLong("reserved")), tenantId, location);
+    }
+
+    private static String status(UUID orderId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM app.orders WHERE id = ?", String.class, orderId);
+    }
+}
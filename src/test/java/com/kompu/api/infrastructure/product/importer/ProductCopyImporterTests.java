@@ -0,0 +1,128 @@
+package com.kompu.api.infrastructure.product.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.entity.product.model.ProductImportResult;
+import com.kompu.api.entity.product.model.ProductModel;
+
+/**
+ * Needs a database with the app schema (initial and uuidv7 migrations); pass
+ * its JDBC url as -Dtest.datasource.url (and
+ * -Dtest.datasource.username/password). Skipped otherwise. The rows it writes
+ * belong to a throwaway tenant removed afterwards.
+ */
+class ProductCopyImporterTests {
+
+    private static String url;
+    private static String username;
+    private static String password;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private ProductCopyImporter importer;
+    private UUID tenantId;
+
+    @BeforeAll
+    static void requireDatabase() {
+        url = System.getProperty("test.datasource.url");
+        username = System.getProperty("test.datasource.username", "postgres");
+        password = System.getProperty("test.datasource.password", "");
+        assumeTrue(url != null && !url.isBlank(), "test.datasource.url not set");
+    }
+
+    @BeforeEach
+    void setUp() {
+        // One connection, so the session temp table is reused across chunks as in the pool
+        dataSource = new SingleConnectionDataSource(url, username, password, true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        importer = new ProductCopyImporter(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        tenantId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO app.tenants (id, name, code) VALUES (?, 'Product import test', ?)",
+                tenantId, "import-test-" + tenantId.toString().substring(0, 8));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (jdbcTemplate != null) {
+            jdbcTemplate.update("DELETE FROM app.tenants WHERE id = ?", tenantId);
+        }
+        if (dataSource != null) {
+            dataSource.destroy();
+        }
+    }
+
+    @Test
+    void chunkUpdatesExistingSkusAndInsertsTheRest() throws Exception {
+        jdbcTemplate.update("""
+                INSERT INTO app.products (tenant_id, sku, name, description, price, cost_price, metadata)
+                VALUES (?, 'K-1', 'Kopi', 'Old description', 10000, 7000, '{"brand": "Kapal Api"}')
+                """, tenantId);
+        jdbcTemplate.update("""
+                INSERT INTO app.products (tenant_id, sku, name, price, deleted_at)
+                VALUES (?, 'K-3', 'Gula (deleted)', 9000, now())
+                """, tenantId);
+
+        ProductImportResult result = importer.upsertBySku(tenantId, List.of(
+                product("k-1", "Kopi Tubruk", null, "12000", "{\"origin\": \"Aceh\"}"),
+                product("K-2", "Teh \"Botol\", 350 ml", "Line one\nline two", "5000", null),
+                product("K-3", "Gula Pasir", null, "15000", null)));
+
+        assertThat(result).isEqualTo(new ProductImportResult(2, 1));
+        Map<String, Object> updated = row("K-1");
+        assertThat(updated.get("name")).isEqualTo("Kopi Tubruk");
+        assertThat((BigDecimal) updated.get("price")).isEqualByComparingTo("12000");
+        // columns left empty keep their value, metadata keys are merged
+        assertThat(updated.get("description")).isEqualTo("Old description");
+        assertThat((BigDecimal) updated.get("cost_price")).isEqualByComparingTo("7000");
+        assertThat(new ObjectMapper().readTree(updated.get("metadata").toString()))
+                .isEqualTo(new ObjectMapper().readTree("{\"brand\": \"Kapal Api\", \"origin\": \"Aceh\"}"));
+
+        Map<String, Object> inserted = row("K-2");
+        assertThat(inserted.get("name")).isEqualTo("Teh \"Botol\", 350 ml");
+        assertThat(inserted.get("description")).isEqualTo("Line one\nline two");
+        assertThat(inserted.get("is_active")).isEqualTo(true);
+        // a deleted product does not take the SKU; a new live one is created beside it
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM app.products WHERE tenant_id = ? AND sku = 'K-3' AND deleted_at IS NULL",
+                Long.class, tenantId)).isEqualTo(1L);
+
+        // the next chunk on the same session finds the staging table empty
+        assertThat(importer.upsertBySku(tenantId, List.of(product("K-2", "Teh Botol", null, "5500", null))))
+                .isEqualTo(new ProductImportResult(0, 1));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM app.products WHERE tenant_id = ?", Long.class,
+                tenantId)).isEqualTo(4L);
+    }
+
+    private Map<String, Object> row(String sku) {
+        return jdbcTemplate.queryForMap(
+                "SELECT * FROM app.products WHERE tenant_id = ? AND sku = ? AND deleted_at IS NULL", tenantId, sku);
+    }
+
+    private static ProductModel product(String sku, String name, String description, String price,
+            String metadata) throws Exception {
+        return ProductModel.builder()
+                .sku(sku)
+                .name(name)
+                .description(description)
+                .price(new BigDecimal(price))
+                .metadata(metadata != null ? new ObjectMapper().readTree(metadata) : null)
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.kompu.api.infrastructure.product.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.kompu.api.entity.product.exception.InvalidProductImportException;
+import com.kompu.api.entity.product.model.ProductImportRow;
+
+class ProductCsvReaderTests {
+
+    @Test
+    void readsQuotedSeparatorsNewlinesAndDoubledQuotes() {
+        List<ProductImportRow> rows = read("""
+                sku,name,description,price
+                K-1,"Kopi, Susu","Line one
+                line two",15000
+                K-2,"Teh ""Botol"" Sosro",,5000
+                """);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).name()).isEqualTo("Kopi, Susu");
+        assertThat(rows.get(0).description()).isEqualTo("Line one\nline two");
+        assertThat(rows.get(0).line()).isEqualTo(2);
+        assertThat(rows.get(1).name()).isEqualTo("Teh \"Botol\" Sosro");
+        assertThat(rows.get(1).description()).isEmpty();
+        // the record after a quoted line break starts on the file's fourth line
+        assertThat(rows.get(1).line()).isEqualTo(4);
+        assertThat(rows.get(1).category()).isNull();
+    }
+
+    @Test
+    void acceptsCrlfLineEndingsAndAByteOrderMark() {
+        List<ProductImportRow> rows = read("\uFEFFSKU, Name ,price\r\nK-1,Kopi,15000\r\n\r\nK-2,\"Teh\r\nManis\",5000");
+
+        assertThat(rows).extracting(ProductImportRow::sku).containsExactly("K-1", "K-2");
+        assertThat(rows).extracting(ProductImportRow::line).containsExactly(2L, 4L);
+        assertThat(rows.get(0).price()).isEqualTo("15000");
+        assertThat(rows.get(1).name()).isEqualTo("Teh\r\nManis");
+        assertThat(rows).extracting(ProductImportRow::error).containsOnlyNulls();
+    }
+
+    @Test
+    void overlongFieldFailsItsRecordAndReadingCarriesOn() {
+        String huge = "x".repeat(ProductCsvReader.MAX_FIELD_LENGTH + 1);
+        List<ProductImportRow> rows = read("sku,name,price\nK-1,\"" + huge + "\",1000\nK-2,Kopi,2000\n");
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).error()).contains("longer than");
+        assertThat(rows.get(0).line()).isEqualTo(2);
+        assertThat(rows.get(1).sku()).isEqualTo("K-2");
+        assertThat(rows.get(1).error()).isNull();
+
+        String atLimit = "x".repeat(ProductCsvReader.MAX_FIELD_LENGTH);
+        assertThat(read("sku,name,price\nK-1," + atLimit + ",1000\n").getFirst().name()).hasSize(atLimit.length());
+    }
+
+    @Test
+    void unterminatedQuoteFailsTheLastRecordOnly() {
+        List<ProductImportRow> rows = read("sku,name,price\nK-1,Kopi,1000\nK-2,\"Teh,2000\nK-3,Gula,3000\n");
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).error()).isNull();
+        assertThat(rows.get(1).line()).isEqualTo(3);
+        assertThat(rows.get(1).error()).isEqualTo("Quoted field is not terminated");
+    }
+
+    @Test
+    void badRecordsBecomeUnreadableRows() {
+        List<ProductImportRow> rows = read("sku,name,price\nK-1,\"Kopi\"x,1000\nK-2,Teh\nK-3,Gula,3000\n");
+
+        assertThat(rows).extracting(ProductImportRow::error).containsExactly(
+                "Unexpected character after a closing quote", "Expected 3 fields, found 2", null);
+    }
+
+    @Test
+    void rejectsAHeaderThatCannotBeImported() {
+        assertThatThrownBy(() -> read("")).isInstanceOf(InvalidProductImportException.class)
+                .hasMessage("The file is empty");
+        assertThatThrownBy(() -> read("sku,name\n")).isInstanceOf(InvalidProductImportException.class)
+                .hasMessageContaining("'price'");
+        assertThatThrownBy(() -> read("sku,name,price,colour\n")).isInstanceOf(InvalidProductImportException.class)
+                .hasMessageContaining("'colour'");
+        assertThatThrownBy(() -> read("sku,name,price,SKU\n")).isInstanceOf(InvalidProductImportException.class)
+                .hasMessageContaining("more than once");
+    }
+
+    private static List<ProductImportRow> read(String csv) {
+        List<ProductImportRow> rows = new ArrayList<>();
+        new ProductCsvReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)))
+                .forEachRemaining(rows::add);
+        return rows;
+    }
+}
@@ -0,0 +1,174 @@
+package com.kompu.api.infrastructure.product.inventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.entity.product.exception.InsufficientStockException;
+import com.kompu.api.entity.product.model.InventoryKey;
+import com.kompu.api.entity.product.model.InventoryReservation;
+import com.kompu.api.infrastructure.config.db.repository.InventoryRepository;
+import com.kompu.api.infrastructure.config.db.repository.InventoryReservationRepository;
+import com.kompu.api.infrastructure.config.db.schema.InventorySchema;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class InventoryLedgerTests {
+
+    private static final UUID INVENTORY_ID = UUID.randomUUID();
+    private static final InventoryKey KEY = new InventoryKey(UUID.randomUUID(), UUID.randomUUID(), null);
+
+    private final InventoryRepository inventoryRepository = mock(InventoryRepository.class);
+    private final InventoryReservationRepository reservationRepository = mock(InventoryReservationRepository.class);
+    private InventoryLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        when(inventoryRepository.findByTenantIdAndProductIdAndLocation(KEY.tenantId(), KEY.productId(), null))
+                .thenReturn(Optional.of(InventorySchema.builder()
+                        .id(INVENTORY_ID)
+                        .tenantId(KEY.tenantId())
+                        .productId(KEY.productId())
+                        .quantity(10L)
+                        .reserved(0L)
+                        .build()));
+        when(inventoryRepository.findAvailable(INVENTORY_ID)).thenReturn(Optional.of(10L));
+        // Not started: each test drives the flusher by hand. A 1 ms tick on 8 slots turns the wheel every 8 ms.
+        ledger = new InventoryLedger(inventoryRepository, reservationRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new ObjectMapper(),
+                new SimpleMeterRegistry(), Duration.ofMinutes(15), Duration.ofMillis(5), Duration.ofHours(1),
+                Duration.ofHours(1), Duration.ofMillis(1), 8);
+    }
+
+    @Test
+    void admitsFromTheCounterAndTurnsAwayShortRequestsWithoutTheDatabase() throws Exception {
+        when(inventoryRepository.reserveIfAvailable(INVENTORY_ID, 6L)).thenReturn(Optional.of(4L));
+
+        CompletableFuture<InventoryReservation> admitted = ledger.reserve(KEY, 6, null);
+        CompletableFuture<InventoryReservation> refused = ledger.reserve(KEY, 5, null);
+
+        assertThat(admitted).isNotDone();
+        assertThat(causeOf(refused)).isInstanceOf(InsufficientStockException.class);
+        verify(inventoryRepository, never()).reserveIfAvailable(INVENTORY_ID, 5L);
+
+        ledger.flush();
+
+        assertThat(admitted.get().quantity()).isEqualTo(6);
+        verify(reservationRepository).insertAll(contains(admitted.get().id().toString()));
+    }
+
+    @Test
+    void writesOneConditionalUpdatePerRowAndFallsBackToArrivalOrder() throws Exception {
+        when(inventoryRepository.reserveIfAvailable(INVENTORY_ID, 9L)).thenReturn(Optional.empty());
+        when(inventoryRepository.reserveIfAvailable(INVENTORY_ID, 3L)).thenReturn(Optional.of(4L));
+        when(inventoryRepository.reserveIfAvailable(INVENTORY_ID, 4L)).thenReturn(Optional.empty());
+        when(inventoryRepository.reserveIfAvailable(INVENTORY_ID, 2L)).thenReturn(Optional.of(2L));
+
+        CompletableFuture<InventoryReservation> first = ledger.reserve(KEY, 3, null);
+        CompletableFuture<InventoryReservation> second = ledger.reserve(KEY, 4, null);
+        CompletableFuture<InventoryReservation> third = ledger.reserve(KEY, 2, null);
+        ledger.flush();
+
+        InOrder order = inOrder(inventoryRepository, reservationRepository);
+        order.verify(inventoryRepository).reserveIfAvailable(INVENTORY_ID, 9L);
+        order.verify(inventoryRepository).reserveIfAvailable(INVENTORY_ID, 3L);
+        order.verify(inventoryRepository).reserveIfAvailable(INVENTORY_ID, 4L);
+        order.verify(inventoryRepository).reserveIfAvailable(INVENTORY_ID, 2L);
+        order.verify(reservationRepository).insertAll(anyString());
+        // The counter was too optimistic, so it is reloaded
+        order.verify(inventoryRepository).findAvailable(INVENTORY_ID);
+
+        assertThat(first.get().quantity()).isEqualTo(3);
+        assertThat(causeOf(second)).isInstanceOf(InsufficientStockException.class);
+        assertThat(third.get().quantity()).isEqualTo(2);
+    }
+
+    @Test
+    void settlementsReachTheDatabaseBeforeTheNextReservations() throws Exception {
+        when(inventoryRepository.reserveIfAvailable(eq(INVENTORY_ID), anyLong())).thenReturn(Optional.of(0L));
+        InventoryReservation held = reserveAndFlush(10);
+
+        // The release hands the units back at once, so the next request fits
+        ledger.release(held.id());
+        CompletableFuture<InventoryReservation> next = ledger.reserve(KEY, 10, null);
+        assertThat(next).isNotDone();
+        ledger.flush();
+
+        InOrder order = inOrder(reservationRepository, inventoryRepository);
+        order.verify(reservationRepository).settle(contains(held.id().toString()), eq("RELEASED"));
+        order.verify(inventoryRepository).reserveIfAvailable(INVENTORY_ID, 10L);
+        assertThat(next.get().quantity()).isEqualTo(10);
+    }
+
+    @Test
+    void expiresHeldReservationsAfterSeveralTurnsOfTheWheel() throws Exception {
+        when(inventoryRepository.reserveIfAvailable(eq(INVENTORY_ID), anyLong())).thenReturn(Optional.of(0L));
+        CompletableFuture<InventoryReservation> future = ledger.reserve(KEY, 10, Duration.ofMillis(30));
+        ledger.flush();
+        InventoryReservation held = future.get();
+
+        ledger.flush();
+        verify(reservationRepository, never()).settle(anyString(), anyString());
+        assertThat(causeOf(ledger.reserve(KEY, 1, null))).isInstanceOf(InsufficientStockException.class);
+
+        Thread.sleep(40);
+        ledger.flush();
+
+        verify(reservationRepository).settle(contains(held.id().toString()), eq("EXPIRED"));
+        assertThat(ledger.reserve(KEY, 10, null)).isNotDone();
+        // Settling after the expiry changes nothing locally
+        ledger.commit(held.id());
+        assertThat(ledger.reserve(KEY, 1, null)).isCompletedExceptionally();
+    }
+
+    @Test
+    void committedReservationsDoNotReturnTheirUnits() throws Exception {
+        when(inventoryRepository.reserveIfAvailable(eq(INVENTORY_ID), anyLong())).thenReturn(Optional.of(0L));
+        InventoryReservation held = reserveAndFlush(10);
+
+        ledger.commit(held.id());
+        ledger.flush();
+
+        verify(reservationRepository).settle(contains(held.id().toString()), eq("COMMITTED"));
+        assertThat(causeOf(ledger.reserve(KEY, 1, null))).isInstanceOf(InsufficientStockException.class);
+    }
+
+    private InventoryReservation reserveAndFlush(long quantity) throws Exception {
+        CompletableFuture<InventoryReservation> future = ledger.reserve(KEY, quantity, null);
+        ledger.flush();
+        return future.get();
+    }
+
+    private static Throwable causeOf(CompletableFuture<?> future) {
+        assertThat(future).isCompletedExceptionally();
+        try {
+            future.get();
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return e;
+        }
+    }
+}
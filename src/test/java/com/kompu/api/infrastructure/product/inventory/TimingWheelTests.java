@@ -0,0 +1,65 @@
+package com.kompu.api.infrastructure.product.inventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTests {
+
+    private static final long START = 1_000;
+
+    // 8 slots of 10 ms: one turn is 80 ms
+    private final TimingWheel<String> wheel = new TimingWheel<>(Duration.ofMillis(10), 8, START);
+    private final List<String> expired = new ArrayList<>();
+
+    @Test
+    void expiresAtTheDeadlineAndNotBefore() {
+        wheel.schedule("a", START + 35);
+
+        assertThat(wheel.advance(START + 30, expired::add)).isZero();
+        assertThat(wheel.advance(START + 34, expired::add)).isZero();
+        assertThat(wheel.advance(START + 35, expired::add)).isEqualTo(1);
+        assertThat(expired).containsExactly("a");
+        assertThat(wheel.advance(START + 200, expired::add)).isZero();
+    }
+
+    @Test
+    void deadlinesBeyondOneTurnWaitForTheirRound() {
+        // Same slot as START + 10, three turns later
+        wheel.schedule("late", START + 250);
+        wheel.schedule("early", START + 10);
+
+        assertThat(wheel.advance(START + 10, expired::add)).isEqualTo(1);
+        for (long now = START + 20; now < START + 250; now += 10) {
+            assertThat(wheel.advance(now, expired::add)).as("at +%d", now - START).isZero();
+        }
+        assertThat(wheel.advance(START + 250, expired::add)).isEqualTo(1);
+        assertThat(expired).containsExactly("early", "late");
+    }
+
+    @Test
+    void gapLongerThanATurnExpiresEverythingDueOnce() {
+        for (int i = 0; i < 40; i++) {
+            wheel.schedule("t" + i, START + i * 9L);
+        }
+        wheel.schedule("future", START + 10_000);
+
+        assertThat(wheel.advance(START + 5_000, expired::add)).isEqualTo(40);
+        assertThat(expired).doesNotHaveDuplicates().doesNotContain("future");
+        assertThat(wheel.advance(START + 6_000, expired::add)).isZero();
+        assertThat(wheel.advance(START + 10_000, expired::add)).isEqualTo(1);
+    }
+
+    @Test
+    void deadlineAlreadyPassedExpiresOnTheNextAdvance() {
+        wheel.advance(START + 100, expired::add);
+        wheel.schedule("overdue", START);
+
+        assertThat(wheel.advance(START + 100, expired::add)).isEqualTo(1);
+        assertThat(expired).containsExactly("overdue");
+    }
+}
@@ -0,0 +1,175 @@
+package com.kompu.api.infrastructure.product.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.kompu.api.entity.product.exception.ProductSearchUnavailableException;
+import com.kompu.api.entity.product.gateway.ProductGateway;
+import com.kompu.api.entity.product.model.ProductModel;
+import com.kompu.api.entity.product.model.ProductSearchQuery;
+import com.kompu.api.entity.product.model.ProductSummary;
+import com.kompu.api.entity.shared.gateway.CacheInvalidationGateway;
+import com.kompu.api.entity.shared.model.CacheInvalidationEvent;
+import com.kompu.api.entity.shared.model.CacheRegion;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ProductSearchIndexTests {
+
+    private static final UUID TENANT = UUID.randomUUID();
+
+    private final ProductGateway productGateway = mock(ProductGateway.class);
+    private final CacheInvalidationGateway cacheInvalidationGateway = mock(CacheInvalidationGateway.class);
+    private final List<String> buildThreads = new CopyOnWriteArrayList<>();
+    private volatile List<ProductModel> catalog = List.of();
+    private volatile CountDownLatch buildGate = new CountDownLatch(0);
+    private ProductSearchIndex index;
+    private Consumer<CacheInvalidationEvent> listener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        doAnswer(invocation -> {
+            buildThreads.add(Thread.currentThread().getName());
+            List<ProductModel> snapshot = catalog;
+            buildGate.await(10, TimeUnit.SECONDS);
+            Consumer<ProductModel> consumer = invocation.getArgument(1);
+            snapshot.forEach(consumer);
+            return (long) snapshot.size();
+        }).when(productGateway).forEachByTenantId(eq(TENANT), any());
+        index = new ProductSearchIndex(productGateway, cacheInvalidationGateway, List.of("brand"),
+                List.of(new BigDecimal("10000")), 10, Duration.ofMillis(200), new SimpleMeterRegistry());
+        index.start();
+        ArgumentCaptor<Consumer<CacheInvalidationEvent>> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(cacheInvalidationGateway).subscribe(eq(CacheRegion.PRODUCTS), captor.capture());
+        listener = captor.getValue();
+    }
+
+    @AfterEach
+    void tearDown() {
+        buildGate.countDown();
+        index.stop();
+    }
+
+    @Test
+    void firstSearchIsServedByABackgroundBuild() {
+        catalog = List.of(product(UUID.randomUUID(), "Kopi Susu"));
+
+        assertThat(names("kopi")).containsExactly("Kopi Susu");
+        assertThat(names("susu")).containsExactly("Kopi Susu");
+
+        assertThat(buildThreads).containsExactly("product-search-build");
+    }
+
+    @Test
+    void slowFirstBuildFailsFastAndIsNotStartedTwice() throws Exception {
+        catalog = List.of(product(UUID.randomUUID(), "Kopi Susu"));
+        buildGate = new CountDownLatch(1);
+
+        assertThatThrownBy(() -> names("kopi")).isInstanceOf(ProductSearchUnavailableException.class);
+        assertThatThrownBy(() -> names("kopi")).isInstanceOf(ProductSearchUnavailableException.class);
+
+        buildGate.countDown();
+        assertThat(eventually("kopi")).containsExactly("Kopi Susu");
+        verify(productGateway, times(1)).forEachByTenantId(eq(TENANT), any());
+    }
+
+    @Test
+    void rebuildKeepsServingTheOldIndexUntilTheSwap() throws Exception {
+        catalog = List.of(product(UUID.randomUUID(), "Kopi Susu"));
+        assertThat(names("kopi")).containsExactly("Kopi Susu");
+
+        catalog = List.of(product(UUID.randomUUID(), "Kopi Hitam"));
+        buildGate = new CountDownLatch(1);
+        listener.accept(event(TENANT.toString()));
+
+        assertThat(names("kopi")).containsExactly("Kopi Susu");
+        buildGate.countDown();
+        assertThat(eventually("hitam")).containsExactly("Kopi Hitam");
+        assertThat(names("susu")).isEmpty();
+    }
+
+    @Test
+    void productChangedDuringARebuildIsReloadedIntoTheNewIndex() throws Exception {
+        UUID productId = UUID.randomUUID();
+        // stubbed up front; Mockito must not be stubbed while the build thread calls the mock
+        when(productGateway.findById(productId)).thenReturn(Optional.of(product(productId, "Teh Tarik")));
+        catalog = List.of(product(productId, "Teh Manis"));
+        assertThat(names("teh")).containsExactly("Teh Manis");
+
+        // the rebuild reads the catalog before the rename commits
+        catalog = List.of(product(productId, "Teh Manis"), product(UUID.randomUUID(), "Teh Hijau"));
+        buildGate = new CountDownLatch(1);
+        listener.accept(CacheInvalidationEvent.regionWide(CacheRegion.PRODUCTS, 2));
+        listener.accept(event(TENANT + ":" + productId));
+        assertThat(names("teh")).containsExactly("Teh Tarik");
+
+        buildGate.countDown();
+        assertThat(eventually("hijau")).containsExactly("Teh Hijau");
+        assertThat(names("teh")).containsExactlyInAnyOrder("Teh Tarik", "Teh Hijau");
+        assertThat(names("manis")).isEmpty();
+    }
+
+    private List<String> names(String text) {
+        return index.search(new ProductSearchQuery(TENANT, text, null, null, null, false, 10)).hits().stream()
+                .map(ProductSummary::name)
+                .toList();
+    }
+
+    private List<String> eventually(String text) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        List<String> last = new ArrayList<>();
+        while (System.nanoTime() < deadline) {
+            try {
+                last = names(text);
+                if (!last.isEmpty()) {
+                    return last;
+                }
+            } catch (ProductSearchUnavailableException e) {
+                // still building
+            }
+            Thread.sleep(10);
+        }
+        return last;
+    }
+
+    private static CacheInvalidationEvent event(String key) {
+        return CacheInvalidationEvent.builder().region(CacheRegion.PRODUCTS).key(key).epoch(1).build();
+    }
+
+    private static ProductModel product(UUID id, String name) {
+        return ProductModel.builder()
+                .id(id)
+                .tenantId(TENANT)
+                .sku("SKU-" + id.toString().substring(0, 6))
+                .name(name)
+                .price(new BigDecimal("5000"))
+                .isActive(true)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,138 @@
+package com.kompu.api.infrastructure.product.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.kompu.api.entity.product.model.ProductModel;
+import com.kompu.api.entity.product.model.ProductSearchQuery;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Latency benchmark for the product search index: one tenant with
+ * {@value #PRODUCTS} generated products, then type-ahead queries of every
+ * shape (one and two letters, words, a typo, a SKU, a blank browse, filters)
+ * timed one by one after a warm-up. Fails when the median of any shape is
+ * over {@value #BUDGET_MICROS} µs; p99 and max are logged next to it. On a
+ * shared single vCPU the p99 of even the cheapest query is a few ms of
+ * scheduler and GC pauses, so judge p99 on a dedicated core.
+ *
+ * Needs a few hundred MB of heap and about a minute; run it with
+ * -Dtest.benchmark=true, skipped otherwise.
+ */
+@Slf4j
+class TenantProductIndexBenchmarkTests {
+
+    private static final int PRODUCTS = 300_000;
+    private static final int CATEGORIES = 400;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 1_000;
+    private static final long BUDGET_MICROS = 1_000;
+
+    private static final String[] BRANDS = { "Indomie", "Sedaap", "Aqua", "Ultra", "Frisian", "Kapal", "Sania",
+            "Bimoli", "Rinso", "Sunlight", "Lifebuoy", "Pepsodent", "Gudang", "Teh", "Kopiko", "Roma", "Oreo",
+            "Chitato", "Taro", "Silverqueen", "Beng", "Pocari", "Milo", "Dancow", "Bear", "Sari", "Khong", "Abc",
+            "Sasa", "Royco" };
+    private static final String[] ITEMS = { "goreng", "kuah", "soto", "rendang", "susu", "kopi", "teh", "minyak",
+            "beras", "gula", "garam", "sabun", "sampo", "pasta", "biskuit", "wafer", "keripik", "coklat", "sirup",
+            "kecap", "saus", "sarden", "mentega", "tepung", "deterjen", "pewangi", "tisu", "popok", "air",
+            "minuman" };
+    private static final String[] VARIANTS = { "original", "pedas", "manis", "asin", "jumbo", "mini", "ekstra",
+            "premium", "hemat", "keluarga", "coklat", "vanila", "stroberi", "melon", "jeruk", "ayam", "sapi",
+            "udang", "keju", "pandan" };
+    private static final String[] SIZES = { "50g", "85g", "100g", "250ml", "500ml", "1l", "1kg", "2kg", "5kg",
+            "isi 10", "isi 24", "pak", "dus", "sachet", "botol" };
+
+    private static TenantProductIndex index;
+    private static UUID tenantId;
+    private static UUID category;
+    private static String sku;
+
+    @BeforeAll
+    static void seed() {
+        assumeTrue(Boolean.getBoolean("test.benchmark"), "set -Dtest.benchmark=true to run");
+        ObjectMapper objectMapper = new ObjectMapper();
+        Random random = new Random(42);
+        UUID[] categories = new UUID[CATEGORIES];
+        for (int i = 0; i < CATEGORIES; i++) {
+            categories[i] = UUID.randomUUID();
+        }
+        tenantId = UUID.randomUUID();
+        category = categories[7];
+        index = new TenantProductIndex(List.of("brand", "barcode", "tags"),
+                List.of(new BigDecimal("10000"), new BigDecimal("50000"), new BigDecimal("100000"),
+                        new BigDecimal("500000"), new BigDecimal("1000000")));
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < PRODUCTS; i++) {
+            String brand = BRANDS[random.nextInt(BRANDS.length)];
+            String name = brand + " " + ITEMS[random.nextInt(ITEMS.length)] + " "
+                    + VARIANTS[random.nextInt(VARIANTS.length)] + " " + SIZES[random.nextInt(SIZES.length)];
+            ObjectNode metadata = objectMapper.createObjectNode()
+                    .put("brand", brand)
+                    .put("barcode", String.format("899%010d", i));
+            index.upsert(ProductModel.builder()
+                    .id(UUID.randomUUID())
+                    .tenantId(tenantId)
+                    .sku(String.format("SKU-%06d", i))
+                    .name(name)
+                    .categoryId(categories[random.nextInt(CATEGORIES)])
+                    .price(BigDecimal.valueOf(500 + random.nextInt(2_000_000)))
+                    .isActive(random.nextInt(20) != 0)
+                    .metadata(metadata)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        sku = String.format("sku%06d", PRODUCTS / 2);
+        log.info("Indexed {} products in {} ms", PRODUCTS, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    @Test
+    void typeAheadQueriesStayUnderTheBudget() {
+        List<String> failures = new ArrayList<>();
+        for (String text : List.of("i", "in", "ind", "indomie go", "indomie goreng pedas", "idnomie",
+                "keluraga", sku, "899000012345", "", "zzzz")) {
+            long p50 = measure(text, null, null);
+            if (p50 > BUDGET_MICROS) {
+                failures.add("'" + text + "' p50 " + p50 + " µs");
+            }
+        }
+        long filtered = measure("su", category, new BigDecimal("50000"));
+        if (filtered > BUDGET_MICROS) {
+            failures.add("'su' in a category under 50000 p50 " + filtered + " µs");
+        }
+        assertThat(failures).isEmpty();
+    }
+
+    private static long measure(String text, UUID categoryId, BigDecimal maxPrice) {
+        ProductSearchQuery query = new ProductSearchQuery(tenantId, text, categoryId, null, maxPrice, false, 20);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            index.search(query);
+        }
+        long[] micros = new long[MEASURED_ROUNDS];
+        long hits = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long startedAt = System.nanoTime();
+            hits = index.search(query).total();
+            micros[i] = (System.nanoTime() - startedAt) / 1_000;
+        }
+        Arrays.sort(micros);
+        long p50 = micros[MEASURED_ROUNDS / 2];
+        long p99 = micros[MEASURED_ROUNDS * 99 / 100];
+        log.info("'{}'{}: {} matches, p50 {} µs, p99 {} µs, max {} µs", text,
+                categoryId != null ? " (category, price)" : "", hits, p50, p99, micros[MEASURED_ROUNDS - 1]);
+        return p50;
+    }
+}
@@ -0,0 +1,252 @@
+package com.kompu.api.infrastructure.product.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.entity.product.model.ProductModel;
+import com.kompu.api.entity.product.model.ProductSearchQuery;
+import com.kompu.api.entity.product.model.ProductSearchResult;
+import com.kompu.api.entity.product.model.ProductSearchResult.CategoryFacet;
+import com.kompu.api.entity.product.model.ProductSearchResult.PriceFacet;
+import com.kompu.api.entity.product.model.ProductSummary;
+
+class TenantProductIndexTests {
+
+    private static final UUID TENANT = UUID.randomUUID();
+    private static final List<BigDecimal> PRICE_BOUNDS = List.of(new BigDecimal("10000"), new BigDecimal("50000"));
+
+    private final TenantProductIndex index = new TenantProductIndex(List.of("brand", "barcode"), PRICE_BOUNDS);
+
+    @Test
+    void ranksExactWordsAbovePrefixesThenShorterNamesFirst() {
+        add("Kopiko Candy", "KPK-1", null, "3000");
+        add("Kopi Susu Gula Aren", "KSG-1", null, "18000");
+        add("Kopi Susu", "KS-1", null, "15000");
+        add("Teh Kopi Jahe", "TKJ-1", null, "9000");
+
+        assertThat(names(search("kopi"))).containsExactly(
+                "Kopi Susu", "Kopi Susu Gula Aren", "Kopiko Candy", "Teh Kopi Jahe");
+        assertThat(names(search("kopi su"))).containsExactly("Kopi Susu", "Kopi Susu Gula Aren");
+    }
+
+    @Test
+    void wholeSkuOutranksNameMatchesWithOrWithoutSeparators() {
+        add("Rak 001 Kayu", "RK-100", null, "50000");
+        add("Rak Besi", "RK-001", null, "75000");
+
+        assertThat(names(search("rk-001"))).first().isEqualTo("Rak Besi");
+        assertThat(names(search("rk001"))).containsExactly("Rak Besi");
+        assertThat(names(search("rk"))).containsExactlyInAnyOrder("Rak Besi", "Rak 001 Kayu");
+    }
+
+    @Test
+    void matchesNearMissesOnlyWhenTooFewHitsAndNeverForCodes() {
+        add("Indomie Goreng", "IDM-1", null, "3500");
+        add("Minyak Goreng Keluarga", "MGK-2", null, "38000");
+        add("Kecap Manis", "KCP-3", null, "12000");
+
+        // one edit below eight letters, two from eight
+        assertThat(names(search("indomye"))).containsExactly("Indomie Goreng");
+        assertThat(names(search("keluraga"))).containsExactly("Minyak Goreng Keluarga");
+        // two edits on a seven-letter word, a three-letter word and a code stay exact
+        assertThat(search("idnomie").hits()).isEmpty();
+        assertThat(search("kecep").hits()).extracting(ProductSummary::name).containsExactly("Kecap Manis");
+        assertThat(search("kex").hits()).isEmpty();
+        assertThat(search("kcp4").hits()).isEmpty();
+
+        // an exact hit keeps the near misses out once it fills the page
+        assertThat(names(search("goreng", 1))).hasSize(1);
+        assertThat(names(search("gorang"))).containsExactlyInAnyOrder("Indomie Goreng", "Minyak Goreng Keluarga");
+    }
+
+    @Test
+    void nearMissesRankBelowPrefixMatches() {
+        add("Sabun Cuci", "SBN-1", null, "8000");
+        add("Saban Piring", "SBN-2", null, "8000");
+
+        List<String> hits = names(search("sabun c", 10));
+        assertThat(hits).containsExactly("Sabun Cuci");
+        assertThat(names(search("sabon", 10))).containsExactly("Sabun Cuci", "Saban Piring");
+    }
+
+    @Test
+    void facetsIgnoreTheirOwnFilterAndSkipInactiveProducts() {
+        UUID drinks = UUID.randomUUID();
+        UUID snacks = UUID.randomUUID();
+        add("Teh Botol", "T-1", drinks, "5000");
+        add("Teh Kotak", "T-2", drinks, "6000");
+        add("Teh Premium", "T-3", drinks, "60000");
+        add("Teh Celup Biskuit", "T-4", snacks, "12000");
+        add("Teh Tarik Lama", "T-5", snacks, "7000", false);
+
+        ProductSearchResult result = index.search(
+                new ProductSearchQuery(TENANT, "teh", drinks, null, new BigDecimal("10000"), false, 10));
+
+        assertThat(names(result)).containsExactly("Teh Botol", "Teh Kotak");
+        assertThat(result.total()).isEqualTo(2);
+        // categories within the price bounds, prices within the category
+        assertThat(result.categories()).containsExactly(new CategoryFacet(drinks, 2));
+        assertThat(result.prices()).extracting(PriceFacet::count).containsExactly(2L, 0L, 1L);
+
+        ProductSearchResult all = index.search(new ProductSearchQuery(TENANT, "teh", null, null, null, true, 10));
+        assertThat(all.total()).isEqualTo(5);
+        assertThat(all.categories()).containsExactly(new CategoryFacet(drinks, 3), new CategoryFacet(snacks, 2));
+        assertThat(all.prices()).extracting(PriceFacet::count).containsExactly(3L, 1L, 1L);
+    }
+
+    @Test
+    void broadQueriesCountEveryHitAndRankTheShortestNames() {
+        UUID[] categories = { UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID() };
+        List<ProductModel> products = new ArrayList<>();
+        for (int i = 0; i < 6_000; i++) {
+            String name = "Item " + "x".repeat(i % 37) + " " + i;
+            products.add(add(name, "S-" + i, categories[i % 3], String.valueOf(1_000 + (i * 7919) % 90_000),
+                    i % 11 != 0));
+        }
+        add("Other thing", "O-1", categories[0], "100");
+
+        ProductSearchQuery query = new ProductSearchQuery(TENANT, "it", categories[1], null,
+                new BigDecimal("50000"), false, 20);
+        ProductSearchResult result = index.search(query);
+
+        List<ProductModel> expected = products.stream()
+                .filter(ProductModel::getIsActive)
+                .filter(product -> product.getCategoryId().equals(categories[1]))
+                .filter(product -> product.getPrice().compareTo(new BigDecimal("50000")) < 0)
+                .toList();
+        assertThat(result.total()).isEqualTo(expected.size());
+        assertThat(names(result)).containsExactlyElementsOf(expected.stream()
+                .map(ProductModel::getName)
+                .sorted(Comparator.comparingInt(String::length))
+                .limit(20)
+                .toList());
+
+        Map<UUID, Long> byCategory = new HashMap<>();
+        long[] byPrice = new long[3];
+        for (ProductModel product : products) {
+            if (!product.getIsActive()) {
+                continue;
+            }
+            BigDecimal price = product.getPrice();
+            if (price.compareTo(new BigDecimal("50000")) < 0) {
+                byCategory.merge(product.getCategoryId(), 1L, Long::sum);
+            }
+            if (product.getCategoryId().equals(categories[1])) {
+                byPrice[price.compareTo(PRICE_BOUNDS.get(0)) < 0 ? 0
+                        : price.compareTo(PRICE_BOUNDS.get(1)) < 0 ? 1 : 2]++;
+            }
+        }
+        assertThat(result.categories()).containsExactlyInAnyOrderElementsOf(byCategory.entrySet().stream()
+                .map(entry -> new CategoryFacet(entry.getKey(), entry.getValue()))
+                .toList());
+        assertThat(result.prices()).extracting(PriceFacet::count).containsExactly(byPrice[0], byPrice[1], byPrice[2]);
+
+        // the same again from the cached postings and facet counts
+        assertThat(index.search(query)).isEqualTo(result);
+
+        // unfiltered, ranking walks the names shortest first and stops early
+        ProductSearchResult unfiltered = search("it", 20);
+        List<ProductModel> active = products.stream().filter(ProductModel::getIsActive).toList();
+        assertThat(unfiltered.total()).isEqualTo(active.size());
+        assertThat(names(unfiltered)).containsExactlyElementsOf(active.stream()
+                .map(ProductModel::getName)
+                .sorted(Comparator.comparingInt(String::length))
+                .limit(20)
+                .toList());
+    }
+
+    @Test
+    void compactionKeepsLiveProductsSearchable() {
+        List<ProductModel> products = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            products.add(add("Gula Pasir " + i, "GP-" + i, null, "15000"));
+        }
+        // 2000 tombstones, well past a quarter of the ordinals, so the index re-numbers itself
+        for (int i = 0; i < 1_000; i++) {
+            ProductModel product = products.get(i);
+            product.setName("Gula Aren " + i);
+            index.upsert(product);
+        }
+        for (int i = 1_000; i < 2_000; i++) {
+            index.remove(products.get(i).getId());
+        }
+        ProductModel deleted = products.get(2_999);
+        deleted.setDeletedAt(LocalDateTime.now());
+        index.upsert(deleted);
+
+        assertThat(index.size()).isEqualTo(1_999);
+        assertThat(search("gula aren", 5_000).total()).isEqualTo(1_000);
+        assertThat(search("gula pasir", 5_000).total()).isEqualTo(999);
+        assertThat(names(search("gula aren 17"))).first().isEqualTo("Gula Aren 17");
+        assertThat(names(search("gp-2500"))).containsExactly("Gula Pasir 2500");
+        assertThat(search("gp-1500").hits()).isEmpty();
+        assertThat(search("gp-2999").hits()).isEmpty();
+
+        // writes after the compaction land on the new ordinals
+        add("Gula Batu", "GB-1", null, "20000");
+        assertThat(names(search("gula batu"))).containsExactly("Gula Batu");
+        assertThat(names(search("gulla batu"))).containsExactly("Gula Batu");
+    }
+
+    @Test
+    void searchesMetadataKeysAndBrowsesWithoutText() {
+        ProductModel product = product("Mie Instan", "MI-1", null, "3000", true);
+        product.setMetadata(new ObjectMapper().createObjectNode()
+                .put("brand", "Sedaap")
+                .put("barcode", "8998866200301")
+                .put("supplier", "Wings"));
+        index.upsert(product);
+        add("Mie Telur", "MT-1", null, "9000");
+
+        assertThat(names(search("sedaap"))).containsExactly("Mie Instan");
+        assertThat(names(search("89988662"))).containsExactly("Mie Instan");
+        assertThat(search("wings").hits()).isEmpty();
+        assertThat(search("").total()).isEqualTo(2);
+    }
+
+    private ProductSearchResult search(String text) {
+        return search(text, 10);
+    }
+
+    private ProductSearchResult search(String text, int limit) {
+        return index.search(new ProductSearchQuery(TENANT, text, null, null, null, false, limit));
+    }
+
+    private static List<String> names(ProductSearchResult result) {
+        return result.hits().stream().map(ProductSummary::name).toList();
+    }
+
+    private ProductModel add(String name, String sku, UUID categoryId, String price) {
+        return add(name, sku, categoryId, price, true);
+    }
+
+    private ProductModel add(String name, String sku, UUID categoryId, String price, boolean active) {
+        ProductModel product = product(name, sku, categoryId, price, active);
+        index.upsert(product);
+        return product;
+    }
+
+    private static ProductModel product(String name, String sku, UUID categoryId, String price, boolean active) {
+        return ProductModel.builder()
+                .id(UUID.randomUUID())
+                .tenantId(TENANT)
+                .sku(sku)
+                .name(name)
+                .categoryId(categoryId)
+                .price(new BigDecimal(price))
+                .isActive(active)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
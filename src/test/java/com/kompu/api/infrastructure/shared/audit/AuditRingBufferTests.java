@@ -0,0 +1,195 @@
+package com.kompu.api.infrastructure.shared.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class AuditRingBufferTests {
+
+    private static final int PRODUCERS = 4;
+    private static final int CONSUMERS = 3;
+    private static final int ITEMS_PER_PRODUCER = 10_000;
+
+    @Test
+    void roundsCapacityUpToPowerOfTwo() {
+        assertThat(new AuditRingBuffer<String>(1).capacity()).isEqualTo(2);
+        assertThat(new AuditRingBuffer<String>(5).capacity()).isEqualTo(8);
+        assertThat(new AuditRingBuffer<String>(16).capacity()).isEqualTo(16);
+    }
+
+    @Test
+    void rejectsWhenFullAndReturnsNullWhenEmptyOnEveryLap() {
+        AuditRingBuffer<Integer> ring = new AuditRingBuffer<>(4);
+
+        for (int lap = 0; lap < 1_000; lap++) {
+            for (int i = 0; i < 4; i++) {
+                assertThat(ring.offer(lap * 4 + i)).isTrue();
+            }
+            assertThat(ring.offer(-1)).isFalse();
+            assertThat(ring.size()).isEqualTo(4);
+
+            List<Integer> drained = new ArrayList<>();
+            assertThat(ring.drainTo(drained, 10)).isEqualTo(4);
+            assertThat(drained).containsExactly(lap * 4, lap * 4 + 1, lap * 4 + 2, lap * 4 + 3);
+            assertThat(ring.poll()).isNull();
+            assertThat(ring.size()).isZero();
+        }
+    }
+
+    @Test
+    void interleavedOfferAndPollKeepFifoOrderAcrossWraparound() {
+        AuditRingBuffer<Integer> ring = new AuditRingBuffer<>(8);
+        int next = 0;
+        int expected = 0;
+
+        for (int round = 0; round < 500; round++) {
+            for (int i = 0; i < 5; i++) {
+                assertThat(ring.offer(next++)).isTrue();
+            }
+            for (int i = 0; i < 3; i++) {
+                assertThat(ring.poll()).isEqualTo(expected++);
+            }
+            while (ring.size() > 3) {
+                assertThat(ring.poll()).isEqualTo(expected++);
+            }
+        }
+        Integer item;
+        while ((item = ring.poll()) != null) {
+            assertThat(item).isEqualTo(expected++);
+        }
+        assertThat(expected).isEqualTo(next);
+    }
+
+    @Test
+    void concurrentProducersAndConsumersDeliverEveryItemExactlyOnce() throws Exception {
+        // A small ring so producers keep finding it full and slots are reused thousands of times
+        AuditRingBuffer<Long> ring = new AuditRingBuffer<>(64);
+        int total = PRODUCERS * ITEMS_PER_PRODUCER;
+        AtomicInteger consumed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS + CONSUMERS);
+        try {
+            for (int p = 0; p < PRODUCERS; p++) {
+                long producer = p;
+                executor.submit(() -> {
+                    start.await();
+                    for (long sequence = 0; sequence < ITEMS_PER_PRODUCER; sequence++) {
+                        while (!ring.offer(producer << 32 | sequence)) {
+                            if (Thread.currentThread().isInterrupted()) {
+                                return null;
+                            }
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                });
+            }
+            List<Future<List<Long>>> consumers = new ArrayList<>();
+            for (int c = 0; c < CONSUMERS; c++) {
+                consumers.add(executor.submit(() -> {
+                    start.await();
+                    List<Long> received = new ArrayList<>();
+                    while (consumed.get() < total && !Thread.currentThread().isInterrupted()) {
+                        Long item = ring.poll();
+                        if (item == null) {
+                            Thread.yield();
+                            continue;
+                        }
+                        assertThat(ring.size()).isLessThanOrEqualTo(ring.capacity());
+                        received.add(item);
+                        consumed.incrementAndGet();
+                    }
+                    return received;
+                }));
+            }
+            start.countDown();
+
+            BitSet[] seen = new BitSet[PRODUCERS];
+            for (int p = 0; p < PRODUCERS; p++) {
+                seen[p] = new BitSet(ITEMS_PER_PRODUCER);
+            }
+            int received = 0;
+            for (Future<List<Long>> consumer : consumers) {
+                long[] lastSequence = new long[PRODUCERS];
+                Arrays.fill(lastSequence, -1);
+                for (long item : consumer.get(60, TimeUnit.SECONDS)) {
+                    int producer = (int) (item >>> 32);
+                    int sequence = (int) item;
+                    // Each producer's items sit in increasing ring positions, so any one consumer sees them in order
+                    assertThat(sequence).isGreaterThan((int) lastSequence[producer]);
+                    lastSequence[producer] = sequence;
+                    assertThat(seen[producer].get(sequence)).as("duplicate %d/%d", producer, sequence).isFalse();
+                    seen[producer].set(sequence);
+                    received++;
+                }
+            }
+
+            assertThat(received).isEqualTo(total);
+            for (int p = 0; p < PRODUCERS; p++) {
+                assertThat(seen[p].cardinality()).isEqualTo(ITEMS_PER_PRODUCER);
+            }
+            assertThat(ring.poll()).isNull();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void producersPollingForRoomNeverLoseOrDuplicateItems() throws Exception {
+        // The drop-oldest policy polls from producer threads; every item is either consumed or counted as evicted
+        AuditRingBuffer<Long> ring = new AuditRingBuffer<>(16);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS);
+        List<Future<List<Long>>> producers = new ArrayList<>();
+        try {
+            for (int p = 0; p < PRODUCERS; p++) {
+                long producer = p;
+                producers.add(executor.submit(() -> {
+                    start.await();
+                    List<Long> evicted = new ArrayList<>();
+                    for (long sequence = 0; sequence < ITEMS_PER_PRODUCER; sequence++) {
+                        while (!ring.offer(producer << 32 | sequence)) {
+                            Long oldest = ring.poll();
+                            if (oldest != null) {
+                                evicted.add(oldest);
+                            }
+                        }
+                    }
+                    return evicted;
+                }));
+            }
+            start.countDown();
+
+            BitSet[] seen = new BitSet[PRODUCERS];
+            for (int p = 0; p < PRODUCERS; p++) {
+                seen[p] = new BitSet(ITEMS_PER_PRODUCER);
+            }
+            List<Long> all = new ArrayList<>();
+            for (Future<List<Long>> producer : producers) {
+                all.addAll(producer.get(60, TimeUnit.SECONDS));
+            }
+            ring.drainTo(all, ring.capacity());
+
+            for (long item : all) {
+                int producer = (int) (item >>> 32);
+                int sequence = (int) item;
+                assertThat(seen[producer].get(sequence)).as("duplicate %d/%d", producer, sequence).isFalse();
+                seen[producer].set(sequence);
+            }
+            assertThat(all).hasSize(PRODUCERS * ITEMS_PER_PRODUCER);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
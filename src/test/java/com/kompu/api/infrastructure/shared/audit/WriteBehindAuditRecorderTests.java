@@ -0,0 +1,121 @@
+package com.kompu.api.infrastructure.shared.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.entity.system.model.ActivityLogModel;
+import com.kompu.api.infrastructure.config.db.repository.ActivityLogRepository;
+import com.kompu.api.infrastructure.config.db.repository.AuthAuditRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class WriteBehindAuditRecorderTests {
+
+    private static final int CAPACITY = 2;
+
+    private ActivityLogRepository activityLogRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private WriteBehindAuditRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        activityLogRepository = mock(ActivityLogRepository.class);
+        when(activityLogRepository.insertAll(anyString())).thenReturn(CAPACITY);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (recorder != null) {
+            recorder.stop();
+        }
+    }
+
+    @Test
+    void blockedCallerWakesTheWriterAndTakesTheFreedSlot() {
+        // The writer would otherwise sleep a whole minute between drains
+        recorder = recorder(TimeUnit.MINUTES.toMillis(1), 5_000, 4);
+        recorder.start();
+        fill();
+
+        long startedAt = System.nanoTime();
+        assertThat(recorder.recordActivity(entry())).isTrue();
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isLessThan(2_000);
+        // The freed slot may be drained with the first batch or in a batch of its own
+        verify(activityLogRepository, timeout(2_000).atLeastOnce()).insertAll(anyString());
+        assertThat(count("dropped")).isZero();
+    }
+
+    @Test
+    void blockedCallerGivesUpAfterTheBlockTimeout() {
+        // Writer never started, as if the database had stalled it
+        recorder = recorder(50, 100, 4);
+        fill();
+
+        long startedAt = System.nanoTime();
+        assertThat(recorder.recordActivity(entry())).isFalse();
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isGreaterThanOrEqualTo(100);
+        assertThat(count("dropped")).isEqualTo(1);
+        assertThat(count("recorded")).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    void callersBeyondMaxBlockedThreadsDropWithoutWaiting() throws Exception {
+        recorder = recorder(50, 1_000, 1);
+        fill();
+        Thread[] waiter = new Thread[1];
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> {
+            waiter[0] = Thread.currentThread();
+            return recorder.recordActivity(entry());
+        });
+        while (waiter[0] == null || waiter[0].getState() != Thread.State.TIMED_WAITING) {
+            Thread.onSpinWait();
+        }
+
+        long startedAt = System.nanoTime();
+        assertThat(recorder.recordActivity(entry())).isFalse();
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isLessThan(500);
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(count("dropped")).isEqualTo(2);
+    }
+
+    private WriteBehindAuditRecorder recorder(long flushIntervalMillis, long blockTimeoutMillis, int maxBlocked) {
+        return new WriteBehindAuditRecorder(CAPACITY, 100, flushIntervalMillis, blockTimeoutMillis, maxBlocked,
+                AuditOverflowPolicy.BLOCK, null, activityLogRepository, mock(AuthAuditRepository.class),
+                new ObjectMapper(), meterRegistry);
+    }
+
+    private void fill() {
+        for (int i = 0; i < CAPACITY; i++) {
+            assertThat(recorder.recordActivity(entry())).isTrue();
+        }
+    }
+
+    private static ActivityLogModel entry() {
+        return ActivityLogModel.builder()
+                .tenantId(UUID.randomUUID())
+                .action("product.update")
+                .resourceType("product")
+                .build();
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("audit.recorder.entries").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,127 @@
+package com.kompu.api.infrastructure.shared.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.kompu.api.entity.shared.model.CacheInvalidationEvent;
+import com.kompu.api.entity.shared.model.CacheRegion;
+
+/**
+ * Two buses on one InMemoryInvalidationTransport standing in for two nodes.
+ */
+class CacheInvalidationBusTests {
+
+    private final InMemoryInvalidationTransport transport = new InMemoryInvalidationTransport();
+    private final CacheInvalidationBus nodeA = new CacheInvalidationBus(transport);
+    private final CacheInvalidationBus nodeB = new CacheInvalidationBus(transport);
+    private final List<CacheInvalidationEvent> receivedByA = new ArrayList<>();
+    private final List<CacheInvalidationEvent> receivedByB = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        nodeA.subscribe(CacheRegion.APP_CONFIG, receivedByA::add);
+        nodeB.subscribe(CacheRegion.APP_CONFIG, receivedByB::add);
+        nodeA.start();
+        nodeB.start();
+    }
+
+    @Test
+    void publishEvictsOnEveryNodeAndAdvancesTheirEpochs() {
+        nodeA.publish(CacheRegion.APP_CONFIG, "theme");
+
+        assertThat(receivedByB).singleElement().satisfies(event -> {
+            assertThat(event.getKey()).isEqualTo("theme");
+            assertThat(event.getOriginNodeId()).isEqualTo(nodeA.getNodeId());
+            assertThat(event.getEpoch()).isEqualTo(1);
+        });
+        // Once from the transport, once locally right away
+        assertThat(receivedByA).hasSize(2).allMatch(event -> "theme".equals(event.getKey()));
+        assertThat(nodeA.getSeenEpoch(CacheRegion.APP_CONFIG)).isEqualTo(1);
+        assertThat(nodeB.getSeenEpoch(CacheRegion.APP_CONFIG)).isEqualTo(1);
+    }
+
+    @Test
+    void publishRegionSendsARegionWideEvent() {
+        nodeA.publishRegion(CacheRegion.APP_CONFIG);
+
+        assertThat(receivedByB).singleElement().matches(CacheInvalidationEvent::isRegionWide);
+    }
+
+    @Test
+    void eventsOnlyReachSubscribersOfTheirRegion() {
+        nodeA.publish(CacheRegion.FEATURE_FLAGS, "tenant");
+
+        assertThat(receivedByB).isEmpty();
+        assertThat(nodeB.getSeenEpoch(CacheRegion.FEATURE_FLAGS)).isEqualTo(1);
+    }
+
+    @Test
+    void resyncDropsRegionsChangedWhileDisconnected() {
+        transport.suspendDelivery();
+        nodeA.publish(CacheRegion.APP_CONFIG, "missed");
+        nodeA.publish(CacheRegion.APP_CONFIG, "missed-again");
+        assertThat(receivedByB).isEmpty();
+
+        transport.resumeDelivery();
+
+        assertThat(receivedByB).singleElement().satisfies(event -> {
+            assertThat(event.isRegionWide()).isTrue();
+            assertThat(event.getEpoch()).isEqualTo(2);
+        });
+    }
+
+    @Test
+    void resyncIgnoresEpochsAlreadySeen() {
+        nodeA.publish(CacheRegion.APP_CONFIG, "seen");
+        receivedByB.clear();
+
+        nodeB.onResync(transport.currentEpochs());
+        nodeB.onResync(Map.of(CacheRegion.APP_CONFIG, 0L));
+
+        assertThat(receivedByB).isEmpty();
+    }
+
+    @Test
+    void lateStarterDropsRegionsWrittenBeforeItListened() {
+        nodeA.publish(CacheRegion.APP_CONFIG, "before");
+        CacheInvalidationBus late = new CacheInvalidationBus(transport);
+        List<CacheInvalidationEvent> receivedByLate = new ArrayList<>();
+        late.subscribe(CacheRegion.APP_CONFIG, receivedByLate::add);
+
+        late.start();
+
+        assertThat(receivedByLate).singleElement().matches(CacheInvalidationEvent::isRegionWide);
+        assertThat(late.getSeenEpoch(CacheRegion.APP_CONFIG)).isEqualTo(1);
+    }
+
+    @Test
+    void failingListenerDoesNotStopTheOthers() {
+        List<CacheInvalidationEvent> after = new ArrayList<>();
+        nodeB.subscribe(CacheRegion.APP_CONFIG, event -> {
+            throw new IllegalStateException("listener failed");
+        });
+        nodeB.subscribe(CacheRegion.APP_CONFIG, after::add);
+
+        nodeA.publish(CacheRegion.APP_CONFIG, "theme");
+
+        assertThat(receivedByB).hasSize(1);
+        assertThat(after).hasSize(1);
+    }
+
+    @Test
+    void stoppedNodeNoLongerReceives() {
+        transport.stop();
+
+        nodeA.publish(CacheRegion.APP_CONFIG, "theme");
+
+        assertThat(receivedByB).isEmpty();
+        // The publishing node still evicts its own entries
+        assertThat(receivedByA).hasSize(1);
+    }
+}
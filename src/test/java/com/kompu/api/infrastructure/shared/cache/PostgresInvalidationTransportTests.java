@@ -0,0 +1,242 @@
+package com.kompu.api.infrastructure.shared.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.entity.shared.model.CacheInvalidationEvent;
+import com.kompu.api.entity.shared.model.CacheRegion;
+
+/**
+ * Two buses, each on its own transport and LISTEN connection, standing in for
+ * two nodes sharing one PostgreSQL database.
+ *
+ * Needs a database the test may create app.cache_epochs in; pass its JDBC url
+ * as -Dtest.datasource.url (and -Dtest.datasource.username/password).
+ * Skipped otherwise.
+ */
+class PostgresInvalidationTransportTests {
+
+    private static final long WAIT_SECONDS = 5;
+
+    private static String url;
+    private static String username;
+    private static String password;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writerTransaction;
+    private CacheInvalidationBus nodeA;
+    private CacheInvalidationBus nodeB;
+    private final BlockingQueue<CacheInvalidationEvent> receivedByB = new LinkedBlockingQueue<>();
+
+    @BeforeAll
+    static void requireDatabase() {
+        url = System.getProperty("test.datasource.url");
+        username = System.getProperty("test.datasource.username", "postgres");
+        password = System.getProperty("test.datasource.password", "");
+        assumeTrue(url != null && !url.isBlank(), "test.datasource.url not set");
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new DriverManagerDataSource(url, username, password);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS app");
+        jdbcTemplate.execute(Files.readString(Path.of("migration/cache_invalidation_18102026.sql")));
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writerTransaction = new TransactionTemplate(transactionManager);
+        nodeA = new CacheInvalidationBus(transport(transactionManager));
+        nodeB = new CacheInvalidationBus(transport(transactionManager));
+        nodeB.subscribe(CacheRegion.APP_CONFIG, receivedByB::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (nodeA != null) {
+            nodeA.stop();
+        }
+        if (nodeB != null) {
+            nodeB.stop();
+        }
+    }
+
+    @Test
+    void deliversAnInvalidationToTheOtherNode() throws Exception {
+        startBoth();
+
+        nodeA.publish(CacheRegion.APP_CONFIG, "theme");
+
+        CacheInvalidationEvent event = receivedByB.poll(WAIT_SECONDS, TimeUnit.SECONDS);
+        assertThat(event).isNotNull();
+        assertThat(event.getKey()).isEqualTo("theme");
+        assertThat(event.getOriginNodeId()).isEqualTo(nodeA.getNodeId());
+        assertThat(nodeB.getSeenEpoch(CacheRegion.APP_CONFIG)).isEqualTo(currentEpoch());
+    }
+
+    @Test
+    void announcesAWriteOnlyOnceItCommits() throws Exception {
+        startBoth();
+        CountDownLatch published = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> writerTransaction.executeWithoutResult(
+                status -> {
+                    nodeA.publish(CacheRegion.APP_CONFIG, "uncommitted");
+                    published.countDown();
+                    await(commit);
+                }));
+        assertThat(published.await(WAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        assertThat(receivedByB.poll(1, TimeUnit.SECONDS)).isNull();
+
+        commit.countDown();
+        writer.get(WAIT_SECONDS, TimeUnit.SECONDS);
+        CacheInvalidationEvent event = receivedByB.poll(WAIT_SECONDS, TimeUnit.SECONDS);
+        assertThat(event).isNotNull();
+        assertThat(event.getKey()).isEqualTo("uncommitted");
+    }
+
+    @Test
+    void dropsTheAnnouncementOfARolledBackWrite() throws Exception {
+        startBoth();
+
+        writerTransaction.executeWithoutResult(status -> {
+            nodeA.publish(CacheRegion.APP_CONFIG, "rolled-back");
+            status.setRollbackOnly();
+        });
+
+        assertThat(receivedByB.poll(1, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    void openWriterDoesNotHoldTheEpochRow() throws Exception {
+        startBoth();
+        CountDownLatch published = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        CompletableFuture<Void> slowWriter = CompletableFuture.runAsync(() -> writerTransaction
+                .executeWithoutResult(status -> {
+                    nodeA.publish(CacheRegion.APP_CONFIG, "slow");
+                    published.countDown();
+                    await(commit);
+                }));
+        assertThat(published.await(WAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+
+        // Would block on the region's row until the slow writer commits if both bumped it in-transaction
+        CompletableFuture.runAsync(() -> writerTransaction.executeWithoutResult(
+                status -> nodeB.publish(CacheRegion.APP_CONFIG, "fast")))
+                .get(WAIT_SECONDS, TimeUnit.SECONDS);
+
+        commit.countDown();
+        slowWriter.get(WAIT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void resyncDropsRegionsChangedWhileNotListening() throws Exception {
+        nodeA.start();
+        nodeA.publish(CacheRegion.APP_CONFIG, "missed");
+
+        nodeB.start();
+
+        CacheInvalidationEvent event = receivedByB.poll(WAIT_SECONDS, TimeUnit.SECONDS);
+        assertThat(event).isNotNull();
+        assertThat(event.isRegionWide()).isTrue();
+        assertThat(event.getEpoch()).isEqualTo(currentEpoch());
+    }
+
+    @Test
+    void failedAnnouncementAfterCommitIsRetriedRegionWide() throws Exception {
+        startBoth();
+        AtomicBoolean failNext = new AtomicBoolean(true);
+        JdbcTemplate failingOnce = new JdbcTemplate(dataSource) {
+            @Override
+            public <T> T queryForObject(String sql, RowMapper<T> rowMapper, Object... args) {
+                if (failNext.getAndSet(false)) {
+                    throw new DataAccessResourceFailureException("connection lost");
+                }
+                return super.queryForObject(sql, rowMapper, args);
+            }
+        };
+        PostgresInvalidationTransport transport = new PostgresInvalidationTransport(failingOnce,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), new ObjectMapper(), url,
+                username, password, 60_000);
+        long before = currentEpoch();
+
+        // The write has committed; the failed announcement must not surface to the writer
+        writerTransaction.executeWithoutResult(status -> transport.publish(CacheRegion.APP_CONFIG, "lost",
+                nodeA.getNodeId()));
+        assertThat(receivedByB.poll(1, TimeUnit.SECONDS)).isNull();
+        assertThat(currentEpoch()).isEqualTo(before);
+
+        transport.announceUnannounced();
+
+        CacheInvalidationEvent event = receivedByB.poll(WAIT_SECONDS, TimeUnit.SECONDS);
+        assertThat(event).isNotNull();
+        assertThat(event.isRegionWide()).isTrue();
+        assertThat(event.getEpoch()).isEqualTo(before + 1);
+
+        // Nothing left to retry
+        transport.announceUnannounced();
+        assertThat(currentEpoch()).isEqualTo(before + 1);
+    }
+
+    private PostgresInvalidationTransport transport(DataSourceTransactionManager transactionManager) {
+        TransactionTemplate publishTransaction = new TransactionTemplate(transactionManager);
+        publishTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return new PostgresInvalidationTransport(jdbcTemplate, publishTransaction, new ObjectMapper(), url,
+                username, password, 60_000);
+    }
+
+    // The listeners connect in the background; probe until node B hears node A
+    private void startBoth() throws InterruptedException {
+        nodeA.start();
+        nodeB.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WAIT_SECONDS);
+        while (System.nanoTime() < deadline) {
+            nodeA.publish(CacheRegion.APP_CONFIG, "probe");
+            CacheInvalidationEvent event;
+            while ((event = receivedByB.poll(200, TimeUnit.MILLISECONDS)) != null) {
+                if ("probe".equals(event.getKey())) {
+                    receivedByB.clear();
+                    return;
+                }
+            }
+        }
+        throw new AssertionError("Node B never started listening");
+    }
+
+    private long currentEpoch() {
+        return jdbcTemplate.queryForObject("SELECT epoch FROM app.cache_epochs WHERE region = 'APP_CONFIG'",
+                Long.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
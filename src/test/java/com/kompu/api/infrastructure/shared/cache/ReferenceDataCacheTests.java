@@ -0,0 +1,52 @@
+package com.kompu.api.infrastructure.shared.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.kompu.api.entity.permission.model.PermissionModel;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReferenceDataCacheTests {
+
+    private final PermissionModel permission = PermissionModel.builder()
+            .id(UUID.randomUUID())
+            .code("member.read")
+            .description("Read members")
+            .build();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReferenceDataCache<PermissionModel> cache = new ReferenceDataCache<>(
+            "permissions",
+            () -> List.of(permission),
+            Map.<String, Function<PermissionModel, ?>>of("code", PermissionModel::getCode),
+            model -> model.toBuilder().build(),
+            meterRegistry);
+
+    @Test
+    void callerChangingAModelDoesNotChangeTheSnapshot() {
+        cache.find("code", "member.read").orElseThrow().setDescription("changed");
+        cache.getAll().get(0).setCode("changed");
+
+        PermissionModel cached = cache.find("code", "member.read").orElseThrow();
+        assertThat(cached.getDescription()).isEqualTo("Read members");
+        assertThat(cached).isNotSameAs(cache.find("code", "member.read").orElseThrow());
+    }
+
+    @Test
+    void sizeGaugeFollowsTheSnapshot() {
+        assertThat(meterRegistry.get("reference_data.cache.size").gauge().value()).isZero();
+
+        cache.refresh();
+        assertThat(meterRegistry.get("reference_data.cache.size").gauge().value()).isEqualTo(1);
+
+        cache.invalidate();
+        assertThat(meterRegistry.get("reference_data.cache.size").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,112 @@
+package com.kompu.api.infrastructure.shared.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class IdempotencyManagerTests {
+
+    private static final byte[] KEY = "test-fingerprint-key".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = mock(IdempotencyStore.class);
+        when(store.claim(any(), any(), any())).thenReturn(true);
+    }
+
+    @Test
+    void fingerprintsAreKeyedAndNotPlainHashesOfTheRequest() throws Throwable {
+        Object[] request = { Map.of("password", "secret") };
+
+        manager(KEY).execute("auth.signup", "k1", request, 0, true, () -> ResponseEntity.ok("done"));
+        manager("another-key".getBytes(StandardCharsets.UTF_8)).execute("auth.signup", "k1", request, 0, true,
+                () -> ResponseEntity.ok("done"));
+
+        ArgumentCaptor<byte[]> fingerprints = ArgumentCaptor.forClass(byte[].class);
+        verify(store, times(2)).claim(any(), fingerprints.capture(), any());
+        List<byte[]> values = fingerprints.getAllValues();
+        byte[] plain = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+        assertThat(values.get(0)).isNotEqualTo(plain);
+        assertThat(values.get(0)).isNotEqualTo(values.get(1));
+    }
+
+    @Test
+    void storesOnlyTheStatusWhenTheBodyIsNotReplayed() throws Throwable {
+        manager(KEY).execute("auth.signup", "k1", new Object[] { "user" }, 0, false,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(Map.of("access_token", "jwt")));
+
+        ArgumentCaptor<StoredResponse> stored = ArgumentCaptor.forClass(StoredResponse.class);
+        verify(store).complete(any(), stored.capture(), any());
+        assertThat(stored.getValue().status()).isEqualTo(201);
+        assertThat(stored.getValue().body()).isNull();
+    }
+
+    @Test
+    void completesWithoutBodyWhenStoringTheResponseFails() throws Throwable {
+        doThrow(new DataAccessResourceFailureException("value too long"))
+                .doNothing()
+                .when(store).complete(any(), any(), any());
+        IdempotencyManager manager = manager(KEY);
+        AtomicInteger runs = new AtomicInteger();
+
+        ResponseEntity<?> first = manager.execute("orders.place", "k1", new Object[] { "order" }, 0, true,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body("order-" + runs.incrementAndGet()));
+        ResponseEntity<?> retry = manager.execute("orders.place", "k1", new Object[] { "order" }, 0, true,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body("order-" + runs.incrementAndGet()));
+
+        ArgumentCaptor<StoredResponse> stored = ArgumentCaptor.forClass(StoredResponse.class);
+        verify(store, times(2)).complete(any(), stored.capture(), eq(Duration.ofHours(24)));
+        assertThat(stored.getAllValues().get(0).body()).isNotNull();
+        assertThat(stored.getAllValues().get(1).body()).isNull();
+        assertThat(stored.getAllValues().get(1).status()).isEqualTo(201);
+        assertThat(first.getBody()).isEqualTo("order-1");
+        assertThat(retry.getHeaders().getFirst(IdempotencyManager.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void releasesTheKeyWhenTheRequestFails() throws Throwable {
+        doNothing().when(store).release(any(), any());
+
+        assertThatThrownBy(() -> manager(KEY).execute("orders.place", "k1", new Object[] { "order" }, 0, true,
+                () -> {
+                    throw new IllegalStateException("out of stock");
+                })).isInstanceOf(IllegalStateException.class);
+
+        verify(store).release(any(), any());
+        verify(store, times(0)).complete(any(), any(), any());
+    }
+
+    private IdempotencyManager manager(byte[] key) {
+        return new IdempotencyManager(store, objectMapper, key, Duration.ofHours(24), Duration.ofSeconds(1), 100,
+                new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,231 @@
+package com.kompu.api.infrastructure.shared.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Two runners in one JVM standing in for two nodes sharing one database.
+ *
+ * Needs a database with the app schema and uuidv7 migration; the test applies
+ * the scheduled job migrations itself. Pass its JDBC url as
+ * -Dtest.datasource.url (and -Dtest.datasource.username/password). Skipped
+ * otherwise.
+ */
+class JobRunnerTests {
+
+    private static final long WAIT_SECONDS = 10;
+
+    private static DriverManagerDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private final String jobName = "test-" + UUID.randomUUID();
+    private JobRunner nodeA;
+    private JobRunner nodeB;
+
+    @BeforeAll
+    static void requireDatabase() throws Exception {
+        String url = System.getProperty("test.datasource.url");
+        assumeTrue(url != null && !url.isBlank(), "test.datasource.url not set");
+        dataSource = new DriverManagerDataSource(url, System.getProperty("test.datasource.username", "postgres"),
+                System.getProperty("test.datasource.password", ""));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(Files.readString(Path.of("migration/scheduled_jobs_18102026.sql")));
+        jdbcTemplate.execute(Files.readString(Path.of("migration/scheduled_job_leases_19102026.sql")));
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (JobRunner runner : new JobRunner[] { nodeA, nodeB }) {
+            if (runner != null) {
+                runner.stop();
+            }
+        }
+        jdbcTemplate.update("DELETE FROM app.job_runs WHERE job_name = ?", jobName);
+        jdbcTemplate.update("DELETE FROM app.scheduled_jobs WHERE name = ?", jobName);
+    }
+
+    @Test
+    void onlyOneOfTwoCompetingRunnersRunsAFireTime() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledJob job = job(context -> {
+            runs.incrementAndGet();
+            release.await(WAIT_SECONDS, TimeUnit.SECONDS);
+        });
+        nodeA = runner("node-a", job, Duration.ofMinutes(1));
+        nodeB = runner("node-b", job, Duration.ofMinutes(1));
+        CyclicBarrier together = new CyclicBarrier(2);
+
+        CompletableFuture<Optional<UUID>> a = CompletableFuture.supplyAsync(() -> race(together, nodeA, job));
+        CompletableFuture<Optional<UUID>> b = CompletableFuture.supplyAsync(() -> race(together, nodeB, job));
+        // The loser returns right away while the winner is still running
+        CompletableFuture<Optional<UUID>> first = new CompletableFuture<>();
+        a.thenAccept(first::complete);
+        b.thenAccept(first::complete);
+        assertThat(first.get(WAIT_SECONDS, TimeUnit.SECONDS)).isEmpty();
+        release.countDown();
+
+        assertThat(List.of(a.get(WAIT_SECONDS, TimeUnit.SECONDS), b.get(WAIT_SECONDS, TimeUnit.SECONDS)))
+                .filteredOn(Optional::isPresent).hasSize(1);
+        assertThat(runs).hasValue(1);
+        assertThat(statuses()).containsExactly("SUCCEEDED");
+
+        // The fire time is used up for both nodes
+        assertThat(nodeA.runIfLeader(job)).isEmpty();
+        assertThat(nodeB.runIfLeader(job)).isEmpty();
+    }
+
+    @Test
+    void holderReleasesTheLeaseSoTheNextFireTimeCanRunElsewhere() {
+        ScheduledJob job = job(context -> {
+        });
+        nodeA = runner("node-a", job, Duration.ofMinutes(1));
+        nodeB = runner("node-b", job, Duration.ofMinutes(1));
+
+        assertThat(nodeA.runIfLeader(job)).isPresent();
+        jdbcTemplate.update("UPDATE app.scheduled_jobs SET next_run_at = now() WHERE name = ?", jobName);
+
+        assertThat(nodeB.runIfLeader(job)).isPresent();
+        assertThat(jdbcTemplate.queryForList("SELECT node_id FROM app.job_runs WHERE job_name = ? ORDER BY id",
+                String.class, jobName)).containsExactly("node-a", "node-b");
+    }
+
+    @Test
+    void runThatLosesItsLeaseIsCancelledAndCannotRecordItsSchedule() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        ScheduledJob job = job(context -> {
+            started.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WAIT_SECONDS);
+            while (!context.isCancelled() && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+        });
+        nodeA = runner("node-a", job, Duration.ofMillis(300));
+
+        CompletableFuture<Optional<UUID>> run = CompletableFuture.supplyAsync(() -> nodeA.runIfLeader(job));
+        assertThat(started.await(WAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        // Another node took the job over, as after a partition outlasting the lease
+        UUID takeover = UUID.randomUUID();
+        jdbcTemplate.update("""
+                UPDATE app.scheduled_jobs
+                SET lease_owner = 'node-b', lease_run_id = ?, lease_until = now() + interval '1 minute'
+                WHERE name = ?
+                """, takeover, jobName);
+
+        assertThat(run.get(WAIT_SECONDS, TimeUnit.SECONDS)).isPresent();
+        assertThat(statuses()).containsExactly("FAILED");
+        assertThat(jdbcTemplate.queryForObject("SELECT lease_run_id FROM app.scheduled_jobs WHERE name = ?",
+                UUID.class, jobName)).isEqualTo(takeover);
+        assertThat(jdbcTemplate.queryForObject("SELECT last_finished_at IS NULL FROM app.scheduled_jobs WHERE name = ?",
+                Boolean.class, jobName)).isTrue();
+    }
+
+    @Test
+    void leaseIsRenewedWhileALongRunIsAlive() throws Exception {
+        ScheduledJob job = job(context -> Thread.sleep(1_000));
+        nodeA = runner("node-a", job, Duration.ofMillis(300));
+        nodeB = runner("node-b", job, Duration.ofMillis(300));
+
+        CompletableFuture<Optional<UUID>> run = CompletableFuture.supplyAsync(() -> nodeA.runIfLeader(job));
+        Thread.sleep(700);
+
+        assertThat(nodeB.runIfLeader(job)).isEmpty();
+        assertThat(run.get(WAIT_SECONDS, TimeUnit.SECONDS)).isPresent();
+        assertThat(statuses()).containsExactly("SUCCEEDED");
+    }
+
+    @Test
+    void nextHolderMarksRunsOfADeadNodeAbandoned() {
+        ScheduledJob job = job(context -> {
+        });
+        nodeB = runner("node-b", job, Duration.ofMinutes(1));
+        UUID deadRun = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO app.scheduled_jobs (name, next_run_at, lease_owner, lease_run_id, lease_until)
+                VALUES (?, now() - interval '1 minute', 'node-a', ?, now() - interval '1 second')
+                """, jobName, deadRun);
+        jdbcTemplate.update("""
+                INSERT INTO app.job_runs (id, job_name, node_id, scheduled_at, started_at, status)
+                VALUES (?, ?, 'node-a', now() - interval '2 minutes', now() - interval '2 minutes', 'RUNNING')
+                """, deadRun, jobName);
+
+        assertThat(nodeB.runIfLeader(job)).isPresent();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM app.job_runs WHERE id = ?", String.class,
+                deadRun)).isEqualTo("ABANDONED");
+        assertThat(statuses()).containsExactlyInAnyOrder("ABANDONED", "SUCCEEDED");
+    }
+
+    private JobRunner runner(String nodeId, ScheduledJob job, Duration lease) {
+        // Ticks never fire during a test; runIfLeader is driven directly
+        JobRunner runner = new JobRunner(dataSource, List.of(job), nodeId, new SimpleMeterRegistry(),
+                TimeUnit.HOURS.toMillis(1), 2, lease);
+        runner.start();
+        return runner;
+    }
+
+    private ScheduledJob job(Body body) {
+        return new ScheduledJob() {
+            @Override
+            public String name() {
+                return jobName;
+            }
+
+            @Override
+            public JobTrigger trigger() {
+                return JobTrigger.fixedRate(Duration.ofHours(1));
+            }
+
+            @Override
+            public void run(JobContext context) throws Exception {
+                body.run(context);
+            }
+        };
+    }
+
+    private static Optional<UUID> race(CyclicBarrier together, JobRunner runner, ScheduledJob job) {
+        try {
+            together.await(WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return runner.runIfLeader(job);
+    }
+
+    private List<String> statuses() {
+        return jdbcTemplate.queryForList("SELECT status FROM app.job_runs WHERE job_name = ?", String.class,
+                jobName);
+    }
+
+    @FunctionalInterface
+    private interface Body {
+
+        void run(JobContext context) throws Exception;
+    }
+}
@@ -0,0 +1,141 @@
+package com.kompu.api.infrastructure.shared.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.kompu.api.infrastructure.config.db.repository.MailQueueRepository;
+import com.kompu.api.infrastructure.config.db.schema.MailQueueSchema;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+
+class MailDispatcherTests {
+
+    private static final int BATCH_SIZE = 10;
+    private static final int MAX_ATTEMPTS = 3;
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private MailQueueRepository repository;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(MailQueueRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void sendsLeasedBatchOverSmtpAndMarksItSent() throws Exception {
+        MailQueueSchema first = row("alice@kompu.id", "Welcome", "Hello Alice", 0);
+        MailQueueSchema second = row("bob@kompu.id", "Reset your password", "Open the link", 0);
+        lease(first, second);
+
+        int leased = dispatcher(greenMail.getSmtp().getPort()).drain();
+
+        assertThat(leased).isEqualTo(2);
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(2);
+        assertThat(received).extracting(MimeMessage::getSubject)
+                .containsExactlyInAnyOrder("Welcome", "Reset your password");
+        assertThat(GreenMailUtil.getBody(received[0])).isIn("Hello Alice", "Open the link");
+        verify(repository).markSent(argThat(ids -> ids.size() == 2
+                && ids.containsAll(List.of(first.getId(), second.getId()))));
+        verify(repository, never()).reschedule(any(), anyInt(), any(), anyString());
+        assertThat(meterRegistry.counter("mail.messages", "outcome", "sent").count()).isEqualTo(2);
+    }
+
+    @Test
+    void reschedulesWhenTheServerIsUnreachable() throws Exception {
+        MailQueueSchema mail = row("alice@kompu.id", "Welcome", "Hello Alice", 0);
+        lease(mail);
+
+        dispatcher(closedPort()).drain();
+
+        verify(repository).reschedule(eq(mail.getId()), eq(1), any(), anyString());
+        verify(repository, never()).markSent(anyList());
+        verify(repository, never()).markDead(any(), anyInt(), anyString());
+        assertThat(meterRegistry.counter("mail.messages", "outcome", "retried").count()).isEqualTo(1);
+    }
+
+    @Test
+    void marksDeadOnTheLastAttempt() throws Exception {
+        MailQueueSchema mail = row("alice@kompu.id", "Welcome", "Hello Alice", MAX_ATTEMPTS - 1);
+        lease(mail);
+
+        dispatcher(closedPort()).drain();
+
+        verify(repository).markDead(eq(mail.getId()), eq(MAX_ATTEMPTS), anyString());
+        verify(repository, never()).reschedule(any(), anyInt(), any(), anyString());
+        assertThat(meterRegistry.counter("mail.messages", "outcome", "dead").count()).isEqualTo(1);
+    }
+
+    @Test
+    void marksMalformedMailDeadWithoutRetryingAndSendsTheRest() {
+        MailQueueSchema malformed = row("not an address", "Welcome", "Hello", 0);
+        MailQueueSchema valid = row("bob@kompu.id", "Welcome", "Hello Bob", 0);
+        lease(malformed, valid);
+
+        dispatcher(greenMail.getSmtp().getPort()).drain();
+
+        verify(repository).markDead(eq(malformed.getId()), eq(1), anyString());
+        verify(repository).markSent(List.of(valid.getId()));
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+    }
+
+    private MailDispatcher dispatcher(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(port);
+        mailSender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+        mailSender.getJavaMailProperties().put("mail.smtp.timeout", "2000");
+        return new MailDispatcher(repository, mailSender, meterRegistry, 1, BATCH_SIZE, MAX_ATTEMPTS,
+                Duration.ofSeconds(5), Duration.ofMinutes(1), Duration.ofMinutes(5), 1000);
+    }
+
+    private void lease(MailQueueSchema... rows) {
+        when(repository.leaseDue(eq(BATCH_SIZE), anyLong())).thenReturn(List.of(rows)).thenReturn(List.of());
+    }
+
+    private static MailQueueSchema row(String recipient, String subject, String body, int attempts) {
+        return MailQueueSchema.builder()
+                .id(UUID.randomUUID())
+                .template("test")
+                .sender("noreply@kompu.id")
+                .recipient(recipient)
+                .subject(subject)
+                .body(body)
+                .attempts(attempts)
+                .build();
+    }
+
+    private static int closedPort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
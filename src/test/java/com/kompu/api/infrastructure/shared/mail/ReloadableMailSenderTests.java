@@ -0,0 +1,104 @@
+package com.kompu.api.infrastructure.shared.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import com.kompu.api.entity.appconfig.gateway.AppConfigGateway;
+import com.kompu.api.entity.appconfig.model.AppConfigModel;
+import com.kompu.api.infrastructure.appconfig.gateway.CachedAppSettingsGateway;
+import com.kompu.api.infrastructure.shared.mail.ReloadableMailSender.SmtpServer;
+
+class ReloadableMailSenderTests {
+
+    private static final SmtpServer DEFAULTS = new SmtpServer("smtp.kompu.id", 587, "mailer", "secret");
+
+    private final List<AppConfigModel> rows = new CopyOnWriteArrayList<>();
+    private final List<String> builtOnThreads = new CopyOnWriteArrayList<>();
+    private CachedAppSettingsGateway settings;
+    private ReloadableMailSender mailSender;
+
+    @BeforeEach
+    void setUp() {
+        AppConfigGateway appConfigGateway = mock(AppConfigGateway.class);
+        when(appConfigGateway.findAll()).thenAnswer(invocation -> new ArrayList<>(rows));
+        when(appConfigGateway.findLastUpdatedAt()).thenReturn(Optional.empty());
+        when(appConfigGateway.count()).thenAnswer(invocation -> (long) rows.size());
+
+        // Long poll interval: only the reload asked for below runs
+        settings = new CachedAppSettingsGateway(appConfigGateway, 60_000);
+        settings.start();
+        mailSender = new ReloadableMailSender(settings, DEFAULTS, server -> {
+            builtOnThreads.add(Thread.currentThread().getName());
+            JavaMailSenderImpl sender = new JavaMailSenderImpl();
+            sender.setHost(server.host());
+            sender.setPort(server.port());
+            return sender;
+        });
+        mailSender.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        settings.stop();
+    }
+
+    @Test
+    void usesTheApplicationPropertiesUntilAppConfigOverridesThem() {
+        assertThat(mailSender.getServer()).isEqualTo(DEFAULTS);
+        assertThat(mailSender.getServer().toString()).doesNotContain("secret");
+    }
+
+    @Test
+    void switchesServerOnTheSettingsThreadWhenAppConfigChanges() throws Exception {
+        rows.add(row(ReloadableMailSender.HOST, "relay.kompu.id"));
+        rows.add(row(ReloadableMailSender.PORT, "2525"));
+
+        settings.reloadAsync();
+
+        assertThat(awaitServer("relay.kompu.id").port()).isEqualTo(2525);
+        assertThat(mailSender.getServer().username()).isEqualTo("mailer");
+        assertThat(builtOnThreads).containsExactly(Thread.currentThread().getName(), "app-config-poller");
+    }
+
+    @Test
+    void ignoresChangesToOtherKeys() throws Exception {
+        rows.add(row("bulk_export.enabled", "true"));
+        rows.add(row(ReloadableMailSender.HOST, "relay.kompu.id"));
+        settings.reloadAsync();
+        awaitServer("relay.kompu.id");
+
+        rows.remove(0);
+        settings.reloadAsync();
+        TimeUnit.MILLISECONDS.sleep(200);
+
+        assertThat(builtOnThreads).hasSize(2);
+    }
+
+    private SmtpServer awaitServer(String host) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!host.equals(mailSender.getServer().host()) && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        assertThat(mailSender.getServer().host()).isEqualTo(host);
+        return mailSender.getServer();
+    }
+
+    private static AppConfigModel row(String key, String value) {
+        AppConfigModel model = new AppConfigModel();
+        model.setConfigKey(key);
+        model.setConfigValue(value);
+        return model;
+    }
+}
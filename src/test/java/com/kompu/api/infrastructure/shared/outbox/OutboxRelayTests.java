@@ -0,0 +1,194 @@
+package com.kompu.api.infrastructure.shared.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kompu.api.entity.shared.model.DomainEvent;
+import com.kompu.api.infrastructure.config.db.repository.OutboxRepository;
+import com.kompu.api.infrastructure.config.db.schema.OutboxSchema;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OutboxRelayTests {
+
+    private static final int BATCH_SIZE = 10;
+    private static final int MAX_ATTEMPTS = 4;
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(5);
+    private static final Duration LEASE = Duration.ofSeconds(30);
+
+    private OutboxRepository repository;
+    private PlatformTransactionManager transactionManager;
+    private DomainEventHandler handler;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        repository = mock(OutboxRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        handler = mock(DomainEventHandler.class);
+        when(handler.supports(anyString())).thenReturn(true);
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OutboxRelay(repository, new TransactionTemplate(transactionManager), List.of(handler),
+                new ObjectMapper(), meterRegistry, BATCH_SIZE, MAX_ATTEMPTS, BASE_BACKOFF, MAX_BACKOFF, LEASE,
+                1_000);
+    }
+
+    @Test
+    void runsHandlersOutsideAnyTransactionAndRecordsOutcomesAfterwards() throws Exception {
+        OutboxSchema first = row(0);
+        OutboxSchema second = row(0);
+        when(repository.leaseDue(BATCH_SIZE, LEASE.toSeconds())).thenReturn(List.of(first, second));
+
+        assertThat(relay.drain()).isEqualTo(2);
+
+        InOrder order = inOrder(repository, handler, transactionManager);
+        order.verify(repository).leaseDue(BATCH_SIZE, LEASE.toSeconds());
+        order.verify(handler, times(2)).handle(any(DomainEvent.class));
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(repository).markDone(List.of(first.getId(), second.getId()));
+        order.verify(transactionManager).commit(any());
+        verify(repository, never()).reschedule(any(), anyInt(), any(), anyString());
+        assertThat(count("delivered")).isEqualTo(2);
+    }
+
+    @Test
+    void reschedulesFailedEventWithExponentialBackoff() throws Exception {
+        OutboxSchema ok = row(0);
+        OutboxSchema firstFailure = row(0);
+        OutboxSchema thirdFailure = row(2);
+        when(repository.leaseDue(BATCH_SIZE, LEASE.toSeconds())).thenReturn(List.of(ok, firstFailure, thirdFailure));
+        doThrow(new IllegalStateException("smtp down")).when(handler)
+                .handle(argThat(event -> !event.id().equals(ok.getId())));
+
+        Instant before = Instant.now();
+        relay.drain();
+
+        assertThat(nextAttempt(firstFailure, 1)).isCloseTo(before.plus(BASE_BACKOFF), within(1, ChronoUnit.SECONDS));
+        assertThat(nextAttempt(thirdFailure, 3))
+                .isCloseTo(before.plus(BASE_BACKOFF.multipliedBy(4)), within(1, ChronoUnit.SECONDS));
+        verify(repository).markDone(List.of(ok.getId()));
+        verify(repository, never()).markDead(any(), anyInt(), anyString());
+        assertThat(count("retried")).isEqualTo(2);
+    }
+
+    @Test
+    void capsBackoffAtTheMaximum() throws Exception {
+        OutboxSchema failing = row(MAX_ATTEMPTS - 2);
+        relay = new OutboxRelay(repository, new TransactionTemplate(transactionManager), List.of(handler),
+                new ObjectMapper(), meterRegistry, BATCH_SIZE, 30, BASE_BACKOFF, MAX_BACKOFF, LEASE, 1_000);
+        when(repository.leaseDue(BATCH_SIZE, LEASE.toSeconds())).thenReturn(List.of(failing));
+        doThrow(new IllegalStateException("still down")).when(handler).handle(any());
+
+        Instant before = Instant.now();
+        relay.drain();
+
+        assertThat(nextAttempt(failing, MAX_ATTEMPTS - 1))
+                .isCloseTo(before.plus(MAX_BACKOFF), within(1, ChronoUnit.SECONDS));
+    }
+
+    @Test
+    void marksEventDeadOnTheLastAttempt() throws Exception {
+        OutboxSchema failing = row(MAX_ATTEMPTS - 1);
+        when(repository.leaseDue(BATCH_SIZE, LEASE.toSeconds())).thenReturn(List.of(failing));
+        doThrow(new IllegalStateException("bad payload")).when(handler).handle(any());
+
+        relay.drain();
+
+        ArgumentCaptor<String> error = ArgumentCaptor.forClass(String.class);
+        verify(repository).markDead(eq(failing.getId()), eq(MAX_ATTEMPTS), error.capture());
+        assertThat(error.getValue()).contains("bad payload");
+        verify(repository, never()).reschedule(any(), anyInt(), any(), anyString());
+        verify(repository, never()).markDone(anyList());
+        assertThat(count("dead")).isEqualTo(1);
+    }
+
+    @Test
+    void unreadablePayloadCountsAsAFailedAttempt() throws Exception {
+        OutboxSchema broken = row(0);
+        broken.setPayload("{not json");
+        when(repository.leaseDue(BATCH_SIZE, LEASE.toSeconds())).thenReturn(List.of(broken));
+
+        relay.drain();
+
+        verify(handler, never()).handle(any());
+        verify(repository).reschedule(eq(broken.getId()), eq(1), any(), anyString());
+    }
+
+    @Test
+    void leasesAgainWhileBatchesComeBackFull() {
+        List<OutboxSchema> full = IntStream.range(0, BATCH_SIZE).mapToObj(i -> row(0)).toList();
+        when(repository.leaseDue(anyInt(), anyLong())).thenReturn(full).thenReturn(List.of(row(0)))
+                .thenReturn(List.of());
+
+        assertThat(relay.drain()).isEqualTo(BATCH_SIZE + 1);
+
+        verify(repository, times(2)).leaseDue(BATCH_SIZE, LEASE.toSeconds());
+    }
+
+    @Test
+    void emptyLeaseOpensNoTransaction() {
+        when(repository.leaseDue(anyInt(), anyLong())).thenReturn(List.of());
+
+        assertThat(relay.drain()).isZero();
+
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    private Instant nextAttempt(OutboxSchema row, int attempts) {
+        ArgumentCaptor<Instant> availableAt = ArgumentCaptor.forClass(Instant.class);
+        verify(repository).reschedule(eq(row.getId()), eq(attempts), availableAt.capture(), anyString());
+        return availableAt.getValue();
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("outbox.events").tag("outcome", outcome).counter().count();
+    }
+
+    private static OutboxSchema row(int attempts) {
+        return OutboxSchema.builder()
+                .id(UUID.randomUUID())
+                .eventType("member.created")
+                .aggregateType("member")
+                .aggregateId(UUID.randomUUID())
+                .tenantId(UUID.randomUUID())
+                .payload("{\"memberCode\":\"MEM202600001\",\"email\":\"alice@kompu.id\"}")
+                .status(OutboxSchema.STATUS_PENDING)
+                .attempts(attempts)
+                .createdAt(Instant.now())
+                .availableAt(Instant.now())
+                .build();
+    }
+}
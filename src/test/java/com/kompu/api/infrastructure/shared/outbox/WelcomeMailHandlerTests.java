@@ -0,0 +1,79 @@
+package com.kompu.api.infrastructure.shared.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.kompu.api.entity.shared.gateway.MailGateway;
+import com.kompu.api.entity.shared.model.DomainEvent;
+import com.kompu.api.entity.shared.model.MailMessage;
+import com.kompu.api.infrastructure.shared.mail.MailTemplateRegistry;
+
+class WelcomeMailHandlerTests {
+
+    private MailGateway mailGateway;
+    private WelcomeMailHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        mailGateway = mock(MailGateway.class);
+        handler = new WelcomeMailHandler(mailGateway);
+    }
+
+    @Test
+    void handlesRegistrationAndNewMembersOnly() {
+        assertThat(handler.supports("tenant.registered")).isTrue();
+        assertThat(handler.supports("member.created")).isTrue();
+        assertThat(handler.supports("order.placed")).isFalse();
+    }
+
+    @Test
+    void mailsTheFoundingAdminOfANewTenant() {
+        UUID tenantId = UUID.randomUUID();
+
+        handler.handle(DomainEvent.of("tenant.registered", "tenant", tenantId, tenantId,
+                Map.of("userId", UUID.randomUUID().toString(), "email", "founder@kompu.id")));
+
+        verify(mailGateway).enqueue(MailMessage.of("welcome-tenant", "founder@kompu.id",
+                Map.of("email", "founder@kompu.id")));
+    }
+
+    @Test
+    void mailsTheMemberNumberToANewMember() {
+        handler.handle(DomainEvent.of("member.created", "member", UUID.randomUUID(), UUID.randomUUID(),
+                Map.of("memberCode", "MEM202600042", "email", "member@kompu.id")));
+
+        verify(mailGateway).enqueue(MailMessage.of("welcome-member", "member@kompu.id",
+                Map.of("memberCode", "MEM202600042")));
+    }
+
+    @Test
+    void skipsMembersWithoutAnEmailAddress() {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("memberCode", "MEM202600043");
+        payload.put("email", null);
+
+        handler.handle(DomainEvent.of("member.created", "member", UUID.randomUUID(), UUID.randomUUID(), payload));
+
+        verify(mailGateway, never()).enqueue(any());
+    }
+
+    @Test
+    void welcomeTemplatesRenderWithTheVariablesTheHandlerSupplies() {
+        MailTemplateRegistry templates = new MailTemplateRegistry();
+
+        assertThat(templates.get("welcome-tenant").render(Map.of("email", "founder@kompu.id")).body())
+                .contains("founder@kompu.id");
+        assertThat(templates.get("welcome-member").render(Map.of("memberCode", "MEM202600042")).subject())
+                .isEqualTo("Welcome, your member number is MEM202600042");
+    }
+}
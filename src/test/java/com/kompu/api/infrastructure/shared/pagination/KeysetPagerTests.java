@@ -0,0 +1,123 @@
+package com.kompu.api.infrastructure.shared.pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.kompu.api.entity.shared.model.CursorPage;
+import com.kompu.api.entity.shared.model.CursorPageRequest;
+import com.kompu.api.entity.shared.model.PageCursor;
+
+import jakarta.persistence.EntityManager;
+
+class KeysetPagerTests {
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final KeysetPager pager = new KeysetPager(50, 500, transactionManager, entityManager);
+
+    @Test
+    void missingOrNonPositiveLimitFallsBackToTheDefault() {
+        assertThat(pager.pageSize(null)).isEqualTo(50);
+        assertThat(pager.pageSize(CursorPageRequest.first())).isEqualTo(50);
+        assertThat(pager.pageSize(CursorPageRequest.first(0))).isEqualTo(50);
+        assertThat(pager.pageSize(CursorPageRequest.first(-10))).isEqualTo(50);
+    }
+
+    @Test
+    void limitIsCappedAtTheMaximum() {
+        assertThat(pager.pageSize(CursorPageRequest.first(1))).isEqualTo(1);
+        assertThat(pager.pageSize(CursorPageRequest.first(500))).isEqualTo(500);
+        assertThat(pager.pageSize(CursorPageRequest.first(501))).isEqualTo(500);
+        assertThat(pager.pageSize(CursorPageRequest.first(Integer.MAX_VALUE))).isEqualTo(500);
+    }
+
+    @Test
+    void defaultAboveTheCapIsClampedAndBadConfigStillYieldsPages() {
+        assertThat(new KeysetPager(1_000, 200, transactionManager, entityManager)
+                .pageSize(CursorPageRequest.first())).isEqualTo(200);
+        assertThat(new KeysetPager(0, 0, transactionManager, entityManager)
+                .pageSize(CursorPageRequest.first(10))).isEqualTo(1);
+    }
+
+    @Test
+    void fetchesOneRowMoreAndHandsOutTheLastRowAsCursor() {
+        List<Row> rows = rows(4);
+        List<Limit> limits = new ArrayList<>();
+
+        CursorPage<UUID> page = pager.page(CursorPageRequest.first(3),
+                limit -> {
+                    limits.add(limit);
+                    return rows.subList(0, Math.min(limit.max(), rows.size()));
+                },
+                (after, limit) -> List.of(),
+                Row::cursor,
+                Row::id);
+
+        assertThat(limits).containsExactly(Limit.of(4));
+        assertThat(page.items()).containsExactly(rows.get(0).id(), rows.get(1).id(), rows.get(2).id());
+        assertThat(PageCursor.decode(page.nextCursor())).isEqualTo(rows.get(2).cursor());
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        List<Row> rows = rows(3);
+
+        CursorPage<UUID> page = pager.page(CursorPageRequest.first(3), limit -> rows,
+                (after, limit) -> List.of(), Row::cursor, Row::id);
+
+        assertThat(page.items()).hasSize(3);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void nextPageSeeksAfterTheDecodedCursor() {
+        List<Row> rows = rows(6);
+        List<PageCursor> seeks = new ArrayList<>();
+
+        CursorPage<UUID> page = pager.page(CursorPageRequest.after(rows.get(2).cursor().encode(), 2),
+                limit -> List.of(),
+                (after, limit) -> {
+                    seeks.add(after);
+                    return rows.subList(3, 3 + limit.max());
+                },
+                Row::cursor,
+                Row::id);
+
+        assertThat(seeks).containsExactly(rows.get(2).cursor());
+        assertThat(page.items()).containsExactly(rows.get(3).id(), rows.get(4).id());
+        assertThat(PageCursor.decode(page.nextCursor())).isEqualTo(rows.get(4).cursor());
+    }
+
+    @Test
+    void cursorOfRoundTripsTheLocalCreatedAt() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 10, 19, 8, 15, 30, 123_456_789);
+
+        PageCursor cursor = PageCursor.decode(KeysetPager.cursorOf(createdAt, UUID.randomUUID()).encode());
+
+        assertThat(KeysetPager.localCreatedAt(cursor)).isEqualTo(createdAt);
+    }
+
+    private static List<Row> rows(int count) {
+        LocalDateTime start = LocalDateTime.of(2026, 10, 19, 8, 0);
+        return IntStream.range(0, count)
+                .mapToObj(i -> new Row(UUID.randomUUID(), start.minusMinutes(i)))
+                .toList();
+    }
+
+    private record Row(UUID id, LocalDateTime createdAt) {
+
+        PageCursor cursor() {
+            return KeysetPager.cursorOf(createdAt, id);
+        }
+    }
+}
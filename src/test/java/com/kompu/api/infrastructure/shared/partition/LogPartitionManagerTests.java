@@ -0,0 +1,150 @@
+package com.kompu.api.infrastructure.shared.partition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Runs maintenance against two throwaway partitioned tables, one with a
+ * default partition (plain detach) and one without (concurrent detach).
+ *
+ * Needs a database with the app schema and the log_partitioning migration's
+ * helper functions; pass its JDBC url as -Dtest.datasource.url (and
+ * -Dtest.datasource.username/password). Skipped otherwise.
+ */
+class LogPartitionManagerTests {
+
+    private static final String WITH_DEFAULT = "partition_test_default";
+    private static final String WITHOUT_DEFAULT = "partition_test_plain";
+
+    private static DriverManagerDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private final YearMonth current = YearMonth.now(ZoneOffset.UTC);
+
+    @BeforeAll
+    static void requireDatabase() {
+        String url = System.getProperty("test.datasource.url");
+        assumeTrue(url != null && !url.isBlank(), "test.datasource.url not set");
+        dataSource = new DriverManagerDataSource(url, System.getProperty("test.datasource.username", "postgres"),
+                System.getProperty("test.datasource.password", ""));
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        dropTables();
+        for (String table : List.of(WITH_DEFAULT, WITHOUT_DEFAULT)) {
+            jdbcTemplate.execute("CREATE TABLE app." + table
+                    + " (id bigint NOT NULL, created_at timestamptz NOT NULL) PARTITION BY RANGE (created_at)");
+            // One month past a 2-month retention, one inside it
+            createPartition(table, current.minusMonths(3));
+            createPartition(table, current.minusMonths(1));
+        }
+        jdbcTemplate.execute("CREATE TABLE app." + WITH_DEFAULT + "_default PARTITION OF app." + WITH_DEFAULT
+                + " DEFAULT");
+    }
+
+    @AfterEach
+    void tearDown() {
+        dropTables();
+    }
+
+    @Test
+    void createsMonthsAheadAndDropsExpiredOnesWithAndWithoutADefaultPartition() {
+        List<String> changes = manager(Duration.ofSeconds(5)).maintain();
+
+        for (String table : List.of(WITH_DEFAULT, WITHOUT_DEFAULT)) {
+            assertThat(partitionsOf(table)).contains(
+                    LogPartitionManager.partitionName(table, current.minusMonths(1)),
+                    LogPartitionManager.partitionName(table, current),
+                    LogPartitionManager.partitionName(table, current.plusMonths(2)))
+                    .doesNotContain(LogPartitionManager.partitionName(table, current.minusMonths(3)));
+            assertThat(changes).contains("dropped " + LogPartitionManager.partitionName(table,
+                    current.minusMonths(3)));
+            assertThat(tableExists(LogPartitionManager.partitionName(table, current.minusMonths(3)))).isFalse();
+        }
+        assertThat(manager(Duration.ofSeconds(5)).maintain()).isEmpty();
+    }
+
+    @Test
+    void lockedTableTimesOutWithoutHoldingUpTheOthers() throws Exception {
+        try (Connection reader = dataSource.getConnection()) {
+            reader.setAutoCommit(false);
+            try (Statement statement = reader.createStatement()) {
+                statement.execute("SELECT count(*) FROM app." + WITH_DEFAULT);
+            }
+
+            long started = System.nanoTime();
+            assertThatThrownBy(() -> manager(Duration.ofMillis(200)).maintain())
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining(WITH_DEFAULT)
+                    .hasMessageNotContaining(WITHOUT_DEFAULT);
+            assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(5));
+
+            assertThat(partitionsOf(WITHOUT_DEFAULT))
+                    .contains(LogPartitionManager.partitionName(WITHOUT_DEFAULT, current.plusMonths(2)))
+                    .doesNotContain(LogPartitionManager.partitionName(WITHOUT_DEFAULT, current.minusMonths(3)));
+            reader.rollback();
+        }
+
+        manager(Duration.ofSeconds(5)).maintain();
+        assertThat(partitionsOf(WITH_DEFAULT))
+                .doesNotContain(LogPartitionManager.partitionName(WITH_DEFAULT, current.minusMonths(3)));
+    }
+
+    private LogPartitionManager manager(Duration lockTimeout) {
+        return new LogPartitionManager(jdbcTemplate, List.of(
+                new PartitionPolicy(WITH_DEFAULT, 2, 2),
+                new PartitionPolicy(WITHOUT_DEFAULT, 2, 2)), false, Duration.ofHours(6), lockTimeout);
+    }
+
+    private void createPartition(String table, YearMonth month) {
+        jdbcTemplate.queryForObject("SELECT app.create_monthly_partition(?, ?)", Object.class, table,
+                month.atDay(1));
+    }
+
+    private List<String> partitionsOf(String table) {
+        return jdbcTemplate.queryForList("""
+                SELECT child.relname
+                FROM pg_inherits i
+                JOIN pg_class parent ON parent.oid = i.inhparent
+                JOIN pg_class child ON child.oid = i.inhrelid
+                WHERE parent.oid = CAST(? AS regclass)
+                """, String.class, "app." + table);
+    }
+
+    private boolean tableExists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL",
+                Boolean.class, "app." + table));
+    }
+
+    private void dropTables() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS app." + WITH_DEFAULT + ", app." + WITHOUT_DEFAULT + " CASCADE");
+        jdbcTemplate.execute("""
+                DO $$
+                DECLARE t text;
+                BEGIN
+                  FOR t IN SELECT relname FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace
+                           WHERE n.nspname = 'app' AND relname LIKE 'partition\\_test\\_%' AND relkind = 'r'
+                  LOOP
+                    EXECUTE format('DROP TABLE app.%I', t);
+                  END LOOP;
+                END $$
+                """);
+    }
+}
@@ -0,0 +1,143 @@
+package com.kompu.api.infrastructure.shared.retention;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * chunkSql is checked as text; the cursor walk runs against a throwaway table
+ * and needs a database: pass its JDBC url as -Dtest.datasource.url (and
+ * -Dtest.datasource.username/password). Those tests are skipped otherwise.
+ */
+class RetentionSweeperTests {
+
+    private static final String TABLE = "app.retention_sweeper_test";
+    private static final RetentionPolicy POLICY = new RetentionPolicy("test", TABLE, "id", "bigint",
+            "expired OR id > 1000", true);
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        if (jdbcTemplate != null) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + TABLE);
+        }
+    }
+
+    @Test
+    void firstChunkHasNoCursor() {
+        String sql = RetentionSweeper.chunkSql(POLICY, false);
+
+        assertThat(sql).contains("SELECT id FROM " + TABLE)
+                .contains("WHERE (expired OR id > 1000)\n")
+                .contains("ORDER BY id")
+                .contains("LIMIT ?")
+                .contains("FOR UPDATE SKIP LOCKED")
+                .doesNotContain("CAST(? AS");
+    }
+
+    @Test
+    void nextChunkSeeksPastTheCursorOutsideThePolicyCondition() {
+        String sql = RetentionSweeper.chunkSql(POLICY, true);
+
+        // The parentheses keep an OR in the condition from bypassing the cursor
+        assertThat(sql).contains("WHERE (expired OR id > 1000) AND id > CAST(? AS bigint)");
+        assertThat(sql.indexOf("CAST(? AS bigint)")).isLessThan(sql.indexOf("LIMIT ?"));
+    }
+
+    @Test
+    void chunkReportsTheLastCandidateKeyAsText() {
+        assertThat(RetentionSweeper.chunkSql(POLICY, false))
+                .contains("(SELECT CAST(id AS text) FROM candidates ORDER BY id DESC LIMIT 1) AS last_key");
+    }
+
+    @Test
+    void walksEveryExpiredRowChunkByChunk() {
+        seed(30);
+
+        Map<String, Long> deleted = sweeper(5, 100).sweep();
+
+        // 20 expired rows: four full chunks, then one that finds nothing left
+        assertThat(deleted).containsEntry("test", 20L);
+        assertThat(chunks()).isEqualTo(5);
+        assertThat(remaining()).containsExactly(3L, 6L, 9L, 12L, 15L, 18L, 21L, 24L, 27L, 30L);
+    }
+
+    @Test
+    void stopsAfterMaxChunksAndTheNextRunStartsOver() {
+        seed(30);
+
+        assertThat(sweeper(5, 2).sweep()).containsEntry("test", 10L);
+        assertThat(remaining()).hasSize(20).contains(16L, 17L, 19L);
+
+        assertThat(sweeper(5, 2).sweep()).containsEntry("test", 10L);
+        assertThat(remaining()).hasSize(10);
+    }
+
+    @Test
+    void skipsRowsLockedByOthersAndKeepsWalking() throws Exception {
+        seed(30);
+        try (Connection other = dataSource.getConnection()) {
+            other.setAutoCommit(false);
+            try (Statement statement = other.createStatement()) {
+                statement.execute("SELECT id FROM " + TABLE + " WHERE id IN (2, 11) FOR UPDATE");
+            }
+
+            assertThat(sweeper(5, 100).sweep()).containsEntry("test", 18L);
+            assertThat(remaining()).contains(2L, 11L).doesNotContain(28L, 29L);
+            other.rollback();
+        }
+
+        assertThat(sweeper(5, 100).sweep()).containsEntry("test", 2L);
+        assertThat(remaining()).hasSize(10);
+    }
+
+    @Test
+    void disabledPoliciesAreSkipped() {
+        seed(3);
+        RetentionSweeper sweeper = new RetentionSweeper(jdbcTemplate,
+                List.of(new RetentionPolicy("test", TABLE, "id", "bigint", "expired", false)), 5, 0, 100, 60_000,
+                meterRegistry);
+
+        assertThat(sweeper.sweep()).isEmpty();
+        assertThat(remaining()).hasSize(3);
+    }
+
+    private RetentionSweeper sweeper(int chunkSize, int maxChunksPerRun) {
+        return new RetentionSweeper(jdbcTemplate, List.of(POLICY), chunkSize, 0, maxChunksPerRun, 60_000,
+                meterRegistry);
+    }
+
+    // Every id not divisible by 3 is expired
+    private void seed(int rows) {
+        String url = System.getProperty("test.datasource.url");
+        assumeTrue(url != null && !url.isBlank(), "test.datasource.url not set");
+        dataSource = new DriverManagerDataSource(url, System.getProperty("test.datasource.username", "postgres"),
+                System.getProperty("test.datasource.password", ""));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + TABLE);
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (id bigint PRIMARY KEY, expired boolean NOT NULL)");
+        jdbcTemplate.update("INSERT INTO " + TABLE + " SELECT g, g % 3 <> 0 FROM generate_series(1, ?) g", rows);
+    }
+
+    private List<Long> remaining() {
+        return jdbcTemplate.queryForList("SELECT id FROM " + TABLE + " ORDER BY id", Long.class);
+    }
+
+    private double chunks() {
+        return meterRegistry.get("retention.sweeper.chunks").counter().count();
+    }
+}
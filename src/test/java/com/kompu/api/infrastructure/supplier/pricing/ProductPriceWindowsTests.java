@@ -0,0 +1,122 @@
+package com.kompu.api.infrastructure.supplier.pricing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.kompu.api.entity.supplier.model.SupplierProductPriceModel;
+
+class ProductPriceWindowsTests {
+
+    private static final LocalDate JAN_1 = LocalDate.of(2026, 1, 1);
+
+    private final List<SupplierProductPriceModel> prices = new ArrayList<>();
+
+    @Test
+    void picksTheCheapestAmongOverlappingWindowsOnTheDate() {
+        SupplierProductPriceModel year = add("12000", JAN_1, JAN_1.plusDays(364));
+        SupplierProductPriceModel promo = add("9000", JAN_1.plusDays(10), JAN_1.plusDays(20));
+        SupplierProductPriceModel march = add("10000", JAN_1.plusDays(59), JAN_1.plusDays(89));
+
+        ProductPriceWindows windows = new ProductPriceWindows(prices);
+
+        assertThat(best(windows, JAN_1.plusDays(5))).isSameAs(year);
+        assertThat(best(windows, JAN_1.plusDays(10))).isSameAs(promo);
+        assertThat(best(windows, JAN_1.plusDays(20))).isSameAs(promo);
+        assertThat(best(windows, JAN_1.plusDays(21))).isSameAs(year);
+        assertThat(best(windows, JAN_1.plusDays(70))).isSameAs(march);
+        assertThat(best(windows, JAN_1.minusDays(1))).isNull();
+        assertThat(best(windows, JAN_1.plusDays(365))).isNull();
+    }
+
+    @Test
+    void openEndedWindowStaysValidBehindLaterExpiredOnes() {
+        SupplierProductPriceModel standing = add("15000", JAN_1.minusYears(2), null);
+        for (int i = 0; i < 50; i++) {
+            add("8000", JAN_1.plusDays(i * 7L), JAN_1.plusDays(i * 7L + 2));
+        }
+
+        ProductPriceWindows windows = new ProductPriceWindows(prices);
+
+        assertThat(best(windows, JAN_1.plusDays(1)).getUnitPrice()).isEqualByComparingTo("8000");
+        assertThat(best(windows, JAN_1.plusDays(4))).isSameAs(standing);
+        assertThat(best(windows, JAN_1.plusYears(10))).isSameAs(standing);
+        assertThat(best(windows, JAN_1.minusYears(3))).isNull();
+    }
+
+    @Test
+    void quantityMustFallWithinTheOrderLimits() {
+        SupplierProductPriceModel retail = add("12000", JAN_1, null);
+        retail.setMaximumOrderQty(9);
+        SupplierProductPriceModel carton = add("10000", JAN_1, null);
+        carton.setMinimumOrderQty(10);
+        carton.setMaximumOrderQty(99);
+        SupplierProductPriceModel pallet = add("8000", JAN_1, null);
+        pallet.setMinimumOrderQty(100);
+
+        ProductPriceWindows windows = new ProductPriceWindows(prices);
+
+        assertThat(windows.best(JAN_1, 1, null, "IDR")).isSameAs(retail);
+        assertThat(windows.best(JAN_1, 9, null, "IDR")).isSameAs(retail);
+        assertThat(windows.best(JAN_1, 10, null, "IDR")).isSameAs(carton);
+        assertThat(windows.best(JAN_1, 99, null, "IDR")).isSameAs(carton);
+        assertThat(windows.best(JAN_1, 100, null, "IDR")).isSameAs(pallet);
+    }
+
+    @Test
+    void leadTimeFilterDropsSlowAndUnknownSuppliersAndBreaksTies() {
+        SupplierProductPriceModel slow = add("9000", JAN_1, null);
+        slow.setLeadTimeDays(14);
+        // cheaper than the fast ones, but without a lead time it never passes the filter
+        add("9500", JAN_1, null);
+        SupplierProductPriceModel fast = add("10000", JAN_1, null);
+        fast.setLeadTimeDays(2);
+        SupplierProductPriceModel fastSamePrice = add("10000", JAN_1, null);
+        fastSamePrice.setLeadTimeDays(1);
+
+        ProductPriceWindows windows = new ProductPriceWindows(prices);
+
+        assertThat(windows.best(JAN_1, 1, null, "IDR")).isSameAs(slow);
+        assertThat(windows.best(JAN_1, 1, 14, "IDR")).isSameAs(slow);
+        assertThat(windows.best(JAN_1, 1, 7, "IDR")).isSameAs(fastSamePrice);
+        assertThat(windows.best(JAN_1, 1, 0, "IDR")).isNull();
+    }
+
+    @Test
+    void comparesOnlyPricesInTheRequestedCurrency() {
+        SupplierProductPriceModel rupiah = add("150000", JAN_1, null);
+        SupplierProductPriceModel dollar = add("10", JAN_1, null);
+        dollar.setCurrency("USD");
+
+        ProductPriceWindows windows = new ProductPriceWindows(prices);
+
+        assertThat(windows.best(JAN_1, 1, null, "IDR")).isSameAs(rupiah);
+        assertThat(windows.best(JAN_1, 1, null, "usd")).isSameAs(dollar);
+        assertThat(windows.best(JAN_1, 1, null, "SGD")).isNull();
+    }
+
+    private static SupplierProductPriceModel best(ProductPriceWindows windows, LocalDate date) {
+        return windows.best(date, 1, null, "IDR");
+    }
+
+    private SupplierProductPriceModel add(String unitPrice, LocalDate validFrom, LocalDate validUntil) {
+        SupplierProductPriceModel price = SupplierProductPriceModel.builder()
+                .id(UUID.randomUUID())
+                .supplierId(UUID.randomUUID())
+                .productId(UUID.randomUUID())
+                .unitPrice(new BigDecimal(unitPrice))
+                .currency("IDR")
+                .isActive(true)
+                .validFrom(validFrom)
+                .validUntil(validUntil)
+                .build();
+        prices.add(price);
+        return price;
+    }
+}